@@ -0,0 +1,125 @@
+-- Libro de comisiones mensuales por asesor para CrediActiva
+-- Reemplaza el cálculo en línea de vista_comisiones_asesor (GROUP BY YEAR/MONTH
+-- sobre todos los pagos) por un acumulado que se actualiza al registrar cada pago
+
+USE crediactiva;
+
+-- Tabla: comisiones_mensuales (un registro por asesor y periodo)
+CREATE TABLE IF NOT EXISTS comisiones_mensuales (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    asesor_id INT NOT NULL,
+    anio SMALLINT NOT NULL,
+    mes TINYINT NOT NULL,
+    total_cobrado DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    cantidad_pagos INT NOT NULL DEFAULT 0,
+    comision_porcentaje DECIMAL(5,4) NOT NULL, -- Tasa vigente al abrir el periodo
+    comision_generada DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    meta_mensual DECIMAL(12,2) DEFAULT 0.00,   -- Meta vigente al abrir el periodo
+    cerrado BOOLEAN DEFAULT FALSE,
+    fecha_cierre TIMESTAMP NULL,
+    fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (asesor_id) REFERENCES asesores(id) ON DELETE RESTRICT,
+    
+    UNIQUE KEY uk_comision_asesor_periodo (asesor_id, anio, mes),
+    INDEX idx_comision_periodo (anio, mes, cerrado),
+    
+    CONSTRAINT chk_comision_mes CHECK (mes BETWEEN 1 AND 12),
+    CONSTRAINT chk_comision_total CHECK (total_cobrado >= 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Carga inicial a partir de los pagos existentes
+INSERT INTO comisiones_mensuales (
+    asesor_id, anio, mes, total_cobrado, cantidad_pagos,
+    comision_porcentaje, comision_generada, meta_mensual
+)
+SELECT 
+    a.id, YEAR(pg.fecha_pago), MONTH(pg.fecha_pago),
+    SUM(pg.monto_pago), COUNT(pg.id),
+    a.comision_porcentaje, ROUND(SUM(pg.monto_pago) * a.comision_porcentaje, 2), a.meta_mensual
+FROM asesores a
+JOIN prestamos p ON a.id = p.asesor_id
+JOIN pagos pg ON p.id = pg.prestamo_id
+GROUP BY a.id, YEAR(pg.fecha_pago), MONTH(pg.fecha_pago), a.comision_porcentaje, a.meta_mensual
+ON DUPLICATE KEY UPDATE 
+    total_cobrado = IF(cerrado, total_cobrado, VALUES(total_cobrado)),
+    cantidad_pagos = IF(cerrado, cantidad_pagos, VALUES(cantidad_pagos)),
+    comision_generada = IF(cerrado, comision_generada, ROUND(total_cobrado * comisiones_mensuales.comision_porcentaje, 2));
+
+DELIMITER $$
+
+-- Trigger: acumular el pago en el periodo del asesor.
+-- Los periodos cerrados son inmutables: un pago con fecha en un periodo cerrado se rechaza.
+DROP TRIGGER IF EXISTS trg_pagos_comision_ai$$
+CREATE TRIGGER trg_pagos_comision_ai
+AFTER INSERT ON pagos
+FOR EACH ROW
+BEGIN
+    DECLARE v_asesor_id INT;
+    DECLARE v_cerrado BOOLEAN DEFAULT FALSE;
+    
+    SELECT asesor_id INTO v_asesor_id 
+    FROM prestamos 
+    WHERE id = NEW.prestamo_id;
+    
+    SELECT cerrado INTO v_cerrado
+    FROM comisiones_mensuales
+    WHERE asesor_id = v_asesor_id 
+      AND anio = YEAR(NEW.fecha_pago) 
+      AND mes = MONTH(NEW.fecha_pago);
+    
+    IF v_cerrado THEN
+        SIGNAL SQLSTATE '45000' 
+            SET MESSAGE_TEXT = 'El periodo de comisiones del pago está cerrado';
+    END IF;
+    
+    INSERT INTO comisiones_mensuales (
+        asesor_id, anio, mes, total_cobrado, cantidad_pagos,
+        comision_porcentaje, comision_generada, meta_mensual
+    )
+    SELECT 
+        a.id, YEAR(NEW.fecha_pago), MONTH(NEW.fecha_pago), NEW.monto_pago, 1,
+        a.comision_porcentaje, ROUND(NEW.monto_pago * a.comision_porcentaje, 2), a.meta_mensual
+    FROM asesores a
+    WHERE a.id = v_asesor_id
+    ON DUPLICATE KEY UPDATE 
+        total_cobrado = total_cobrado + VALUES(total_cobrado),
+        cantidad_pagos = cantidad_pagos + 1,
+        comision_generada = ROUND(total_cobrado * comisiones_mensuales.comision_porcentaje, 2);
+END$$
+
+-- Trigger: impedir modificar periodos cerrados
+DROP TRIGGER IF EXISTS trg_comisiones_cerradas_bu$$
+CREATE TRIGGER trg_comisiones_cerradas_bu
+BEFORE UPDATE ON comisiones_mensuales
+FOR EACH ROW
+BEGIN
+    IF OLD.cerrado THEN
+        SIGNAL SQLSTATE '45000' 
+            SET MESSAGE_TEXT = 'Los periodos de comisiones cerrados no se pueden modificar';
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- Vista: comisiones por asesor leídas del libro (mismas columnas que la versión anterior)
+DROP VIEW IF EXISTS vista_comisiones_asesor;
+CREATE VIEW vista_comisiones_asesor AS
+SELECT 
+    a.id AS asesor_id,
+    a.codigo_asesor,
+    CONCAT(u.nombres, ' ', u.apellidos) AS nombre_asesor,
+    cm.anio AS año,
+    cm.mes AS mes,
+    cm.total_cobrado,
+    cm.comision_generada,
+    cm.cantidad_pagos,
+    cm.comision_porcentaje,
+    cm.meta_mensual,
+    cm.cerrado
+FROM comisiones_mensuales cm
+JOIN asesores a ON cm.asesor_id = a.id
+JOIN usuarios u ON a.usuario_id = u.id;
+
+SELECT 'Libro de comisiones mensuales creado correctamente' AS Mensaje;
@@ -0,0 +1,24 @@
+-- Búsqueda de personas por nombre para CrediActiva
+-- Reemplaza LIKE '%texto%' (recorre toda la tabla) por índices FULLTEXT con el
+-- parser ngram: encuentran cualquier fragmento de dos o más letras de nombres y
+-- apellidos, en cualquier orden, y ordenan por relevancia con MATCH ... AGAINST.
+-- Con la intercalación utf8mb4_unicode_ci la búsqueda no distingue tildes.
+-- Requiere MySQL 8 (ngram_token_size por defecto = 2).
+
+USE crediactiva;
+
+-- Usuarios: UsuarioDAOImpl.searchByName
+ALTER TABLE usuarios
+    ADD FULLTEXT INDEX ft_usuarios_nombres (nombres, apellidos) WITH PARSER ngram;
+
+-- Solicitudes: nombres del cliente registrados en la solicitud
+ALTER TABLE solicitudes
+    ADD FULLTEXT INDEX ft_solicitudes_cliente (nombres_cliente, apellidos_cliente) WITH PARSER ngram;
+
+-- Ejemplo: SELECT id, nombres, apellidos,
+--                 MATCH(nombres, apellidos) AGAINST ('+perez +juan' IN BOOLEAN MODE) AS relevancia
+--          FROM usuarios
+--          WHERE MATCH(nombres, apellidos) AGAINST ('+perez +juan' IN BOOLEAN MODE)
+--          ORDER BY relevancia DESC;
+
+SELECT 'Índices de búsqueda por nombre creados correctamente' AS Mensaje;
@@ -0,0 +1,39 @@
+-- Permisos por rol para CrediActiva
+-- SessionManager calcula al iniciar sesión una máscara de bits con los permisos
+-- de los roles activos del usuario (pe.crediactiva.security.Permiso). Sin esta
+-- tabla se usan los permisos por defecto definidos en Permiso.
+
+USE crediactiva;
+
+CREATE TABLE IF NOT EXISTS roles_permisos (
+    rol_id INT NOT NULL,
+    permiso VARCHAR(50) NOT NULL,
+    fecha_asignacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (rol_id, permiso),
+    FOREIGN KEY (rol_id) REFERENCES roles(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Permisos iniciales (los mismos que los valores por defecto)
+INSERT IGNORE INTO roles_permisos (rol_id, permiso)
+SELECT r.id, p.permiso
+FROM roles r
+JOIN (
+    SELECT 'ADMINISTRADOR' AS rol, 'GESTIONAR_USUARIOS' AS permiso
+    UNION ALL SELECT 'ADMINISTRADOR', 'GESTIONAR_ROLES'
+    UNION ALL SELECT 'ADMINISTRADOR', 'REVISAR_SOLICITUDES'
+    UNION ALL SELECT 'ADMINISTRADOR', 'VER_TODOS_PRESTAMOS'
+    UNION ALL SELECT 'ADMINISTRADOR', 'REGISTRAR_PAGOS'
+    UNION ALL SELECT 'ADMINISTRADOR', 'VER_REPORTE_COMISIONES'
+    UNION ALL SELECT 'ADMINISTRADOR', 'EXPORTAR_REPORTES'
+    UNION ALL SELECT 'ADMINISTRADOR', 'VER_DIAGNOSTICO'
+    UNION ALL SELECT 'ASESOR', 'CREAR_SOLICITUDES'
+    UNION ALL SELECT 'ASESOR', 'VER_PRESTAMOS_ASIGNADOS'
+    UNION ALL SELECT 'ASESOR', 'REGISTRAR_PAGOS'
+    UNION ALL SELECT 'ASESOR', 'VER_REPORTE_COBROS'
+    UNION ALL SELECT 'ASESOR', 'EXPORTAR_REPORTES'
+    UNION ALL SELECT 'CLIENTE', 'CREAR_SOLICITUDES'
+    UNION ALL SELECT 'CLIENTE', 'VER_PRESTAMOS_PROPIOS'
+) p ON p.rol = r.nombre;
+
+SELECT 'Permisos de roles creados correctamente' AS Mensaje;
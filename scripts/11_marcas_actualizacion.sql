@@ -0,0 +1,17 @@
+-- Marcas de actualización para refrescar pantallas por cambios
+-- La gestión de usuarios pide solo las filas con fecha_actualizacion posterior a
+-- la última consulta (UsuarioDAOImpl.SELECT_CHANGED_SINCE). Los cambios de roles
+-- también cuentan, por eso usuarios_roles recibe su propia fecha_actualizacion.
+-- Al agregar la columna todas las asignaciones quedan con la fecha actual: el
+-- primer refresco después de ejecutar el script trae a todos los usuarios.
+
+USE crediactiva;
+
+ALTER TABLE usuarios
+    ADD INDEX idx_usuarios_fecha_actualizacion (fecha_actualizacion);
+
+ALTER TABLE usuarios_roles
+    ADD COLUMN fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    ADD INDEX idx_usuarios_roles_fecha_actualizacion (fecha_actualizacion);
+
+SELECT 'Marcas de actualización creadas correctamente' AS Mensaje;
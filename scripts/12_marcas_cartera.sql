@@ -0,0 +1,14 @@
+-- Índices de las marcas de actualización de la cartera
+-- El refresco de la fotografía de cartera pide solo las cuotas cuyo cronograma
+-- o préstamo cambió desde la última carga (CarteraDAOImpl.SELECT_CHANGES_SINCE).
+-- La consulta une dos recorridos por rango, uno por cada fecha_actualizacion.
+
+USE crediactiva;
+
+ALTER TABLE cronograma_pagos
+    ADD INDEX idx_cronograma_fecha_actualizacion (fecha_actualizacion);
+
+ALTER TABLE prestamos
+    ADD INDEX idx_prestamos_fecha_actualizacion (fecha_actualizacion);
+
+SELECT 'Índices de actualización de cartera creados correctamente' AS Mensaje;
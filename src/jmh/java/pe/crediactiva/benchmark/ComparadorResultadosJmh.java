@@ -0,0 +1,218 @@
+package pe.crediactiva.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara los resultados CSV de JMH con la línea base versionada y genera un
+ * reporte Markdown. Una medición es regresión cuando empeora más que la
+ * tolerancia y además los intervalos de error de ambas corridas no se solapan,
+ * para no marcar ruido como regresión.
+ *
+ * Argumentos: línea base, resultados, reporte, tolerancia en porcentaje y,
+ * opcionalmente, --fallar para terminar con error si hay regresiones.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ComparadorResultadosJmh {
+
+    /**
+     * Una fila del CSV de JMH.
+     */
+    static final class Medicion {
+        final String benchmark;
+        final String modo;
+        final String parametros;
+        final double puntaje;
+        final double error;
+        final String unidad;
+
+        Medicion(String benchmark, String modo, String parametros, double puntaje, double error, String unidad) {
+            this.benchmark = benchmark;
+            this.modo = modo;
+            this.parametros = parametros;
+            this.puntaje = puntaje;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unidad = unidad;
+        }
+
+        String getClave() {
+            return benchmark + (parametros.isEmpty() ? "" : " [" + parametros + "]");
+        }
+
+        boolean isMayorEsMejor() {
+            return "thrpt".equals(modo);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException(
+                "Uso: ComparadorResultadosJmh <linea-base.csv> <resultados.csv> <reporte.md> [tolerancia%] [--fallar]");
+        }
+        Path lineaBase = Path.of(args[0]);
+        Path resultados = Path.of(args[1]);
+        Path reporte = Path.of(args[2]);
+        double tolerancia = args.length > 3 ? Double.parseDouble(args[3]) / 100.0 : 0.10;
+        boolean fallar = args.length > 4 && "--fallar".equals(args[4]);
+
+        Map<String, Medicion> actuales = leer(resultados);
+        Map<String, Medicion> base = Files.exists(lineaBase) ? leer(lineaBase) : Map.of();
+
+        List<String> regresiones = new ArrayList<>();
+        String markdown = generarReporte(base, actuales, tolerancia, regresiones);
+        if (reporte.getParent() != null) {
+            Files.createDirectories(reporte.getParent());
+        }
+        Files.writeString(reporte, markdown, StandardCharsets.UTF_8);
+
+        System.out.println(markdown);
+        if (base.isEmpty()) {
+            System.out.println("Sin línea base en " + lineaBase + "; copie " + resultados + " para crearla.");
+        }
+        if (fallar && !regresiones.isEmpty()) {
+            throw new IllegalStateException("Regresiones de rendimiento: " + String.join(", ", regresiones));
+        }
+    }
+
+    /**
+     * Genera la tabla comparativa.
+     *
+     * @param base mediciones de la línea base
+     * @param actuales mediciones de la corrida actual
+     * @param tolerancia cambio relativo admitido (0.10 = 10%)
+     * @param regresiones lista donde se agregan las claves con regresión
+     * @return reporte en Markdown
+     */
+    static String generarReporte(Map<String, Medicion> base, Map<String, Medicion> actuales,
+                                 double tolerancia, List<String> regresiones) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Comparación de benchmarks JMH\n\n");
+        sb.append(String.format(Locale.ROOT, "Tolerancia: %.1f%%%n%n", tolerancia * 100));
+        sb.append("| Benchmark | Unidad | Línea base | Actual | Cambio | Resultado |\n");
+        sb.append("|---|---|---:|---:|---:|---|\n");
+
+        for (Medicion actual : actuales.values()) {
+            Medicion anterior = base.get(actual.getClave());
+            String resultado;
+            String cambio;
+            String valorBase;
+            if (anterior == null || !anterior.unidad.equals(actual.unidad)) {
+                valorBase = "-";
+                cambio = "-";
+                resultado = "nuevo";
+            } else {
+                double relativo = (actual.puntaje - anterior.puntaje) / anterior.puntaje;
+                double empeora = actual.isMayorEsMejor() ? -relativo : relativo;
+                boolean fueraDeError = actual.isMayorEsMejor() ?
+                    actual.puntaje + actual.error < anterior.puntaje - anterior.error :
+                    actual.puntaje - actual.error > anterior.puntaje + anterior.error;
+
+                valorBase = formatear(anterior);
+                cambio = String.format(Locale.ROOT, "%+.1f%%", relativo * 100);
+                if (empeora > tolerancia && fueraDeError) {
+                    resultado = "**REGRESIÓN**";
+                    regresiones.add(actual.getClave());
+                } else if (empeora < -tolerancia && fueraDeError) {
+                    resultado = "mejora";
+                } else {
+                    resultado = "ok";
+                }
+            }
+            sb.append("| ").append(actual.getClave())
+              .append(" | ").append(actual.unidad)
+              .append(" | ").append(valorBase)
+              .append(" | ").append(formatear(actual))
+              .append(" | ").append(cambio)
+              .append(" | ").append(resultado)
+              .append(" |\n");
+        }
+
+        for (Medicion anterior : base.values()) {
+            if (!actuales.containsKey(anterior.getClave())) {
+                sb.append("| ").append(anterior.getClave())
+                  .append(" | ").append(anterior.unidad)
+                  .append(" | ").append(formatear(anterior))
+                  .append(" | - | - | no ejecutado |\n");
+            }
+        }
+
+        sb.append(String.format("%nRegresiones: %d%n", regresiones.size()));
+        return sb.toString();
+    }
+
+    /**
+     * Lee un archivo CSV generado con -rf csv.
+     *
+     * @param archivo ruta del CSV
+     * @return mediciones por clave, en el orden del archivo
+     */
+    static Map<String, Medicion> leer(Path archivo) throws IOException {
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        Map<String, Medicion> mediciones = new LinkedHashMap<>();
+        if (lineas.isEmpty()) {
+            return mediciones;
+        }
+
+        List<String> encabezados = separar(lineas.get(0));
+        for (int i = 1; i < lineas.size(); i++) {
+            if (lineas.get(i).isBlank()) {
+                continue;
+            }
+            List<String> campos = separar(lineas.get(i));
+            StringBuilder parametros = new StringBuilder();
+            for (int c = 7; c < encabezados.size() && c < campos.size(); c++) {
+                if (campos.get(c).isEmpty()) {
+                    continue;
+                }
+                if (parametros.length() > 0) {
+                    parametros.append(", ");
+                }
+                parametros.append(encabezados.get(c).replace("Param: ", "")).append('=').append(campos.get(c));
+            }
+            Medicion medicion = new Medicion(campos.get(0), campos.get(1), parametros.toString(),
+                                             parsear(campos.get(4)), parsear(campos.get(5)), campos.get(6));
+            mediciones.put(medicion.getClave(), medicion);
+        }
+        return mediciones;
+    }
+
+    private static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (c == ',' && !entreComillas) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static double parsear(String valor) {
+        try {
+            return Double.parseDouble(valor);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String formatear(Medicion medicion) {
+        return String.format(Locale.ROOT, "%.3f ± %.3f", medicion.puntaje, medicion.error);
+    }
+}
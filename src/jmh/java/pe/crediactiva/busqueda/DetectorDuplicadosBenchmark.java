@@ -0,0 +1,120 @@
+package pe.crediactiva.busqueda;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la detección de duplicados: la consulta al crear un usuario
+ * (debe quedar muy por debajo de 50 ms) y el escaneo completo de la cartera.
+ * Uno de cada cien registros es una copia con un error de escritura.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DetectorDuplicadosBenchmark {
+
+    private static final String[] SILABAS = {
+        "ca", "ma", "ro", "sa", "pe", "qui", "hua", "to", "lla", "gu", "ti", "ra", "men", "do", "za",
+        "ba", "var", "cas", "ri", "lo", "chi", "ve", "nu", "ño", "fe", "ta", "mo", "ya", "le", "cu"
+    };
+    private static final String[] NOMBRES = {
+        "Juan", "José", "María", "Rosa", "Luis", "Carmen", "Jorge", "Ana", "Carlos", "Lucía",
+        "Pedro", "Elena", "Miguel", "Sofía", "Raúl", "Julia", "Víctor", "Rocío", "César", "Inés"
+    };
+
+    @Param({"500000"})
+    int clientes;
+
+    private DetectorDuplicados detector;
+    private List<PersonaRegistrada> consultas;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        List<PersonaRegistrada> personas = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            PersonaRegistrada persona = persona(random, i + 1);
+            personas.add(i % 100 == 99 ? conError(random, personas.get(random.nextInt(i)), i + 1) : persona);
+        }
+        detector = new DetectorDuplicados();
+        detector.reemplazarTodos(personas);
+
+        consultas = new ArrayList<>(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            PersonaRegistrada base = i % 2 == 0 ? personas.get(random.nextInt(clientes)) : persona(random, 0);
+            consultas.add(conError(random, base, null));
+        }
+    }
+
+    @Benchmark
+    public int buscarAlCrear() {
+        PersonaRegistrada consulta = consultas.get(siguiente++ % consultas.size());
+        return detector.buscar(consulta, 5).size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int escaneoCompleto() {
+        return detector.escanear().size();
+    }
+
+    private static PersonaRegistrada persona(Random random, int id) {
+        String apellidos = apellido(random) + " " + apellido(random);
+        String documento = String.format("%08d", random.nextInt(100_000_000));
+        String telefono = random.nextInt(3) == 0 ? null : "9" + String.format("%08d", random.nextInt(100_000_000));
+        return new PersonaRegistrada(PersonaRegistrada.Origen.USUARIO, id, id,
+                                     NOMBRES[random.nextInt(NOMBRES.length)], apellidos, documento, telefono);
+    }
+
+    private static String apellido(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int silabas = 2 + random.nextInt(2);
+        for (int i = 0; i < silabas; i++) {
+            sb.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    // Copia con una letra del apellido o un dígito del documento cambiados
+    private static PersonaRegistrada conError(Random random, PersonaRegistrada original, Integer id) {
+        String apellidos = original.apellidos();
+        String documento = original.documento();
+        if (random.nextBoolean()) {
+            char[] letras = apellidos.toCharArray();
+            int posicion = 1 + random.nextInt(letras.length - 1);
+            letras[posicion] = letras[posicion] == ' ' ? ' ' : (char) ('a' + random.nextInt(26));
+            apellidos = new String(letras);
+        } else {
+            char[] digitos = documento.toCharArray();
+            digitos[random.nextInt(digitos.length)] = (char) ('0' + random.nextInt(10));
+            documento = new String(digitos);
+        }
+        return new PersonaRegistrada(PersonaRegistrada.Origen.USUARIO, id, id, original.nombres(), apellidos,
+                                     documento, original.telefono());
+    }
+}
@@ -0,0 +1,90 @@
+package pe.crediactiva.busqueda;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la búsqueda por nombre: índice invertido frente al recorrido
+ * de toda la lista comparando con contains, que es lo que hace LIKE '%texto%'.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IndiceNombresBenchmark {
+
+    private static final String[] NOMBRES = {
+        "Juan", "José", "María", "Rosa", "Luis", "Carmen", "Jorge", "Ana", "Carlos", "Lucía",
+        "Pedro", "Elena", "Miguel", "Sofía", "Raúl", "Julia", "Víctor", "Rocío", "César", "Inés"
+    };
+    private static final String[] APELLIDOS = {
+        "Pérez", "García", "Quispe", "Flores", "Rodríguez", "Huamán", "Sánchez", "Mamani", "Torres",
+        "Ramírez", "Chávez", "Vargas", "Castillo", "Rojas", "Mendoza", "Gutiérrez", "Núñez", "Peña"
+    };
+
+    @Param({"100000", "1000000"})
+    int usuarios;
+
+    private List<Usuario> lista;
+    private IndiceNombres<Usuario> indice;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        lista = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            // Un sufijo numérico hace que cada apellido paterno sea casi único
+            String apellidos = APELLIDOS[random.nextInt(APELLIDOS.length)] + (i % 5000) + " "
+                + APELLIDOS[random.nextInt(APELLIDOS.length)];
+            Usuario usuario = new Usuario("usuario" + i, "usuario" + i + "@crediactiva.pe", "hash",
+                                          NOMBRES[random.nextInt(NOMBRES.length)], apellidos);
+            usuario.setId(i + 1);
+            lista.add(usuario);
+        }
+        indice = new IndiceNombres<>(Usuario::getId, u -> u.getNombres() + " " + u.getApellidos());
+        indice.reemplazarTodos(lista);
+    }
+
+    @Benchmark
+    public int indiceNombreCompleto() {
+        return indice.buscar("quispe1234 juan", 50).size();
+    }
+
+    @Benchmark
+    public int indicePrefijo() {
+        return indice.buscar("rodri", 50).size();
+    }
+
+    @Benchmark
+    public int recorridoContains() {
+        String busqueda = "quispe1234";
+        int coincidencias = 0;
+        for (Usuario usuario : lista) {
+            if (usuario.getNombres().toLowerCase().contains(busqueda)
+                || usuario.getApellidos().toLowerCase().contains(busqueda)) {
+                coincidencias++;
+            }
+        }
+        return coincidencias;
+    }
+}
@@ -0,0 +1,88 @@
+package pe.crediactiva.dao.mysql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la búsqueda de usuarios por nombre: LIKE con comodín inicial
+ * frente a MATCH ... AGAINST sobre el índice ngram. A diferencia del resto usa
+ * la base de datos configurada en application.properties, con
+ * scripts/09_busqueda_nombres.sql aplicado (para una carga de 1M de usuarios
+ * usar GeneradorCartera), por lo que el perfil jmh lo excluye salvo que se
+ * indique -Djmh.excluir=^$.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusquedaNombresDAOBenchmark {
+
+    private static final String TERMINO = "quispe";
+
+    private static final String BUSQUEDA_LIKE = """
+        SELECT COUNT(*) FROM usuarios
+        WHERE (nombres LIKE ? OR apellidos LIKE ?) AND activo = TRUE
+        """;
+
+    private static final String BUSQUEDA_FULLTEXT = """
+        SELECT COUNT(*) FROM usuarios
+        WHERE MATCH(nombres, apellidos) AGAINST (? IN BOOLEAN MODE) AND activo = TRUE
+        """;
+
+    private final String patron = "%" + TERMINO + "%";
+    private final String consulta = UsuarioDAOImpl.consultaFullText(TERMINO);
+
+    @Setup
+    public void preparar() {
+        DatabaseConfig.initialize();
+    }
+
+    @TearDown
+    public void cerrar() {
+        DatabaseConfig.shutdown();
+    }
+
+    @Benchmark
+    public long busquedaLike() throws SQLException {
+        return contar(BUSQUEDA_LIKE, patron, patron);
+    }
+
+    @Benchmark
+    public long busquedaFullText() throws SQLException {
+        return contar(BUSQUEDA_FULLTEXT, consulta);
+    }
+
+    private static long contar(String sql, String... parametros) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.length; i++) {
+                stmt.setString(i + 1, parametros[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pe.crediactiva.dao.mysql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.util.DateUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del mapeo de filas de usuarios a objetos Usuario, sobre H2 en
+ * memoria en modo MySQL con las mismas columnas que la tabla usuarios.
+ * recorrerSinMapear mide solo la consulta y el recorrido del ResultSet; la
+ * diferencia con mapearUsuarios es el costo de UsuarioDAOImpl.MAPEO_USUARIO.
+ * mapearUsuariosPorNombre conserva el mapeo anterior (columnas por nombre y
+ * fechas por Timestamp) como referencia.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoUsuarioBenchmark {
+
+    private static final int FILAS = 200;
+
+    private static final String CREATE_TABLE = """
+        CREATE TABLE usuarios (
+            id INT PRIMARY KEY AUTO_INCREMENT,
+            username VARCHAR(50) NOT NULL UNIQUE,
+            email VARCHAR(100) NOT NULL UNIQUE,
+            password_hash VARCHAR(255) NOT NULL,
+            nombres VARCHAR(100) NOT NULL,
+            apellidos VARCHAR(100) NOT NULL,
+            documento_identidad VARCHAR(20) UNIQUE,
+            telefono VARCHAR(20),
+            direccion TEXT,
+            activo BOOLEAN DEFAULT TRUE,
+            ultimo_login TIMESTAMP NULL,
+            fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+        )
+        """;
+
+    private static final String INSERT = """
+        INSERT INTO usuarios (username, email, password_hash, nombres, apellidos,
+                              documento_identidad, telefono, direccion, activo, ultimo_login)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Mismas columnas que UsuarioDAOImpl.SELECT_ALL
+    private static final String SELECT_ALL = """
+        SELECT u.id, u.username, u.email, u.password_hash, u.nombres, u.apellidos,
+               u.documento_identidad, u.telefono, u.direccion, u.activo,
+               u.ultimo_login, u.fecha_creacion, u.fecha_actualizacion
+        FROM usuarios u
+        ORDER BY u.nombres, u.apellidos
+        """;
+
+    private Connection connection;
+
+    @Setup
+    public void preparar() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:mapeo;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS usuarios");
+            stmt.execute(CREATE_TABLE);
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < FILAS; i++) {
+                stmt.setString(1, "usuario" + i);
+                stmt.setString(2, "usuario" + i + "@crediactiva.pe");
+                stmt.setString(3, "$2a$12$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+                stmt.setString(4, "Nombre" + i);
+                stmt.setString(5, "Apellido Paterno" + i);
+                stmt.setString(6, String.format("%08d", i));
+                stmt.setString(7, "9" + String.format("%08d", i));
+                stmt.setString(8, "Av. Principal " + i + ", Lima");
+                stmt.setBoolean(9, i % 7 != 0);
+                stmt.setTimestamp(10, i % 3 == 0 ? null : Timestamp.valueOf(LocalDateTime.now().minusDays(i)));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void cerrar() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void recorrerSinMapear(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getRow());
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapearUsuarios(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            MapeoFilas.Filas<Usuario> filas = UsuarioDAOImpl.MAPEO_USUARIO.sobre(rs);
+            while (rs.next()) {
+                blackhole.consume(filas.leer());
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapearUsuariosPorNombre(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(mapearPorNombre(rs));
+            }
+        }
+    }
+
+    // Mapeo anterior de UsuarioDAOImpl.mapResultSetToUsuario
+    private static Usuario mapearPorNombre(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setId(rs.getInt("id"));
+        usuario.setUsername(rs.getString("username"));
+        usuario.setEmail(rs.getString("email"));
+        usuario.setPasswordHash(rs.getString("password_hash"));
+        usuario.setNombres(rs.getString("nombres"));
+        usuario.setApellidos(rs.getString("apellidos"));
+        usuario.setDocumentoIdentidad(rs.getString("documento_identidad"));
+        usuario.setTelefono(rs.getString("telefono"));
+        usuario.setDireccion(rs.getString("direccion"));
+        usuario.setActivo(rs.getBoolean("activo"));
+        usuario.setUltimoLogin(DateUtils.fromSqlTimestamp(rs.getTimestamp("ultimo_login")));
+        usuario.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
+        usuario.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
+        return usuario;
+    }
+}
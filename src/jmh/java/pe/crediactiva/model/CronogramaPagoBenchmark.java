@@ -0,0 +1,59 @@
+package pe.crediactiva.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pe.crediactiva.util.DateUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del estado dinámico de las cuotas de un cronograma de 36 meses
+ * con cuotas pagadas, vencidas y por vencer, como al pintar la tabla de cuotas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CronogramaPagoBenchmark {
+
+    private static final int CUOTAS = 36;
+
+    private List<CronogramaPago> cronograma;
+
+    @Setup
+    public void preparar() {
+        cronograma = new ArrayList<>(CUOTAS);
+        BigDecimal cuota = new BigDecimal("620.50");
+        for (int i = 0; i < CUOTAS; i++) {
+            CronogramaPago cuotaPago = new CronogramaPago(1, i + 1,
+                DateUtils.hoy().plusMonths(i - CUOTAS / 2), cuota,
+                new BigDecimal("500.00"), new BigDecimal("120.50"), BigDecimal.ZERO);
+            cuotaPago.setPagado(i < CUOTAS / 3);
+            cronograma.add(cuotaPago);
+        }
+    }
+
+    @Benchmark
+    public void calcularEstado(Blackhole blackhole) {
+        for (CronogramaPago cuotaPago : cronograma) {
+            blackhole.consume(cuotaPago.calcularEstado());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package pe.crediactiva.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del cálculo de cuota (sistema francés) y de la deuda actual de
+ * un préstamo. La cuota se recalcula al cambiar el plazo, como al editar una
+ * solicitud en pantalla.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrestamoBenchmark {
+
+    @Param({"12", "36"})
+    int plazoMeses;
+
+    private Prestamo prestamo;
+    private Prestamo prestamoConPagos;
+
+    @Setup
+    public void preparar() {
+        prestamo = new Prestamo("P-BENCH", null, new BigDecimal("15000.00"),
+                                plazoMeses, new BigDecimal("0.0250"));
+
+        prestamoConPagos = new Prestamo("P-PAGOS", null, new BigDecimal("15000.00"),
+                                        plazoMeses, new BigDecimal("0.0250"));
+        List<Pago> pagos = new ArrayList<>();
+        for (int i = 0; i < plazoMeses / 2; i++) {
+            Pago pago = new Pago();
+            pago.setMontoPago(prestamoConPagos.getCuotaMensual());
+            pagos.add(pago);
+        }
+        prestamoConPagos.setPagos(pagos);
+    }
+
+    @Benchmark
+    public BigDecimal calcularCuotaYMontoTotal() {
+        // setPlazoMeses dispara el cálculo privado de cuota y monto total
+        prestamo.setPlazoMeses(plazoMeses);
+        return prestamo.getMontoTotal();
+    }
+
+    @Benchmark
+    public BigDecimal calcularDeudaActual() {
+        return prestamoConPagos.calcularDeudaActual();
+    }
+}
@@ -0,0 +1,60 @@
+package pe.crediactiva.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark JMH del registro de actividad con varios hilos escribiendo a la vez
+ * sobre la misma sesión (filtros de eventos, tareas de fondo): LocalDateTime
+ * por llamada (forma anterior), escritura del nanoTime en cada llamada y
+ * ActividadSesion, que solo escribe una vez por intervalo de resolución.
+ * Ejecutar con -prof gc para ver la memoria asignada por operación.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ActividadSesionBenchmark {
+
+    private final ActividadSesion actividad = new ActividadSesion();
+    private final AtomicLong ultimaNanos = new AtomicLong();
+    private volatile LocalDateTime ultimaFecha;
+
+    @Benchmark
+    public void localDateTimePorLlamada() {
+        ultimaFecha = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public void nanoTimePorLlamada() {
+        ultimaNanos.set(System.nanoTime());
+    }
+
+    @Benchmark
+    public void actividadSesion() {
+        actividad.registrar();
+    }
+
+    @Benchmark
+    public long lecturaInactividad() {
+        return actividad.getInactividadNanos();
+    }
+}
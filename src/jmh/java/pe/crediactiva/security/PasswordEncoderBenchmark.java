@@ -0,0 +1,53 @@
+package pe.crediactiva.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la verificación de contraseñas en el login y de la
+ * validación de fortaleza al crear usuarios. BCrypt tarda cientos de
+ * milisegundos por diseño, por eso matches se mide en una sola llamada por
+ * invocación y en milisegundos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private final PasswordEncoder passwordEncoder = new PasswordEncoder();
+    private final String password = "Crediactiva#2024";
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        hash = passwordEncoder.encode(password);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean matches() {
+        return passwordEncoder.matches(password, hash);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public PasswordEncoder.PasswordStrengthResult checkPasswordStrength() {
+        return passwordEncoder.checkPasswordStrength(password);
+    }
+}
@@ -0,0 +1,68 @@
+package pe.crediactiva.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la verificación de roles que se hace en cada acción
+ * protegida: recorrido de la lista con stream y equalsIgnoreCase (forma
+ * anterior), recorrido sin stream (Usuario.tieneRol) y máscara de la sesión.
+ * Ejecutar con -prof gc para ver la memoria asignada por operación.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificacionRolesBenchmark {
+
+    private Usuario usuario;
+    private PermisosSesion permisos;
+
+    @Setup
+    public void preparar() {
+        usuario = new Usuario("asesor1", "asesor1@crediactiva.pe", "hash", "Ana", "Quispe");
+        usuario.getRoles().add(new Rol(TipoRol.CLIENTE));
+        usuario.getRoles().add(new Rol(TipoRol.ASESOR));
+        permisos = PermisosSesion.de(usuario, new MatrizPermisos(Map::of));
+    }
+
+    @Benchmark
+    public boolean recorridoConStream() {
+        return usuario.getRoles().stream()
+            .anyMatch(rol -> rol.getNombre().equalsIgnoreCase(TipoRol.ADMINISTRADOR.name()) && rol.isActivo());
+    }
+
+    @Benchmark
+    public boolean usuarioTieneRol() {
+        return usuario.tieneRol(TipoRol.ADMINISTRADOR);
+    }
+
+    @Benchmark
+    public boolean mascaraSesion() {
+        return permisos.tieneRol(TipoRol.ADMINISTRADOR);
+    }
+
+    @Benchmark
+    public boolean permisoSesion() {
+        return permisos.tienePermiso(Permiso.REGISTRAR_PAGOS);
+    }
+}
@@ -0,0 +1,134 @@
+package pe.crediactiva.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import pe.crediactiva.dao.interfaces.UsuarioDAO;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.PasswordEncoder;
+import pe.crediactiva.security.RegistroAccesos;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del login con varios usuarios autenticándose a la vez: latencia
+ * de UsuarioService.autenticar cuando el último login se escribe en la misma
+ * llamada (forma anterior) frente a la escritura diferida de RegistroAccesos.
+ * El DAO es simulado: cada viaje a la base de datos ocupa una conexión de un
+ * pool de 10 durante 3 ms. BCrypt se omite porque cuesta lo mismo en ambos
+ * casos. Ejecutar con -bm sample para ver los percentiles.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class LoginConcurrenteBenchmark {
+
+    private static final long LATENCIA_MS = 3;
+    private static final int CONEXIONES = 10;
+    private static final int USUARIOS = 500;
+
+    private UsuarioDAO dao;
+    private UsuarioService sincrono;
+    private UsuarioService diferido;
+    private RegistroAccesos registro;
+
+    /**
+     * Usuario que autentica cada hilo; se repiten para que el registro
+     * diferido combine sus accesos.
+     */
+    @State(Scope.Thread)
+    public static class Sesion {
+        private int siguiente;
+
+        @Setup
+        public void preparar(ThreadParams hilo) {
+            siguiente = hilo.getThreadIndex() * USUARIOS / hilo.getThreadCount();
+        }
+
+        String username() {
+            siguiente = (siguiente + 1) % USUARIOS;
+            return "usuario" + siguiente;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        dao = daoSimulado(new Semaphore(CONEXIONES, true));
+        PasswordEncoder sinBcrypt = new PasswordEncoder() {
+            @Override
+            public boolean matches(String plainPassword, String hashedPassword) {
+                return plainPassword.equals(hashedPassword);
+            }
+        };
+
+        sincrono = new UsuarioService(dao, sinBcrypt, new RegistroAccesos(a -> true, 60_000));
+        registro = new RegistroAccesos(dao::updateLastLogin, 1000);
+        registro.iniciar();
+        diferido = new UsuarioService(dao, sinBcrypt, registro);
+    }
+
+    @TearDown
+    public void cerrar() {
+        registro.detener(5000);
+    }
+
+    // Forma anterior: UPDATE del último login antes de devolver el usuario
+    @Benchmark
+    public Optional<Usuario> escrituraSincrona(Sesion sesion) {
+        Optional<Usuario> usuario = sincrono.autenticar(sesion.username(), "clave");
+        usuario.ifPresent(u -> dao.updateLastLogin(u.getId()));
+        return usuario;
+    }
+
+    @Benchmark
+    public Optional<Usuario> escrituraDiferida(Sesion sesion) {
+        return diferido.autenticar(sesion.username(), "clave");
+    }
+
+    private static UsuarioDAO daoSimulado(Semaphore pool) {
+        return (UsuarioDAO) Proxy.newProxyInstance(
+            UsuarioDAO.class.getClassLoader(), new Class<?>[] {UsuarioDAO.class}, (proxy, metodo, argumentos) -> {
+                pool.acquireUninterruptibly();
+                try {
+                    Thread.sleep(LATENCIA_MS);
+                } finally {
+                    pool.release();
+                }
+                switch (metodo.getName()) {
+                    case "findByUsername" -> {
+                        String username = (String) argumentos[0];
+                        Usuario usuario = new Usuario(username, username + "@crediactiva.pe", "clave",
+                                                      "Nombre", "Apellido");
+                        usuario.setId(Integer.parseInt(username.substring("usuario".length())) + 1);
+                        return Optional.of(usuario);
+                    }
+                    case "updateLastLogin" -> {
+                        return true;
+                    }
+                    default -> {
+                        return metodo.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                    }
+                }
+            });
+    }
+}
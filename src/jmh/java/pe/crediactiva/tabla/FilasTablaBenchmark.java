@@ -0,0 +1,214 @@
+package pe.crediactiva.tabla;
+
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark JMH de la tabla de gestión de usuarios: celdas sobre Usuario
+ * (PropertyValueFactory, roles unidos y DateTimeFormatter.ofPattern en cada
+ * celda, como antes) frente a celdas sobre FilaUsuario precalculada.
+ *
+ * Cada operación de desplazamiento es un paso de la rueda del ratón: la tabla
+ * baja 3 filas y vuelve a pedir el valor de las 30 celdas visibles. También se
+ * mide el orden por fecha de creación, que compara los valores de las celdas,
+ * y el cálculo de las filas, que se hace una sola vez fuera del hilo de JavaFX.
+ * No abre ventanas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FilasTablaBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final int VISIBLES = 30;
+    private static final int PASO = 3;
+
+    @Param({"100000"})
+    int usuarios;
+
+    private List<Usuario> lista;
+    private List<FilaUsuario> filas;
+    private List<Function<Usuario, Object>> celdasAntes;
+    private List<Function<FilaUsuario, Object>> celdasFilas;
+    private int primeraAntes;
+    private int primeraFilas;
+
+    @Setup
+    public void preparar() {
+        List<Rol> roles = List.of(rol(1, TipoRol.ADMINISTRADOR), rol(2, TipoRol.ASESOR), rol(3, TipoRol.CLIENTE));
+        lista = new ArrayList<>(usuarios);
+        for (int i = 1; i <= usuarios; i++) {
+            lista.add(usuario(i, roles));
+        }
+        filas = FilaUsuario.de(lista);
+        celdasAntes = celdasAntes();
+        celdasFilas = celdasFilas();
+    }
+
+    @Benchmark
+    public int desplazarUsuario() {
+        primeraAntes = siguientePaso(primeraAntes);
+        return pintar(lista, celdasAntes, primeraAntes);
+    }
+
+    @Benchmark
+    public int desplazarFilaUsuario() {
+        primeraFilas = siguientePaso(primeraFilas);
+        return pintar(filas, celdasFilas, primeraFilas);
+    }
+
+    // La tabla ordena comparando los valores de la columna
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Usuario> ordenarUsuarioPorFecha() {
+        Function<Usuario, Object> fecha = celdasAntes.get(celdasAntes.size() - 1);
+        List<Usuario> copia = new ArrayList<>(lista);
+        copia.sort(Comparator.comparing(u -> (String) fecha.apply(u)));
+        return copia;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<FilaUsuario> ordenarFilaUsuarioPorFecha() {
+        List<FilaUsuario> copia = new ArrayList<>(filas);
+        copia.sort(Comparator.comparingLong(FilaUsuario::ordenFechaCreacion));
+        return copia;
+    }
+
+    // Una sola vez por carga, fuera del hilo de JavaFX
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<FilaUsuario> calcularFilas() {
+        return FilaUsuario.de(lista);
+    }
+
+    private int siguientePaso(int primera) {
+        int siguiente = primera + PASO;
+        return siguiente + VISIBLES <= usuarios ? siguiente : 0;
+    }
+
+    // Valor de todas las celdas visibles (TableCell.updateItem)
+    private static <F> int pintar(List<F> filas, List<Function<F, Object>> celdas, int primera) {
+        int longitud = 0;
+        for (int i = primera; i < primera + VISIBLES; i++) {
+            F fila = filas.get(i);
+            for (Function<F, Object> celda : celdas) {
+                Object valor = celda.apply(fila);
+                longitud += valor != null ? valor.toString().length() : 0;
+            }
+        }
+        return longitud;
+    }
+
+    // Fábricas de celdas como estaban en GestionUsuariosController
+    private static List<Function<Usuario, Object>> celdasAntes() {
+        List<Function<Usuario, Object>> celdas = new ArrayList<>();
+        for (String propiedad : List.of("id", "username", "nombres", "apellidos", "email",
+                                        "documentoIdentidad", "telefono")) {
+            celdas.add(celda(new PropertyValueFactory<>(propiedad)));
+        }
+        celdas.add(FilasTablaBenchmark.<Usuario, String>celda(c -> new ReadOnlyStringWrapper(c.getValue().getRoles() != null
+            ? c.getValue().getRoles().stream().filter(Rol::isActivo).map(Rol::getNombreLegible)
+                .collect(Collectors.joining(", "))
+            : "Sin roles")));
+        celdas.add(FilasTablaBenchmark.<Usuario, String>celda(c -> new ReadOnlyStringWrapper(c.getValue().isActivo() ? "Activo" : "Inactivo")));
+        celdas.add(FilasTablaBenchmark.<Usuario, String>celda(c -> new ReadOnlyStringWrapper(c.getValue().getUltimoLogin() != null
+            ? c.getValue().getUltimoLogin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
+            : "Nunca")));
+        celdas.add(FilasTablaBenchmark.<Usuario, String>celda(c -> new ReadOnlyStringWrapper(c.getValue().getFechaCreacion() != null
+            ? c.getValue().getFechaCreacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
+            : "-")));
+        return celdas;
+    }
+
+    // Fábricas de celdas de ColumnasTabla; las fechas muestran el texto ya calculado
+    private static List<Function<FilaUsuario, Object>> celdasFilas() {
+        List<Function<FilaUsuario, Object>> celdas = new ArrayList<>();
+        celdas.add(columnaValor(FilaUsuario::id));
+        for (Function<FilaUsuario, String> texto : List.<Function<FilaUsuario, String>>of(
+                FilaUsuario::username, FilaUsuario::nombres, FilaUsuario::apellidos, FilaUsuario::email,
+                FilaUsuario::documento, FilaUsuario::telefono, FilaUsuario::roles, FilaUsuario::estado)) {
+            celdas.add(columnaTexto(texto));
+        }
+        celdas.add(columnaOrdenada(FilaUsuario::ultimoLogin, Comparator.comparingLong(FilaUsuario::ordenUltimoLogin)));
+        celdas.add(columnaOrdenada(FilaUsuario::fechaCreacion, Comparator.comparingLong(FilaUsuario::ordenFechaCreacion)));
+        return celdas;
+    }
+
+    private static Function<FilaUsuario, Object> columnaValor(Function<FilaUsuario, Integer> valor) {
+        TableColumn<FilaUsuario, Integer> columna = new TableColumn<>();
+        ColumnasTabla.valor(columna, valor);
+        return celda(columna.getCellValueFactory());
+    }
+
+    private static Function<FilaUsuario, Object> columnaTexto(Function<FilaUsuario, String> texto) {
+        TableColumn<FilaUsuario, String> columna = new TableColumn<>();
+        ColumnasTabla.texto(columna, texto);
+        return celda(columna.getCellValueFactory());
+    }
+
+    // La celda recibe la fila y muestra su texto (TableCell.updateItem)
+    private static Function<FilaUsuario, Object> columnaOrdenada(Function<FilaUsuario, String> texto,
+                                                                Comparator<FilaUsuario> orden) {
+        TableColumn<FilaUsuario, FilaUsuario> columna = new TableColumn<>();
+        ColumnasTabla.ordenada(columna, texto, orden);
+        Function<FilaUsuario, Object> valor = celda(columna.getCellValueFactory());
+        return fila -> texto.apply((FilaUsuario) valor.apply(fila));
+    }
+
+    private static <F, V> Function<F, Object> celda(Callback<TableColumn.CellDataFeatures<F, V>, ObservableValue<V>> fabrica) {
+        return fila -> fabrica.call(new TableColumn.CellDataFeatures<>(null, null, fila)).getValue();
+    }
+
+    private static Usuario usuario(int id, List<Rol> roles) {
+        Usuario usuario = new Usuario("usuario" + id, "usuario" + id + "@crediactiva.pe", "hash",
+                                      "Nombre" + (id % 977), "Apellido" + (id % 1409));
+        usuario.setId(id);
+        usuario.setDocumentoIdentidad(String.format("%08d", id));
+        usuario.setTelefono("9" + String.format("%08d", id));
+        usuario.setRoles(List.of(roles.get(id % roles.size())));
+        usuario.setFechaCreacion(BASE.plusMinutes(id * 37L));
+        if (id % 4 != 0) {
+            usuario.setUltimoLogin(BASE.plusHours(id));
+        }
+        return usuario;
+    }
+
+    private static Rol rol(int id, TipoRol tipoRol) {
+        Rol rol = new Rol(tipoRol);
+        rol.setId(id);
+        return rol;
+    }
+}
@@ -0,0 +1,55 @@
+package pe.crediactiva.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la aritmética de fechas del negocio: vencimientos sin
+ * domingo, días de atraso y formato/parseo de fechas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    // El 2024-03-31 es domingo: fuerza el ajuste al lunes
+    private final LocalDate fechaBase = LocalDate.of(2024, 1, 31);
+    private final LocalDate fechaVencimiento = DateUtils.hoy().minusDays(17);
+    private final String fechaTexto = "15/08/2024";
+
+    @Benchmark
+    public LocalDate agregarMesesSinDomingo() {
+        return DateUtils.agregarMesesSinDomingo(fechaBase, 2);
+    }
+
+    @Benchmark
+    public int calcularDiasAtraso() {
+        return DateUtils.calcularDiasAtraso(fechaVencimiento);
+    }
+
+    @Benchmark
+    public String formatearFecha() {
+        return DateUtils.formatearFecha(fechaBase);
+    }
+
+    @Benchmark
+    public LocalDate parsearFecha() {
+        return DateUtils.parsearFecha(fechaTexto);
+    }
+}
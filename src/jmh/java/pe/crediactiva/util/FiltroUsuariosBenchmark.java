@@ -0,0 +1,81 @@
+package pe.crediactiva.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Benchmark JMH del filtro de la pantalla de gestión de usuarios: una pulsación
+ * en el campo de búsqueda reevalúa el predicado sobre toda la lista.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiltroUsuariosBenchmark {
+
+    @Param({"1000", "10000"})
+    int usuarios;
+
+    private List<Usuario> lista;
+    private Rol rolAsesor;
+
+    @Setup
+    public void preparar() {
+        Rol rolAdmin = new Rol("ADMINISTRADOR", "Administrador");
+        rolAdmin.setId(1);
+        rolAsesor = new Rol("ASESOR", "Asesor");
+        rolAsesor.setId(2);
+
+        lista = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            Usuario usuario = new Usuario("usuario" + i, "usuario" + i + "@crediactiva.pe", "hash",
+                                          "Nombre" + i, "Apellido" + (i % 97));
+            usuario.setId(i + 1);
+            usuario.setDocumentoIdentidad(String.format("%08d", i));
+            usuario.setActivo(i % 5 != 0);
+            usuario.getRoles().add(i % 4 == 0 ? rolAdmin : rolAsesor);
+            lista.add(usuario);
+        }
+    }
+
+    @Benchmark
+    public int filtrarPorTexto() {
+        return contar(FiltroUsuarios.crear("apellido4", null, FiltroUsuarios.ESTADO_TODOS));
+    }
+
+    @Benchmark
+    public int filtrarPorTextoRolYEstado() {
+        return contar(FiltroUsuarios.crear("Nombre1", rolAsesor, FiltroUsuarios.ESTADO_ACTIVOS));
+    }
+
+    private int contar(Predicate<Usuario> filtro) {
+        int coincidencias = 0;
+        for (Usuario usuario : lista) {
+            if (filtro.test(usuario)) {
+                coincidencias++;
+            }
+        }
+        return coincidencias;
+    }
+}
@@ -0,0 +1,145 @@
+package pe.crediactiva.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.crediactiva.busqueda.IndiceNombres;
+import pe.crediactiva.model.MarcaAgua;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Benchmark JMH del refresco de la gestión de usuarios en el cliente: recarga
+ * completa (forma anterior de cargarDatos) frente a SincronizacionDelta con 10
+ * filas cambiadas. Se mide el mapeo de filas, la ObservableList con su
+ * FilteredList y el índice de nombres; en base de datos la recarga completa
+ * cuesta además 1 + N sentencias (findAll carga los roles usuario por usuario)
+ * y el refresco por cambios solo 2 + cambios.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SincronizacionDeltaBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 30, 9, 0);
+    private static final int CAMBIADOS = 10;
+    private static final List<Rol> ROLES =
+        List.of(rol(1, TipoRol.ADMINISTRADOR), rol(2, TipoRol.ASESOR), rol(3, TipoRol.CLIENTE));
+
+    @Param({"100000"})
+    int usuarios;
+
+    private List<Usuario> servidor;
+    private Pantalla completa;
+    private Pantalla delta;
+    private long version;
+
+    @Setup
+    public void preparar() {
+        servidor = new ArrayList<>(usuarios);
+        for (int i = 1; i <= usuarios; i++) {
+            servidor.add(usuario(i, BASE, ROLES.get(i % ROLES.size())));
+        }
+        completa = new Pantalla();
+        delta = new Pantalla();
+        delta.cargar(copiar(servidor));
+    }
+
+    // Todas las filas se vuelven a mapear, indexar y envolver
+    @Benchmark
+    public Pantalla recargaCompleta() {
+        completa.cargar(copiar(servidor));
+        return completa;
+    }
+
+    // Solo las filas modificadas reemplazan a las existentes
+    @Benchmark
+    public Pantalla porCambios() {
+        version++;
+        List<Usuario> cambios = new ArrayList<>(CAMBIADOS);
+        for (int i = 0; i < CAMBIADOS; i++) {
+            Usuario original = servidor.get((int) ((version * 7919 + i * 104_729L) % usuarios));
+            cambios.add(usuario(original.getId(), BASE.plusSeconds(version), ROLES.get(i % ROLES.size())));
+        }
+        delta.aplicar(cambios, new MarcaAgua(BASE.plusSeconds(version), usuarios));
+        return delta;
+    }
+
+    /**
+     * Estado de la pantalla: lista observable, filtro e índice de nombres.
+     */
+    public static final class Pantalla {
+        private final IndiceNombres<Usuario> indice =
+            new IndiceNombres<>(Usuario::getId, u -> u.getNombres() + " " + u.getApellidos());
+        private final SincronizacionDelta<Usuario> sincronizacion = new SincronizacionDelta<>(Usuario::getId,
+            (actual, recibido) -> Objects.equals(actual.getFechaActualizacion(), recibido.getFechaActualizacion()));
+        private final Predicate<Usuario> filtro = FiltroUsuarios.crear("", null, FiltroUsuarios.ESTADO_ACTIVOS);
+        private ObservableList<Usuario> filas;
+        private FilteredList<Usuario> filtradas;
+
+        void cargar(List<Usuario> usuarios) {
+            indice.reemplazarTodos(usuarios);
+            filas = FXCollections.observableArrayList(usuarios);
+            filtradas = new FilteredList<>(filas, filtro);
+            sincronizacion.cargar(filas, new MarcaAgua(BASE, usuarios.size()));
+        }
+
+        void aplicar(List<Usuario> cambios, MarcaAgua marca) {
+            for (Usuario usuario : sincronizacion.aplicar(filas, cambios, marca)) {
+                indice.indexar(usuario);
+            }
+            if (filtradas.isEmpty()) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    // Simula el mapeo del ResultSet: cada carga crea objetos nuevos
+    private static List<Usuario> copiar(List<Usuario> servidor) {
+        List<Usuario> copia = new ArrayList<>(servidor.size());
+        for (Usuario usuario : servidor) {
+            copia.add(usuario(usuario.getId(), usuario.getFechaActualizacion(), usuario.getRoles().get(0)));
+        }
+        return copia;
+    }
+
+    private static Usuario usuario(int id, LocalDateTime fechaActualizacion, Rol rol) {
+        Usuario usuario = new Usuario("usuario" + id, "usuario" + id + "@crediactiva.pe", "hash",
+                                      "Nombre" + (id % 977), "Apellido" + (id % 1409));
+        usuario.setId(id);
+        usuario.setFechaActualizacion(fechaActualizacion);
+        usuario.setRoles(List.of(rol));
+        return usuario;
+    }
+
+    private static Rol rol(int id, TipoRol tipoRol) {
+        Rol rol = new Rol(tipoRol);
+        rol.setId(id);
+        return rol;
+    }
+}
@@ -0,0 +1,186 @@
+package pe.crediactiva.app;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.security.PasswordEncoder;
+import pe.crediactiva.security.RegistroAccesos;
+import pe.crediactiva.security.RegistroAuditoria;
+import pe.crediactiva.security.SessionManager;
+import pe.crediactiva.service.RolService;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Arranque de la aplicación en paralelo.
+ *
+ * Las tareas de inicio se ejecutan en hilos de fondo respetando sus dependencias:
+ * <pre>
+ * configuración ─┬─ pantalla de login (parseo del FXML)
+ *                ├─ pool de conexiones ── catálogo de roles
+ *                ├─ escritores de auditoría y accesos
+ *                └─ BCrypt
+ * </pre>
+ * La ventana se muestra apenas el FXML del login está listo; el pool termina de
+ * calentarse mientras el usuario escribe sus credenciales. Si el login llega
+ * antes, DatabaseConfig.getConnection espera a la inicialización en curso.
+ *
+ * Cada hito se registra en milisegundos desde el arranque de la JVM; el de la
+ * pantalla de login lo registra CrediActivaApp al mostrar la ventana.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ArranqueAplicacion {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArranqueAplicacion.class);
+
+    public static final String HITO_CONFIGURACION = "configuracion";
+    public static final String HITO_LOGIN = "pantalla-login";
+    public static final String HITO_POOL = "pool-conexiones";
+    public static final String HITO_PRIMERA_CONSULTA = "primera-consulta";
+    public static final String HITO_BCRYPT = "bcrypt";
+
+    private final boolean cargarInterfaz;
+    private final ExecutorService ejecutor;
+    private final Map<String, Long> hitos = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private CompletableFuture<Parent> pantallaLogin;
+    private CompletableFuture<Void> baseDatos;
+    private CompletableFuture<Void> completo;
+
+    public ArranqueAplicacion() {
+        this(true);
+    }
+
+    /**
+     * Constructor para benchmarks sin entorno gráfico: con cargarInterfaz en
+     * false no se parsea el FXML del login.
+     */
+    ArranqueAplicacion(boolean cargarInterfaz) {
+        this.cargarInterfaz = cargarInterfaz;
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = Executors.newFixedThreadPool(4, r -> {
+            Thread hilo = new Thread(r, "arranque-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Lanza todas las tareas de inicio.
+     *
+     * @return la pantalla de login parseada, lista para crear su escena en el hilo de JavaFX
+     */
+    public CompletableFuture<Parent> iniciar() {
+        CompletableFuture<Void> configuracion = CompletableFuture.runAsync(() -> {
+            AppConfig.initialize();
+            SessionManager.getInstance().initialize();
+            registrarHito(HITO_CONFIGURACION);
+        }, ejecutor);
+
+        pantallaLogin = configuracion.thenApplyAsync(v -> cargarLogin(), ejecutor);
+
+        baseDatos = configuracion.thenRunAsync(() -> {
+            // A través del circuito, para que una caída al arrancar cuente como fallo
+            try (Connection connection = DatabaseConfig.getConnection()) {
+                registrarHito(HITO_POOL);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, ejecutor);
+
+        CompletableFuture<Void> roles = baseDatos.thenRunAsync(() -> {
+            // Primera consulta real: carga las clases del driver y los DAOs
+            int cantidad = new RolService().obtenerRolesActivos().size();
+            registrarHito(HITO_PRIMERA_CONSULTA);
+            logger.debug("Catálogo de roles precargado: {} roles", cantidad);
+        }, ejecutor);
+
+        // No depende del pool: si la base de datos no responde, los escritores
+        // guardan los eventos en su archivo de respaldo
+        CompletableFuture<Void> auditoria = configuracion.thenRunAsync(() -> {
+            if (AppConfig.isAuditEnabled()) {
+                RegistroAuditoria.getInstance().iniciar();
+            }
+            RegistroAccesos.getInstance().iniciar();
+        }, ejecutor);
+
+        CompletableFuture<Void> bcrypt = configuracion.thenRunAsync(() -> {
+            // Un hash con el mismo costo que el login calienta BCrypt antes del primer intento
+            new PasswordEncoder().encode("arranque");
+            registrarHito(HITO_BCRYPT);
+        }, ejecutor);
+
+        completo = CompletableFuture.allOf(pantallaLogin, roles, auditoria, bcrypt)
+                                    .whenComplete((v, e) -> {
+                                        ejecutor.shutdown();
+                                        logger.info("Arranque completado: {}", getHitos());
+                                    });
+        return pantallaLogin;
+    }
+
+    /**
+     * Obtiene la tarea de inicialización del pool de conexiones.
+     *
+     * @return futuro que termina cuando el pool está listo o falla
+     */
+    public CompletableFuture<Void> getBaseDatos() {
+        return baseDatos;
+    }
+
+    /**
+     * Obtiene la tarea que agrupa todo el arranque.
+     *
+     * @return futuro que termina cuando todas las tareas terminan
+     */
+    public CompletableFuture<Void> getCompleto() {
+        return completo;
+    }
+
+    /**
+     * Registra un hito del arranque.
+     *
+     * @param hito nombre del hito
+     */
+    public void registrarHito(String hito) {
+        long ms = ManagementFactory.getRuntimeMXBean().getUptime();
+        hitos.put(hito, ms);
+        logger.info("Arranque: {} a los {} ms", hito, ms);
+    }
+
+    /**
+     * Obtiene los hitos registrados en orden de llegada.
+     *
+     * @return mapa hito → milisegundos desde el arranque de la JVM
+     */
+    public Map<String, Long> getHitos() {
+        synchronized (hitos) {
+            return new LinkedHashMap<>(hitos);
+        }
+    }
+
+    private Parent cargarLogin() {
+        if (!cargarInterfaz) {
+            return null;
+        }
+        try {
+            return new FXMLLoader(ArranqueAplicacion.class.getResource("/fxml/login.fxml")).load();
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo cargar la pantalla de login", e);
+        }
+    }
+}
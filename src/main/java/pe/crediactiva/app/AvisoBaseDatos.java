@@ -0,0 +1,114 @@
+package pe.crediactiva.app;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
+import pe.crediactiva.config.CircuitoBaseDatos;
+import pe.crediactiva.config.DatabaseConfig;
+
+/**
+ * Aviso en la barra de estado cuando la base de datos no está disponible.
+ *
+ * Escucha el circuito de DatabaseConfig y, mientras está abierto, reemplaza el
+ * texto y el estilo de la etiqueta statusLabel de la escena visible. Al cerrarse
+ * el circuito restaura lo que la etiqueta mostraba antes del aviso.
+ *
+ * Las acciones de la interfaz que no atrapan {@link BaseDatosNoDisponibleException}
+ * terminan en el manejador del hilo de JavaFX: se registra como advertencia y
+ * se vuelve a mostrar el aviso, en lugar de dejar la pantalla sin respuesta.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class AvisoBaseDatos {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvisoBaseDatos.class);
+
+    private static final String TEXTO_AVISO = "⚠ Base de datos no disponible. Reintentando conexión...";
+    private static final String ESTILO_AVISO =
+        "-fx-background-color: #c62828; -fx-text-fill: white; -fx-padding: 2 8; -fx-font-weight: bold;";
+
+    private static final String CLAVE_TEXTO = "avisoBaseDatos.texto";
+    private static final String CLAVE_ESTILO = "avisoBaseDatos.estilo";
+
+    private AvisoBaseDatos() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Registra el aviso en el circuito de la base de datos y el manejador de
+     * errores no atrapados del hilo que lo llama, que debe ser el de JavaFX.
+     */
+    static void instalar() {
+        DatabaseConfig.getCircuito().agregarOyente(estado -> Platform.runLater(AvisoBaseDatos::aplicarEnVentana));
+        
+        Thread hiloFx = Thread.currentThread();
+        Thread.UncaughtExceptionHandler anterior = hiloFx.getUncaughtExceptionHandler();
+        hiloFx.setUncaughtExceptionHandler((hilo, error) -> {
+            if (esBaseDatosNoDisponible(error)) {
+                logger.warn("Acción cancelada: {}", error.getMessage());
+                aplicarEnVentana();
+            } else {
+                anterior.uncaughtException(hilo, error);
+            }
+        });
+    }
+    
+    /**
+     * Indica si el error, o alguna de sus causas, es la caída de la base de datos.
+     *
+     * @param error error recibido
+     * @return true si proviene del circuito abierto
+     */
+    static boolean esBaseDatosNoDisponible(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof BaseDatosNoDisponibleException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void aplicarEnVentana() {
+        Scene escena = CrediActivaApp.getPrimaryStage() != null ?
+                       CrediActivaApp.getPrimaryStage().getScene() : null;
+        aplicar(escena);
+    }
+
+    /**
+     * Muestra u oculta el aviso en la escena según el estado actual del circuito.
+     * Se llama también al cambiar de escena.
+     *
+     * @param escena escena visible
+     */
+    static void aplicar(Scene escena) {
+        if (escena == null) {
+            return;
+        }
+        Node nodo = escena.lookup("#statusLabel");
+        if (!(nodo instanceof Label etiqueta)) {
+            return;
+        }
+
+        boolean mostrando = etiqueta.getProperties().containsKey(CLAVE_TEXTO);
+        boolean disponible = DatabaseConfig.getCircuito().getEstado() == CircuitoBaseDatos.Estado.CERRADO;
+
+        if (!disponible && !mostrando) {
+            etiqueta.getProperties().put(CLAVE_TEXTO, etiqueta.getText());
+            etiqueta.getProperties().put(CLAVE_ESTILO, etiqueta.getStyle());
+            etiqueta.setText(TEXTO_AVISO);
+            etiqueta.setStyle(ESTILO_AVISO);
+        } else if (disponible && mostrando) {
+            String textoAnterior = (String) etiqueta.getProperties().remove(CLAVE_TEXTO);
+            etiqueta.setStyle((String) etiqueta.getProperties().remove(CLAVE_ESTILO));
+            // Si el controlador escribió otro estado durante la caída, se conserva
+            if (TEXTO_AVISO.equals(etiqueta.getText())) {
+                etiqueta.setText(textoAnterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package pe.crediactiva.app;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.SessionManager;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caché de vistas de la ventana principal.
+ *
+ * Las pantallas principales (dashboards y gestión de usuarios) se cargan una sola
+ * vez por sesión: al volver a ellas se reutiliza la escena y el controlador, que
+ * refresca sus datos en {@link CicloVidaVista#onShow()}. La caché pertenece al
+ * usuario en sesión y se vacía cuando éste cambia o cierra sesión.
+ *
+ * Tras el login se precargan en segundo plano las pantallas a las que
+ * probablemente navegará el usuario según su rol. Salvo la precarga, todos los
+ * métodos se llaman desde el hilo de JavaFX.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CacheVistas {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheVistas.class);
+
+    /**
+     * Vistas que se pueden reutilizar. Los formularios y el login no se guardan
+     * para que siempre se abran limpios.
+     */
+    static final Set<String> VISTAS_REUTILIZABLES = Set.of(
+        "/fxml/dashboard-admin.fxml",
+        "/fxml/dashboard-asesor.fxml",
+        "/fxml/dashboard-cliente.fxml",
+        "/fxml/gestion-usuarios.fxml"
+    );
+
+    private final Map<String, Vista> vistas = new HashMap<>();
+    private final boolean habilitada;
+    private ExecutorService precargador;
+    private Integer usuarioPropietario;
+
+    private long aciertos = 0;
+    private long fallos = 0;
+
+    public CacheVistas() {
+        this(AppConfig.isJavaFXViewCacheEnabled());
+    }
+
+    CacheVistas(boolean habilitada) {
+        this.habilitada = habilitada;
+    }
+
+    /**
+     * Obtiene la vista de un FXML, reutilizándola si está en caché.
+     *
+     * @param fxmlPath ruta del archivo FXML
+     * @return la vista lista para mostrarse
+     * @throws IOException si el FXML no se puede cargar
+     */
+    public Vista obtener(String fxmlPath) throws IOException {
+        validarPropietario();
+
+        Vista vista = vistas.get(fxmlPath);
+        if (vista != null) {
+            aciertos++;
+            return vista;
+        }
+
+        fallos++;
+        vista = cargar(fxmlPath);
+        if (esReutilizable(fxmlPath)) {
+            vistas.put(fxmlPath, vista);
+        }
+        return vista;
+    }
+
+    /**
+     * Verifica si la vista ya está cargada en la caché.
+     *
+     * @param fxmlPath ruta del archivo FXML
+     * @return true si la siguiente navegación será en caliente
+     */
+    public boolean contiene(String fxmlPath) {
+        return vistas.containsKey(fxmlPath);
+    }
+
+    /**
+     * Precarga en segundo plano las pantallas más probables tras el login
+     * según el rol del usuario en sesión.
+     */
+    public void precargarSiguientes() {
+        Usuario usuario = SessionManager.getInstance().getCurrentUser();
+        if (usuario == null || !habilitada || !AppConfig.isJavaFXViewPreloadEnabled()) {
+            return;
+        }
+        validarPropietario();
+        precargar(rutasSiguientes(usuario));
+    }
+
+    /**
+     * Precarga las vistas indicadas en un hilo de fondo. El FXML se parsea fuera
+     * del hilo de JavaFX; la escena se crea y se guarda en el hilo de JavaFX.
+     * Si el usuario cambia antes de terminar, el resultado se descarta.
+     *
+     * @param rutas rutas de los archivos FXML
+     */
+    public void precargar(List<String> rutas) {
+        Integer propietario = usuarioPropietario;
+
+        for (String ruta : rutas) {
+            if (!esReutilizable(ruta) || vistas.containsKey(ruta)) {
+                continue;
+            }
+            getPrecargador().execute(() -> {
+                try {
+                    long inicio = System.nanoTime();
+                    FXMLLoader fxmlLoader = new FXMLLoader(CacheVistas.class.getResource(ruta));
+                    Parent raiz = fxmlLoader.load();
+                    Object controlador = fxmlLoader.getController();
+                    long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+                    Platform.runLater(() -> {
+                        if (propietario != null && propietario.equals(usuarioPropietario) &&
+                            !vistas.containsKey(ruta)) {
+                            vistas.put(ruta, crearVista(raiz, controlador));
+                            logger.debug("Vista precargada: {} ({} ms)", ruta, ms);
+                        }
+                    });
+                } catch (Exception e) {
+                    // La vista se cargará normalmente al navegar
+                    logger.warn("No se pudo precargar la vista: {}", ruta, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Descarta todas las vistas en caché.
+     */
+    public void limpiar() {
+        if (!vistas.isEmpty()) {
+            logger.debug("Caché de vistas vaciada ({} vistas)", vistas.size());
+        }
+        vistas.clear();
+    }
+
+    /**
+     * Detiene el hilo de precarga.
+     */
+    public void detener() {
+        if (precargador != null) {
+            precargador.shutdownNow();
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Pantallas a las que normalmente se navega desde el dashboard de cada rol.
+     *
+     * @param usuario usuario en sesión
+     * @return rutas de las vistas a precargar
+     */
+    static List<String> rutasSiguientes(Usuario usuario) {
+        if (usuario.esAsesor() || usuario.esCliente()) {
+            // Por ahora estos dashboards no navegan a otras pantallas principales
+            return List.of();
+        }
+        return List.of("/fxml/gestion-usuarios.fxml");
+    }
+
+    private boolean esReutilizable(String fxmlPath) {
+        return habilitada && VISTAS_REUTILIZABLES.contains(fxmlPath);
+    }
+
+    /**
+     * Las vistas guardadas muestran datos del usuario que las cargó: si el
+     * usuario en sesión cambió (o no hay sesión) se descartan.
+     */
+    private void validarPropietario() {
+        Usuario usuario = SessionManager.getInstance().getCurrentUser();
+        Integer actual = usuario != null ? usuario.getId() : null;
+        if (actual == null || !actual.equals(usuarioPropietario)) {
+            limpiar();
+            usuarioPropietario = actual;
+        }
+    }
+
+    private Vista cargar(String fxmlPath) throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(CacheVistas.class.getResource(fxmlPath));
+        Parent raiz = fxmlLoader.load();
+        return crearVista(raiz, fxmlLoader.getController());
+    }
+
+    private static Vista crearVista(Parent raiz, Object controlador) {
+        Scene escena = new Scene(raiz);
+        CrediActivaApp.aplicarEstilos(escena);
+        return new Vista(escena, controlador);
+    }
+
+    private ExecutorService getPrecargador() {
+        if (precargador == null) {
+            precargador = Executors.newSingleThreadExecutor(r -> {
+                Thread hilo = new Thread(r, "precarga-vistas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        return precargador;
+    }
+
+    /**
+     * Escena cargada junto con su controlador.
+     */
+    public static class Vista {
+
+        private final Scene escena;
+        private final Object controlador;
+
+        Vista(Scene escena, Object controlador) {
+            this.escena = escena;
+            this.controlador = controlador;
+        }
+
+        public Scene getEscena() {
+            return escena;
+        }
+
+        public Object getControlador() {
+            return controlador;
+        }
+
+        /**
+         * Notifica al controlador que su vista se muestra.
+         */
+        void mostrar() {
+            if (controlador instanceof CicloVidaVista ciclo) {
+                ciclo.onShow();
+            }
+        }
+
+        /**
+         * Notifica al controlador que su vista se oculta.
+         */
+        void ocultar() {
+            if (controlador instanceof CicloVidaVista ciclo) {
+                ciclo.onHide();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package pe.crediactiva.app;
+
+/**
+ * Ciclo de vida de un controlador cuya vista puede reutilizarse desde la caché
+ * de vistas. initialize() queda para la configuración única de la interfaz; los
+ * datos y los suscriptores del reloj se cargan y liberan en estos métodos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface CicloVidaVista {
+
+    /**
+     * Se invoca en el hilo de JavaFX cada vez que la vista pasa a mostrarse,
+     * incluida la primera.
+     */
+    void onShow();
+
+    /**
+     * Se invoca en el hilo de JavaFX cuando la vista deja de mostrarse.
+     */
+    void onHide();
+}
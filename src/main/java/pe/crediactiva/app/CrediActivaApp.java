@@ -1,19 +1,38 @@
 package pe.crediactiva.app;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.application.Preloader;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
+import javafx.scene.input.InputEvent;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.busqueda.BusquedaUsuarios;
 import pe.crediactiva.config.AppConfig;
 import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.monitoring.GrabadorJfr;
+import pe.crediactiva.monitoring.MetricasSistema;
+import pe.crediactiva.monitoring.MonitorConsultas;
+import pe.crediactiva.monitoring.RegistroMetricas;
+import pe.crediactiva.monitoring.ServidorMetricas;
+import pe.crediactiva.monitoring.VigilanteHiloFx;
+import pe.crediactiva.security.Permiso;
+import pe.crediactiva.security.RegistroAccesos;
+import pe.crediactiva.security.RegistroAuditoria;
 import pe.crediactiva.security.SessionManager;
+import pe.crediactiva.security.VigilanteSesion;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 
 /**
  * Aplicación principal de CrediActiva Desktop.
@@ -26,6 +45,13 @@ public class CrediActivaApp extends Application {
     
     private static final Logger logger = LoggerFactory.getLogger(CrediActivaApp.class);
     private static Stage primaryStage;
+    private static final CacheVistas cacheVistas = new CacheVistas();
+    private static CacheVistas.Vista vistaActual;
+    private static String hojaEstilos;
+    private static VigilanteHiloFx vigilanteFx;
+    private static VigilanteSesion vigilanteSesion;
+    private static GrabadorJfr grabadorJfr;
+    private static final ServidorMetricas servidorMetricas = new ServidorMetricas(RegistroMetricas.getInstance());
     
     @Override
     public void start(Stage stage) throws IOException {
@@ -34,19 +60,41 @@ public class CrediActivaApp extends Application {
         logger.info("Iniciando CrediActiva Desktop v{}", AppConfig.getVersion());
         
         try {
-            // Inicializar configuraciones
-            initializeApplication();
-            
             // Configurar la ventana principal
             setupPrimaryStage(stage);
             
-            // Cargar la pantalla de login
-            loadLoginScene();
+            // Aviso en la barra de estado si la base de datos cae
+            AvisoBaseDatos.instalar();
             
-            // Mostrar la aplicación
-            stage.show();
+            // Eventos JFR de bloqueos del hilo de JavaFX (solo con una grabación activa)
+            vigilanteFx = new VigilanteHiloFx(AppConfig.getJfrFxStallThresholdMs());
+            vigilanteFx.iniciar();
             
-            logger.info("Aplicación iniciada correctamente");
+            // Cierre de la sesión tras el tiempo de inactividad configurado
+            vigilanteSesion = new VigilanteSesion(SessionManager.getInstance(), AppConfig.getSessionTimeoutSeconds(),
+                                                  () -> Platform.runLater(CrediActivaApp::expirarSesion));
+            vigilanteSesion.iniciar();
+            
+            // Métricas; el endpoint HTTP es opcional y solo escucha en localhost
+            MetricasSistema.registrar(RegistroMetricas.getInstance());
+            if (AppConfig.isMetricsHttpEnabled()) {
+                iniciarServidorMetricas();
+            }
+            
+            // Inicializar en paralelo; la ventana se muestra con el login listo
+            ArranqueAplicacion arranque = new ArranqueAplicacion();
+            arranque.iniciar().whenComplete((raiz, error) -> 
+                Platform.runLater(() -> mostrarLogin(arranque, raiz, error)));
+            
+            arranque.getBaseDatos().whenComplete((v, error) -> {
+                if (error != null) {
+                    logger.error("Error al inicializar la base de datos", error);
+                    Platform.runLater(() -> showErrorAlert("Error de Conexión", 
+                                                          "No se pudo conectar a la base de datos", 
+                                                          "Se reintentará al iniciar sesión.\nError: " + 
+                                                          causaRaiz(error).getMessage()));
+                }
+            });
             
         } catch (Exception e) {
             logger.error("Error al iniciar la aplicación", e);
@@ -58,22 +106,47 @@ public class CrediActivaApp extends Application {
     }
     
     /**
-     * Inicializa las configuraciones de la aplicación.
+     * Muestra la ventana principal con la pantalla de login parseada durante el
+     * arranque. Si el parseo en segundo plano falló, la carga en este hilo.
+     * 
+     * @param arranque arranque en curso
+     * @param raiz raíz del FXML de login, o null si falló
+     * @param error error del parseo, o null
      */
-    private void initializeApplication() {
+    private void mostrarLogin(ArranqueAplicacion arranque, Parent raiz, Throwable error) {
         try {
-            // Inicializar configuración de base de datos
-            DatabaseConfig.initialize();
-            logger.info("Base de datos inicializada correctamente");
+            if (raiz != null) {
+                Scene scene = new Scene(raiz);
+                aplicarEstilos(scene);
+                primaryStage.setScene(scene);
+            } else {
+                logger.warn("Login no precargado, cargando en el hilo de JavaFX", error);
+                loadLoginScene();
+            }
             
-            // Inicializar gestor de sesiones
-            SessionManager.getInstance().initialize();
-            logger.info("Gestor de sesiones inicializado");
+            // Mostrar la aplicación
+            primaryStage.show();
+            AvisoBaseDatos.aplicar(primaryStage.getScene());
+            arranque.registrarHito(ArranqueAplicacion.HITO_LOGIN);
+            notifyPreloader(new Preloader.ProgressNotification(1.0));
+            
+            logger.info("Aplicación iniciada correctamente");
             
         } catch (Exception e) {
-            logger.error("Error al inicializar la aplicación", e);
-            throw new RuntimeException("Error de inicialización", e);
+            logger.error("Error al iniciar la aplicación", e);
+            showErrorAlert("Error de Inicio", 
+                          "No se pudo iniciar la aplicación", 
+                          "Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    private static Throwable causaRaiz(Throwable error) {
+        Throwable causa = error;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
         }
+        return causa;
     }
     
     /**
@@ -98,6 +171,8 @@ public class CrediActivaApp extends Application {
             logger.warn("No se pudo cargar el icono de la aplicación", e);
         }
         
+        registrarActividad(stage);
+        
         // Configurar el cierre de la aplicación
         stage.setOnCloseRequest(event -> {
             logger.info("Cerrando aplicación...");
@@ -112,15 +187,7 @@ public class CrediActivaApp extends Application {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
             Scene scene = new Scene(fxmlLoader.load());
-            
-            // Aplicar CSS si está disponible
-            try (InputStream cssStream = getClass().getResourceAsStream("/css/styles.css")) {
-                if (cssStream != null) {
-                    scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
-                }
-            } catch (IOException e) {
-                logger.warn("No se pudo cargar el archivo CSS", e);
-            }
+            aplicarEstilos(scene);
             
             primaryStage.setScene(scene);
             
@@ -138,24 +205,26 @@ public class CrediActivaApp extends Application {
      */
     public static void changeScene(String fxmlPath, String title) {
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(CrediActivaApp.class.getResource(fxmlPath));
-            Scene scene = new Scene(fxmlLoader.load());
+            long inicio = System.nanoTime();
+            boolean enCache = cacheVistas.contiene(fxmlPath);
+            CacheVistas.Vista vista = cacheVistas.obtener(fxmlPath);
             
-            // Aplicar CSS
-            try (InputStream cssStream = CrediActivaApp.class.getResourceAsStream("/css/styles.css")) {
-                if (cssStream != null) {
-                    scene.getStylesheets().add(CrediActivaApp.class.getResource("/css/styles.css").toExternalForm());
-                }
-            } catch (IOException e) {
-                logger.warn("No se pudo cargar el archivo CSS para la nueva escena", e);
+            // Liberar la vista anterior (reloj, datos) antes de reemplazarla
+            if (vistaActual != null && vistaActual != vista) {
+                vistaActual.ocultar();
             }
             
-            primaryStage.setScene(scene);
+            primaryStage.setScene(vista.getEscena());
             if (title != null && !title.isEmpty()) {
                 primaryStage.setTitle(AppConfig.getAppName() + " - " + title);
             }
             
-            logger.debug("Escena cambiada a: {}", fxmlPath);
+            vistaActual = vista;
+            vista.mostrar();
+            AvisoBaseDatos.aplicar(vista.getEscena());
+            
+            logger.debug("Escena cambiada a: {} en {} ms ({})", fxmlPath,
+                        (System.nanoTime() - inicio) / 1_000_000, enCache ? "en caliente" : "en frío");
             
         } catch (IOException e) {
             logger.error("Error al cambiar la escena a: {}", fxmlPath, e);
@@ -165,6 +234,80 @@ public class CrediActivaApp extends Application {
         }
     }
     
+    /**
+     * Cierra la sesión actual, libera los datos cargados para el usuario y
+     * vuelve a la pantalla de login.
+     */
+    public static void cerrarSesion() {
+        SessionManager.getInstance().logout();
+        
+        // Al no haber usuario, la caché de vistas se vacía al navegar al login
+        changeScene("/fxml/login.fxml", "Iniciar Sesión");
+        BusquedaUsuarios.getInstance().limpiar();
+    }
+    
+    /**
+     * Cierra la sesión que venció por inactividad. Se ejecuta en el hilo de
+     * JavaFX; si el usuario interactuó mientras la tarea esperaba, no hace nada.
+     */
+    private static void expirarSesion() {
+        if (vigilanteSesion == null || !vigilanteSesion.isInactiva()) {
+            return;
+        }
+        
+        // Las ventanas secundarias muestran datos del usuario
+        for (Window ventana : new ArrayList<>(Window.getWindows())) {
+            if (ventana != primaryStage && ventana instanceof Stage stage) {
+                stage.close();
+            }
+        }
+        cerrarSesion();
+        
+        showInfoAlert("Sesión Expirada", 
+                     "La sesión se cerró por inactividad", 
+                     "Inicie sesión nuevamente para continuar.");
+    }
+    
+    /**
+     * Registra como actividad de la sesión cualquier evento de entrada (mouse,
+     * teclado, desplazamiento) dirigido a la ventana, en cualquiera de sus escenas.
+     * 
+     * @param ventana ventana de la aplicación
+     */
+    private static void registrarActividad(Window ventana) {
+        SessionManager sesion = SessionManager.getInstance();
+        ventana.addEventFilter(InputEvent.ANY, evento -> sesion.updateLastActivity());
+    }
+    
+    /**
+     * Precarga en segundo plano las pantallas a las que probablemente navegará
+     * el usuario en sesión según su rol.
+     */
+    public static void precargarVistasSiguientes() {
+        cacheVistas.precargarSiguientes();
+    }
+    
+    /**
+     * Aplica la hoja de estilos de la aplicación a una escena. La ubicación del
+     * CSS se resuelve una sola vez.
+     * 
+     * @param scene escena a la que se aplican los estilos
+     */
+    static void aplicarEstilos(Scene scene) {
+        if (hojaEstilos == null) {
+            URL css = CrediActivaApp.class.getResource("/css/styles.css");
+            if (css == null) {
+                logger.warn("No se encontró el archivo CSS");
+                hojaEstilos = "";
+            } else {
+                hojaEstilos = css.toExternalForm();
+            }
+        }
+        if (!hojaEstilos.isEmpty()) {
+            scene.getStylesheets().add(hojaEstilos);
+        }
+    }
+    
     /**
      * Obtiene el stage principal de la aplicación.
      * 
@@ -174,6 +317,42 @@ public class CrediActivaApp extends Application {
         return primaryStage;
     }
     
+    /**
+     * Obtiene el grabador JFR de la aplicación. Es único para que no se
+     * superpongan grabaciones iniciadas desde distintas pantallas.
+     * 
+     * @return el grabador JFR
+     */
+    public static synchronized GrabadorJfr getGrabadorJfr() {
+        if (grabadorJfr == null) {
+            grabadorJfr = new GrabadorJfr(Paths.get(AppConfig.getReportOutputDirectory()), 
+                                          AppConfig.getJfrFxStallThresholdMs());
+        }
+        return grabadorJfr;
+    }
+    
+    /**
+     * Obtiene el servidor local de métricas.
+     * 
+     * @return el servidor de métricas
+     */
+    public static ServidorMetricas getServidorMetricas() {
+        return servidorMetricas;
+    }
+    
+    /**
+     * Inicia el servidor local de métricas en el puerto configurado.
+     * Un puerto ocupado no impide el uso de la aplicación.
+     */
+    public static void iniciarServidorMetricas() {
+        try {
+            servidorMetricas.iniciar(AppConfig.getMetricsHttpPort());
+        } catch (IOException e) {
+            logger.warn("No se pudo iniciar el servidor de métricas en el puerto {}: {}", 
+                       AppConfig.getMetricsHttpPort(), e.getMessage());
+        }
+    }
+    
     /**
      * Muestra un diálogo de error.
      * 
@@ -219,6 +398,25 @@ public class CrediActivaApp extends Application {
         alert.showAndWait();
     }
     
+    /**
+     * Verifica que los roles del usuario de la sesión le den un permiso; si no,
+     * muestra un aviso de acceso denegado. Lo usan las acciones protegidas de
+     * los controladores antes de hacer cualquier cambio.
+     * 
+     * @param permiso permiso requerido por la acción
+     * @return true si la acción puede continuar
+     */
+    public static boolean verificarPermiso(Permiso permiso) {
+        try {
+            SessionManager.getInstance().requirePermiso(permiso);
+            return true;
+        } catch (SecurityException e) {
+            logger.warn("Acción denegada: {}", e.getMessage());
+            showWarningAlert("Acceso Denegado", "Permiso insuficiente", e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Muestra un diálogo de confirmación.
      * 
@@ -248,15 +446,7 @@ public class CrediActivaApp extends Application {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(CrediActivaApp.class.getResource(fxmlPath));
             Scene scene = new Scene(fxmlLoader.load());
-            
-            // Aplicar CSS
-            try (InputStream cssStream = CrediActivaApp.class.getResourceAsStream("/css/styles.css")) {
-                if (cssStream != null) {
-                    scene.getStylesheets().add(CrediActivaApp.class.getResource("/css/styles.css").toExternalForm());
-                }
-            } catch (IOException e) {
-                logger.warn("No se pudo cargar el archivo CSS para la nueva ventana", e);
-            }
+            aplicarEstilos(scene);
             
             Stage newStage = new Stage();
             newStage.setTitle(title);
@@ -264,6 +454,7 @@ public class CrediActivaApp extends Application {
             newStage.setWidth(width);
             newStage.setHeight(height);
             newStage.setResizable(true);
+            registrarActividad(newStage);
             
             // Configurar modalidad
             if (modal) {
@@ -300,6 +491,24 @@ public class CrediActivaApp extends Application {
             // Cerrar sesión si existe
             SessionManager.getInstance().logout();
             
+            // Guardar la auditoría y los últimos login pendientes antes de cerrar el pool
+            RegistroAuditoria.getInstance().detener(5000);
+            RegistroAccesos.getInstance().detener(5000);
+            
+            // Detener la precarga de vistas
+            cacheVistas.detener();
+            
+            if (vigilanteFx != null) {
+                vigilanteFx.detener();
+            }
+            if (vigilanteSesion != null) {
+                vigilanteSesion.detener();
+            }
+            servidorMetricas.detener();
+            
+            // Resumen de latencias SQL de la sesión
+            MonitorConsultas.getInstance().registrarResumen();
+            
             // Cerrar pool de conexiones
             DatabaseConfig.shutdown();
             
@@ -325,7 +534,9 @@ public class CrediActivaApp extends Application {
      */
     public static void main(String[] args) {
         // Configurar propiedades del sistema para JavaFX
-        System.setProperty("javafx.preloader", "false");
+        if (AppConfig.isJavaFXPreloaderEnabled()) {
+            System.setProperty("javafx.preloader", CrediActivaPreloader.class.getName());
+        }
         System.setProperty("prism.lcdtext", "false");
         System.setProperty("prism.text", "t2k");
         
@@ -0,0 +1,63 @@
+package pe.crediactiva.app;
+
+import javafx.application.Preloader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * Pantalla de carga mostrada mientras corre el arranque en paralelo.
+ * Se habilita con javafx.preloader.enabled y se cierra cuando CrediActivaApp
+ * notifica un progreso completo (la ventana de login ya está visible).
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CrediActivaPreloader extends Preloader {
+
+    private Stage stage;
+    private ProgressBar progreso;
+
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+
+        progreso = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        progreso.setPrefWidth(260);
+
+        VBox contenido = new VBox(12, new Label("Iniciando CrediActiva Desktop..."), progreso);
+        contenido.setAlignment(Pos.CENTER);
+        contenido.setPadding(new Insets(24));
+
+        stage.initStyle(StageStyle.UNDECORATED);
+        stage.setScene(new Scene(contenido, 320, 110));
+        stage.show();
+    }
+
+    @Override
+    public void handleApplicationNotification(PreloaderNotification info) {
+        if (info instanceof ProgressNotification notificacion) {
+            if (notificacion.getProgress() >= 1.0) {
+                stage.hide();
+            } else {
+                progreso.setProgress(notificacion.getProgress());
+            }
+        }
+    }
+
+    @Override
+    public void handleStateChangeNotification(StateChangeNotification info) {
+        // La aplicación decide cuándo cerrar la pantalla de carga
+    }
+
+    @Override
+    public boolean handleErrorNotification(ErrorNotification info) {
+        stage.hide();
+        return false;
+    }
+}
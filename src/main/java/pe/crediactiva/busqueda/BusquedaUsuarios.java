@@ -0,0 +1,121 @@
+package pe.crediactiva.busqueda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Índice de nombres y detector de duplicados de usuarios compartidos por la
+ * aplicación. Se carga con la lista completa de usuarios (la pantalla de
+ * gestión ya la tiene en memoria) y UsuarioService lo mantiene al día al crear,
+ * actualizar, activar o desactivar usuarios. Mientras no se haya cargado, la
+ * búsqueda va a la base de datos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class BusquedaUsuarios {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaUsuarios.class);
+
+    private static class Holder {
+        private static final BusquedaUsuarios INSTANCE = new BusquedaUsuarios();
+    }
+
+    private final IndiceNombres<Usuario> indice =
+        new IndiceNombres<>(Usuario::getId, u -> u.getNombres() + " " + u.getApellidos());
+    private final DetectorDuplicados duplicados = new DetectorDuplicados();
+    private volatile boolean cargado;
+
+    BusquedaUsuarios() {
+    }
+
+    public static BusquedaUsuarios getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Reemplaza el contenido del índice con la lista completa de usuarios.
+     *
+     * @param usuarios todos los usuarios, activos e inactivos
+     */
+    public void cargar(Collection<Usuario> usuarios) {
+        long inicio = System.nanoTime();
+        indice.reemplazarTodos(usuarios);
+        List<PersonaRegistrada> personas = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            personas.add(PersonaRegistrada.de(usuario));
+        }
+        duplicados.reemplazarTodos(personas);
+        cargado = true;
+        logger.debug("Índice de nombres y duplicados cargado con {} usuarios en {} ms",
+                     usuarios.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Indica si el índice tiene la lista completa de usuarios.
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Indexa la versión actual de un usuario creado o modificado. No hace nada
+     * si el índice aún no se ha cargado.
+     *
+     * @param usuario usuario con id
+     */
+    public void actualizar(Usuario usuario) {
+        if (cargado && usuario != null) {
+            indice.indexar(usuario);
+            duplicados.agregar(PersonaRegistrada.de(usuario));
+        }
+    }
+
+    /**
+     * Quita un usuario eliminado del índice.
+     *
+     * @param usuarioId id del usuario
+     */
+    public void eliminar(Integer usuarioId) {
+        indice.eliminar(usuarioId);
+        duplicados.quitar(PersonaRegistrada.Origen.USUARIO, usuarioId);
+    }
+
+    /**
+     * Busca usuarios por nombres y apellidos, sin importar tildes ni el orden
+     * de las palabras.
+     *
+     * @param consulta texto de búsqueda
+     * @param limite máximo de resultados
+     * @return usuarios ordenados por relevancia
+     */
+    public List<Usuario> buscar(String consulta, int limite) {
+        return indice.buscar(consulta, limite);
+    }
+
+    /**
+     * Busca usuarios que probablemente son la misma persona que la indicada,
+     * con el nombre o el documento escritos de otra forma.
+     *
+     * @param usuario datos del usuario (al crearlo aún no tiene id)
+     * @param limite máximo de resultados
+     * @return posibles duplicados, el más parecido primero
+     */
+    public List<PosibleDuplicado> buscarPosiblesDuplicados(Usuario usuario, int limite) {
+        return duplicados.buscar(PersonaRegistrada.de(usuario), limite);
+    }
+
+    /**
+     * Vacía el índice; la búsqueda vuelve a la base de datos hasta la próxima carga.
+     */
+    public void limpiar() {
+        cargado = false;
+        indice.reemplazarTodos(List.of());
+        duplicados.reemplazarTodos(List.of());
+    }
+}
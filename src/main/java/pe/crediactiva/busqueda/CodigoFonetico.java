@@ -0,0 +1,102 @@
+package pe.crediactiva.busqueda;
+
+/**
+ * Código fonético para nombres en español. Dos escrituras que suenan igual
+ * producen el mismo código: "Vásquez", "Basquez" y "Vazques" dan "bsks".
+ *
+ * <p>Reglas: se ignoran tildes y la h muda; b/v/w, s/z/c(e,i), k/q(u)/c,
+ * j/g(e,i) e y/ll se igualan; se conserva la primera vocal y se omiten las
+ * demás (son las letras que más se equivocan al escribir) y las letras
+ * repetidas cuentan una vez. El código se corta en {@value #LONGITUD_MAXIMA}
+ * caracteres.</p>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class CodigoFonetico {
+
+    public static final int LONGITUD_MAXIMA = 6;
+
+    private CodigoFonetico() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Calcula el código fonético de una palabra.
+     *
+     * @param palabra palabra original (puede ser null o tener tildes)
+     * @return código fonético, vacío si la palabra no tiene letras
+     */
+    public static String codificar(String palabra) {
+        String texto = NormalizadorNombres.normalizar(palabra);
+        StringBuilder codigo = new StringBuilder(LONGITUD_MAXIMA);
+        char anterior = 0;
+        for (int i = 0; i < texto.length() && codigo.length() < LONGITUD_MAXIMA; i++) {
+            char c = texto.charAt(i);
+            char siguiente = i + 1 < texto.length() ? texto.charAt(i + 1) : 0;
+            char sonido;
+            switch (c) {
+                case 'a', 'e', 'i', 'o', 'u' -> sonido = codigo.length() == 0 ? c : 0;
+                case 'b', 'v', 'w' -> sonido = 'b';
+                case 's', 'z' -> sonido = 's';
+                case 'c' -> {
+                    if (siguiente == 'h') {
+                        sonido = 'x';
+                        i++;
+                    } else {
+                        sonido = esVocalSuave(siguiente) ? 's' : 'k';
+                    }
+                }
+                case 'k' -> sonido = 'k';
+                case 'q' -> {
+                    sonido = 'k';
+                    if (siguiente == 'u') {
+                        i++;
+                    }
+                }
+                case 'g' -> {
+                    if (siguiente == 'u' && i + 2 < texto.length() && esVocalSuave(texto.charAt(i + 2))) {
+                        sonido = 'g';
+                        i++;
+                    } else {
+                        sonido = esVocalSuave(siguiente) ? 'j' : 'g';
+                    }
+                }
+                case 'j' -> sonido = 'j';
+                case 'l' -> {
+                    if (siguiente == 'l') {
+                        sonido = 'y';
+                        i++;
+                    } else {
+                        sonido = 'l';
+                    }
+                }
+                // Al final de palabra la y suena como i
+                case 'y' -> sonido = siguiente == 0 || !Character.isLetter(siguiente)
+                    ? (codigo.length() == 0 ? 'i' : 0) : 'y';
+                case 'h' -> sonido = 0;
+                case 'x' -> {
+                    if (anterior != 'k') {
+                        codigo.append('k');
+                    }
+                    sonido = 's';
+                }
+                default -> sonido = Character.isLetter(c) ? c : 0;
+            }
+            if (sonido != 0 && sonido != anterior && codigo.length() < LONGITUD_MAXIMA) {
+                codigo.append(sonido);
+            }
+            // La h muda no separa letras repetidas; una vocal omitida sí ("Carrera" da krr)
+            if (sonido != 0) {
+                anterior = sonido;
+            } else if (c != 'h') {
+                anterior = 0;
+            }
+        }
+        return codigo.toString();
+    }
+
+    private static boolean esVocalSuave(char c) {
+        return c == 'e' || c == 'i';
+    }
+}
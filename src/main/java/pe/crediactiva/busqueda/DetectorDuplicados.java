@@ -0,0 +1,365 @@
+package pe.crediactiva.busqueda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Detección de personas registradas dos veces con el nombre o el documento
+ * mal escrito.
+ *
+ * <p>Comparar cada registro con todos los demás es cuadrático. En su lugar,
+ * cada registro se coloca en bloques según claves que un duplicado casi
+ * siempre comparte, y solo se comparan registros del mismo bloque:</p>
+ * <ul>
+ *   <li>código fonético del primer apellido más la inicial fonética del nombre</li>
+ *   <li>primeros {@value #LONGITUD_PREFIJO_DOCUMENTO} caracteres del documento</li>
+ *   <li>últimos {@value #LONGITUD_SUFIJO_TELEFONO} dígitos del teléfono</li>
+ * </ul>
+ * <p>Basta con que un error de escritura respete una de las claves para que el
+ * par se compare. Dentro del bloque, el puntaje combina la similitud de los
+ * nombres (Jaro-Winkler, sin tildes ni importar el orden de las palabras), la
+ * distancia de edición del documento y la igualdad del teléfono; los campos que
+ * falten en alguno de los dos registros no cuentan.</p>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class DetectorDuplicados {
+
+    private static final Logger logger = LoggerFactory.getLogger(DetectorDuplicados.class);
+
+    public static final double UMBRAL_POR_DEFECTO = 0.80;
+
+    static final int LONGITUD_PREFIJO_DOCUMENTO = 5;
+    static final int LONGITUD_SUFIJO_TELEFONO = 6;
+    // Dígitos de un celular peruano; descarta el prefijo +51
+    private static final int DIGITOS_TELEFONO = 9;
+    // Un bloque mayor no discrimina (p. ej. un teléfono de oficina compartido) y en el escaneo sería cuadrático
+    static final int TAMANIO_MAXIMO_BLOQUE = 2_000;
+
+    private static final double PESO_NOMBRE = 0.50;
+    private static final double PESO_DOCUMENTO = 0.35;
+    private static final double PESO_TELEFONO = 0.15;
+    private static final double SIMILITUD_DOCUMENTO_UNA_EDICION = 0.9;
+
+    private final double umbral;
+    private final Map<String, List<Ficha>> bloques = new HashMap<>();
+    private final Map<Clave, Ficha> fichas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int siguienteNumero;
+
+    private record Clave(PersonaRegistrada.Origen origen, Integer id) {
+    }
+
+    /**
+     * Registro con sus campos ya normalizados y sus claves de bloque.
+     */
+    private static final class Ficha {
+        final PersonaRegistrada persona;
+        final int numero;
+        final String nombre;
+        final String nombreOrdenado;
+        final String documento;
+        final String telefono;
+        final String[] bloques;
+
+        Ficha(PersonaRegistrada persona, int numero) {
+            this.persona = persona;
+            this.numero = numero;
+            String[] palabrasNombres = NormalizadorNombres.tokenizar(persona.nombres());
+            String[] palabrasApellidos = NormalizadorNombres.tokenizar(persona.apellidos());
+            String[] palabras = new String[palabrasNombres.length + palabrasApellidos.length];
+            System.arraycopy(palabrasNombres, 0, palabras, 0, palabrasNombres.length);
+            System.arraycopy(palabrasApellidos, 0, palabras, palabrasNombres.length, palabrasApellidos.length);
+            this.nombre = String.join(" ", palabras);
+            Arrays.sort(palabras);
+            this.nombreOrdenado = String.join(" ", palabras);
+            this.documento = soloAlfanumericos(persona.documento());
+            String digitos = soloAlfanumericos(persona.telefono());
+            this.telefono = digitos.length() > DIGITOS_TELEFONO ? digitos.substring(digitos.length() - DIGITOS_TELEFONO) : digitos;
+            this.bloques = clavesBloque(palabrasNombres, palabrasApellidos, documento, telefono);
+        }
+    }
+
+    public DetectorDuplicados() {
+        this(UMBRAL_POR_DEFECTO);
+    }
+
+    /**
+     * @param umbral puntaje mínimo, entre 0 y 1, para considerar duplicado un par
+     */
+    public DetectorDuplicados(double umbral) {
+        this.umbral = umbral;
+    }
+
+    /**
+     * Agrega el registro o reemplaza la versión anterior con el mismo origen e id.
+     *
+     * @param persona registro a agregar; se ignora si no tiene id
+     */
+    public void agregar(PersonaRegistrada persona) {
+        if (persona.id() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            quitarFicha(new Clave(persona.origen(), persona.id()));
+            agregarFicha(persona);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido del detector.
+     *
+     * @param personas registros a agregar
+     */
+    public void reemplazarTodos(Collection<PersonaRegistrada> personas) {
+        lock.writeLock().lock();
+        try {
+            bloques.clear();
+            fichas.clear();
+            siguienteNumero = 0;
+            for (PersonaRegistrada persona : personas) {
+                if (persona.id() != null) {
+                    quitarFicha(new Clave(persona.origen(), persona.id()));
+                    agregarFicha(persona);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un registro.
+     *
+     * @param origen tabla del registro
+     * @param id id del registro
+     */
+    public void quitar(PersonaRegistrada.Origen origen, Integer id) {
+        lock.writeLock().lock();
+        try {
+            quitarFicha(new Clave(origen, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los registros que probablemente son la misma persona que la
+     * indicada, p. ej. antes de crear un usuario. Solo compara con los
+     * registros de sus bloques.
+     *
+     * @param persona datos de la persona (puede no tener id todavía)
+     * @param limite máximo de resultados
+     * @return posibles duplicados, el más parecido primero
+     */
+    public List<PosibleDuplicado> buscar(PersonaRegistrada persona, int limite) {
+        Ficha consulta = new Ficha(persona, -1);
+        List<PosibleDuplicado> resultado = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<Ficha> comparadas = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String claveBloque : consulta.bloques) {
+                List<Ficha> bloque = bloques.get(claveBloque);
+                if (bloque == null) {
+                    continue;
+                }
+                for (Ficha candidata : bloque) {
+                    if (comparadas.add(candidata) && !esMismoRegistro(consulta, candidata)) {
+                        double puntaje = puntaje(consulta, candidata, umbral);
+                        if (puntaje >= umbral) {
+                            resultado.add(new PosibleDuplicado(persona, candidata.persona, puntaje));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        resultado.sort(Comparator.comparingDouble(PosibleDuplicado::puntaje).reversed());
+        return resultado.size() > limite ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+    }
+
+    /**
+     * Compara todos los registros entre sí, bloque por bloque. Cada par se
+     * informa una sola vez aunque comparta varios bloques.
+     *
+     * @return posibles duplicados, los más parecidos primero
+     */
+    public List<PosibleDuplicado> escanear() {
+        List<PosibleDuplicado> resultado = new ArrayList<>();
+        long paresComparados = 0;
+        int bloquesOmitidos = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, List<Ficha>> entrada : bloques.entrySet()) {
+                List<Ficha> bloque = entrada.getValue();
+                if (bloque.size() > TAMANIO_MAXIMO_BLOQUE) {
+                    bloquesOmitidos++;
+                    logger.warn("Bloque {} omitido en el escaneo de duplicados: {} registros",
+                                entrada.getKey(), bloque.size());
+                    continue;
+                }
+                for (int i = 0; i < bloque.size(); i++) {
+                    Ficha a = bloque.get(i);
+                    for (int j = i + 1; j < bloque.size(); j++) {
+                        Ficha b = bloque.get(j);
+                        if (esMismoRegistro(a, b) || !esPrimerBloqueComun(a, b, entrada.getKey())) {
+                            continue;
+                        }
+                        paresComparados++;
+                        double puntaje = puntaje(a, b, umbral);
+                        if (puntaje >= umbral) {
+                            resultado.add(a.numero < b.numero
+                                ? new PosibleDuplicado(a.persona, b.persona, puntaje)
+                                : new PosibleDuplicado(b.persona, a.persona, puntaje));
+                        }
+                    }
+                }
+            }
+            logger.debug("Escaneo de duplicados: {} registros, {} bloques ({} omitidos), {} pares comparados",
+                         fichas.size(), bloques.size(), bloquesOmitidos, paresComparados);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        resultado.sort(Comparator.comparingDouble(PosibleDuplicado::puntaje).reversed());
+        return resultado;
+    }
+
+    /**
+     * @return número de registros cargados
+     */
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return fichas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puntaje de parecido de dos registros, entre 0 y 1. Calcula primero la parte del documento y el teléfono, que es barata; si ni
+     * con nombres idénticos se alcanzaría el mínimo, no compara los nombres.
+     *
+     * @return puntaje, o un valor menor que minimo si no puede alcanzarlo
+     */
+    private static double puntaje(Ficha a, Ficha b, double minimo) {
+        double suma = 0.0;
+        double pesos = PESO_NOMBRE;
+
+        if (!a.documento.isEmpty() && !b.documento.isEmpty()) {
+            pesos += PESO_DOCUMENTO;
+            if (a.documento.equals(b.documento)) {
+                suma += PESO_DOCUMENTO;
+            } else if (SimilitudTexto.distanciaEdicion(a.documento, b.documento, 1) <= 1) {
+                suma += PESO_DOCUMENTO * SIMILITUD_DOCUMENTO_UNA_EDICION;
+            }
+        }
+        if (!a.telefono.isEmpty() && !b.telefono.isEmpty()) {
+            pesos += PESO_TELEFONO;
+            if (a.telefono.equals(b.telefono)) {
+                suma += PESO_TELEFONO;
+            }
+        }
+        if ((suma + PESO_NOMBRE) / pesos < minimo) {
+            return 0.0;
+        }
+        double similitudNombre = Math.max(SimilitudTexto.jaroWinkler(a.nombre, b.nombre),
+                                          SimilitudTexto.jaroWinkler(a.nombreOrdenado, b.nombreOrdenado));
+        return (suma + PESO_NOMBRE * similitudNombre) / pesos;
+    }
+
+    // Mismo registro, o una solicitud y el usuario que es su cliente
+    private static boolean esMismoRegistro(Ficha a, Ficha b) {
+        PersonaRegistrada pa = a.persona;
+        PersonaRegistrada pb = b.persona;
+        if (pa.origen() == pb.origen() && pa.id() != null && pa.id().equals(pb.id())) {
+            return true;
+        }
+        return pa.usuarioId() != null && pa.usuarioId().equals(pb.usuarioId());
+    }
+
+    // Un par que comparte varios bloques se compara solo en el primero de ellos
+    private static boolean esPrimerBloqueComun(Ficha a, Ficha b, String claveBloque) {
+        for (String claveA : a.bloques) {
+            for (String claveB : b.bloques) {
+                if (claveA.equals(claveB)) {
+                    return claveA.equals(claveBloque);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String[] clavesBloque(String[] nombres, String[] apellidos, String documento, String telefono) {
+        List<String> claves = new ArrayList<>(3);
+        if (apellidos.length > 0) {
+            String inicial = nombres.length > 0 ? CodigoFonetico.codificar(nombres[0]) : "";
+            claves.add("a:" + CodigoFonetico.codificar(apellidos[0]) + "/" + (inicial.isEmpty() ? "" : inicial.substring(0, 1)));
+        }
+        if (documento.length() > LONGITUD_PREFIJO_DOCUMENTO) {
+            claves.add("d:" + documento.substring(0, LONGITUD_PREFIJO_DOCUMENTO));
+        }
+        if (telefono.length() >= LONGITUD_SUFIJO_TELEFONO) {
+            claves.add("t:" + telefono.substring(telefono.length() - LONGITUD_SUFIJO_TELEFONO));
+        }
+        return claves.toArray(new String[0]);
+    }
+
+    private static String soloAlfanumericos(String texto) {
+        String normalizado = NormalizadorNombres.normalizar(texto);
+        StringBuilder sb = new StringBuilder(normalizado.length());
+        for (int i = 0; i < normalizado.length(); i++) {
+            char c = normalizado.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void agregarFicha(PersonaRegistrada persona) {
+        Ficha ficha = new Ficha(persona, siguienteNumero++);
+        fichas.put(new Clave(persona.origen(), persona.id()), ficha);
+        for (String claveBloque : ficha.bloques) {
+            bloques.computeIfAbsent(claveBloque, c -> new ArrayList<>(2)).add(ficha);
+        }
+    }
+
+    private void quitarFicha(Clave clave) {
+        Ficha anterior = fichas.remove(clave);
+        if (anterior == null) {
+            return;
+        }
+        for (String claveBloque : anterior.bloques) {
+            List<Ficha> bloque = bloques.get(claveBloque);
+            if (bloque != null) {
+                bloque.remove(anterior);
+                if (bloque.isEmpty()) {
+                    bloques.remove(claveBloque);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package pe.crediactiva.busqueda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.mysql.PersonaRegistradaDAOImpl;
+import pe.crediactiva.report.ColumnaReporte;
+import pe.crediactiva.report.EscritorCsv;
+import pe.crediactiva.report.EscritorReporte;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Escaneo completo de posibles personas duplicadas entre usuarios y clientes
+ * de solicitudes. Lee solo los campos de identificación de ambas tablas
+ * ({@link PersonaRegistradaDAOImpl}) y escribe los pares encontrados en un CSV
+ * para revisión manual.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=pe.crediactiva.busqueda.EscaneoDuplicados \
+ *     -Dexec.args="--salida target/duplicados.csv --umbral 0.85"
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class EscaneoDuplicados {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscaneoDuplicados.class);
+
+    private static final List<ColumnaReporte> COLUMNAS = List.of(
+        ColumnaReporte.decimal("Parecido"),
+        ColumnaReporte.texto("Origen A"),
+        ColumnaReporte.entero("Id A"),
+        ColumnaReporte.texto("Nombre A"),
+        ColumnaReporte.texto("Documento A"),
+        ColumnaReporte.texto("Teléfono A"),
+        ColumnaReporte.texto("Origen B"),
+        ColumnaReporte.entero("Id B"),
+        ColumnaReporte.texto("Nombre B"),
+        ColumnaReporte.texto("Documento B"),
+        ColumnaReporte.texto("Teléfono B"));
+
+    public static void main(String[] args) throws Exception {
+        Path salida = Path.of("duplicados.csv");
+        double umbral = DetectorDuplicados.UMBRAL_POR_DEFECTO;
+
+        for (int i = 0; i < args.length; i += 2) {
+            String opcion = args[i];
+            String valor = i + 1 < args.length ? args[i + 1] : "";
+            switch (opcion) {
+                case "--salida" -> salida = Path.of(valor);
+                case "--umbral" -> umbral = Double.parseDouble(valor);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + opcion);
+            }
+        }
+
+        DatabaseConfig.initialize();
+        try {
+            long inicio = System.nanoTime();
+            List<PersonaRegistrada> personas = new PersonaRegistradaDAOImpl().findAll();
+            DetectorDuplicados detector = new DetectorDuplicados(umbral);
+            detector.reemplazarTodos(personas);
+            List<PosibleDuplicado> duplicados = detector.escanear();
+            escribir(duplicados, salida);
+            logger.info("Escaneo de duplicados: {} registros, {} pares en {} s -> {}",
+                        personas.size(), duplicados.size(),
+                        String.format("%.1f", (System.nanoTime() - inicio) / 1e9), salida);
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private static void escribir(List<PosibleDuplicado> duplicados, Path salida) throws Exception {
+        if (salida.getParent() != null) {
+            Files.createDirectories(salida.getParent());
+        }
+        try (OutputStream archivo = Files.newOutputStream(salida);
+             EscritorReporte escritor = new EscritorCsv(archivo)) {
+            escritor.escribirEncabezado(COLUMNAS);
+            Object[] fila = new Object[COLUMNAS.size()];
+            for (PosibleDuplicado duplicado : duplicados) {
+                fila[0] = BigDecimal.valueOf(duplicado.puntaje()).setScale(3, RoundingMode.HALF_UP);
+                llenar(fila, 1, duplicado.persona());
+                llenar(fila, 6, duplicado.coincidencia());
+                escritor.escribirFila(fila);
+            }
+        }
+    }
+
+    private static void llenar(Object[] fila, int desde, PersonaRegistrada persona) {
+        fila[desde] = persona.origen().name();
+        fila[desde + 1] = persona.id();
+        fila[desde + 2] = persona.getNombreCompleto().trim();
+        fila[desde + 3] = persona.documento();
+        fila[desde + 4] = persona.telefono();
+    }
+}
@@ -0,0 +1,296 @@
+package pe.crediactiva.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Índice invertido en memoria para buscar personas por nombre. Sirve para
+ * cualquier entidad con id y nombre (usuarios, solicitudes): el texto indexado
+ * se obtiene con la función que se pasa al construirlo.
+ *
+ * <p>Cada palabra de la consulta debe ser prefijo de alguna palabra del nombre,
+ * sin importar el orden ni las tildes: "perez ju" encuentra a "Juan Pérez".
+ * Los resultados se ordenan por relevancia: pesa más una palabra completa que
+ * un prefijo, y un prefijo largo más que uno corto.</p>
+ *
+ * <p>Las palabras se guardan ordenadas, así que un prefijo se resuelve con un
+ * rango del diccionario. Cada palabra tiene su lista de ids ordenada.</p>
+ *
+ * @param <T> tipo de entidad indexada
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class IndiceNombres<T> {
+
+    private static final double PUNTAJE_PALABRA_COMPLETA = 2.0;
+
+    private final Function<T, Integer> id;
+    private final Function<T, String> texto;
+    private final NavigableMap<String, Postings> palabras = new TreeMap<>();
+    private final Map<Integer, Documento<T>> documentos = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Entidad indexada con sus palabras normalizadas.
+     */
+    private record Documento<T>(int id, T entidad, String[] palabras, String orden) {
+    }
+
+    /**
+     * Documento encontrado con su puntaje.
+     */
+    private record Coincidencia<T>(Documento<T> documento, double puntaje) {
+    }
+
+    /**
+     * Lista ordenada de ids de los documentos que contienen una palabra.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int tamanio;
+
+        void agregar(int id) {
+            if (tamanio == 0 || ids[tamanio - 1] < id) {
+                asegurarCapacidad();
+                ids[tamanio++] = id;
+                return;
+            }
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion >= 0) {
+                return;
+            }
+            posicion = -posicion - 1;
+            asegurarCapacidad();
+            System.arraycopy(ids, posicion, ids, posicion + 1, tamanio - posicion);
+            ids[posicion] = id;
+            tamanio++;
+        }
+
+        void quitar(int id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion >= 0) {
+                System.arraycopy(ids, posicion + 1, ids, posicion, tamanio - posicion - 1);
+                tamanio--;
+            }
+        }
+
+        private void asegurarCapacidad() {
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+    /**
+     * @param id función que obtiene el id de la entidad
+     * @param texto función que obtiene el texto a indexar (p. ej. nombres y apellidos)
+     */
+    public IndiceNombres(Function<T, Integer> id, Function<T, String> texto) {
+        this.id = id;
+        this.texto = texto;
+    }
+
+    /**
+     * Agrega la entidad o reemplaza la versión indexada con el mismo id.
+     *
+     * @param entidad entidad a indexar; se ignora si no tiene id
+     */
+    public void indexar(T entidad) {
+        Integer clave = id.apply(entidad);
+        if (clave == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            quitarDocumento(clave);
+            agregarDocumento(clave, entidad);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido del índice.
+     *
+     * @param entidades entidades a indexar
+     */
+    public void reemplazarTodos(Collection<? extends T> entidades) {
+        lock.writeLock().lock();
+        try {
+            palabras.clear();
+            documentos.clear();
+            for (T entidad : entidades) {
+                Integer clave = id.apply(entidad);
+                if (clave != null) {
+                    quitarDocumento(clave);
+                    agregarDocumento(clave, entidad);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita la entidad del índice.
+     *
+     * @param clave id de la entidad
+     */
+    public void eliminar(Integer clave) {
+        if (clave == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            quitarDocumento(clave);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las entidades cuyo nombre contiene, como prefijo de alguna de sus
+     * palabras, cada palabra de la consulta.
+     *
+     * @param consulta texto escrito por el usuario
+     * @param limite máximo de resultados
+     * @return entidades ordenadas por relevancia y luego por nombre; vacía si la consulta no tiene palabras
+     */
+    public List<T> buscar(String consulta, int limite) {
+        String[] terminos = NormalizadorNombres.tokenizar(consulta);
+        if (terminos.length == 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet candidatos = null;
+            for (String termino : terminos) {
+                BitSet conTermino = documentosConPrefijo(termino);
+                if (candidatos == null) {
+                    candidatos = conTermino;
+                } else {
+                    candidatos.and(conTermino);
+                }
+                if (candidatos.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Montículo con los peores arriba para quedarse con los mejores "limite"
+            Comparator<Coincidencia<T>> porRelevancia = Comparator
+                .comparingDouble((Coincidencia<T> c) -> c.puntaje()).reversed()
+                .thenComparing(c -> c.documento().orden())
+                .thenComparingInt(c -> c.documento().id());
+            PriorityQueue<Coincidencia<T>> mejores = new PriorityQueue<>(porRelevancia.reversed());
+            for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+                Documento<T> documento = documentos.get(i);
+                Coincidencia<T> coincidencia = new Coincidencia<>(documento, puntaje(terminos, documento.palabras()));
+                if (mejores.size() < limite) {
+                    mejores.add(coincidencia);
+                } else if (porRelevancia.compare(coincidencia, mejores.peek()) < 0) {
+                    mejores.poll();
+                    mejores.add(coincidencia);
+                }
+            }
+
+            List<Coincidencia<T>> ordenadas = new ArrayList<>(mejores);
+            ordenadas.sort(porRelevancia);
+            List<T> resultado = new ArrayList<>(ordenadas.size());
+            for (Coincidencia<T> coincidencia : ordenadas) {
+                resultado.add(coincidencia.documento().entidad());
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return número de entidades indexadas
+     */
+    public int tamanio() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet documentosConPrefijo(String prefijo) {
+        BitSet resultado = new BitSet();
+        for (Postings postings : palabras.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < postings.tamanio; i++) {
+                resultado.set(postings.ids[i]);
+            }
+        }
+        return resultado;
+    }
+
+    // Cada término suma según su mejor palabra: completa 2, prefijo entre 1 y 2 según lo que cubre
+    private static double puntaje(String[] terminos, String[] palabrasDocumento) {
+        double total = 0;
+        for (String termino : terminos) {
+            double mejor = 0;
+            for (String palabra : palabrasDocumento) {
+                if (palabra.equals(termino)) {
+                    mejor = PUNTAJE_PALABRA_COMPLETA;
+                    break;
+                }
+                if (palabra.startsWith(termino)) {
+                    mejor = Math.max(mejor, 1.0 + (double) termino.length() / palabra.length());
+                }
+            }
+            total += mejor;
+        }
+        return total;
+    }
+
+    private void agregarDocumento(int clave, T entidad) {
+        if (clave < 0) {
+            throw new IllegalArgumentException("El id indexado no puede ser negativo: " + clave);
+        }
+        String textoEntidad = texto.apply(entidad);
+        String[] palabrasDocumento = NormalizadorNombres.tokenizar(textoEntidad);
+        for (int i = 0; i < palabrasDocumento.length; i++) {
+            // Reutiliza la instancia del diccionario para no repetir la misma cadena por documento
+            String palabra = palabrasDocumento[i];
+            String existente = palabras.ceilingKey(palabra);
+            if (palabra.equals(existente)) {
+                palabrasDocumento[i] = existente;
+            }
+            palabras.computeIfAbsent(palabrasDocumento[i], p -> new Postings()).agregar(clave);
+        }
+        documentos.put(clave, new Documento<>(clave, entidad, palabrasDocumento,
+                                              NormalizadorNombres.normalizar(textoEntidad)));
+    }
+
+    private void quitarDocumento(int clave) {
+        Documento<T> anterior = documentos.remove(clave);
+        if (anterior == null) {
+            return;
+        }
+        for (String palabra : anterior.palabras()) {
+            Postings postings = palabras.get(palabra);
+            if (postings != null) {
+                postings.quitar(clave);
+                if (postings.tamanio == 0) {
+                    palabras.remove(palabra);
+                }
+            }
+        }
+    }
+}
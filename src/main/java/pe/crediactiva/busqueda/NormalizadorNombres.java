@@ -0,0 +1,75 @@
+package pe.crediactiva.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalización de nombres para la búsqueda: minúsculas, sin tildes ni
+ * diéresis (la ñ se compara como n, igual que utf8mb4_unicode_ci) y separados
+ * en palabras. "José María Peña-Ruiz" produce [jose, maria, pena, ruiz].
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class NormalizadorNombres {
+
+    private static final String[] SIN_PALABRAS = new String[0];
+
+    private NormalizadorNombres() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Quita las marcas diacríticas y pasa a minúsculas.
+     *
+     * @param texto texto original (puede ser null)
+     * @return texto normalizado, vacío si el original es null
+     */
+    public static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return texto.toLowerCase();
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Normaliza el texto y lo separa en palabras (letras y dígitos).
+     *
+     * @param texto texto original (puede ser null)
+     * @return palabras normalizadas, en el orden en que aparecen
+     */
+    public static String[] tokenizar(String texto) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return SIN_PALABRAS;
+        }
+        List<String> palabras = new ArrayList<>(4);
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                palabras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palabras.toArray(SIN_PALABRAS);
+    }
+}
@@ -0,0 +1,50 @@
+package pe.crediactiva.busqueda;
+
+import pe.crediactiva.model.Solicitud;
+import pe.crediactiva.model.Usuario;
+
+/**
+ * Datos de identificación de una persona registrada en el sistema, ya sea
+ * como usuario o como cliente de una solicitud, que usa la detección de
+ * duplicados.
+ *
+ * @param origen tabla de donde viene el registro
+ * @param id id del registro en esa tabla
+ * @param usuarioId usuario al que corresponde (el propio usuario, o el cliente
+ *                  de la solicitud); null si la solicitud no tiene cliente
+ * @param nombres nombres
+ * @param apellidos apellidos
+ * @param documento documento de identidad tal como se escribió (puede ser null)
+ * @param telefono teléfono tal como se escribió (puede ser null)
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record PersonaRegistrada(Origen origen, Integer id, Integer usuarioId, String nombres, String apellidos,
+                                String documento, String telefono) {
+
+    /**
+     * Tabla de donde viene el registro.
+     */
+    public enum Origen {
+        USUARIO,
+        SOLICITUD
+    }
+
+    public static PersonaRegistrada de(Usuario usuario) {
+        return new PersonaRegistrada(Origen.USUARIO, usuario.getId(), usuario.getId(), usuario.getNombres(),
+                                     usuario.getApellidos(), usuario.getDocumentoIdentidad(), usuario.getTelefono());
+    }
+
+    public static PersonaRegistrada de(Solicitud solicitud) {
+        return new PersonaRegistrada(Origen.SOLICITUD, solicitud.getId(), solicitud.getClienteId(),
+                                     solicitud.getNombresCliente(), solicitud.getApellidosCliente(),
+                                     solicitud.getDocumentoCliente(), solicitud.getTelefonoCliente());
+    }
+
+    /**
+     * @return nombres y apellidos
+     */
+    public String getNombreCompleto() {
+        return (nombres != null ? nombres : "") + " " + (apellidos != null ? apellidos : "");
+    }
+}
@@ -0,0 +1,13 @@
+package pe.crediactiva.busqueda;
+
+/**
+ * Par de registros que probablemente corresponden a la misma persona.
+ *
+ * @param persona registro consultado (o el primero del par en un escaneo completo)
+ * @param coincidencia registro que se le parece
+ * @param puntaje parecido entre 0 y 1
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record PosibleDuplicado(PersonaRegistrada persona, PersonaRegistrada coincidencia, double puntaje) {
+}
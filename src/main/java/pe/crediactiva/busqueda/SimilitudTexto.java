@@ -0,0 +1,121 @@
+package pe.crediactiva.busqueda;
+
+/**
+ * Medidas de parecido entre textos para la detección de duplicados.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class SimilitudTexto {
+
+    private static final double PESO_PREFIJO_WINKLER = 0.1;
+    private static final int PREFIJO_MAXIMO_WINKLER = 4;
+
+    private SimilitudTexto() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Similitud de Jaro-Winkler: 1 para textos iguales, 0 sin letras en común.
+     * Favorece a los textos que comparten el inicio, que es donde menos se
+     * equivoca quien escribe un nombre.
+     *
+     * @param a primer texto
+     * @param b segundo texto
+     * @return similitud entre 0 y 1
+     */
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int ventana = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] usadosA = new boolean[a.length()];
+        boolean[] usadosB = new boolean[b.length()];
+
+        int coincidencias = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int desde = Math.max(0, i - ventana);
+            int hasta = Math.min(b.length() - 1, i + ventana);
+            for (int j = desde; j <= hasta; j++) {
+                if (!usadosB[j] && a.charAt(i) == b.charAt(j)) {
+                    usadosA[i] = true;
+                    usadosB[j] = true;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0.0;
+        }
+
+        int transposiciones = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (usadosA[i]) {
+                while (!usadosB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transposiciones++;
+                }
+                j++;
+            }
+        }
+
+        double m = coincidencias;
+        double jaro = (m / a.length() + m / b.length() + (m - transposiciones / 2.0) / m) / 3.0;
+
+        int prefijo = 0;
+        int limite = Math.min(PREFIJO_MAXIMO_WINKLER, Math.min(a.length(), b.length()));
+        while (prefijo < limite && a.charAt(prefijo) == b.charAt(prefijo)) {
+            prefijo++;
+        }
+        return jaro + prefijo * PESO_PREFIJO_WINKLER * (1.0 - jaro);
+    }
+
+    /**
+     * Distancia de edición con transposiciones de letras contiguas (Damerau
+     * restringida), cortada en un máximo: un DNI con un dígito cambiado o dos
+     * dígitos invertidos está a distancia 1.
+     *
+     * @param a primer texto
+     * @param b segundo texto
+     * @param maximo distancia a partir de la cual no interesa el valor exacto
+     * @return distancia, o maximo + 1 si la supera
+     */
+    public static int distanciaEdicion(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) {
+            return maximo + 1;
+        }
+        int[] antepenultima = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minimoFila = actual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, antepenultima[j - 2] + 1);
+                }
+                actual[j] = valor;
+                minimoFila = Math.min(minimoFila, valor);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+            int[] libre = antepenultima;
+            antepenultima = anterior;
+            anterior = actual;
+            actual = libre;
+        }
+        return Math.min(anterior[b.length()], maximo + 1);
+    }
+}
@@ -167,8 +167,18 @@ public class AppConfig {
         return getIntProperty("security.password.min.length", 8);
     }
     
-    public static int getSessionTimeout() {
-        return getIntProperty("security.session.timeout", 3600);
+    /**
+     * Inactividad permitida antes de bloquear la sesión, en segundos; 0 la
+     * desactiva. Acepta la clave anterior security.session.timeout, que
+     * también se leía en segundos.
+     */
+    public static int getSessionTimeoutSeconds() {
+        return getIntProperty("security.session.timeout.seconds", 
+                              getIntProperty("security.session.timeout", 3600));
+    }
+    
+    public static int getLastLoginFlushIntervalMs() {
+        return getIntProperty("security.last.login.flush.interval.ms", 5000);
     }
     
     public static int getMaxLoginAttempts() {
@@ -197,6 +207,14 @@ public class AppConfig {
         return getBooleanProperty("javafx.scene.resizable", true);
     }
     
+    public static boolean isJavaFXViewCacheEnabled() {
+        return getBooleanProperty("javafx.view.cache.enabled", true);
+    }
+    
+    public static boolean isJavaFXViewPreloadEnabled() {
+        return getBooleanProperty("javafx.view.preload.enabled", true);
+    }
+    
     // Propiedades de reportes
     
     public static String getReportOutputDirectory() {
@@ -211,6 +229,66 @@ public class AppConfig {
         return getProperty("report.currency.format", "#,##0.00");
     }
     
+    // Propiedades de Flight Recorder
+    
+    public static int getJfrRecordingSeconds() {
+        return getIntProperty("jfr.recording.seconds", 60);
+    }
+    
+    public static int getJfrFxStallThresholdMs() {
+        return getIntProperty("jfr.fx-stall.threshold-ms", 200);
+    }
+    
+    // Propiedades de métricas
+    
+    public static boolean isMetricsHttpEnabled() {
+        return getBooleanProperty("metrics.http.enabled", false);
+    }
+    
+    public static int getMetricsHttpPort() {
+        return getIntProperty("metrics.http.port", 9464);
+    }
+    
+    // Propiedades de auditoría
+    
+    public static boolean isAuditEnabled() {
+        return getBooleanProperty("audit.enabled", true);
+    }
+    
+    public static String getAuditSpillFile() {
+        return getProperty("audit.spill.file", "logs/auditoria-pendiente.log");
+    }
+    
+    public static int getAuditQueueCapacity() {
+        return getIntProperty("audit.queue.capacity", 10000);
+    }
+    
+    public static int getAuditBatchSize() {
+        return getIntProperty("audit.batch.size", 200);
+    }
+    
+    public static int getAuditFlushIntervalMs() {
+        return getIntProperty("audit.flush.interval.ms", 500);
+    }
+    
+    public static int getAuditOfferTimeoutMs() {
+        return getIntProperty("audit.offer.timeout.ms", 50);
+    }
+    
+    // Propiedades de monitoreo de consultas
+    
+    public static boolean isDbMonitorEnabled() {
+        return getBooleanProperty("db.monitor.enabled", false);
+    }
+    
+    public static int getDbMonitorSlowQueryMs() {
+        return getIntProperty("db.monitor.slow-query-ms", 500);
+    }
+    
+    public static int getDbMonitorNPlusOneThreshold() {
+        return getIntProperty("db.monitor.n-plus-one-threshold", 10);
+    }
+    
     /**
      * Verifica si la configuración está inicializada.
      * 
@@ -0,0 +1,21 @@
+package pe.crediactiva.config;
+
+/**
+ * Indica que la base de datos está marcada como no disponible por el circuito
+ * de DatabaseConfig y la operación se rechazó sin intentar conectarse.
+ *
+ * Es una excepción no comprobada a propósito: los DAOs atrapan SQLException y
+ * devuelven resultados vacíos, y una caída no debe mostrarse como "sin datos".
+ * Atraviesa DAOs y servicios hasta el controlador, que informa el error.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class BaseDatosNoDisponibleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BaseDatosNoDisponibleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,203 @@
+package pe.crediactiva.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuito de protección para la obtención de conexiones.
+ *
+ * Tras varios fallos consecutivos al conectarse el circuito se abre: las
+ * siguientes llamadas fallan de inmediato con {@link BaseDatosNoDisponibleException}
+ * en lugar de esperar el timeout del pool en cada una. Pasado el tiempo de espera
+ * un hilo de fondo hace un sondeo (estado semiabierto); si conecta, el circuito
+ * se cierra, y si no, vuelve a abrirse. Las llamadas de la interfaz nunca
+ * esperan al sondeo.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CircuitoBaseDatos {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitoBaseDatos.class);
+
+    /**
+     * Estados del circuito.
+     */
+    public enum Estado {
+        CERRADO, ABIERTO, SEMIABIERTO
+    }
+
+    /**
+     * Origen de conexiones protegido por el circuito.
+     */
+    @FunctionalInterface
+    public interface OrigenConexion {
+        Connection obtener() throws SQLException;
+    }
+
+    private final OrigenConexion origen;
+    private final int umbralFallos;
+    private final long esperaMs;
+    private final LongSupplier reloj;
+    private final boolean sondeoAutomatico;
+    private final List<Consumer<Estado>> oyentes = new CopyOnWriteArrayList<>();
+
+    private Estado estado = Estado.CERRADO;
+    private int fallosConsecutivos = 0;
+    private long abiertoDesde = 0;
+    private ScheduledExecutorService sondeador;
+
+    public CircuitoBaseDatos(OrigenConexion origen, int umbralFallos, long esperaMs) {
+        this(origen, umbralFallos, esperaMs, System::currentTimeMillis, true);
+    }
+
+    // Constructor para pruebas: reloj controlado y sondeo manual
+    CircuitoBaseDatos(OrigenConexion origen, int umbralFallos, long esperaMs,
+                      LongSupplier reloj, boolean sondeoAutomatico) {
+        this.origen = origen;
+        this.umbralFallos = Math.max(1, umbralFallos);
+        this.esperaMs = esperaMs;
+        this.reloj = reloj;
+        this.sondeoAutomatico = sondeoAutomatico;
+    }
+
+    /**
+     * Obtiene una conexión a través del circuito.
+     *
+     * @return conexión del origen
+     * @throws BaseDatosNoDisponibleException si el circuito está abierto
+     * @throws SQLException si el origen falla
+     */
+    public Connection obtenerConexion() throws SQLException {
+        synchronized (this) {
+            if (estado != Estado.CERRADO) {
+                throw new BaseDatosNoDisponibleException(
+                    "Base de datos no disponible; reintento en " + getMsHastaSondeo() + " ms");
+            }
+        }
+
+        try {
+            Connection connection = origen.obtener();
+            registrarExito();
+            return connection;
+        } catch (SQLException e) {
+            registrarFallo(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Prueba una conexión si el tiempo de espera del circuito abierto terminó.
+     * La invoca el hilo de sondeo; queda visible para pruebas.
+     *
+     * @return true si el sondeo se realizó y la base de datos respondió
+     */
+    boolean sondear() {
+        synchronized (this) {
+            if (estado != Estado.ABIERTO || reloj.getAsLong() - abiertoDesde < esperaMs) {
+                return false;
+            }
+            cambiarEstado(Estado.SEMIABIERTO);
+        }
+
+        try (Connection connection = origen.obtener()) {
+            registrarExito();
+            return true;
+        } catch (SQLException e) {
+            registrarFallo(e);
+            return false;
+        }
+    }
+
+    /**
+     * Registra un oyente de cambios de estado. Se invoca en el hilo que provoca
+     * el cambio.
+     *
+     * @param oyente función que recibe el nuevo estado
+     */
+    public void agregarOyente(Consumer<Estado> oyente) {
+        oyentes.add(oyente);
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Indica si las llamadas pasan a la base de datos.
+     *
+     * @return true si el circuito está cerrado
+     */
+    public synchronized boolean isDisponible() {
+        return estado == Estado.CERRADO;
+    }
+
+    /**
+     * Detiene el hilo de sondeo.
+     */
+    public synchronized void detener() {
+        if (sondeador != null) {
+            sondeador.shutdownNow();
+            sondeador = null;
+        }
+    }
+
+    private synchronized void registrarExito() {
+        fallosConsecutivos = 0;
+        if (estado != Estado.CERRADO) {
+            logger.info("Conexión a la base de datos restablecida");
+            cambiarEstado(Estado.CERRADO);
+        }
+    }
+
+    private synchronized void registrarFallo(SQLException e) {
+        fallosConsecutivos++;
+        if (estado == Estado.SEMIABIERTO || fallosConsecutivos >= umbralFallos) {
+            if (estado != Estado.ABIERTO) {
+                logger.warn("Circuito de base de datos abierto tras {} fallos: {}", fallosConsecutivos, e.getMessage());
+                cambiarEstado(Estado.ABIERTO);
+            }
+            abiertoDesde = reloj.getAsLong();
+            programarSondeo();
+        }
+    }
+
+    private long getMsHastaSondeo() {
+        return Math.max(0, esperaMs - (reloj.getAsLong() - abiertoDesde));
+    }
+
+    private void programarSondeo() {
+        if (!sondeoAutomatico) {
+            return;
+        }
+        if (sondeador == null) {
+            sondeador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "circuito-bd");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        sondeador.schedule(this::sondear, esperaMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void cambiarEstado(Estado nuevo) {
+        estado = nuevo;
+        for (Consumer<Estado> oyente : oyentes) {
+            try {
+                oyente.accept(nuevo);
+            } catch (Exception e) {
+                logger.warn("Error en oyente del circuito de base de datos", e);
+            }
+        }
+    }
+}
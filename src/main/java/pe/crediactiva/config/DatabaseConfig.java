@@ -4,9 +4,11 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.monitoring.MonitorConsultas;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.time.ZoneId;
 import java.util.TimeZone;
 
@@ -21,10 +23,18 @@ public class DatabaseConfig {
     
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
     private static HikariDataSource dataSource;
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
+    
+    // Circuito que evita esperar el timeout del pool en cada llamada durante una caída
+    private static final CircuitoBaseDatos circuito = new CircuitoBaseDatos(
+        DatabaseConfig::obtenerConexionDelPool,
+        AppConfig.getIntProperty("db.circuit.failure-threshold", 2),
+        AppConfig.getIntProperty("db.circuit.open-ms", 15000));
     
     /**
      * Inicializa la configuración de la base de datos.
+     * Durante el arranque se invoca en segundo plano; las llamadas concurrentes
+     * (por ejemplo un login temprano) esperan a que termine.
      */
     public static synchronized void initialize() {
         if (initialized) {
@@ -49,6 +59,12 @@ public class DatabaseConfig {
             
         } catch (Exception e) {
             logger.error("Error al inicializar la base de datos", e);
+            
+            // Liberar el pool a medio crear para que un reintento empiece limpio
+            if (dataSource != null) {
+                dataSource.close();
+                dataSource = null;
+            }
             throw new RuntimeException("No se pudo inicializar la conexión a la base de datos", e);
         }
     }
@@ -132,18 +148,50 @@ public class DatabaseConfig {
      * Obtiene una conexión de la base de datos.
      * 
      * @return conexión a la base de datos
+     * @throws BaseDatosNoDisponibleException si el circuito está abierto
      * @throws SQLException si no se puede obtener la conexión
      */
     public static Connection getConnection() throws SQLException {
+        return circuito.obtenerConexion();
+    }
+    
+    /**
+     * Obtiene una conexión directamente del pool, inicializándolo si hace falta.
+     * Un fallo de inicialización se trata como fallo de conexión para el circuito.
+     * La conexión se entrega envuelta por MonitorConsultas para medir sus consultas.
+     */
+    private static Connection obtenerConexionDelPool() throws SQLException {
         if (!initialized) {
-            initialize();
+            try {
+                initialize();
+            } catch (RuntimeException e) {
+                throw new SQLTransientConnectionException(e.getMessage(), "08001", e);
+            }
         }
         
-        Connection connection = dataSource.getConnection();
+        Connection connection = MonitorConsultas.getInstance().envolver(dataSource.getConnection());
         logger.debug("Conexión obtenida del pool");
         return connection;
     }
     
+    /**
+     * Obtiene el circuito de protección de la base de datos.
+     * 
+     * @return el circuito
+     */
+    public static CircuitoBaseDatos getCircuito() {
+        return circuito;
+    }
+    
+    /**
+     * Verifica si la base de datos está disponible según el circuito.
+     * 
+     * @return false si las llamadas se están rechazando por una caída
+     */
+    public static boolean isDisponible() {
+        return circuito.isDisponible();
+    }
+    
     /**
      * Obtiene el DataSource de HikariCP.
      * 
@@ -225,6 +273,7 @@ public class DatabaseConfig {
      * Cierra el pool de conexiones de manera segura.
      */
     public static synchronized void shutdown() {
+        circuito.detener();
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             logger.info("Pool de conexiones cerrado");
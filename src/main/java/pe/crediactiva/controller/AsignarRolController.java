@@ -16,20 +16,20 @@ import pe.crediactiva.model.Cliente;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
 import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.service.AsesorService;
 import pe.crediactiva.service.ClienteService;
 import pe.crediactiva.service.RolService;
 import pe.crediactiva.service.UsuarioService;
+import pe.crediactiva.util.RelojAplicacion;
+import pe.crediactiva.util.UsuarioReparacionUtil;
+import pe.crediactiva.util.UsuarioReparacionUtil.ResultadoReparacion;
 
 import java.math.BigDecimal;
 import java.net.URL;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.stream.Collectors;
 
 /**
@@ -99,9 +99,6 @@ public class AsignarRolController implements Initializable {
     private AsesorService asesorService;
     private ClienteService clienteService;
     
-    // Timer para el reloj
-    private Timer clockTimer;
-    
     // Usuario y rol seleccionados
     private Usuario usuarioSeleccionado;
     private Rol rolSeleccionado;
@@ -472,18 +469,8 @@ public class AsignarRolController implements Initializable {
      * Inicia el reloj en tiempo real.
      */
     private void iniciarReloj() {
-        clockTimer = new Timer(true);
-        clockTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String timeText = now.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                    timeLabel.setText(timeText);
-                    footerTimeLabel.setText(timeText);
-                });
-            }
-        }, 0, 1000);
+        RelojAplicacion.getInstance().suscribir(timeLabel);
+        RelojAplicacion.getInstance().suscribir(footerTimeLabel);
     }
     
     // Manejadores de eventos
@@ -505,6 +492,8 @@ public class AsignarRolController implements Initializable {
     
     @FXML
     private void handleAsignar() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         logger.debug("Iniciando asignación de rol");
         
         if (usuarioSeleccionado == null || rolSeleccionado == null) {
@@ -738,21 +727,66 @@ public class AsignarRolController implements Initializable {
     
     @FXML
     private void handleReparar() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.VER_DIAGNOSTICO)) return;
+        
         logger.debug("Iniciando reparación de usuarios ASESOR");
         
-        boolean confirmar = CrediActivaApp.showConfirmAlert("Reparar Usuarios ASESOR", 
-                                                          "¿Está seguro que desea reparar usuarios ASESOR?", 
-                                                          "Se crearán registros en la tabla 'asesores' para todos los usuarios que tengan rol ASESOR pero no tengan registro.");
+        // Primero se simula para mostrar cuántos usuarios se verán afectados
+        Task<ResultadoReparacion> simulacionTask = new Task<ResultadoReparacion>() {
+            @Override
+            protected ResultadoReparacion call() throws Exception {
+                return new UsuarioReparacionUtil().repararRegistrosFaltantes(true, TipoRol.ASESOR);
+            }
+            
+            @Override
+            protected void succeeded() {
+                Platform.runLater(() -> {
+                    progressBar.setVisible(false);
+                    repararButton.setDisable(false);
+                    
+                    int pendientes = getValue().getAsesoresFaltantes().size();
+                    if (pendientes == 0) {
+                        statusLabel.setText("ℹ️ No se encontraron usuarios que requieran reparación");
+                        CrediActivaApp.showInfoAlert("Reparación Completada", "Sin Problemas", 
+                                                   "Todos los usuarios ASESOR ya tienen sus registros correctos en la tabla 'asesores'.");
+                        return;
+                    }
+                    
+                    boolean confirmar = CrediActivaApp.showConfirmAlert("Reparar Usuarios ASESOR", 
+                                                                      "¿Está seguro que desea reparar usuarios ASESOR?", 
+                                                                      String.format("Se crearán registros en la tabla 'asesores' para %d usuarios " +
+                                                                                  "que tienen rol ASESOR pero no tienen registro.", pendientes));
+                    if (confirmar) {
+                        ejecutarReparacionAsesores();
+                    } else {
+                        statusLabel.setText("Reparación cancelada");
+                    }
+                });
+            }
+            
+            @Override
+            protected void failed() {
+                Platform.runLater(() -> mostrarErrorReparacion(getException()));
+            }
+        };
         
-        if (!confirmar) {
-            return;
-        }
+        progressBar.setVisible(true);
+        repararButton.setDisable(true);
+        statusLabel.setText("Buscando usuarios ASESOR sin registro...");
         
-        // Ejecutar reparación en hilo separado
+        Thread thread = new Thread(simulacionTask);
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Ejecuta la reparación de usuarios ASESOR en un solo lote.
+     */
+    private void ejecutarReparacionAsesores() {
         Task<Integer> reparacionTask = new Task<Integer>() {
             @Override
             protected Integer call() throws Exception {
-                return ejecutarReparacionAsesores();
+                return new UsuarioReparacionUtil().repararRegistrosFaltantes(false, TipoRol.ASESOR).getAsesoresCreados();
             }
             
             @Override
@@ -767,90 +801,36 @@ public class AsignarRolController implements Initializable {
                         CrediActivaApp.showInfoAlert("Reparación Completada", "Usuarios Reparados", 
                                                    String.format("Se repararon %d usuarios ASESOR exitosamente.\n\nAhora todos los usuarios con rol ASESOR tienen su registro en la tabla 'asesores'.", usuariosReparados));
                     } else {
-                        statusLabel.setText("ℹ️ No se encontraron usuarios que requieran reparación");
-                        CrediActivaApp.showInfoAlert("Reparación Completada", "Sin Problemas", 
-                                                   "Todos los usuarios ASESOR ya tienen sus registros correctos en la tabla 'asesores'.");
+                        statusLabel.setText("❌ No se pudo completar la reparación");
+                        CrediActivaApp.showWarningAlert("Reparación", "Sin Cambios", 
+                                                      "No se creó ningún registro. Revise el log para más detalles.");
                     }
                 });
             }
             
             @Override
             protected void failed() {
-                Platform.runLater(() -> {
-                    progressBar.setVisible(false);
-                    repararButton.setDisable(false);
-                    statusLabel.setText("❌ Error en reparación");
-                    
-                    Throwable exception = getException();
-                    logger.error("Error en tarea de reparación", exception);
-                    CrediActivaApp.showErrorAlert("Error", "Error en Reparación", 
-                                                "Error: " + exception.getMessage());
-                });
+                Platform.runLater(() -> mostrarErrorReparacion(getException()));
             }
         };
         
-        // Mostrar progreso
         progressBar.setVisible(true);
         repararButton.setDisable(true);
         statusLabel.setText("Reparando usuarios ASESOR...");
         
-        // Ejecutar tarea
         Thread thread = new Thread(reparacionTask);
         thread.setDaemon(true);
         thread.start();
     }
     
-    /**
-     * Ejecuta la reparación de usuarios ASESOR.
-     * 
-     * @return número de usuarios reparados
-     */
-    private Integer ejecutarReparacionAsesores() {
-        try {
-            logger.info("🔧 INICIANDO reparación de usuarios ASESOR");
-            
-            // Obtener todos los usuarios con rol ASESOR
-            List<Usuario> usuariosAsesor = usuarioService.buscarPorRol("ASESOR");
-            logger.info("📊 Usuarios con rol ASESOR encontrados: {}", usuariosAsesor.size());
-            
-            int usuariosReparados = 0;
-            
-            for (Usuario usuario : usuariosAsesor) {
-                logger.info("🔍 Verificando usuario: {} (ID: {})", usuario.getUsername(), usuario.getId());
-                
-                // Verificar si ya tiene registro de asesor
-                boolean tieneRegistro = asesorService.esAsesor(usuario.getId());
-                
-                if (!tieneRegistro) {
-                    logger.info("🔧 REPARANDO: Usuario {} no tiene registro de asesor", usuario.getUsername());
-                    
-                    // Crear registro con valores por defecto
-                    BigDecimal comisionDefault = new BigDecimal("0.02"); // 2%
-                    BigDecimal metaDefault = BigDecimal.ZERO;
-                    
-                    var asesor = asesorService.crearAsesor(usuario, comisionDefault, metaDefault);
-                    
-                    if (asesor != null) {
-                        usuariosReparados++;
-                        logger.info("✅ REPARADO: Usuario {} - Código: {}", 
-                                   usuario.getUsername(), asesor.getCodigoAsesor());
-                    } else {
-                        logger.error("❌ FALLÓ: No se pudo reparar usuario {}", usuario.getUsername());
-                    }
-                } else {
-                    logger.info("✅ OK: Usuario {} ya tiene registro de asesor", usuario.getUsername());
-                }
-            }
-            
-            logger.info("🎉 REPARACIÓN COMPLETA: {} usuarios reparados de {} usuarios ASESOR", 
-                       usuariosReparados, usuariosAsesor.size());
-            
-            return usuariosReparados;
-            
-        } catch (Exception e) {
-            logger.error("💥 ERROR en reparación de usuarios ASESOR", e);
-            throw new RuntimeException("Error en reparación: " + e.getMessage(), e);
-        }
+    private void mostrarErrorReparacion(Throwable exception) {
+        progressBar.setVisible(false);
+        repararButton.setDisable(false);
+        statusLabel.setText("❌ Error en reparación");
+        
+        logger.error("Error en tarea de reparación", exception);
+        CrediActivaApp.showErrorAlert("Error", "Error en Reparación", 
+                                    "Error: " + exception.getMessage());
     }
     
     /**
@@ -891,10 +871,6 @@ public class AsignarRolController implements Initializable {
      * Cierra la ventana actual.
      */
     private void cerrarVentana() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
-        
         Stage stage = (Stage) cancelarButton.getScene().getWindow();
         stage.close();
         
@@ -905,8 +881,7 @@ public class AsignarRolController implements Initializable {
      * Limpieza al cerrar el controlador.
      */
     public void cleanup() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
+        RelojAplicacion.getInstance().desuscribir(timeLabel);
+        RelojAplicacion.getInstance().desuscribir(footerTimeLabel);
     }
 }
@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import pe.crediactiva.app.CrediActivaApp;
 import pe.crediactiva.model.Asesor;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.service.AsesorService;
 import pe.crediactiva.service.UsuarioService;
 
@@ -152,6 +153,8 @@ public class CrearAsesorDirectoController implements Initializable {
     
     @FXML
     private void handleCrear() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         logger.info("🏢 Creando asesor para usuario: {}", usuarioSeleccionado.getUsername());
         
         try {
@@ -1,21 +1,32 @@
 package pe.crediactiva.controller;
 
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.app.CicloVidaVista;
 import pe.crediactiva.app.CrediActivaApp;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.model.Asesor;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.security.SessionManager;
+import pe.crediactiva.service.AsesorService;
+import pe.crediactiva.service.ComisionService;
+import pe.crediactiva.util.RelojAplicacion;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URL;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador para el dashboard principal de CrediActiva.
@@ -24,7 +35,7 @@ import java.util.TimerTask;
  * @author CrediActiva Development Team
  * @version 1.0
  */
-public class DashboardController implements Initializable {
+public class DashboardController implements Initializable, CicloVidaVista {
     
     private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
     
@@ -41,6 +52,7 @@ public class DashboardController implements Initializable {
     @FXML private Button prestamosButton;
     @FXML private Button reportesButton;
     @FXML private Button configButton;
+    @FXML private Button grabarDiagnosticoButton;
     
     // Botones específicos del Asesor
     @FXML private Button nuevaSolicitudButton;
@@ -75,12 +87,30 @@ public class DashboardController implements Initializable {
     // Tabla de actividad
     @FXML private TableView<?> actividadTable;
     
-    private Timer clockTimer;
-    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.debug("Inicializando DashboardController");
         
+        try {
+            // Configurar tooltips
+            setupTooltips();
+            
+            logger.debug("DashboardController inicializado correctamente");
+            
+        } catch (Exception e) {
+            logger.error("Error al inicializar DashboardController", e);
+            CrediActivaApp.showErrorAlert("Error de Inicialización", 
+                                        "Error al cargar el dashboard", 
+                                        e.getMessage());
+        }
+    }
+    
+    /**
+     * Refresca los datos cada vez que el dashboard se muestra; la vista se
+     * reutiliza desde la caché al volver de otras pantallas.
+     */
+    @Override
+    public void onShow() {
         try {
             // Configurar información del usuario
             setupUserInfo();
@@ -91,19 +121,19 @@ public class DashboardController implements Initializable {
             // Iniciar reloj
             startClock();
             
-            // Configurar tooltips
-            setupTooltips();
-            
-            logger.debug("DashboardController inicializado correctamente");
-            
         } catch (Exception e) {
-            logger.error("Error al inicializar DashboardController", e);
+            logger.error("Error al mostrar el dashboard", e);
             CrediActivaApp.showErrorAlert("Error de Inicialización", 
                                         "Error al cargar el dashboard", 
                                         e.getMessage());
         }
     }
     
+    @Override
+    public void onHide() {
+        cleanup();
+    }
+    
     /**
      * Configura la información del usuario en la interfaz.
      */
@@ -138,7 +168,7 @@ public class DashboardController implements Initializable {
         // Labels del Asesor (solo si existen)
         if (misSolicitudesLabel != null) misSolicitudesLabel.setText("3");
         if (montoGestionadoLabel != null) montoGestionadoLabel.setText("S/ 45,000.00");
-        if (comisionesLabel != null) comisionesLabel.setText("S/ 1,250.00");
+        if (comisionesLabel != null) loadComisionesAsesor();
         
         // Labels del Cliente (solo si existen)
         if (misPrestamosTotalLabel != null) misPrestamosTotalLabel.setText("2");
@@ -151,20 +181,42 @@ public class DashboardController implements Initializable {
     }
     
     /**
-     * Inicia el reloj en tiempo real.
+     * Muestra la comisión del mes actual del asesor en sesión, leída del libro de
+     * comisiones en segundo plano.
      */
-    private void startClock() {
-        clockTimer = new Timer(true);
-        clockTimer.scheduleAtFixedRate(new TimerTask() {
+    private void loadComisionesAsesor() {
+        Usuario currentUser = SessionManager.getInstance().getCurrentUser();
+        if (currentUser == null) return;
+        
+        Task<BigDecimal> comisionTask = new Task<BigDecimal>() {
             @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String timeText = now.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                    timeLabel.setText(timeText);
-                });
+            protected BigDecimal call() {
+                Optional<Asesor> asesor = new AsesorService().buscarPorUsuarioId(currentUser.getId());
+                return asesor.map(a -> new ComisionService().obtenerComisionMesActual(a.getId()))
+                             .orElse(BigDecimal.ZERO);
             }
-        }, 0, 1000); // Actualizar cada segundo
+        };
+        
+        comisionTask.setOnSucceeded(event -> {
+            DecimalFormat formato = new DecimalFormat(AppConfig.getReportCurrencyFormat());
+            comisionesLabel.setText(AppConfig.getCurrencySymbol() + " " + formato.format(comisionTask.getValue()));
+        });
+        comisionTask.setOnFailed(event -> {
+            logger.error("Error al cargar comisiones del asesor", comisionTask.getException());
+            comisionesLabel.setText("No disponible");
+        });
+        
+        comisionesLabel.setText("Cargando...");
+        Thread thread = new Thread(comisionTask, "comisiones-asesor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Inicia el reloj en tiempo real.
+     */
+    private void startClock() {
+        RelojAplicacion.getInstance().suscribir(timeLabel);
     }
     
     /**
@@ -194,6 +246,8 @@ public class DashboardController implements Initializable {
     
     @FXML
     private void handleUsuarios() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
         logger.debug("Navegando a gestión de usuarios");
         statusLabel.setText("Estado: Cargando gestión de usuarios...");
         
@@ -249,6 +303,8 @@ public class DashboardController implements Initializable {
     
     @FXML
     private void handleNuevoUsuario() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
         logger.debug("Abriendo formulario de nuevo usuario");
         statusLabel.setText("Estado: Abriendo formulario de nuevo usuario...");
         
@@ -269,9 +325,10 @@ public class DashboardController implements Initializable {
         }
     }
     
-    
     @FXML
     private void handleInsertarRolDirecto() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         logger.debug("Abriendo formulario de INSERT DIRECTO");
         statusLabel.setText("Estado: Abriendo INSERT DIRECTO...");
         
@@ -292,7 +349,6 @@ public class DashboardController implements Initializable {
         }
     }
     
-    
     @FXML
     private void handleRevisarSolicitudes() {
         logger.debug("Revisando solicitudes");
@@ -324,6 +380,57 @@ public class DashboardController implements Initializable {
         }).start();
     }
     
+    @FXML
+    private void handleDiagnostico() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.VER_DIAGNOSTICO)) return;
+        
+        logger.debug("Abriendo pantalla de diagnóstico");
+        
+        try {
+            CrediActivaApp.openNewWindow("/fxml/diagnostico.fxml", 
+                                       "Diagnóstico del Sistema", 
+                                       950, 600, 
+                                       false);
+            
+        } catch (Exception e) {
+            logger.error("Error al abrir la pantalla de diagnóstico", e);
+            CrediActivaApp.showErrorAlert("Error", "Error al Abrir Diagnóstico", 
+                                        "No se pudo abrir la pantalla de diagnóstico: " + e.getMessage());
+        }
+    }
+    
+    @FXML
+    private void handleGrabarDiagnostico() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.VER_DIAGNOSTICO)) return;
+        
+        int segundos = AppConfig.getJfrRecordingSeconds();
+        logger.debug("Iniciando grabación de diagnóstico de {} s", segundos);
+        
+        try {
+            CompletableFuture<Path> grabacion = CrediActivaApp.getGrabadorJfr().grabar(Duration.ofSeconds(segundos));
+            grabarDiagnosticoButton.setDisable(true);
+            statusLabel.setText("Estado: Grabando diagnóstico (" + segundos + " s)...");
+            
+            grabacion.whenComplete((archivo, error) -> Platform.runLater(() -> {
+                grabarDiagnosticoButton.setDisable(false);
+                if (error != null) {
+                    logger.error("Error en la grabación de diagnóstico", error);
+                    statusLabel.setText("Estado: Error en la grabación de diagnóstico");
+                } else {
+                    statusLabel.setText("Estado: Diagnóstico guardado en " + archivo);
+                }
+            }));
+            
+        } catch (IllegalStateException e) {
+            CrediActivaApp.showInfoAlert("Grabación en Curso", "Grabar Diagnóstico", 
+                                       "Ya hay una grabación de diagnóstico en curso.");
+        } catch (IOException e) {
+            logger.error("Error al iniciar la grabación de diagnóstico", e);
+            CrediActivaApp.showErrorAlert("Error", "Error al Grabar Diagnóstico", 
+                                        "No se pudo iniciar la grabación: " + e.getMessage());
+        }
+    }
+    
     @FXML
     private void handleLogout() {
         logger.debug("Cerrando sesión");
@@ -333,16 +440,8 @@ public class DashboardController implements Initializable {
                                                         "Se perderán los datos no guardados.");
         
         if (confirm) {
-            // Detener el timer
-            if (clockTimer != null) {
-                clockTimer.cancel();
-            }
-            
-            // Cerrar sesión
-            SessionManager.getInstance().logout();
-            
-            // Volver al login
-            CrediActivaApp.changeScene("/fxml/login.fxml", "Iniciar Sesión");
+            // Cerrar sesión y volver al login
+            CrediActivaApp.cerrarSesion();
             
             logger.info("Sesión cerrada correctamente");
         }
@@ -437,8 +536,6 @@ public class DashboardController implements Initializable {
      * Limpieza al cerrar el controlador.
      */
     public void cleanup() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
+        RelojAplicacion.getInstance().desuscribir(timeLabel);
     }
 }
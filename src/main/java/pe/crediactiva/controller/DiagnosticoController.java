@@ -0,0 +1,174 @@
+package pe.crediactiva.controller;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.*;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.app.CrediActivaApp;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.monitoring.RegistroMetricas;
+import pe.crediactiva.monitoring.RegistroMetricas.ValorMetrica;
+import pe.crediactiva.monitoring.ServidorMetricas;
+
+import java.net.URL;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+
+/**
+ * Controlador de la pantalla de diagnóstico: muestra el registro de métricas,
+ * el estado del pool de conexiones y permite iniciar el endpoint local de
+ * métricas. Los valores se actualizan cada dos segundos mientras la ventana
+ * está abierta.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class DiagnosticoController implements Initializable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticoController.class);
+    
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm:ss");
+    
+    @FXML private Label poolLabel;
+    @FXML private Label endpointLabel;
+    @FXML private Button endpointButton;
+    @FXML private TextField filtroField;
+    @FXML private TableView<ValorMetrica> metricasTable;
+    @FXML private TableColumn<ValorMetrica, String> nombreColumn;
+    @FXML private TableColumn<ValorMetrica, String> etiquetasColumn;
+    @FXML private TableColumn<ValorMetrica, String> valorColumn;
+    @FXML private TableColumn<ValorMetrica, String> p50Column;
+    @FXML private TableColumn<ValorMetrica, String> p99Column;
+    @FXML private TableColumn<ValorMetrica, String> maximoColumn;
+    @FXML private Label actualizadoLabel;
+    @FXML private Button cerrarButton;
+    
+    private final RegistroMetricas registro = RegistroMetricas.getInstance();
+    private final ObservableList<ValorMetrica> valores = FXCollections.observableArrayList();
+    private Timeline actualizacion;
+    
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        configurarTabla();
+        
+        actualizacion = new Timeline(new KeyFrame(Duration.seconds(2), e -> actualizar()));
+        actualizacion.setCycleCount(Timeline.INDEFINITE);
+        actualizacion.play();
+        
+        // Detener la actualización al cerrar la ventana
+        metricasTable.sceneProperty().addListener((obs, anterior, escena) -> {
+            if (escena != null) {
+                escena.windowProperty().addListener((o, a, ventana) -> {
+                    if (ventana != null) {
+                        ventana.setOnHidden(e -> actualizacion.stop());
+                    }
+                });
+            }
+        });
+        
+        actualizar();
+    }
+    
+    /**
+     * Configura columnas y filtro de la tabla.
+     */
+    private void configurarTabla() {
+        nombreColumn.setCellValueFactory(c -> new ReadOnlyStringWrapper(c.getValue().getNombre()));
+        etiquetasColumn.setCellValueFactory(c -> new ReadOnlyStringWrapper(c.getValue().getEtiquetas()));
+        valorColumn.setCellValueFactory(c -> new ReadOnlyStringWrapper(formatearValor(c.getValue())));
+        p50Column.setCellValueFactory(columnaHistograma(ValorMetrica::getP50Ms));
+        p99Column.setCellValueFactory(columnaHistograma(ValorMetrica::getP99Ms));
+        maximoColumn.setCellValueFactory(columnaHistograma(ValorMetrica::getMaximoMs));
+        
+        FilteredList<ValorMetrica> filtrados = new FilteredList<>(valores);
+        filtroField.textProperty().addListener((obs, anterior, texto) -> {
+            String filtro = texto == null ? "" : texto.trim().toLowerCase();
+            filtrados.setPredicate(v -> filtro.isEmpty() || 
+                                   v.getNombre().toLowerCase().contains(filtro) || 
+                                   v.getEtiquetas().toLowerCase().contains(filtro));
+        });
+        metricasTable.setItems(filtrados);
+    }
+    
+    private static Callback<TableColumn.CellDataFeatures<ValorMetrica, String>, ObservableValue<String>> 
+            columnaHistograma(Function<ValorMetrica, Double> lectura) {
+        return c -> new ReadOnlyStringWrapper(c.getValue().getTipo() == RegistroMetricas.Tipo.HISTOGRAMA ? 
+                                              String.format(Locale.ROOT, "%.2f", lectura.apply(c.getValue())) : "");
+    }
+    
+    private static String formatearValor(ValorMetrica valor) {
+        if (valor.getTipo() == RegistroMetricas.Tipo.HISTOGRAMA) {
+            return String.format("%,d", valor.getCantidad());
+        }
+        double numero = valor.getValor();
+        return numero == Math.rint(numero) ? String.format("%,d", (long) numero) : String.format("%,.2f", numero);
+    }
+    
+    /**
+     * Lee de nuevo el registro y el estado del pool.
+     */
+    private void actualizar() {
+        valores.setAll(registro.getValores());
+        poolLabel.setText(DatabaseConfig.getPoolStatus());
+        actualizarEndpoint();
+        actualizadoLabel.setText("Actualizado " + LocalTime.now().format(FORMATO_HORA));
+    }
+    
+    private void actualizarEndpoint() {
+        ServidorMetricas servidor = CrediActivaApp.getServidorMetricas();
+        if (servidor.isActivo()) {
+            endpointLabel.setText("Endpoint: http://127.0.0.1:" + servidor.getPuerto() + "/metrics");
+            endpointButton.setText("Detener endpoint");
+        } else {
+            endpointLabel.setText("Endpoint de métricas detenido");
+            endpointButton.setText("Iniciar endpoint");
+        }
+    }
+    
+    @FXML
+    private void handleEndpoint() {
+        ServidorMetricas servidor = CrediActivaApp.getServidorMetricas();
+        if (servidor.isActivo()) {
+            servidor.detener();
+            logger.info("Endpoint de métricas detenido desde la pantalla de diagnóstico");
+        } else {
+            CrediActivaApp.iniciarServidorMetricas();
+            if (!servidor.isActivo()) {
+                CrediActivaApp.showErrorAlert("Error", "Endpoint de Métricas", 
+                                            "No se pudo iniciar el endpoint. Verifique que el puerto esté libre.");
+            }
+        }
+        actualizarEndpoint();
+    }
+    
+    @FXML
+    private void handleCopiar() {
+        ClipboardContent contenido = new ClipboardContent();
+        contenido.putString(registro.exportarPrometheus());
+        Clipboard.getSystemClipboard().setContent(contenido);
+        actualizadoLabel.setText("Métricas copiadas al portapapeles");
+    }
+    
+    @FXML
+    private void handleCerrar() {
+        actualizacion.stop();
+        Stage stage = (Stage) cerrarButton.getScene().getWindow();
+        stage.close();
+    }
+}
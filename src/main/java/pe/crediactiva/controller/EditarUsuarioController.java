@@ -1,6 +1,5 @@
 package pe.crediactiva.controller;
 
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -13,23 +12,17 @@ import org.slf4j.LoggerFactory;
 import pe.crediactiva.app.CrediActivaApp;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
-import pe.crediactiva.model.Asesor;
-import pe.crediactiva.model.Cliente;
-import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.model.CambiosRoles;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.service.RolService;
 import pe.crediactiva.service.UsuarioService;
-import pe.crediactiva.service.AsesorService;
-import pe.crediactiva.service.ClienteService;
+import pe.crediactiva.tabla.FormatoCeldas;
+import pe.crediactiva.util.RelojAplicacion;
 
-import java.math.BigDecimal;
 import java.net.URL;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -82,8 +75,6 @@ public class EditarUsuarioController implements Initializable {
     // Servicios
     private UsuarioService usuarioService;
     private RolService rolService;
-    private AsesorService asesorService;
-    private ClienteService clienteService;
     
     // Datos
     private Usuario usuarioOriginal;
@@ -91,9 +82,6 @@ public class EditarUsuarioController implements Initializable {
     private ObservableList<Rol> rolesDisponibles;
     private ObservableList<Rol> rolesUsuario;
     
-    // Timer para el reloj
-    private Timer clockTimer;
-    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.debug("Inicializando EditarUsuarioController");
@@ -102,8 +90,6 @@ public class EditarUsuarioController implements Initializable {
         // Inicializar servicios
         usuarioService = new UsuarioService();
         rolService = new RolService();
-        asesorService = new AsesorService();
-        clienteService = new ClienteService();
             
             // Configurar interfaz
             configurarFormulario();
@@ -371,17 +357,11 @@ public class EditarUsuarioController implements Initializable {
         activoCheckBox.setSelected(usuario.isActivo());
         
         // Información de auditoría
-        fechaCreacionLabel.setText(usuario.getFechaCreacion() != null ? 
-            usuario.getFechaCreacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "No disponible");
+        fechaCreacionLabel.setText(FormatoCeldas.fecha(usuario.getFechaCreacion(), FormatoCeldas.FECHA_HORA, "No disponible"));
         
-        fechaActualizacionLabel.setText(usuario.getFechaActualizacion() != null ? 
-            usuario.getFechaActualizacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "No disponible");
+        fechaActualizacionLabel.setText(FormatoCeldas.fecha(usuario.getFechaActualizacion(), FormatoCeldas.FECHA_HORA, "No disponible"));
         
-        ultimoLoginLabel.setText(usuario.getUltimoLogin() != null ? 
-            usuario.getUltimoLogin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "Nunca ha iniciado sesión");
+        ultimoLoginLabel.setText(FormatoCeldas.fecha(usuario.getUltimoLogin(), FormatoCeldas.FECHA_HORA, "Nunca ha iniciado sesión"));
         
         // Cargar roles del usuario
         cargarRolesUsuario(usuario);
@@ -423,23 +403,15 @@ public class EditarUsuarioController implements Initializable {
      * Inicia el reloj en tiempo real.
      */
     private void iniciarReloj() {
-        clockTimer = new Timer(true);
-        clockTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String timeText = now.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                    timeLabel.setText(timeText);
-                });
-            }
-        }, 0, 1000);
+        RelojAplicacion.getInstance().suscribir(timeLabel);
     }
     
     // Manejadores de eventos
     
     @FXML
     private void handleAgregarRol() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         Rol rolSeleccionado = agregarRolComboBox.getValue();
         if (rolSeleccionado == null) {
             logger.warn("No hay rol seleccionado para agregar");
@@ -459,42 +431,18 @@ public class EditarUsuarioController implements Initializable {
             return;
         }
         
-        try {
-            Integer usuarioId = usuarioOriginal.getId();
-            Integer rolId = rolSeleccionado.getId();
-            
-            logger.info("🔄 Asignando rol - Usuario ID: {}, Rol ID: {} ({})", 
-                       usuarioId, rolId, rolSeleccionado.getNombre());
-            
-            // EJECUTAR INMEDIATAMENTE EL INSERT EN LA BASE DE DATOS
-            rolService.asignarRolAUsuario(usuarioId, rolId);
-            logger.info("✅ INSERT ejecutado: usuarios_roles (usuario_id={}, rol_id={})", usuarioId, rolId);
-            
-            // Crear registro específico si es ASESOR o CLIENTE
-            crearRegistroEspecificoParaRol(usuarioId, rolSeleccionado);
-            
-            // Actualizar la interfaz
-            rolesUsuario.add(rolSeleccionado);
-            actualizarRolesDisponiblesParaAgregar();
-            
-            logger.info("✅ Rol {} asignado exitosamente al usuario {} ({})", 
-                       rolSeleccionado.getNombre(), usuarioId, usuarioOriginal.getUsername());
-            statusLabel.setText("✅ Rol asignado y guardado: " + rolSeleccionado.getNombreLegible());
-            
-        } catch (Exception e) {
-            logger.error("❌ Error al asignar rol inmediatamente", e);
-            statusLabel.setText("❌ Error al asignar rol: " + e.getMessage());
-            
-            // Mostrar alerta de error
-            Platform.runLater(() -> {
-                CrediActivaApp.showErrorAlert("Error", "Error al Asignar Rol", 
-                                            "No se pudo asignar el rol: " + e.getMessage());
-            });
-        }
+        // El cambio se guarda junto con los demás al pulsar Guardar (gestionarRoles)
+        rolesUsuario.add(rolSeleccionado);
+        actualizarRolesDisponiblesParaAgregar();
+        
+        logger.debug("Rol agregado: {}", rolSeleccionado.getNombre());
+        statusLabel.setText("Rol agregado: " + rolSeleccionado.getNombreLegible() + describirCambiosPendientes());
     }
     
     @FXML
     private void handleRemoverRol() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         Rol rolSeleccionado = rolesActualesListView.getSelectionModel().getSelectedItem();
         if (rolSeleccionado == null) {
             CrediActivaApp.showWarningAlert("Advertencia", "Sin Selección", 
@@ -511,12 +459,14 @@ public class EditarUsuarioController implements Initializable {
             actualizarRolesDisponiblesParaAgregar();
             
             logger.debug("Rol removido: {}", rolSeleccionado.getNombre());
-            statusLabel.setText("Rol removido: " + rolSeleccionado.getNombreLegible());
+            statusLabel.setText("Rol removido: " + rolSeleccionado.getNombreLegible() + describirCambiosPendientes());
         }
     }
     
     @FXML
     private void handleGuardar() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
         logger.debug("Guardando cambios del usuario");
         statusLabel.setText("Guardando cambios...");
         guardarButton.setDisable(true);
@@ -574,42 +524,18 @@ public class EditarUsuarioController implements Initializable {
     
     /**
      * Gestiona los cambios en los roles del usuario.
-     * Asigna/remueve roles y crea registros específicos en tablas correspondientes.
+     * Las altas, bajas y los registros específicos se guardan en una sola transacción.
      */
     private void gestionarRoles(Integer usuarioId) {
         try {
-            // Obtener roles actuales del usuario desde la base de datos
-            List<Rol> rolesActualesDB = rolService.obtenerRolesDeUsuario(usuarioId);
-            
-            // Roles que se deben agregar
-            List<Rol> rolesParaAgregar = rolesUsuario.stream()
-                .filter(rol -> !rolesActualesDB.contains(rol))
-                .collect(Collectors.toList());
-            
-            // Roles que se deben remover
-            List<Rol> rolesParaRemover = rolesActualesDB.stream()
-                .filter(rol -> !rolesUsuario.contains(rol))
-                .collect(Collectors.toList());
-            
-            // Agregar nuevos roles y crear registros específicos
-            for (Rol rol : rolesParaAgregar) {
-                // Asignar rol en usuarios_roles
-                rolService.asignarRolAUsuario(usuarioId, rol.getId());
-                logger.debug("Rol asignado: {} -> Usuario {}", rol.getNombre(), usuarioId);
-                
-                // Crear registro específico según el tipo de rol
-                crearRegistroEspecificoParaRol(usuarioId, rol);
-            }
+            Set<Integer> rolIds = rolesUsuario.stream()
+                .map(Rol::getId)
+                .collect(Collectors.toSet());
             
-            // Remover roles y eliminar registros específicos
-            for (Rol rol : rolesParaRemover) {
-                // Eliminar registro específico antes de remover el rol
-                eliminarRegistroEspecificoParaRol(usuarioId, rol);
-                
-                // Remover rol de usuarios_roles
-                rolService.removerRolDeUsuario(usuarioId, rol.getId());
-                logger.debug("Rol removido: {} -> Usuario {}", rol.getNombre(), usuarioId);
-            }
+            CambiosRoles cambios = rolService.aplicarCambiosRoles(usuarioId, rolIds);
+            logger.debug("Roles del usuario {}: agregados {}, removidos {}", usuarioId, 
+                        cambios.agregados().stream().map(Rol::getNombre).collect(Collectors.toList()), 
+                        cambios.removidos().stream().map(Rol::getNombre).collect(Collectors.toList()));
             
         } catch (Exception e) {
             logger.error("Error al gestionar roles del usuario", e);
@@ -619,153 +545,32 @@ public class EditarUsuarioController implements Initializable {
     }
     
     /**
-     * Crea el registro específico en la tabla correspondiente según el rol.
-     */
-    private void crearRegistroEspecificoParaRol(Integer usuarioId, Rol rol) {
-        try {
-            TipoRol tipoRol = TipoRol.valueOf(rol.getNombre().toUpperCase());
-            
-            switch (tipoRol) {
-                case ASESOR:
-                    crearRegistroAsesor(usuarioId);
-                    break;
-                case CLIENTE:
-                    crearRegistroCliente(usuarioId);
-                    break;
-                default:
-                    logger.debug("Rol {} no requiere registro específico", rol.getNombre());
-                    break;
-            }
-        } catch (Exception e) {
-            logger.error("Error al crear registro específico para rol {}: {}", rol.getNombre(), e.getMessage());
-            throw e;
-        }
-    }
-    
-    /**
-     * Elimina el registro específico de la tabla correspondiente según el rol.
-     */
-    private void eliminarRegistroEspecificoParaRol(Integer usuarioId, Rol rol) {
-        try {
-            TipoRol tipoRol = TipoRol.valueOf(rol.getNombre().toUpperCase());
-            
-            switch (tipoRol) {
-                case ASESOR:
-                    eliminarRegistroAsesor(usuarioId);
-                    break;
-                case CLIENTE:
-                    eliminarRegistroCliente(usuarioId);
-                    break;
-                default:
-                    logger.debug("Rol {} no tiene registro específico que eliminar", rol.getNombre());
-                    break;
-            }
-        } catch (Exception e) {
-            logger.error("Error al eliminar registro específico para rol {}: {}", rol.getNombre(), e.getMessage());
-            // No lanzar excepción aquí para no interrumpir la eliminación del rol
-        }
-    }
-    
-    /**
-     * Crea un registro en la tabla asesores con valores por defecto.
+     * Resume los cambios de roles que se aplicarán al guardar, comparando con
+     * los roles activos que el usuario tenía al abrir el formulario.
      */
-    private void crearRegistroAsesor(Integer usuarioId) {
-        try {
-            // Verificar si ya existe un asesor para este usuario
-            Optional<Asesor> asesorExistente = asesorService.buscarPorUsuarioId(usuarioId);
-            if (asesorExistente.isPresent()) {
-                logger.warn("Ya existe un asesor para el usuario ID: {}", usuarioId);
-                return;
-            }
-            
-            // Obtener el usuario para crear el asesor
-            Usuario usuario = usuarioService.buscarPorId(usuarioId).orElse(null);
-            if (usuario == null) {
-                throw new RuntimeException("Usuario no encontrado con ID: " + usuarioId);
-            }
-            
-            // Crear nuevo asesor con valores por defecto usando el servicio
-            BigDecimal comisionPorDefecto = BigDecimal.valueOf(0.02); // 2%
-            BigDecimal metaPorDefecto = BigDecimal.ZERO;
-            
-            Asesor asesorCreado = asesorService.crearAsesor(usuario, comisionPorDefecto, metaPorDefecto);
-            if (asesorCreado != null) {
-                logger.info("✅ Registro de asesor creado para usuario ID: {} con código: {}", 
-                           usuarioId, asesorCreado.getCodigoAsesor());
-            }
-            
-        } catch (Exception e) {
-            logger.error("❌ Error al crear registro de asesor para usuario ID: {}", usuarioId, e);
-            throw new RuntimeException("No se pudo crear el registro de asesor: " + e.getMessage());
+    private String describirCambiosPendientes() {
+        if (rolesDisponibles == null || usuarioOriginal == null || usuarioOriginal.getRoles() == null) {
+            return "";
         }
-    }
-    
-    /**
-     * Crea un registro en la tabla clientes con valores por defecto.
-     */
-    private void crearRegistroCliente(Integer usuarioId) {
+        
         try {
-            // Verificar si ya existe un cliente para este usuario
-            Optional<Cliente> clienteExistente = clienteService.buscarPorUsuarioId(usuarioId);
-            if (clienteExistente.isPresent()) {
-                logger.warn("Ya existe un cliente para el usuario ID: {}", usuarioId);
-                return;
-            }
-            
-            // Obtener el usuario para crear el cliente
-            Usuario usuario = usuarioService.buscarPorId(usuarioId).orElse(null);
-            if (usuario == null) {
-                throw new RuntimeException("Usuario no encontrado con ID: " + usuarioId);
-            }
-            
-            // Crear nuevo cliente con valores por defecto usando el servicio
-            Cliente.TipoCliente tipoDefecto = Cliente.TipoCliente.NUEVO;
-            BigDecimal limiteDefecto = BigDecimal.valueOf(15000.00);
-            int scoreDefecto = 650;
-            
-            Cliente clienteCreado = clienteService.crearCliente(usuario, tipoDefecto, limiteDefecto, scoreDefecto);
-            if (clienteCreado != null) {
-                logger.info("✅ Registro de cliente creado para usuario ID: {} con código: {}", 
-                           usuarioId, clienteCreado.getCodigoCliente());
+            Set<Integer> asignados = usuarioOriginal.getRoles().stream()
+                .filter(Rol::isActivo)
+                .map(Rol::getId)
+                .collect(Collectors.toSet());
+            Set<Integer> deseados = rolesUsuario.stream()
+                .map(Rol::getId)
+                .collect(Collectors.toSet());
+            
+            CambiosRoles cambios = CambiosRoles.calcular(rolesDisponibles, asignados, deseados);
+            if (cambios.isVacio()) {
+                return "";
             }
+            return String.format(" (pendiente de guardar: %d por asignar, %d por quitar)", 
+                                 cambios.agregados().size(), cambios.removidos().size());
             
-        } catch (Exception e) {
-            logger.error("❌ Error al crear registro de cliente para usuario ID: {}", usuarioId, e);
-            throw new RuntimeException("No se pudo crear el registro de cliente: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Elimina el registro de asesor para el usuario.
-     */
-    private void eliminarRegistroAsesor(Integer usuarioId) {
-        try {
-            Optional<Asesor> asesorOpt = asesorService.buscarPorUsuarioId(usuarioId);
-            if (asesorOpt.isPresent()) {
-                boolean desactivado = asesorService.desactivarAsesor(asesorOpt.get().getId());
-                if (desactivado) {
-                    logger.info("✅ Registro de asesor desactivado para usuario ID: {}", usuarioId);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("❌ Error al desactivar registro de asesor para usuario ID: {}", usuarioId, e);
-        }
-    }
-    
-    /**
-     * Elimina el registro de cliente para el usuario.
-     */
-    private void eliminarRegistroCliente(Integer usuarioId) {
-        try {
-            Optional<Cliente> clienteOpt = clienteService.buscarPorUsuarioId(usuarioId);
-            if (clienteOpt.isPresent()) {
-                boolean desactivado = clienteService.desactivarCliente(clienteOpt.get().getId());
-                if (desactivado) {
-                    logger.info("✅ Registro de cliente desactivado para usuario ID: {}", usuarioId);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("❌ Error al desactivar registro de cliente para usuario ID: {}", usuarioId, e);
+        } catch (IllegalArgumentException e) {
+            return "";
         }
     }
     
@@ -827,10 +632,6 @@ public class EditarUsuarioController implements Initializable {
      * Cierra la ventana actual.
      */
     private void cerrarVentana() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
-        
         Stage stage = (Stage) cancelarButton.getScene().getWindow();
         stage.close();
         
@@ -841,8 +642,6 @@ public class EditarUsuarioController implements Initializable {
      * Limpieza al cerrar el controlador.
      */
     public void cleanup() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
+        RelojAplicacion.getInstance().desuscribir(timeLabel);
     }
 }
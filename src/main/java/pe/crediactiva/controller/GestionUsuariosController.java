@@ -1,35 +1,58 @@
 package pe.crediactiva.controller;
 
 import javafx.application.Platform;
-import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.app.CicloVidaVista;
 import pe.crediactiva.app.CrediActivaApp;
+import pe.crediactiva.busqueda.BusquedaUsuarios;
+import pe.crediactiva.model.AsignacionMasiva;
+import pe.crediactiva.model.MarcaAgua;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.monitoring.MonitorConsultas;
+import pe.crediactiva.report.FormatoReporte;
+import pe.crediactiva.report.ResultadoExportacion;
+import pe.crediactiva.report.TipoReporte;
+import pe.crediactiva.security.Permiso;
+import pe.crediactiva.service.ReporteService;
 import pe.crediactiva.service.RolService;
 import pe.crediactiva.service.UsuarioService;
+import pe.crediactiva.tabla.ColumnasTabla;
+import pe.crediactiva.tabla.FilaUsuario;
+import pe.crediactiva.tabla.FormatoCeldas;
+import pe.crediactiva.util.FiltroUsuarios;
+import pe.crediactiva.util.RelojAplicacion;
+import pe.crediactiva.util.SincronizacionDelta;
 import pe.crediactiva.util.UsuarioReparacionUtil;
 
 import java.net.URL;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -39,7 +62,7 @@ import java.util.stream.Collectors;
  * @author CrediActiva Development Team
  * @version 1.0
  */
-public class GestionUsuariosController implements Initializable {
+public class GestionUsuariosController implements Initializable, CicloVidaVista {
     
     private static final Logger logger = LoggerFactory.getLogger(GestionUsuariosController.class);
     
@@ -54,6 +77,7 @@ public class GestionUsuariosController implements Initializable {
     @FXML private Button editarUsuarioButton;
     @FXML private Button activarUsuarioButton;
     @FXML private Button desactivarUsuarioButton;
+    @FXML private Button asignarRolButton;
     @FXML private Button actualizarButton;
     @FXML private Button repararUsuariosButton;
     @FXML private Button exportarButton;
@@ -68,18 +92,18 @@ public class GestionUsuariosController implements Initializable {
     @FXML private ComboBox<String> filtroEstadoComboBox;
     
     // Elementos de la interfaz - Tabla de usuarios
-    @FXML private TableView<Usuario> usuariosTable;
-    @FXML private TableColumn<Usuario, Integer> idColumn;
-    @FXML private TableColumn<Usuario, String> usernameColumn;
-    @FXML private TableColumn<Usuario, String> nombresColumn;
-    @FXML private TableColumn<Usuario, String> apellidosColumn;
-    @FXML private TableColumn<Usuario, String> emailColumn;
-    @FXML private TableColumn<Usuario, String> documentoColumn;
-    @FXML private TableColumn<Usuario, String> telefonoColumn;
-    @FXML private TableColumn<Usuario, String> rolesColumn;
-    @FXML private TableColumn<Usuario, String> estadoColumn;
-    @FXML private TableColumn<Usuario, String> ultimoLoginColumn;
-    @FXML private TableColumn<Usuario, String> fechaCreacionColumn;
+    @FXML private TableView<FilaUsuario> usuariosTable;
+    @FXML private TableColumn<FilaUsuario, Integer> idColumn;
+    @FXML private TableColumn<FilaUsuario, String> usernameColumn;
+    @FXML private TableColumn<FilaUsuario, String> nombresColumn;
+    @FXML private TableColumn<FilaUsuario, String> apellidosColumn;
+    @FXML private TableColumn<FilaUsuario, String> emailColumn;
+    @FXML private TableColumn<FilaUsuario, String> documentoColumn;
+    @FXML private TableColumn<FilaUsuario, String> telefonoColumn;
+    @FXML private TableColumn<FilaUsuario, String> rolesColumn;
+    @FXML private TableColumn<FilaUsuario, String> estadoColumn;
+    @FXML private TableColumn<FilaUsuario, FilaUsuario> ultimoLoginColumn;
+    @FXML private TableColumn<FilaUsuario, FilaUsuario> fechaCreacionColumn;
     
     // Elementos de la interfaz - Panel de detalles
     @FXML private VBox detallesPanel;
@@ -105,19 +129,32 @@ public class GestionUsuariosController implements Initializable {
     // Servicios
     private UsuarioService usuarioService;
     private RolService rolService;
+    private ReporteService reporteService;
     
-    // Datos
-    private ObservableList<Usuario> todosLosUsuarios;
-    private FilteredList<Usuario> usuariosFiltrados;
+    // Datos: filas con los textos ya calculados, construidas fuera del hilo de JavaFX
+    private ObservableList<FilaUsuario> todosLosUsuarios;
+    private FilteredList<FilaUsuario> usuariosFiltrados;
+    private final SincronizacionDelta<FilaUsuario> sincronizacion = new SincronizacionDelta<>(
+        FilaUsuario::id, (actual, recibida) -> mismaVersion(actual.usuario(), recibida.usuario()));
+    
+    // Carga o refresco en segundo plano; mientras corre se ignoran nuevos pedidos
+    private Task<?> tareaCarga;
+    
+    // Activación, desactivación o asignación de rol en curso; deshabilita esos botones
+    private Task<?> tareaMasiva;
+    
+    /**
+     * Resultado de una carga en segundo plano: filas calculadas y marca de agua
+     * tomada antes de leerlas. Sin filas si hay que recargar la lista completa.
+     */
+    private record CargaFilas(MarcaAgua marca, List<FilaUsuario> filas) {
+    }
     
     // Paginación
     private int paginaActual = 1;
     private int usuariosPorPagina = 50;
     private int totalPaginas = 1;
     
-    // Timer para el reloj
-    private Timer clockTimer;
-    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.debug("Inicializando GestionUsuariosController");
@@ -126,18 +163,13 @@ public class GestionUsuariosController implements Initializable {
             // Inicializar servicios
             usuarioService = new UsuarioService();
             rolService = new RolService();
+            reporteService = new ReporteService();
             
             // Configurar interfaz
             configurarTabla();
             configurarFiltros();
             configurarEventos();
             
-            // Cargar datos
-            cargarDatos();
-            
-            // Iniciar reloj
-            iniciarReloj();
-            
             logger.debug("GestionUsuariosController inicializado correctamente");
             
         } catch (Exception e) {
@@ -148,65 +180,57 @@ public class GestionUsuariosController implements Initializable {
         }
     }
     
+    /**
+     * Refresca los usuarios cada vez que la pantalla se muestra; la vista se
+     * reutiliza desde la caché y puede haberse precargado tras el login.
+     */
+    @Override
+    public void onShow() {
+        // Cargar datos o solo los cambios desde la última visita
+        refrescarDatos();
+        
+        // Iniciar reloj
+        iniciarReloj();
+    }
+    
+    @Override
+    public void onHide() {
+        cleanup();
+    }
+    
     /**
      * Configura la tabla de usuarios.
      */
     private void configurarTabla() {
-        // Configurar columnas
-        idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
-        nombresColumn.setCellValueFactory(new PropertyValueFactory<>("nombres"));
-        apellidosColumn.setCellValueFactory(new PropertyValueFactory<>("apellidos"));
-        emailColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
-        documentoColumn.setCellValueFactory(new PropertyValueFactory<>("documentoIdentidad"));
-        telefonoColumn.setCellValueFactory(new PropertyValueFactory<>("telefono"));
-        
-        // Columna de roles (personalizada)
-        rolesColumn.setCellValueFactory(cellData -> {
-            Usuario usuario = cellData.getValue();
-            String roles = usuario.getRoles() != null ? 
-                usuario.getRoles().stream()
-                    .filter(Rol::isActivo)
-                    .map(Rol::getNombreLegible)
-                    .collect(Collectors.joining(", ")) : 
-                "Sin roles";
-            return new ReadOnlyStringWrapper(roles);
-        });
-        
-        // Columna de estado (personalizada)
-        estadoColumn.setCellValueFactory(cellData -> {
-            Usuario usuario = cellData.getValue();
-            return new ReadOnlyStringWrapper(usuario.isActivo() ? "Activo" : "Inactivo");
-        });
+        // Configurar columnas: las celdas leen los campos de la fila, sin reflexión ni formateo
+        ColumnasTabla.valor(idColumn, FilaUsuario::id);
+        ColumnasTabla.texto(usernameColumn, FilaUsuario::username);
+        ColumnasTabla.texto(nombresColumn, FilaUsuario::nombres);
+        ColumnasTabla.texto(apellidosColumn, FilaUsuario::apellidos);
+        ColumnasTabla.texto(emailColumn, FilaUsuario::email);
+        ColumnasTabla.texto(documentoColumn, FilaUsuario::documento);
+        ColumnasTabla.texto(telefonoColumn, FilaUsuario::telefono);
+        ColumnasTabla.texto(rolesColumn, FilaUsuario::roles);
+        ColumnasTabla.texto(estadoColumn, FilaUsuario::estado);
         
-        // Columna de último login (personalizada)
-        ultimoLoginColumn.setCellValueFactory(cellData -> {
-            Usuario usuario = cellData.getValue();
-            String ultimoLogin = usuario.getUltimoLogin() != null ? 
-                usuario.getUltimoLogin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")) : 
-                "Nunca";
-            return new ReadOnlyStringWrapper(ultimoLogin);
-        });
+        // Las fechas se muestran formateadas y se ordenan por la fecha
+        ColumnasTabla.ordenada(ultimoLoginColumn, FilaUsuario::ultimoLogin, 
+                               Comparator.comparingLong(FilaUsuario::ordenUltimoLogin));
+        ColumnasTabla.ordenada(fechaCreacionColumn, FilaUsuario::fechaCreacion, 
+                               Comparator.comparingLong(FilaUsuario::ordenFechaCreacion));
         
-        // Columna de fecha de creación (personalizada)
-        fechaCreacionColumn.setCellValueFactory(cellData -> {
-            Usuario usuario = cellData.getValue();
-            String fechaCreacion = usuario.getFechaCreacion() != null ? 
-                usuario.getFechaCreacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) : 
-                "-";
-            return new ReadOnlyStringWrapper(fechaCreacion);
+        // Configurar selección: varias filas para las acciones masivas, detalles de la fila enfocada
+        usuariosTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        usuariosTable.getSelectionModel().getSelectedItems().addListener((ListChangeListener<FilaUsuario>) cambio -> {
+            actualizarBotonesSegunSeleccion(usuariosTable.getSelectionModel().getSelectedItems());
         });
-        
-        // Configurar selección
-        usuariosTable.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
         usuariosTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
-            actualizarBotonesSegunSeleccion(newSelection);
-            mostrarDetallesUsuario(newSelection);
+            mostrarDetallesUsuario(newSelection != null ? newSelection.usuario() : null);
         });
         
         // Configurar doble clic para editar
         usuariosTable.setRowFactory(tv -> {
-            TableRow<Usuario> row = new TableRow<>();
+            TableRow<FilaUsuario> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     handleEditarUsuario();
@@ -270,44 +294,151 @@ public class GestionUsuariosController implements Initializable {
     }
     
     /**
-     * Carga los datos iniciales.
+     * Carga todos los usuarios en segundo plano; la consulta y el cálculo de
+     * las filas no bloquean el hilo de JavaFX.
      */
     private void cargarDatos() {
+        if (cargaEnCurso()) return;
         statusLabel.setText("Estado: Cargando usuarios...");
         
-        try {
-            // Cargar todos los usuarios
-            List<Usuario> usuarios = usuarioService.obtenerUsuariosActivos();
-            usuarios.addAll(usuarioService.buscarPorNombre("")); // Obtener también inactivos
-            
-            // Eliminar duplicados manteniendo solo una instancia de cada usuario
-            usuarios = usuarios.stream()
-                .collect(Collectors.toMap(Usuario::getId, u -> u, (existing, replacement) -> existing))
-                .values()
-                .stream()
-                .collect(Collectors.toList());
-            
-            todosLosUsuarios = FXCollections.observableArrayList(usuarios);
-            usuariosFiltrados = new FilteredList<>(todosLosUsuarios);
-            
-            usuariosTable.setItems(usuariosFiltrados);
-            
-            // Actualizar estadísticas
-            actualizarEstadisticas();
-            
-            // Actualizar paginación
-            actualizarPaginacion();
-            
-            statusLabel.setText("Estado: " + usuarios.size() + " usuarios cargados");
-            
-            logger.debug("Cargados {} usuarios", usuarios.size());
-            
-        } catch (Exception e) {
+        Task<CargaFilas> cargaTask = new Task<CargaFilas>() {
+            @Override
+            protected CargaFilas call() {
+                // La marca se toma antes de leer: lo que cambie durante la carga entra en el siguiente refresco
+                MarcaAgua marca = usuarioService.obtenerMarcaAgua();
+                
+                // Cargar todos los usuarios, activos e inactivos; la carga cuenta como una operación para detectar N+1
+                List<Usuario> usuarios;
+                try (MonitorConsultas.Operacion operacion = MonitorConsultas.getInstance().operacion("carga de usuarios")) {
+                    usuarios = usuarioService.obtenerTodosLosUsuarios();
+                }
+                
+                BusquedaUsuarios.getInstance().cargar(usuarios);
+                return new CargaFilas(marca, FilaUsuario.de(usuarios));
+            }
+        };
+        
+        cargaTask.setOnSucceeded(event -> mostrarCarga(cargaTask.getValue()));
+        cargaTask.setOnFailed(event -> {
+            Throwable e = cargaTask.getException();
             logger.error("Error al cargar usuarios", e);
             CrediActivaApp.showErrorAlert("Error", "Error al Cargar Usuarios", 
                                         "No se pudieron cargar los usuarios: " + e.getMessage());
             statusLabel.setText("Estado: Error al cargar usuarios");
+        });
+        
+        ejecutar(cargaTask, "carga-usuarios");
+    }
+    
+    /**
+     * Muestra la lista cargada completa.
+     */
+    private void mostrarCarga(CargaFilas carga) {
+        todosLosUsuarios = FXCollections.observableArrayList(carga.filas());
+        sincronizacion.cargar(todosLosUsuarios, carga.marca());
+        usuariosFiltrados = new FilteredList<>(todosLosUsuarios);
+        
+        // Ordenar sobre una SortedList: la lista filtrada no se puede reordenar
+        SortedList<FilaUsuario> usuariosOrdenados = new SortedList<>(usuariosFiltrados);
+        usuariosOrdenados.comparatorProperty().bind(usuariosTable.comparatorProperty());
+        usuariosTable.setItems(usuariosOrdenados);
+        
+        // Actualizar estadísticas
+        actualizarEstadisticas();
+        
+        // Actualizar paginación
+        actualizarPaginacion();
+        
+        statusLabel.setText("Estado: " + todosLosUsuarios.size() + " usuarios cargados");
+        
+        logger.debug("Cargados {} usuarios", todosLosUsuarios.size());
+    }
+    
+    /**
+     * Refresca la lista trayendo solo los usuarios creados o modificados desde
+     * la consulta anterior, también desde otros equipos, y reemplazando sus
+     * filas. Recarga la lista completa si aún no se cargó, si la base de datos
+     * no tiene las marcas de actualización o si se borraron usuarios.
+     */
+    private void refrescarDatos() {
+        if (todosLosUsuarios == null || !sincronizacion.isCargada()) {
+            cargarDatos();
+            return;
+        }
+        if (cargaEnCurso()) return;
+        
+        LocalDateTime desde = sincronizacion.getDesde();
+        Task<CargaFilas> refrescoTask = new Task<CargaFilas>() {
+            @Override
+            protected CargaFilas call() {
+                MarcaAgua marca = usuarioService.obtenerMarcaAgua();
+                List<Usuario> cambios = marca != null ? usuarioService.obtenerCambiosDesde(desde) : null;
+                return new CargaFilas(marca, cambios != null ? FilaUsuario.de(cambios) : null);
+            }
+        };
+        
+        refrescoTask.setOnSucceeded(event -> aplicarCambios(refrescoTask.getValue()));
+        refrescoTask.setOnFailed(event -> {
+            logger.error("Error al refrescar usuarios", refrescoTask.getException());
+            statusLabel.setText("Estado: Error al refrescar usuarios");
+        });
+        
+        ejecutar(refrescoTask, "refresco-usuarios");
+    }
+    
+    /**
+     * Reemplaza las filas de los usuarios modificados.
+     */
+    private void aplicarCambios(CargaFilas cambios) {
+        if (cambios.filas() == null) {
+            cargarDatos();
+            return;
+        }
+        
+        MarcaAgua marca = cambios.marca();
+        List<FilaUsuario> aplicadas = sincronizacion.aplicar(todosLosUsuarios, cambios.filas(), marca);
+        if (sincronizacion.requiereRecarga(todosLosUsuarios, marca)) {
+            logger.debug("La lista de usuarios no coincide con la tabla ({} de {}); se recarga completa", 
+                        todosLosUsuarios.size(), marca.totalFilas());
+            cargarDatos();
+            return;
         }
+        
+        BusquedaUsuarios busqueda = BusquedaUsuarios.getInstance();
+        for (FilaUsuario fila : aplicadas) {
+            busqueda.actualizar(fila.usuario());
+        }
+        
+        actualizarEstadisticas();
+        actualizarPaginacion();
+        mostrarDetallesUsuario(usuarioSeleccionado());
+        statusLabel.setText("Estado: " + todosLosUsuarios.size() + " usuarios, " + aplicadas.size() + " actualizados");
+        
+        logger.debug("Refresco de usuarios: {} recibidos, {} aplicados", cambios.filas().size(), aplicadas.size());
+    }
+    
+    private boolean cargaEnCurso() {
+        return tareaCarga != null && tareaCarga.isRunning();
+    }
+    
+    private void ejecutar(Task<?> tarea, String nombreHilo) {
+        tareaCarga = tarea;
+        Thread thread = new Thread(tarea, nombreHilo);
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    // Los usuarios repetidos por el margen de la sincronización no se vuelven a pintar
+    private static boolean mismaVersion(Usuario actual, Usuario recibido) {
+        return Objects.equals(actual.getFechaActualizacion(), recibido.getFechaActualizacion())
+            && actual.isActivo() == recibido.isActivo()
+            && idsRoles(actual).equals(idsRoles(recibido));
+    }
+    
+    private static List<Integer> idsRoles(Usuario usuario) {
+        return usuario.getRoles() != null 
+            ? usuario.getRoles().stream().map(Rol::getId).collect(Collectors.toList()) 
+            : List.of();
     }
     
     /**
@@ -316,38 +447,25 @@ public class GestionUsuariosController implements Initializable {
     private void aplicarFiltros() {
         if (usuariosFiltrados == null) return;
         
-        usuariosFiltrados.setPredicate(usuario -> {
-            // Filtro de búsqueda
-            String textoBusqueda = buscarField.getText();
-            if (textoBusqueda != null && !textoBusqueda.trim().isEmpty()) {
-                String busqueda = textoBusqueda.toLowerCase();
-                boolean coincide = usuario.getUsername().toLowerCase().contains(busqueda) ||
-                                 usuario.getNombres().toLowerCase().contains(busqueda) ||
-                                 usuario.getApellidos().toLowerCase().contains(busqueda) ||
-                                 usuario.getEmail().toLowerCase().contains(busqueda) ||
-                                 (usuario.getDocumentoIdentidad() != null && usuario.getDocumentoIdentidad().toLowerCase().contains(busqueda));
-                
-                if (!coincide) return false;
-            }
-            
-            // Filtro de rol
-            Rol rolSeleccionado = filtroRolComboBox.getValue();
-            if (rolSeleccionado != null) {
-                boolean tieneRol = usuario.getRoles() != null && 
-                    usuario.getRoles().stream().anyMatch(rol -> 
-                        rol.getId().equals(rolSeleccionado.getId()) && rol.isActivo());
-                if (!tieneRol) return false;
-            }
-            
-            // Filtro de estado
-            String estadoSeleccionado = filtroEstadoComboBox.getValue();
-            if (estadoSeleccionado != null && !estadoSeleccionado.equals("Todos")) {
-                if (estadoSeleccionado.equals("Activos") && !usuario.isActivo()) return false;
-                if (estadoSeleccionado.equals("Inactivos") && usuario.isActivo()) return false;
-            }
-            
-            return true;
-        });
+        // Los nombres se buscan en el índice (sin tildes, en cualquier orden)
+        String texto = buscarField.getText();
+        Set<Integer> coincidenciasNombre = null;
+        BusquedaUsuarios busqueda = BusquedaUsuarios.getInstance();
+        if (texto != null && !texto.trim().isEmpty() && busqueda.isCargado()) {
+            coincidenciasNombre = busqueda.buscar(texto, Integer.MAX_VALUE).stream()
+                .map(Usuario::getId)
+                .collect(Collectors.toSet());
+        }
+        
+        // Los roles conocidos se comparan con la máscara de la fila, sin recorrer sus roles
+        Rol rol = filtroRolComboBox.getValue();
+        TipoRol tipoRol = rol != null ? rol.getTipoRol() : null;
+        Predicate<Usuario> filtro = FiltroUsuarios.crear(texto, coincidenciasNombre,
+                                                         tipoRol != null ? null : rol,
+                                                         filtroEstadoComboBox.getValue());
+        usuariosFiltrados.setPredicate(tipoRol != null 
+            ? fila -> fila.tieneRol(tipoRol) && filtro.test(fila.usuario()) 
+            : fila -> filtro.test(fila.usuario()));
         
         // Actualizar información de paginación
         actualizarPaginacion();
@@ -360,7 +478,7 @@ public class GestionUsuariosController implements Initializable {
         if (todosLosUsuarios == null) return;
         
         int total = todosLosUsuarios.size();
-        int activos = (int) todosLosUsuarios.stream().filter(Usuario::isActivo).count();
+        int activos = (int) todosLosUsuarios.stream().filter(FilaUsuario::activo).count();
         int inactivos = total - activos;
         
         totalUsuariosLabel.setText(String.valueOf(total));
@@ -386,18 +504,48 @@ public class GestionUsuariosController implements Initializable {
     /**
      * Actualiza los botones según la selección actual.
      */
-    private void actualizarBotonesSegunSeleccion(Usuario usuarioSeleccionado) {
-        boolean haySeleccion = usuarioSeleccionado != null;
+    private void actualizarBotonesSegunSeleccion(List<FilaUsuario> seleccionados) {
+        boolean hayActivos = seleccionados.stream().anyMatch(FilaUsuario::activo);
+        boolean hayInactivos = seleccionados.stream().anyMatch(fila -> !fila.activo());
+        boolean ocupado = tareaMasiva != null && tareaMasiva.isRunning();
         
-        editarUsuarioButton.setDisable(!haySeleccion);
+        editarUsuarioButton.setDisable(seleccionados.size() != 1);
+        activarUsuarioButton.setDisable(ocupado || !hayInactivos);
+        desactivarUsuarioButton.setDisable(ocupado || !hayActivos);
+        asignarRolButton.setDisable(ocupado || seleccionados.isEmpty());
+    }
+    
+    /**
+     * Refleja en la tabla los usuarios modificados sin recargar la lista:
+     * reemplazar su fila por una recalculada notifica el cambio a la tabla,
+     * al filtro y a los contadores.
+     */
+    private void actualizarFilas(List<Usuario> modificados) {
+        if (todosLosUsuarios == null || modificados.isEmpty()) return;
         
-        if (haySeleccion) {
-            activarUsuarioButton.setDisable(usuarioSeleccionado.isActivo());
-            desactivarUsuarioButton.setDisable(!usuarioSeleccionado.isActivo());
-        } else {
-            activarUsuarioButton.setDisable(true);
-            desactivarUsuarioButton.setDisable(true);
+        Set<Integer> ids = modificados.stream().map(Usuario::getId).collect(Collectors.toSet());
+        for (int i = 0; i < todosLosUsuarios.size(); i++) {
+            FilaUsuario fila = todosLosUsuarios.get(i);
+            if (ids.contains(fila.id())) {
+                todosLosUsuarios.set(i, FilaUsuario.de(fila.usuario()));
+            }
         }
+        
+        actualizarEstadisticas();
+        actualizarPaginacion();
+        actualizarBotonesSegunSeleccion(usuariosTable.getSelectionModel().getSelectedItems());
+        mostrarDetallesUsuario(usuarioSeleccionado());
+    }
+    
+    private Usuario usuarioSeleccionado() {
+        FilaUsuario fila = usuariosTable.getSelectionModel().getSelectedItem();
+        return fila != null ? fila.usuario() : null;
+    }
+    
+    private List<Usuario> usuariosSeleccionados() {
+        return usuariosTable.getSelectionModel().getSelectedItems().stream()
+            .map(FilaUsuario::usuario)
+            .collect(Collectors.toList());
     }
     
     /**
@@ -432,17 +580,12 @@ public class GestionUsuariosController implements Initializable {
         detalleEstadoLabel.setStyle(usuario.isActivo() ? "-fx-text-fill: #28a745;" : "-fx-text-fill: #dc3545;");
         
         // Fechas
-        detalleUltimoLoginLabel.setText(usuario.getUltimoLogin() != null ? 
-            usuario.getUltimoLogin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "Nunca ha iniciado sesión");
-        
-        detalleFechaCreacionLabel.setText(usuario.getFechaCreacion() != null ? 
-            usuario.getFechaCreacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "No disponible");
-        
-        detalleFechaActualizacionLabel.setText(usuario.getFechaActualizacion() != null ? 
-            usuario.getFechaActualizacion().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) : 
-            "No disponible");
+        detalleUltimoLoginLabel.setText(FormatoCeldas.fecha(usuario.getUltimoLogin(), FormatoCeldas.FECHA_HORA, 
+                                                            "Nunca ha iniciado sesión"));
+        detalleFechaCreacionLabel.setText(FormatoCeldas.fecha(usuario.getFechaCreacion(), FormatoCeldas.FECHA_HORA, 
+                                                              "No disponible"));
+        detalleFechaActualizacionLabel.setText(FormatoCeldas.fecha(usuario.getFechaActualizacion(), FormatoCeldas.FECHA_HORA, 
+                                                                   "No disponible"));
         
         detallesPanel.setVisible(true);
     }
@@ -451,17 +594,7 @@ public class GestionUsuariosController implements Initializable {
      * Inicia el reloj en tiempo real.
      */
     private void iniciarReloj() {
-        clockTimer = new Timer(true);
-        clockTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String timeText = now.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                    timeLabel.setText(timeText);
-                });
-            }
-        }, 0, 1000);
+        RelojAplicacion.getInstance().suscribir(timeLabel);
     }
     
     // Manejadores de eventos
@@ -470,17 +603,14 @@ public class GestionUsuariosController implements Initializable {
     private void handleVolver() {
         logger.debug("Volviendo al dashboard");
         
-        // Detener el timer
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
-        
         // Cambiar a dashboard según el rol del usuario actual
         CrediActivaApp.changeScene("/fxml/dashboard-admin.fxml", "Panel de Administración");
     }
     
     @FXML
     private void handleNuevoUsuario() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
         logger.debug("Abriendo formulario de nuevo usuario");
         statusLabel.setText("Estado: Abriendo formulario de nuevo usuario...");
         
@@ -502,7 +632,9 @@ public class GestionUsuariosController implements Initializable {
     
     @FXML
     private void handleEditarUsuario() {
-        Usuario usuarioSeleccionado = usuariosTable.getSelectionModel().getSelectedItem();
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
+        Usuario usuarioSeleccionado = usuarioSeleccionado();
         if (usuarioSeleccionado == null) {
             CrediActivaApp.showWarningAlert("Advertencia", "Sin Selección", 
                                           "Debe seleccionar un usuario para editar.");
@@ -550,85 +682,178 @@ public class GestionUsuariosController implements Initializable {
     
     @FXML
     private void handleActivarUsuario() {
-        Usuario usuarioSeleccionado = usuariosTable.getSelectionModel().getSelectedItem();
-        if (usuarioSeleccionado == null) return;
+        cambiarEstadoSeleccion(true);
+    }
+    
+    @FXML
+    private void handleDesactivarUsuario() {
+        cambiarEstadoSeleccion(false);
+    }
+    
+    /**
+     * Activa o desactiva los usuarios seleccionados con una sola operación
+     * masiva y actualiza sus filas en la tabla.
+     */
+    private void cambiarEstadoSeleccion(boolean activo) {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
+        List<Usuario> candidatos = usuariosSeleccionados().stream()
+            .filter(usuario -> usuario.isActivo() != activo)
+            .collect(Collectors.toList());
+        String accion = activo ? "Activar" : "Desactivar";
         
-        if (usuarioSeleccionado.isActivo()) {
-            CrediActivaApp.showWarningAlert("Advertencia", "Usuario Ya Activo", 
-                                          "El usuario seleccionado ya está activo.");
+        if (candidatos.isEmpty()) {
+            CrediActivaApp.showWarningAlert("Advertencia", activo ? "Usuario Ya Activo" : "Usuario Ya Inactivo", 
+                                          activo ? "Los usuarios seleccionados ya están activos." 
+                                                 : "Los usuarios seleccionados ya están inactivos.");
             return;
         }
         
-        boolean confirmar = CrediActivaApp.showConfirmAlert("Activar Usuario", 
-                                                          "¿Está seguro que desea activar este usuario?", 
-                                                          "Usuario: " + usuarioSeleccionado.getNombreCompleto());
+        String detalle = candidatos.size() == 1 
+            ? "Usuario: " + candidatos.get(0).getNombreCompleto() 
+            : "Usuarios seleccionados: " + candidatos.size();
+        if (!activo) {
+            detalle += "\n\nLos usuarios no podrán iniciar sesión hasta que sean reactivados.";
+        }
+        boolean confirmar = CrediActivaApp.showConfirmAlert(accion + " Usuario", 
+                                                          "¿Está seguro que desea " + accion.toLowerCase() + 
+                                                          (candidatos.size() == 1 ? " este usuario?" : " estos usuarios?"), 
+                                                          detalle);
+        if (!confirmar) return;
         
-        if (confirmar) {
-            try {
-                boolean resultado = usuarioService.activarUsuario(usuarioSeleccionado.getId());
-                
-                if (resultado) {
-                    CrediActivaApp.showInfoAlert("Éxito", "Usuario Activado", 
-                                               "El usuario ha sido activado exitosamente.");
-                    handleActualizar(); // Recargar datos
-                } else {
-                    CrediActivaApp.showErrorAlert("Error", "Error al Activar Usuario", 
-                                                "No se pudo activar el usuario.");
-                }
-                
-            } catch (Exception e) {
-                logger.error("Error al activar usuario", e);
-                CrediActivaApp.showErrorAlert("Error", "Error al Activar Usuario", 
-                                            "Error: " + e.getMessage());
+        Task<List<Usuario>> cambioTask = new Task<List<Usuario>>() {
+            @Override
+            protected List<Usuario> call() {
+                return usuarioService.cambiarEstadoUsuarios(candidatos, activo);
             }
-        }
+        };
+        
+        cambioTask.setOnSucceeded(event -> {
+            List<Usuario> actualizados = cambioTask.getValue();
+            actualizarFilas(actualizados);
+            terminarTareaMasiva();
+            
+            if (actualizados.size() == candidatos.size()) {
+                statusLabel.setText(String.format("Estado: %d usuarios %s", actualizados.size(), 
+                                                  activo ? "activados" : "desactivados"));
+            } else {
+                CrediActivaApp.showErrorAlert("Error", "Error al " + accion + " Usuarios", 
+                                            String.format("Se actualizaron %d de %d usuarios.", 
+                                                        actualizados.size(), candidatos.size()));
+            }
+        });
+        cambioTask.setOnFailed(event -> {
+            terminarTareaMasiva();
+            Throwable e = cambioTask.getException();
+            logger.error("Error al {} usuarios", accion.toLowerCase(), e);
+            CrediActivaApp.showErrorAlert("Error", "Error al " + accion + " Usuarios", 
+                                        "Error: " + e.getMessage());
+        });
+        
+        statusLabel.setText(String.format("Estado: %s %d usuarios...", 
+                                          activo ? "Activando" : "Desactivando", candidatos.size()));
+        iniciarTareaMasiva(cambioTask, "cambio-estado-usuarios");
     }
     
     @FXML
-    private void handleDesactivarUsuario() {
-        Usuario usuarioSeleccionado = usuariosTable.getSelectionModel().getSelectedItem();
-        if (usuarioSeleccionado == null) return;
+    private void handleAsignarRol() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
+        List<Usuario> seleccionados = usuariosSeleccionados();
+        if (seleccionados.isEmpty()) return;
         
-        if (!usuarioSeleccionado.isActivo()) {
-            CrediActivaApp.showWarningAlert("Advertencia", "Usuario Ya Inactivo", 
-                                          "El usuario seleccionado ya está inactivo.");
+        Map<String, Rol> roles = new LinkedHashMap<>();
+        for (Rol rol : rolService.obtenerRolesActivos()) {
+            roles.put(rol.getNombreLegible(), rol);
+        }
+        if (roles.isEmpty()) {
+            CrediActivaApp.showWarningAlert("Advertencia", "Sin Roles", "No hay roles activos para asignar.");
             return;
         }
         
-        boolean confirmar = CrediActivaApp.showConfirmAlert("Desactivar Usuario", 
-                                                          "¿Está seguro que desea desactivar este usuario?", 
-                                                          "Usuario: " + usuarioSeleccionado.getNombreCompleto() + 
-                                                          "\n\nEl usuario no podrá iniciar sesión hasta que sea reactivado.");
+        ChoiceDialog<String> rolDialog = new ChoiceDialog<>(roles.keySet().iterator().next(), roles.keySet());
+        rolDialog.setTitle("Asignar Rol");
+        rolDialog.setHeaderText("Asignar un rol a " + seleccionados.size() + " usuarios seleccionados");
+        rolDialog.setContentText("Rol:");
+        Optional<String> eleccion = rolDialog.showAndWait();
+        if (eleccion.isEmpty()) return;
         
-        if (confirmar) {
-            try {
-                boolean resultado = usuarioService.desactivarUsuario(usuarioSeleccionado.getId());
-                
-                if (resultado) {
-                    CrediActivaApp.showInfoAlert("Éxito", "Usuario Desactivado", 
-                                               "El usuario ha sido desactivado exitosamente.");
-                    handleActualizar(); // Recargar datos
-                } else {
-                    CrediActivaApp.showErrorAlert("Error", "Error al Desactivar Usuario", 
-                                                "No se pudo desactivar el usuario.");
+        Rol rol = roles.get(eleccion.get());
+        Task<AsignacionMasiva> asignacionTask = new Task<AsignacionMasiva>() {
+            @Override
+            protected AsignacionMasiva call() {
+                return rolService.asignarRolAUsuarios(seleccionados, rol);
+            }
+        };
+        
+        asignacionTask.setOnSucceeded(event -> {
+            AsignacionMasiva resultado = asignacionTask.getValue();
+            List<Usuario> actualizados = new ArrayList<>();
+            List<String> fallidos = new ArrayList<>();
+            for (Usuario usuario : seleccionados) {
+                if (resultado.asignados().contains(usuario.getId())) {
+                    actualizados.add(usuario);
+                } else if (resultado.fallidos().contains(usuario.getId())) {
+                    fallidos.add(usuario.getUsername());
                 }
-                
-            } catch (Exception e) {
-                logger.error("Error al desactivar usuario", e);
-                CrediActivaApp.showErrorAlert("Error", "Error al Desactivar Usuario", 
-                                            "Error: " + e.getMessage());
             }
-        }
+            actualizarFilas(actualizados);
+            terminarTareaMasiva();
+            
+            if (resultado.isCompleta()) {
+                statusLabel.setText(String.format("Estado: rol %s asignado a %d usuarios (%d ya lo tenían)", 
+                                                  rol.getNombreLegible(), actualizados.size(), 
+                                                  seleccionados.size() - actualizados.size()));
+            } else {
+                statusLabel.setText(String.format("Estado: rol %s asignado a %d usuarios, %d sin asignar", 
+                                                  rol.getNombreLegible(), actualizados.size(), fallidos.size()));
+                String detalle = fallidos.size() > 20 
+                    ? String.join(", ", fallidos.subList(0, 20)) + String.format(" y %d más", fallidos.size() - 20)
+                    : String.join(", ", fallidos);
+                CrediActivaApp.showErrorAlert("Error", "Asignación Incompleta", 
+                                            "No se pudo asignar el rol a " + fallidos.size() + " usuarios: " + detalle);
+            }
+        });
+        asignacionTask.setOnFailed(event -> {
+            terminarTareaMasiva();
+            Throwable e = asignacionTask.getException();
+            logger.error("Error al asignar rol en bloque", e);
+            CrediActivaApp.showErrorAlert("Error", "Error al Asignar Rol", 
+                                        "Error: " + e.getMessage());
+        });
+        
+        statusLabel.setText(String.format("Estado: Asignando rol %s a %d usuarios...", 
+                                          rol.getNombreLegible(), seleccionados.size()));
+        iniciarTareaMasiva(asignacionTask, "asignacion-rol");
+    }
+    
+    /**
+     * Ejecuta una operación masiva en segundo plano con sus botones deshabilitados.
+     */
+    private void iniciarTareaMasiva(Task<?> tarea, String nombreHilo) {
+        tareaMasiva = tarea;
+        actualizarBotonesSegunSeleccion(usuariosTable.getSelectionModel().getSelectedItems());
+        
+        Thread thread = new Thread(tarea, nombreHilo);
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void terminarTareaMasiva() {
+        tareaMasiva = null;
+        actualizarBotonesSegunSeleccion(usuariosTable.getSelectionModel().getSelectedItems());
     }
     
     @FXML
     private void handleActualizar() {
         logger.debug("Actualizando lista de usuarios");
-        cargarDatos();
+        refrescarDatos();
     }
     
     @FXML
     private void handleRepararUsuarios() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.VER_DIAGNOSTICO)) return;
+        
         logger.debug("Iniciando reparación de usuarios");
         
         boolean confirmar = CrediActivaApp.showConfirmAlert("Reparar Usuarios", 
@@ -682,10 +907,108 @@ public class GestionUsuariosController implements Initializable {
     
     @FXML
     private void handleExportar() {
-        logger.debug("Exportando usuarios");
-        // TODO: Implementar exportación a Excel/CSV
-        CrediActivaApp.showInfoAlert("Próximamente", "Exportar Usuarios", 
-                                   "La funcionalidad de exportación se implementará próximamente.");
+        if (!CrediActivaApp.verificarPermiso(Permiso.EXPORTAR_REPORTES)) return;
+        
+        logger.debug("Exportando reporte");
+        
+        ChoiceDialog<TipoReporte> tipoDialog = new ChoiceDialog<>(TipoReporte.USUARIOS, TipoReporte.values());
+        tipoDialog.setTitle("Exportar Reporte");
+        tipoDialog.setHeaderText("Seleccione el reporte a exportar");
+        tipoDialog.setContentText("Reporte:");
+        Optional<TipoReporte> tipo = tipoDialog.showAndWait();
+        if (tipo.isEmpty()) {
+            return;
+        }
+        
+        ChoiceDialog<FormatoReporte> formatoDialog = new ChoiceDialog<>(FormatoReporte.XLSX, FormatoReporte.values());
+        formatoDialog.setTitle("Exportar Reporte");
+        formatoDialog.setHeaderText("Seleccione el formato del archivo");
+        formatoDialog.setContentText("Formato:");
+        Optional<FormatoReporte> formato = formatoDialog.showAndWait();
+        if (formato.isEmpty()) {
+            return;
+        }
+        
+        exportarReporte(tipo.get(), formato.get());
+    }
+    
+    /**
+     * Exporta el reporte en segundo plano mostrando el avance con opción de cancelar.
+     */
+    private void exportarReporte(TipoReporte tipo, FormatoReporte formato) {
+        Task<ResultadoExportacion> exportacionTask = new Task<ResultadoExportacion>() {
+            @Override
+            protected ResultadoExportacion call() throws Exception {
+                return reporteService.exportar(tipo, formato, (procesadas, total) -> {
+                    if (total > 0) {
+                        updateProgress(procesadas, total);
+                        updateMessage(String.format("%,d de %,d filas", procesadas, total));
+                    } else {
+                        updateMessage(String.format("%,d filas", procesadas));
+                    }
+                }, this::isCancelled);
+            }
+        };
+        
+        // Diálogo de progreso
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(exportacionTask.progressProperty());
+        Label progresoLabel = new Label("Preparando exportación...");
+        progresoLabel.textProperty().bind(exportacionTask.messageProperty());
+        
+        Dialog<ButtonType> progresoDialog = new Dialog<>();
+        progresoDialog.setTitle("Exportar Reporte");
+        progresoDialog.setHeaderText("Exportando " + tipo.getNombre() + " a " + formato.getNombre());
+        progresoDialog.getDialogPane().setContent(new VBox(10, progresoLabel, progressBar));
+        progresoDialog.getDialogPane().getButtonTypes().add(ButtonType.CANCEL);
+        progresoDialog.setResultConverter(boton -> {
+            if (exportacionTask.isRunning()) {
+                exportacionTask.cancel();
+            }
+            return boton;
+        });
+        
+        exportacionTask.setOnSucceeded(event -> {
+            progresoDialog.close();
+            exportarButton.setDisable(false);
+            
+            ResultadoExportacion resultado = exportacionTask.getValue();
+            if (resultado.isCancelado()) {
+                statusLabel.setText("Estado: Exportación cancelada");
+                return;
+            }
+            statusLabel.setText(String.format("Estado: Reporte exportado - %,d filas", resultado.getFilas()));
+            CrediActivaApp.showInfoAlert("Exportación Completada", "Reporte de " + tipo.getNombre(), 
+                                       String.format("Se exportaron %,d filas en %.1f s.\n\nArchivo: %s", 
+                                                   resultado.getFilas(), 
+                                                   resultado.getDuracion().toMillis() / 1000.0, 
+                                                   resultado.getArchivo().toAbsolutePath()));
+        });
+        
+        exportacionTask.setOnCancelled(event -> {
+            exportarButton.setDisable(false);
+            statusLabel.setText("Estado: Exportación cancelada");
+        });
+        
+        exportacionTask.setOnFailed(event -> {
+            progresoDialog.close();
+            exportarButton.setDisable(false);
+            statusLabel.setText("Estado: Error en exportación");
+            
+            Throwable exception = exportacionTask.getException();
+            logger.error("Error en tarea de exportación", exception);
+            CrediActivaApp.showErrorAlert("Error", "Error al Exportar", 
+                                        "Error: " + exception.getMessage());
+        });
+        
+        exportarButton.setDisable(true);
+        statusLabel.setText("Estado: Exportando " + tipo.getNombre() + "...");
+        progresoDialog.show();
+        
+        Thread thread = new Thread(exportacionTask, "exportacion-reporte");
+        thread.setDaemon(true);
+        thread.start();
     }
     
     @FXML
@@ -721,8 +1044,6 @@ public class GestionUsuariosController implements Initializable {
      * Limpieza al cerrar el controlador.
      */
     public void cleanup() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
+        RelojAplicacion.getInstance().desuscribir(timeLabel);
     }
 }
@@ -10,9 +10,12 @@ import javafx.stage.Stage;
 import javafx.util.StringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.app.CrediActivaApp;
 import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.model.Cliente;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.service.RolService;
 import pe.crediactiva.service.UsuarioService;
 
@@ -155,10 +158,10 @@ public class InsertarRolDirectoController implements Initializable {
             camposCliente.setVisible(true);
             // Valores por defecto
             if (limiteCreditoField.getText().trim().isEmpty()) {
-                limiteCreditoField.setText("15000.00");
+                limiteCreditoField.setText(Cliente.LIMITE_CREDITO_INICIAL.toPlainString());
             }
             if (scoreCrediticioField.getText().trim().isEmpty()) {
-                scoreCrediticioField.setText("650");
+                scoreCrediticioField.setText(String.valueOf(Cliente.SCORE_INICIAL));
             }
         }
     }
@@ -218,6 +221,8 @@ public class InsertarRolDirectoController implements Initializable {
     
     @FXML
     private void handleEjecutarInsert() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_ROLES)) return;
+        
         Usuario usuario = usuarioComboBox.getValue();
         Rol rol = rolComboBox.getValue();
         
@@ -316,7 +321,7 @@ public class InsertarRolDirectoController implements Initializable {
     }
     
     private String generarCodigoAsesor(Connection conn) throws Exception {
-        String sql = "SELECT COALESCE(MAX(CAST(SUBSTRING(codigo_asesor, 4) AS UNSIGNED)), 0) + 1 as siguiente FROM asesores WHERE codigo_asesor LIKE 'ASE%'";
+        String sql = "SELECT COALESCE(MAX(CAST(SUBSTRING(codigo_asesor, 4) AS UNSIGNED)), 0) + 1 as siguiente FROM asesores WHERE codigo_asesor LIKE 'ASE%' FOR UPDATE";
         try (PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
@@ -327,7 +332,7 @@ public class InsertarRolDirectoController implements Initializable {
     }
     
     private String generarCodigoCliente(Connection conn) throws Exception {
-        String sql = "SELECT COALESCE(MAX(CAST(SUBSTRING(codigo_cliente, 4) AS UNSIGNED)), 0) + 1 as siguiente FROM clientes WHERE codigo_cliente LIKE 'CLI%'";
+        String sql = "SELECT COALESCE(MAX(CAST(SUBSTRING(codigo_cliente, 4) AS UNSIGNED)), 0) + 1 as siguiente FROM clientes WHERE codigo_cliente LIKE 'CLI%' FOR UPDATE";
         try (PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
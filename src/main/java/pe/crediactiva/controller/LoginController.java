@@ -1,5 +1,6 @@
 package pe.crediactiva.controller;
 
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -77,10 +78,13 @@ public class LoginController implements Initializable {
         errorLabel.setVisible(false);
         statusLabel.setText("Estado: Listo para iniciar sesión");
         
-        // Configurar tooltips
-        usernameField.setTooltip(new Tooltip("Ingrese su nombre de usuario"));
-        passwordField.setTooltip(new Tooltip("Ingrese su contraseña"));
-        loginButton.setTooltip(new Tooltip("Hacer clic para iniciar sesión"));
+        // Configurar tooltips. Son ventanas emergentes y se crean en el hilo de
+        // JavaFX, ya que el FXML del login se parsea en segundo plano al arrancar
+        Platform.runLater(() -> {
+            usernameField.setTooltip(new Tooltip("Ingrese su nombre de usuario"));
+            passwordField.setTooltip(new Tooltip("Ingrese su contraseña"));
+            loginButton.setTooltip(new Tooltip("Hacer clic para iniciar sesión"));
+        });
     }
     
     /**
@@ -222,6 +226,9 @@ public class LoginController implements Initializable {
         
         // Cambiar a la pantalla correspondiente
         CrediActivaApp.changeScene(dashboardPath, dashboardTitle);
+        
+        // Adelantar la carga de las pantallas siguientes del rol
+        CrediActivaApp.precargarVistasSiguientes();
     }
     
     /**
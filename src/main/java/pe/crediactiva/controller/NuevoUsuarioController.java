@@ -1,7 +1,7 @@
 package pe.crediactiva.controller;
 
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -10,18 +10,19 @@ import javafx.util.StringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pe.crediactiva.app.CrediActivaApp;
+import pe.crediactiva.busqueda.PersonaRegistrada;
+import pe.crediactiva.busqueda.PosibleDuplicado;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.Permiso;
 import pe.crediactiva.service.RolService;
 import pe.crediactiva.service.UsuarioService;
+import pe.crediactiva.util.RelojAplicacion;
 
 import java.net.URL;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Controlador para el formulario de creación de nuevos usuarios.
@@ -65,9 +66,6 @@ public class NuevoUsuarioController implements Initializable {
     private UsuarioService usuarioService;
     private RolService rolService;
     
-    // Timer para el reloj
-    private Timer clockTimer;
-    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         logger.debug("Inicializando NuevoUsuarioController");
@@ -307,41 +305,74 @@ public class NuevoUsuarioController implements Initializable {
      * Inicia el reloj en tiempo real.
      */
     private void iniciarReloj() {
-        clockTimer = new Timer(true);
-        clockTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(() -> {
-                    LocalDateTime now = LocalDateTime.now();
-                    String timeText = now.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                    timeLabel.setText(timeText);
-                });
-            }
-        }, 0, 1000);
+        RelojAplicacion.getInstance().suscribir(timeLabel);
     }
     
     // Manejadores de eventos
     
     @FXML
     private void handleCrear() {
+        if (!CrediActivaApp.verificarPermiso(Permiso.GESTIONAR_USUARIOS)) return;
+        
         logger.debug("Iniciando creación de usuario");
-        statusLabel.setText("Creando usuario...");
         crearButton.setDisable(true);
         
+        // Crear objeto Usuario
+        Usuario nuevoUsuario = new Usuario();
+        nuevoUsuario.setUsername(usernameField.getText().trim());
+        nuevoUsuario.setEmail(emailField.getText().trim());
+        nuevoUsuario.setNombres(nombresField.getText().trim());
+        nuevoUsuario.setApellidos(apellidosField.getText().trim());
+        nuevoUsuario.setDocumentoIdentidad(documentoField.getText().trim().isEmpty() ? null : documentoField.getText().trim());
+        nuevoUsuario.setTelefono(telefonoField.getText().trim().isEmpty() ? null : telefonoField.getText().trim());
+        nuevoUsuario.setDireccion(direccionField.getText().trim().isEmpty() ? null : direccionField.getText().trim());
+        nuevoUsuario.setActivo(activoCheckBox.isSelected());
+        
+        String password = passwordField.getText();
+        
+        // La primera verificación carga el índice de usuarios; se hace en segundo plano
+        Task<List<PosibleDuplicado>> verificacionTask = new Task<List<PosibleDuplicado>>() {
+            @Override
+            protected List<PosibleDuplicado> call() {
+                return usuarioService.buscarPosiblesDuplicados(nuevoUsuario);
+            }
+        };
+        
+        verificacionTask.setOnSucceeded(event -> {
+            // Advertir si la persona parece estar ya registrada con otro nombre o documento
+            if (!confirmarPosiblesDuplicados(nuevoUsuario, verificacionTask.getValue())) {
+                statusLabel.setText("Creación cancelada: posible usuario duplicado");
+                crearButton.setDisable(false);
+                return;
+            }
+            crearUsuario(nuevoUsuario, password);
+        });
+        verificacionTask.setOnFailed(event -> {
+            crearButton.setDisable(false);
+            Throwable e = verificacionTask.getException();
+            if (e instanceof BaseDatosNoDisponibleException caida) {
+                statusLabel.setText("Error al crear usuario");
+                throw caida;
+            }
+            logger.error("Error al verificar posibles duplicados", e);
+            CrediActivaApp.showErrorAlert("Error", "Error al Crear Usuario", 
+                                        "No se pudo verificar si el usuario ya existe: " + e.getMessage());
+            statusLabel.setText("Error al crear usuario");
+        });
+        
+        statusLabel.setText("Verificando posibles duplicados...");
+        Thread thread = new Thread(verificacionTask, "verificacion-duplicados");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Crea el usuario ya verificado y le asigna el rol seleccionado.
+     */
+    private void crearUsuario(Usuario nuevoUsuario, String password) {
+        statusLabel.setText("Creando usuario...");
+        
         try {
-            // Crear objeto Usuario
-            Usuario nuevoUsuario = new Usuario();
-            nuevoUsuario.setUsername(usernameField.getText().trim());
-            nuevoUsuario.setEmail(emailField.getText().trim());
-            nuevoUsuario.setNombres(nombresField.getText().trim());
-            nuevoUsuario.setApellidos(apellidosField.getText().trim());
-            nuevoUsuario.setDocumentoIdentidad(documentoField.getText().trim().isEmpty() ? null : documentoField.getText().trim());
-            nuevoUsuario.setTelefono(telefonoField.getText().trim().isEmpty() ? null : telefonoField.getText().trim());
-            nuevoUsuario.setDireccion(direccionField.getText().trim().isEmpty() ? null : direccionField.getText().trim());
-            nuevoUsuario.setActivo(activoCheckBox.isSelected());
-            
-            String password = passwordField.getText();
-            
             // Crear usuario
             Usuario usuarioCreado = usuarioService.crearUsuario(nuevoUsuario, password);
             
@@ -379,6 +410,9 @@ public class NuevoUsuarioController implements Initializable {
                 throw new RuntimeException("No se pudo crear el usuario");
             }
             
+        } catch (BaseDatosNoDisponibleException e) {
+            statusLabel.setText("Error al crear usuario");
+            throw e;
         } catch (Exception e) {
             logger.error("Error al crear usuario", e);
             CrediActivaApp.showErrorAlert("Error", "Error al Crear Usuario", 
@@ -389,6 +423,33 @@ public class NuevoUsuarioController implements Initializable {
         }
     }
     
+    /**
+     * Muestra los usuarios parecidos al que se va a crear y pide confirmación.
+     * 
+     * @param nuevoUsuario datos del usuario por crear
+     * @param duplicados posibles duplicados encontrados
+     * @return true si no hay posibles duplicados o el usuario confirma la creación
+     */
+    private boolean confirmarPosiblesDuplicados(Usuario nuevoUsuario, List<PosibleDuplicado> duplicados) {
+        if (duplicados.isEmpty()) {
+            return true;
+        }
+        
+        StringBuilder mensaje = new StringBuilder("Se encontraron usuarios registrados que podrían ser la misma persona:\n\n");
+        for (PosibleDuplicado duplicado : duplicados) {
+            PersonaRegistrada existente = duplicado.coincidencia();
+            mensaje.append(String.format("• %s (documento: %s, teléfono: %s) - %.0f%% de parecido%n",
+                                         existente.getNombreCompleto().trim(),
+                                         existente.documento() != null ? existente.documento() : "-",
+                                         existente.telefono() != null ? existente.telefono() : "-",
+                                         duplicado.puntaje() * 100));
+        }
+        mensaje.append("\n¿Desea crear el usuario de todas formas?");
+        
+        logger.info("Posibles duplicados al crear usuario {}: {}", nuevoUsuario.getUsername(), duplicados.size());
+        return CrediActivaApp.showConfirmAlert("Posible Duplicado", "Usuario posiblemente registrado", mensaje.toString());
+    }
+    
     @FXML
     private void handleLimpiar() {
         logger.debug("Limpiando formulario");
@@ -441,10 +502,6 @@ public class NuevoUsuarioController implements Initializable {
      * Cierra la ventana actual.
      */
     private void cerrarVentana() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
-        
         Stage stage = (Stage) cancelarButton.getScene().getWindow();
         stage.close();
         
@@ -455,8 +512,6 @@ public class NuevoUsuarioController implements Initializable {
      * Limpieza al cerrar el controlador.
      */
     public void cleanup() {
-        if (clockTimer != null) {
-            clockTimer.cancel();
-        }
+        RelojAplicacion.getInstance().desuscribir(timeLabel);
     }
 }
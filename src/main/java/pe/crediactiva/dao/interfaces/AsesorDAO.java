@@ -53,7 +53,8 @@ public interface AsesorDAO {
     List<Asesor> findAllActive();
     
     /**
-     * Guarda un nuevo asesor.
+     * Guarda un nuevo asesor. Si no tiene código, se asigna el siguiente con una
+     * lectura bloqueante dentro de la misma transacción del INSERT.
      * 
      * @param asesor asesor a guardar
      * @return asesor guardado con ID asignado
@@ -123,7 +124,8 @@ public interface AsesorDAO {
     long countActive();
     
     /**
-     * Genera el siguiente código de asesor disponible.
+     * Genera el siguiente código de asesor disponible, solo para mostrarlo:
+     * no lo reserva (ver {@link #save(Asesor)}).
      * 
      * @return código de asesor único
      */
@@ -0,0 +1,22 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.security.EventoAuditoria;
+
+import java.util.List;
+
+/**
+ * Interfaz DAO para la tabla de auditoría.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface AuditoriaDAO {
+    
+    /**
+     * Inserta un lote de eventos en una sola transacción.
+     * 
+     * @param eventos eventos a insertar
+     * @return true si todo el lote se guardó, false si no se guardó ninguno
+     */
+    boolean insertBatch(List<EventoAuditoria> eventos);
+}
@@ -0,0 +1,44 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.report.CarteraSnapshot;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz DAO para la lectura masiva de la cartera (préstamos + cronograma de pagos).
+ * Define las operaciones que alimentan la fotografía columnar usada en reportes.
+ * A diferencia de otros DAOs, los errores se propagan: una fotografía vacía no
+ * se puede distinguir de una cartera sin cuotas.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface CarteraDAO {
+    
+    /**
+     * Carga todas las cuotas del cronograma junto con los datos de su préstamo.
+     * 
+     * @return fotografía completa de la cartera
+     * @throws SQLException si la consulta falla
+     */
+    CarteraSnapshot loadSnapshot() throws SQLException;
+    
+    /**
+     * Carga las cuotas cuyo cronograma o préstamo cambió desde la marca de agua.
+     * 
+     * @param marcaAgua fecha de actualización más reciente ya cargada
+     * @return fotografía con solo las filas modificadas
+     * @throws SQLException si la consulta falla
+     */
+    CarteraSnapshot loadChangesSince(LocalDateTime marcaAgua) throws SQLException;
+    
+    /**
+     * Cuenta las cuotas del cronograma. Las cuotas eliminadas no aparecen en
+     * loadChangesSince; comparar este conteo con la fotografía las detecta.
+     * 
+     * @return número de cuotas en la base de datos
+     * @throws SQLException si la consulta falla
+     */
+    int countCuotas() throws SQLException;
+}
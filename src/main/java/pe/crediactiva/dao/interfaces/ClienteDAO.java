@@ -61,7 +61,8 @@ public interface ClienteDAO {
     List<Cliente> findByTipo(String tipoCliente);
     
     /**
-     * Guarda un nuevo cliente.
+     * Guarda un nuevo cliente. Si no tiene código, se asigna el siguiente con una
+     * lectura bloqueante dentro de la misma transacción del INSERT.
      * 
      * @param cliente cliente a guardar
      * @return cliente guardado con ID asignado
@@ -131,7 +132,8 @@ public interface ClienteDAO {
     long countActive();
     
     /**
-     * Genera el siguiente código de cliente disponible.
+     * Genera el siguiente código de cliente disponible, solo para mostrarlo:
+     * no lo reserva (ver {@link #save(Cliente)}).
      * 
      * @return código de cliente único
      */
@@ -0,0 +1,75 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.model.ComisionMensual;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz DAO para el libro de comisiones mensuales.
+ * Define las operaciones de acceso a datos para comisiones de asesores.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface ComisionDAO {
+    
+    /**
+     * Busca el acumulado de un asesor en un periodo.
+     * 
+     * @param asesorId ID del asesor
+     * @param periodo año y mes
+     * @return Optional con el acumulado si existe
+     */
+    Optional<ComisionMensual> findByAsesorAndPeriodo(Integer asesorId, YearMonth periodo);
+    
+    /**
+     * Obtiene el historial de comisiones de un asesor, del más reciente al más antiguo.
+     * 
+     * @param asesorId ID del asesor
+     * @return lista de acumulados mensuales
+     */
+    List<ComisionMensual> findByAsesor(Integer asesorId);
+    
+    /**
+     * Obtiene los acumulados de todos los asesores en un periodo.
+     * 
+     * @param periodo año y mes
+     * @return lista de acumulados del periodo
+     */
+    List<ComisionMensual> findByPeriodo(YearMonth periodo);
+    
+    /**
+     * Recalcula desde cero los acumulados de un periodo a partir de la tabla pagos,
+     * usando la tasa y meta actuales de cada asesor. No modifica el libro.
+     * 
+     * @param periodo año y mes
+     * @return acumulados recalculados
+     */
+    List<ComisionMensual> recalculateFromPayments(YearMonth periodo);
+    
+    /**
+     * Obtiene los periodos que tienen pagos registrados.
+     * 
+     * @return lista de periodos en orden ascendente
+     */
+    List<YearMonth> findPaymentPeriods();
+    
+    /**
+     * Reemplaza el acumulado de un periodo abierto (lo crea si no existe).
+     * Los periodos cerrados no se modifican.
+     * 
+     * @param comision acumulado a guardar
+     * @return true si se guardó
+     */
+    boolean replaceOpenPeriod(ComisionMensual comision);
+    
+    /**
+     * Cierra un periodo para todos los asesores.
+     * 
+     * @param periodo año y mes
+     * @return número de registros cerrados
+     */
+    int closePeriod(YearMonth periodo);
+}
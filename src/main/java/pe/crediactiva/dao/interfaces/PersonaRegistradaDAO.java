@@ -0,0 +1,27 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.busqueda.PersonaRegistrada;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Interfaz DAO para la lectura de los datos de identificación de usuarios y
+ * clientes de solicitudes, usada por el escaneo de duplicados.
+ * Los errores se propagan: una lista vacía no se puede distinguir de una base
+ * sin registros.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface PersonaRegistradaDAO {
+    
+    /**
+     * Lee nombres, documento y teléfono de todos los usuarios y de todas las
+     * solicitudes, en ese orden.
+     * 
+     * @return personas registradas en ambas tablas
+     * @throws SQLException si la consulta falla
+     */
+    List<PersonaRegistrada> findAll() throws SQLException;
+}
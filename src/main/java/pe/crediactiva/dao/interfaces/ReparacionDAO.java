@@ -0,0 +1,51 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.model.Cliente;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz DAO para la reparación masiva de registros especiales
+ * (asesores y clientes) de usuarios con roles asignados.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface ReparacionDAO {
+    
+    /**
+     * Busca en una sola consulta los usuarios activos con rol ASESOR o CLIENTE
+     * que no tienen su registro en asesores o clientes.
+     * 
+     * @return usuarios (con id y username) agrupados por el rol al que les falta el registro
+     */
+    Map<TipoRol, List<Usuario>> findUsersMissingRecords();
+    
+    /**
+     * Crea los registros de asesor de los usuarios indicados en un solo lote,
+     * con códigos consecutivos reservados al inicio de la transacción.
+     * 
+     * @param usuarioIds IDs de los usuarios
+     * @param comisionPorcentaje comisión por defecto
+     * @param metaMensual meta mensual por defecto
+     * @return número de registros creados
+     */
+    int insertAsesores(List<Integer> usuarioIds, BigDecimal comisionPorcentaje, BigDecimal metaMensual);
+    
+    /**
+     * Crea los registros de cliente de los usuarios indicados en un solo lote,
+     * con códigos consecutivos reservados al inicio de la transacción.
+     * 
+     * @param usuarioIds IDs de los usuarios
+     * @param tipoCliente tipo de cliente por defecto
+     * @param limiteCredito límite de crédito por defecto
+     * @param scoreCrediticio score crediticio por defecto
+     * @return número de registros creados
+     */
+    int insertClientes(List<Integer> usuarioIds, Cliente.TipoCliente tipoCliente, 
+                       BigDecimal limiteCredito, int scoreCrediticio);
+}
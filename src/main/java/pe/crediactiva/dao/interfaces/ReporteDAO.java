@@ -0,0 +1,52 @@
+package pe.crediactiva.dao.interfaces;
+
+import pe.crediactiva.report.TipoReporte;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Interfaz DAO para la lectura secuencial de reportes.
+ * Las filas se entregan una a una desde un cursor de solo avance, sin
+ * construir listas en memoria.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface ReporteDAO {
+    
+    /**
+     * Receptor de filas de un reporte.
+     */
+    @FunctionalInterface
+    interface ReceptorFilas {
+        
+        /**
+         * Procesa una fila. El arreglo se reutiliza entre llamadas.
+         * 
+         * @param valores valores de la fila en el orden de las columnas del reporte
+         * @return true para continuar, false para detener la lectura
+         * @throws IOException si falla el procesamiento (por ejemplo, la escritura del archivo)
+         */
+        boolean procesar(Object[] valores) throws IOException;
+    }
+    
+    /**
+     * Cuenta las filas del reporte (para mostrar el progreso).
+     * 
+     * @param tipo tipo de reporte
+     * @return número de filas o -1 si no se pudo contar
+     */
+    long count(TipoReporte tipo);
+    
+    /**
+     * Recorre las filas del reporte entregándolas al receptor.
+     * 
+     * @param tipo tipo de reporte
+     * @param receptor receptor de filas
+     * @return número de filas entregadas
+     * @throws SQLException si falla la consulta
+     * @throws IOException si el receptor falla
+     */
+    long streamRows(TipoReporte tipo, ReceptorFilas receptor) throws SQLException, IOException;
+}
@@ -1,9 +1,14 @@
 package pe.crediactiva.dao.interfaces;
 
+import pe.crediactiva.model.AsignacionMasiva;
+import pe.crediactiva.model.CambiosRoles;
 import pe.crediactiva.model.Rol;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Interfaz DAO para la entidad Rol.
@@ -124,6 +129,31 @@ public interface RolDAO {
      */
     boolean removerRolDeUsuario(Integer usuarioId, Integer rolId);
     
+    /**
+     * Deja al usuario con exactamente los roles indicados en una sola
+     * transacción: asigna y quita roles por lotes y crea, reactiva o desactiva
+     * sus registros de asesor y cliente.
+     * 
+     * @param usuarioId ID del usuario
+     * @param rolIds IDs de los roles que debe tener
+     * @return roles asignados y removidos, o null si la transacción falló
+     * @throws IllegalArgumentException si algún rol no existe o está inactivo
+     */
+    CambiosRoles aplicarCambiosRoles(Integer usuarioId, Set<Integer> rolIds);
+    
+    /**
+     * Asigna un rol a varios usuarios con lotes de inserciones, junto con sus
+     * registros de asesor o cliente. Los usuarios se procesan en bloques, cada
+     * uno en su propia transacción: si un bloque falla se revierte solo ese
+     * bloque y no se procesan los siguientes.
+     * 
+     * @param usuarioIds IDs de los usuarios
+     * @param rolId ID del rol
+     * @return usuarios que recibieron el rol y usuarios de los bloques sin confirmar
+     * @throws IllegalArgumentException si el rol no existe o está inactivo
+     */
+    AsignacionMasiva asignarRolAUsuarios(Collection<Integer> usuarioIds, Integer rolId);
+    
     /**
      * Obtiene todos los roles de un usuario.
      * 
@@ -131,4 +161,12 @@ public interface RolDAO {
      * @return lista de roles del usuario
      */
     List<Rol> findRolesByUsuarioId(Integer usuarioId);
+    
+    /**
+     * Obtiene los permisos asignados a cada rol en la tabla roles_permisos.
+     * 
+     * @return códigos de permiso por nombre de rol (un mapa vacío si la tabla no existe
+     *         o no tiene filas); Optional vacío si la lectura falla
+     */
+    Optional<Map<String, List<String>>> findPermisosPorRol();
 }
@@ -1,9 +1,14 @@
 package pe.crediactiva.dao.interfaces;
 
+import pe.crediactiva.model.MarcaAgua;
 import pe.crediactiva.model.Usuario;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Interfaz DAO para la entidad Usuario.
@@ -53,6 +58,24 @@ public interface UsuarioDAO {
      */
     List<Usuario> findAll();
     
+    /**
+     * Obtiene la hora del servidor y el total de usuarios, punto de partida
+     * de {@link #findChangedSince(LocalDateTime)}.
+     * 
+     * @return marca de agua, o null si no se pudo consultar
+     */
+    MarcaAgua findMarcaAgua();
+    
+    /**
+     * Obtiene los usuarios creados o modificados desde una fecha, incluidos los
+     * cambios en sus roles, con sus roles cargados.
+     * 
+     * @param desde fecha de actualización mínima (hora del servidor)
+     * @return usuarios cambiados, o null si la base de datos no tiene las
+     *         marcas de actualización (scripts/11_marcas_actualizacion.sql)
+     */
+    List<Usuario> findChangedSince(LocalDateTime desde);
+    
     /**
      * Obtiene todos los usuarios activos.
      * 
@@ -69,10 +92,12 @@ public interface UsuarioDAO {
     List<Usuario> findByRole(String rolNombre);
     
     /**
-     * Busca usuarios por nombre o apellido (búsqueda parcial).
+     * Busca usuarios activos por nombre o apellido. Con el índice FULLTEXT de
+     * scripts/09_busqueda_nombres.sql exige todas las palabras del término, en
+     * cualquier orden y sin importar tildes; sin él, busca el término completo.
      * 
      * @param termino término de búsqueda
-     * @return lista de usuarios que coinciden
+     * @return lista de usuarios que coinciden, los más relevantes primero
      */
     List<Usuario> searchByName(String termino);
     
@@ -116,6 +141,17 @@ public interface UsuarioDAO {
      */
     boolean activate(Integer id);
     
+    /**
+     * Activa o desactiva varios usuarios con {@code UPDATE ... WHERE id IN (...)}.
+     * Los IDs se procesan en bloques, cada uno en su propia transacción: si un
+     * bloque falla se revierte solo ese bloque y no se procesan los siguientes.
+     * 
+     * @param ids IDs de los usuarios
+     * @param activo estado a asignar
+     * @return IDs de los usuarios cuyo estado cambió y quedó confirmado
+     */
+    Set<Integer> updateActiveStatus(Collection<Integer> ids, boolean activo);
+    
     /**
      * Verifica si existe un usuario con el username especificado.
      * 
@@ -161,6 +197,15 @@ public interface UsuarioDAO {
      * @return true si se actualizó correctamente
      */
     boolean updateLastLogin(Integer id);
+    
+    /**
+     * Actualiza la fecha de último login de varios usuarios en un solo lote
+     * confirmado. No retrocede una fecha ya registrada más reciente.
+     * 
+     * @param accesos fecha del último login por ID de usuario
+     * @return true si el lote se guardó
+     */
+    boolean updateLastLogin(Map<Integer, LocalDateTime> accesos);
 }
 
 
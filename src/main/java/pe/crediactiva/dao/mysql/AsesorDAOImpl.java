@@ -5,10 +5,10 @@ import org.slf4j.LoggerFactory;
 import pe.crediactiva.config.DatabaseConfig;
 import pe.crediactiva.dao.interfaces.AsesorDAO;
 import pe.crediactiva.model.Asesor;
-import pe.crediactiva.util.DateUtils;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -59,6 +59,11 @@ public class AsesorDAOImpl implements AsesorDAO {
     
     private static final String SELECT_MAX_CODIGO = "SELECT MAX(CAST(SUBSTRING(codigo_asesor, 4) AS UNSIGNED)) FROM asesores WHERE codigo_asesor REGEXP '^ASE[0-9]+$'";
     
+    // Columnas de asesor que lee leerAsesor, en su orden
+    private static final MapeoFilas<Asesor> MAPEO_ASESOR = new MapeoFilas<>(AsesorDAOImpl::leerAsesor,
+        "id", "usuario_id", "codigo_asesor", "comision_porcentaje", "meta_mensual", "activo",
+        "fecha_creacion", "fecha_actualizacion");
+    
     @Override
     public Optional<Asesor> findById(Integer id) {
         if (id == null) return Optional.empty();
@@ -70,7 +75,7 @@ public class AsesorDAOImpl implements AsesorDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToAsesor(rs));
+                    return Optional.of(MAPEO_ASESOR.leer(rs));
                 }
             }
             
@@ -92,7 +97,7 @@ public class AsesorDAOImpl implements AsesorDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToAsesor(rs));
+                    return Optional.of(MAPEO_ASESOR.leer(rs));
                 }
             }
             
@@ -114,7 +119,7 @@ public class AsesorDAOImpl implements AsesorDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToAsesor(rs));
+                    return Optional.of(MAPEO_ASESOR.leer(rs));
                 }
             }
             
@@ -133,8 +138,9 @@ public class AsesorDAOImpl implements AsesorDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Asesor> filas = MAPEO_ASESOR.sobre(rs);
             while (rs.next()) {
-                asesores.add(mapResultSetToAsesor(rs));
+                asesores.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -152,8 +158,9 @@ public class AsesorDAOImpl implements AsesorDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_ACTIVE);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Asesor> filas = MAPEO_ASESOR.sobre(rs);
             while (rs.next()) {
-                asesores.add(mapResultSetToAsesor(rs));
+                asesores.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -167,27 +174,42 @@ public class AsesorDAOImpl implements AsesorDAO {
     public Asesor save(Asesor asesor) {
         if (asesor == null) return null;
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_ASESOR, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, asesor.getUsuarioId());
-            stmt.setString(2, asesor.getCodigoAsesor());
-            stmt.setBigDecimal(3, asesor.getComisionPorcentaje());
-            stmt.setBigDecimal(4, asesor.getMetaMensual());
-            stmt.setBoolean(5, asesor.isActivo());
-            
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Error al crear asesor, no se insertaron filas");
-            }
-            
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    asesor.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Error al crear asesor, no se obtuvo el ID");
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try {
+                // El código se reserva con bloqueo dentro de la misma transacción del INSERT
+                if (asesor.getCodigoAsesor() == null) {
+                    int numero = ReparacionDAOImpl.reservarSiguienteNumero(conn, ReparacionDAOImpl.SELECT_MAX_CODIGO_ASESOR);
+                    asesor.setCodigoAsesor(ReparacionDAOImpl.codigo("ASE", numero));
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_ASESOR, Statement.RETURN_GENERATED_KEYS)) {
+                    
+                    stmt.setInt(1, asesor.getUsuarioId());
+                    stmt.setString(2, asesor.getCodigoAsesor());
+                    stmt.setBigDecimal(3, asesor.getComisionPorcentaje());
+                    stmt.setBigDecimal(4, asesor.getMetaMensual());
+                    stmt.setBoolean(5, asesor.isActivo());
+                    
+                    int affectedRows = stmt.executeUpdate();
+                    
+                    if (affectedRows == 0) {
+                        throw new SQLException("Error al crear asesor, no se insertaron filas");
+                    }
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            asesor.setId(generatedKeys.getInt(1));
+                        } else {
+                            throw new SQLException("Error al crear asesor, no se obtuvo el ID");
+                        }
+                    }
                 }
+                
+                conn.commit();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
             
             logger.info("Asesor creado exitosamente: {}", asesor.getCodigoAsesor());
@@ -381,19 +403,19 @@ public class AsesorDAOImpl implements AsesorDAO {
     }
     
     /**
-     * Mapea un ResultSet a un objeto Asesor.
+     * Lee un Asesor de la fila actual (ver MAPEO_ASESOR).
      */
-    private Asesor mapResultSetToAsesor(ResultSet rs) throws SQLException {
+    private static Asesor leerAsesor(ResultSet rs, int[] c) throws SQLException {
         Asesor asesor = new Asesor();
         
-        asesor.setId(rs.getInt("id"));
-        asesor.setUsuarioId(rs.getInt("usuario_id"));
-        asesor.setCodigoAsesor(rs.getString("codigo_asesor"));
-        asesor.setComisionPorcentaje(rs.getBigDecimal("comision_porcentaje"));
-        asesor.setMetaMensual(rs.getBigDecimal("meta_mensual"));
-        asesor.setActivo(rs.getBoolean("activo"));
-        asesor.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
-        asesor.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
+        asesor.setId(rs.getInt(c[0]));
+        asesor.setUsuarioId(rs.getInt(c[1]));
+        asesor.setCodigoAsesor(rs.getString(c[2]));
+        asesor.setComisionPorcentaje(rs.getBigDecimal(c[3]));
+        asesor.setMetaMensual(rs.getBigDecimal(c[4]));
+        asesor.setActivo(rs.getBoolean(c[5]));
+        asesor.setFechaCreacion(rs.getObject(c[6], LocalDateTime.class));
+        asesor.setFechaActualizacion(rs.getObject(c[7], LocalDateTime.class));
         
         return asesor;
     }
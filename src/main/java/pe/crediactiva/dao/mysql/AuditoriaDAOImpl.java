@@ -0,0 +1,72 @@
+package pe.crediactiva.dao.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.AuditoriaDAO;
+import pe.crediactiva.security.EventoAuditoria;
+import pe.crediactiva.util.DateUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementación MySQL del DAO de auditoría.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class AuditoriaDAOImpl implements AuditoriaDAO {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuditoriaDAOImpl.class);
+    
+    // La fecha se envía explícitamente para conservar la del evento aunque se escriba tarde
+    private static final String INSERT_AUDITORIA = """
+        INSERT INTO auditoria (tabla_afectada, registro_id, accion, datos_anteriores, datos_nuevos,
+                               usuario_id, ip_address, fecha_accion)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    @Override
+    public boolean insertBatch(List<EventoAuditoria> eventos) {
+        if (eventos == null || eventos.isEmpty()) return true;
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_AUDITORIA)) {
+                for (EventoAuditoria evento : eventos) {
+                    stmt.setString(1, evento.getTablaAfectada());
+                    stmt.setInt(2, evento.getRegistroId());
+                    stmt.setString(3, evento.getAccion().name());
+                    setJson(stmt, 4, evento.getDatosAnteriores());
+                    setJson(stmt, 5, evento.getDatosNuevos());
+                    stmt.setInt(6, evento.getUsuarioId());
+                    stmt.setString(7, evento.getIpAddress());
+                    stmt.setTimestamp(8, DateUtils.toSqlTimestamp(evento.getFechaAccion()));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al insertar lote de auditoría ({} eventos)", eventos.size(), e);
+            return false;
+        }
+    }
+    
+    private void setJson(PreparedStatement stmt, int indice, String json) throws SQLException {
+        if (json != null) {
+            stmt.setString(indice, json);
+        } else {
+            stmt.setNull(indice, Types.VARCHAR);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pe.crediactiva.dao.mysql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilidades para las operaciones masivas que filtran con {@code id IN (...)}.
+ * Las listas de IDs se parten en bloques de tamaño acotado para que cada
+ * sentencia tenga un número razonable de parámetros y cada transacción
+ * bloquee pocas filas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class BloquesIds {
+
+    /** IDs por sentencia y por transacción */
+    static final int TAMANO_BLOQUE = 500;
+
+    private BloquesIds() {
+    }
+
+    /**
+     * Parte los IDs en bloques, sin nulos ni repetidos y en el orden recibido.
+     *
+     * @param ids IDs a procesar
+     * @param tamano máximo de IDs por bloque
+     * @return bloques de IDs; vacío si no hay ninguno
+     */
+    static List<List<Integer>> partir(Collection<Integer> ids, int tamano) {
+        List<List<Integer>> bloques = new ArrayList<>();
+        if (ids == null) return bloques;
+
+        Set<Integer> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        List<Integer> bloque = new ArrayList<>(Math.min(tamano, unicos.size()));
+        for (Integer id : unicos) {
+            bloque.add(id);
+            if (bloque.size() == tamano) {
+                bloques.add(bloque);
+                bloque = new ArrayList<>(tamano);
+            }
+        }
+        if (!bloque.isEmpty()) {
+            bloques.add(bloque);
+        }
+        return bloques;
+    }
+
+    /**
+     * Genera la lista de marcadores de un {@code IN}, por ejemplo {@code (?, ?, ?)}.
+     *
+     * @param cantidad número de marcadores, al menos uno
+     * @return lista entre paréntesis
+     */
+    static String marcadores(int cantidad) {
+        StringBuilder sql = new StringBuilder(cantidad * 3 + 1).append('(');
+        for (int i = 0; i < cantidad; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Asigna los IDs a partir del parámetro indicado.
+     *
+     * @return índice del siguiente parámetro libre
+     */
+    static int asignar(PreparedStatement stmt, int desde, List<Integer> ids) throws SQLException {
+        int indice = desde;
+        for (Integer id : ids) {
+            stmt.setInt(indice++, id);
+        }
+        return indice;
+    }
+}
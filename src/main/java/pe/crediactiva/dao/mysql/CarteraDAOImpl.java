@@ -0,0 +1,154 @@
+package pe.crediactiva.dao.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.CarteraDAO;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+import pe.crediactiva.report.CarteraSnapshot;
+import pe.crediactiva.util.DateUtils;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Implementación MySQL del DAO de cartera.
+ * Lee las filas en modo streaming y las vuelca directamente en columnas primitivas,
+ * sin construir objetos del modelo por cada cuota.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CarteraDAOImpl implements CarteraDAO {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CarteraDAOImpl.class);
+    
+    // Consultas SQL
+    private static final String SELECT_BASE = """
+        SELECT cp.id, cp.prestamo_id, p.asesor_id, p.cliente_id, cp.numero_cuota,
+               cp.fecha_vencimiento, cp.fecha_pago, cp.monto_cuota, cp.capital, cp.interes,
+               cp.saldo_pendiente, cp.monto_pagado, cp.pagado, p.estado,
+               GREATEST(cp.fecha_actualizacion, p.fecha_actualizacion) AS ultima_actualizacion
+        FROM cronograma_pagos cp
+        INNER JOIN prestamos p ON cp.prestamo_id = p.id
+        """;
+    
+    private static final String SELECT_ALL = SELECT_BASE + "ORDER BY cp.id";
+    
+    // Se usa >= para no perder filas actualizadas en el mismo segundo de la marca de agua;
+    // las filas repetidas se reemplazan al aplicar el delta. Un UNION de dos rangos
+    // sobre los índices de fecha_actualizacion (scripts/12_marcas_cartera.sql) en
+    // lugar de un OR, que obliga a recorrer toda la cartera.
+    private static final String SELECT_CHANGES_SINCE = SELECT_BASE + """
+        INNER JOIN (
+            SELECT c.id FROM cronograma_pagos c WHERE c.fecha_actualizacion >= ?
+            UNION
+            SELECT cpc.id FROM prestamos pc
+            INNER JOIN cronograma_pagos cpc ON cpc.prestamo_id = pc.id
+            WHERE pc.fecha_actualizacion >= ?
+        ) cambios ON cambios.id = cp.id
+        ORDER BY cp.id
+        """;
+    
+    private static final String COUNT_CUOTAS = "SELECT COUNT(*) FROM cronograma_pagos";
+    
+    // Columnas que lee mapResultSetToSnapshot, en su orden
+    private static final String[] COLUMNAS_SNAPSHOT = {
+        "id", "prestamo_id", "asesor_id", "cliente_id", "numero_cuota", "fecha_vencimiento", "fecha_pago",
+        "monto_cuota", "capital", "interes", "saldo_pendiente", "monto_pagado", "pagado", "estado",
+        "ultima_actualizacion"
+    };
+    
+    // Los estados nulos se tratan como ACTIVO (valor por defecto de la tabla)
+    private static final DecodificadorEnum<EstadoPrestamo> ESTADOS = 
+        new DecodificadorEnum<>(EstadoPrestamo.class, EstadoPrestamo.ACTIVO);
+    
+    @Override
+    public CarteraSnapshot loadSnapshot() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL, 
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Connector/J solo hace streaming de filas con este fetch size
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return mapResultSetToSnapshot(rs);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al cargar snapshot de cartera", e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public CarteraSnapshot loadChangesSince(LocalDateTime marcaAgua) throws SQLException {
+        if (marcaAgua == null) return loadSnapshot();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CHANGES_SINCE, 
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, DateUtils.toSqlTimestamp(marcaAgua));
+            stmt.setTimestamp(2, DateUtils.toSqlTimestamp(marcaAgua));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return mapResultSetToSnapshot(rs);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al cargar cambios de cartera desde: {}", marcaAgua, e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public int countCuotas() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_CUOTAS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            return rs.next() ? rs.getInt(1) : 0;
+            
+        } catch (SQLException e) {
+            logger.error("Error al contar cuotas de cartera", e);
+            throw e;
+        }
+    }
+    
+    // Métodos privados de utilidad
+    
+    /**
+     * Vuelca el ResultSet en las columnas de un snapshot. Las posiciones de
+     * las columnas se resuelven una vez por consulta (ver COLUMNAS_SNAPSHOT).
+     */
+    private CarteraSnapshot mapResultSetToSnapshot(ResultSet rs) throws SQLException {
+        CarteraSnapshot.Builder builder = new CarteraSnapshot.Builder();
+        int[] c = MapeoFilas.indices(rs, COLUMNAS_SNAPSHOT);
+        
+        while (rs.next()) {
+            builder.agregar(
+                rs.getInt(c[0]),
+                rs.getInt(c[1]),
+                rs.getInt(c[2]),
+                rs.getInt(c[3]),
+                rs.getInt(c[4]),
+                CarteraSnapshot.aDiaEpoch(rs.getObject(c[5], LocalDate.class)),
+                CarteraSnapshot.aDiaEpoch(rs.getObject(c[6], LocalDate.class)),
+                CarteraSnapshot.aCentimos(rs.getBigDecimal(c[7])),
+                CarteraSnapshot.aCentimos(rs.getBigDecimal(c[8])),
+                CarteraSnapshot.aCentimos(rs.getBigDecimal(c[9])),
+                CarteraSnapshot.aCentimos(rs.getBigDecimal(c[10])),
+                CarteraSnapshot.aCentimos(rs.getBigDecimal(c[11])),
+                rs.getBoolean(c[12]),
+                ESTADOS.decodificar(rs.getString(c[13]))
+            );
+            builder.marcaAgua(rs.getObject(c[14], LocalDateTime.class));
+        }
+        
+        return builder.build();
+    }
+}
@@ -5,10 +5,10 @@ import org.slf4j.LoggerFactory;
 import pe.crediactiva.config.DatabaseConfig;
 import pe.crediactiva.dao.interfaces.ClienteDAO;
 import pe.crediactiva.model.Cliente;
-import pe.crediactiva.util.DateUtils;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -65,6 +65,16 @@ public class ClienteDAOImpl implements ClienteDAO {
     
     private static final String SELECT_MAX_CODIGO = "SELECT MAX(CAST(SUBSTRING(codigo_cliente, 4) AS UNSIGNED)) FROM clientes WHERE codigo_cliente REGEXP '^CLI[0-9]+$'";
     
+    // Columnas de cliente que lee leerCliente, en su orden
+    private static final MapeoFilas<Cliente> MAPEO_CLIENTE = new MapeoFilas<>(ClienteDAOImpl::leerCliente,
+        "id", "usuario_id", "codigo_cliente", "tipo_cliente", "limite_credito", "score_crediticio",
+        "ingresos_declarados", "ocupacion", "empresa", "referencias_personales", "activo",
+        "fecha_creacion", "fecha_actualizacion");
+    
+    // Los tipos desconocidos se tratan como NUEVO
+    private static final DecodificadorEnum<Cliente.TipoCliente> TIPOS_CLIENTE = 
+        new DecodificadorEnum<>(Cliente.TipoCliente.class, Cliente.TipoCliente.NUEVO);
+    
     @Override
     public Optional<Cliente> findById(Integer id) {
         if (id == null) return Optional.empty();
@@ -76,7 +86,7 @@ public class ClienteDAOImpl implements ClienteDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToCliente(rs));
+                    return Optional.of(MAPEO_CLIENTE.leer(rs));
                 }
             }
             
@@ -98,7 +108,7 @@ public class ClienteDAOImpl implements ClienteDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToCliente(rs));
+                    return Optional.of(MAPEO_CLIENTE.leer(rs));
                 }
             }
             
@@ -120,7 +130,7 @@ public class ClienteDAOImpl implements ClienteDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToCliente(rs));
+                    return Optional.of(MAPEO_CLIENTE.leer(rs));
                 }
             }
             
@@ -139,8 +149,9 @@ public class ClienteDAOImpl implements ClienteDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Cliente> filas = MAPEO_CLIENTE.sobre(rs);
             while (rs.next()) {
-                clientes.add(mapResultSetToCliente(rs));
+                clientes.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -158,8 +169,9 @@ public class ClienteDAOImpl implements ClienteDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_ACTIVE);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Cliente> filas = MAPEO_CLIENTE.sobre(rs);
             while (rs.next()) {
-                clientes.add(mapResultSetToCliente(rs));
+                clientes.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -183,8 +195,9 @@ public class ClienteDAOImpl implements ClienteDAO {
             stmt.setString(1, tipoCliente.trim());
             
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<Cliente> filas = MAPEO_CLIENTE.sobre(rs);
                 while (rs.next()) {
-                    clientes.add(mapResultSetToCliente(rs));
+                    clientes.add(filas.leer());
                 }
             }
             
@@ -199,32 +212,47 @@ public class ClienteDAOImpl implements ClienteDAO {
     public Cliente save(Cliente cliente) {
         if (cliente == null) return null;
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_CLIENTE, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, cliente.getUsuarioId());
-            stmt.setString(2, cliente.getCodigoCliente());
-            stmt.setString(3, cliente.getTipoCliente().name());
-            stmt.setBigDecimal(4, cliente.getLimiteCredito());
-            stmt.setInt(5, cliente.getScoreCrediticio());
-            stmt.setBigDecimal(6, cliente.getIngresosDeclarados());
-            stmt.setString(7, cliente.getOcupacion());
-            stmt.setString(8, cliente.getEmpresa());
-            stmt.setString(9, cliente.getReferenciasPersonales());
-            stmt.setBoolean(10, cliente.isActivo());
-            
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new SQLException("Error al crear cliente, no se insertaron filas");
-            }
-            
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    cliente.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Error al crear cliente, no se obtuvo el ID");
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try {
+                // El código se reserva con bloqueo dentro de la misma transacción del INSERT
+                if (cliente.getCodigoCliente() == null) {
+                    int numero = ReparacionDAOImpl.reservarSiguienteNumero(conn, ReparacionDAOImpl.SELECT_MAX_CODIGO_CLIENTE);
+                    cliente.setCodigoCliente(ReparacionDAOImpl.codigo("CLI", numero));
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_CLIENTE, Statement.RETURN_GENERATED_KEYS)) {
+                    
+                    stmt.setInt(1, cliente.getUsuarioId());
+                    stmt.setString(2, cliente.getCodigoCliente());
+                    stmt.setString(3, cliente.getTipoCliente().name());
+                    stmt.setBigDecimal(4, cliente.getLimiteCredito());
+                    stmt.setInt(5, cliente.getScoreCrediticio());
+                    stmt.setBigDecimal(6, cliente.getIngresosDeclarados());
+                    stmt.setString(7, cliente.getOcupacion());
+                    stmt.setString(8, cliente.getEmpresa());
+                    stmt.setString(9, cliente.getReferenciasPersonales());
+                    stmt.setBoolean(10, cliente.isActivo());
+                    
+                    int affectedRows = stmt.executeUpdate();
+                    
+                    if (affectedRows == 0) {
+                        throw new SQLException("Error al crear cliente, no se insertaron filas");
+                    }
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            cliente.setId(generatedKeys.getInt(1));
+                        } else {
+                            throw new SQLException("Error al crear cliente, no se obtuvo el ID");
+                        }
+                    }
                 }
+                
+                conn.commit();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
             
             logger.info("Cliente creado exitosamente: {}", cliente.getCodigoCliente());
@@ -423,34 +451,24 @@ public class ClienteDAOImpl implements ClienteDAO {
     }
     
     /**
-     * Mapea un ResultSet a un objeto Cliente.
+     * Lee un Cliente de la fila actual (ver MAPEO_CLIENTE).
      */
-    private Cliente mapResultSetToCliente(ResultSet rs) throws SQLException {
+    private static Cliente leerCliente(ResultSet rs, int[] c) throws SQLException {
         Cliente cliente = new Cliente();
         
-        cliente.setId(rs.getInt("id"));
-        cliente.setUsuarioId(rs.getInt("usuario_id"));
-        cliente.setCodigoCliente(rs.getString("codigo_cliente"));
-        
-        // Mapear tipo de cliente
-        String tipoStr = rs.getString("tipo_cliente");
-        if (tipoStr != null) {
-            try {
-                cliente.setTipoCliente(Cliente.TipoCliente.valueOf(tipoStr));
-            } catch (IllegalArgumentException e) {
-                cliente.setTipoCliente(Cliente.TipoCliente.NUEVO);
-            }
-        }
-        
-        cliente.setLimiteCredito(rs.getBigDecimal("limite_credito"));
-        cliente.setScoreCrediticio(rs.getInt("score_crediticio"));
-        cliente.setIngresosDeclarados(rs.getBigDecimal("ingresos_declarados"));
-        cliente.setOcupacion(rs.getString("ocupacion"));
-        cliente.setEmpresa(rs.getString("empresa"));
-        cliente.setReferenciasPersonales(rs.getString("referencias_personales"));
-        cliente.setActivo(rs.getBoolean("activo"));
-        cliente.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
-        cliente.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
+        cliente.setId(rs.getInt(c[0]));
+        cliente.setUsuarioId(rs.getInt(c[1]));
+        cliente.setCodigoCliente(rs.getString(c[2]));
+        cliente.setTipoCliente(TIPOS_CLIENTE.decodificar(rs.getString(c[3])));
+        cliente.setLimiteCredito(rs.getBigDecimal(c[4]));
+        cliente.setScoreCrediticio(rs.getInt(c[5]));
+        cliente.setIngresosDeclarados(rs.getBigDecimal(c[6]));
+        cliente.setOcupacion(rs.getString(c[7]));
+        cliente.setEmpresa(rs.getString(c[8]));
+        cliente.setReferenciasPersonales(rs.getString(c[9]));
+        cliente.setActivo(rs.getBoolean(c[10]));
+        cliente.setFechaCreacion(rs.getObject(c[11], LocalDateTime.class));
+        cliente.setFechaActualizacion(rs.getObject(c[12], LocalDateTime.class));
         
         return cliente;
     }
@@ -0,0 +1,282 @@
+package pe.crediactiva.dao.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.ComisionDAO;
+import pe.crediactiva.model.ComisionMensual;
+import pe.crediactiva.util.DateUtils;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación MySQL del DAO para el libro de comisiones mensuales.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ComisionDAOImpl implements ComisionDAO {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComisionDAOImpl.class);
+    
+    // Consultas SQL
+    private static final String SELECT_BASE = """
+        SELECT cm.id, cm.asesor_id, cm.anio, cm.mes, cm.total_cobrado, cm.cantidad_pagos,
+               cm.comision_porcentaje, cm.comision_generada, cm.meta_mensual, cm.cerrado,
+               cm.fecha_cierre, cm.fecha_creacion, cm.fecha_actualizacion
+        FROM comisiones_mensuales cm
+        """;
+    
+    private static final String SELECT_BY_ASESOR_PERIODO = SELECT_BASE + 
+        "WHERE cm.asesor_id = ? AND cm.anio = ? AND cm.mes = ?";
+    private static final String SELECT_BY_ASESOR = SELECT_BASE + 
+        "WHERE cm.asesor_id = ? ORDER BY cm.anio DESC, cm.mes DESC";
+    private static final String SELECT_BY_PERIODO = SELECT_BASE + 
+        "WHERE cm.anio = ? AND cm.mes = ? ORDER BY cm.asesor_id";
+    
+    // Usa el rango de fechas (y no YEAR()/MONTH()) para aprovechar idx_pagos_fecha
+    private static final String RECALCULATE_FROM_PAYMENTS = """
+        SELECT NULL AS id, a.id AS asesor_id, ? AS anio, ? AS mes,
+               SUM(pg.monto_pago) AS total_cobrado, COUNT(pg.id) AS cantidad_pagos,
+               a.comision_porcentaje, ROUND(SUM(pg.monto_pago) * a.comision_porcentaje, 2) AS comision_generada,
+               a.meta_mensual, FALSE AS cerrado,
+               NULL AS fecha_cierre, NULL AS fecha_creacion, NULL AS fecha_actualizacion
+        FROM pagos pg
+        JOIN prestamos p ON pg.prestamo_id = p.id
+        JOIN asesores a ON p.asesor_id = a.id
+        WHERE pg.fecha_pago >= ? AND pg.fecha_pago < ?
+        GROUP BY a.id, a.comision_porcentaje, a.meta_mensual
+        ORDER BY a.id
+        """;
+    
+    private static final String SELECT_PAYMENT_PERIODS = """
+        SELECT DISTINCT YEAR(fecha_pago) AS anio, MONTH(fecha_pago) AS mes
+        FROM pagos
+        ORDER BY anio, mes
+        """;
+    
+    private static final String UPSERT_OPEN_PERIOD = """
+        INSERT INTO comisiones_mensuales (
+            asesor_id, anio, mes, total_cobrado, cantidad_pagos,
+            comision_porcentaje, comision_generada, meta_mensual
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            total_cobrado = VALUES(total_cobrado),
+            cantidad_pagos = VALUES(cantidad_pagos),
+            comision_generada = ROUND(total_cobrado * comision_porcentaje, 2)
+        """;
+    
+    private static final String EXISTS_CLOSED = """
+        SELECT COUNT(*) FROM comisiones_mensuales
+        WHERE asesor_id = ? AND anio = ? AND mes = ? AND cerrado = TRUE
+        """;
+    
+    private static final String CLOSE_PERIOD = """
+        UPDATE comisiones_mensuales
+        SET cerrado = TRUE, fecha_cierre = CURRENT_TIMESTAMP
+        WHERE anio = ? AND mes = ? AND cerrado = FALSE
+        """;
+    
+    // Columnas de comisión que lee leerComision, en su orden
+    private static final MapeoFilas<ComisionMensual> MAPEO_COMISION = new MapeoFilas<>(ComisionDAOImpl::leerComision,
+        "id", "asesor_id", "anio", "mes", "total_cobrado", "cantidad_pagos", "comision_porcentaje",
+        "comision_generada", "meta_mensual", "cerrado", "fecha_cierre", "fecha_creacion", "fecha_actualizacion");
+    
+    @Override
+    public Optional<ComisionMensual> findByAsesorAndPeriodo(Integer asesorId, YearMonth periodo) {
+        if (asesorId == null || periodo == null) return Optional.empty();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ASESOR_PERIODO)) {
+            
+            stmt.setInt(1, asesorId);
+            stmt.setInt(2, periodo.getYear());
+            stmt.setInt(3, periodo.getMonthValue());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(MAPEO_COMISION.leer(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al buscar comisión del asesor {} en {}", asesorId, periodo, e);
+        }
+        
+        return Optional.empty();
+    }
+    
+    @Override
+    public List<ComisionMensual> findByAsesor(Integer asesorId) {
+        List<ComisionMensual> comisiones = new ArrayList<>();
+        if (asesorId == null) return comisiones;
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ASESOR)) {
+            
+            stmt.setInt(1, asesorId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<ComisionMensual> filas = MAPEO_COMISION.sobre(rs);
+                while (rs.next()) {
+                    comisiones.add(filas.leer());
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al obtener historial de comisiones del asesor: {}", asesorId, e);
+        }
+        
+        return comisiones;
+    }
+    
+    @Override
+    public List<ComisionMensual> findByPeriodo(YearMonth periodo) {
+        return findForPeriod(SELECT_BY_PERIODO, periodo, false);
+    }
+    
+    @Override
+    public List<ComisionMensual> recalculateFromPayments(YearMonth periodo) {
+        return findForPeriod(RECALCULATE_FROM_PAYMENTS, periodo, true);
+    }
+    
+    @Override
+    public List<YearMonth> findPaymentPeriods() {
+        List<YearMonth> periodos = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PAYMENT_PERIODS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                periodos.add(YearMonth.of(rs.getInt("anio"), rs.getInt("mes")));
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al obtener periodos con pagos", e);
+        }
+        
+        return periodos;
+    }
+    
+    @Override
+    public boolean replaceOpenPeriod(ComisionMensual comision) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            
+            try (PreparedStatement check = conn.prepareStatement(EXISTS_CLOSED)) {
+                check.setInt(1, comision.getAsesorId());
+                check.setInt(2, comision.getAnio());
+                check.setInt(3, comision.getMes());
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next() && rs.getLong(1) > 0) {
+                        logger.warn("No se modifica el periodo cerrado {} del asesor {}", 
+                                   comision.getPeriodo(), comision.getAsesorId());
+                        conn.rollback();
+                        return false;
+                    }
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_OPEN_PERIOD)) {
+                stmt.setInt(1, comision.getAsesorId());
+                stmt.setInt(2, comision.getAnio());
+                stmt.setInt(3, comision.getMes());
+                stmt.setBigDecimal(4, comision.getTotalCobrado());
+                stmt.setInt(5, comision.getCantidadPagos());
+                stmt.setBigDecimal(6, comision.getComisionPorcentaje());
+                stmt.setBigDecimal(7, comision.calcularComision());
+                stmt.setBigDecimal(8, comision.getMetaMensual());
+                
+                stmt.executeUpdate();
+                conn.commit();
+                return true;
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al reemplazar comisión del asesor {} en {}", 
+                        comision.getAsesorId(), comision.getPeriodo(), e);
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public int closePeriod(YearMonth periodo) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CLOSE_PERIOD)) {
+            
+            stmt.setInt(1, periodo.getYear());
+            stmt.setInt(2, periodo.getMonthValue());
+            
+            int cerrados = stmt.executeUpdate();
+            conn.commit();
+            return cerrados;
+            
+        } catch (SQLException e) {
+            logger.error("Error al cerrar periodo de comisiones: {}", periodo, e);
+            return 0;
+        }
+    }
+    
+    // Métodos privados de utilidad
+    
+    /**
+     * Ejecuta una consulta parametrizada por periodo.
+     */
+    private List<ComisionMensual> findForPeriod(String sql, YearMonth periodo, boolean conRangoFechas) {
+        List<ComisionMensual> comisiones = new ArrayList<>();
+        if (periodo == null) return comisiones;
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, periodo.getYear());
+            stmt.setInt(2, periodo.getMonthValue());
+            if (conRangoFechas) {
+                stmt.setDate(3, DateUtils.toSqlDate(periodo.atDay(1)));
+                stmt.setDate(4, DateUtils.toSqlDate(periodo.plusMonths(1).atDay(1)));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<ComisionMensual> filas = MAPEO_COMISION.sobre(rs);
+                while (rs.next()) {
+                    comisiones.add(filas.leer());
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al obtener comisiones del periodo: {}", periodo, e);
+        }
+        
+        return comisiones;
+    }
+    
+    /**
+     * Lee una ComisionMensual de la fila actual (ver MAPEO_COMISION).
+     */
+    private static ComisionMensual leerComision(ResultSet rs, int[] c) throws SQLException {
+        ComisionMensual comision = new ComisionMensual();
+        
+        int id = rs.getInt(c[0]);
+        comision.setId(rs.wasNull() ? null : id);
+        comision.setAsesorId(rs.getInt(c[1]));
+        comision.setAnio(rs.getInt(c[2]));
+        comision.setMes(rs.getInt(c[3]));
+        comision.setTotalCobrado(rs.getBigDecimal(c[4]));
+        comision.setCantidadPagos(rs.getInt(c[5]));
+        comision.setComisionPorcentaje(rs.getBigDecimal(c[6]));
+        comision.setComisionGenerada(rs.getBigDecimal(c[7]));
+        comision.setMetaMensual(rs.getBigDecimal(c[8]));
+        comision.setCerrado(rs.getBoolean(c[9]));
+        comision.setFechaCierre(rs.getObject(c[10], LocalDateTime.class));
+        comision.setFechaCreacion(rs.getObject(c[11], LocalDateTime.class));
+        comision.setFechaActualizacion(rs.getObject(c[12], LocalDateTime.class));
+        
+        return comision;
+    }
+}
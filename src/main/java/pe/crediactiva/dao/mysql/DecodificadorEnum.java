@@ -0,0 +1,43 @@
+package pe.crediactiva.dao.mysql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Convierte los valores de columnas ENUM/VARCHAR en constantes de un enum con
+ * una tabla calculada una sola vez. A diferencia de {@code valueOf}, un valor
+ * desconocido no lanza una excepción por fila: devuelve el valor por defecto.
+ *
+ * @param <E> tipo del enum
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class DecodificadorEnum<E extends Enum<E>> {
+
+    private final Map<String, E> porNombre;
+    private final E porDefecto;
+
+    /**
+     * @param tipo clase del enum; los valores se buscan por {@code name()}
+     * @param porDefecto valor para columnas null o con un nombre desconocido
+     */
+    DecodificadorEnum(Class<E> tipo, E porDefecto) {
+        E[] constantes = tipo.getEnumConstants();
+        this.porNombre = new HashMap<>(constantes.length * 2);
+        for (E constante : constantes) {
+            porNombre.put(constante.name(), constante);
+        }
+        this.porDefecto = porDefecto;
+    }
+
+    /**
+     * @param valor texto de la columna (puede ser null)
+     * @return constante con ese nombre, o el valor por defecto
+     */
+    E decodificar(String valor) {
+        if (valor == null) {
+            return porDefecto;
+        }
+        return porNombre.getOrDefault(valor, porDefecto);
+    }
+}
@@ -0,0 +1,120 @@
+package pe.crediactiva.dao.mysql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mapeo de filas de un ResultSet a objetos leyendo las columnas por índice.
+ *
+ * Cada mapeo declara las columnas que lee y en qué orden. Al empezar a
+ * recorrer una consulta se busca una sola vez la posición de cada columna en
+ * el ResultSet, y cada fila se lee con los getters por índice, sin buscar
+ * columnas por nombre. Cualquier consulta que traiga esas columnas puede usar
+ * el mapeo, en cualquier orden y con columnas adicionales.
+ *
+ * Los lectores leen las fechas con {@code getObject(i, LocalDateTime.class)},
+ * sin Timestamp intermedio, y los enums con un {@link DecodificadorEnum}.
+ *
+ * @param <T> tipo de objeto de cada fila
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class MapeoFilas<T> {
+
+    /**
+     * Lee una fila con las posiciones ya resueltas.
+     */
+    @FunctionalInterface
+    interface Lector<T> {
+
+        /**
+         * @param rs ResultSet posicionado en la fila
+         * @param c posición de cada columna, en el orden declarado en el mapeo
+         */
+        T leer(ResultSet rs, int[] c) throws SQLException;
+    }
+
+    private final Lector<T> lector;
+    private final String[] columnas;
+
+    /**
+     * @param lector lectura de una fila
+     * @param columnas etiquetas de las columnas que usa el lector, en su orden
+     */
+    MapeoFilas(Lector<T> lector, String... columnas) {
+        this.lector = lector;
+        this.columnas = columnas.clone();
+    }
+
+    /**
+     * Prepara la lectura de todas las filas de una consulta.
+     *
+     * @param rs ResultSet recién ejecutado
+     * @return lector de la fila actual
+     * @throws SQLException si la consulta no trae alguna de las columnas
+     */
+    Filas<T> sobre(ResultSet rs) throws SQLException {
+        return new Filas<>(rs, lector, indices(rs, columnas));
+    }
+
+    /**
+     * Lee la fila actual de una consulta de una sola fila.
+     */
+    T leer(ResultSet rs) throws SQLException {
+        return lector.leer(rs, indices(rs, columnas));
+    }
+
+    /**
+     * Busca la posición de cada columna en el ResultSet. Como findColumn, no
+     * distingue mayúsculas y, si una etiqueta se repite, toma la primera.
+     *
+     * @param rs ResultSet de la consulta
+     * @param columnas etiquetas a buscar
+     * @return posiciones (desde 1) en el mismo orden
+     * @throws SQLException si falta alguna columna
+     */
+    static int[] indices(ResultSet rs, String... columnas) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Map<String, Integer> posiciones = new HashMap<>();
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            posiciones.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+
+        int[] indices = new int[columnas.length];
+        for (int i = 0; i < columnas.length; i++) {
+            Integer posicion = posiciones.get(columnas[i].toLowerCase(Locale.ROOT));
+            if (posicion == null) {
+                throw new SQLException("Columna no encontrada en la consulta: " + columnas[i]);
+            }
+            indices[i] = posicion;
+        }
+        return indices;
+    }
+
+    /**
+     * Lector de las filas de una consulta con las columnas ya resueltas.
+     */
+    static final class Filas<T> {
+
+        private final ResultSet rs;
+        private final Lector<T> lector;
+        private final int[] indices;
+
+        private Filas(ResultSet rs, Lector<T> lector, int[] indices) {
+            this.rs = rs;
+            this.lector = lector;
+            this.indices = indices;
+        }
+
+        /**
+         * Lee la fila en la que está posicionado el ResultSet.
+         */
+        T leer() throws SQLException {
+            return lector.leer(rs, indices);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package pe.crediactiva.dao.mysql;
+
+import pe.crediactiva.busqueda.PersonaRegistrada;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.PersonaRegistradaDAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación MySQL del DAO de personas registradas.
+ * Lee solo los campos de identificación, en bloques grandes, sin cargar roles
+ * ni construir objetos del modelo.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class PersonaRegistradaDAOImpl implements PersonaRegistradaDAO {
+    
+    // Consultas SQL
+    private static final String SELECT_USUARIOS = """
+        SELECT id, nombres, apellidos, documento_identidad, telefono
+        FROM usuarios
+        """;
+    
+    private static final String SELECT_SOLICITUDES = """
+        SELECT id, cliente_id, nombres_cliente, apellidos_cliente, documento_cliente, telefono_cliente
+        FROM solicitudes
+        """;
+    
+    private static final int FILAS_POR_LECTURA = 10_000;
+    
+    @Override
+    public List<PersonaRegistrada> findAll() throws SQLException {
+        List<PersonaRegistrada> personas = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_USUARIOS)) {
+                stmt.setFetchSize(FILAS_POR_LECTURA);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int id = rs.getInt("id");
+                        personas.add(new PersonaRegistrada(PersonaRegistrada.Origen.USUARIO, id, id,
+                                                           rs.getString("nombres"), rs.getString("apellidos"),
+                                                           rs.getString("documento_identidad"), rs.getString("telefono")));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_SOLICITUDES)) {
+                stmt.setFetchSize(FILAS_POR_LECTURA);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int clienteId = rs.getInt("cliente_id");
+                        personas.add(new PersonaRegistrada(PersonaRegistrada.Origen.SOLICITUD, rs.getInt("id"),
+                                                           rs.wasNull() ? null : clienteId,
+                                                           rs.getString("nombres_cliente"), rs.getString("apellidos_cliente"),
+                                                           rs.getString("documento_cliente"), rs.getString("telefono_cliente")));
+                    }
+                }
+            }
+        }
+        
+        return personas;
+    }
+}
@@ -0,0 +1,188 @@
+package pe.crediactiva.dao.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.ReparacionDAO;
+import pe.crediactiva.model.Cliente;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación MySQL del DAO de reparación masiva de usuarios.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ReparacionDAOImpl implements ReparacionDAO {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReparacionDAOImpl.class);
+    
+    /** Filas por envío de lote (rewriteBatchedStatements las agrupa en un INSERT multi-fila) */
+    private static final int TAMANO_LOTE = 1_000;
+    
+    // Consultas SQL
+    private static final String SELECT_MISSING_RECORDS = """
+        SELECT u.id, u.username, r.nombre AS rol
+        FROM usuarios u
+        JOIN usuarios_roles ur ON ur.usuario_id = u.id AND ur.activo = TRUE
+        JOIN roles r ON r.id = ur.rol_id AND r.activo = TRUE
+        LEFT JOIN asesores a ON r.nombre = 'ASESOR' AND a.usuario_id = u.id
+        LEFT JOIN clientes c ON r.nombre = 'CLIENTE' AND c.usuario_id = u.id
+        WHERE u.activo = TRUE
+          AND ((r.nombre = 'ASESOR' AND a.id IS NULL) OR (r.nombre = 'CLIENTE' AND c.id IS NULL))
+        ORDER BY u.id
+        """;
+    
+    // FOR UPDATE bloquea la asignación de códigos hasta terminar el lote.
+    // También los usa RolDAOImpl al crear registros por asignación de rol.
+    static final String SELECT_MAX_CODIGO_ASESOR = 
+        "SELECT MAX(CAST(SUBSTRING(codigo_asesor, 4) AS UNSIGNED)) FROM asesores WHERE codigo_asesor REGEXP '^ASE[0-9]+$' FOR UPDATE";
+    
+    static final String SELECT_MAX_CODIGO_CLIENTE = 
+        "SELECT MAX(CAST(SUBSTRING(codigo_cliente, 4) AS UNSIGNED)) FROM clientes WHERE codigo_cliente REGEXP '^CLI[0-9]+$' FOR UPDATE";
+    
+    private static final String INSERT_ASESOR = """
+        INSERT INTO asesores (usuario_id, codigo_asesor, comision_porcentaje, meta_mensual, activo)
+        VALUES (?, ?, ?, ?, TRUE)
+        """;
+    
+    private static final String INSERT_CLIENTE = """
+        INSERT INTO clientes (usuario_id, codigo_cliente, tipo_cliente, limite_credito, score_crediticio, activo)
+        VALUES (?, ?, ?, ?, ?, TRUE)
+        """;
+    
+    @Override
+    public Map<TipoRol, List<Usuario>> findUsersMissingRecords() {
+        Map<TipoRol, List<Usuario>> faltantes = new EnumMap<>(TipoRol.class);
+        faltantes.put(TipoRol.ASESOR, new ArrayList<>());
+        faltantes.put(TipoRol.CLIENTE, new ArrayList<>());
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_MISSING_RECORDS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                Usuario usuario = new Usuario();
+                usuario.setId(rs.getInt("id"));
+                usuario.setUsername(rs.getString("username"));
+                faltantes.get(TipoRol.valueOf(rs.getString("rol"))).add(usuario);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al buscar usuarios con registros faltantes", e);
+        }
+        
+        return faltantes;
+    }
+    
+    @Override
+    public int insertAsesores(List<Integer> usuarioIds, BigDecimal comisionPorcentaje, BigDecimal metaMensual) {
+        if (usuarioIds == null || usuarioIds.isEmpty()) return 0;
+        
+        return insertarEnLote(usuarioIds, SELECT_MAX_CODIGO_ASESOR, INSERT_ASESOR, "ASE", (stmt, usuarioId, codigo) -> {
+            stmt.setInt(1, usuarioId);
+            stmt.setString(2, codigo);
+            stmt.setBigDecimal(3, comisionPorcentaje);
+            stmt.setBigDecimal(4, metaMensual);
+        });
+    }
+    
+    @Override
+    public int insertClientes(List<Integer> usuarioIds, Cliente.TipoCliente tipoCliente, 
+                              BigDecimal limiteCredito, int scoreCrediticio) {
+        if (usuarioIds == null || usuarioIds.isEmpty()) return 0;
+        
+        return insertarEnLote(usuarioIds, SELECT_MAX_CODIGO_CLIENTE, INSERT_CLIENTE, "CLI", (stmt, usuarioId, codigo) -> {
+            stmt.setInt(1, usuarioId);
+            stmt.setString(2, codigo);
+            stmt.setString(3, tipoCliente.name());
+            stmt.setBigDecimal(4, limiteCredito);
+            stmt.setInt(5, scoreCrediticio);
+        });
+    }
+    
+    // Métodos privados de utilidad
+    
+    @FunctionalInterface
+    private interface ParametrosFila {
+        void asignar(PreparedStatement stmt, int usuarioId, String codigo) throws SQLException;
+    }
+    
+    /**
+     * Lee el mayor número de código con bloqueo (SELECT_MAX_CODIGO_* usa FOR
+     * UPDATE): otras transacciones que reserven códigos esperan hasta el commit
+     * o rollback de {@code conn}, así que el rango desde el número devuelto
+     * queda reservado para esta transacción.
+     * 
+     * @param conn conexión con la transacción en curso
+     * @param selectMaxCodigo SELECT_MAX_CODIGO_ASESOR o SELECT_MAX_CODIGO_CLIENTE
+     * @return primer número libre
+     */
+    static int reservarSiguienteNumero(Connection conn, String selectMaxCodigo) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(selectMaxCodigo);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                Integer maxNumero = rs.getObject(1, Integer.class);
+                if (maxNumero != null) {
+                    return maxNumero + 1;
+                }
+            }
+        }
+        return 1;
+    }
+    
+    /**
+     * Código de asesor o cliente con al menos tres dígitos (ASE001, CLI1234).
+     */
+    static String codigo(String prefijo, int numero) {
+        return String.format("%s%03d", prefijo, numero);
+    }
+    
+    /**
+     * Reserva el rango de códigos con una sola lectura del máximo e inserta todas
+     * las filas en lotes dentro de una misma transacción (todo o nada).
+     */
+    private int insertarEnLote(List<Integer> usuarioIds, String selectMaxCodigo, String insert, 
+                               String prefijo, ParametrosFila parametros) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try {
+                int siguienteNumero = reservarSiguienteNumero(conn, selectMaxCodigo);
+                
+                int insertados = 0;
+                try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                    for (int i = 0; i < usuarioIds.size(); i++) {
+                        parametros.asignar(stmt, usuarioIds.get(i), codigo(prefijo, siguienteNumero + i));
+                        stmt.addBatch();
+                        
+                        if ((i + 1) % TAMANO_LOTE == 0 || i == usuarioIds.size() - 1) {
+                            for (int filas : stmt.executeBatch()) {
+                                insertados += filas == Statement.SUCCESS_NO_INFO ? 1 : filas;
+                            }
+                        }
+                    }
+                }
+                
+                conn.commit();
+                logger.info("Registros {} creados en lote: {} (códigos {}{} a {}{})", prefijo, insertados, 
+                           prefijo, siguienteNumero, prefijo, siguienteNumero + usuarioIds.size() - 1);
+                return insertados;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al crear registros {} en lote, no se creó ninguno", prefijo, e);
+            return 0;
+        }
+    }
+}
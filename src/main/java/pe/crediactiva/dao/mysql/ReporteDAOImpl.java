@@ -0,0 +1,177 @@
+package pe.crediactiva.dao.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.dao.interfaces.ReporteDAO;
+import pe.crediactiva.report.ColumnaReporte;
+import pe.crediactiva.report.TipoReporte;
+import pe.crediactiva.util.DateUtils;
+
+import java.io.IOException;
+import java.sql.*;
+import java.util.List;
+
+/**
+ * Implementación MySQL del DAO de reportes.
+ * Usa resultados en streaming de Connector/J para que la memoria no dependa
+ * del número de filas exportadas.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ReporteDAOImpl implements ReporteDAO {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReporteDAOImpl.class);
+    
+    // Consultas SQL (las columnas siguen el orden de TipoReporte)
+    private static final String SELECT_USUARIOS = """
+        SELECT u.id, u.username, u.email, u.nombres, u.apellidos, u.documento_identidad, u.telefono,
+               (SELECT GROUP_CONCAT(r.nombre ORDER BY r.nombre SEPARATOR ', ')
+                FROM usuarios_roles ur JOIN roles r ON ur.rol_id = r.id
+                WHERE ur.usuario_id = u.id AND ur.activo = TRUE) AS roles,
+               u.activo, u.fecha_creacion, u.ultimo_login
+        FROM usuarios u
+        ORDER BY u.id
+        """;
+    
+    private static final String SELECT_PRESTAMOS = """
+        SELECT p.id, p.numero_prestamo, CONCAT(uc.nombres, ' ', uc.apellidos) AS cliente,
+               a.codigo_asesor, p.monto_prestamo, p.monto_total, p.plazo_meses, p.tasa_interes_mensual,
+               p.cuota_mensual, p.estado, p.fecha_desembolso, p.fecha_primer_vencimiento,
+               p.fecha_ultimo_vencimiento
+        FROM prestamos p
+        JOIN usuarios uc ON p.cliente_id = uc.id
+        JOIN asesores a ON p.asesor_id = a.id
+        ORDER BY p.id
+        """;
+    
+    private static final String SELECT_CUOTAS = """
+        SELECT cp.id, p.numero_prestamo, cp.numero_cuota, cp.fecha_vencimiento, cp.monto_cuota,
+               cp.capital, cp.interes, cp.saldo_pendiente, cp.pagado, cp.fecha_pago,
+               cp.monto_pagado, cp.dias_atraso
+        FROM cronograma_pagos cp
+        JOIN prestamos p ON cp.prestamo_id = p.id
+        ORDER BY cp.id
+        """;
+    
+    private static final String SELECT_PAGOS = """
+        SELECT pg.id, pg.numero_recibo, p.numero_prestamo, cp.numero_cuota, pg.monto_pago,
+               pg.fecha_pago, pg.metodo_pago, pg.numero_operacion, ur.username, pg.fecha_creacion
+        FROM pagos pg
+        JOIN prestamos p ON pg.prestamo_id = p.id
+        JOIN cronograma_pagos cp ON pg.cronograma_id = cp.id
+        JOIN usuarios ur ON pg.registrado_por = ur.id
+        ORDER BY pg.id
+        """;
+    
+    private static final String COUNT_USUARIOS = "SELECT COUNT(*) FROM usuarios";
+    private static final String COUNT_PRESTAMOS = "SELECT COUNT(*) FROM prestamos";
+    private static final String COUNT_CUOTAS = "SELECT COUNT(*) FROM cronograma_pagos";
+    private static final String COUNT_PAGOS = "SELECT COUNT(*) FROM pagos";
+    
+    @Override
+    public long count(TipoReporte tipo) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(countQuery(tipo));
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al contar filas del reporte: {}", tipo, e);
+        }
+        
+        return -1;
+    }
+    
+    @Override
+    public long streamRows(TipoReporte tipo, ReceptorFilas receptor) throws SQLException, IOException {
+        List<ColumnaReporte> columnas = tipo.getColumnas();
+        ColumnaReporte.Tipo[] tipos = new ColumnaReporte.Tipo[columnas.size()];
+        for (int i = 0; i < tipos.length; i++) {
+            tipos[i] = columnas.get(i).getTipo();
+        }
+        Object[] valores = new Object[tipos.length];
+        long filas = 0;
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(selectQuery(tipo), 
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            // Connector/J solo hace streaming de filas con este fetch size
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                boolean continuar = true;
+                
+                while (continuar && rs.next()) {
+                    for (int i = 0; i < tipos.length; i++) {
+                        valores[i] = leerValor(rs, i + 1, tipos[i]);
+                    }
+                    filas++;
+                    continuar = receptor.procesar(valores);
+                }
+                
+                if (!continuar) {
+                    // Al cerrar un resultado en streaming el driver lee las filas restantes;
+                    // cancelar la consulta evita recorrer el resto de la tabla
+                    cancelarSilenciosamente(stmt);
+                    logger.info("Lectura del reporte {} detenida en la fila {}", tipo, filas);
+                }
+            }
+        }
+        
+        return filas;
+    }
+    
+    // Métodos privados de utilidad
+    
+    private String selectQuery(TipoReporte tipo) {
+        return switch (tipo) {
+            case USUARIOS -> SELECT_USUARIOS;
+            case PRESTAMOS -> SELECT_PRESTAMOS;
+            case CUOTAS -> SELECT_CUOTAS;
+            case PAGOS -> SELECT_PAGOS;
+        };
+    }
+    
+    private String countQuery(TipoReporte tipo) {
+        return switch (tipo) {
+            case USUARIOS -> COUNT_USUARIOS;
+            case PRESTAMOS -> COUNT_PRESTAMOS;
+            case CUOTAS -> COUNT_CUOTAS;
+            case PAGOS -> COUNT_PAGOS;
+        };
+    }
+    
+    /**
+     * Lee una columna según su tipo de reporte.
+     */
+    private Object leerValor(ResultSet rs, int indice, ColumnaReporte.Tipo tipo) throws SQLException {
+        return switch (tipo) {
+            case ENTERO -> {
+                long valor = rs.getLong(indice);
+                yield rs.wasNull() ? null : valor;
+            }
+            case MONTO, DECIMAL -> rs.getBigDecimal(indice);
+            case FECHA -> DateUtils.fromSqlDate(rs.getDate(indice));
+            case FECHA_HORA -> DateUtils.fromSqlTimestamp(rs.getTimestamp(indice));
+            case BOOLEANO -> {
+                boolean valor = rs.getBoolean(indice);
+                yield rs.wasNull() ? null : valor;
+            }
+            case TEXTO -> rs.getString(indice);
+        };
+    }
+    
+    private void cancelarSilenciosamente(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            logger.debug("No se pudo cancelar la consulta del reporte", e);
+        }
+    }
+}
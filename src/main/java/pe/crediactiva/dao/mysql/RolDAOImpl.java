@@ -4,13 +4,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pe.crediactiva.config.DatabaseConfig;
 import pe.crediactiva.dao.interfaces.RolDAO;
+import pe.crediactiva.model.Asesor;
+import pe.crediactiva.model.AsignacionMasiva;
+import pe.crediactiva.model.CambiosRoles;
+import pe.crediactiva.model.Cliente;
 import pe.crediactiva.model.Rol;
-import pe.crediactiva.util.DateUtils;
+import pe.crediactiva.model.enums.TipoRol;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación MySQL del DAO para la entidad Rol.
@@ -22,6 +34,9 @@ public class RolDAOImpl implements RolDAO {
     
     private static final Logger logger = LoggerFactory.getLogger(RolDAOImpl.class);
     
+    // ER_NO_SUCH_TABLE: roles_permisos se crea en scripts/10_roles_permisos.sql
+    private static final int ER_NO_SUCH_TABLE = 1146;
+    
     // Consultas SQL
     private static final String SELECT_BASE = """
         SELECT r.id, r.nombre, r.descripcion, r.activo,
@@ -71,6 +86,49 @@ public class RolDAOImpl implements RolDAO {
         ORDER BY r.nombre
         """;
     
+    // Catálogo de roles con la asignación del usuario; la tabla roles tiene pocas filas
+    private static final String SELECT_ASIGNACION_ROLES = """
+        SELECT r.id, r.nombre, r.descripcion, r.activo,
+               r.fecha_creacion, r.fecha_actualizacion, ur.activo AS asignado
+        FROM roles r
+        LEFT JOIN usuarios_roles ur ON ur.rol_id = r.id AND ur.usuario_id = ?
+        """;
+    
+    // Registros de asesor y cliente al asignar el rol: se reactivan si ya existían.
+    // Los códigos se reservan antes con bloqueo, como en la reparación masiva
+    // (ReparacionDAOImpl.reservarSiguienteNumero); un registro reactivado deja
+    // sin usar el código que se le había reservado.
+    private static final String UPSERT_ASESOR = """
+        INSERT INTO asesores (usuario_id, codigo_asesor, comision_porcentaje, meta_mensual, activo)
+        VALUES (?, ?, ?, ?, TRUE)
+        ON DUPLICATE KEY UPDATE activo = TRUE, fecha_actualizacion = CURRENT_TIMESTAMP
+        """;
+    
+    private static final String UPSERT_CLIENTE = """
+        INSERT INTO clientes (usuario_id, codigo_cliente, tipo_cliente, limite_credito, score_crediticio, activo)
+        VALUES (?, ?, ?, ?, ?, TRUE)
+        ON DUPLICATE KEY UPDATE activo = TRUE, fecha_actualizacion = CURRENT_TIMESTAMP
+        """;
+    
+    // Asignación masiva: se completa con BloquesIds.marcadores(n)
+    private static final String SELECT_USUARIOS_CON_ROL_BASE = 
+        "SELECT usuario_id FROM usuarios_roles WHERE rol_id = ? AND activo = TRUE AND usuario_id IN ";
+    
+    private static final String DEACTIVATE_ASESOR_BY_USUARIO =
+        "UPDATE asesores SET activo = FALSE, fecha_actualizacion = CURRENT_TIMESTAMP WHERE usuario_id = ?";
+    private static final String DEACTIVATE_CLIENTE_BY_USUARIO =
+        "UPDATE clientes SET activo = FALSE, fecha_actualizacion = CURRENT_TIMESTAMP WHERE usuario_id = ?";
+    
+    private static final String SELECT_PERMISOS = """
+        SELECT r.nombre, rp.permiso
+        FROM roles_permisos rp
+        INNER JOIN roles r ON r.id = rp.rol_id
+        """;
+    
+    // Columnas de rol que lee leerRol, en su orden; también lo usa UsuarioDAOImpl al cargar roles
+    static final MapeoFilas<Rol> MAPEO_ROL = new MapeoFilas<>(RolDAOImpl::leerRol,
+        "id", "nombre", "descripcion", "activo", "fecha_creacion", "fecha_actualizacion");
+    
     @Override
     public Optional<Rol> findById(Integer id) {
         if (id == null) return Optional.empty();
@@ -82,7 +140,7 @@ public class RolDAOImpl implements RolDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToRol(rs));
+                    return Optional.of(MAPEO_ROL.leer(rs));
                 }
             }
             
@@ -104,7 +162,7 @@ public class RolDAOImpl implements RolDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToRol(rs));
+                    return Optional.of(MAPEO_ROL.leer(rs));
                 }
             }
             
@@ -123,8 +181,9 @@ public class RolDAOImpl implements RolDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Rol> filas = MAPEO_ROL.sobre(rs);
             while (rs.next()) {
-                roles.add(mapResultSetToRol(rs));
+                roles.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -142,8 +201,9 @@ public class RolDAOImpl implements RolDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_ACTIVE);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Rol> filas = MAPEO_ROL.sobre(rs);
             while (rs.next()) {
-                roles.add(mapResultSetToRol(rs));
+                roles.add(filas.leer());
             }
             
         } catch (SQLException e) {
@@ -365,6 +425,206 @@ public class RolDAOImpl implements RolDAO {
         return false;
     }
     
+    @Override
+    public CambiosRoles aplicarCambiosRoles(Integer usuarioId, Set<Integer> rolIds) {
+        if (usuarioId == null || rolIds == null) {
+            throw new IllegalArgumentException("Usuario ID y roles son requeridos");
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try {
+                List<Rol> catalogo = new ArrayList<>();
+                Set<Integer> asignados = new HashSet<>();
+                try (PreparedStatement stmt = conn.prepareStatement(SELECT_ASIGNACION_ROLES)) {
+                    stmt.setInt(1, usuarioId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        MapeoFilas.Filas<Rol> filas = MAPEO_ROL.sobre(rs);
+                        int asignado = rs.findColumn("asignado");
+                        while (rs.next()) {
+                            Rol rol = filas.leer();
+                            catalogo.add(rol);
+                            if (rs.getBoolean(asignado)) {
+                                asignados.add(rol.getId());
+                            }
+                        }
+                    }
+                }
+                
+                CambiosRoles cambios = CambiosRoles.calcular(catalogo, asignados, rolIds);
+                if (cambios.isVacio()) {
+                    conn.rollback();
+                    return cambios;
+                }
+                
+                ejecutarPorRol(conn, INSERT_USUARIO_ROL, usuarioId, cambios.agregados());
+                ejecutarPorRol(conn, DELETE_USUARIO_ROL, usuarioId, cambios.removidos());
+                
+                if (cambios.agrega(TipoRol.ASESOR)) {
+                    crearRegistrosEspecificos(conn, TipoRol.ASESOR, List.of(usuarioId));
+                } else if (cambios.remueve(TipoRol.ASESOR)) {
+                    ejecutarPorUsuario(conn, DEACTIVATE_ASESOR_BY_USUARIO, usuarioId);
+                }
+                
+                if (cambios.agrega(TipoRol.CLIENTE)) {
+                    crearRegistrosEspecificos(conn, TipoRol.CLIENTE, List.of(usuarioId));
+                } else if (cambios.remueve(TipoRol.CLIENTE)) {
+                    ejecutarPorUsuario(conn, DEACTIVATE_CLIENTE_BY_USUARIO, usuarioId);
+                }
+                
+                conn.commit();
+                logger.info("Roles del usuario {} actualizados: {} asignados, {} removidos", 
+                           usuarioId, cambios.agregados().size(), cambios.removidos().size());
+                return cambios;
+                
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al aplicar cambios de roles: Usuario ID {}", usuarioId, e);
+            return null;
+        }
+    }
+    
+    @Override
+    public AsignacionMasiva asignarRolAUsuarios(Collection<Integer> usuarioIds, Integer rolId) {
+        if (rolId == null) {
+            throw new IllegalArgumentException("Rol ID es requerido");
+        }
+        
+        Set<Integer> asignados = new LinkedHashSet<>();
+        Set<Integer> fallidos = new LinkedHashSet<>();
+        List<List<Integer>> bloques = BloquesIds.partir(usuarioIds, BloquesIds.TAMANO_BLOQUE);
+        if (bloques.isEmpty()) return new AsignacionMasiva(asignados, fallidos);
+        
+        int confirmados = 0;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Rol rol = null;
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+                stmt.setInt(1, rolId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        rol = MAPEO_ROL.leer(rs);
+                    }
+                }
+            }
+            if (rol == null) {
+                conn.rollback();
+                throw new IllegalArgumentException("Rol no encontrado");
+            }
+            if (!rol.isActivo()) {
+                conn.rollback();
+                throw new IllegalArgumentException("No se puede asignar un rol inactivo: " + rol.getNombre());
+            }
+            TipoRol tipoRol = TipoRol.buscarPorCodigo(rol.getNombre());
+            
+            for (List<Integer> bloque : bloques) {
+                try {
+                    // Los que ya tienen el rol no se tocan ni se auditan
+                    Set<Integer> conRol = new HashSet<>();
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                             SELECT_USUARIOS_CON_ROL_BASE + BloquesIds.marcadores(bloque.size()))) {
+                        stmt.setInt(1, rolId);
+                        BloquesIds.asignar(stmt, 2, bloque);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                conRol.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                    
+                    List<Integer> nuevos = new ArrayList<>(bloque.size());
+                    for (Integer usuarioId : bloque) {
+                        if (!conRol.contains(usuarioId)) {
+                            nuevos.add(usuarioId);
+                        }
+                    }
+                    
+                    if (!nuevos.isEmpty()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(INSERT_USUARIO_ROL)) {
+                            for (Integer usuarioId : nuevos) {
+                                stmt.setInt(1, usuarioId);
+                                stmt.setInt(2, rolId);
+                                stmt.addBatch();
+                            }
+                            stmt.executeBatch();
+                        }
+                        crearRegistrosEspecificos(conn, tipoRol, nuevos);
+                    }
+                    conn.commit();
+                    asignados.addAll(nuevos);
+                    confirmados++;
+                    
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            
+        } catch (SQLException e) {
+            for (int b = confirmados; b < bloques.size(); b++) {
+                fallidos.addAll(bloques.get(b));
+            }
+            logger.error("Error al asignar rol {} en bloque; confirmados: {}, sin asignar: {}", 
+                        rolId, asignados.size(), fallidos.size(), e);
+        }
+        
+        logger.info("Rol {} asignado en bloque a {} de {} usuarios", rolId, asignados.size(), usuarioIds.size());
+        return new AsignacionMasiva(asignados, fallidos);
+    }
+    
+    // Registros de asesor o cliente de los usuarios que reciben el rol, en un solo lote.
+    // El bloqueo de la reserva de códigos se mantiene hasta el commit de conn.
+    private void crearRegistrosEspecificos(Connection conn, TipoRol tipoRol, List<Integer> usuarioIds) throws SQLException {
+        if (tipoRol != TipoRol.ASESOR && tipoRol != TipoRol.CLIENTE) {
+            return;
+        }
+        boolean asesor = tipoRol == TipoRol.ASESOR;
+        int siguienteNumero = ReparacionDAOImpl.reservarSiguienteNumero(conn, asesor 
+            ? ReparacionDAOImpl.SELECT_MAX_CODIGO_ASESOR : ReparacionDAOImpl.SELECT_MAX_CODIGO_CLIENTE);
+        
+        try (PreparedStatement stmt = conn.prepareStatement(asesor ? UPSERT_ASESOR : UPSERT_CLIENTE)) {
+            for (Integer usuarioId : usuarioIds) {
+                stmt.setInt(1, usuarioId);
+                if (asesor) {
+                    stmt.setString(2, ReparacionDAOImpl.codigo("ASE", siguienteNumero++));
+                    stmt.setBigDecimal(3, Asesor.COMISION_INICIAL);
+                    stmt.setBigDecimal(4, BigDecimal.ZERO);
+                } else {
+                    stmt.setString(2, ReparacionDAOImpl.codigo("CLI", siguienteNumero++));
+                    stmt.setString(3, Cliente.TipoCliente.NUEVO.name());
+                    stmt.setBigDecimal(4, Cliente.LIMITE_CREDITO_INICIAL);
+                    stmt.setInt(5, Cliente.SCORE_INICIAL);
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    // Una sentencia (usuario, rol) por cada rol, enviada como un solo lote
+    private void ejecutarPorRol(Connection conn, String sql, int usuarioId, List<Rol> roles) throws SQLException {
+        if (roles.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Rol rol : roles) {
+                stmt.setInt(1, usuarioId);
+                stmt.setInt(2, rol.getId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    private void ejecutarPorUsuario(Connection conn, String sql, int usuarioId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, usuarioId);
+            stmt.executeUpdate();
+        }
+    }
+    
     @Override
     public List<Rol> findRolesByUsuarioId(Integer usuarioId) {
         List<Rol> roles = new ArrayList<>();
@@ -377,8 +637,9 @@ public class RolDAOImpl implements RolDAO {
             stmt.setInt(1, usuarioId);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<Rol> filas = MAPEO_ROL.sobre(rs);
                 while (rs.next()) {
-                    roles.add(mapResultSetToRol(rs));
+                    roles.add(filas.leer());
                 }
             }
             
@@ -389,18 +650,43 @@ public class RolDAOImpl implements RolDAO {
         return roles;
     }
     
+    @Override
+    public Optional<Map<String, List<String>>> findPermisosPorRol() {
+        Map<String, List<String>> permisos = new HashMap<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_PERMISOS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                permisos.computeIfAbsent(rs.getString("nombre"), nombre -> new ArrayList<>())
+                        .add(rs.getString("permiso"));
+            }
+            
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_NO_SUCH_TABLE) {
+                logger.warn("La tabla roles_permisos no existe (scripts/10_roles_permisos.sql); se usan los permisos por defecto");
+                return Optional.of(permisos);
+            }
+            logger.error("Error al obtener los permisos de los roles", e);
+            return Optional.empty();
+        }
+        
+        return Optional.of(permisos);
+    }
+    
     /**
-     * Mapea un ResultSet a un objeto Rol.
+     * Lee un Rol de la fila actual (ver MAPEO_ROL).
      */
-    private Rol mapResultSetToRol(ResultSet rs) throws SQLException {
+    private static Rol leerRol(ResultSet rs, int[] c) throws SQLException {
         Rol rol = new Rol();
         
-        rol.setId(rs.getInt("id"));
-        rol.setNombre(rs.getString("nombre"));
-        rol.setDescripcion(rs.getString("descripcion"));
-        rol.setActivo(rs.getBoolean("activo"));
-        rol.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
-        rol.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
+        rol.setId(rs.getInt(c[0]));
+        rol.setNombre(rs.getString(c[1]));
+        rol.setDescripcion(rs.getString(c[2]));
+        rol.setActivo(rs.getBoolean(c[3]));
+        rol.setFechaCreacion(rs.getObject(c[4], LocalDateTime.class));
+        rol.setFechaActualizacion(rs.getObject(c[5], LocalDateTime.class));
         
         return rol;
     }
@@ -2,16 +2,23 @@ package pe.crediactiva.dao.mysql;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.busqueda.NormalizadorNombres;
 import pe.crediactiva.config.DatabaseConfig;
 import pe.crediactiva.dao.interfaces.UsuarioDAO;
+import pe.crediactiva.model.MarcaAgua;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
 import pe.crediactiva.util.DateUtils;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementación MySQL del DAO para la entidad Usuario.
@@ -23,6 +30,17 @@ public class UsuarioDAOImpl implements UsuarioDAO {
     
     private static final Logger logger = LoggerFactory.getLogger(UsuarioDAOImpl.class);
     
+    // ER_FT_MATCHING_KEY_NOT_FOUND: no existe el índice FULLTEXT para las columnas de MATCH
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+    private static final int NGRAM_TOKEN_SIZE = 2;
+    
+    // Se desactiva la primera vez que MySQL indica que falta el índice
+    private static volatile boolean fullTextDisponible = true;
+    
+    // ER_BAD_FIELD_ERROR: falta usuarios_roles.fecha_actualizacion (scripts/11_marcas_actualizacion.sql)
+    private static final int ER_BAD_FIELD_ERROR = 1054;
+    private static volatile boolean marcasDisponibles = true;
+    
     // Consultas SQL
     private static final String SELECT_BASE = """
         SELECT u.id, u.username, u.email, u.password_hash, u.nombres, u.apellidos,
@@ -50,6 +68,12 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         ORDER BY u.nombres, u.apellidos
         """;
     
+    // Índice ngram de scripts/09_busqueda_nombres.sql; SEARCH_BY_NAME queda como respaldo
+    private static final String SEARCH_BY_NAME_FULLTEXT = SELECT_BASE + """
+        WHERE MATCH(u.nombres, u.apellidos) AGAINST (? IN BOOLEAN MODE) AND u.activo = TRUE
+        ORDER BY MATCH(u.nombres, u.apellidos) AGAINST (? IN BOOLEAN MODE) DESC, u.nombres, u.apellidos
+        """;
+    
     private static final String INSERT_USUARIO = """
         INSERT INTO usuarios (username, email, password_hash, nombres, apellidos,
                              documento_identidad, telefono, direccion, activo)
@@ -69,14 +93,21 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         WHERE id = ?
         """;
     
+    // El último login no es una modificación del usuario: fecha_actualizacion se
+    // conserva (tiene ON UPDATE CURRENT_TIMESTAMP) y no se retrocede un login más reciente
     private static final String UPDATE_LAST_LOGIN = """
-        UPDATE usuarios SET ultimo_login = CURRENT_TIMESTAMP, fecha_actualizacion = CURRENT_TIMESTAMP
-        WHERE id = ?
+        UPDATE usuarios SET ultimo_login = ?, fecha_actualizacion = fecha_actualizacion
+        WHERE id = ? AND (ultimo_login IS NULL OR ultimo_login < ?)
         """;
     
     private static final String DELETE_BY_ID = "DELETE FROM usuarios WHERE id = ?";
     private static final String UPDATE_ACTIVE_STATUS = "UPDATE usuarios SET activo = ?, fecha_actualizacion = CURRENT_TIMESTAMP WHERE id = ?";
     
+    // Operaciones masivas: se completan con BloquesIds.marcadores(n)
+    private static final String SELECT_IDS_CAMBIO_ESTADO_BASE = "SELECT id FROM usuarios WHERE activo <> ? AND id IN ";
+    private static final String UPDATE_ACTIVE_STATUS_IN_BASE = 
+        "UPDATE usuarios SET activo = ?, fecha_actualizacion = CURRENT_TIMESTAMP WHERE id IN ";
+    
     private static final String EXISTS_BY_USERNAME = "SELECT COUNT(*) FROM usuarios WHERE username = ?";
     private static final String EXISTS_BY_EMAIL = "SELECT COUNT(*) FROM usuarios WHERE email = ?";
     private static final String EXISTS_BY_DOCUMENTO = "SELECT COUNT(*) FROM usuarios WHERE documento_identidad = ?";
@@ -84,6 +115,18 @@ public class UsuarioDAOImpl implements UsuarioDAO {
     private static final String COUNT_ALL = "SELECT COUNT(*) FROM usuarios";
     private static final String COUNT_ACTIVE = "SELECT COUNT(*) FROM usuarios WHERE activo = TRUE";
     
+    // Refresco por cambios: hora del servidor y total en una sola lectura
+    private static final String SELECT_MARCA_AGUA = "SELECT CURRENT_TIMESTAMP, COUNT(*) FROM usuarios";
+    
+    // Usuarios con datos o roles modificados; los repetidos se descartan en la unión
+    private static final String SELECT_CHANGED_SINCE = SELECT_BASE + """
+        INNER JOIN (
+            SELECT c.id FROM usuarios c WHERE c.fecha_actualizacion >= ?
+            UNION
+            SELECT ur.usuario_id FROM usuarios_roles ur WHERE ur.fecha_actualizacion >= ?
+        ) cambios ON cambios.id = u.id
+        """;
+    
     private static final String SELECT_ROLES = """
         SELECT r.id, r.nombre, r.descripcion, r.activo, r.fecha_creacion, r.fecha_actualizacion
         FROM roles r
@@ -92,6 +135,11 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         ORDER BY r.nombre
         """;
     
+    // Columnas de usuario que lee leerUsuario, en su orden; visible en el paquete para los benchmarks JMH
+    static final MapeoFilas<Usuario> MAPEO_USUARIO = new MapeoFilas<>(UsuarioDAOImpl::leerUsuario,
+        "id", "username", "email", "password_hash", "nombres", "apellidos", "documento_identidad",
+        "telefono", "direccion", "activo", "ultimo_login", "fecha_creacion", "fecha_actualizacion");
+    
     @Override
     public Optional<Usuario> findById(Integer id) {
         if (id == null) return Optional.empty();
@@ -103,7 +151,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = MAPEO_USUARIO.leer(rs);
                     cargarRoles(usuario, conn);
                     return Optional.of(usuario);
                 }
@@ -127,7 +175,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = MAPEO_USUARIO.leer(rs);
                     cargarRoles(usuario, conn);
                     return Optional.of(usuario);
                 }
@@ -151,7 +199,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = MAPEO_USUARIO.leer(rs);
                     cargarRoles(usuario, conn);
                     return Optional.of(usuario);
                 }
@@ -175,7 +223,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = MAPEO_USUARIO.leer(rs);
                     cargarRoles(usuario, conn);
                     return Optional.of(usuario);
                 }
@@ -196,8 +244,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Usuario> filas = MAPEO_USUARIO.sobre(rs);
             while (rs.next()) {
-                Usuario usuario = mapResultSetToUsuario(rs);
+                Usuario usuario = filas.leer();
                 cargarRoles(usuario, conn);
                 usuarios.add(usuario);
             }
@@ -209,6 +258,59 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         return usuarios;
     }
     
+    @Override
+    public MarcaAgua findMarcaAgua() {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_MARCA_AGUA);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            if (rs.next()) {
+                return new MarcaAgua(rs.getObject(1, LocalDateTime.class), rs.getLong(2));
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al obtener la marca de agua de usuarios", e);
+        }
+        
+        return null;
+    }
+    
+    @Override
+    public List<Usuario> findChangedSince(LocalDateTime desde) {
+        if (desde == null || !marcasDisponibles) return null;
+        
+        List<Usuario> usuarios = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_CHANGED_SINCE)) {
+            
+            Timestamp marca = DateUtils.toSqlTimestamp(desde);
+            stmt.setTimestamp(1, marca);
+            stmt.setTimestamp(2, marca);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<Usuario> filas = MAPEO_USUARIO.sobre(rs);
+                while (rs.next()) {
+                    usuarios.add(filas.leer());
+                }
+            }
+            for (Usuario usuario : usuarios) {
+                cargarRoles(usuario, conn);
+            }
+            return usuarios;
+            
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_BAD_FIELD_ERROR) {
+                marcasDisponibles = false;
+                logger.warn("Marcas de actualización no disponibles (scripts/11_marcas_actualizacion.sql); " +
+                           "se recarga la lista completa");
+            } else {
+                logger.error("Error al obtener usuarios modificados desde: {}", desde, e);
+            }
+        }
+        
+        return null;
+    }
+    
     @Override
     public List<Usuario> findAllActive() {
         List<Usuario> usuarios = new ArrayList<>();
@@ -217,8 +319,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_ACTIVE);
              ResultSet rs = stmt.executeQuery()) {
             
+            MapeoFilas.Filas<Usuario> filas = MAPEO_USUARIO.sobre(rs);
             while (rs.next()) {
-                Usuario usuario = mapResultSetToUsuario(rs);
+                Usuario usuario = filas.leer();
                 cargarRoles(usuario, conn);
                 usuarios.add(usuario);
             }
@@ -240,8 +343,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             stmt.setString(1, rolNombre);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<Usuario> filas = MAPEO_USUARIO.sobre(rs);
                 while (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = filas.leer();
                     cargarRoles(usuario, conn);
                     usuarios.add(usuario);
                 }
@@ -262,24 +366,70 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             return usuarios;
         }
         
+        String consultaFullText = consultaFullText(termino);
+        if (consultaFullText != null && fullTextDisponible) {
+            try {
+                return buscarUsuarios(SEARCH_BY_NAME_FULLTEXT, consultaFullText, consultaFullText);
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ER_FT_MATCHING_KEY_NOT_FOUND) {
+                    logger.error("Error al buscar usuarios por nombre: {}", termino, e);
+                    return usuarios;
+                }
+                fullTextDisponible = false;
+                logger.warn("Índice FULLTEXT de nombres no disponible (scripts/09_busqueda_nombres.sql); se usa LIKE");
+            }
+        }
+        
         String searchTerm = "%" + termino.trim() + "%";
+        try {
+            usuarios = buscarUsuarios(SEARCH_BY_NAME, searchTerm, searchTerm);
+        } catch (SQLException e) {
+            logger.error("Error al buscar usuarios por nombre: {}", termino, e);
+        }
+        
+        return usuarios;
+    }
+    
+    /**
+     * Convierte el texto de búsqueda en una consulta FULLTEXT en modo booleano
+     * que exige todas las palabras. Las palabras van sin tildes y solo con letras
+     * y dígitos, así que no pueden contener operadores de MATCH.
+     * 
+     * @param termino texto escrito por el usuario
+     * @return consulta "+palabra1 +palabra2", o null si ninguna palabra alcanza
+     *         el tamaño mínimo del parser ngram
+     */
+    static String consultaFullText(String termino) {
+        StringBuilder consulta = new StringBuilder();
+        for (String palabra : NormalizadorNombres.tokenizar(termino)) {
+            if (palabra.length() >= NGRAM_TOKEN_SIZE) {
+                if (consulta.length() > 0) {
+                    consulta.append(' ');
+                }
+                consulta.append('+').append(palabra);
+            }
+        }
+        return consulta.length() > 0 ? consulta.toString() : null;
+    }
+    
+    private List<Usuario> buscarUsuarios(String sql, String... parametros) throws SQLException {
+        List<Usuario> usuarios = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SEARCH_BY_NAME)) {
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, searchTerm);
-            stmt.setString(2, searchTerm);
+            for (int i = 0; i < parametros.length; i++) {
+                stmt.setString(i + 1, parametros[i]);
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeoFilas.Filas<Usuario> filas = MAPEO_USUARIO.sobre(rs);
                 while (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
+                    Usuario usuario = filas.leer();
                     cargarRoles(usuario, conn);
                     usuarios.add(usuario);
                 }
             }
-            
-        } catch (SQLException e) {
-            logger.error("Error al buscar usuarios por nombre: {}", termino, e);
         }
         
         return usuarios;
@@ -397,6 +547,55 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         return updateActiveStatus(id, true);
     }
     
+    @Override
+    public Set<Integer> updateActiveStatus(Collection<Integer> ids, boolean activo) {
+        Set<Integer> cambiados = new LinkedHashSet<>();
+        List<List<Integer>> bloques = BloquesIds.partir(ids, BloquesIds.TAMANO_BLOQUE);
+        if (bloques.isEmpty()) return cambiados;
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (List<Integer> bloque : bloques) {
+                try {
+                    // Solo los que cambian de estado; FOR UPDATE los bloquea hasta confirmar
+                    List<Integer> pendientes = new ArrayList<>(bloque.size());
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                             SELECT_IDS_CAMBIO_ESTADO_BASE + BloquesIds.marcadores(bloque.size()) + " FOR UPDATE")) {
+                        stmt.setBoolean(1, activo);
+                        BloquesIds.asignar(stmt, 2, bloque);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                pendientes.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                    
+                    if (!pendientes.isEmpty()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(
+                                 UPDATE_ACTIVE_STATUS_IN_BASE + BloquesIds.marcadores(pendientes.size()))) {
+                            stmt.setBoolean(1, activo);
+                            BloquesIds.asignar(stmt, 2, pendientes);
+                            stmt.executeUpdate();
+                        }
+                    }
+                    conn.commit();
+                    cambiados.addAll(pendientes);
+                    
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error al {} usuarios en bloque; confirmados: {}", activo ? "activar" : "desactivar", 
+                        cambiados.size(), e);
+        }
+        
+        logger.info("Usuarios {} en bloque: {} de {}", activo ? "activados" : "desactivados", 
+                   cambiados.size(), ids.size());
+        return cambiados;
+    }
+    
     private boolean updateActiveStatus(Integer id, boolean active) {
         if (id == null) return false;
         
@@ -485,41 +684,57 @@ public class UsuarioDAOImpl implements UsuarioDAO {
     @Override
     public boolean updateLastLogin(Integer id) {
         if (id == null) return false;
+        return updateLastLogin(Map.of(id, LocalDateTime.now()));
+    }
+    
+    @Override
+    public boolean updateLastLogin(Map<Integer, LocalDateTime> accesos) {
+        if (accesos == null || accesos.isEmpty()) return true;
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(UPDATE_LAST_LOGIN)) {
-            
-            stmt.setInt(1, id);
-            int affectedRows = stmt.executeUpdate();
-            
-            return affectedRows > 0;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_LAST_LOGIN)) {
+                for (Map.Entry<Integer, LocalDateTime> acceso : accesos.entrySet()) {
+                    Timestamp fecha = DateUtils.toSqlTimestamp(acceso.getValue());
+                    stmt.setTimestamp(1, fecha);
+                    stmt.setInt(2, acceso.getKey());
+                    stmt.setTimestamp(3, fecha);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                // El pool entrega conexiones sin autocommit: sin esto la escritura se descarta
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
-            logger.error("Error al actualizar último login: ID {}", id, e);
+            logger.error("Error al actualizar último login ({} usuarios)", accesos.size(), e);
+            return false;
         }
-        
-        return false;
     }
     
     /**
-     * Mapea un ResultSet a un objeto Usuario.
+     * Lee un Usuario de la fila actual (ver MAPEO_USUARIO).
      */
-    private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
+    private static Usuario leerUsuario(ResultSet rs, int[] c) throws SQLException {
         Usuario usuario = new Usuario();
         
-        usuario.setId(rs.getInt("id"));
-        usuario.setUsername(rs.getString("username"));
-        usuario.setEmail(rs.getString("email"));
-        usuario.setPasswordHash(rs.getString("password_hash"));
-        usuario.setNombres(rs.getString("nombres"));
-        usuario.setApellidos(rs.getString("apellidos"));
-        usuario.setDocumentoIdentidad(rs.getString("documento_identidad"));
-        usuario.setTelefono(rs.getString("telefono"));
-        usuario.setDireccion(rs.getString("direccion"));
-        usuario.setActivo(rs.getBoolean("activo"));
-        usuario.setUltimoLogin(DateUtils.fromSqlTimestamp(rs.getTimestamp("ultimo_login")));
-        usuario.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
-        usuario.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
+        usuario.setId(rs.getInt(c[0]));
+        usuario.setUsername(rs.getString(c[1]));
+        usuario.setEmail(rs.getString(c[2]));
+        usuario.setPasswordHash(rs.getString(c[3]));
+        usuario.setNombres(rs.getString(c[4]));
+        usuario.setApellidos(rs.getString(c[5]));
+        usuario.setDocumentoIdentidad(rs.getString(c[6]));
+        usuario.setTelefono(rs.getString(c[7]));
+        usuario.setDireccion(rs.getString(c[8]));
+        usuario.setActivo(rs.getBoolean(c[9]));
+        usuario.setUltimoLogin(rs.getObject(c[10], LocalDateTime.class));
+        usuario.setFechaCreacion(rs.getObject(c[11], LocalDateTime.class));
+        usuario.setFechaActualizacion(rs.getObject(c[12], LocalDateTime.class));
         
         return usuario;
     }
@@ -536,16 +751,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 List<Rol> roles = new ArrayList<>();
                 
+                MapeoFilas.Filas<Rol> filas = RolDAOImpl.MAPEO_ROL.sobre(rs);
                 while (rs.next()) {
-                    Rol rol = new Rol();
-                    rol.setId(rs.getInt("id"));
-                    rol.setNombre(rs.getString("nombre"));
-                    rol.setDescripcion(rs.getString("descripcion"));
-                    rol.setActivo(rs.getBoolean("activo"));
-                    rol.setFechaCreacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_creacion")));
-                    rol.setFechaActualizacion(DateUtils.fromSqlTimestamp(rs.getTimestamp("fecha_actualizacion")));
-                    
-                    roles.add(rol);
+                    roles.add(filas.leer());
                 }
                 
                 usuario.setRoles(roles);
@@ -13,6 +13,9 @@ import java.util.Objects;
  */
 public class Asesor {
     
+    /** Comisión de los asesores creados al asignar el rol o al reparar usuarios (2%) */
+    public static final BigDecimal COMISION_INICIAL = new BigDecimal("0.0200");
+    
     private Integer id;
     private Integer usuarioId;
     private String codigoAsesor;
@@ -28,7 +31,7 @@ public class Asesor {
     // Constructores
     public Asesor() {
         this.activo = true;
-        this.comisionPorcentaje = new BigDecimal("0.0200"); // 2% por defecto
+        this.comisionPorcentaje = COMISION_INICIAL;
         this.metaMensual = BigDecimal.ZERO;
         this.fechaCreacion = LocalDateTime.now();
         this.fechaActualizacion = LocalDateTime.now();
@@ -0,0 +1,23 @@
+package pe.crediactiva.model;
+
+import java.util.Set;
+
+/**
+ * Resultado de asignar un rol a varios usuarios por bloques.
+ *
+ * @param asignados IDs de los usuarios que recibieron el rol (bloques confirmados);
+ *                  no incluye a los que ya lo tenían
+ * @param fallidos IDs del bloque que falló y de los bloques que ya no se
+ *                 procesaron, tal como se solicitaron
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record AsignacionMasiva(Set<Integer> asignados, Set<Integer> fallidos) {
+
+    /**
+     * Indica si todos los bloques se confirmaron.
+     */
+    public boolean isCompleta() {
+        return fallidos.isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package pe.crediactiva.model;
+
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Diferencia entre los roles que tiene un usuario y los que debe tener.
+ *
+ * @param agregados roles que se asignan
+ * @param removidos roles que se quitan
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record CambiosRoles(List<Rol> agregados, List<Rol> removidos) {
+
+    /**
+     * Calcula la diferencia. Los roles inactivos que el usuario tenga asignados
+     * no se tocan: no se muestran al editarlo, así que no están entre los deseados.
+     *
+     * @param catalogo todos los roles del sistema
+     * @param asignados IDs de los roles asignados actualmente al usuario
+     * @param deseados IDs de los roles que debe tener
+     * @return roles a agregar y a quitar
+     * @throws IllegalArgumentException si un rol deseado no existe o está inactivo
+     */
+    public static CambiosRoles calcular(Collection<Rol> catalogo, Set<Integer> asignados, Set<Integer> deseados) {
+        List<Rol> agregados = new ArrayList<>();
+        List<Rol> removidos = new ArrayList<>();
+        int encontrados = 0;
+
+        for (Rol rol : catalogo) {
+            boolean asignado = asignados.contains(rol.getId());
+            boolean deseado = deseados.contains(rol.getId());
+            if (deseado) {
+                encontrados++;
+            }
+            if (deseado && !asignado) {
+                if (!rol.isActivo()) {
+                    throw new IllegalArgumentException("No se puede asignar un rol inactivo: " + rol.getNombre());
+                }
+                agregados.add(rol);
+            } else if (asignado && !deseado && rol.isActivo()) {
+                removidos.add(rol);
+            }
+        }
+
+        if (encontrados < deseados.size()) {
+            throw new IllegalArgumentException("Rol no encontrado");
+        }
+        return new CambiosRoles(List.copyOf(agregados), List.copyOf(removidos));
+    }
+
+    /**
+     * Indica si no hay nada que cambiar.
+     */
+    public boolean isVacio() {
+        return agregados.isEmpty() && removidos.isEmpty();
+    }
+
+    /**
+     * Indica si se asigna un rol del sistema.
+     *
+     * @param tipoRol rol del sistema
+     * @return true si está entre los agregados
+     */
+    public boolean agrega(TipoRol tipoRol) {
+        return contiene(agregados, tipoRol);
+    }
+
+    /**
+     * Indica si se quita un rol del sistema.
+     *
+     * @param tipoRol rol del sistema
+     * @return true si está entre los removidos
+     */
+    public boolean remueve(TipoRol tipoRol) {
+        return contiene(removidos, tipoRol);
+    }
+
+    private static boolean contiene(List<Rol> roles, TipoRol tipoRol) {
+        for (Rol rol : roles) {
+            if (tipoRol == TipoRol.buscarPorCodigo(rol.getNombre())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
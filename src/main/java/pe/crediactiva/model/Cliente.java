@@ -43,6 +43,12 @@ public class Cliente {
         }
     }
     
+    /** Límite de crédito de los clientes creados al asignar el rol o al reparar usuarios */
+    public static final BigDecimal LIMITE_CREDITO_INICIAL = new BigDecimal("15000.00");
+    
+    /** Score crediticio de los clientes creados al asignar el rol o al reparar usuarios */
+    public static final int SCORE_INICIAL = 650;
+    
     private Integer id;
     private Integer usuarioId;
     private String codigoCliente;
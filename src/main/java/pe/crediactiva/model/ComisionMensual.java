@@ -0,0 +1,278 @@
+package pe.crediactiva.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * Entidad que representa el acumulado de comisiones de un asesor en un mes.
+ * Corresponde a un registro del libro comisiones_mensuales; una vez cerrado
+ * el periodo, el registro es inmutable.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ComisionMensual {
+
+    private Integer id;
+    private Integer asesorId;
+    private int anio;
+    private int mes;
+    private BigDecimal totalCobrado;
+    private int cantidadPagos;
+    private BigDecimal comisionPorcentaje;
+    private BigDecimal comisionGenerada;
+    private BigDecimal metaMensual;
+    private boolean cerrado;
+    private LocalDateTime fechaCierre;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaActualizacion;
+
+    // Constructores
+    public ComisionMensual() {
+        this.totalCobrado = BigDecimal.ZERO;
+        this.cantidadPagos = 0;
+        this.comisionPorcentaje = BigDecimal.ZERO;
+        this.comisionGenerada = BigDecimal.ZERO;
+        this.metaMensual = BigDecimal.ZERO;
+        this.cerrado = false;
+        this.fechaCreacion = LocalDateTime.now();
+        this.fechaActualizacion = LocalDateTime.now();
+    }
+
+    /**
+     * Abre un periodo para el asesor con su tasa y meta vigentes.
+     *
+     * @param asesor asesor dueño del periodo
+     * @param periodo año y mes
+     */
+    public ComisionMensual(Asesor asesor, YearMonth periodo) {
+        this();
+        this.asesorId = asesor.getId();
+        this.anio = periodo.getYear();
+        this.mes = periodo.getMonthValue();
+        this.comisionPorcentaje = asesor.getComisionPorcentaje() != null ?
+                                  asesor.getComisionPorcentaje() : BigDecimal.ZERO;
+        this.metaMensual = asesor.getMetaMensual() != null ? asesor.getMetaMensual() : BigDecimal.ZERO;
+    }
+
+    // Métodos de utilidad
+
+    /**
+     * Acumula un pago en el periodo y recalcula la comisión.
+     *
+     * @param montoPago monto del pago
+     * @throws IllegalStateException si el periodo está cerrado
+     */
+    public void registrarPago(BigDecimal montoPago) {
+        if (cerrado) {
+            throw new IllegalStateException("El periodo " + getPeriodo() + " está cerrado");
+        }
+        if (montoPago == null || montoPago.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("El monto del pago debe ser mayor a cero");
+        }
+
+        this.totalCobrado = totalCobrado.add(montoPago);
+        this.cantidadPagos++;
+        this.comisionGenerada = calcularComision();
+        marcarComoActualizado();
+    }
+
+    /**
+     * Calcula la comisión del periodo a partir del total cobrado y la tasa del periodo.
+     * Usa el mismo redondeo que el libro en base de datos.
+     *
+     * @return comisión redondeada a dos decimales
+     */
+    public BigDecimal calcularComision() {
+        if (totalCobrado == null || comisionPorcentaje == null) {
+            return BigDecimal.ZERO;
+        }
+        return totalCobrado.multiply(comisionPorcentaje).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Obtiene el porcentaje de avance sobre la meta mensual.
+     *
+     * @return porcentaje (0-100+) o cero si no hay meta
+     */
+    public BigDecimal getPorcentajeMeta() {
+        if (metaMensual == null || metaMensual.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return totalCobrado.multiply(new BigDecimal("100"))
+                          .divide(metaMensual, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Verifica si el asesor alcanzó su meta mensual.
+     *
+     * @return true si hay meta y el total cobrado la alcanza
+     */
+    public boolean metaAlcanzada() {
+        return metaMensual != null && metaMensual.compareTo(BigDecimal.ZERO) > 0 &&
+               totalCobrado.compareTo(metaMensual) >= 0;
+    }
+
+    /**
+     * Cierra el periodo; a partir de aquí no admite más pagos.
+     */
+    public void cerrar() {
+        if (!cerrado) {
+            this.cerrado = true;
+            this.fechaCierre = LocalDateTime.now();
+            marcarComoActualizado();
+        }
+    }
+
+    /**
+     * Obtiene el periodo (año y mes) del registro.
+     *
+     * @return periodo
+     */
+    public YearMonth getPeriodo() {
+        return YearMonth.of(anio, mes);
+    }
+
+    /**
+     * Marca el registro como actualizado.
+     */
+    public void marcarComoActualizado() {
+        this.fechaActualizacion = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getAsesorId() {
+        return asesorId;
+    }
+
+    public void setAsesorId(Integer asesorId) {
+        this.asesorId = asesorId;
+    }
+
+    public int getAnio() {
+        return anio;
+    }
+
+    public void setAnio(int anio) {
+        this.anio = anio;
+    }
+
+    public int getMes() {
+        return mes;
+    }
+
+    public void setMes(int mes) {
+        this.mes = mes;
+    }
+
+    public BigDecimal getTotalCobrado() {
+        return totalCobrado;
+    }
+
+    public void setTotalCobrado(BigDecimal totalCobrado) {
+        this.totalCobrado = totalCobrado;
+    }
+
+    public int getCantidadPagos() {
+        return cantidadPagos;
+    }
+
+    public void setCantidadPagos(int cantidadPagos) {
+        this.cantidadPagos = cantidadPagos;
+    }
+
+    public BigDecimal getComisionPorcentaje() {
+        return comisionPorcentaje;
+    }
+
+    public void setComisionPorcentaje(BigDecimal comisionPorcentaje) {
+        this.comisionPorcentaje = comisionPorcentaje;
+    }
+
+    public BigDecimal getComisionGenerada() {
+        return comisionGenerada;
+    }
+
+    public void setComisionGenerada(BigDecimal comisionGenerada) {
+        this.comisionGenerada = comisionGenerada;
+    }
+
+    public BigDecimal getMetaMensual() {
+        return metaMensual;
+    }
+
+    public void setMetaMensual(BigDecimal metaMensual) {
+        this.metaMensual = metaMensual;
+    }
+
+    public boolean isCerrado() {
+        return cerrado;
+    }
+
+    public void setCerrado(boolean cerrado) {
+        this.cerrado = cerrado;
+    }
+
+    public LocalDateTime getFechaCierre() {
+        return fechaCierre;
+    }
+
+    public void setFechaCierre(LocalDateTime fechaCierre) {
+        this.fechaCierre = fechaCierre;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
+    // equals, hashCode y toString
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ComisionMensual that = (ComisionMensual) o;
+        return anio == that.anio && mes == that.mes && Objects.equals(asesorId, that.asesorId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asesorId, anio, mes);
+    }
+
+    @Override
+    public String toString() {
+        return "ComisionMensual{" +
+                "asesorId=" + asesorId +
+                ", periodo=" + getPeriodo() +
+                ", totalCobrado=" + totalCobrado +
+                ", cantidadPagos=" + cantidadPagos +
+                ", comisionGenerada=" + comisionGenerada +
+                ", cerrado=" + cerrado +
+                '}';
+    }
+}
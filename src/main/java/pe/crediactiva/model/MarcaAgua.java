@@ -0,0 +1,17 @@
+package pe.crediactiva.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de partida de una sincronización por cambios: la hora del servidor de
+ * base de datos al consultar y el total de filas de la tabla en ese momento.
+ * Se usa la hora del servidor y no la del equipo para que varios escritorios
+ * compartan el mismo reloj.
+ *
+ * @param fecha hora actual del servidor de base de datos
+ * @param totalFilas filas de la tabla
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record MarcaAgua(LocalDateTime fecha, long totalFilas) {
+}
@@ -1,6 +1,7 @@
 package pe.crediactiva.model;
 
 import pe.crediactiva.model.enums.EstadoPrestamo;
+import pe.crediactiva.util.DateUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -96,7 +97,38 @@ public class Prestamo {
         this.cuotaMensual = numerador.divide(denominador, 2, java.math.RoundingMode.HALF_UP);
         this.montoTotal = this.cuotaMensual.multiply(new BigDecimal(plazoMeses));
     }
-    
+
+    /**
+     * Genera el cronograma de pagos con la cuota del sistema francés.
+     * Los vencimientos son mensuales desde la fecha de desembolso, sin domingos.
+     * La última cuota absorbe el redondeo para dejar el saldo en cero.
+     * Actualiza también las fechas de primer y último vencimiento.
+     *
+     * @return cuotas del préstamo (vacío si faltan datos)
+     */
+    public List<CronogramaPago> generarCronograma() {
+        List<CronogramaPago> cuotas = new ArrayList<>();
+        if (montoPrestamo == null || plazoMeses == null || plazoMeses <= 0 || fechaDesembolso == null) {
+            return cuotas;
+        }
+
+        BigDecimal tasa = tasaInteresMensual != null ? tasaInteresMensual : BigDecimal.ZERO;
+        BigDecimal saldo = montoPrestamo;
+        for (int numero = 1; numero <= plazoMeses; numero++) {
+            BigDecimal interes = saldo.multiply(tasa).setScale(2, java.math.RoundingMode.HALF_UP);
+            BigDecimal capital = numero == plazoMeses ? saldo : cuotaMensual.subtract(interes);
+            saldo = saldo.subtract(capital);
+
+            cuotas.add(new CronogramaPago(id, numero,
+                                          DateUtils.agregarMesesSinDomingo(fechaDesembolso, numero),
+                                          capital.add(interes), capital, interes, saldo));
+        }
+
+        this.fechaPrimerVencimiento = cuotas.get(0).getFechaVencimiento();
+        this.fechaUltimoVencimiento = cuotas.get(cuotas.size() - 1).getFechaVencimiento();
+        return cuotas;
+    }
+
     /**
      * Calcula la deuda actual del préstamo.
      * 
@@ -68,8 +68,31 @@ public class Usuario {
      * @return true si el usuario tiene el rol
      */
     public boolean tieneRol(TipoRol tipoRol) {
-        return roles != null && roles.stream()
-                .anyMatch(rol -> rol.getNombre().equalsIgnoreCase(tipoRol.name()) && rol.isActivo());
+        return (getMascaraRoles() & tipoRol.getBit()) != 0;
+    }
+    
+    /**
+     * Calcula la máscara de bits de los roles activos del usuario (ver
+     * {@link TipoRol#getBit()}). Se recorre la lista en cada llamada porque
+     * los roles pueden cambiar; SessionManager guarda la máscara al iniciar
+     * sesión para no recalcularla en cada verificación.
+     * 
+     * @return máscara de roles activos; 0 si no tiene ninguno
+     */
+    public int getMascaraRoles() {
+        int mascara = 0;
+        if (roles != null) {
+            for (int i = 0; i < roles.size(); i++) {
+                Rol rol = roles.get(i);
+                if (rol.isActivo()) {
+                    TipoRol tipo = TipoRol.buscarPorCodigo(rol.getNombre());
+                    if (tipo != null) {
+                        mascara |= tipo.getBit();
+                    }
+                }
+            }
+        }
+        return mascara;
     }
     
     /**
@@ -125,6 +148,31 @@ public class Usuario {
         }
     }
     
+    /**
+     * Crea una copia del usuario con otra lista de roles; el original no cambia.
+     * 
+     * @param roles roles de la copia
+     * @return copia del usuario
+     */
+    public Usuario conRoles(List<Rol> roles) {
+        Usuario copia = new Usuario();
+        copia.id = id;
+        copia.username = username;
+        copia.email = email;
+        copia.passwordHash = passwordHash;
+        copia.nombres = nombres;
+        copia.apellidos = apellidos;
+        copia.documentoIdentidad = documentoIdentidad;
+        copia.telefono = telefono;
+        copia.direccion = direccion;
+        copia.activo = activo;
+        copia.ultimoLogin = ultimoLogin;
+        copia.fechaCreacion = fechaCreacion;
+        copia.fechaActualizacion = fechaActualizacion;
+        copia.roles = new ArrayList<>(roles);
+        return copia;
+    }
+    
     /**
      * Actualiza la fecha de último login.
      */
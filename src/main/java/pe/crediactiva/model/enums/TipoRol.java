@@ -12,12 +12,16 @@ public enum TipoRol {
     ASESOR("Asesor", "Creación de solicitudes, gestión de clientes y seguimiento de préstamos"),
     CLIENTE("Cliente", "Acceso a información personal de préstamos y solicitudes");
     
+    private static final TipoRol[] VALORES = values();
+    
     private final String nombre;
     private final String descripcion;
+    private final int bit;
     
     TipoRol(String nombre, String descripcion) {
         this.nombre = nombre;
         this.descripcion = descripcion;
+        this.bit = 1 << ordinal();
     }
     
     public String getNombre() {
@@ -28,6 +32,34 @@ public enum TipoRol {
         return descripcion;
     }
     
+    /**
+     * Obtiene el bit del rol dentro de una máscara de roles.
+     * 
+     * @return máscara con solo este rol
+     */
+    public int getBit() {
+        return bit;
+    }
+    
+    /**
+     * Obtiene el TipoRol a partir del nombre guardado en la tabla roles
+     * (ADMINISTRADOR, ASESOR, CLIENTE), sin distinguir mayúsculas.
+     * 
+     * @param codigo nombre del rol en la base de datos
+     * @return el TipoRol correspondiente o null si no es un rol del sistema
+     */
+    public static TipoRol buscarPorCodigo(String codigo) {
+        if (codigo == null) {
+            return null;
+        }
+        for (TipoRol tipo : VALORES) {
+            if (tipo.name().equalsIgnoreCase(codigo)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Obtiene el TipoRol a partir de su nombre.
      * 
@@ -0,0 +1,26 @@
+package pe.crediactiva.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monótono para el registro de métricas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class Contador {
+
+    private final LongAdder valor = new LongAdder();
+
+    public void incrementar() {
+        valor.increment();
+    }
+
+    public void incrementar(long cantidad) {
+        valor.add(cantidad);
+    }
+
+    public long getValor() {
+        return valor.sum();
+    }
+}
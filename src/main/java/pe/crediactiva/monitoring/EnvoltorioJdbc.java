@@ -0,0 +1,333 @@
+package pe.crediactiva.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Proxies JDBC usados por MonitorConsultas. Cada objeto envuelto delega en el
+ * original y solo intercepta los métodos que se miden; el resto pasa directo.
+ * También emiten los eventos JFR de consultas SQL y completan el evento de la
+ * llamada a DAO en curso.
+ *
+ * En el ResultSet cada getter de columna también pasa por el Proxy; por eso el
+ * monitor está desactivado por defecto (db.monitor.enabled) y se activa para
+ * diagnosticar.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class EnvoltorioJdbc {
+
+    private static final ClassLoader CARGADOR = EnvoltorioJdbc.class.getClassLoader();
+
+    private EnvoltorioJdbc() {
+        // Clase de utilidad
+    }
+
+    static Connection conexion(MonitorConsultas monitor, Connection connection, MonitorConsultas.Operacion operacion) {
+        ManejadorConexion manejador = new ManejadorConexion(monitor, connection, operacion);
+        Connection proxy = (Connection) Proxy.newProxyInstance(CARGADOR, new Class<?>[]{Connection.class}, manejador);
+        manejador.proxy = proxy;
+        return proxy;
+    }
+
+    private static Object invocar(Object destino, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Resuelve equals/hashCode/toString/unwrap/isWrapperFor sobre el proxy.
+     * Devuelve null si el método no es uno de ellos.
+     */
+    private static Object metodoComun(Object proxy, Object destino, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Monitoreado[" + destino + "]";
+            case "unwrap":
+            case "isWrapperFor":
+                return invocar(destino, method, args);
+            default:
+                return null;
+        }
+    }
+
+    private static final class ManejadorConexion implements InvocationHandler {
+
+        private final MonitorConsultas monitor;
+        private final Connection destino;
+        private final MonitorConsultas.Operacion operacion;
+        private final long inicio = System.nanoTime();
+        private Connection proxy;
+        private boolean cerrada = false;
+
+        ManejadorConexion(MonitorConsultas monitor, Connection destino, MonitorConsultas.Operacion operacion) {
+            this.monitor = monitor;
+            this.destino = destino;
+            this.operacion = operacion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement": {
+                    PreparedStatement statement = (PreparedStatement) invocar(destino, method, args);
+                    return sentencia(statement, PreparedStatement.class, monitor.estadistica((String) args[0]));
+                }
+                case "prepareCall": {
+                    CallableStatement statement = (CallableStatement) invocar(destino, method, args);
+                    return sentencia(statement, CallableStatement.class, monitor.estadistica((String) args[0]));
+                }
+                case "createStatement": {
+                    Statement statement = (Statement) invocar(destino, method, args);
+                    return sentencia(statement, Statement.class, null);
+                }
+                case "close":
+                    cerrar();
+                    return null;
+                default:
+                    Object comun = metodoComun(proxy, destino, method, args);
+                    return comun != null ? comun : invocar(destino, method, args);
+            }
+        }
+
+        private Object sentencia(Statement statement, Class<? extends Statement> tipo, EstadisticaConsulta estadistica) {
+            ManejadorSentencia manejador = new ManejadorSentencia(monitor, this, statement, estadistica);
+            Statement proxy = (Statement) Proxy.newProxyInstance(CARGADOR, new Class<?>[]{tipo}, manejador);
+            manejador.proxy = proxy;
+            return proxy;
+        }
+
+        private void cerrar() throws SQLException {
+            if (cerrada) {
+                return;
+            }
+            cerrada = true;
+            try {
+                destino.close();
+            } finally {
+                monitor.registrarRetencion(System.nanoTime() - inicio);
+                if (operacion != null) {
+                    operacion.finalizar();
+                }
+            }
+        }
+    }
+
+    private static final class ManejadorSentencia implements InvocationHandler {
+
+        private final MonitorConsultas monitor;
+        private final ManejadorConexion conexion;
+        private final Statement destino;
+        // Fija para sentencias preparadas; en Statement simple se resuelve con el SQL de cada ejecución
+        private final EstadisticaConsulta estadistica;
+        private Statement proxy;
+        private ManejadorResultados resultados;
+
+        ManejadorSentencia(MonitorConsultas monitor, ManejadorConexion conexion,
+                           Statement destino, EstadisticaConsulta estadistica) {
+            this.monitor = monitor;
+            this.conexion = conexion;
+            this.destino = destino;
+            this.estadistica = estadistica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "executeQuery":
+                    return consultar(method, args);
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return ejecutar(method, args);
+                case "getConnection":
+                    return conexion.proxy;
+                case "getResultSet":
+                case "getGeneratedKeys":
+                    return resultados((ResultSet) invocar(destino, method, args), null, null, null);
+                case "close":
+                    registrarFilas();
+                    return invocar(destino, method, args);
+                default:
+                    Object comun = metodoComun(proxy, destino, method, args);
+                    return comun != null ? comun : invocar(destino, method, args);
+            }
+        }
+
+        private Object consultar(Method method, Object[] args) throws Throwable {
+            EstadisticaConsulta actual = resolver(args);
+            EventoConsultaSql evento = iniciarEvento(actual);
+            ResultSet resultSet;
+            try {
+                resultSet = (ResultSet) medir(actual, method, args);
+            } catch (Throwable e) {
+                evento.commit();
+                throw e;
+            }
+            registrarFilas();
+            return resultados(resultSet, actual, evento, InstrumentadorDao.getLlamadaActual());
+        }
+
+        private Object ejecutar(Method method, Object[] args) throws Throwable {
+            EstadisticaConsulta actual = resolver(args);
+            EventoConsultaSql evento = iniciarEvento(actual);
+            try {
+                Object resultado = medir(actual, method, args);
+                evento.exitosa = true;
+                evento.filas = filasAfectadas(resultado);
+                EventoLlamadaDao llamada = InstrumentadorDao.getLlamadaActual();
+                if (llamada != null) {
+                    llamada.registrarFilas(evento.filas);
+                }
+                return resultado;
+            } finally {
+                evento.commit();
+            }
+        }
+
+        private Object medir(EstadisticaConsulta actual, Method method, Object[] args) throws Throwable {
+            EventoLlamadaDao llamada = InstrumentadorDao.getLlamadaActual();
+            if (llamada != null) {
+                llamada.registrarConsulta(actual.getPlantilla());
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                Object resultado = invocar(destino, method, args);
+                monitor.registrarEjecucion(actual, System.nanoTime() - inicio, conexion.operacion);
+                return resultado;
+            } catch (Throwable e) {
+                actual.registrarError();
+                throw e;
+            }
+        }
+
+        private EventoConsultaSql iniciarEvento(EstadisticaConsulta actual) {
+            EventoConsultaSql evento = new EventoConsultaSql();
+            if (evento.isEnabled()) {
+                evento.plantilla = actual.getPlantilla();
+                evento.begin();
+            }
+            return evento;
+        }
+
+        private long filasAfectadas(Object resultado) {
+            if (resultado instanceof Number numero) {
+                return Math.max(0, numero.longValue());
+            }
+            long total = 0;
+            if (resultado instanceof int[] lote) {
+                for (int filas : lote) {
+                    total += Math.max(0, filas);
+                }
+            } else if (resultado instanceof long[] lote) {
+                for (long filas : lote) {
+                    total += Math.max(0, filas);
+                }
+            }
+            return total;
+        }
+
+        private EstadisticaConsulta resolver(Object[] args) {
+            if (estadistica != null) {
+                return estadistica;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : "(lote)";
+            return monitor.estadistica(sql);
+        }
+
+        // Sin estadística el resultado solo se envuelve para que getStatement devuelva la sentencia envuelta
+        private ResultSet resultados(ResultSet resultSet, EstadisticaConsulta actual,
+                                     EventoConsultaSql evento, EventoLlamadaDao llamada) {
+            if (resultSet == null) {
+                return null;
+            }
+            ManejadorResultados manejador = new ManejadorResultados(resultSet, proxy, actual, evento, llamada);
+            if (actual != null) {
+                resultados = manejador;
+            }
+            return (ResultSet) Proxy.newProxyInstance(CARGADOR, new Class<?>[]{ResultSet.class}, manejador);
+        }
+
+        private void registrarFilas() {
+            if (resultados != null) {
+                resultados.registrarFilas();
+                resultados = null;
+            }
+        }
+    }
+
+    private static final class ManejadorResultados implements InvocationHandler {
+
+        private final ResultSet destino;
+        private final Statement sentencia;
+        // Null en los resultados que no se miden (claves generadas, getResultSet)
+        private final EstadisticaConsulta estadistica;
+        private final EventoConsultaSql evento;
+        private final EventoLlamadaDao llamada;
+        private long filas = 0;
+        private boolean registrado = false;
+
+        ManejadorResultados(ResultSet destino, Statement sentencia, EstadisticaConsulta estadistica,
+                            EventoConsultaSql evento, EventoLlamadaDao llamada) {
+            this.destino = destino;
+            this.sentencia = sentencia;
+            this.estadistica = estadistica;
+            this.evento = evento;
+            this.llamada = llamada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    Object hayFila = invocar(destino, method, args);
+                    if (Boolean.TRUE.equals(hayFila)) {
+                        filas++;
+                    }
+                    return hayFila;
+                }
+                case "getStatement":
+                    return sentencia;
+                case "close":
+                    registrarFilas();
+                    return invocar(destino, method, args);
+                default:
+                    Object comun = metodoComun(proxy, destino, method, args);
+                    return comun != null ? comun : invocar(destino, method, args);
+            }
+        }
+
+        void registrarFilas() {
+            if (registrado || estadistica == null) {
+                return;
+            }
+            registrado = true;
+            estadistica.registrarFilas(filas);
+            if (llamada != null) {
+                llamada.registrarFilas(filas);
+            }
+            evento.filas = filas;
+            evento.exitosa = true;
+            evento.commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package pe.crediactiva.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas acumuladas de una plantilla SQL: latencia, filas devueltas,
+ * errores, ejecuciones lentas y sospechas de N+1.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class EstadisticaConsulta {
+
+    private final String plantilla;
+    private final HistogramaLatencia latencia = new HistogramaLatencia();
+    private final LongAdder filas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder lentas = new LongAdder();
+    private final LongAdder sospechasNMasUno = new LongAdder();
+
+    EstadisticaConsulta(String plantilla) {
+        this.plantilla = plantilla;
+    }
+
+    void registrarFilas(long cantidad) {
+        filas.add(cantidad);
+    }
+
+    void registrarError() {
+        errores.increment();
+    }
+
+    void registrarLenta() {
+        lentas.increment();
+    }
+
+    void registrarSospechaNMasUno() {
+        sospechasNMasUno.increment();
+    }
+
+    public String getPlantilla() {
+        return plantilla;
+    }
+
+    public HistogramaLatencia getLatencia() {
+        return latencia;
+    }
+
+    public long getEjecuciones() {
+        return latencia.getCantidad();
+    }
+
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    public long getLentas() {
+        return lentas.sum();
+    }
+
+    public long getSospechasNMasUno() {
+        return sospechasNMasUno.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d ejec. | prom %.2f ms | p95 %.2f ms | máx %.2f ms | %,d filas | %s",
+                             getEjecuciones(), latencia.getPromedioMs(), latencia.getPercentilMs(95),
+                             latencia.getMaximoNanos() / 1e6, getFilas(), plantilla);
+    }
+}
@@ -0,0 +1,30 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR de un bloqueo del JavaFX Application Thread: el tiempo que una
+ * tarea enviada con Platform.runLater esperó para ejecutarse. Solo se registra
+ * si supera el umbral de la grabación.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@Name("pe.crediactiva.BloqueoHiloFx")
+@Label("Bloqueo del hilo de JavaFX")
+@Category({"CrediActiva", "Interfaz"})
+@Description("Demora del JavaFX Application Thread en atender tareas pendientes")
+@Threshold("200 ms")
+@StackTrace(false)
+public class EventoBloqueoHiloFx extends Event {
+
+    @Label("Pila del hilo de JavaFX")
+    @Description("Muestra tomada mientras el hilo estaba bloqueado")
+    String pila;
+}
@@ -0,0 +1,33 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una sentencia SQL. En consultas la duración incluye la lectura
+ * del ResultSet hasta su cierre; en actualizaciones, solo la ejecución.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@Name("pe.crediactiva.ConsultaSql")
+@Label("Consulta SQL")
+@Category({"CrediActiva", "Base de datos"})
+@Description("Ejecución de una sentencia JDBC agrupada por plantilla")
+@StackTrace(false)
+public class EventoConsultaSql extends Event {
+
+    @Label("Plantilla SQL")
+    String plantilla;
+
+    @Label("Filas")
+    @Description("Filas leídas o afectadas")
+    long filas;
+
+    @Label("Exitosa")
+    boolean exitosa;
+}
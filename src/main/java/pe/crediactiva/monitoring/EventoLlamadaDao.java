@@ -0,0 +1,52 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una llamada a un DAO. Incluye la primera plantilla SQL
+ * ejecutada, la cantidad de consultas y las filas leídas durante la llamada.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@Name("pe.crediactiva.LlamadaDao")
+@Label("Llamada a DAO")
+@Category({"CrediActiva", "Base de datos"})
+@Description("Duración de un método de DAO con las consultas que ejecutó")
+@StackTrace(false)
+public class EventoLlamadaDao extends Event {
+
+    @Label("DAO")
+    String dao;
+
+    @Label("Método")
+    String metodo;
+
+    @Label("Plantilla SQL")
+    @Description("Primera consulta ejecutada por el método, sin valores")
+    String plantillaSql;
+
+    @Label("Consultas")
+    int consultas;
+
+    @Label("Filas")
+    long filas;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    void registrarConsulta(String plantilla) {
+        if (consultas++ == 0) {
+            plantillaSql = plantilla;
+        }
+    }
+
+    void registrarFilas(long cantidad) {
+        filas += cantidad;
+    }
+}
@@ -0,0 +1,64 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una operación de servicio relevante para el perfilado
+ * (autenticación, creación de usuarios, asignación de roles).
+ *
+ * <pre>
+ * EventoOperacionServicio evento = EventoOperacionServicio.iniciar("UsuarioService.autenticar");
+ * try {
+ *     ...
+ *     evento.marcarExitosa();
+ * } finally {
+ *     evento.finalizar();
+ * }
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+@Name("pe.crediactiva.OperacionServicio")
+@Label("Operación de servicio")
+@Category({"CrediActiva", "Servicios"})
+@StackTrace(false)
+public class EventoOperacionServicio extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    /**
+     * Crea el evento e inicia su medición. Si no hay una grabación que lo
+     * incluya, no hace nada más que la asignación.
+     *
+     * @param operacion nombre de la operación, en la forma Servicio.metodo
+     * @return evento iniciado
+     */
+    public static EventoOperacionServicio iniciar(String operacion) {
+        EventoOperacionServicio evento = new EventoOperacionServicio();
+        if (evento.isEnabled()) {
+            evento.operacion = operacion;
+            evento.begin();
+        }
+        return evento;
+    }
+
+    public void marcarExitosa() {
+        exitosa = true;
+    }
+
+    /**
+     * Termina la medición y registra el evento.
+     */
+    public void finalizar() {
+        commit();
+    }
+}
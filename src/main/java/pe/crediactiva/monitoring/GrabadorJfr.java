@@ -0,0 +1,105 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Graba la aplicación con JDK Flight Recorder durante un tiempo fijo y guarda
+ * el archivo .jfr en el directorio indicado. Usa la configuración "profile" del
+ * JDK más los eventos propios de CrediActiva.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class GrabadorJfr {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrabadorJfr.class);
+
+    private static final DateTimeFormatter FORMATO_ARCHIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directorio;
+    private final long umbralBloqueoFxMs;
+    private Recording grabacion;
+
+    public GrabadorJfr(Path directorio, long umbralBloqueoFxMs) {
+        this.directorio = directorio;
+        this.umbralBloqueoFxMs = umbralBloqueoFxMs;
+    }
+
+    /**
+     * Inicia una grabación.
+     *
+     * @param duracion duración de la grabación
+     * @return futuro que se completa con el archivo generado al terminar
+     * @throws IllegalStateException si ya hay una grabación en curso
+     * @throws IOException si no se puede crear el directorio o leer la configuración
+     */
+    public synchronized CompletableFuture<Path> grabar(Duration duracion) throws IOException {
+        if (isGrabando()) {
+            throw new IllegalStateException("Ya hay una grabación en curso");
+        }
+
+        Files.createDirectories(directorio);
+        Path destino = directorio.resolve("crediactiva-" + LocalDateTime.now().format(FORMATO_ARCHIVO) + ".jfr");
+
+        Recording nueva;
+        try {
+            nueva = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Configuración de JFR inválida", e);
+        }
+        nueva.setName("CrediActiva");
+        nueva.enable(EventoLlamadaDao.class);
+        nueva.enable(EventoConsultaSql.class);
+        nueva.enable(EventoOperacionServicio.class);
+        nueva.enable(EventoBloqueoHiloFx.class).withThreshold(Duration.ofMillis(umbralBloqueoFxMs));
+        nueva.setDestination(destino);
+        nueva.setDuration(duracion);
+
+        CompletableFuture<Path> resultado = new CompletableFuture<>();
+        FlightRecorderListener oyente = new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                if (recording == nueva && recording.getState() == RecordingState.CLOSED) {
+                    FlightRecorder.removeListener(this);
+                    if (Files.exists(destino)) {
+                        logger.info("Grabación JFR guardada en {}", destino);
+                        resultado.complete(destino);
+                    } else {
+                        resultado.completeExceptionally(new IOException("No se generó el archivo " + destino));
+                    }
+                }
+            }
+        };
+        FlightRecorder.addListener(oyente);
+
+        grabacion = nueva;
+        nueva.start();
+        logger.info("Grabación JFR iniciada por {} s", duracion.toSeconds());
+        return resultado;
+    }
+
+    /**
+     * Indica si hay una grabación en curso.
+     *
+     * @return true mientras la grabación no termina
+     */
+    public synchronized boolean isGrabando() {
+        return grabacion != null && grabacion.getState() != RecordingState.CLOSED
+               && grabacion.getState() != RecordingState.STOPPED;
+    }
+}
@@ -0,0 +1,115 @@
+package pe.crediactiva.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas fijas, seguro para hilos y sin
+ * asignaciones al registrar. Los límites siguen la escala 1-2,5-5 usada por
+ * la mayoría de herramientas de métricas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class HistogramaLatencia {
+
+    private static final long[] LIMITES_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+    };
+
+    // Una cubeta por límite más la de desbordamiento
+    private final AtomicLongArray cubetas = new AtomicLongArray(LIMITES_MICROS.length + 1);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder sumaNanos = new LongAdder();
+    private final AtomicLong maximoNanos = new AtomicLong();
+
+    /**
+     * Registra una medición.
+     *
+     * @param nanos duración en nanosegundos
+     */
+    public void registrar(long nanos) {
+        long micros = nanos / 1_000;
+        int i = 0;
+        while (i < LIMITES_MICROS.length && micros > LIMITES_MICROS[i]) {
+            i++;
+        }
+        cubetas.incrementAndGet(i);
+        cantidad.increment();
+        sumaNanos.add(nanos);
+        maximoNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCantidad() {
+        return cantidad.sum();
+    }
+
+    public long getSumaNanos() {
+        return sumaNanos.sum();
+    }
+
+    public long getMaximoNanos() {
+        return maximoNanos.get();
+    }
+
+    /**
+     * Obtiene la latencia promedio.
+     *
+     * @return promedio en milisegundos, o cero sin mediciones
+     */
+    public double getPromedioMs() {
+        long n = getCantidad();
+        return n == 0 ? 0 : getSumaNanos() / 1e6 / n;
+    }
+
+    /**
+     * Estima un percentil como el límite superior de la cubeta que lo contiene.
+     *
+     * @param percentil valor entre 0 y 100
+     * @return latencia en milisegundos; para la cubeta de desbordamiento, el máximo observado
+     */
+    public double getPercentilMs(double percentil) {
+        long total = 0;
+        long[] conteos = getCubetas();
+        for (long conteo : conteos) {
+            total += conteo;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long objetivo = (long) Math.ceil(total * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return i < LIMITES_MICROS.length ? LIMITES_MICROS[i] / 1_000.0 : getMaximoNanos() / 1e6;
+            }
+        }
+        return getMaximoNanos() / 1e6;
+    }
+
+    /**
+     * Obtiene los conteos de cada cubeta (no acumulados).
+     *
+     * @return conteos; el último elemento es la cubeta de desbordamiento
+     */
+    public long[] getCubetas() {
+        long[] copia = new long[cubetas.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = cubetas.get(i);
+        }
+        return copia;
+    }
+
+    /**
+     * Obtiene los límites superiores de las cubetas.
+     *
+     * @return límites en microsegundos
+     */
+    public static long[] getLimitesMicros() {
+        return LIMITES_MICROS.clone();
+    }
+}
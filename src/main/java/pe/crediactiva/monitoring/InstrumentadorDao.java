@@ -0,0 +1,112 @@
+package pe.crediactiva.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envuelve un DAO para medir cada llamada a su interfaz: registra la duración
+ * en crediactiva_dao_llamada_segundos y, con una grabación JFR activa, emite un
+ * {@link EventoLlamadaDao}. Las consultas que ejecuta la llamada se asocian al
+ * evento a través del hilo actual (ver EnvoltorioJdbc).
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class InstrumentadorDao {
+
+    private static final ThreadLocal<EventoLlamadaDao> llamadaActual = new ThreadLocal<>();
+    private static final Map<Method, MetricasMetodo> metricasPorMetodo = new ConcurrentHashMap<>();
+
+    private InstrumentadorDao() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Envuelve un DAO.
+     *
+     * @param interfaz interfaz del DAO
+     * @param dao implementación
+     * @return proxy que implementa la interfaz
+     */
+    public static <T> T instrumentar(Class<T> interfaz, T dao) {
+        String nombre = interfaz.getSimpleName();
+        InvocationHandler manejador = (proxy, method, args) -> invocar(nombre, dao, method, args);
+        return interfaz.cast(Proxy.newProxyInstance(interfaz.getClassLoader(), new Class<?>[]{interfaz}, manejador));
+    }
+
+    private static Object invocar(String nombre, Object dao, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invocarDirecto(dao, method, args);
+        }
+
+        MetricasMetodo metricas = metricasPorMetodo.computeIfAbsent(method, m -> new MetricasMetodo(nombre, m.getName()));
+        EventoLlamadaDao evento = new EventoLlamadaDao();
+        boolean conEvento = evento.isEnabled();
+        EventoLlamadaDao anterior = null;
+        if (conEvento) {
+            evento.dao = nombre;
+            evento.metodo = method.getName();
+            anterior = llamadaActual.get();
+            llamadaActual.set(evento);
+            evento.begin();
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = invocarDirecto(dao, method, args);
+            evento.exitosa = true;
+            return resultado;
+        } catch (Throwable e) {
+            metricas.excepciones.incrementar();
+            throw e;
+        } finally {
+            metricas.duracion.registrarDesde(inicio);
+            if (conEvento) {
+                evento.commit();
+                if (anterior != null) {
+                    llamadaActual.set(anterior);
+                } else {
+                    llamadaActual.remove();
+                }
+            }
+        }
+    }
+
+    private static Object invocarDirecto(Object dao, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(dao, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Obtiene el evento de la llamada a DAO en curso en el hilo actual.
+     *
+     * @return evento en curso o null
+     */
+    static EventoLlamadaDao getLlamadaActual() {
+        return llamadaActual.get();
+    }
+
+    /**
+     * Métricas de un método de DAO, obtenidas una sola vez del registro.
+     */
+    private static final class MetricasMetodo {
+
+        private final HistogramaMetrica duracion;
+        private final Contador excepciones;
+
+        MetricasMetodo(String dao, String metodo) {
+            RegistroMetricas registro = RegistroMetricas.getInstance();
+            duracion = registro.histograma("crediactiva_dao_llamada_segundos",
+                                           "Duración de las llamadas a DAO", "dao", dao, "metodo", metodo);
+            excepciones = registro.contador("crediactiva_dao_excepciones_total",
+                                            "Llamadas a DAO que terminaron con excepción", "dao", dao, "metodo", metodo);
+        }
+    }
+}
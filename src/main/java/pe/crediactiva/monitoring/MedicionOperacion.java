@@ -0,0 +1,66 @@
+package pe.crediactiva.monitoring;
+
+/**
+ * Medición de una operación de servicio: emite el evento JFR
+ * {@link EventoOperacionServicio} y registra la duración y el resultado en el
+ * registro de métricas (crediactiva_servicio_operacion_segundos y
+ * crediactiva_servicio_operaciones_total).
+ *
+ * <pre>
+ * MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.autenticar");
+ * try {
+ *     ...
+ *     medicion.marcarExitosa();
+ * } finally {
+ *     medicion.finalizar();
+ * }
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class MedicionOperacion {
+
+    private final String operacion;
+    private final EventoOperacionServicio evento;
+    private final long inicio;
+    private boolean exitosa = false;
+
+    private MedicionOperacion(String operacion) {
+        this.operacion = operacion;
+        this.evento = EventoOperacionServicio.iniciar(operacion);
+        this.inicio = System.nanoTime();
+    }
+
+    /**
+     * Inicia la medición de una operación.
+     *
+     * @param operacion nombre de la operación, en la forma Servicio.metodo
+     * @return medición iniciada
+     */
+    public static MedicionOperacion iniciar(String operacion) {
+        return new MedicionOperacion(operacion);
+    }
+
+    public void marcarExitosa() {
+        exitosa = true;
+        evento.marcarExitosa();
+    }
+
+    /**
+     * Termina la medición y registra el evento y las métricas.
+     */
+    public void finalizar() {
+        long nanos = System.nanoTime() - inicio;
+        evento.finalizar();
+
+        RegistroMetricas registro = RegistroMetricas.getInstance();
+        registro.histograma("crediactiva_servicio_operacion_segundos",
+                            "Duración de las operaciones de servicio", "operacion", operacion)
+                .registrar(nanos);
+        registro.contador("crediactiva_servicio_operaciones_total",
+                          "Operaciones de servicio por resultado",
+                          "operacion", operacion, "resultado", exitosa ? "exitosa" : "fallida")
+                .incrementar();
+    }
+}
@@ -0,0 +1,64 @@
+package pe.crediactiva.monitoring;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.security.RegistroAuditoria;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Medidores del estado de la aplicación: pool de conexiones, circuito de la
+ * base de datos, cola de auditoría y memoria de la JVM. Se leen solo al
+ * exportar, por lo que no tienen costo mientras nadie consulta las métricas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class MetricasSistema {
+
+    private MetricasSistema() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Registra los medidores en el registro de métricas.
+     *
+     * @param registro registro de métricas
+     */
+    public static void registrar(RegistroMetricas registro) {
+        String ayudaPool = "Conexiones del pool de HikariCP por estado";
+        registro.medidor("crediactiva_bd_pool_conexiones", ayudaPool,
+                         () -> leerPool(HikariPoolMXBean::getActiveConnections), "estado", "activas");
+        registro.medidor("crediactiva_bd_pool_conexiones", ayudaPool,
+                         () -> leerPool(HikariPoolMXBean::getIdleConnections), "estado", "inactivas");
+        registro.medidor("crediactiva_bd_pool_hilos_en_espera", "Hilos esperando una conexión del pool",
+                         () -> leerPool(HikariPoolMXBean::getThreadsAwaitingConnection));
+        registro.medidor("crediactiva_bd_disponible", "1 si el circuito de la base de datos está cerrado",
+                         () -> DatabaseConfig.isDisponible() ? 1 : 0);
+
+        RegistroAuditoria auditoria = RegistroAuditoria.getInstance();
+        registro.medidor("crediactiva_auditoria_eventos_en_cola", "Eventos de auditoría pendientes de escritura",
+                         auditoria::getEventosEnCola);
+        registro.medidor("crediactiva_auditoria_eventos_guardados", "Eventos de auditoría guardados desde el inicio",
+                         auditoria::getEventosGuardados);
+
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        String ayudaHeap = "Memoria heap de la JVM";
+        registro.medidor("crediactiva_jvm_heap_bytes", ayudaHeap,
+                         () -> memoria.getHeapMemoryUsage().getUsed(), "estado", "usada");
+        registro.medidor("crediactiva_jvm_heap_bytes", ayudaHeap,
+                         () -> memoria.getHeapMemoryUsage().getMax(), "estado", "maxima");
+        registro.medidor("crediactiva_jvm_hilos", "Hilos activos de la JVM",
+                         () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static double leerPool(ToIntFunction<HikariPoolMXBean> lectura) {
+        if (!DatabaseConfig.isInitialized()) {
+            return 0;
+        }
+        HikariPoolMXBean pool = DatabaseConfig.getDataSource().getHikariPoolMXBean();
+        return pool != null ? lectura.applyAsInt(pool) : 0;
+    }
+}
@@ -0,0 +1,290 @@
+package pe.crediactiva.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Monitor de latencia por consulta SQL.
+ *
+ * Envuelve las conexiones entregadas por DatabaseConfig para medir cada
+ * ejecución, agrupada por plantilla SQL (los literales se reemplazan por "?",
+ * de modo que nunca se registran valores). Además:
+ * <ul>
+ *   <li>Escribe en el logger {@value #LOGGER_CONSULTAS_LENTAS} las ejecuciones
+ *       que superan db.monitor.slow-query-ms.</li>
+ *   <li>Detecta patrones N+1: una misma plantilla ejecutada al menos
+ *       db.monitor.n-plus-one-threshold veces dentro de una operación. La
+ *       operación es el préstamo de la conexión o, si existe, el ámbito abierto
+ *       con {@link #operacion(String)} en el hilo actual.</li>
+ *   <li>Mide el tiempo que cada conexión permanece fuera del pool.</li>
+ * </ul>
+ *
+ * Está desactivado por defecto (db.monitor.enabled=false): los proxies JDBC
+ * agregan una llamada reflexiva a cada método de la conexión y de sus
+ * resultados. Se activa para diagnosticar.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class MonitorConsultas {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorConsultas.class);
+
+    public static final String LOGGER_CONSULTAS_LENTAS = "pe.crediactiva.sql.lento";
+    private static final Logger loggerLentas = LoggerFactory.getLogger(LOGGER_CONSULTAS_LENTAS);
+
+    // Límite de SQL distintos cuya normalización se recuerda (SQL con literales puede variar sin fin)
+    private static final int MAX_SQL_EN_CACHE = 5_000;
+
+    private static final Pattern LITERAL_CADENA = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern LITERAL_NUMERICO = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private static volatile MonitorConsultas instance;
+
+    private final boolean habilitado;
+    private final long umbralLentaNanos;
+    private final int umbralNMasUno;
+
+    private final Map<String, EstadisticaConsulta> porPlantilla = new ConcurrentHashMap<>();
+    private final Map<String, EstadisticaConsulta> porSql = new ConcurrentHashMap<>();
+    private final HistogramaLatencia retencionConexiones = new HistogramaLatencia();
+    private final ThreadLocal<Operacion> operacionActual = new ThreadLocal<>();
+
+    private MonitorConsultas() {
+        this(AppConfig.isDbMonitorEnabled(), AppConfig.getDbMonitorSlowQueryMs(),
+             AppConfig.getDbMonitorNPlusOneThreshold());
+    }
+
+    // Constructor para pruebas y benchmarks
+    MonitorConsultas(boolean habilitado, long umbralLentaMs, int umbralNMasUno) {
+        this.habilitado = habilitado;
+        this.umbralLentaNanos = umbralLentaMs * 1_000_000;
+        this.umbralNMasUno = Math.max(2, umbralNMasUno);
+    }
+
+    /**
+     * Obtiene la instancia única del monitor.
+     *
+     * @return instancia del monitor
+     */
+    public static MonitorConsultas getInstance() {
+        if (instance == null) {
+            synchronized (MonitorConsultas.class) {
+                if (instance == null) {
+                    instance = new MonitorConsultas();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Envuelve una conexión para medir sus consultas. Si el monitor está
+     * deshabilitado devuelve la misma conexión.
+     *
+     * @param connection conexión del pool
+     * @return conexión instrumentada
+     */
+    public Connection envolver(Connection connection) {
+        if (!habilitado || connection == null) {
+            return connection;
+        }
+        // Si ya hay una operación abierta en el hilo, la conexión cuenta dentro de ella
+        Operacion propia = operacionActual.get() == null ? new Operacion(this, "conexión", false) : null;
+        return EnvoltorioJdbc.conexion(this, connection, propia);
+    }
+
+    /**
+     * Abre un ámbito de operación en el hilo actual para la detección de N+1.
+     * Todas las conexiones obtenidas dentro del ámbito cuentan juntas; si ya hay
+     * uno abierto, el nuevo no tiene efecto.
+     *
+     * <pre>
+     * try (MonitorConsultas.Operacion op = MonitorConsultas.getInstance().operacion("cargar usuarios")) {
+     *     ...
+     * }
+     * </pre>
+     *
+     * @param nombre nombre de la operación para los mensajes
+     * @return ámbito que debe cerrarse al terminar
+     */
+    public Operacion operacion(String nombre) {
+        if (!habilitado || operacionActual.get() != null) {
+            return new Operacion(this, nombre, false);
+        }
+        Operacion operacion = new Operacion(this, nombre, true);
+        operacionActual.set(operacion);
+        return operacion;
+    }
+
+    /**
+     * Obtiene las estadísticas de la plantilla correspondiente a un SQL.
+     */
+    EstadisticaConsulta estadistica(String sql) {
+        EstadisticaConsulta estadistica = porSql.get(sql);
+        if (estadistica != null) {
+            return estadistica;
+        }
+        estadistica = porPlantilla.computeIfAbsent(normalizar(sql), EstadisticaConsulta::new);
+        if (porSql.size() < MAX_SQL_EN_CACHE) {
+            porSql.put(sql, estadistica);
+        }
+        return estadistica;
+    }
+
+    /**
+     * Registra una ejecución medida.
+     */
+    void registrarEjecucion(EstadisticaConsulta estadistica, long nanos, Operacion operacionConexion) {
+        estadistica.getLatencia().registrar(nanos);
+
+        Operacion operacion = operacionActual.get();
+        if (operacion == null) {
+            operacion = operacionConexion;
+        }
+        if (operacion != null) {
+            operacion.contar(estadistica);
+        }
+
+        if (nanos >= umbralLentaNanos) {
+            estadistica.registrarLenta();
+            loggerLentas.warn("Consulta lenta ({} ms): {}", nanos / 1_000_000, estadistica.getPlantilla());
+        }
+    }
+
+    /**
+     * Registra el tiempo que una conexión estuvo fuera del pool.
+     */
+    void registrarRetencion(long nanos) {
+        retencionConexiones.registrar(nanos);
+    }
+
+    /**
+     * Reduce un SQL a su plantilla: una sola línea y literales reemplazados por "?".
+     *
+     * @param sql sentencia original
+     * @return plantilla normalizada
+     */
+    static String normalizar(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String plantilla = LITERAL_CADENA.matcher(sql).replaceAll("?");
+        plantilla = LITERAL_NUMERICO.matcher(plantilla).replaceAll("?");
+        return ESPACIOS.matcher(plantilla).replaceAll(" ").trim();
+    }
+
+    /**
+     * Obtiene las estadísticas de todas las plantillas ejecutadas.
+     *
+     * @return lista ordenada por tiempo total descendente
+     */
+    public List<EstadisticaConsulta> getEstadisticas() {
+        List<EstadisticaConsulta> estadisticas = new ArrayList<>(porPlantilla.values());
+        estadisticas.sort(Comparator.comparingLong(
+            (EstadisticaConsulta e) -> e.getLatencia().getSumaNanos()).reversed());
+        return estadisticas;
+    }
+
+    /**
+     * Obtiene el histograma del tiempo de retención de conexiones.
+     *
+     * @return histograma de retención
+     */
+    public HistogramaLatencia getRetencionConexiones() {
+        return retencionConexiones;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Genera un resumen legible de las plantillas con mayor tiempo acumulado.
+     *
+     * @param limite cantidad de plantillas a incluir
+     * @return resumen en varias líneas
+     */
+    public String getResumen(int limite) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Retención de conexiones: %,d préstamos | prom %.2f ms | p95 %.2f ms | máx %.2f ms%n",
+                                retencionConexiones.getCantidad(), retencionConexiones.getPromedioMs(),
+                                retencionConexiones.getPercentilMs(95), retencionConexiones.getMaximoNanos() / 1e6));
+        getEstadisticas().stream().limit(limite).forEach(e -> sb.append("  ").append(e).append(System.lineSeparator()));
+        return sb.toString();
+    }
+
+    /**
+     * Registra el resumen en el log. Se invoca al cerrar la aplicación.
+     */
+    public void registrarResumen() {
+        if (habilitado && !porPlantilla.isEmpty()) {
+            logger.info("Resumen de consultas SQL:{}{}", System.lineSeparator(), getResumen(15));
+        }
+    }
+
+    /**
+     * Descarta todas las estadísticas acumuladas.
+     */
+    public void reiniciar() {
+        porPlantilla.clear();
+        porSql.clear();
+    }
+
+    /**
+     * Ámbito de una operación para la detección de N+1. Cuenta las ejecuciones
+     * por plantilla y al cerrarse advierte las que superan el umbral.
+     */
+    public static final class Operacion implements AutoCloseable {
+
+        private final MonitorConsultas monitor;
+        private final String nombre;
+        private final boolean activa;
+        private final Map<EstadisticaConsulta, int[]> ejecuciones = new HashMap<>();
+        private boolean cerrada = false;
+
+        private Operacion(MonitorConsultas monitor, String nombre, boolean activa) {
+            this.monitor = monitor;
+            this.nombre = nombre;
+            this.activa = activa;
+        }
+
+        private void contar(EstadisticaConsulta estadistica) {
+            ejecuciones.computeIfAbsent(estadistica, e -> new int[1])[0]++;
+        }
+
+        void finalizar() {
+            if (cerrada) {
+                return;
+            }
+            cerrada = true;
+            ejecuciones.forEach((estadistica, conteo) -> {
+                if (conteo[0] >= monitor.umbralNMasUno) {
+                    estadistica.registrarSospechaNMasUno();
+                    logger.warn("Posible N+1 en '{}': la misma consulta se ejecutó {} veces: {}",
+                                nombre, conteo[0], estadistica.getPlantilla());
+                }
+            });
+            ejecuciones.clear();
+        }
+
+        @Override
+        public void close() {
+            if (activa) {
+                monitor.operacionActual.remove();
+                finalizar();
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package pe.crediactiva.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registro de métricas de la aplicación: contadores, medidores e histogramas.
+ *
+ * Cada métrica pertenece a una familia (nombre, tipo y ayuda) y se distingue
+ * por sus etiquetas, que se pasan como pares clave/valor. Pedir dos veces la
+ * misma métrica devuelve la misma instancia, de modo que el código
+ * instrumentado puede obtenerla una vez y guardarla en un campo. El registro
+ * no usa bloqueos: la creación usa mapas concurrentes y la medición, LongAdder.
+ *
+ * <pre>
+ * Contador logins = RegistroMetricas.getInstance()
+ *     .contador("crediactiva_logins_total", "Intentos de login", "resultado", "exitoso");
+ * logins.incrementar();
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class RegistroMetricas {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroMetricas.class);
+
+    /**
+     * Tipos de métrica, con su nombre en el formato de Prometheus.
+     */
+    public enum Tipo {
+        CONTADOR("counter"),
+        MEDIDOR("gauge"),
+        HISTOGRAMA("summary");
+
+        private final String nombrePrometheus;
+
+        Tipo(String nombrePrometheus) {
+            this.nombrePrometheus = nombrePrometheus;
+        }
+
+        public String getNombrePrometheus() {
+            return nombrePrometheus;
+        }
+    }
+
+    private static final double[] CUANTILES = {0.5, 0.9, 0.99};
+
+    private static class Holder {
+        private static final RegistroMetricas INSTANCE = new RegistroMetricas();
+    }
+
+    private final Map<String, Familia> familias = new ConcurrentSkipListMap<>();
+
+    // Constructor para pruebas; la aplicación usa getInstance()
+    RegistroMetricas() {
+    }
+
+    /**
+     * Obtiene la instancia única del registro.
+     *
+     * @return instancia del registro
+     */
+    public static RegistroMetricas getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Obtiene o crea un contador.
+     *
+     * @param nombre nombre de la familia, terminado en _total por convención
+     * @param ayuda descripción de la familia
+     * @param etiquetas pares clave/valor
+     * @return contador
+     */
+    public Contador contador(String nombre, String ayuda, String... etiquetas) {
+        return (Contador) familia(nombre, ayuda, Tipo.CONTADOR).obtener(etiquetas, Contador::new);
+    }
+
+    /**
+     * Obtiene o crea un histograma de duraciones. Se exporta en segundos.
+     *
+     * @param nombre nombre de la familia, terminado en _segundos por convención
+     * @param ayuda descripción de la familia
+     * @param etiquetas pares clave/valor
+     * @return histograma
+     */
+    public HistogramaMetrica histograma(String nombre, String ayuda, String... etiquetas) {
+        return (HistogramaMetrica) familia(nombre, ayuda, Tipo.HISTOGRAMA).obtener(etiquetas, HistogramaMetrica::new);
+    }
+
+    /**
+     * Registra un medidor cuyo valor se lee al exportar. Si ya existe uno con
+     * las mismas etiquetas, se conserva el original.
+     *
+     * @param nombre nombre de la familia
+     * @param ayuda descripción de la familia
+     * @param origen función que devuelve el valor actual
+     * @param etiquetas pares clave/valor
+     */
+    public void medidor(String nombre, String ayuda, DoubleSupplier origen, String... etiquetas) {
+        familia(nombre, ayuda, Tipo.MEDIDOR).obtener(etiquetas, () -> origen);
+    }
+
+    private Familia familia(String nombre, String ayuda, Tipo tipo) {
+        Familia familia = familias.computeIfAbsent(nombre, n -> new Familia(n, ayuda, tipo));
+        if (familia.tipo != tipo) {
+            throw new IllegalArgumentException("La métrica " + nombre + " ya existe como " + familia.tipo);
+        }
+        return familia;
+    }
+
+    /**
+     * Obtiene una foto de todas las métricas, ordenadas por nombre.
+     *
+     * @return lista de valores actuales
+     */
+    public List<ValorMetrica> getValores() {
+        List<ValorMetrica> valores = new ArrayList<>();
+        for (Familia familia : familias.values()) {
+            familia.metricas.forEach((etiquetas, metrica) -> {
+                double valor = leer(familia.tipo, metrica);
+                if (metrica instanceof HistogramaMetrica histograma) {
+                    valores.add(new ValorMetrica(familia.nombre, etiquetas, familia.tipo, valor,
+                                                 histograma.getCantidad(),
+                                                 histograma.getPercentilNanos(50) / 1e6,
+                                                 histograma.getPercentilNanos(99) / 1e6,
+                                                 histograma.getMaximoNanos() / 1e6));
+                } else {
+                    valores.add(new ValorMetrica(familia.nombre, etiquetas, familia.tipo, valor, 0, 0, 0, 0));
+                }
+            });
+        }
+        return valores;
+    }
+
+    /**
+     * Exporta todas las métricas en el formato de texto de Prometheus (0.0.4).
+     * Los histogramas se exportan como summary con cuantiles, suma y cantidad.
+     *
+     * @return texto de exposición
+     */
+    public String exportarPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        for (Familia familia : familias.values()) {
+            sb.append("# HELP ").append(familia.nombre).append(' ').append(escaparAyuda(familia.ayuda)).append('\n');
+            sb.append("# TYPE ").append(familia.nombre).append(' ').append(familia.tipo.getNombrePrometheus()).append('\n');
+            familia.metricas.forEach((etiquetas, metrica) -> {
+                if (metrica instanceof HistogramaMetrica histograma) {
+                    for (double cuantil : CUANTILES) {
+                        linea(sb, familia.nombre, agregarEtiqueta(etiquetas, "quantile", formatear(cuantil)),
+                              histograma.getPercentilNanos(cuantil * 100) / 1e9);
+                    }
+                    linea(sb, familia.nombre + "_sum", etiquetas, histograma.getSumaNanos() / 1e9);
+                    linea(sb, familia.nombre + "_count", etiquetas, histograma.getCantidad());
+                } else {
+                    linea(sb, familia.nombre, etiquetas, leer(familia.tipo, metrica));
+                }
+            });
+        }
+        return sb.toString();
+    }
+
+    private static double leer(Tipo tipo, Object metrica) {
+        switch (tipo) {
+            case CONTADOR:
+                return ((Contador) metrica).getValor();
+            case MEDIDOR:
+                try {
+                    return ((DoubleSupplier) metrica).getAsDouble();
+                } catch (RuntimeException e) {
+                    logger.debug("No se pudo leer un medidor", e);
+                    return Double.NaN;
+                }
+            default:
+                return ((HistogramaMetrica) metrica).getCantidad();
+        }
+    }
+
+    private static void linea(StringBuilder sb, String nombre, String etiquetas, double valor) {
+        sb.append(nombre);
+        if (!etiquetas.isEmpty()) {
+            sb.append('{').append(etiquetas).append('}');
+        }
+        sb.append(' ').append(formatear(valor)).append('\n');
+    }
+
+    private static String formatear(double valor) {
+        if (Double.isNaN(valor)) {
+            return "NaN";
+        }
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            return Long.toString((long) valor);
+        }
+        return String.format(Locale.ROOT, "%.9g", valor).replaceAll("\\.?0+(e|$)", "$1");
+    }
+
+    private static String agregarEtiqueta(String etiquetas, String clave, String valor) {
+        String nueva = clave + "=\"" + valor + "\"";
+        return etiquetas.isEmpty() ? nueva : etiquetas + "," + nueva;
+    }
+
+    static String formatearEtiquetas(String... etiquetas) {
+        if (etiquetas.length % 2 != 0) {
+            throw new IllegalArgumentException("Las etiquetas deben ser pares clave/valor");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < etiquetas.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(etiquetas[i]).append("=\"").append(escaparValor(etiquetas[i + 1])).append('"');
+        }
+        return sb.toString();
+    }
+
+    private static String escaparValor(String valor) {
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escaparAyuda(String ayuda) {
+        return ayuda.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * Familia de métricas con el mismo nombre.
+     */
+    private static final class Familia {
+
+        private final String nombre;
+        private final String ayuda;
+        private final Tipo tipo;
+        private final Map<String, Object> metricas = new ConcurrentSkipListMap<>();
+        // Evita formatear las etiquetas en cada búsqueda desde código instrumentado
+        private final Map<List<String>, Object> porEtiquetas = new ConcurrentHashMap<>();
+
+        Familia(String nombre, String ayuda, Tipo tipo) {
+            this.nombre = nombre;
+            this.ayuda = ayuda;
+            this.tipo = tipo;
+        }
+
+        Object obtener(String[] etiquetas, Supplier<Object> fabrica) {
+            List<String> clave = List.of(etiquetas);
+            Object metrica = porEtiquetas.get(clave);
+            if (metrica != null) {
+                return metrica;
+            }
+            metrica = metricas.computeIfAbsent(formatearEtiquetas(etiquetas), e -> fabrica.get());
+            porEtiquetas.putIfAbsent(clave, metrica);
+            return metrica;
+        }
+    }
+
+    /**
+     * Valor de una métrica en un instante, para la pantalla de diagnóstico.
+     * Los percentiles y el máximo están en milisegundos y solo aplican a histogramas.
+     */
+    public static final class ValorMetrica {
+
+        private final String nombre;
+        private final String etiquetas;
+        private final Tipo tipo;
+        private final double valor;
+        private final long cantidad;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double maximoMs;
+
+        ValorMetrica(String nombre, String etiquetas, Tipo tipo, double valor,
+                     long cantidad, double p50Ms, double p99Ms, double maximoMs) {
+            this.nombre = nombre;
+            this.etiquetas = etiquetas;
+            this.tipo = tipo;
+            this.valor = valor;
+            this.cantidad = cantidad;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+            this.maximoMs = maximoMs;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getEtiquetas() {
+            return etiquetas;
+        }
+
+        public Tipo getTipo() {
+            return tipo;
+        }
+
+        public double getValor() {
+            return valor;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public double getMaximoMs() {
+            return maximoMs;
+        }
+    }
+}
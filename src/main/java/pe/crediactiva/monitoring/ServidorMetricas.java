@@ -0,0 +1,104 @@
+package pe.crediactiva.monitoring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local que expone el registro de métricas en /metrics con el
+ * formato de texto de Prometheus. Escucha solo en la interfaz de loopback, de
+ * modo que únicamente un agente en el mismo equipo puede consultarlo.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ServidorMetricas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServidorMetricas.class);
+
+    private static final String RUTA = "/metrics";
+    private static final String TIPO_CONTENIDO = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final RegistroMetricas registro;
+    private HttpServer servidor;
+    private ExecutorService ejecutor;
+
+    public ServidorMetricas(RegistroMetricas registro) {
+        this.registro = registro;
+    }
+
+    /**
+     * Inicia el servidor.
+     *
+     * @param puerto puerto local; 0 para elegir uno libre
+     * @throws IOException si el puerto no está disponible
+     */
+    public synchronized void iniciar(int puerto) throws IOException {
+        if (servidor != null) {
+            return;
+        }
+        HttpServer nuevo = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        nuevo.createContext(RUTA, this::atender);
+        ejecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "servidor-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        nuevo.setExecutor(ejecutor);
+        nuevo.start();
+        servidor = nuevo;
+        logger.info("Métricas disponibles en http://{}:{}{}",
+                    InetAddress.getLoopbackAddress().getHostAddress(), getPuerto(), RUTA);
+    }
+
+    /**
+     * Detiene el servidor.
+     */
+    public synchronized void detener() {
+        if (servidor != null) {
+            servidor.stop(0);
+            ejecutor.shutdownNow();
+            servidor = null;
+            ejecutor = null;
+        }
+    }
+
+    /**
+     * Obtiene el puerto en que escucha el servidor.
+     *
+     * @return puerto, o -1 si no está iniciado
+     */
+    public synchronized int getPuerto() {
+        return servidor != null ? servidor.getAddress().getPort() : -1;
+    }
+
+    public synchronized boolean isActivo() {
+        return servidor != null;
+    }
+
+    private void atender(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            if (!"GET".equals(intercambio.getRequestMethod()) || !RUTA.equals(intercambio.getRequestURI().getPath())) {
+                intercambio.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] cuerpo = registro.exportarPrometheus().getBytes(StandardCharsets.UTF_8);
+            intercambio.getResponseHeaders().set("Content-Type", TIPO_CONTENIDO);
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Error al exportar métricas", e);
+        }
+    }
+}
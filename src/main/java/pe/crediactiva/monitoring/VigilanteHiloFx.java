@@ -0,0 +1,111 @@
+package pe.crediactiva.monitoring;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila el JavaFX Application Thread para detectar bloqueos.
+ *
+ * Cada intervalo envía una tarea vacía con Platform.runLater y mide cuánto
+ * tarda en ejecutarse; esa espera se registra como {@link EventoBloqueoHiloFx}.
+ * Mientras la tarea está pendiente por más del umbral se toma una muestra de
+ * la pila del hilo de JavaFX, que se adjunta al evento. Sin una grabación JFR
+ * que incluya el evento no se envía nada al hilo de JavaFX.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class VigilanteHiloFx {
+
+    private static final Logger logger = LoggerFactory.getLogger(VigilanteHiloFx.class);
+
+    private static final long INTERVALO_MS = 100;
+    private static final int MAX_MARCOS_PILA = 15;
+
+    private final long umbralNanos;
+    private ScheduledExecutorService programador;
+
+    private volatile Thread hiloFx;
+    private volatile long pendienteDesde = 0;
+    private volatile String pilaMuestreada;
+
+    public VigilanteHiloFx(long umbralMs) {
+        this.umbralNanos = umbralMs * 1_000_000;
+    }
+
+    /**
+     * Inicia la vigilancia en un hilo de fondo.
+     */
+    public synchronized void iniciar() {
+        if (programador != null) {
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "vigilante-fx");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(this::revisar, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+        logger.debug("Vigilancia del hilo de JavaFX iniciada (umbral {} ms)", umbralNanos / 1_000_000);
+    }
+
+    /**
+     * Detiene la vigilancia.
+     */
+    public synchronized void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+            programador = null;
+        }
+    }
+
+    private void revisar() {
+        try {
+            long desde = pendienteDesde;
+            if (desde != 0) {
+                // Sigue pendiente: muestrear la pila una vez superado el umbral
+                if (pilaMuestreada == null && hiloFx != null && System.nanoTime() - desde >= umbralNanos) {
+                    pilaMuestreada = formatearPila(hiloFx.getStackTrace());
+                }
+                return;
+            }
+
+            EventoBloqueoHiloFx evento = new EventoBloqueoHiloFx();
+            if (!evento.isEnabled()) {
+                return;
+            }
+
+            pilaMuestreada = null;
+            pendienteDesde = System.nanoTime();
+            evento.begin();
+            Platform.runLater(() -> {
+                evento.end();
+                hiloFx = Thread.currentThread();
+                if (evento.shouldCommit()) {
+                    evento.pila = pilaMuestreada;
+                    evento.commit();
+                }
+                pendienteDesde = 0;
+            });
+        } catch (IllegalStateException e) {
+            // El toolkit de JavaFX ya terminó
+            detener();
+        }
+    }
+
+    private static String formatearPila(StackTraceElement[] marcos) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(marcos.length, MAX_MARCOS_PILA); i++) {
+            sb.append(marcos[i]).append('\n');
+        }
+        if (marcos.length > MAX_MARCOS_PILA) {
+            sb.append("... ").append(marcos.length - MAX_MARCOS_PILA).append(" más");
+        }
+        return sb.toString();
+    }
+}
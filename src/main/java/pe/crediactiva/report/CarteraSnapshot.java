@@ -0,0 +1,649 @@
+package pe.crediactiva.report;
+
+import pe.crediactiva.model.CronogramaPago;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fotografía de solo lectura de la cartera (préstamos + cronograma de pagos)
+ * almacenada por columnas en arreglos primitivos.
+ *
+ * Cada cuota ocupa unas pocas decenas de bytes (ids como int, montos en
+ * céntimos como long y fechas como día epoch int) en lugar de los cientos de
+ * bytes de un {@link CronogramaPago}. Los escaneos recorren los arreglos en
+ * bucles simples que el JIT puede vectorizar.
+ *
+ * Las filas están ordenadas por ID de cuota, lo que permite aplicar deltas
+ * con una mezcla lineal sin modificar la instancia original.
+ *
+ * Los escaneos de saldo pendiente (tramos de mora, pendiente por asesor y por
+ * rango de vencimiento) solo cuentan las cuotas no pagadas de préstamos que
+ * no están finalizados: las cuotas abiertas de un préstamo CANCELADO o PAGADO
+ * no son cartera por cobrar.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class CarteraSnapshot {
+
+    /** Valor usado en las columnas de fecha cuando la fecha es nula. */
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    private static final EstadoPrestamo[] ESTADOS = EstadoPrestamo.values();
+
+    private static final CarteraSnapshot VACIO = new Builder(0).build();
+
+    private final int size;
+
+    // Columnas de identificación
+    private final int[] cuotaId;
+    private final int[] prestamoId;
+    private final int[] asesorId;
+    private final int[] clienteId;
+    private final int[] numeroCuota;
+
+    // Columnas de fechas (días epoch)
+    private final int[] fechaVencimiento;
+    private final int[] fechaPago;
+
+    // Columnas de montos (céntimos)
+    private final long[] montoCuota;
+    private final long[] capital;
+    private final long[] interes;
+    private final long[] saldoPendiente;
+    private final long[] montoPagado;
+
+    // Columnas de estado
+    private final boolean[] pagado;
+    private final byte[] estadoPrestamo;
+
+    // Cuota no pagada de un préstamo no finalizado, calculada al construir
+    private final boolean[] pendiente;
+
+    // Diccionario de asesores: ids distintos ordenados y el índice denso por fila
+    private final int[] asesores;
+    private final int[] asesorIdx;
+
+    private final LocalDateTime marcaAgua;
+
+    private CarteraSnapshot(Builder b) {
+        this.size = b.size;
+        this.cuotaId = Arrays.copyOf(b.cuotaId, size);
+        this.prestamoId = Arrays.copyOf(b.prestamoId, size);
+        this.asesorId = Arrays.copyOf(b.asesorId, size);
+        this.clienteId = Arrays.copyOf(b.clienteId, size);
+        this.numeroCuota = Arrays.copyOf(b.numeroCuota, size);
+        this.fechaVencimiento = Arrays.copyOf(b.fechaVencimiento, size);
+        this.fechaPago = Arrays.copyOf(b.fechaPago, size);
+        this.montoCuota = Arrays.copyOf(b.montoCuota, size);
+        this.capital = Arrays.copyOf(b.capital, size);
+        this.interes = Arrays.copyOf(b.interes, size);
+        this.saldoPendiente = Arrays.copyOf(b.saldoPendiente, size);
+        this.montoPagado = Arrays.copyOf(b.montoPagado, size);
+        this.pagado = Arrays.copyOf(b.pagado, size);
+        this.estadoPrestamo = Arrays.copyOf(b.estadoPrestamo, size);
+        this.marcaAgua = b.marcaAgua;
+
+        ordenarPorCuotaId();
+
+        this.pendiente = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            pendiente[i] = !pagado[i] && !ESTADOS[estadoPrestamo[i]].esFinalizado();
+        }
+
+        this.asesores = Arrays.stream(asesorId).distinct().sorted().toArray();
+        this.asesorIdx = new int[size];
+        for (int i = 0; i < size; i++) {
+            asesorIdx[i] = Arrays.binarySearch(asesores, asesorId[i]);
+        }
+    }
+
+    /**
+     * Obtiene una fotografía vacía.
+     *
+     * @return snapshot sin filas
+     */
+    public static CarteraSnapshot vacio() {
+        return VACIO;
+    }
+
+    // Escaneos
+
+    /**
+     * Suma el saldo pendiente (monto de cuota menos monto pagado) de las cuotas
+     * pendientes, agrupado por tramo de mora a la fecha de corte.
+     *
+     * @param fechaCorte fecha de referencia para calcular los días de atraso
+     * @return arreglo de céntimos indexado por {@link TramoMora#ordinal()}
+     */
+    public long[] sumarPendientePorTramo(LocalDate fechaCorte) {
+        int corte = (int) fechaCorte.toEpochDay();
+        long[] totales = new long[TramoMora.values().length];
+        for (int i = 0; i < size; i++) {
+            if (pendiente[i]) {
+                totales[TramoMora.indiceDe(corte - fechaVencimiento[i])] += montoCuota[i] - montoPagado[i];
+            }
+        }
+        return totales;
+    }
+
+    /**
+     * Cuenta las cuotas pendientes agrupadas por tramo de mora a la fecha de corte.
+     *
+     * @param fechaCorte fecha de referencia para calcular los días de atraso
+     * @return arreglo de conteos indexado por {@link TramoMora#ordinal()}
+     */
+    public int[] contarPorTramo(LocalDate fechaCorte) {
+        int corte = (int) fechaCorte.toEpochDay();
+        int[] conteos = new int[TramoMora.values().length];
+        for (int i = 0; i < size; i++) {
+            if (pendiente[i]) {
+                conteos[TramoMora.indiceDe(corte - fechaVencimiento[i])]++;
+            }
+        }
+        return conteos;
+    }
+
+    /**
+     * Suma el saldo pendiente de las cuotas pendientes por asesor.
+     *
+     * @return mapa ordenado por ID de asesor con el pendiente en céntimos
+     */
+    public Map<Integer, Long> sumarPendientePorAsesor() {
+        long[] totales = new long[asesores.length];
+        for (int i = 0; i < size; i++) {
+            if (pendiente[i]) {
+                totales[asesorIdx[i]] += montoCuota[i] - montoPagado[i];
+            }
+        }
+
+        Map<Integer, Long> resultado = new LinkedHashMap<>();
+        for (int a = 0; a < asesores.length; a++) {
+            resultado.put(asesores[a], totales[a]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma el monto cobrado (monto pagado) por asesor.
+     *
+     * @return mapa ordenado por ID de asesor con lo cobrado en céntimos
+     */
+    public Map<Integer, Long> sumarCobradoPorAsesor() {
+        long[] totales = new long[asesores.length];
+        for (int i = 0; i < size; i++) {
+            totales[asesorIdx[i]] += montoPagado[i];
+        }
+
+        Map<Integer, Long> resultado = new LinkedHashMap<>();
+        for (int a = 0; a < asesores.length; a++) {
+            resultado.put(asesores[a], totales[a]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Suma el saldo pendiente de las cuotas pendientes que vencen dentro del rango.
+     *
+     * @param desde fecha inicial (inclusiva)
+     * @param hasta fecha final (inclusiva)
+     * @return total en céntimos
+     */
+    public long sumarPendienteVenceEntre(LocalDate desde, LocalDate hasta) {
+        int inicio = (int) desde.toEpochDay();
+        int fin = (int) hasta.toEpochDay();
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            int fv = fechaVencimiento[i];
+            if (pendiente[i] && fv >= inicio && fv <= fin) {
+                total += montoCuota[i] - montoPagado[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Cuenta las cuotas pendientes que vencen dentro del rango.
+     *
+     * @param desde fecha inicial (inclusiva)
+     * @param hasta fecha final (inclusiva)
+     * @return número de cuotas
+     */
+    public int contarVenceEntre(LocalDate desde, LocalDate hasta) {
+        int inicio = (int) desde.toEpochDay();
+        int fin = (int) hasta.toEpochDay();
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            int fv = fechaVencimiento[i];
+            if (pendiente[i] && fv >= inicio && fv <= fin) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Suma el saldo pendiente de todas las cuotas pendientes.
+     *
+     * @return total en céntimos
+     */
+    public long sumarPendienteTotal() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (pendiente[i]) {
+                total += montoCuota[i] - montoPagado[i];
+            }
+        }
+        return total;
+    }
+
+    // Refresco por delta
+
+    /**
+     * Aplica un delta (cuotas nuevas o modificadas) y devuelve una nueva fotografía.
+     * Las filas del delta reemplazan a las que tienen el mismo ID de cuota;
+     * la instancia actual no se modifica.
+     *
+     * @param delta filas cambiadas desde la marca de agua actual
+     * @return nueva fotografía con el delta aplicado
+     */
+    public CarteraSnapshot aplicarDelta(CarteraSnapshot delta) {
+        if (delta == null || delta.size == 0) {
+            return this;
+        }
+
+        Builder b = new Builder(size + delta.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < delta.size) {
+            if (j >= delta.size || (i < size && cuotaId[i] < delta.cuotaId[j])) {
+                b.copiarFila(this, i++);
+            } else {
+                if (i < size && cuotaId[i] == delta.cuotaId[j]) {
+                    i++;
+                }
+                b.copiarFila(delta, j++);
+            }
+        }
+
+        b.marcaAgua(mayor(marcaAgua, delta.marcaAgua));
+        return b.build();
+    }
+
+    // Accesores
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Obtiene la fecha de actualización más reciente incluida en la fotografía.
+     *
+     * @return marca de agua o null si está vacía
+     */
+    public LocalDateTime getMarcaAgua() {
+        return marcaAgua;
+    }
+
+    /**
+     * Obtiene los IDs de asesor presentes, ordenados ascendentemente.
+     *
+     * @return copia del diccionario de asesores
+     */
+    public int[] getAsesores() {
+        return asesores.clone();
+    }
+
+    public int getCuotaId(int fila) {
+        return cuotaId[fila];
+    }
+
+    public int getPrestamoId(int fila) {
+        return prestamoId[fila];
+    }
+
+    public int getAsesorId(int fila) {
+        return asesorId[fila];
+    }
+
+    public int getClienteId(int fila) {
+        return clienteId[fila];
+    }
+
+    public int getNumeroCuota(int fila) {
+        return numeroCuota[fila];
+    }
+
+    public LocalDate getFechaVencimiento(int fila) {
+        return deDiaEpoch(fechaVencimiento[fila]);
+    }
+
+    public LocalDate getFechaPago(int fila) {
+        return deDiaEpoch(fechaPago[fila]);
+    }
+
+    public long getMontoCuotaCentimos(int fila) {
+        return montoCuota[fila];
+    }
+
+    public long getCapitalCentimos(int fila) {
+        return capital[fila];
+    }
+
+    public long getInteresCentimos(int fila) {
+        return interes[fila];
+    }
+
+    public long getSaldoPendienteCentimos(int fila) {
+        return saldoPendiente[fila];
+    }
+
+    public long getMontoPagadoCentimos(int fila) {
+        return montoPagado[fila];
+    }
+
+    public boolean isPagado(int fila) {
+        return pagado[fila];
+    }
+
+    public EstadoPrestamo getEstadoPrestamo(int fila) {
+        return ESTADOS[estadoPrestamo[fila]];
+    }
+
+    /**
+     * Estima los bytes ocupados por las columnas (sin cabeceras de arreglos).
+     *
+     * @return bytes aproximados
+     */
+    public long estimarBytes() {
+        // 8 columnas int (incluye índice de asesor), 5 long, 2 boolean y 1 byte por fila
+        return (long) size * (8 * Integer.BYTES + 5 * Long.BYTES + 3) + (long) asesores.length * Integer.BYTES;
+    }
+
+    // Conversiones
+
+    /**
+     * Convierte un monto a céntimos redondeando a dos decimales.
+     *
+     * @param monto monto en soles (puede ser null)
+     * @return monto en céntimos (0 si es null)
+     */
+    public static long aCentimos(BigDecimal monto) {
+        if (monto == null) return 0L;
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convierte céntimos a un monto con dos decimales.
+     *
+     * @param centimos monto en céntimos
+     * @return monto en soles
+     */
+    public static BigDecimal deCentimos(long centimos) {
+        return BigDecimal.valueOf(centimos, 2);
+    }
+
+    /**
+     * Convierte una fecha a día epoch.
+     *
+     * @param fecha fecha a convertir (puede ser null)
+     * @return día epoch o {@link #SIN_FECHA} si es null
+     */
+    public static int aDiaEpoch(LocalDate fecha) {
+        return fecha != null ? (int) fecha.toEpochDay() : SIN_FECHA;
+    }
+
+    /**
+     * Convierte un día epoch a fecha.
+     *
+     * @param diaEpoch día epoch o {@link #SIN_FECHA}
+     * @return fecha o null
+     */
+    public static LocalDate deDiaEpoch(int diaEpoch) {
+        return diaEpoch != SIN_FECHA ? LocalDate.ofEpochDay(diaEpoch) : null;
+    }
+
+    // Métodos privados
+
+    private void ordenarPorCuotaId() {
+        boolean ordenado = true;
+        for (int i = 1; i < size && ordenado; i++) {
+            ordenado = cuotaId[i - 1] < cuotaId[i];
+        }
+        if (ordenado) return;
+
+        Integer[] permutacion = new Integer[size];
+        for (int i = 0; i < size; i++) permutacion[i] = i;
+        Arrays.sort(permutacion, (a, c) -> Integer.compare(cuotaId[a], cuotaId[c]));
+
+        int[] p = new int[size];
+        for (int i = 0; i < size; i++) p[i] = permutacion[i];
+
+        permutar(cuotaId, p);
+        permutar(prestamoId, p);
+        permutar(asesorId, p);
+        permutar(clienteId, p);
+        permutar(numeroCuota, p);
+        permutar(fechaVencimiento, p);
+        permutar(fechaPago, p);
+        permutar(montoCuota, p);
+        permutar(capital, p);
+        permutar(interes, p);
+        permutar(saldoPendiente, p);
+        permutar(montoPagado, p);
+        permutar(pagado, p);
+        permutar(estadoPrestamo, p);
+    }
+
+    private static void permutar(int[] columna, int[] p) {
+        int[] copia = columna.clone();
+        for (int i = 0; i < p.length; i++) columna[i] = copia[p[i]];
+    }
+
+    private static void permutar(long[] columna, int[] p) {
+        long[] copia = columna.clone();
+        for (int i = 0; i < p.length; i++) columna[i] = copia[p[i]];
+    }
+
+    private static void permutar(boolean[] columna, int[] p) {
+        boolean[] copia = columna.clone();
+        for (int i = 0; i < p.length; i++) columna[i] = copia[p[i]];
+    }
+
+    private static void permutar(byte[] columna, int[] p) {
+        byte[] copia = columna.clone();
+        for (int i = 0; i < p.length; i++) columna[i] = copia[p[i]];
+    }
+
+    private static LocalDateTime mayor(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    @Override
+    public String toString() {
+        return "CarteraSnapshot{" +
+                "cuotas=" + size +
+                ", asesores=" + asesores.length +
+                ", marcaAgua=" + marcaAgua +
+                '}';
+    }
+
+    /**
+     * Constructor incremental de fotografías. Las columnas crecen al agregar filas;
+     * si las filas no llegan ordenadas por ID de cuota se ordenan en {@link #build()}.
+     * Si un mismo ID de cuota se agrega dos veces, se conserva la última fila.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] cuotaId;
+        private int[] prestamoId;
+        private int[] asesorId;
+        private int[] clienteId;
+        private int[] numeroCuota;
+        private int[] fechaVencimiento;
+        private int[] fechaPago;
+        private long[] montoCuota;
+        private long[] capital;
+        private long[] interes;
+        private long[] saldoPendiente;
+        private long[] montoPagado;
+        private boolean[] pagado;
+        private byte[] estadoPrestamo;
+        private LocalDateTime marcaAgua;
+
+        public Builder() {
+            this(1024);
+        }
+
+        public Builder(int capacidadInicial) {
+            int capacidad = Math.max(capacidadInicial, 0);
+            cuotaId = new int[capacidad];
+            prestamoId = new int[capacidad];
+            asesorId = new int[capacidad];
+            clienteId = new int[capacidad];
+            numeroCuota = new int[capacidad];
+            fechaVencimiento = new int[capacidad];
+            fechaPago = new int[capacidad];
+            montoCuota = new long[capacidad];
+            capital = new long[capacidad];
+            interes = new long[capacidad];
+            saldoPendiente = new long[capacidad];
+            montoPagado = new long[capacidad];
+            pagado = new boolean[capacidad];
+            estadoPrestamo = new byte[capacidad];
+        }
+
+        /**
+         * Agrega una cuota expresada en columnas primitivas.
+         *
+         * @return este builder
+         */
+        public Builder agregar(int cuotaId, int prestamoId, int asesorId, int clienteId, int numeroCuota,
+                               int fechaVencimiento, int fechaPago,
+                               long montoCuota, long capital, long interes, long saldoPendiente, long montoPagado,
+                               boolean pagado, EstadoPrestamo estadoPrestamo) {
+            asegurarCapacidad();
+            int i = size++;
+            this.cuotaId[i] = cuotaId;
+            this.prestamoId[i] = prestamoId;
+            this.asesorId[i] = asesorId;
+            this.clienteId[i] = clienteId;
+            this.numeroCuota[i] = numeroCuota;
+            this.fechaVencimiento[i] = fechaVencimiento;
+            this.fechaPago[i] = fechaPago;
+            this.montoCuota[i] = montoCuota;
+            this.capital[i] = capital;
+            this.interes[i] = interes;
+            this.saldoPendiente[i] = saldoPendiente;
+            this.montoPagado[i] = montoPagado;
+            this.pagado[i] = pagado;
+            this.estadoPrestamo[i] = (byte) (estadoPrestamo != null ? estadoPrestamo : EstadoPrestamo.ACTIVO).ordinal();
+            return this;
+        }
+
+        /**
+         * Agrega una cuota a partir del modelo de objetos.
+         *
+         * @param cuota cuota del cronograma
+         * @param asesorId ID del asesor del préstamo
+         * @param clienteId ID del cliente del préstamo
+         * @param estadoPrestamo estado del préstamo
+         * @return este builder
+         */
+        public Builder agregar(CronogramaPago cuota, int asesorId, int clienteId, EstadoPrestamo estadoPrestamo) {
+            agregar(cuota.getId(), cuota.getPrestamoId(), asesorId, clienteId,
+                    cuota.getNumeroCuota() != null ? cuota.getNumeroCuota() : 0,
+                    aDiaEpoch(cuota.getFechaVencimiento()), aDiaEpoch(cuota.getFechaPago()),
+                    aCentimos(cuota.getMontoCuota()), aCentimos(cuota.getCapital()),
+                    aCentimos(cuota.getInteres()), aCentimos(cuota.getSaldoPendiente()),
+                    aCentimos(cuota.getMontoPagado()), cuota.isPagado(), estadoPrestamo);
+            return this;
+        }
+
+        /**
+         * Registra una fecha de actualización; la marca de agua conserva la mayor.
+         *
+         * @param fechaActualizacion fecha de actualización de una fila
+         * @return este builder
+         */
+        public Builder marcaAgua(LocalDateTime fechaActualizacion) {
+            this.marcaAgua = mayor(this.marcaAgua, fechaActualizacion);
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Construye la fotografía inmutable.
+         *
+         * @return snapshot con las filas agregadas
+         */
+        public CarteraSnapshot build() {
+            CarteraSnapshot snapshot = new CarteraSnapshot(this);
+            return snapshot.sinDuplicados();
+        }
+
+        private void copiarFila(CarteraSnapshot origen, int fila) {
+            agregar(origen.cuotaId[fila], origen.prestamoId[fila], origen.asesorId[fila], origen.clienteId[fila],
+                    origen.numeroCuota[fila], origen.fechaVencimiento[fila], origen.fechaPago[fila],
+                    origen.montoCuota[fila], origen.capital[fila], origen.interes[fila],
+                    origen.saldoPendiente[fila], origen.montoPagado[fila], origen.pagado[fila],
+                    origen.getEstadoPrestamo(fila));
+        }
+
+        private void asegurarCapacidad() {
+            if (size < cuotaId.length) return;
+            int capacidad = Math.max(16, cuotaId.length + (cuotaId.length >> 1));
+            cuotaId = Arrays.copyOf(cuotaId, capacidad);
+            prestamoId = Arrays.copyOf(prestamoId, capacidad);
+            asesorId = Arrays.copyOf(asesorId, capacidad);
+            clienteId = Arrays.copyOf(clienteId, capacidad);
+            numeroCuota = Arrays.copyOf(numeroCuota, capacidad);
+            fechaVencimiento = Arrays.copyOf(fechaVencimiento, capacidad);
+            fechaPago = Arrays.copyOf(fechaPago, capacidad);
+            montoCuota = Arrays.copyOf(montoCuota, capacidad);
+            capital = Arrays.copyOf(capital, capacidad);
+            interes = Arrays.copyOf(interes, capacidad);
+            saldoPendiente = Arrays.copyOf(saldoPendiente, capacidad);
+            montoPagado = Arrays.copyOf(montoPagado, capacidad);
+            pagado = Arrays.copyOf(pagado, capacidad);
+            estadoPrestamo = Arrays.copyOf(estadoPrestamo, capacidad);
+        }
+    }
+
+    /**
+     * Elimina IDs de cuota repetidos conservando la última aparición.
+     * Solo reconstruye cuando hay duplicados, que es el caso excepcional.
+     */
+    private CarteraSnapshot sinDuplicados() {
+        boolean hayDuplicados = false;
+        for (int i = 1; i < size && !hayDuplicados; i++) {
+            hayDuplicados = cuotaId[i - 1] == cuotaId[i];
+        }
+        if (!hayDuplicados) return this;
+
+        Builder b = new Builder(size);
+        for (int i = 0; i < size; i++) {
+            if (i + 1 < size && cuotaId[i] == cuotaId[i + 1]) continue;
+            b.copiarFila(this, i);
+        }
+        b.marcaAgua(marcaAgua);
+        return new CarteraSnapshot(b);
+    }
+}
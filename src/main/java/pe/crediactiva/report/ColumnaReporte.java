@@ -0,0 +1,73 @@
+package pe.crediactiva.report;
+
+/**
+ * Definición de una columna de reporte: título visible y tipo de dato.
+ * El tipo determina cómo se lee del ResultSet y cómo se formatea al exportar.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class ColumnaReporte {
+
+    /**
+     * Tipos de dato soportados en las exportaciones.
+     */
+    public enum Tipo {
+        TEXTO,
+        ENTERO,
+        MONTO,
+        DECIMAL,
+        FECHA,
+        FECHA_HORA,
+        BOOLEANO
+    }
+
+    private final String titulo;
+    private final Tipo tipo;
+
+    public ColumnaReporte(String titulo, Tipo tipo) {
+        this.titulo = titulo;
+        this.tipo = tipo;
+    }
+
+    public static ColumnaReporte texto(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.TEXTO);
+    }
+
+    public static ColumnaReporte entero(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.ENTERO);
+    }
+
+    public static ColumnaReporte monto(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.MONTO);
+    }
+
+    public static ColumnaReporte decimal(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.DECIMAL);
+    }
+
+    public static ColumnaReporte fecha(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.FECHA);
+    }
+
+    public static ColumnaReporte fechaHora(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.FECHA_HORA);
+    }
+
+    public static ColumnaReporte booleano(String titulo) {
+        return new ColumnaReporte(titulo, Tipo.BOOLEANO);
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public String toString() {
+        return titulo + " (" + tipo + ")";
+    }
+}
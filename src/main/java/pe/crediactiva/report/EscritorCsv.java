@@ -0,0 +1,99 @@
+package pe.crediactiva.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escritor de reportes en CSV (RFC 4180) con codificación UTF-8 y BOM,
+ * para que Excel reconozca los acentos al abrir el archivo.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class EscritorCsv implements EscritorReporte {
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+    private static final char SEPARADOR = ',';
+
+    private final Writer salida;
+    private final FormatoValores formato;
+    private List<ColumnaReporte> columnas;
+
+    public EscritorCsv(OutputStream salida) throws IOException {
+        this(salida, new FormatoValores());
+    }
+
+    public EscritorCsv(OutputStream salida, FormatoValores formato) throws IOException {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        this.formato = formato;
+        this.salida.write('\uFEFF');
+    }
+
+    @Override
+    public void escribirEncabezado(List<ColumnaReporte> columnas) throws IOException {
+        this.columnas = columnas;
+        for (int i = 0; i < columnas.size(); i++) {
+            if (i > 0) salida.write(SEPARADOR);
+            escribirTexto(columnas.get(i).getTitulo());
+        }
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void escribirFila(Object[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) salida.write(SEPARADOR);
+            Object valor = valores[i];
+            if (valor == null) continue;
+
+            ColumnaReporte.Tipo tipo = columnas != null ? columnas.get(i).getTipo() : ColumnaReporte.Tipo.TEXTO;
+            switch (tipo) {
+                case MONTO -> escribirTexto(formato.formatearMonto((BigDecimal) valor));
+                case FECHA -> salida.write(formato.formatearFecha((LocalDate) valor));
+                case FECHA_HORA -> salida.write(formato.formatearFechaHora((LocalDateTime) valor));
+                case BOOLEANO -> salida.write((Boolean) valor ? "SI" : "NO");
+                case ENTERO -> salida.write(valor.toString());
+                case DECIMAL -> salida.write(((BigDecimal) valor).toPlainString());
+                default -> escribirTexto(valor.toString());
+            }
+        }
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+
+    /**
+     * Escribe un texto, entre comillas solo cuando contiene separadores, comillas o saltos de línea.
+     */
+    private void escribirTexto(String texto) throws IOException {
+        boolean requiereComillas = false;
+        for (int i = 0; i < texto.length() && !requiereComillas; i++) {
+            char c = texto.charAt(i);
+            requiereComillas = c == SEPARADOR || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!requiereComillas) {
+            salida.write(texto);
+            return;
+        }
+
+        salida.write('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"') salida.write('"');
+            salida.write(c);
+        }
+        salida.write('"');
+    }
+}
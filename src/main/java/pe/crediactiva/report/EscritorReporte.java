@@ -0,0 +1,31 @@
+package pe.crediactiva.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escritor secuencial de reportes. Recibe una fila a la vez y la vuelca
+ * inmediatamente al flujo de salida, sin acumular el resultado en memoria.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface EscritorReporte extends Closeable {
+
+    /**
+     * Escribe la fila de títulos y fija los tipos de las columnas.
+     *
+     * @param columnas definición de columnas
+     * @throws IOException si falla la escritura
+     */
+    void escribirEncabezado(List<ColumnaReporte> columnas) throws IOException;
+
+    /**
+     * Escribe una fila de datos. El arreglo puede reutilizarse después de la llamada.
+     *
+     * @param valores valores en el orden de las columnas (pueden ser null)
+     * @throws IOException si falla la escritura
+     */
+    void escribirFila(Object[] valores) throws IOException;
+}
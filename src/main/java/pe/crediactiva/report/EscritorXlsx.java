@@ -0,0 +1,313 @@
+package pe.crediactiva.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escritor de reportes en formato XLSX (Office Open XML) en modo streaming.
+ *
+ * Cada fila se escribe directamente en la entrada ZIP de la hoja con celdas de
+ * texto en línea (sin tabla de cadenas compartidas), por lo que la memoria usada
+ * no depende del número de filas. Cuando una hoja alcanza el límite de Excel
+ * se continúa en una hoja nueva.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class EscritorXlsx implements EscritorReporte {
+
+    /** Límite de filas por hoja de Excel (incluye el encabezado). */
+    static final int MAX_FILAS_POR_HOJA = 1_048_576;
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    // Índices de estilos definidos en styles.xml
+    private static final int ESTILO_ENCABEZADO = 1;
+    private static final int ESTILO_MONTO = 2;
+    private static final int ESTILO_FECHA = 3;
+    private static final int ESTILO_FECHA_HORA = 4;
+
+    // Letras de las primeras columnas (A-Z), las más usadas
+    private static final String[] LETRAS_COLUMNA = new String[26];
+    static {
+        for (int i = 0; i < LETRAS_COLUMNA.length; i++) {
+            LETRAS_COLUMNA[i] = String.valueOf((char) ('A' + i));
+        }
+    }
+
+    // Excel cuenta los días desde 1899-12-30
+    private static final long EPOCH_EXCEL = LocalDate.of(1899, 12, 30).toEpochDay();
+
+    private final ZipOutputStream zip;
+    private final Writer salida;
+    private final FormatoValores formato;
+    private final String nombreHoja;
+    private final int maxFilasPorHoja;
+
+    private List<ColumnaReporte> columnas;
+    private int hojas = 0;
+    private int filaActual = 0;
+
+    public EscritorXlsx(OutputStream salida, String nombreHoja) throws IOException {
+        this(salida, nombreHoja, new FormatoValores(), MAX_FILAS_POR_HOJA);
+    }
+
+    EscritorXlsx(OutputStream salida, String nombreHoja, FormatoValores formato, int maxFilasPorHoja) throws IOException {
+        this.zip = new ZipOutputStream(salida);
+        this.salida = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        this.formato = formato;
+        this.nombreHoja = nombreHoja != null && !nombreHoja.isBlank() ? nombreHoja : "Reporte";
+        this.maxFilasPorHoja = maxFilasPorHoja;
+
+        escribirEntrada("_rels/.rels", """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""");
+        escribirEntrada("xl/styles.xml", estilos());
+    }
+
+    @Override
+    public void escribirEncabezado(List<ColumnaReporte> columnas) throws IOException {
+        this.columnas = columnas;
+        abrirHoja();
+    }
+
+    @Override
+    public void escribirFila(Object[] valores) throws IOException {
+        if (hojas == 0) {
+            abrirHoja();
+        }
+        if (filaActual >= maxFilasPorHoja) {
+            cerrarHoja();
+            abrirHoja();
+        }
+
+        filaActual++;
+        salida.write("<row r=\"");
+        salida.write(Integer.toString(filaActual));
+        salida.write("\">");
+
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) continue;
+
+            ColumnaReporte.Tipo tipo = columnas != null ? columnas.get(i).getTipo() : ColumnaReporte.Tipo.TEXTO;
+            switch (tipo) {
+                case MONTO -> celdaNumero(i, ((BigDecimal) valor).toPlainString(), ESTILO_MONTO);
+                case DECIMAL -> celdaNumero(i, ((BigDecimal) valor).toPlainString(), 0);
+                case ENTERO -> celdaNumero(i, valor.toString(), 0);
+                case FECHA -> celdaNumero(i, Long.toString(((LocalDate) valor).toEpochDay() - EPOCH_EXCEL), ESTILO_FECHA);
+                case FECHA_HORA -> celdaNumero(i, serialFechaHora((LocalDateTime) valor), ESTILO_FECHA_HORA);
+                case BOOLEANO -> celdaTexto(i, (Boolean) valor ? "SI" : "NO", 0);
+                default -> celdaTexto(i, valor.toString(), 0);
+            }
+        }
+
+        salida.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (hojas == 0) {
+                abrirHoja();
+            }
+            cerrarHoja();
+            escribirLibro();
+            salida.flush();
+            zip.finish();
+        } finally {
+            salida.close();
+        }
+    }
+
+    // Métodos privados
+
+    private void abrirHoja() throws IOException {
+        hojas++;
+        filaActual = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas + ".xml"));
+        salida.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        salida.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        salida.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" " +
+                     "activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        salida.write("<sheetData>");
+
+        if (columnas != null) {
+            filaActual++;
+            salida.write("<row r=\"1\">");
+            for (int i = 0; i < columnas.size(); i++) {
+                celdaTexto(i, columnas.get(i).getTitulo(), ESTILO_ENCABEZADO);
+            }
+            salida.write("</row>");
+        }
+    }
+
+    private void cerrarHoja() throws IOException {
+        salida.write("</sheetData></worksheet>");
+        salida.flush();
+        zip.closeEntry();
+    }
+
+    private void celdaNumero(int columna, String valor, int estilo) throws IOException {
+        salida.write("<c");
+        referencia(columna);
+        if (estilo != 0) {
+            salida.write(" s=\"");
+            salida.write(Integer.toString(estilo));
+            salida.write('"');
+        }
+        salida.write("><v>");
+        salida.write(valor);
+        salida.write("</v></c>");
+    }
+
+    private void celdaTexto(int columna, String valor, int estilo) throws IOException {
+        salida.write("<c t=\"inlineStr\"");
+        referencia(columna);
+        if (estilo != 0) {
+            salida.write(" s=\"");
+            salida.write(Integer.toString(estilo));
+            salida.write('"');
+        }
+        salida.write("><is><t xml:space=\"preserve\">");
+        escaparXml(valor);
+        salida.write("</t></is></c>");
+    }
+
+    /**
+     * Escribe la referencia de la celda (ej: r="C15"). Es necesaria porque las
+     * celdas nulas se omiten y sin ella Excel desplazaría las siguientes.
+     */
+    private void referencia(int columna) throws IOException {
+        salida.write(" r=\"");
+        salida.write(letraColumna(columna));
+        salida.write(Integer.toString(filaActual));
+        salida.write('"');
+    }
+
+    private static String letraColumna(int columna) {
+        if (columna < LETRAS_COLUMNA.length) {
+            return LETRAS_COLUMNA[columna];
+        }
+        StringBuilder letras = new StringBuilder();
+        for (int n = columna + 1; n > 0; n = (n - 1) / 26) {
+            letras.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letras.toString();
+    }
+
+    private void escaparXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> salida.write("&amp;");
+                case '<' -> salida.write("&lt;");
+                case '>' -> salida.write("&gt;");
+                case '"' -> salida.write("&quot;");
+                default -> {
+                    // Los caracteres de control no son válidos en XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        salida.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String serialFechaHora(LocalDateTime fechaHora) {
+        double serial = fechaHora.toLocalDate().toEpochDay() - EPOCH_EXCEL +
+                        fechaHora.toLocalTime().toSecondOfDay() / 86_400.0;
+        return Double.toString(serial);
+    }
+
+    private void escribirLibro() throws IOException {
+        StringBuilder hojasXml = new StringBuilder();
+        StringBuilder relaciones = new StringBuilder();
+        StringBuilder tipos = new StringBuilder();
+
+        for (int i = 1; i <= hojas; i++) {
+            String nombre = hojas == 1 ? nombreHoja : nombreHoja + " " + i;
+            hojasXml.append("<sheet name=\"").append(nombreHojaValido(nombre))
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            relaciones.append("<Relationship Id=\"rId").append(i)
+                      .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\"")
+                      .append(" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+            tipos.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                 .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        relaciones.append("<Relationship Id=\"rId").append(hojas + 1)
+                  .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\"")
+                  .append(" Target=\"styles.xml\"/>");
+
+        escribirEntrada("xl/workbook.xml",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" " +
+            "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">" +
+            "<sheets>" + hojasXml + "</sheets></workbook>");
+        escribirEntrada("xl/_rels/workbook.xml.rels",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            relaciones + "</Relationships>");
+        // El orden de las entradas en el ZIP no importa, así que los tipos de contenido
+        // se escriben al final, cuando ya se conoce el número de hojas
+        escribirEntrada("[Content_Types].xml",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+            "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+            "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+            "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+            "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>" +
+            tipos + "</Types>");
+    }
+
+    private String estilos() {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+               "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+               "<numFmts count=\"3\">" +
+               "<numFmt numFmtId=\"164\" formatCode=\"" + atributoXml(formato.getCodigoExcelMoneda()) + "\"/>" +
+               "<numFmt numFmtId=\"165\" formatCode=\"" + atributoXml(formato.getCodigoExcelFecha()) + "\"/>" +
+               "<numFmt numFmtId=\"166\" formatCode=\"" + atributoXml(formato.getCodigoExcelFechaHora()) + "\"/>" +
+               "</numFmts>" +
+               "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>" +
+               "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+               "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>" +
+               "<fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+               "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+               "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+               "<cellXfs count=\"5\">" +
+               "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+               "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>" +
+               "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+               "<xf numFmtId=\"165\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+               "<xf numFmtId=\"166\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+               "</cellXfs></styleSheet>";
+    }
+
+    private void escribirEntrada(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        salida.write(contenido);
+        salida.flush();
+        zip.closeEntry();
+    }
+
+    private static String nombreHojaValido(String nombre) {
+        String limpio = nombre.replaceAll("[\\\\/?*\\[\\]:]", " ");
+        return atributoXml(limpio.length() > 31 ? limpio.substring(0, 31) : limpio);
+    }
+
+    private static String atributoXml(String valor) {
+        return valor.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
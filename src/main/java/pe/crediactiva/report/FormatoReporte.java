@@ -0,0 +1,52 @@
+package pe.crediactiva.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formatos de archivo disponibles para exportar reportes.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum FormatoReporte {
+
+    CSV("CSV", "csv"),
+    XLSX("Excel (XLSX)", "xlsx");
+
+    private final String nombre;
+    private final String extension;
+
+    FormatoReporte(String nombre, String extension) {
+        this.nombre = nombre;
+        this.extension = extension;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Crea el escritor correspondiente al formato sobre el flujo de salida.
+     *
+     * @param salida flujo de salida (el escritor se encarga de cerrarlo)
+     * @param hoja nombre de la hoja (solo XLSX)
+     * @return escritor de reporte
+     * @throws IOException si no se puede inicializar el archivo
+     */
+    public EscritorReporte crearEscritor(OutputStream salida, String hoja) throws IOException {
+        return switch (this) {
+            case CSV -> new EscritorCsv(salida);
+            case XLSX -> new EscritorXlsx(salida, hoja);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
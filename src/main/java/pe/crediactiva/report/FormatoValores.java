@@ -0,0 +1,72 @@
+package pe.crediactiva.report;
+
+import pe.crediactiva.config.AppConfig;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Formatos de fecha y moneda usados en los reportes, tomados de
+ * report.date.format, report.currency.format y app.locale.
+ * Los formateadores se crean una sola vez por exportación.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class FormatoValores {
+
+    private final String patronFecha;
+    private final String patronFechaHora;
+    private final String patronMoneda;
+    private final DateTimeFormatter formatoFecha;
+    private final DateTimeFormatter formatoFechaHora;
+    private final DecimalFormat formatoMoneda;
+
+    public FormatoValores() {
+        this(AppConfig.getReportDateFormat(), AppConfig.getReportCurrencyFormat(), AppConfig.getLocale());
+    }
+
+    public FormatoValores(String patronFecha, String patronMoneda, String locale) {
+        Locale loc = Locale.forLanguageTag(locale.replace('_', '-'));
+        this.patronFecha = patronFecha;
+        this.patronFechaHora = patronFecha + " HH:mm:ss";
+        this.patronMoneda = patronMoneda;
+        this.formatoFecha = DateTimeFormatter.ofPattern(patronFecha, loc);
+        this.formatoFechaHora = DateTimeFormatter.ofPattern(patronFechaHora, loc);
+        this.formatoMoneda = new DecimalFormat(patronMoneda, DecimalFormatSymbols.getInstance(loc));
+    }
+
+    public String formatearFecha(LocalDate fecha) {
+        return formatoFecha.format(fecha);
+    }
+
+    public String formatearFechaHora(LocalDateTime fechaHora) {
+        return formatoFechaHora.format(fechaHora);
+    }
+
+    public String formatearMonto(BigDecimal monto) {
+        return formatoMoneda.format(monto);
+    }
+
+    /**
+     * Formato de fecha equivalente para hojas de cálculo (los códigos de Excel no distinguen mayúsculas).
+     *
+     * @return código de formato numérico de Excel
+     */
+    public String getCodigoExcelFecha() {
+        return patronFecha.toLowerCase(Locale.ROOT);
+    }
+
+    public String getCodigoExcelFechaHora() {
+        return patronFechaHora.toLowerCase(Locale.ROOT);
+    }
+
+    public String getCodigoExcelMoneda() {
+        return patronMoneda;
+    }
+}
@@ -0,0 +1,56 @@
+package pe.crediactiva.report;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Resultado de una exportación de reporte.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class ResultadoExportacion {
+
+    private final Path archivo;
+    private final long filas;
+    private final boolean cancelado;
+    private final Duration duracion;
+
+    public ResultadoExportacion(Path archivo, long filas, boolean cancelado, Duration duracion) {
+        this.archivo = archivo;
+        this.filas = filas;
+        this.cancelado = cancelado;
+        this.duracion = duracion;
+    }
+
+    /**
+     * Obtiene el archivo generado (null si la exportación fue cancelada).
+     *
+     * @return ruta del archivo
+     */
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    public Duration getDuracion() {
+        return duracion;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoExportacion{" +
+                "archivo=" + archivo +
+                ", filas=" + filas +
+                ", cancelado=" + cancelado +
+                ", duracion=" + duracion.toMillis() + "ms" +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package pe.crediactiva.report;
+
+import java.util.List;
+
+/**
+ * Reportes exportables. Las columnas están en el mismo orden en que las
+ * devuelve la consulta correspondiente de {@link pe.crediactiva.dao.interfaces.ReporteDAO}.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum TipoReporte {
+
+    USUARIOS("Usuarios", "usuarios", List.of(
+        ColumnaReporte.entero("ID"),
+        ColumnaReporte.texto("Usuario"),
+        ColumnaReporte.texto("Email"),
+        ColumnaReporte.texto("Nombres"),
+        ColumnaReporte.texto("Apellidos"),
+        ColumnaReporte.texto("Documento"),
+        ColumnaReporte.texto("Teléfono"),
+        ColumnaReporte.texto("Roles"),
+        ColumnaReporte.booleano("Activo"),
+        ColumnaReporte.fechaHora("Fecha Creación"),
+        ColumnaReporte.fechaHora("Último Login")
+    )),
+
+    PRESTAMOS("Préstamos", "prestamos", List.of(
+        ColumnaReporte.entero("ID"),
+        ColumnaReporte.texto("Número"),
+        ColumnaReporte.texto("Cliente"),
+        ColumnaReporte.texto("Asesor"),
+        ColumnaReporte.monto("Monto Préstamo"),
+        ColumnaReporte.monto("Monto Total"),
+        ColumnaReporte.entero("Plazo (meses)"),
+        ColumnaReporte.decimal("Tasa Mensual"),
+        ColumnaReporte.monto("Cuota Mensual"),
+        ColumnaReporte.texto("Estado"),
+        ColumnaReporte.fecha("Fecha Desembolso"),
+        ColumnaReporte.fecha("Primer Vencimiento"),
+        ColumnaReporte.fecha("Último Vencimiento")
+    )),
+
+    CUOTAS("Cuotas", "cuotas", List.of(
+        ColumnaReporte.entero("ID"),
+        ColumnaReporte.texto("Préstamo"),
+        ColumnaReporte.entero("N° Cuota"),
+        ColumnaReporte.fecha("Vencimiento"),
+        ColumnaReporte.monto("Monto Cuota"),
+        ColumnaReporte.monto("Capital"),
+        ColumnaReporte.monto("Interés"),
+        ColumnaReporte.monto("Saldo Pendiente"),
+        ColumnaReporte.booleano("Pagado"),
+        ColumnaReporte.fecha("Fecha Pago"),
+        ColumnaReporte.monto("Monto Pagado"),
+        ColumnaReporte.entero("Días Atraso")
+    )),
+
+    PAGOS("Pagos", "pagos", List.of(
+        ColumnaReporte.entero("ID"),
+        ColumnaReporte.texto("Recibo"),
+        ColumnaReporte.texto("Préstamo"),
+        ColumnaReporte.entero("N° Cuota"),
+        ColumnaReporte.monto("Monto"),
+        ColumnaReporte.fecha("Fecha Pago"),
+        ColumnaReporte.texto("Método"),
+        ColumnaReporte.texto("N° Operación"),
+        ColumnaReporte.texto("Registrado Por"),
+        ColumnaReporte.fechaHora("Fecha Registro")
+    ));
+
+    private final String nombre;
+    private final String prefijoArchivo;
+    private final List<ColumnaReporte> columnas;
+
+    TipoReporte(String nombre, String prefijoArchivo, List<ColumnaReporte> columnas) {
+        this.nombre = nombre;
+        this.prefijoArchivo = prefijoArchivo;
+        this.columnas = columnas;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getPrefijoArchivo() {
+        return prefijoArchivo;
+    }
+
+    public List<ColumnaReporte> getColumnas() {
+        return columnas;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
@@ -0,0 +1,70 @@
+package pe.crediactiva.report;
+
+/**
+ * Tramos de antigüedad de mora usados en los reportes de cartera.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum TramoMora {
+
+    AL_DIA("Al día", Integer.MIN_VALUE, 0),
+    DE_1_A_30("1 a 30 días", 1, 30),
+    DE_31_A_60("31 a 60 días", 31, 60),
+    DE_61_A_90("61 a 90 días", 61, 90),
+    MAS_DE_90("Más de 90 días", 91, Integer.MAX_VALUE);
+
+    private static final TramoMora[] VALORES = values();
+
+    private final String nombre;
+    private final int diasDesde;
+    private final int diasHasta;
+
+    TramoMora(String nombre, int diasDesde, int diasHasta) {
+        this.nombre = nombre;
+        this.diasDesde = diasDesde;
+        this.diasHasta = diasHasta;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getDiasDesde() {
+        return diasDesde;
+    }
+
+    public int getDiasHasta() {
+        return diasHasta;
+    }
+
+    /**
+     * Obtiene el índice (ordinal) del tramo que corresponde a los días de atraso.
+     * Se usa en los escaneos sobre columnas primitivas para evitar crear objetos.
+     *
+     * @param diasAtraso días transcurridos desde el vencimiento
+     * @return ordinal del tramo
+     */
+    public static int indiceDe(int diasAtraso) {
+        if (diasAtraso <= 0) return 0;
+        if (diasAtraso <= 30) return 1;
+        if (diasAtraso <= 60) return 2;
+        if (diasAtraso <= 90) return 3;
+        return 4;
+    }
+
+    /**
+     * Obtiene el tramo que corresponde a los días de atraso.
+     *
+     * @param diasAtraso días transcurridos desde el vencimiento
+     * @return el tramo de mora
+     */
+    public static TramoMora fromDiasAtraso(int diasAtraso) {
+        return VALORES[indiceDe(diasAtraso)];
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
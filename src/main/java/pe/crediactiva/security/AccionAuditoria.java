@@ -0,0 +1,13 @@
+package pe.crediactiva.security;
+
+/**
+ * Acciones registradas en la tabla de auditoría.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum AccionAuditoria {
+    INSERT,
+    UPDATE,
+    DELETE
+}
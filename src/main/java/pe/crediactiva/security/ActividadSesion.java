@@ -0,0 +1,75 @@
+package pe.crediactiva.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Última actividad del usuario en sesión, medida con el reloj monotónico
+ * (System.nanoTime), que no salta al cambiar la hora del sistema.
+ *
+ * <p>Se registra desde los filtros de eventos de entrada de las ventanas, así
+ * que se llama en cada movimiento del mouse; otros hilos la leen (el vigilante
+ * de sesión). Para no escribir la misma línea de caché miles de veces por
+ * segundo, solo se escribe si pasó al menos {@link #RESOLUCION_NANOS} desde la
+ * última escritura: en la mayoría de llamadas es una lectura.</p>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ActividadSesion {
+
+    /**
+     * Precisión de la marca de actividad; sobra para un tiempo de expiración
+     * expresado en segundos.
+     */
+    static final long RESOLUCION_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final LongSupplier reloj;
+    private final AtomicLong ultimaActividad;
+
+    public ActividadSesion() {
+        this(System::nanoTime);
+    }
+
+    // Constructor para pruebas: reloj controlado
+    ActividadSesion(LongSupplier reloj) {
+        this.reloj = reloj;
+        this.ultimaActividad = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Registra actividad del usuario. Seguro desde cualquier hilo y sin
+     * asignar memoria.
+     */
+    public void registrar() {
+        long ahora = reloj.getAsLong();
+        long anterior = ultimaActividad.get();
+        if (ahora - anterior >= RESOLUCION_NANOS) {
+            // Si otro hilo gana, ya dejó una marca igual de reciente
+            ultimaActividad.compareAndSet(anterior, ahora);
+        }
+    }
+
+    /**
+     * Toma el instante actual como última actividad sin importar la
+     * resolución (al iniciar sesión).
+     */
+    public void reiniciar() {
+        ultimaActividad.set(reloj.getAsLong());
+    }
+
+    /**
+     * @return marca de la última actividad en el reloj monotónico; solo sirve para comparar
+     */
+    public long getUltimaActividadNanos() {
+        return ultimaActividad.get();
+    }
+
+    /**
+     * @return tiempo transcurrido desde la última actividad, en nanosegundos
+     */
+    public long getInactividadNanos() {
+        return Math.max(0, reloj.getAsLong() - ultimaActividad.get());
+    }
+}
@@ -0,0 +1,79 @@
+package pe.crediactiva.security;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de auditoría inmutable, equivalente a una fila de la tabla auditoria.
+ * Los datos anterior y nuevo ya vienen serializados en JSON, de modo que el evento
+ * no conserva referencias a entidades que la aplicación pueda seguir modificando.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class EventoAuditoria {
+    
+    private final String tablaAfectada;
+    private final int registroId;
+    private final AccionAuditoria accion;
+    private final String datosAnteriores;
+    private final String datosNuevos;
+    private final int usuarioId;
+    private final String ipAddress;
+    private final LocalDateTime fechaAccion;
+    
+    public EventoAuditoria(String tablaAfectada, int registroId, AccionAuditoria accion,
+                           String datosAnteriores, String datosNuevos, int usuarioId,
+                           String ipAddress, LocalDateTime fechaAccion) {
+        this.tablaAfectada = tablaAfectada;
+        this.registroId = registroId;
+        this.accion = accion;
+        this.datosAnteriores = datosAnteriores;
+        this.datosNuevos = datosNuevos;
+        this.usuarioId = usuarioId;
+        this.ipAddress = ipAddress;
+        this.fechaAccion = fechaAccion;
+    }
+    
+    public String getTablaAfectada() {
+        return tablaAfectada;
+    }
+    
+    public int getRegistroId() {
+        return registroId;
+    }
+    
+    public AccionAuditoria getAccion() {
+        return accion;
+    }
+    
+    public String getDatosAnteriores() {
+        return datosAnteriores;
+    }
+    
+    public String getDatosNuevos() {
+        return datosNuevos;
+    }
+    
+    public int getUsuarioId() {
+        return usuarioId;
+    }
+    
+    public String getIpAddress() {
+        return ipAddress;
+    }
+    
+    public LocalDateTime getFechaAccion() {
+        return fechaAccion;
+    }
+    
+    @Override
+    public String toString() {
+        return "EventoAuditoria{" +
+                "tabla='" + tablaAfectada + '\'' +
+                ", registroId=" + registroId +
+                ", accion=" + accion +
+                ", usuarioId=" + usuarioId +
+                ", fecha=" + fechaAccion +
+                '}';
+    }
+}
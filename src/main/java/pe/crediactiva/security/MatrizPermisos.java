@@ -0,0 +1,124 @@
+package pe.crediactiva.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.dao.interfaces.RolDAO;
+import pe.crediactiva.dao.mysql.RolDAOImpl;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Permisos de cada rol, leídos una vez de la tabla roles_permisos y guardados
+ * como máscaras de bits. Si la tabla no existe o está vacía se usan los roles
+ * por defecto de cada {@link Permiso}.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class MatrizPermisos {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MatrizPermisos.class);
+    
+    private static class Holder {
+        private static final MatrizPermisos INSTANCE = new MatrizPermisos(() -> new RolDAOImpl().findPermisosPorRol()
+                .orElseThrow(() -> new IllegalStateException("Error al leer roles_permisos")));
+    }
+    
+    private final Supplier<Map<String, ? extends Collection<String>>> cargador;
+    // Índice: ordinal del TipoRol; null hasta la primera consulta o tras invalidar()
+    private volatile long[] permisosPorRol;
+    
+    /**
+     * @param cargador lectura de los permisos por nombre de rol (ver {@link RolDAO#findPermisosPorRol()});
+     *                 una excepción indica un fallo de lectura y no se guarda el resultado
+     */
+    MatrizPermisos(Supplier<Map<String, ? extends Collection<String>>> cargador) {
+        this.cargador = cargador;
+    }
+    
+    public static MatrizPermisos getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Calcula los permisos de un conjunto de roles.
+     * 
+     * @param mascaraRoles máscara de roles (ver {@link TipoRol#getBit()})
+     * @return máscara con la unión de los permisos de esos roles
+     */
+    public long permisosDe(int mascaraRoles) {
+        long[] matriz = permisosPorRol;
+        if (matriz == null) {
+            matriz = cargar();
+        }
+        long permisos = 0L;
+        for (int i = 0; i < matriz.length; i++) {
+            if ((mascaraRoles & (1 << i)) != 0) {
+                permisos |= matriz[i];
+            }
+        }
+        return permisos;
+    }
+    
+    /**
+     * Descarta los permisos leídos; la próxima consulta los vuelve a leer.
+     * RolService la llama al crear, modificar, activar o desactivar roles;
+     * roles_permisos solo se edita con scripts y se vuelve a leer al reiniciar.
+     */
+    public void invalidar() {
+        permisosPorRol = null;
+    }
+    
+    private synchronized long[] cargar() {
+        long[] matriz = permisosPorRol;
+        if (matriz != null) {
+            return matriz;
+        }
+        TipoRol[] tipos = TipoRol.values();
+        matriz = new long[tipos.length];
+        
+        Map<String, ? extends Collection<String>> leidos = Map.of();
+        boolean leida = false;
+        try {
+            leidos = cargador.get();
+            leida = true;
+        } catch (Exception e) {
+            logger.warn("No se pudieron leer los permisos de roles; se usan los permisos por defecto", e);
+        }
+        
+        if (leidos.isEmpty()) {
+            for (Permiso permiso : Permiso.values()) {
+                for (TipoRol tipo : tipos) {
+                    if (permiso.esPorDefecto(tipo)) {
+                        matriz[tipo.ordinal()] |= permiso.getBit();
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<String, ? extends Collection<String>> entrada : leidos.entrySet()) {
+                TipoRol tipo = TipoRol.buscarPorCodigo(entrada.getKey());
+                if (tipo == null) {
+                    continue;
+                }
+                for (String codigo : entrada.getValue()) {
+                    Permiso permiso = Permiso.buscarPorCodigo(codigo);
+                    if (permiso != null) {
+                        matriz[tipo.ordinal()] |= permiso.getBit();
+                    } else {
+                        logger.warn("Permiso desconocido en roles_permisos: {} ({})", codigo, entrada.getKey());
+                    }
+                }
+            }
+        }
+        
+        // Tras un fallo de lectura los permisos por defecto no se guardan: se reintenta en la próxima consulta
+        if (leida) {
+            permisosPorRol = matriz;
+        }
+        logger.debug("Permisos de roles cargados ({})", leidos.isEmpty() ? "por defecto" : "roles_permisos");
+        return matriz;
+    }
+}
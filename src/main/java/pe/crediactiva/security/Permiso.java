@@ -0,0 +1,85 @@
+package pe.crediactiva.security;
+
+import pe.crediactiva.model.enums.TipoRol;
+
+/**
+ * Permisos de la aplicación. Cada rol tiene un conjunto de permisos definido
+ * en la tabla roles_permisos (scripts/10_roles_permisos.sql); los roles por
+ * defecto de cada permiso se usan cuando esa tabla no existe o está vacía.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum Permiso {
+    
+    GESTIONAR_USUARIOS("Crear, editar y desactivar usuarios", TipoRol.ADMINISTRADOR),
+    GESTIONAR_ROLES("Asignar y quitar roles", TipoRol.ADMINISTRADOR),
+    CREAR_SOLICITUDES("Registrar solicitudes de préstamo", TipoRol.ASESOR, TipoRol.CLIENTE),
+    REVISAR_SOLICITUDES("Aprobar o rechazar solicitudes", TipoRol.ADMINISTRADOR),
+    VER_TODOS_PRESTAMOS("Ver y filtrar todos los préstamos", TipoRol.ADMINISTRADOR),
+    VER_PRESTAMOS_ASIGNADOS("Ver los préstamos a cargo del asesor", TipoRol.ASESOR),
+    VER_PRESTAMOS_PROPIOS("Ver los préstamos y cronogramas propios", TipoRol.CLIENTE),
+    REGISTRAR_PAGOS("Registrar pagos de cuotas", TipoRol.ADMINISTRADOR, TipoRol.ASESOR),
+    VER_REPORTE_COMISIONES("Reporte de comisiones de todos los asesores", TipoRol.ADMINISTRADOR),
+    VER_REPORTE_COBROS("Reporte personal de cobros", TipoRol.ASESOR),
+    EXPORTAR_REPORTES("Exportar reportes a CSV y Excel", TipoRol.ADMINISTRADOR, TipoRol.ASESOR),
+    VER_DIAGNOSTICO("Herramientas de diagnóstico y reparación", TipoRol.ADMINISTRADOR);
+    
+    private static final Permiso[] VALORES = values();
+    
+    private final String descripcion;
+    private final TipoRol[] rolesPorDefecto;
+    private final long bit;
+    
+    Permiso(String descripcion, TipoRol... rolesPorDefecto) {
+        this.descripcion = descripcion;
+        this.rolesPorDefecto = rolesPorDefecto;
+        this.bit = 1L << ordinal();
+    }
+    
+    public String getDescripcion() {
+        return descripcion;
+    }
+    
+    /**
+     * Obtiene el bit del permiso dentro de una máscara de permisos.
+     * 
+     * @return máscara con solo este permiso
+     */
+    public long getBit() {
+        return bit;
+    }
+    
+    /**
+     * Indica si el permiso corresponde al rol cuando no hay permisos en la base de datos.
+     * 
+     * @param tipoRol rol a verificar
+     * @return true si el rol tiene el permiso por defecto
+     */
+    public boolean esPorDefecto(TipoRol tipoRol) {
+        for (TipoRol rol : rolesPorDefecto) {
+            if (rol == tipoRol) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Obtiene el permiso a partir del código guardado en roles_permisos.
+     * 
+     * @param codigo nombre del permiso
+     * @return el permiso o null si no existe
+     */
+    public static Permiso buscarPorCodigo(String codigo) {
+        if (codigo == null) {
+            return null;
+        }
+        for (Permiso permiso : VALORES) {
+            if (permiso.name().equalsIgnoreCase(codigo)) {
+                return permiso;
+            }
+        }
+        return null;
+    }
+}
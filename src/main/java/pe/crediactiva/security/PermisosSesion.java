@@ -0,0 +1,57 @@
+package pe.crediactiva.security;
+
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+/**
+ * Roles y permisos del usuario de la sesión, calculados una sola vez como
+ * máscaras de bits. Cada verificación es una operación AND, sin recorrer la
+ * lista de roles ni crear objetos. Es inmutable: al cambiar los roles se
+ * calcula una instancia nueva.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class PermisosSesion {
+    
+    /**
+     * Sin sesión: ningún rol ni permiso.
+     */
+    public static final PermisosSesion NINGUNO = new PermisosSesion(0, 0L);
+    
+    private final int roles;
+    private final long permisos;
+    
+    private PermisosSesion(int roles, long permisos) {
+        this.roles = roles;
+        this.permisos = permisos;
+    }
+    
+    /**
+     * Calcula los roles activos del usuario y los permisos que le dan.
+     * 
+     * @param usuario usuario con sus roles cargados
+     * @param matriz permisos de cada rol
+     * @return permisos de la sesión
+     */
+    public static PermisosSesion de(Usuario usuario, MatrizPermisos matriz) {
+        int roles = usuario.getMascaraRoles();
+        return new PermisosSesion(roles, matriz.permisosDe(roles));
+    }
+    
+    public boolean tieneRol(TipoRol tipoRol) {
+        return (roles & tipoRol.getBit()) != 0;
+    }
+    
+    public boolean tienePermiso(Permiso permiso) {
+        return (permisos & permiso.getBit()) != 0;
+    }
+    
+    public int getRoles() {
+        return roles;
+    }
+    
+    public long getPermisos() {
+        return permisos;
+    }
+}
@@ -0,0 +1,205 @@
+package pe.crediactiva.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.dao.interfaces.UsuarioDAO;
+import pe.crediactiva.dao.mysql.UsuarioDAOImpl;
+import pe.crediactiva.monitoring.InstrumentadorDao;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritura diferida del último login de los usuarios.
+ *
+ * El login solo anota la fecha en memoria; un hilo en segundo plano guarda las
+ * anotaciones por lotes cada intervalo, en una transacción confirmada. Las
+ * anotaciones se combinan por usuario: si alguien inicia sesión varias veces
+ * antes del siguiente guardado, solo se escribe la fecha más reciente. Al
+ * cerrar la aplicación se guarda lo pendiente.
+ *
+ * Si un lote falla, sus anotaciones vuelven a quedar pendientes para el
+ * siguiente intervalo. A diferencia de la auditoría no hay archivo de
+ * pendientes: perder un último login por una caída no compromete datos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class RegistroAccesos {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroAccesos.class);
+
+    private static final int TAMANO_LOTE = 500;
+
+    private static class Holder {
+        private static final RegistroAccesos INSTANCE = new RegistroAccesos(
+            InstrumentadorDao.instrumentar(UsuarioDAO.class, new UsuarioDAOImpl())::updateLastLogin,
+            AppConfig.getLastLoginFlushIntervalMs());
+    }
+
+    /**
+     * Destino de los lotes de accesos.
+     */
+    @FunctionalInterface
+    public interface Destino {
+        /**
+         * @param accesos fecha del último login por ID de usuario
+         * @return true si el lote quedó confirmado
+         */
+        boolean guardar(Map<Integer, LocalDateTime> accesos);
+    }
+
+    private final Destino destino;
+    private final long intervaloMs;
+    private final Map<Integer, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+    private final Object bloqueoGuardado = new Object();
+
+    private final AtomicLong accesosGuardados = new AtomicLong();
+    private final AtomicLong lotesGuardados = new AtomicLong();
+
+    private ScheduledExecutorService programador;
+
+    /**
+     * Obtiene la instancia de la aplicación.
+     *
+     * @return registro de accesos
+     */
+    public static RegistroAccesos getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Constructor para inyección de dependencias (testing)
+    public RegistroAccesos(Destino destino, long intervaloMs) {
+        this.destino = destino;
+        this.intervaloMs = intervaloMs;
+    }
+
+    /**
+     * Inicia el guardado periódico en un hilo de fondo.
+     */
+    public synchronized void iniciar() {
+        if (programador != null) return;
+
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "accesos-escritor");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(this::guardarPeriodico, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        logger.info("Registro de accesos iniciado (intervalo: {} ms)", intervaloMs);
+    }
+
+    /**
+     * Detiene el hilo de fondo y guarda lo pendiente en el hilo que llama.
+     *
+     * @param esperaMs tiempo máximo de espera del guardado en curso
+     */
+    public synchronized void detener(long esperaMs) {
+        if (programador != null) {
+            programador.shutdown();
+            try {
+                programador.awaitTermination(esperaMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            programador = null;
+        }
+
+        guardarPendientes();
+        if (!pendientes.isEmpty()) {
+            logger.warn("No se pudo guardar el último login de {} usuarios", pendientes.size());
+        }
+        logger.info("Registro de accesos detenido. Guardados: {} en {} lotes",
+                    accesosGuardados.get(), lotesGuardados.get());
+    }
+
+    /**
+     * Anota el último login de un usuario. No accede a la base de datos.
+     *
+     * @param usuarioId ID del usuario
+     * @param fecha fecha del login
+     */
+    public void registrar(Integer usuarioId, LocalDateTime fecha) {
+        if (usuarioId == null || fecha == null) return;
+        pendientes.merge(usuarioId, fecha, RegistroAccesos::masReciente);
+    }
+
+    /**
+     * Guarda ahora todas las anotaciones pendientes, por lotes. Se detiene en
+     * el primer lote que falla, que vuelve a quedar pendiente.
+     *
+     * @return true si no quedó nada pendiente
+     */
+    public boolean guardarPendientes() {
+        synchronized (bloqueoGuardado) {
+            Map<Integer, LocalDateTime> lote = new HashMap<>();
+            Iterator<Integer> ids = pendientes.keySet().iterator();
+            while (ids.hasNext()) {
+                Integer id = ids.next();
+                // remove atómico: una anotación que llega después queda para el siguiente lote
+                LocalDateTime fecha = pendientes.remove(id);
+                if (fecha != null) {
+                    lote.put(id, fecha);
+                }
+                if (lote.size() == TAMANO_LOTE || (!ids.hasNext() && !lote.isEmpty())) {
+                    if (!guardarLote(lote)) {
+                        return false;
+                    }
+                    lote.clear();
+                }
+            }
+            return pendientes.isEmpty();
+        }
+    }
+
+    public int getAccesosPendientes() {
+        return pendientes.size();
+    }
+
+    public long getAccesosGuardados() {
+        return accesosGuardados.get();
+    }
+
+    public long getLotesGuardados() {
+        return lotesGuardados.get();
+    }
+
+    private void guardarPeriodico() {
+        try {
+            guardarPendientes();
+        } catch (RuntimeException e) {
+            logger.error("Error inesperado en el escritor de accesos", e);
+        }
+    }
+
+    private boolean guardarLote(Map<Integer, LocalDateTime> lote) {
+        boolean guardado;
+        try {
+            guardado = destino.guardar(lote);
+        } catch (RuntimeException e) {
+            logger.error("Error al guardar el último login ({} usuarios)", lote.size(), e);
+            guardado = false;
+        }
+
+        if (guardado) {
+            accesosGuardados.addAndGet(lote.size());
+            lotesGuardados.incrementAndGet();
+        } else {
+            // Sin pisar un login más reciente anotado mientras tanto
+            lote.forEach((id, fecha) -> pendientes.merge(id, fecha, RegistroAccesos::masReciente));
+        }
+        return guardado;
+    }
+
+    private static LocalDateTime masReciente(LocalDateTime actual, LocalDateTime nueva) {
+        return nueva.isAfter(actual) ? nueva : actual;
+    }
+}
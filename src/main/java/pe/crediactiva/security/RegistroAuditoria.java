@@ -0,0 +1,509 @@
+package pe.crediactiva.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.dao.interfaces.AuditoriaDAO;
+import pe.crediactiva.dao.mysql.AuditoriaDAOImpl;
+import pe.crediactiva.model.Usuario;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de auditoría asíncrono.
+ * Los servicios publican eventos en una cola acotada y un hilo en segundo plano
+ * los inserta por lotes en la tabla auditoria, de modo que el registro no añade
+ * una escritura síncrona a cada operación.
+ *
+ * Si la cola está llena, quien publica espera un tiempo acotado (contrapresión) y,
+ * si aún no hay espacio, el evento se escribe en el archivo local de pendientes.
+ * Ese archivo también recibe los lotes que no se pudieron guardar por falta de
+ * base de datos y se reenvía automáticamente cuando la conexión vuelve; los eventos
+ * que fallan repetidamente pasan a un archivo de cuarentena para revisión manual.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class RegistroAuditoria {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroAuditoria.class);
+
+    private static final String NULO = "\\N";
+
+    /** Tiempo mínimo entre reintentos de envío del archivo de pendientes */
+    private static final long REINTENTO_PENDIENTES_MS = 30_000;
+
+    /** Fallos seguidos de un mismo lote de pendientes antes de separar los eventos inválidos */
+    private static final int MAX_INTENTOS_LOTE = 5;
+
+    private static class Holder {
+        private static final RegistroAuditoria INSTANCE = new RegistroAuditoria(
+            new AuditoriaDAOImpl(),
+            Paths.get(AppConfig.getAuditSpillFile()),
+            AppConfig.getAuditQueueCapacity(),
+            AppConfig.getAuditBatchSize(),
+            AppConfig.getAuditFlushIntervalMs(),
+            AppConfig.getAuditOfferTimeoutMs());
+    }
+
+    private final AuditoriaDAO auditoriaDAO;
+    private final Path archivoPendientes;
+    private final BlockingQueue<EventoAuditoria> cola;
+    private final int tamanoLote;
+    private final long intervaloMs;
+    private final long esperaMaximaMs;
+    private final long reintentoPendientesMs;
+    private final int maxIntentosLote;
+    private final Object bloqueoArchivo = new Object();
+
+    private final AtomicLong eventosGuardados = new AtomicLong();
+    private final AtomicLong eventosEnArchivo = new AtomicLong();
+    private final AtomicLong eventosEnCuarentena = new AtomicLong();
+
+    private volatile Thread hiloEscritor;
+    private volatile boolean activo;
+    private volatile long proximoReintentoPendientes;
+    private int intentosLote;
+    private String ipAddress;
+
+    /**
+     * Obtiene la instancia de la aplicación.
+     *
+     * @return registro de auditoría
+     */
+    public static RegistroAuditoria getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Constructor para inyección de dependencias (testing)
+    public RegistroAuditoria(AuditoriaDAO auditoriaDAO, Path archivoPendientes, int capacidad,
+                             int tamanoLote, long intervaloMs, long esperaMaximaMs) {
+        this(auditoriaDAO, archivoPendientes, capacidad, tamanoLote, intervaloMs, esperaMaximaMs,
+             REINTENTO_PENDIENTES_MS, MAX_INTENTOS_LOTE);
+    }
+
+    RegistroAuditoria(AuditoriaDAO auditoriaDAO, Path archivoPendientes, int capacidad, int tamanoLote,
+                      long intervaloMs, long esperaMaximaMs, long reintentoPendientesMs, int maxIntentosLote) {
+        this.auditoriaDAO = auditoriaDAO;
+        this.archivoPendientes = archivoPendientes;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.tamanoLote = tamanoLote;
+        this.intervaloMs = intervaloMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.reintentoPendientesMs = reintentoPendientesMs;
+        this.maxIntentosLote = maxIntentosLote;
+    }
+
+    /**
+     * Inicia el hilo escritor. Si hay eventos pendientes de una ejecución
+     * anterior, se reenvían en el primer ciclo.
+     */
+    public synchronized void iniciar() {
+        if (activo) return;
+
+        activo = true;
+        proximoReintentoPendientes = 0;
+        hiloEscritor = new Thread(this::ejecutar, "auditoria-escritor");
+        hiloEscritor.setDaemon(true);
+        hiloEscritor.start();
+        logger.info("Registro de auditoría iniciado (lote: {}, cola: {})", tamanoLote, cola.remainingCapacity());
+    }
+
+    /**
+     * Detiene el hilo escritor guardando lo que quede en la cola.
+     * Lo que no alcance a guardarse termina en el archivo de pendientes.
+     *
+     * @param esperaMs tiempo máximo de espera
+     */
+    public synchronized void detener(long esperaMs) {
+        if (!activo) return;
+
+        activo = false;
+        try {
+            hiloEscritor.join(esperaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<EventoAuditoria> restantes = new ArrayList<>();
+        cola.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            escribirPendientes(restantes);
+        }
+        logger.info("Registro de auditoría detenido. Guardados: {}, en archivo: {}",
+                   eventosGuardados.get(), eventosEnArchivo.get());
+    }
+
+    /**
+     * Registra un cambio realizado por el usuario de la sesión actual.
+     * Si no hay sesión (procesos internos) el cambio no se audita.
+     *
+     * @param tabla tabla afectada
+     * @param registroId ID del registro afectado
+     * @param accion acción realizada
+     * @param anterior fotografía anterior (null en INSERT)
+     * @param nuevo fotografía nueva (null en DELETE)
+     */
+    public void registrar(String tabla, Integer registroId, AccionAuditoria accion,
+                          Map<String, Object> anterior, Map<String, Object> nuevo) {
+        if (!activo || registroId == null) return;
+
+        Usuario usuario = SessionManager.getInstance().getCurrentUser();
+        if (usuario == null || usuario.getId() == null) {
+            logger.debug("Cambio en {} #{} sin sesión activa, no se audita", tabla, registroId);
+            return;
+        }
+
+        publicar(new EventoAuditoria(tabla, registroId, accion,
+                                     SnapshotAuditoria.toJson(anterior), SnapshotAuditoria.toJson(nuevo),
+                                     usuario.getId(), getIpAddress(), LocalDateTime.now()));
+    }
+
+    /**
+     * Publica un evento en la cola con contrapresión acotada.
+     *
+     * @param evento evento a publicar
+     */
+    public void publicar(EventoAuditoria evento) {
+        try {
+            if (cola.offer(evento) || cola.offer(evento, esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Cola llena: el evento no se pierde, queda en el archivo de pendientes
+        logger.warn("Cola de auditoría llena, evento enviado a pendientes: {}", evento);
+        escribirPendientes(List.of(evento));
+    }
+
+    public long getEventosGuardados() {
+        return eventosGuardados.get();
+    }
+
+    public long getEventosEnArchivo() {
+        return eventosEnArchivo.get();
+    }
+
+    public long getEventosEnCuarentena() {
+        return eventosEnCuarentena.get();
+    }
+
+    public int getEventosEnCola() {
+        return cola.size();
+    }
+
+    public boolean isActivo() {
+        return activo;
+    }
+
+    // Hilo escritor
+
+    private void ejecutar() {
+        List<EventoAuditoria> lote = new ArrayList<>(tamanoLote);
+
+        while (activo || !cola.isEmpty()) {
+            try {
+                EventoAuditoria primero = cola.poll(intervaloMs, TimeUnit.MILLISECONDS);
+                if (primero != null) {
+                    lote.add(primero);
+                    cola.drainTo(lote, tamanoLote - 1);
+                    guardarLote(lote);
+                    lote.clear();
+                }
+
+                if (System.currentTimeMillis() >= proximoReintentoPendientes) {
+                    reenviarPendientes();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Error inesperado en el escritor de auditoría", e);
+                if (!lote.isEmpty()) {
+                    escribirPendientes(lote);
+                    lote.clear();
+                }
+            }
+        }
+    }
+
+    private void guardarLote(List<EventoAuditoria> lote) {
+        if (auditoriaDAO.insertBatch(lote)) {
+            eventosGuardados.addAndGet(lote.size());
+        } else {
+            escribirPendientes(lote);
+            proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+        }
+    }
+
+    /**
+     * Reenvía el archivo de pendientes por lotes.
+     *
+     * Bajo el bloqueo del archivo solo se renombra a "en envío", de modo que los
+     * eventos que se desborden mientras tanto empiezan un archivo nuevo y la
+     * inserción en base de datos ocurre fuera del bloqueo. Si un lote falla, lo no
+     * enviado vuelve al inicio del archivo de pendientes para el siguiente intento.
+     * Un lote que falla {@code maxIntentosLote} veces seguidas se envía evento por
+     * evento y los que aún fallan pasan al archivo de cuarentena, para que un
+     * evento inválido no bloquee al resto.
+     */
+    private void reenviarPendientes() {
+        Path enEnvio = hermano(".enviando");
+
+        synchronized (bloqueoArchivo) {
+            try {
+                // Un archivo "en envío" que quedó de un ciclo anterior se reenvía primero
+                if (!Files.exists(enEnvio)) {
+                    if (!Files.exists(archivoPendientes)) {
+                        proximoReintentoPendientes = Long.MAX_VALUE;
+                        return;
+                    }
+                    Files.move(archivoPendientes, enEnvio, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                logger.error("Error al preparar el reenvío de auditoría pendiente desde {}", archivoPendientes, e);
+                proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+                return;
+            }
+        }
+
+        Path restantes = hermano(".tmp");
+        List<String> cuarentena = new ArrayList<>();
+        long reenviados = 0;
+        boolean fallo = false;
+
+        try (BufferedReader lector = Files.newBufferedReader(enEnvio, StandardCharsets.UTF_8)) {
+            String linea;
+            List<String> lineasLote = new ArrayList<>(tamanoLote);
+            List<EventoAuditoria> lote = new ArrayList<>(tamanoLote);
+
+            while (!fallo) {
+                linea = lector.readLine();
+                if (linea != null) {
+                    if (linea.isBlank()) continue;
+                    try {
+                        lote.add(desdeLinea(linea));
+                        lineasLote.add(linea);
+                    } catch (RuntimeException e) {
+                        logger.error("Línea de auditoría ilegible enviada a cuarentena: {}", linea);
+                        cuarentena.add(linea);
+                    }
+                    if (lote.size() < tamanoLote) continue;
+                }
+                if (lote.isEmpty()) break;
+
+                if (auditoriaDAO.insertBatch(lote)) {
+                    reenviados += lote.size();
+                    intentosLote = 0;
+                } else if (++intentosLote >= maxIntentosLote) {
+                    logger.warn("Lote de auditoría pendiente falló {} veces, se envía evento por evento",
+                               intentosLote);
+                    intentosLote = 0;
+                    for (int i = 0; i < lote.size(); i++) {
+                        if (auditoriaDAO.insertBatch(List.of(lote.get(i)))) {
+                            reenviados++;
+                        } else {
+                            logger.error("Evento de auditoría enviado a cuarentena: {}", lineasLote.get(i));
+                            cuarentena.add(lineasLote.get(i));
+                        }
+                    }
+                } else {
+                    fallo = true;
+                    // Conservar el lote fallido y todo lo que no se llegó a leer
+                    try (BufferedWriter escritor = Files.newBufferedWriter(restantes, StandardCharsets.UTF_8)) {
+                        for (String pendiente : lineasLote) {
+                            escritor.write(pendiente);
+                            escritor.newLine();
+                        }
+                        while ((linea = lector.readLine()) != null) {
+                            escritor.write(linea);
+                            escritor.newLine();
+                        }
+                    }
+                }
+                lote.clear();
+                lineasLote.clear();
+                if (linea == null) break;
+            }
+
+        } catch (IOException e) {
+            logger.error("Error al reenviar auditoría pendiente desde {}", enEnvio, e);
+            proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+            return;
+        }
+
+        if (!cuarentena.isEmpty()) {
+            escribirCuarentena(cuarentena);
+        }
+
+        synchronized (bloqueoArchivo) {
+            try {
+                if (fallo) {
+                    // Lo no enviado va delante de lo que se desbordó durante el envío
+                    if (Files.exists(archivoPendientes)) {
+                        Files.write(restantes, Files.readAllLines(archivoPendientes, StandardCharsets.UTF_8),
+                                    StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                    }
+                    Files.move(restantes, archivoPendientes, StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                    proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+                } else {
+                    proximoReintentoPendientes = Files.exists(archivoPendientes) ? 0 : Long.MAX_VALUE;
+                }
+                Files.delete(enEnvio);
+            } catch (IOException e) {
+                logger.error("Error al actualizar el archivo de auditoría pendiente", e);
+                proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+            }
+        }
+
+        eventosGuardados.addAndGet(reenviados);
+        if (reenviados > 0) {
+            logger.info("Auditoría pendiente reenviada: {} eventos", reenviados);
+        }
+    }
+
+    /**
+     * Agrega al archivo de cuarentena los eventos que no se pudieron reenviar.
+     * Ese archivo no se reenvía automáticamente; queda para revisión manual.
+     */
+    private void escribirCuarentena(List<String> lineas) {
+        Path archivoCuarentena = hermano(".cuarentena");
+        try {
+            Files.write(archivoCuarentena, lineas, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            eventosEnCuarentena.addAndGet(lineas.size());
+            logger.error("{} eventos de auditoría enviados a cuarentena en {}", lineas.size(), archivoCuarentena);
+        } catch (IOException e) {
+            logger.error("No se pudo escribir la cuarentena de auditoría, {} eventos perdidos", lineas.size(), e);
+            lineas.forEach(linea -> logger.error("Evento de auditoría perdido: {}", linea));
+        }
+    }
+
+    private Path hermano(String sufijo) {
+        return archivoPendientes.resolveSibling(archivoPendientes.getFileName() + sufijo);
+    }
+
+    /**
+     * Agrega eventos al archivo de pendientes y fuerza su escritura a disco.
+     */
+    private void escribirPendientes(List<EventoAuditoria> eventos) {
+        synchronized (bloqueoArchivo) {
+            try {
+                Path directorio = archivoPendientes.toAbsolutePath().getParent();
+                if (directorio != null) {
+                    Files.createDirectories(directorio);
+                }
+
+                try (FileOutputStream salida = new FileOutputStream(archivoPendientes.toFile(), true);
+                     BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8))) {
+                    for (EventoAuditoria evento : eventos) {
+                        escritor.write(aLinea(evento));
+                        escritor.newLine();
+                    }
+                    escritor.flush();
+                    salida.getFD().sync();
+                }
+
+                eventosEnArchivo.addAndGet(eventos.size());
+                if (proximoReintentoPendientes == Long.MAX_VALUE) {
+                    proximoReintentoPendientes = System.currentTimeMillis() + reintentoPendientesMs;
+                }
+
+            } catch (IOException e) {
+                // Último recurso: el log de auditoría de logback
+                logger.error("No se pudo escribir la auditoría pendiente, {} eventos perdidos", eventos.size(), e);
+                eventos.forEach(evento -> logger.error("Evento de auditoría perdido: {}", aLinea(evento)));
+            }
+        }
+    }
+
+    // Formato del archivo de pendientes: una línea por evento, campos separados por tabulador
+
+    static String aLinea(EventoAuditoria evento) {
+        return String.join("\t",
+            evento.getFechaAccion().toString(),
+            escapar(evento.getTablaAfectada()),
+            Integer.toString(evento.getRegistroId()),
+            evento.getAccion().name(),
+            Integer.toString(evento.getUsuarioId()),
+            escapar(evento.getIpAddress()),
+            escapar(evento.getDatosAnteriores()),
+            escapar(evento.getDatosNuevos()));
+    }
+
+    static EventoAuditoria desdeLinea(String linea) {
+        String[] campos = linea.split("\t", -1);
+        if (campos.length != 8) {
+            throw new IllegalArgumentException("Línea de auditoría inválida: " + linea);
+        }
+        return new EventoAuditoria(
+            desescapar(campos[1]),
+            Integer.parseInt(campos[2]),
+            AccionAuditoria.valueOf(campos[3]),
+            desescapar(campos[6]),
+            desescapar(campos[7]),
+            Integer.parseInt(campos[4]),
+            desescapar(campos[5]),
+            LocalDateTime.parse(campos[0]));
+    }
+
+    private static String escapar(String texto) {
+        if (texto == null) return NULO;
+        return texto.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String desescapar(String texto) {
+        if (NULO.equals(texto)) return null;
+
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '\\' && i + 1 < texto.length()) {
+                char siguiente = texto.charAt(++i);
+                switch (siguiente) {
+                    case 't' -> resultado.append('\t');
+                    case 'n' -> resultado.append('\n');
+                    case 'r' -> resultado.append('\r');
+                    default -> resultado.append(siguiente);
+                }
+            } else {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    private String getIpAddress() {
+        if (ipAddress == null) {
+            try {
+                ipAddress = InetAddress.getLocalHost().getHostAddress();
+            } catch (IOException e) {
+                ipAddress = "127.0.0.1";
+            }
+        }
+        return ipAddress;
+    }
+}
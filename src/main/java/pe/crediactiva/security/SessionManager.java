@@ -2,9 +2,12 @@ package pe.crediactiva.security;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -20,8 +23,11 @@ public class SessionManager {
     private static final SessionManager instance = new SessionManager();
     
     private final AtomicReference<Usuario> currentUser = new AtomicReference<>();
-    private LocalDateTime loginTime;
-    private LocalDateTime lastActivity;
+    // Roles y permisos del usuario actual como máscaras; se recalculan solo al cambiar sus roles
+    private volatile PermisosSesion permisos = PermisosSesion.NINGUNO;
+    // Se escriben en el hilo del login y se leen desde la interfaz y el vigilante de sesión
+    private volatile LocalDateTime loginTime;
+    private final ActividadSesion actividad = new ActividadSesion();
     
     private SessionManager() {
         // Constructor privado para singleton
@@ -54,11 +60,9 @@ public class SessionManager {
         }
         
         currentUser.set(usuario);
+        permisos = PermisosSesion.de(usuario, MatrizPermisos.getInstance());
+        actividad.reiniciar();
         loginTime = LocalDateTime.now();
-        lastActivity = LocalDateTime.now();
-        
-        // Actualizar último login del usuario
-        usuario.actualizarUltimoLogin();
         
         logger.info("Usuario '{}' ha iniciado sesión", usuario.getUsername());
     }
@@ -73,8 +77,8 @@ public class SessionManager {
         }
         
         currentUser.set(null);
+        permisos = PermisosSesion.NINGUNO;
         loginTime = null;
-        lastActivity = null;
     }
     
     /**
@@ -102,19 +106,43 @@ public class SessionManager {
      * @return true si el usuario tiene el rol
      */
     public boolean hasRole(String roleName) {
+        TipoRol tipoRol = TipoRol.buscarPorCodigo(roleName);
+        if (tipoRol != null) {
+            return permisos.tieneRol(tipoRol);
+        }
+        // Roles creados por el administrador que no son del sistema: no están en la máscara
         Usuario usuario = currentUser.get();
         return usuario != null && usuario.getRoles().stream()
                 .anyMatch(rol -> rol.getNombre().equalsIgnoreCase(roleName) && rol.isActivo());
     }
     
+    /**
+     * Verifica si el usuario actual tiene un rol del sistema.
+     * 
+     * @param tipoRol rol a verificar
+     * @return true si el usuario tiene el rol activo
+     */
+    public boolean hasRole(TipoRol tipoRol) {
+        return permisos.tieneRol(tipoRol);
+    }
+    
+    /**
+     * Verifica si los roles del usuario actual le dan un permiso.
+     * 
+     * @param permiso permiso a verificar
+     * @return true si tiene el permiso
+     */
+    public boolean tienePermiso(Permiso permiso) {
+        return permisos.tienePermiso(permiso);
+    }
+    
     /**
      * Verifica si el usuario actual es administrador.
      * 
      * @return true si es administrador
      */
     public boolean isAdmin() {
-        Usuario usuario = currentUser.get();
-        return usuario != null && usuario.esAdministrador();
+        return permisos.tieneRol(TipoRol.ADMINISTRADOR);
     }
     
     /**
@@ -123,8 +151,7 @@ public class SessionManager {
      * @return true si es asesor
      */
     public boolean isAsesor() {
-        Usuario usuario = currentUser.get();
-        return usuario != null && usuario.esAsesor();
+        return permisos.tieneRol(TipoRol.ASESOR);
     }
     
     /**
@@ -133,49 +160,81 @@ public class SessionManager {
      * @return true si es cliente
      */
     public boolean isCliente() {
+        return permisos.tieneRol(TipoRol.CLIENTE);
+    }
+    
+    /**
+     * Reemplaza el usuario de la sesión por una copia con los roles indicados y
+     * recalcula sus permisos. El objeto anterior no se modifica: puede estar
+     * compartido con pantallas abiertas. No hace nada si el usuario indicado no
+     * es el de la sesión.
+     * 
+     * @param usuarioId usuario cuyos roles cambiaron
+     * @param roles roles actuales del usuario
+     */
+    public void actualizarRoles(Integer usuarioId, List<Rol> roles) {
+        Usuario usuario = currentUser.get();
+        if (usuario == null || usuarioId == null || !usuarioId.equals(usuario.getId())) {
+            return;
+        }
+        Usuario actualizado = usuario.conRoles(roles);
+        if (!currentUser.compareAndSet(usuario, actualizado)) {
+            // La sesión cambió (logout o nuevo login) mientras se leían los roles
+            return;
+        }
+        permisos = PermisosSesion.de(actualizado, MatrizPermisos.getInstance());
+        logger.info("Roles del usuario '{}' actualizados en la sesión", actualizado.getUsername());
+    }
+    
+    /**
+     * Verifica si el usuario indicado es el de la sesión.
+     * 
+     * @param usuarioId ID del usuario
+     * @return true si es el usuario actual
+     */
+    public boolean esUsuarioActual(Integer usuarioId) {
         Usuario usuario = currentUser.get();
-        return usuario != null && usuario.esCliente();
+        return usuario != null && usuarioId != null && usuarioId.equals(usuario.getId());
     }
     
     /**
-     * Actualiza la última actividad del usuario.
+     * Actualiza la última actividad del usuario. La invocan los filtros de
+     * eventos de entrada de las ventanas; no asigna memoria.
      */
     public void updateLastActivity() {
         if (isLoggedIn()) {
-            lastActivity = LocalDateTime.now();
+            actividad.registrar();
         }
     }
     
     /**
      * Obtiene el tiempo de la última actividad.
      * 
-     * @return tiempo de la última actividad
+     * @return tiempo de la última actividad, o null si no hay sesión
      */
     public LocalDateTime getLastActivity() {
-        return lastActivity;
+        if (!isLoggedIn()) {
+            return null;
+        }
+        return LocalDateTime.now().minusNanos(actividad.getInactividadNanos());
     }
     
     /**
-     * Obtiene el tiempo de inicio de sesión.
+     * Obtiene el registro de actividad de la sesión.
      * 
-     * @return tiempo de inicio de sesión
+     * @return actividad de la sesión
      */
-    public LocalDateTime getLoginTime() {
-        return loginTime;
+    public ActividadSesion getActividad() {
+        return actividad;
     }
     
     /**
-     * Verifica si la sesión ha expirado.
+     * Obtiene el tiempo de inicio de sesión.
      * 
-     * @param timeoutMinutes tiempo de expiración en minutos
-     * @return true si la sesión ha expirado
+     * @return tiempo de inicio de sesión
      */
-    public boolean isSessionExpired(int timeoutMinutes) {
-        if (!isLoggedIn() || lastActivity == null) {
-            return true;
-        }
-        
-        return lastActivity.plusMinutes(timeoutMinutes).isBefore(LocalDateTime.now());
+    public LocalDateTime getLoginTime() {
+        return loginTime;
     }
     
     /**
@@ -187,7 +246,8 @@ public class SessionManager {
         if (!isLoggedIn()) {
             throw new SecurityException("Se requiere iniciar sesión para acceder a esta funcionalidad");
         }
-        updateLastActivity();
+        // La actividad la registran los eventos de entrada: las tareas de fondo
+        // que pasan por aquí no deben mantener viva una sesión desatendida
     }
     
     /**
@@ -203,6 +263,19 @@ public class SessionManager {
         }
     }
     
+    /**
+     * Requiere que los roles del usuario le den un permiso.
+     * 
+     * @param permiso permiso requerido
+     * @throws SecurityException si el usuario no tiene el permiso
+     */
+    public void requirePermiso(Permiso permiso) throws SecurityException {
+        requireLogin();
+        if (!tienePermiso(permiso)) {
+            throw new SecurityException("No tiene permisos para: " + permiso.getDescripcion());
+        }
+    }
+    
     /**
      * Requiere que el usuario sea administrador.
      * 
@@ -230,7 +303,7 @@ public class SessionManager {
                 usuario.getUsername(),
                 usuario.getNombreCompleto(),
                 loginTime,
-                lastActivity);
+                getLastActivity());
     }
 }
 
@@ -0,0 +1,145 @@
+package pe.crediactiva.security;
+
+import pe.crediactiva.model.Asesor;
+import pe.crediactiva.model.Cliente;
+import pe.crediactiva.model.Prestamo;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fotografías de entidades para la auditoría.
+ * Cada método copia los campos relevantes (nunca el hash de la contraseña)
+ * con los nombres de columna de la base de datos.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class SnapshotAuditoria {
+    
+    private SnapshotAuditoria() {
+        // Clase de utilidad
+    }
+    
+    public static Map<String, Object> de(Usuario usuario) {
+        if (usuario == null) return null;
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("username", usuario.getUsername());
+        datos.put("email", usuario.getEmail());
+        datos.put("nombres", usuario.getNombres());
+        datos.put("apellidos", usuario.getApellidos());
+        datos.put("documento_identidad", usuario.getDocumentoIdentidad());
+        datos.put("telefono", usuario.getTelefono());
+        datos.put("direccion", usuario.getDireccion());
+        datos.put("activo", usuario.isActivo());
+        return datos;
+    }
+    
+    public static Map<String, Object> de(Rol rol) {
+        if (rol == null) return null;
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("nombre", rol.getNombre());
+        datos.put("descripcion", rol.getDescripcion());
+        datos.put("activo", rol.isActivo());
+        return datos;
+    }
+    
+    public static Map<String, Object> de(Cliente cliente) {
+        if (cliente == null) return null;
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("usuario_id", cliente.getUsuarioId());
+        datos.put("codigo_cliente", cliente.getCodigoCliente());
+        datos.put("tipo_cliente", cliente.getTipoCliente() != null ? cliente.getTipoCliente().name() : null);
+        datos.put("limite_credito", cliente.getLimiteCredito());
+        datos.put("score_crediticio", cliente.getScoreCrediticio());
+        datos.put("ingresos_declarados", cliente.getIngresosDeclarados());
+        datos.put("ocupacion", cliente.getOcupacion());
+        datos.put("empresa", cliente.getEmpresa());
+        datos.put("activo", cliente.isActivo());
+        return datos;
+    }
+    
+    public static Map<String, Object> de(Asesor asesor) {
+        if (asesor == null) return null;
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("usuario_id", asesor.getUsuarioId());
+        datos.put("codigo_asesor", asesor.getCodigoAsesor());
+        datos.put("comision_porcentaje", asesor.getComisionPorcentaje());
+        datos.put("meta_mensual", asesor.getMetaMensual());
+        datos.put("activo", asesor.isActivo());
+        return datos;
+    }
+    
+    public static Map<String, Object> de(Prestamo prestamo) {
+        if (prestamo == null) return null;
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("numero_prestamo", prestamo.getNumeroPrestamo());
+        datos.put("cliente_id", prestamo.getClienteId());
+        datos.put("asesor_id", prestamo.getAsesorId());
+        datos.put("monto_prestamo", prestamo.getMontoPrestamo());
+        datos.put("monto_total", prestamo.getMontoTotal());
+        datos.put("plazo_meses", prestamo.getPlazoMeses());
+        datos.put("tasa_interes_mensual", prestamo.getTasaInteresMensual());
+        datos.put("cuota_mensual", prestamo.getCuotaMensual());
+        datos.put("estado", prestamo.getEstado() != null ? prestamo.getEstado().name() : null);
+        datos.put("fecha_desembolso", prestamo.getFechaDesembolso());
+        return datos;
+    }
+    
+    /**
+     * Serializa una fotografía a JSON (objeto plano de un nivel).
+     * Números y booleanos van sin comillas; el resto se escribe como texto.
+     * 
+     * @param datos fotografía
+     * @return JSON o null si no hay datos
+     */
+    public static String toJson(Map<String, Object> datos) {
+        if (datos == null) return null;
+        
+        StringBuilder json = new StringBuilder(32 * datos.size() + 2).append('{');
+        boolean primero = true;
+        for (Map.Entry<String, Object> campo : datos.entrySet()) {
+            if (!primero) json.append(',');
+            primero = false;
+            escribirTexto(json, campo.getKey());
+            json.append(':');
+            
+            Object valor = campo.getValue();
+            if (valor == null) {
+                json.append("null");
+            } else if (valor instanceof BigDecimal decimal) {
+                json.append(decimal.toPlainString());
+            } else if (valor instanceof Number || valor instanceof Boolean) {
+                json.append(valor);
+            } else {
+                escribirTexto(json, valor.toString());
+            }
+        }
+        return json.append('}').toString();
+    }
+    
+    private static void escribirTexto(StringBuilder json, String texto) {
+        json.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
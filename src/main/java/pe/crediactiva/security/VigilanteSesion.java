@@ -0,0 +1,142 @@
+package pe.crediactiva.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cierra la sesión por inactividad.
+ *
+ * Un único hilo de fondo revisa la última actividad de la sesión. En lugar de
+ * despertar a intervalos fijos, cada revisión programa la siguiente para el
+ * momento en que la sesión vencería si no hay más actividad. Al vencer invoca
+ * la acción de expiración una sola vez por periodo de inactividad; la acción
+ * decide cómo bloquear la sesión (la aplicación lo hace en el hilo de JavaFX).
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class VigilanteSesion {
+
+    private static final Logger logger = LoggerFactory.getLogger(VigilanteSesion.class);
+
+    private static final long ESPERA_MINIMA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ActividadSesion actividad;
+    private final BooleanSupplier sesionIniciada;
+    private final long limiteNanos;
+    private final Runnable alExpirar;
+    private final boolean programacionAutomatica;
+
+    private ScheduledExecutorService programador;
+    // Marca de actividad que ya provocó una expiración; solo la usa el hilo del vigilante
+    private long actividadExpirada = Long.MIN_VALUE;
+
+    /**
+     * @param sesion gestor de la sesión vigilada
+     * @param timeoutSegundos inactividad permitida; 0 o menos desactiva la vigilancia
+     * @param alExpirar acción que bloquea la sesión; se invoca en el hilo del vigilante
+     */
+    public VigilanteSesion(SessionManager sesion, int timeoutSegundos, Runnable alExpirar) {
+        this(sesion.getActividad(), sesion::isLoggedIn, TimeUnit.SECONDS.toNanos(timeoutSegundos),
+             alExpirar, true);
+    }
+
+    // Constructor para pruebas: revisión manual
+    VigilanteSesion(ActividadSesion actividad, BooleanSupplier sesionIniciada, long limiteNanos,
+                    Runnable alExpirar, boolean programacionAutomatica) {
+        this.actividad = actividad;
+        this.sesionIniciada = sesionIniciada;
+        this.limiteNanos = limiteNanos;
+        this.alExpirar = alExpirar;
+        this.programacionAutomatica = programacionAutomatica;
+    }
+
+    /**
+     * Inicia la vigilancia en un hilo de fondo.
+     */
+    public synchronized void iniciar() {
+        if (programador != null || !programacionAutomatica) {
+            return;
+        }
+        if (limiteNanos <= 0) {
+            logger.info("Expiración de sesión por inactividad desactivada");
+            return;
+        }
+        programador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "vigilante-sesion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programar(limiteNanos);
+        logger.debug("Vigilancia de sesión iniciada (expira tras {} s de inactividad)",
+                     TimeUnit.NANOSECONDS.toSeconds(limiteNanos));
+    }
+
+    /**
+     * Detiene la vigilancia.
+     */
+    public synchronized void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+            programador = null;
+        }
+    }
+
+    /**
+     * Indica si hay una sesión que superó el tiempo de inactividad. La acción
+     * de expiración la usa para confirmar, ya en el hilo de JavaFX, que el
+     * usuario no volvió a interactuar mientras tanto.
+     *
+     * @return true si la sesión debe bloquearse
+     */
+    public boolean isInactiva() {
+        return limiteNanos > 0 && sesionIniciada.getAsBoolean()
+            && actividad.getInactividadNanos() >= limiteNanos;
+    }
+
+    /**
+     * Revisa la sesión e invoca la acción de expiración si venció. La invoca
+     * el hilo del vigilante; queda visible para pruebas.
+     *
+     * @return nanosegundos hasta la siguiente revisión
+     */
+    long revisar() {
+        if (!sesionIniciada.getAsBoolean()) {
+            return limiteNanos;
+        }
+        long inactividad = actividad.getInactividadNanos();
+        if (inactividad < limiteNanos) {
+            return limiteNanos - inactividad;
+        }
+
+        long ultima = actividad.getUltimaActividadNanos();
+        if (ultima != actividadExpirada) {
+            actividadExpirada = ultima;
+            logger.info("Sesión inactiva por {} s, se cierra", TimeUnit.NANOSECONDS.toSeconds(inactividad));
+            alExpirar.run();
+        }
+        return limiteNanos;
+    }
+
+    private void ejecutar() {
+        long espera;
+        try {
+            espera = revisar();
+        } catch (RuntimeException e) {
+            logger.warn("Error al revisar la inactividad de la sesión", e);
+            espera = limiteNanos;
+        }
+        programar(espera);
+    }
+
+    private synchronized void programar(long esperaNanos) {
+        if (programador != null) {
+            programador.schedule(this::ejecutar, Math.max(ESPERA_MINIMA_NANOS, esperaNanos), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,13 +2,19 @@ package pe.crediactiva.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
 import pe.crediactiva.dao.interfaces.AsesorDAO;
 import pe.crediactiva.dao.mysql.AsesorDAOImpl;
 import pe.crediactiva.model.Asesor;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.monitoring.InstrumentadorDao;
+import pe.crediactiva.security.AccionAuditoria;
+import pe.crediactiva.security.RegistroAuditoria;
+import pe.crediactiva.security.SnapshotAuditoria;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,10 +29,11 @@ public class AsesorService {
     private static final Logger logger = LoggerFactory.getLogger(AsesorService.class);
     
     private final AsesorDAO asesorDAO;
+    private final RegistroAuditoria auditoria = RegistroAuditoria.getInstance();
     
     // Constructor
     public AsesorService() {
-        this.asesorDAO = new AsesorDAOImpl();
+        this.asesorDAO = InstrumentadorDao.instrumentar(AsesorDAO.class, new AsesorDAOImpl());
     }
     
     // Constructor para inyección de dependencias (testing)
@@ -73,14 +80,9 @@ public class AsesorService {
                 throw new IllegalArgumentException("Ya existe un asesor para este usuario");
             }
             
-            // Generar código de asesor único
-            logger.info("🔢 Generando código de asesor...");
-            String codigoAsesor = asesorDAO.generarSiguienteCodigoAsesor();
-            logger.info("✅ Código generado: {}", codigoAsesor);
-            
-            // Crear asesor
+            // Crear asesor; el DAO reserva el código dentro de la transacción del INSERT
             logger.info("🏗️ Creando objeto Asesor...");
-            Asesor asesor = new Asesor(usuario, codigoAsesor);
+            Asesor asesor = new Asesor(usuario, null);
             
             // Establecer comisión (usar default si no se especifica)
             if (comisionPorcentaje != null) {
@@ -105,12 +107,16 @@ public class AsesorService {
             if (asesorCreado != null) {
                 logger.info("✅ ÉXITO TOTAL: Asesor creado exitosamente: {} para usuario {} (ID: {})", 
                            asesorCreado.getCodigoAsesor(), usuario.getUsername(), asesorCreado.getId());
+                auditoria.registrar("asesores", asesorCreado.getId(), AccionAuditoria.INSERT, 
+                                   null, SnapshotAuditoria.de(asesorCreado));
             } else {
                 logger.error("❌ FALLÓ: asesorDAO.save() retornó null");
             }
             
             return asesorCreado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("💥 EXCEPCIÓN en AsesorService.crearAsesor() para usuario: {}", usuario.getUsername(), e);
             throw new RuntimeException("Error al crear asesor: " + e.getMessage(), e);
@@ -126,6 +132,8 @@ public class AsesorService {
     public Optional<Asesor> buscarPorId(Integer id) {
         try {
             return asesorDAO.findById(id);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar asesor por ID: {}", id, e);
             return Optional.empty();
@@ -141,6 +149,8 @@ public class AsesorService {
     public Optional<Asesor> buscarPorUsuarioId(Integer usuarioId) {
         try {
             return asesorDAO.findByUsuarioId(usuarioId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar asesor por usuario ID: {}", usuarioId, e);
             return Optional.empty();
@@ -156,6 +166,8 @@ public class AsesorService {
     public Optional<Asesor> buscarPorCodigo(String codigoAsesor) {
         try {
             return asesorDAO.findByCodigoAsesor(codigoAsesor);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar asesor por código: {}", codigoAsesor, e);
             return Optional.empty();
@@ -170,6 +182,8 @@ public class AsesorService {
     public List<Asesor> obtenerAsesoresActivos() {
         try {
             return asesorDAO.findAllActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener asesores activos", e);
             return List.of();
@@ -184,6 +198,8 @@ public class AsesorService {
     public List<Asesor> obtenerTodosLosAsesores() {
         try {
             return asesorDAO.findAll();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener todos los asesores", e);
             return List.of();
@@ -216,10 +232,14 @@ public class AsesorService {
             
             if (asesorActualizado != null) {
                 logger.info("Asesor actualizado exitosamente: {}", asesor.getCodigoAsesor());
+                auditoria.registrar("asesores", asesor.getId(), AccionAuditoria.UPDATE, 
+                                   SnapshotAuditoria.de(asesorExistente.get()), SnapshotAuditoria.de(asesorActualizado));
             }
             
             return asesorActualizado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar asesor: {}", asesor.getCodigoAsesor(), e);
             throw new RuntimeException("Error al actualizar asesor: " + e.getMessage(), e);
@@ -237,8 +257,11 @@ public class AsesorService {
             boolean resultado = asesorDAO.deactivate(asesorId);
             if (resultado) {
                 logger.info("Asesor desactivado exitosamente: ID {}", asesorId);
+                auditoria.registrar("asesores", asesorId, AccionAuditoria.UPDATE, Map.of("activo", true), Map.of("activo", false));
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al desactivar asesor: ID {}", asesorId, e);
             return false;
@@ -256,8 +279,11 @@ public class AsesorService {
             boolean resultado = asesorDAO.activate(asesorId);
             if (resultado) {
                 logger.info("Asesor activado exitosamente: ID {}", asesorId);
+                auditoria.registrar("asesores", asesorId, AccionAuditoria.UPDATE, Map.of("activo", false), Map.of("activo", true));
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al activar asesor: ID {}", asesorId, e);
             return false;
@@ -273,6 +299,8 @@ public class AsesorService {
     public boolean esAsesor(Integer usuarioId) {
         try {
             return asesorDAO.existsByUsuarioId(usuarioId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al verificar si usuario es asesor: {}", usuarioId, e);
             return false;
@@ -287,6 +315,8 @@ public class AsesorService {
     public long contarAsesoresActivos() {
         try {
             return asesorDAO.countActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al contar asesores activos", e);
             return 0;
@@ -301,6 +331,8 @@ public class AsesorService {
     public String generarCodigoAsesor() {
         try {
             return asesorDAO.generarSiguienteCodigoAsesor();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al generar código de asesor", e);
             return "ASE" + System.currentTimeMillis() % 10000;
@@ -0,0 +1,118 @@
+package pe.crediactiva.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.dao.interfaces.CarteraDAO;
+import pe.crediactiva.dao.mysql.CarteraDAOImpl;
+import pe.crediactiva.report.CarteraSnapshot;
+
+/**
+ * Servicio que mantiene la fotografía columnar de la cartera para reportes y dashboards.
+ * La fotografía se publica de forma atómica: los lectores siempre ven una instancia
+ * completa e inmutable mientras se aplica un refresco.
+ * 
+ * Si una carga falla se conserva la fotografía anterior; nunca se publica una
+ * fotografía vacía por un error de base de datos. El refresco por delta no ve
+ * las cuotas eliminadas: cada {@value #REFRESCOS_POR_CONTEO} refrescos se compara
+ * el número de cuotas con la base de datos y, si no coincide, se recarga la
+ * cartera completa. El conteo recorre un índice de toda la tabla, por eso no se
+ * hace en cada refresco.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CarteraService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CarteraService.class);
+    
+    static final int REFRESCOS_POR_CONTEO = 10;
+    
+    private final CarteraDAO carteraDAO;
+    private final int refrescosPorConteo;
+    private volatile CarteraSnapshot snapshot;
+    // Refrescos por delta desde la última carga completa o el último conteo
+    private int refrescosSinConteo;
+    
+    // Constructor
+    public CarteraService() {
+        this(new CarteraDAOImpl(), REFRESCOS_POR_CONTEO);
+    }
+    
+    // Constructor para inyección de dependencias (testing)
+    public CarteraService(CarteraDAO carteraDAO) {
+        this(carteraDAO, REFRESCOS_POR_CONTEO);
+    }
+    
+    CarteraService(CarteraDAO carteraDAO, int refrescosPorConteo) {
+        this.carteraDAO = carteraDAO;
+        this.refrescosPorConteo = refrescosPorConteo;
+    }
+    
+    /**
+     * Obtiene la fotografía actual, cargándola completa la primera vez.
+     * 
+     * @return fotografía de la cartera (vacía si aún no se pudo cargar)
+     */
+    public CarteraSnapshot obtenerSnapshot() {
+        CarteraSnapshot actual = snapshot;
+        if (actual == null) {
+            actual = recargar();
+        }
+        return actual;
+    }
+    
+    /**
+     * Vuelve a cargar la cartera completa desde la base de datos.
+     * 
+     * @return nueva fotografía, o la anterior si la carga falla
+     */
+    public synchronized CarteraSnapshot recargar() {
+        long inicio = System.nanoTime();
+        
+        try {
+            CarteraSnapshot nuevo = carteraDAO.loadSnapshot();
+            snapshot = nuevo;
+            refrescosSinConteo = 0;
+            logger.info("Cartera cargada: {} cuotas en {} ms", 
+                       nuevo.size(), (System.nanoTime() - inicio) / 1_000_000);
+            return nuevo;
+        } catch (Exception e) {
+            logger.error("Error al recargar cartera; se conserva la fotografía anterior", e);
+            return snapshot != null ? snapshot : CarteraSnapshot.vacio();
+        }
+    }
+    
+    /**
+     * Aplica a la fotografía actual solo las cuotas modificadas desde su marca de agua.
+     * Si aún no hay fotografía, realiza una carga completa.
+     * 
+     * @return fotografía refrescada
+     */
+    public synchronized CarteraSnapshot refrescar() {
+        CarteraSnapshot actual = snapshot;
+        if (actual == null || actual.getMarcaAgua() == null) {
+            return recargar();
+        }
+        
+        try {
+            CarteraSnapshot delta = carteraDAO.loadChangesSince(actual.getMarcaAgua());
+            CarteraSnapshot nuevo = actual.aplicarDelta(delta);
+            
+            if (++refrescosSinConteo >= refrescosPorConteo) {
+                refrescosSinConteo = 0;
+                int cuotas = carteraDAO.countCuotas();
+                if (cuotas != nuevo.size()) {
+                    logger.info("Cartera con {} cuotas en BD y {} en memoria; se recarga completa", cuotas, nuevo.size());
+                    return recargar();
+                }
+            }
+            
+            snapshot = nuevo;
+            logger.debug("Cartera refrescada: {} cuotas modificadas, {} en total", delta.size(), nuevo.size());
+            return nuevo;
+        } catch (Exception e) {
+            logger.error("Error al refrescar cartera", e);
+            return actual;
+        }
+    }
+}
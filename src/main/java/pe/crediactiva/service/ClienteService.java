@@ -2,13 +2,19 @@ package pe.crediactiva.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
 import pe.crediactiva.dao.interfaces.ClienteDAO;
 import pe.crediactiva.dao.mysql.ClienteDAOImpl;
 import pe.crediactiva.model.Cliente;
 import pe.crediactiva.model.Usuario;
+import pe.crediactiva.monitoring.InstrumentadorDao;
+import pe.crediactiva.security.AccionAuditoria;
+import pe.crediactiva.security.RegistroAuditoria;
+import pe.crediactiva.security.SnapshotAuditoria;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,10 +29,11 @@ public class ClienteService {
     private static final Logger logger = LoggerFactory.getLogger(ClienteService.class);
     
     private final ClienteDAO clienteDAO;
+    private final RegistroAuditoria auditoria = RegistroAuditoria.getInstance();
     
     // Constructor
     public ClienteService() {
-        this.clienteDAO = new ClienteDAOImpl();
+        this.clienteDAO = InstrumentadorDao.instrumentar(ClienteDAO.class, new ClienteDAOImpl());
     }
     
     // Constructor para inyección de dependencias (testing)
@@ -41,7 +48,7 @@ public class ClienteService {
      * @return cliente creado o null si hay error
      */
     public Cliente crearCliente(Usuario usuario) {
-        return crearCliente(usuario, Cliente.TipoCliente.NUEVO, BigDecimal.valueOf(10000), 600);
+        return crearCliente(usuario, Cliente.TipoCliente.NUEVO, Cliente.LIMITE_CREDITO_INICIAL, Cliente.SCORE_INICIAL);
     }
     
     /**
@@ -68,11 +75,8 @@ public class ClienteService {
                 throw new IllegalArgumentException("Ya existe un cliente para este usuario");
             }
             
-            // Generar código de cliente único
-            String codigoCliente = clienteDAO.generarSiguienteCodigoCliente();
-            
-            // Crear cliente
-            Cliente cliente = new Cliente(usuario, codigoCliente);
+            // Crear cliente; el DAO reserva el código dentro de la transacción del INSERT
+            Cliente cliente = new Cliente(usuario, null);
             
             // Establecer tipo de cliente
             if (tipoCliente != null) {
@@ -95,10 +99,14 @@ public class ClienteService {
             if (clienteCreado != null) {
                 logger.info("Cliente creado exitosamente: {} para usuario {}", 
                            clienteCreado.getCodigoCliente(), usuario.getUsername());
+                auditoria.registrar("clientes", clienteCreado.getId(), AccionAuditoria.INSERT, 
+                                   null, SnapshotAuditoria.de(clienteCreado));
             }
             
             return clienteCreado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al crear cliente para usuario: {}", usuario.getUsername(), e);
             throw new RuntimeException("Error al crear cliente: " + e.getMessage(), e);
@@ -114,6 +122,8 @@ public class ClienteService {
     public Optional<Cliente> buscarPorId(Integer id) {
         try {
             return clienteDAO.findById(id);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar cliente por ID: {}", id, e);
             return Optional.empty();
@@ -129,6 +139,8 @@ public class ClienteService {
     public Optional<Cliente> buscarPorUsuarioId(Integer usuarioId) {
         try {
             return clienteDAO.findByUsuarioId(usuarioId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar cliente por usuario ID: {}", usuarioId, e);
             return Optional.empty();
@@ -144,6 +156,8 @@ public class ClienteService {
     public Optional<Cliente> buscarPorCodigo(String codigoCliente) {
         try {
             return clienteDAO.findByCodigoCliente(codigoCliente);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar cliente por código: {}", codigoCliente, e);
             return Optional.empty();
@@ -158,6 +172,8 @@ public class ClienteService {
     public List<Cliente> obtenerClientesActivos() {
         try {
             return clienteDAO.findAllActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener clientes activos", e);
             return List.of();
@@ -172,6 +188,8 @@ public class ClienteService {
     public List<Cliente> obtenerTodosLosClientes() {
         try {
             return clienteDAO.findAll();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener todos los clientes", e);
             return List.of();
@@ -187,6 +205,8 @@ public class ClienteService {
     public List<Cliente> buscarPorTipo(Cliente.TipoCliente tipoCliente) {
         try {
             return clienteDAO.findByTipo(tipoCliente.name());
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar clientes por tipo: {}", tipoCliente, e);
             return List.of();
@@ -219,10 +239,14 @@ public class ClienteService {
             
             if (clienteActualizado != null) {
                 logger.info("Cliente actualizado exitosamente: {}", cliente.getCodigoCliente());
+                auditoria.registrar("clientes", cliente.getId(), AccionAuditoria.UPDATE, 
+                                   SnapshotAuditoria.de(clienteExistente.get()), SnapshotAuditoria.de(clienteActualizado));
             }
             
             return clienteActualizado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar cliente: {}", cliente.getCodigoCliente(), e);
             throw new RuntimeException("Error al actualizar cliente: " + e.getMessage(), e);
@@ -248,6 +272,7 @@ public class ClienteService {
             }
             
             Cliente cliente = clienteOpt.get();
+            Map<String, Object> anterior = SnapshotAuditoria.de(cliente);
             cliente.setScoreCrediticio(nuevoScore);
             
             Cliente clienteActualizado = clienteDAO.update(cliente);
@@ -255,11 +280,15 @@ public class ClienteService {
             if (clienteActualizado != null) {
                 logger.info("Score crediticio actualizado para cliente {}: {}", 
                            cliente.getCodigoCliente(), nuevoScore);
+                auditoria.registrar("clientes", clienteId, AccionAuditoria.UPDATE, 
+                                   anterior, SnapshotAuditoria.de(clienteActualizado));
                 return true;
             }
             
             return false;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar score crediticio: Cliente ID {}", clienteId, e);
             return false;
@@ -285,6 +314,7 @@ public class ClienteService {
             }
             
             Cliente cliente = clienteOpt.get();
+            Map<String, Object> anterior = SnapshotAuditoria.de(cliente);
             BigDecimal nuevoLimite = cliente.getLimiteCredito().add(incremento);
             cliente.setLimiteCredito(nuevoLimite);
             
@@ -293,11 +323,15 @@ public class ClienteService {
             if (clienteActualizado != null) {
                 logger.info("Límite de crédito aumentado para cliente {}: S/ {}", 
                            cliente.getCodigoCliente(), nuevoLimite);
+                auditoria.registrar("clientes", clienteId, AccionAuditoria.UPDATE, 
+                                   anterior, SnapshotAuditoria.de(clienteActualizado));
                 return true;
             }
             
             return false;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al aumentar límite de crédito: Cliente ID {}", clienteId, e);
             return false;
@@ -315,8 +349,11 @@ public class ClienteService {
             boolean resultado = clienteDAO.deactivate(clienteId);
             if (resultado) {
                 logger.info("Cliente desactivado exitosamente: ID {}", clienteId);
+                auditoria.registrar("clientes", clienteId, AccionAuditoria.UPDATE, Map.of("activo", true), Map.of("activo", false));
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al desactivar cliente: ID {}", clienteId, e);
             return false;
@@ -334,8 +371,11 @@ public class ClienteService {
             boolean resultado = clienteDAO.activate(clienteId);
             if (resultado) {
                 logger.info("Cliente activado exitosamente: ID {}", clienteId);
+                auditoria.registrar("clientes", clienteId, AccionAuditoria.UPDATE, Map.of("activo", false), Map.of("activo", true));
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al activar cliente: ID {}", clienteId, e);
             return false;
@@ -351,6 +391,8 @@ public class ClienteService {
     public boolean esCliente(Integer usuarioId) {
         try {
             return clienteDAO.existsByUsuarioId(usuarioId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al verificar si usuario es cliente: {}", usuarioId, e);
             return false;
@@ -365,6 +407,8 @@ public class ClienteService {
     public long contarClientesActivos() {
         try {
             return clienteDAO.countActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al contar clientes activos", e);
             return 0;
@@ -379,6 +423,8 @@ public class ClienteService {
     public String generarCodigoCliente() {
         try {
             return clienteDAO.generarSiguienteCodigoCliente();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al generar código de cliente", e);
             return "CLI" + System.currentTimeMillis() % 10000;
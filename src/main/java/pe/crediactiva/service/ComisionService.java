@@ -0,0 +1,231 @@
+package pe.crediactiva.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
+import pe.crediactiva.dao.interfaces.ComisionDAO;
+import pe.crediactiva.dao.mysql.ComisionDAOImpl;
+import pe.crediactiva.model.ComisionMensual;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio para la consulta y el mantenimiento del libro de comisiones de asesores.
+ * El acumulado se actualiza en base de datos al registrar cada pago
+ * (ver scripts/08_comisiones_mensuales.sql); este servicio lo lee, cierra periodos
+ * y verifica el libro contra un recálculo desde la tabla pagos.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ComisionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ComisionService.class);
+    
+    private final ComisionDAO comisionDAO;
+    
+    // Constructor
+    public ComisionService() {
+        this.comisionDAO = new ComisionDAOImpl();
+    }
+    
+    // Constructor para inyección de dependencias (testing)
+    public ComisionService(ComisionDAO comisionDAO) {
+        this.comisionDAO = comisionDAO;
+    }
+    
+    /**
+     * Obtiene la comisión acumulada de un asesor en el mes actual.
+     * 
+     * @param asesorId ID del asesor
+     * @return comisión del mes (cero si aún no hay pagos)
+     */
+    public BigDecimal obtenerComisionMesActual(Integer asesorId) {
+        return obtenerComisionDelMes(asesorId, YearMonth.now())
+            .map(ComisionMensual::getComisionGenerada)
+            .orElse(BigDecimal.ZERO);
+    }
+    
+    /**
+     * Obtiene el acumulado de un asesor en un periodo.
+     * 
+     * @param asesorId ID del asesor
+     * @param periodo año y mes
+     * @return Optional con el acumulado si existe
+     */
+    public Optional<ComisionMensual> obtenerComisionDelMes(Integer asesorId, YearMonth periodo) {
+        try {
+            return comisionDAO.findByAsesorAndPeriodo(asesorId, periodo);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al obtener comisión del asesor {} en {}", asesorId, periodo, e);
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Obtiene el historial de comisiones de un asesor.
+     * 
+     * @param asesorId ID del asesor
+     * @return lista de acumulados mensuales
+     */
+    public List<ComisionMensual> obtenerHistorial(Integer asesorId) {
+        try {
+            return comisionDAO.findByAsesor(asesorId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al obtener historial de comisiones del asesor: {}", asesorId, e);
+            return List.of();
+        }
+    }
+    
+    /**
+     * Cierra un periodo; desde ese momento sus acumulados son inmutables.
+     * Solo se pueden cerrar periodos anteriores al mes actual.
+     * 
+     * @param periodo año y mes a cerrar
+     * @return número de registros cerrados
+     */
+    public int cerrarPeriodo(YearMonth periodo) {
+        logger.debug("Cerrando periodo de comisiones: {}", periodo);
+        
+        try {
+            if (periodo == null) {
+                throw new IllegalArgumentException("El periodo es requerido");
+            }
+            
+            if (!periodo.isBefore(YearMonth.now())) {
+                throw new IllegalArgumentException("Solo se pueden cerrar periodos anteriores al mes actual");
+            }
+            
+            int cerrados = comisionDAO.closePeriod(periodo);
+            logger.info("Periodo de comisiones {} cerrado: {} registros", periodo, cerrados);
+            return cerrados;
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al cerrar periodo de comisiones: {}", periodo, e);
+            throw new RuntimeException("Error al cerrar periodo: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Compara el libro de un periodo con el recálculo desde la tabla pagos.
+     * La comisión esperada se calcula con la tasa registrada en el libro, que se
+     * congela al abrir el periodo, aunque la tasa del asesor haya cambiado después.
+     * 
+     * @param periodo año y mes
+     * @return descripciones de las diferencias encontradas (vacía si el libro cuadra)
+     */
+    public List<String> verificarPeriodo(YearMonth periodo) {
+        List<String> diferencias = new ArrayList<>();
+        
+        try {
+            Map<Integer, ComisionMensual> libro = indexarPorAsesor(comisionDAO.findByPeriodo(periodo));
+            Map<Integer, ComisionMensual> recalculado = indexarPorAsesor(comisionDAO.recalculateFromPayments(periodo));
+            
+            for (ComisionMensual esperado : recalculado.values()) {
+                ComisionMensual registrado = libro.get(esperado.getAsesorId());
+                
+                if (registrado == null) {
+                    diferencias.add(String.format("%s asesor %d: sin registro en el libro (cobrado %s)", 
+                                                 periodo, esperado.getAsesorId(), esperado.getTotalCobrado()));
+                    continue;
+                }
+                
+                // El libro congela la tasa al abrir el periodo; el recálculo trae la tasa actual del asesor
+                esperado.setComisionPorcentaje(registrado.getComisionPorcentaje());
+                
+                if (registrado.getTotalCobrado().compareTo(esperado.getTotalCobrado()) != 0 ||
+                    registrado.getCantidadPagos() != esperado.getCantidadPagos() ||
+                    registrado.getComisionGenerada().compareTo(esperado.calcularComision()) != 0) {
+                    diferencias.add(String.format("%s asesor %d: libro %s / %d pagos / comisión %s, " +
+                                                 "recalculado %s / %d pagos / comisión %s%s", 
+                                                 periodo, esperado.getAsesorId(),
+                                                 registrado.getTotalCobrado(), registrado.getCantidadPagos(),
+                                                 registrado.getComisionGenerada(),
+                                                 esperado.getTotalCobrado(), esperado.getCantidadPagos(),
+                                                 esperado.calcularComision(),
+                                                 registrado.isCerrado() ? " (cerrado)" : ""));
+                }
+            }
+            
+            for (ComisionMensual registrado : libro.values()) {
+                if (!recalculado.containsKey(registrado.getAsesorId()) && 
+                    registrado.getCantidadPagos() > 0) {
+                    diferencias.add(String.format("%s asesor %d: el libro registra %d pagos que no existen", 
+                                                 periodo, registrado.getAsesorId(), registrado.getCantidadPagos()));
+                }
+            }
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al verificar periodo de comisiones: {}", periodo, e);
+            diferencias.add(periodo + ": error al verificar - " + e.getMessage());
+        }
+        
+        return diferencias;
+    }
+    
+    /**
+     * Reconstruye desde la tabla pagos los acumulados de un periodo abierto.
+     * Los registros cerrados no se tocan.
+     * 
+     * @param periodo año y mes
+     * @return número de registros reconstruidos
+     */
+    public int reconstruirPeriodo(YearMonth periodo) {
+        try {
+            int reconstruidos = 0;
+            for (ComisionMensual comision : comisionDAO.recalculateFromPayments(periodo)) {
+                if (comisionDAO.replaceOpenPeriod(comision)) {
+                    reconstruidos++;
+                }
+            }
+            logger.info("Periodo de comisiones {} reconstruido: {} registros", periodo, reconstruidos);
+            return reconstruidos;
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al reconstruir periodo de comisiones: {}", periodo, e);
+            throw new RuntimeException("Error al reconstruir periodo: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Obtiene los periodos que tienen pagos registrados.
+     * 
+     * @return lista de periodos
+     */
+    public List<YearMonth> obtenerPeriodosConPagos() {
+        try {
+            return comisionDAO.findPaymentPeriods();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al obtener periodos con pagos", e);
+            return List.of();
+        }
+    }
+    
+    // Métodos privados
+    
+    private Map<Integer, ComisionMensual> indexarPorAsesor(List<ComisionMensual> comisiones) {
+        Map<Integer, ComisionMensual> indice = new LinkedHashMap<>();
+        for (ComisionMensual comision : comisiones) {
+            indice.put(comision.getAsesorId(), comision);
+        }
+        return indice;
+    }
+}
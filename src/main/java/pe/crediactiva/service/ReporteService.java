@@ -0,0 +1,161 @@
+package pe.crediactiva.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.dao.interfaces.ReporteDAO;
+import pe.crediactiva.dao.mysql.ReporteDAOImpl;
+import pe.crediactiva.report.EscritorReporte;
+import pe.crediactiva.report.FormatoReporte;
+import pe.crediactiva.report.ResultadoExportacion;
+import pe.crediactiva.report.TipoReporte;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Servicio de exportación de reportes a CSV/XLSX.
+ * Las filas se escriben a medida que llegan del cursor, por lo que la memoria
+ * usada no depende del tamaño del reporte.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ReporteService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReporteService.class);
+    
+    private static final DateTimeFormatter FORMATO_ARCHIVO = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    
+    /** Cada cuántas filas se notifica el progreso */
+    private static final int INTERVALO_PROGRESO = 1_000;
+    
+    /**
+     * Receptor del avance de una exportación.
+     */
+    @FunctionalInterface
+    public interface ProgresoExportacion {
+        
+        /**
+         * Notifica el avance.
+         * 
+         * @param procesadas filas escritas hasta el momento
+         * @param total total estimado de filas (-1 si se desconoce)
+         */
+        void actualizar(long procesadas, long total);
+    }
+    
+    private final ReporteDAO reporteDAO;
+    private final Path directorioSalida;
+    
+    // Constructor
+    public ReporteService() {
+        this.reporteDAO = new ReporteDAOImpl();
+        this.directorioSalida = Paths.get(AppConfig.getReportOutputDirectory());
+    }
+    
+    // Constructor para inyección de dependencias (testing)
+    public ReporteService(ReporteDAO reporteDAO, Path directorioSalida) {
+        this.reporteDAO = reporteDAO;
+        this.directorioSalida = directorioSalida;
+    }
+    
+    /**
+     * Exporta un reporte al directorio de reportes configurado.
+     * Si se cancela, el archivo parcial se elimina.
+     * 
+     * @param tipo tipo de reporte
+     * @param formato formato de salida
+     * @param progreso receptor del avance (puede ser null)
+     * @param cancelado indica si el usuario solicitó cancelar (puede ser null)
+     * @return resultado de la exportación
+     */
+    public ResultadoExportacion exportar(TipoReporte tipo, FormatoReporte formato,
+                                         ProgresoExportacion progreso, BooleanSupplier cancelado) {
+        if (tipo == null || formato == null) {
+            throw new IllegalArgumentException("El tipo y el formato del reporte son requeridos");
+        }
+        
+        long inicio = System.nanoTime();
+        Path archivo = directorioSalida.resolve(generarNombreArchivo(tipo, formato));
+        long total = progreso != null ? reporteDAO.count(tipo) : -1;
+        long[] escritas = {0};
+        boolean[] detenido = {false};
+        
+        try {
+            Files.createDirectories(directorioSalida);
+            
+            try (EscritorReporte escritor = formato.crearEscritor(
+                    new BufferedOutputStream(Files.newOutputStream(archivo)), tipo.getNombre())) {
+                
+                escritor.escribirEncabezado(tipo.getColumnas());
+                if (progreso != null) {
+                    progreso.actualizar(0, total);
+                }
+                
+                reporteDAO.streamRows(tipo, valores -> {
+                    if (cancelado != null && cancelado.getAsBoolean()) {
+                        detenido[0] = true;
+                        return false;
+                    }
+                    escritor.escribirFila(valores);
+                    long n = ++escritas[0];
+                    if (progreso != null && n % INTERVALO_PROGRESO == 0) {
+                        progreso.actualizar(n, total);
+                    }
+                    return true;
+                });
+            }
+            
+        } catch (Exception e) {
+            eliminarSilenciosamente(archivo);
+            throw new RuntimeException("Error al exportar el reporte de " + tipo.getNombre() + ": " + e.getMessage(), e);
+        }
+        
+        Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+        
+        if (detenido[0]) {
+            eliminarSilenciosamente(archivo);
+            logger.info("Exportación de {} cancelada tras {} filas", tipo.getNombre(), escritas[0]);
+            return new ResultadoExportacion(null, escritas[0], true, duracion);
+        }
+        
+        if (progreso != null) {
+            progreso.actualizar(escritas[0], total);
+        }
+        logger.info("✅ Reporte de {} exportado: {} filas en {} ms → {}", 
+                   tipo.getNombre(), escritas[0], duracion.toMillis(), archivo);
+        return new ResultadoExportacion(archivo, escritas[0], false, duracion);
+    }
+    
+    /**
+     * Obtiene el directorio donde se guardan los reportes.
+     * 
+     * @return directorio de salida
+     */
+    public Path getDirectorioSalida() {
+        return directorioSalida;
+    }
+    
+    // Métodos privados de utilidad
+    
+    private String generarNombreArchivo(TipoReporte tipo, FormatoReporte formato) {
+        return tipo.getPrefijoArchivo() + "_" + LocalDateTime.now().format(FORMATO_ARCHIVO) + 
+               "." + formato.getExtension();
+    }
+    
+    private void eliminarSilenciosamente(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo eliminar el archivo parcial: {}", archivo, e);
+        }
+    }
+}
@@ -2,13 +2,27 @@ package pe.crediactiva.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
 import pe.crediactiva.dao.interfaces.RolDAO;
 import pe.crediactiva.dao.mysql.RolDAOImpl;
+import pe.crediactiva.model.AsignacionMasiva;
+import pe.crediactiva.model.CambiosRoles;
 import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
 import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.monitoring.InstrumentadorDao;
+import pe.crediactiva.monitoring.MedicionOperacion;
+import pe.crediactiva.security.AccionAuditoria;
+import pe.crediactiva.security.MatrizPermisos;
+import pe.crediactiva.security.RegistroAuditoria;
+import pe.crediactiva.security.SessionManager;
+import pe.crediactiva.security.SnapshotAuditoria;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio para la gestión de roles en CrediActiva.
@@ -22,10 +36,12 @@ public class RolService {
     private static final Logger logger = LoggerFactory.getLogger(RolService.class);
     
     private final RolDAO rolDAO;
+    private final RegistroAuditoria auditoria = RegistroAuditoria.getInstance();
+    private final SessionManager sesion = SessionManager.getInstance();
     
     // Constructor
     public RolService() {
-        this.rolDAO = new RolDAOImpl();
+        this.rolDAO = InstrumentadorDao.instrumentar(RolDAO.class, new RolDAOImpl());
     }
     
     // Constructor para inyección de dependencias (testing)
@@ -41,6 +57,8 @@ public class RolService {
     public List<Rol> obtenerRolesActivos() {
         try {
             return rolDAO.findAllActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener roles activos", e);
             return List.of();
@@ -56,6 +74,8 @@ public class RolService {
     public Optional<Rol> buscarPorId(Integer id) {
         try {
             return rolDAO.findById(id);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar rol por ID: {}", id, e);
             return Optional.empty();
@@ -71,6 +91,8 @@ public class RolService {
     public Optional<Rol> buscarPorNombre(String nombre) {
         try {
             return rolDAO.findByNombre(nombre);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar rol por nombre: {}", nombre, e);
             return Optional.empty();
@@ -85,6 +107,8 @@ public class RolService {
     public List<Rol> obtenerTodosLosRoles() {
         try {
             return rolDAO.findAll();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener todos los roles", e);
             return List.of();
@@ -99,6 +123,20 @@ public class RolService {
      * @return true si se asignó exitosamente
      */
     public boolean asignarRolAUsuario(Integer usuarioId, Integer rolId) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("RolService.asignarRolAUsuario");
+        try {
+            boolean resultado = asignarRol(usuarioId, rolId);
+            if (resultado) {
+                medicion.marcarExitosa();
+            }
+            return resultado;
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
+    // Lógica de asignación; asignarRolAUsuario() la mide para JFR y métricas
+    private boolean asignarRol(Integer usuarioId, Integer rolId) {
         logger.debug("Asignando rol {} a usuario {}", rolId, usuarioId);
         
         try {
@@ -122,6 +160,9 @@ public class RolService {
             
             if (resultado) {
                 logger.info("Rol asignado exitosamente: Usuario {} -> Rol {}", usuarioId, rolOpt.get().getNombre());
+                auditoria.registrar("usuarios_roles", usuarioId, AccionAuditoria.INSERT, null, 
+                                   Map.of("usuario_id", usuarioId, "rol_id", rolId, "rol", rolOpt.get().getNombre()));
+                actualizarRolesEnSesion(usuarioId);
                 
                 // Crear registros especiales según el tipo de rol
                 try {
@@ -143,6 +184,8 @@ public class RolService {
                     }
                 } catch (IllegalArgumentException e) {
                     logger.debug("Rol {} no requiere registros especiales (no está en enum TipoRol)", rolOpt.get().getNombre());
+                } catch (BaseDatosNoDisponibleException e) {
+                    throw e;
                 } catch (Exception e) {
                     logger.error("💥 ERROR CRÍTICO al crear registros especiales para usuario {} con rol {}", 
                                usuarioId, rolOpt.get().getNombre(), e);
@@ -151,12 +194,66 @@ public class RolService {
             
             return resultado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al asignar rol: Usuario {} -> Rol {}", usuarioId, rolId, e);
             throw new RuntimeException("Error al asignar rol: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Asigna un rol a varios usuarios a la vez, con sus registros de asesor o
+     * cliente. Los usuarios que recibieron el rol se actualizan en memoria sin
+     * volver a leerlos; si un bloque falla, sus IDs y los de los bloques
+     * pendientes se devuelven en {@link AsignacionMasiva#fallidos()}.
+     * 
+     * @param usuarios usuarios seleccionados
+     * @param rol rol a asignar
+     * @return usuarios que recibieron el rol y usuarios que quedaron sin asignar
+     */
+    public AsignacionMasiva asignarRolAUsuarios(List<Usuario> usuarios, Rol rol) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("RolService.asignarRolAUsuarios");
+        try {
+            if (rol == null || rol.getId() == null) {
+                throw new IllegalArgumentException("Rol ID es requerido");
+            }
+            
+            List<Integer> ids = new ArrayList<>(usuarios.size());
+            for (Usuario usuario : usuarios) {
+                ids.add(usuario.getId());
+            }
+            
+            AsignacionMasiva resultado = rolDAO.asignarRolAUsuarios(ids, rol.getId());
+            for (Usuario usuario : usuarios) {
+                if (resultado.asignados().contains(usuario.getId())) {
+                    List<Rol> roles = usuario.getRoles() != null ? new ArrayList<>(usuario.getRoles()) : new ArrayList<>();
+                    roles.add(rol);
+                    usuario.setRoles(roles);
+                    auditoria.registrar("usuarios_roles", usuario.getId(), AccionAuditoria.INSERT, null, 
+                                       Map.of("usuario_id", usuario.getId(), "rol_id", rol.getId(), "rol", rol.getNombre()));
+                    actualizarRolesEnSesion(usuario.getId());
+                }
+            }
+            
+            if (resultado.isCompleta()) {
+                medicion.marcarExitosa();
+            } else {
+                logger.warn("Rol {} sin asignar a {} usuarios: {}", rol.getNombre(), 
+                           resultado.fallidos().size(), resultado.fallidos());
+            }
+            return resultado;
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al asignar rol en bloque: Rol {}", rol != null ? rol.getNombre() : null, e);
+            throw new RuntimeException("Error al asignar rol: " + e.getMessage(), e);
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
     /**
      * Remueve un rol de un usuario.
      * 
@@ -178,16 +275,72 @@ public class RolService {
             
             if (resultado) {
                 logger.info("Rol removido exitosamente: Usuario {} -> Rol {}", usuarioId, rolId);
+                auditoria.registrar("usuarios_roles", usuarioId, AccionAuditoria.DELETE, 
+                                   Map.of("usuario_id", usuarioId, "rol_id", rolId), null);
+                actualizarRolesEnSesion(usuarioId);
             }
             
             return resultado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al remover rol: Usuario {} -> Rol {}", usuarioId, rolId, e);
             throw new RuntimeException("Error al remover rol: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Deja al usuario exactamente con los roles indicados. Las altas, bajas y
+     * los registros de asesor o cliente se guardan en una sola transacción.
+     * 
+     * @param usuarioId ID del usuario
+     * @param rolIds IDs de los roles que debe tener
+     * @return roles agregados y removidos
+     */
+    public CambiosRoles aplicarCambiosRoles(Integer usuarioId, Set<Integer> rolIds) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("RolService.aplicarCambiosRoles");
+        logger.debug("Aplicando roles {} a usuario {}", rolIds, usuarioId);
+        
+        try {
+            // Validaciones
+            if (usuarioId == null || rolIds == null) {
+                throw new IllegalArgumentException("Usuario ID y roles son requeridos");
+            }
+            
+            CambiosRoles cambios = rolDAO.aplicarCambiosRoles(usuarioId, rolIds);
+            if (cambios == null) {
+                throw new IllegalStateException("No se pudieron guardar los roles");
+            }
+            
+            for (Rol rol : cambios.agregados()) {
+                auditoria.registrar("usuarios_roles", usuarioId, AccionAuditoria.INSERT, null, 
+                                   Map.of("usuario_id", usuarioId, "rol_id", rol.getId(), "rol", rol.getNombre()));
+            }
+            for (Rol rol : cambios.removidos()) {
+                auditoria.registrar("usuarios_roles", usuarioId, AccionAuditoria.DELETE, 
+                                   Map.of("usuario_id", usuarioId, "rol_id", rol.getId(), "rol", rol.getNombre()), null);
+            }
+            
+            if (!cambios.isVacio()) {
+                logger.info("Roles actualizados: Usuario {} (+{} / -{})", 
+                           usuarioId, cambios.agregados().size(), cambios.removidos().size());
+                actualizarRolesEnSesion(usuarioId);
+            }
+            
+            medicion.marcarExitosa();
+            return cambios;
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al aplicar roles: Usuario {} -> Roles {}", usuarioId, rolIds, e);
+            throw new RuntimeException("Error al aplicar roles: " + e.getMessage(), e);
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
     /**
      * Obtiene todos los roles de un usuario.
      * 
@@ -197,6 +350,8 @@ public class RolService {
     public List<Rol> obtenerRolesDeUsuario(Integer usuarioId) {
         try {
             return rolDAO.findRolesByUsuarioId(usuarioId);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener roles del usuario: {}", usuarioId, e);
             return List.of();
@@ -226,10 +381,15 @@ public class RolService {
             
             if (rolCreado != null) {
                 logger.info("Rol creado exitosamente: {}", rol.getNombre());
+                auditoria.registrar("roles", rolCreado.getId(), AccionAuditoria.INSERT, 
+                                   null, SnapshotAuditoria.de(rolCreado));
+                invalidarPermisos();
             }
             
             return rolCreado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al crear rol: {}", rol.getNombre(), e);
             throw new RuntimeException("Error al crear rol: " + e.getMessage(), e);
@@ -271,10 +431,15 @@ public class RolService {
             
             if (rolActualizado != null) {
                 logger.info("Rol actualizado exitosamente: {}", rol.getNombre());
+                auditoria.registrar("roles", rol.getId(), AccionAuditoria.UPDATE, 
+                                   SnapshotAuditoria.de(rolExistente.get()), SnapshotAuditoria.de(rolActualizado));
+                invalidarPermisos();
             }
             
             return rolActualizado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar rol: {}", rol.getNombre(), e);
             throw new RuntimeException("Error al actualizar rol: " + e.getMessage(), e);
@@ -292,8 +457,12 @@ public class RolService {
             boolean resultado = rolDAO.deactivate(rolId);
             if (resultado) {
                 logger.info("Rol desactivado exitosamente: ID {}", rolId);
+                auditoria.registrar("roles", rolId, AccionAuditoria.UPDATE, Map.of("activo", true), Map.of("activo", false));
+                invalidarPermisos();
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al desactivar rol: ID {}", rolId, e);
             return false;
@@ -311,14 +480,36 @@ public class RolService {
             boolean resultado = rolDAO.activate(rolId);
             if (resultado) {
                 logger.info("Rol activado exitosamente: ID {}", rolId);
+                auditoria.registrar("roles", rolId, AccionAuditoria.UPDATE, Map.of("activo", false), Map.of("activo", true));
+                invalidarPermisos();
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al activar rol: ID {}", rolId, e);
             return false;
         }
     }
     
+    // Los permisos de la sesión se calculan al iniciarla; si cambian los roles del usuario actual se recalculan
+    private void actualizarRolesEnSesion(Integer usuarioId) {
+        if (sesion.esUsuarioActual(usuarioId)) {
+            sesion.actualizarRoles(usuarioId, rolDAO.findRolesByUsuarioId(usuarioId));
+        }
+    }
+    
+    // La matriz de permisos se indexa por nombre de rol: un cambio en los roles la invalida
+    private void invalidarPermisos() {
+        MatrizPermisos.getInstance().invalidar();
+        actualizarRolesEnSesion(usuarioSesionId());
+    }
+    
+    private Integer usuarioSesionId() {
+        Usuario usuario = sesion.getCurrentUser();
+        return usuario != null ? usuario.getId() : null;
+    }
+    
     /**
      * Cuenta el total de roles activos.
      * 
@@ -327,6 +518,8 @@ public class RolService {
     public long contarRolesActivos() {
         try {
             return rolDAO.countActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al contar roles activos", e);
             return 0;
@@ -2,14 +2,28 @@ package pe.crediactiva.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.busqueda.BusquedaUsuarios;
+import pe.crediactiva.busqueda.PosibleDuplicado;
+import pe.crediactiva.config.BaseDatosNoDisponibleException;
 import pe.crediactiva.dao.interfaces.UsuarioDAO;
 import pe.crediactiva.dao.mysql.UsuarioDAOImpl;
+import pe.crediactiva.model.MarcaAgua;
 import pe.crediactiva.model.Usuario;
 import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.monitoring.InstrumentadorDao;
+import pe.crediactiva.monitoring.MedicionOperacion;
+import pe.crediactiva.security.AccionAuditoria;
 import pe.crediactiva.security.PasswordEncoder;
+import pe.crediactiva.security.RegistroAccesos;
+import pe.crediactiva.security.RegistroAuditoria;
+import pe.crediactiva.security.SnapshotAuditoria;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Servicio para la gestión de usuarios en CrediActiva.
@@ -21,20 +35,31 @@ import java.util.Optional;
 public class UsuarioService {
     
     private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
+    private static final int MAX_POSIBLES_DUPLICADOS = 5;
     
     private final UsuarioDAO usuarioDAO;
     private final PasswordEncoder passwordEncoder;
+    private final RegistroAccesos registroAccesos;
+    private final RegistroAuditoria auditoria = RegistroAuditoria.getInstance();
+    private final BusquedaUsuarios busqueda = BusquedaUsuarios.getInstance();
     
     // Constructor
     public UsuarioService() {
-        this.usuarioDAO = new UsuarioDAOImpl();
+        this.usuarioDAO = InstrumentadorDao.instrumentar(UsuarioDAO.class, new UsuarioDAOImpl());
         this.passwordEncoder = new PasswordEncoder();
+        this.registroAccesos = RegistroAccesos.getInstance();
     }
     
     // Constructor para inyección de dependencias (testing)
     public UsuarioService(UsuarioDAO usuarioDAO, PasswordEncoder passwordEncoder) {
+        this(usuarioDAO, passwordEncoder, RegistroAccesos.getInstance());
+    }
+    
+    // Constructor para inyección de dependencias (testing)
+    public UsuarioService(UsuarioDAO usuarioDAO, PasswordEncoder passwordEncoder, RegistroAccesos registroAccesos) {
         this.usuarioDAO = usuarioDAO;
         this.passwordEncoder = passwordEncoder;
+        this.registroAccesos = registroAccesos;
     }
     
     /**
@@ -45,6 +70,20 @@ public class UsuarioService {
      * @return Optional con el usuario si la autenticación es exitosa
      */
     public Optional<Usuario> autenticar(String username, String password) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.autenticar");
+        try {
+            Optional<Usuario> resultado = autenticarUsuario(username, password);
+            if (resultado.isPresent()) {
+                medicion.marcarExitosa();
+            }
+            return resultado;
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
+    // Lógica de autenticación; autenticar() la mide para JFR y métricas
+    private Optional<Usuario> autenticarUsuario(String username, String password) {
         logger.debug("Intentando autenticar usuario: {}", username);
         
         if (username == null || username.trim().isEmpty() || password == null || password.isEmpty()) {
@@ -72,12 +111,15 @@ public class UsuarioService {
                 return Optional.empty();
             }
             
-            // Actualizar último login
-            usuarioDAO.updateLastLogin(usuario.getId());
+            // Último login: se guarda en segundo plano, el login no espera la escritura
+            usuario.actualizarUltimoLogin();
+            registroAccesos.registrar(usuario.getId(), usuario.getUltimoLogin());
             
             logger.info("Autenticación exitosa para usuario: {}", username);
             return Optional.of(usuario);
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error durante la autenticación del usuario: {}", username, e);
             return Optional.empty();
@@ -92,6 +134,20 @@ public class UsuarioService {
      * @return usuario creado o null si hay error
      */
     public Usuario crearUsuario(Usuario usuario, String passwordPlain) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.crearUsuario");
+        try {
+            Usuario resultado = crearNuevoUsuario(usuario, passwordPlain);
+            if (resultado != null) {
+                medicion.marcarExitosa();
+            }
+            return resultado;
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
+    // Lógica de creación; crearUsuario() la mide para JFR y métricas
+    private Usuario crearNuevoUsuario(Usuario usuario, String passwordPlain) {
         logger.debug("Creando nuevo usuario: {}", usuario.getUsername());
         
         try {
@@ -121,10 +177,15 @@ public class UsuarioService {
             
             if (usuarioCreado != null) {
                 logger.info("Usuario creado exitosamente: {}", usuario.getUsername());
+                auditoria.registrar("usuarios", usuarioCreado.getId(), AccionAuditoria.INSERT, 
+                                   null, SnapshotAuditoria.de(usuarioCreado));
+                busqueda.actualizar(usuarioCreado);
             }
             
             return usuarioCreado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al crear usuario: {}", usuario.getUsername(), e);
             throw new RuntimeException("Error al crear usuario: " + e.getMessage(), e);
@@ -180,10 +241,15 @@ public class UsuarioService {
             
             if (usuarioActualizado != null) {
                 logger.info("Usuario actualizado exitosamente: {}", usuario.getUsername());
+                auditoria.registrar("usuarios", usuario.getId(), AccionAuditoria.UPDATE, 
+                                   SnapshotAuditoria.de(usuarioExistente.get()), SnapshotAuditoria.de(usuarioActualizado));
+                busqueda.actualizar(usuarioActualizado);
             }
             
             return usuarioActualizado;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al actualizar usuario: {}", usuario.getUsername(), e);
             throw new RuntimeException("Error al actualizar usuario: " + e.getMessage(), e);
@@ -241,6 +307,8 @@ public class UsuarioService {
             
             return exitoso;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al cambiar contraseña para usuario ID: {}", usuarioId, e);
             throw new RuntimeException("Error al cambiar contraseña: " + e.getMessage(), e);
@@ -256,6 +324,8 @@ public class UsuarioService {
     public Optional<Usuario> buscarPorId(Integer id) {
         try {
             return usuarioDAO.findById(id);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar usuario por ID: {}", id, e);
             return Optional.empty();
@@ -271,6 +341,8 @@ public class UsuarioService {
     public Optional<Usuario> buscarPorUsername(String username) {
         try {
             return usuarioDAO.findByUsername(username);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar usuario por username: {}", username, e);
             return Optional.empty();
@@ -285,6 +357,8 @@ public class UsuarioService {
     public List<Usuario> obtenerUsuariosActivos() {
         try {
             return usuarioDAO.findAllActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener usuarios activos", e);
             return List.of();
@@ -299,12 +373,55 @@ public class UsuarioService {
     public List<Usuario> obtenerTodosLosUsuarios() {
         try {
             return usuarioDAO.findAll();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al obtener todos los usuarios", e);
             return List.of();
         }
     }
     
+    /**
+     * Obtiene la hora del servidor y el total de usuarios para refrescar la
+     * lista por cambios.
+     * 
+     * @return marca de agua, o null si no se pudo consultar
+     */
+    public MarcaAgua obtenerMarcaAgua() {
+        try {
+            return usuarioDAO.findMarcaAgua();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al obtener la marca de agua de usuarios", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Obtiene los usuarios creados o modificados, incluidos sus roles, desde una fecha.
+     * 
+     * @param desde fecha del servidor desde la que se buscan cambios
+     * @return usuarios cambiados, o null si hay que recargar la lista completa
+     */
+    public List<Usuario> obtenerCambiosDesde(LocalDateTime desde) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.obtenerCambiosDesde");
+        try {
+            List<Usuario> cambios = usuarioDAO.findChangedSince(desde);
+            if (cambios != null) {
+                medicion.marcarExitosa();
+            }
+            return cambios;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al obtener usuarios modificados desde: {}", desde, e);
+            return null;
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
     /**
      * Busca usuarios por rol.
      * 
@@ -314,6 +431,8 @@ public class UsuarioService {
     public List<Usuario> buscarPorRol(String rolNombre) {
         try {
             return usuarioDAO.findByRole(rolNombre);
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar usuarios por rol: {}", rolNombre, e);
             return List.of();
@@ -321,17 +440,59 @@ public class UsuarioService {
     }
     
     /**
-     * Busca usuarios por nombre (búsqueda parcial).
+     * Busca usuarios activos por nombre (búsqueda parcial). Usa el índice en
+     * memoria si ya está cargado; si no, consulta la base de datos.
      * 
      * @param termino término de búsqueda
-     * @return lista de usuarios que coinciden
+     * @return lista de usuarios que coinciden, los más relevantes primero
      */
     public List<Usuario> buscarPorNombre(String termino) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.buscarPorNombre");
         try {
-            return usuarioDAO.searchByName(termino);
+            List<Usuario> usuarios;
+            if (busqueda.isCargado()) {
+                usuarios = busqueda.buscar(termino, Integer.MAX_VALUE).stream()
+                    .filter(Usuario::isActivo)
+                    .toList();
+            } else {
+                usuarios = usuarioDAO.searchByName(termino);
+            }
+            medicion.marcarExitosa();
+            return usuarios;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al buscar usuarios por nombre: {}", termino, e);
             return List.of();
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
+    /**
+     * Busca usuarios ya registrados que probablemente son la misma persona que
+     * un usuario por crear. Si el índice de usuarios aún no está cargado, lo
+     * carga con todos los usuarios: llamar fuera del hilo de JavaFX.
+     * 
+     * @param usuario datos del usuario por crear
+     * @return posibles duplicados, el más parecido primero; vacía si hay error
+     */
+    public List<PosibleDuplicado> buscarPosiblesDuplicados(Usuario usuario) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.buscarPosiblesDuplicados");
+        try {
+            if (!busqueda.isCargado()) {
+                busqueda.cargar(usuarioDAO.findAll());
+            }
+            List<PosibleDuplicado> duplicados = busqueda.buscarPosiblesDuplicados(usuario, MAX_POSIBLES_DUPLICADOS);
+            medicion.marcarExitosa();
+            return duplicados;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al buscar posibles duplicados de: {}", usuario.getUsername(), e);
+            return List.of();
+        } finally {
+            medicion.finalizar();
         }
     }
     
@@ -346,8 +507,12 @@ public class UsuarioService {
             boolean resultado = usuarioDAO.deactivate(usuarioId);
             if (resultado) {
                 logger.info("Usuario desactivado exitosamente: ID {}", usuarioId);
+                auditoria.registrar("usuarios", usuarioId, AccionAuditoria.UPDATE, Map.of("activo", true), Map.of("activo", false));
+                sincronizarBusqueda(usuarioId);
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al desactivar usuario: ID {}", usuarioId, e);
             return false;
@@ -365,14 +530,66 @@ public class UsuarioService {
             boolean resultado = usuarioDAO.activate(usuarioId);
             if (resultado) {
                 logger.info("Usuario activado exitosamente: ID {}", usuarioId);
+                auditoria.registrar("usuarios", usuarioId, AccionAuditoria.UPDATE, Map.of("activo", false), Map.of("activo", true));
+                sincronizarBusqueda(usuarioId);
             }
             return resultado;
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al activar usuario: ID {}", usuarioId, e);
             return false;
         }
     }
     
+    /**
+     * Activa o desactiva varios usuarios a la vez. Los usuarios recibidos se
+     * actualizan en memoria y en el índice de búsqueda sin volver a leerlos.
+     * 
+     * @param usuarios usuarios seleccionados
+     * @param activo estado a asignar
+     * @return usuarios cuyo estado cambió
+     */
+    public List<Usuario> cambiarEstadoUsuarios(List<Usuario> usuarios, boolean activo) {
+        MedicionOperacion medicion = MedicionOperacion.iniciar("UsuarioService.cambiarEstadoUsuarios");
+        try {
+            List<Integer> ids = new ArrayList<>(usuarios.size());
+            for (Usuario usuario : usuarios) {
+                ids.add(usuario.getId());
+            }
+            
+            Set<Integer> cambiados = usuarioDAO.updateActiveStatus(ids, activo);
+            List<Usuario> actualizados = new ArrayList<>(cambiados.size());
+            for (Usuario usuario : usuarios) {
+                if (cambiados.contains(usuario.getId())) {
+                    usuario.setActivo(activo);
+                    auditoria.registrar("usuarios", usuario.getId(), AccionAuditoria.UPDATE, 
+                                       Map.of("activo", !activo), Map.of("activo", activo));
+                    busqueda.actualizar(usuario);
+                    actualizados.add(usuario);
+                }
+            }
+            
+            medicion.marcarExitosa();
+            return actualizados;
+            
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error al {} usuarios en bloque", activo ? "activar" : "desactivar", e);
+            return List.of();
+        } finally {
+            medicion.finalizar();
+        }
+    }
+    
+    // El índice guarda el usuario completo; se relee para reflejar el nuevo estado
+    private void sincronizarBusqueda(Integer usuarioId) {
+        if (busqueda.isCargado()) {
+            usuarioDAO.findById(usuarioId).ifPresent(busqueda::actualizar);
+        }
+    }
+    
     /**
      * Cuenta el total de usuarios activos.
      * 
@@ -381,6 +598,8 @@ public class UsuarioService {
     public long contarUsuariosActivos() {
         try {
             return usuarioDAO.countActive();
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al contar usuarios activos", e);
             return 0;
@@ -415,6 +634,8 @@ public class UsuarioService {
             logger.info("ℹ️ Rol {} no requiere registros especiales", tipoRol);
             return true;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("💥 ERROR CRÍTICO al crear registros especiales para usuario {} con rol {}", usuarioId, tipoRol, e);
             return false;
@@ -465,6 +686,8 @@ public class UsuarioService {
                 return false;
             }
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("💥 EXCEPCIÓN al crear registro de asesor para usuario: {}", usuarioId, e);
             return false;
@@ -508,6 +731,8 @@ public class UsuarioService {
             
             return false;
             
+        } catch (BaseDatosNoDisponibleException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error al crear registro de cliente para usuario: {}", usuarioId, e);
             return false;
@@ -0,0 +1,312 @@
+package pe.crediactiva.sintetico;
+
+import pe.crediactiva.report.TramoMora;
+import pe.crediactiva.util.DateUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Parámetros del generador de cartera sintética. Con la misma configuración
+ * (incluida la semilla y la fecha de referencia) el generador produce
+ * exactamente los mismos datos, sin importar el número de hilos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class ConfiguracionGenerador {
+
+    private final long semilla;
+    private final int administradores;
+    private final int asesores;
+    private final int clientes;
+    private final double proporcionAsesoresCliente;
+    private final int maxSolicitudesPorCliente;
+    private final double probabilidadSolicitudAdicional;
+    private final int scoreMedio;
+    private final int scoreDesviacion;
+    private final int mesesHistoria;
+    private final int[] plazos;
+    private final double[] curvaMora;
+    private final LocalDate fechaReferencia;
+    private final int idInicial;
+    private final int clientesPorLote;
+    private final int hilos;
+    private final int rolAdministradorId;
+    private final int rolAsesorId;
+    private final int rolClienteId;
+
+    private ConfiguracionGenerador(Builder builder) {
+        this.semilla = builder.semilla;
+        this.administradores = builder.administradores;
+        this.asesores = builder.asesores;
+        this.clientes = builder.clientes;
+        this.proporcionAsesoresCliente = builder.proporcionAsesoresCliente;
+        this.maxSolicitudesPorCliente = builder.maxSolicitudesPorCliente;
+        this.probabilidadSolicitudAdicional = builder.probabilidadSolicitudAdicional;
+        this.scoreMedio = builder.scoreMedio;
+        this.scoreDesviacion = builder.scoreDesviacion;
+        this.mesesHistoria = builder.mesesHistoria;
+        this.plazos = builder.plazos.clone();
+        this.fechaReferencia = builder.fechaReferencia != null ? builder.fechaReferencia : DateUtils.hoy();
+        this.idInicial = builder.idInicial;
+        this.clientesPorLote = builder.clientesPorLote;
+        this.hilos = builder.hilos;
+        this.rolAdministradorId = builder.rolAdministradorId;
+        this.rolAsesorId = builder.rolAsesorId;
+        this.rolClienteId = builder.rolClienteId;
+
+        // Curva normalizada y acumulada para muestrear el tramo de cada préstamo
+        double total = Arrays.stream(builder.curvaMora).sum();
+        this.curvaMora = new double[builder.curvaMora.length];
+        double acumulado = 0;
+        for (int i = 0; i < curvaMora.length; i++) {
+            acumulado += builder.curvaMora[i] / total;
+            curvaMora[i] = acumulado;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Elige el tramo de mora para un número uniforme en [0, 1).
+     *
+     * @param uniforme número aleatorio
+     * @return tramo de mora según la curva configurada
+     */
+    TramoMora muestrearTramo(double uniforme) {
+        TramoMora[] tramos = TramoMora.values();
+        for (int i = 0; i < curvaMora.length - 1; i++) {
+            if (uniforme < curvaMora[i]) {
+                return tramos[i];
+            }
+        }
+        return tramos[curvaMora.length - 1];
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getAdministradores() {
+        return administradores;
+    }
+
+    public int getAsesores() {
+        return asesores;
+    }
+
+    public int getClientes() {
+        return clientes;
+    }
+
+    public double getProporcionAsesoresCliente() {
+        return proporcionAsesoresCliente;
+    }
+
+    public int getMaxSolicitudesPorCliente() {
+        return maxSolicitudesPorCliente;
+    }
+
+    public double getProbabilidadSolicitudAdicional() {
+        return probabilidadSolicitudAdicional;
+    }
+
+    public int getScoreMedio() {
+        return scoreMedio;
+    }
+
+    public int getScoreDesviacion() {
+        return scoreDesviacion;
+    }
+
+    public int getMesesHistoria() {
+        return mesesHistoria;
+    }
+
+    public int[] getPlazos() {
+        return plazos.clone();
+    }
+
+    public LocalDate getFechaReferencia() {
+        return fechaReferencia;
+    }
+
+    public int getIdInicial() {
+        return idInicial;
+    }
+
+    public int getClientesPorLote() {
+        return clientesPorLote;
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    public int getRolAdministradorId() {
+        return rolAdministradorId;
+    }
+
+    public int getRolAsesorId() {
+        return rolAsesorId;
+    }
+
+    public int getRolClienteId() {
+        return rolClienteId;
+    }
+
+    /**
+     * Builder de la configuración. Los valores por defecto generan una cartera
+     * pequeña y coherente con los roles de 01_seed_data.sql.
+     */
+    public static final class Builder {
+        private long semilla = 42L;
+        private int administradores = 3;
+        private int asesores = 50;
+        private int clientes = 10_000;
+        private double proporcionAsesoresCliente = 0.10;
+        private int maxSolicitudesPorCliente = 3;
+        private double probabilidadSolicitudAdicional = 0.35;
+        private int scoreMedio = 620;
+        private int scoreDesviacion = 120;
+        private int mesesHistoria = 36;
+        private int[] plazos = {6, 12, 18, 24, 36};
+        private final double[] curvaMora = {0.82, 0.09, 0.04, 0.02, 0.03};
+        private LocalDate fechaReferencia;
+        // Deja espacio para los datos semilla y los registros creados a mano
+        private int idInicial = 100_000;
+        private int clientesPorLote = 500;
+        private int hilos = Runtime.getRuntime().availableProcessors();
+        private int rolAdministradorId = 1;
+        private int rolAsesorId = 2;
+        private int rolClienteId = 3;
+
+        private Builder() {
+        }
+
+        public Builder semilla(long semilla) {
+            this.semilla = semilla;
+            return this;
+        }
+
+        public Builder administradores(int administradores) {
+            this.administradores = requerirPositivo(administradores, "administradores");
+            return this;
+        }
+
+        public Builder asesores(int asesores) {
+            this.asesores = requerirPositivo(asesores, "asesores");
+            return this;
+        }
+
+        public Builder clientes(int clientes) {
+            this.clientes = Math.max(0, clientes);
+            return this;
+        }
+
+        /**
+         * Proporción de asesores que además tienen el rol de cliente.
+         */
+        public Builder proporcionAsesoresCliente(double proporcion) {
+            this.proporcionAsesoresCliente = proporcion;
+            return this;
+        }
+
+        public Builder maxSolicitudesPorCliente(int maximo) {
+            this.maxSolicitudesPorCliente = requerirPositivo(maximo, "maxSolicitudesPorCliente");
+            return this;
+        }
+
+        /**
+         * Probabilidad de que un cliente tenga una solicitud más (distribución geométrica).
+         */
+        public Builder probabilidadSolicitudAdicional(double probabilidad) {
+            this.probabilidadSolicitudAdicional = probabilidad;
+            return this;
+        }
+
+        /**
+         * Distribución normal del score crediticio, recortada a [300, 950].
+         */
+        public Builder score(int medio, int desviacion) {
+            this.scoreMedio = medio;
+            this.scoreDesviacion = desviacion;
+            return this;
+        }
+
+        /**
+         * Meses hacia atrás, desde la fecha de referencia, en que se reparten las solicitudes.
+         */
+        public Builder mesesHistoria(int meses) {
+            this.mesesHistoria = requerirPositivo(meses, "mesesHistoria");
+            return this;
+        }
+
+        public Builder plazos(int... plazos) {
+            if (plazos.length == 0) {
+                throw new IllegalArgumentException("Debe indicar al menos un plazo");
+            }
+            this.plazos = plazos.clone();
+            return this;
+        }
+
+        /**
+         * Peso del tramo en la curva de mora de los préstamos con cuotas vencidas.
+         * Los pesos se normalizan al construir la configuración.
+         */
+        public Builder curvaMora(TramoMora tramo, double peso) {
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso de la curva de mora no puede ser negativo");
+            }
+            this.curvaMora[tramo.ordinal()] = peso;
+            return this;
+        }
+
+        /**
+         * Fecha "de hoy" para la cartera: define qué cuotas están vencidas y pagadas.
+         */
+        public Builder fechaReferencia(LocalDate fecha) {
+            this.fechaReferencia = fecha;
+            return this;
+        }
+
+        public Builder idInicial(int idInicial) {
+            this.idInicial = requerirPositivo(idInicial, "idInicial");
+            return this;
+        }
+
+        public Builder clientesPorLote(int clientesPorLote) {
+            this.clientesPorLote = requerirPositivo(clientesPorLote, "clientesPorLote");
+            return this;
+        }
+
+        public Builder hilos(int hilos) {
+            this.hilos = requerirPositivo(hilos, "hilos");
+            return this;
+        }
+
+        public Builder roles(int administradorId, int asesorId, int clienteId) {
+            this.rolAdministradorId = administradorId;
+            this.rolAsesorId = asesorId;
+            this.rolClienteId = clienteId;
+            return this;
+        }
+
+        public ConfiguracionGenerador build() {
+            if (Arrays.stream(curvaMora).sum() <= 0) {
+                throw new IllegalArgumentException("La curva de mora debe tener algún peso positivo");
+            }
+            return new ConfiguracionGenerador(this);
+        }
+
+        private static int requerirPositivo(int valor, String nombre) {
+            if (valor <= 0) {
+                throw new IllegalArgumentException(nombre + " debe ser mayor que cero");
+            }
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package pe.crediactiva.sintetico;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Escribe los lotes como archivos TSV, uno por tabla, junto con un script
+ * cargar.sql de LOAD DATA LOCAL INFILE para MySQL. Es la vía más rápida para
+ * volúmenes grandes:
+ *
+ * <pre>
+ * cd directorio-de-salida
+ * mysql --local-infile=1 -u root -p crediactiva &lt; cargar.sql
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class DestinoArchivosCarga implements DestinoCarga {
+
+    private static final DateTimeFormatter FORMATO_FECHA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directorio;
+    private final Map<TablaCarga, BufferedWriter> archivos = new EnumMap<>(TablaCarga.class);
+    private final StringBuilder linea = new StringBuilder(256);
+
+    public DestinoArchivosCarga(Path directorio) throws IOException {
+        this.directorio = directorio;
+        Files.createDirectories(directorio);
+        for (TablaCarga tabla : TablaCarga.values()) {
+            archivos.put(tabla, Files.newBufferedWriter(directorio.resolve(getArchivo(tabla)),
+                                                         StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public synchronized void escribir(LoteCarga lote) throws IOException {
+        for (TablaCarga tabla : TablaCarga.values()) {
+            BufferedWriter archivo = archivos.get(tabla);
+            for (Object[] fila : lote.getFilas(tabla)) {
+                linea.setLength(0);
+                for (int c = 0; c < fila.length; c++) {
+                    if (c > 0) {
+                        linea.append('\t');
+                    }
+                    agregarValor(fila[c]);
+                }
+                linea.append('\n');
+                archivo.append(linea);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (BufferedWriter archivo : archivos.values()) {
+            archivo.close();
+        }
+
+        StringBuilder script = new StringBuilder();
+        script.append("-- Generado por GeneradorCartera. Ejecutar desde este directorio con --local-infile=1\n");
+        script.append("SET NAMES utf8mb4;\n");
+        for (TablaCarga tabla : TablaCarga.values()) {
+            script.append("LOAD DATA LOCAL INFILE '").append(getArchivo(tabla)).append("'\n")
+                  .append("    INTO TABLE ").append(tabla.getNombre()).append(" CHARACTER SET utf8mb4\n")
+                  .append("    FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n'\n")
+                  .append("    (").append(String.join(", ", tabla.getColumnas())).append(");\n");
+        }
+        Files.writeString(directorio.resolve("cargar.sql"), script, StandardCharsets.UTF_8);
+    }
+
+    private void agregarValor(Object valor) {
+        if (valor == null) {
+            linea.append("\\N");
+        } else if (valor instanceof Boolean booleano) {
+            linea.append(booleano ? '1' : '0');
+        } else if (valor instanceof BigDecimal decimal) {
+            linea.append(decimal.toPlainString());
+        } else if (valor instanceof LocalDateTime fechaHora) {
+            linea.append(FORMATO_FECHA_HORA.format(fechaHora));
+        } else if (valor instanceof String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '\\' -> linea.append("\\\\");
+                    case '\t' -> linea.append("\\t");
+                    case '\n' -> linea.append("\\n");
+                    default -> linea.append(c);
+                }
+            }
+        } else {
+            // Integer, Long, LocalDate y enums se escriben con toString
+            linea.append(valor);
+        }
+    }
+
+    private static String getArchivo(TablaCarga tabla) {
+        return tabla.getNombre() + ".tsv";
+    }
+}
@@ -0,0 +1,40 @@
+package pe.crediactiva.sintetico;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Destino de los lotes generados: una base de datos o archivos de carga.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public interface DestinoCarga extends AutoCloseable {
+
+    /**
+     * Escribe un lote ya rebasado, tabla por tabla en el orden de
+     * {@link TablaCarga}.
+     *
+     * @param lote lote con ids definitivos
+     * @throws Exception si la escritura falla
+     */
+    void escribir(LoteCarga lote) throws Exception;
+
+    /**
+     * Indica si {@link #escribir(LoteCarga)} puede llamarse desde varios hilos a la vez.
+     *
+     * @return true si admite escrituras concurrentes
+     */
+    default boolean admiteConcurrencia() {
+        return false;
+    }
+
+    /**
+     * Libera la conexión o los archivos abiertos.
+     *
+     * @throws SQLException si falla el cierre de la conexión
+     * @throws IOException si falla el cierre de los archivos
+     */
+    @Override
+    void close() throws SQLException, IOException;
+}
@@ -0,0 +1,117 @@
+package pe.crediactiva.sintetico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Escribe los lotes con inserciones por lotes JDBC (MySQL o H2).
+ *
+ * Mantiene una conexión propia por hilo escritor, fuera del pool de la
+ * aplicación. Cada lote se inserta en una sola transacción y en orden de
+ * dependencias, de modo que las claves foráneas se validan sin desactivarlas.
+ * Con MySQL se activa rewriteBatchedStatements para que cada lote JDBC viaje
+ * como un único INSERT de varias filas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class DestinoJdbc implements DestinoCarga {
+
+    private static final Logger logger = LoggerFactory.getLogger(DestinoJdbc.class);
+
+    private static final TablaCarga[] TABLAS = TablaCarga.values();
+
+    private final BlockingQueue<Connection> conexiones;
+    private final int filasPorBatch;
+
+    /**
+     * @param url URL JDBC de destino
+     * @param usuario usuario de la base de datos
+     * @param password contraseña
+     * @param hilos conexiones a abrir (una por hilo escritor)
+     * @param filasPorBatch filas por executeBatch
+     * @throws SQLException si no se puede conectar
+     */
+    public DestinoJdbc(String url, String usuario, String password, int hilos, int filasPorBatch) throws SQLException {
+        this.conexiones = new ArrayBlockingQueue<>(hilos);
+        this.filasPorBatch = filasPorBatch;
+
+        String urlCarga = prepararUrl(url);
+        for (int i = 0; i < hilos; i++) {
+            Connection connection = DriverManager.getConnection(urlCarga, usuario, password);
+            connection.setAutoCommit(false);
+            conexiones.add(connection);
+        }
+        logger.info("Destino JDBC con {} conexiones: {}", hilos, url);
+    }
+
+    @Override
+    public void escribir(LoteCarga lote) throws Exception {
+        Connection connection = conexiones.take();
+        try {
+            for (TablaCarga tabla : TABLAS) {
+                List<Object[]> filas = lote.getFilas(tabla);
+                if (!filas.isEmpty()) {
+                    insertar(connection, tabla, filas);
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Error al insertar el lote " + lote.getNumero() + ": " + e.getMessage(), e);
+        } finally {
+            conexiones.add(connection);
+        }
+    }
+
+    private void insertar(Connection connection, TablaCarga tabla, List<Object[]> filas) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(tabla.getSqlInsert())) {
+            int pendientes = 0;
+            for (Object[] fila : filas) {
+                for (int c = 0; c < fila.length; c++) {
+                    stmt.setObject(c + 1, fila[c]);
+                }
+                stmt.addBatch();
+                if (++pendientes == filasPorBatch) {
+                    stmt.executeBatch();
+                    pendientes = 0;
+                }
+            }
+            if (pendientes > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    @Override
+    public boolean admiteConcurrencia() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = conexiones.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Error al cerrar conexión de carga", e);
+            }
+        }
+    }
+
+    private static String prepararUrl(String url) {
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+        return url;
+    }
+}
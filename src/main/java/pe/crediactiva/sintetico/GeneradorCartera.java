@@ -0,0 +1,520 @@
+package pe.crediactiva.sintetico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.model.CronogramaPago;
+import pe.crediactiva.model.Prestamo;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+import pe.crediactiva.model.enums.EstadoSolicitud;
+import pe.crediactiva.report.TramoMora;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generador determinista de carteras sintéticas para pruebas de carga.
+ *
+ * Produce administradores, asesores y clientes (con scores de distribución
+ * normal), sus solicitudes, los préstamos aprobados con el cronograma de
+ * {@link Prestamo#generarCronograma()} y los pagos según una curva de mora
+ * configurable por tramo. Cada entidad usa un generador aleatorio derivado de
+ * la semilla y de su índice, por lo que el resultado es el mismo con cualquier
+ * número de hilos.
+ *
+ * Los clientes se generan por lotes en paralelo; los lotes se rebasan en orden
+ * para asignar ids consecutivos y luego se escriben en el destino, también en
+ * paralelo si el destino lo admite.
+ *
+ * Uso:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=pe.crediactiva.sintetico.GeneradorCartera \
+ *     -Dexec.args="--clientes 100000 --semilla 7 --fecha-referencia 2024-06-30 --archivos target/carga"
+ * mvn compile exec:java -Dexec.mainClass=pe.crediactiva.sintetico.GeneradorCartera \
+ *     -Dexec.args="--clientes 20000 --jdbc jdbc:mysql://localhost:3306/crediactiva --usuario root --password root"
+ * </pre>
+ * Sin --archivos ni --jdbc se usa la base de datos de application.properties.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class GeneradorCartera {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorCartera.class);
+
+    // BCrypt (12 rondas) de "carga123", contraseña de todos los usuarios generados
+    static final String PASSWORD_HASH = "$2a$12$g.OF5SFN6ryfNEwZ9CDvru3xfSlx7UTAa3FfosZVIOVaUpzDY3nC2";
+
+    private static final String DOMINIO_CORREO = "@carga.crediactiva.pe";
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+    private static final int FLUJO_ADMINISTRADOR = 1;
+    private static final int FLUJO_ASESOR = 2;
+    private static final int FLUJO_CLIENTE = 3;
+    private static final int DIAS_MAXIMOS_MORA = 720;
+
+    private static final String[] NOMBRES = {
+        "María", "José", "Rosa", "Juan", "Carmen", "Luis", "Ana", "Carlos", "Julia", "Jorge",
+        "Elena", "Miguel", "Lucía", "Pedro", "Sofía", "Víctor", "Isabel", "Raúl", "Patricia", "César",
+        "Gabriela", "Manuel", "Teresa", "Ricardo", "Verónica", "Fernando", "Milagros", "Óscar", "Yolanda", "Hugo"
+    };
+    private static final String[] APELLIDOS = {
+        "Quispe", "Flores", "Sánchez", "Rodríguez", "García", "Huamán", "Mamani", "Rojas", "Chávez", "Vásquez",
+        "Ramírez", "Torres", "Mendoza", "Díaz", "Castillo", "Espinoza", "Gutiérrez", "Vargas", "Ramos", "López",
+        "Pérez", "Cruz", "Romero", "Fernández", "Gonzales", "Cárdenas", "Salazar", "Medina", "Palomino", "Condori"
+    };
+    private static final String[] VIAS = {"Av. Los Próceres", "Jr. Huancavelica", "Av. Túpac Amaru", "Calle Las Begonias",
+                                          "Av. Grau", "Jr. Ayacucho", "Av. Perú", "Pasaje Los Olivos"};
+    private static final String[] DISTRITOS = {"San Juan de Lurigancho", "Comas", "Ate", "Villa El Salvador",
+                                               "San Martín de Porres", "Los Olivos", "Chorrillos", "Independencia",
+                                               "Carabayllo", "Puente Piedra", "Surquillo", "Callao"};
+    private static final String[] OCUPACIONES = {"Comerciante", "Docente", "Técnico", "Conductor", "Enfermera",
+                                                 "Contador", "Costurera", "Mecánico", "Vendedor", "Administrador"};
+    private static final String[] EMPRESAS = {"Independiente", "Mercado Central", "Transportes Unidos SAC",
+                                              "Colegio San Martín", "Clínica Santa Rosa", "Textiles del Sur SRL",
+                                              "Distribuidora Lima Norte", null};
+    private static final String[] FINALIDADES = {"Capital de trabajo", "Compra de mercadería", "Mejora de vivienda",
+                                                 "Educación", "Salud", "Compra de equipo", "Consolidación de deudas"};
+    private static final String[] METODOS_PAGO = {"EFECTIVO", "EFECTIVO", "TRANSFERENCIA", "DEPOSITO", "CHEQUE"};
+
+    private final ConfiguracionGenerador config;
+
+    public GeneradorCartera(ConfiguracionGenerador config) {
+        this.config = config;
+    }
+
+    /**
+     * Genera la cartera completa y la escribe en el destino.
+     *
+     * @param destino base de datos o archivos de carga
+     * @return filas escritas por tabla
+     * @throws Exception si falla la generación o la escritura
+     */
+    public Map<TablaCarga, Long> generar(DestinoCarga destino) throws Exception {
+        long inicio = System.nanoTime();
+        int[] bases = new int[TablaCarga.values().length];
+        Arrays.fill(bases, config.getIdInicial());
+        Map<TablaCarga, Long> totales = new EnumMap<>(TablaCarga.class);
+        for (TablaCarga tabla : TablaCarga.values()) {
+            totales.put(tabla, 0L);
+        }
+
+        // Administradores y asesores primero: los lotes de clientes los referencian por id
+        LoteCarga personal = generarPersonal();
+        personal.rebasar(bases);
+        destino.escribir(personal);
+        sumar(totales, personal);
+
+        int hilos = config.getHilos();
+        int lotes = (config.getClientes() + config.getClientesPorLote() - 1) / config.getClientesPorLote();
+        ExecutorService generadores = Executors.newFixedThreadPool(hilos, fabricaHilos("generador-cartera"));
+        ExecutorService escritores = Executors.newFixedThreadPool(destino.admiteConcurrencia() ? hilos : 1,
+                                                                  fabricaHilos("escritor-cartera"));
+        Semaphore escriturasPendientes = new Semaphore(hilos * 2);
+        Deque<Future<LoteCarga>> enGeneracion = new ArrayDeque<>();
+        List<Future<?>> escrituras = new ArrayList<>();
+        int avance = Math.max(1, lotes / 10);
+
+        try {
+            int siguiente = 1;
+            while (siguiente <= lotes && enGeneracion.size() < hilos * 2) {
+                enGeneracion.add(generadores.submit(tareaLote(siguiente++)));
+            }
+
+            while (!enGeneracion.isEmpty()) {
+                LoteCarga lote = enGeneracion.poll().get();
+                if (siguiente <= lotes) {
+                    enGeneracion.add(generadores.submit(tareaLote(siguiente++)));
+                }
+
+                lote.rebasar(bases);
+                sumar(totales, lote);
+
+                escriturasPendientes.acquire();
+                escrituras.add(escritores.submit(() -> {
+                    try {
+                        destino.escribir(lote);
+                        return null;
+                    } finally {
+                        escriturasPendientes.release();
+                    }
+                }));
+                revisarEscrituras(escrituras);
+
+                if (lote.getNumero() % avance == 0) {
+                    logger.info("Cartera sintética: {}/{} lotes, {} cuotas", lote.getNumero(), lotes,
+                                totales.get(TablaCarga.CRONOGRAMA_PAGOS));
+                }
+            }
+            for (Future<?> escritura : escrituras) {
+                escritura.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception causa) {
+                throw causa;
+            }
+            throw e;
+        } finally {
+            generadores.shutdownNow();
+            escritores.shutdownNow();
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        logger.info("Cartera sintética generada en {} s: {}", String.format("%.1f", segundos), totales);
+        return totales;
+    }
+
+    /**
+     * Genera el lote de administradores y asesores. Los ids que reciben son
+     * predecibles porque este lote siempre se rebasa primero.
+     */
+    LoteCarga generarPersonal() {
+        LoteCarga lote = new LoteCarga(0);
+        LocalDate inicioHistoria = config.getFechaReferencia().minusMonths(config.getMesesHistoria() + 1L);
+
+        for (int i = 0; i < config.getAdministradores(); i++) {
+            SplittableRandom aleatorio = aleatorio(FLUJO_ADMINISTRADOR, i);
+            int usuarioId = agregarUsuario(lote, aleatorio, "adm" + i, String.valueOf(60_000_000 + i),
+                                           inicioHistoria.atTime(9, 0), true);
+            lote.agregar(TablaCarga.USUARIOS_ROLES, null, usuarioId, config.getRolAdministradorId(), true);
+        }
+
+        for (int j = 0; j < config.getAsesores(); j++) {
+            SplittableRandom aleatorio = aleatorio(FLUJO_ASESOR, j);
+            LocalDateTime ingreso = inicioHistoria.plusDays(aleatorio.nextInt(180)).atTime(9, 0);
+            int usuarioId = agregarUsuario(lote, aleatorio, "ase" + j, String.valueOf(65_000_000 + j), ingreso, true);
+            lote.agregar(TablaCarga.USUARIOS_ROLES, null, usuarioId, config.getRolAsesorId(), true);
+            if (aleatorio.nextDouble() < config.getProporcionAsesoresCliente()) {
+                lote.agregar(TablaCarga.USUARIOS_ROLES, null, usuarioId, config.getRolClienteId(), true);
+            }
+            lote.agregar(TablaCarga.ASESORES, null, usuarioId, String.format("GEN-A%05d", j),
+                         BigDecimal.valueOf(150 + 25L * aleatorio.nextInt(7), 4),
+                         BigDecimal.valueOf(20_000 + 5_000L * aleatorio.nextInt(13)).setScale(2),
+                         true);
+        }
+        return lote;
+    }
+
+    /**
+     * Genera el lote de clientes con número dado (desde 1).
+     *
+     * @param numero número de lote
+     * @return lote con ids locales
+     */
+    LoteCarga generarLote(int numero) {
+        LoteCarga lote = new LoteCarga(numero);
+        int desde = (numero - 1) * config.getClientesPorLote();
+        int hasta = Math.min(config.getClientes(), desde + config.getClientesPorLote());
+        for (int indice = desde; indice < hasta; indice++) {
+            generarCliente(lote, indice);
+        }
+        return lote;
+    }
+
+    private void generarCliente(LoteCarga lote, int indice) {
+        SplittableRandom aleatorio = aleatorio(FLUJO_CLIENTE, indice);
+        LocalDate referencia = config.getFechaReferencia();
+        LocalDate registro = referencia.minusDays(30L + aleatorio.nextInt(config.getMesesHistoria() * 30));
+
+        String username = "cli" + indice;
+        String documento = String.valueOf(70_000_000L + indice);
+        String nombres = elegir(aleatorio, NOMBRES);
+        String apellidos = elegir(aleatorio, APELLIDOS) + " " + elegir(aleatorio, APELLIDOS);
+        String telefono = telefono(aleatorio);
+        String direccion = direccion(aleatorio);
+        boolean activo = aleatorio.nextDouble() < 0.97;
+
+        int usuarioId = lote.agregar(TablaCarga.USUARIOS, null, username, username + DOMINIO_CORREO, PASSWORD_HASH,
+                                     nombres, apellidos, documento, telefono, direccion, activo,
+                                     ultimoLogin(aleatorio, activo), registro.atTime(10, aleatorio.nextInt(60)));
+        lote.agregar(TablaCarga.USUARIOS_ROLES, null, usuarioId, config.getRolClienteId(), true);
+
+        int score = (int) Math.max(300, Math.min(950,
+            Math.round(config.getScoreMedio() + aleatorio.nextGaussian() * config.getScoreDesviacion())));
+        long ingresos = Math.max(1_025, Math.min(25_000,
+            Math.round(Math.exp(Math.log(2_200) + 0.45 * aleatorio.nextGaussian()) / 10) * 10));
+        BigDecimal ingresosMensuales = BigDecimal.valueOf(ingresos).setScale(2);
+
+        int solicitudes = 1;
+        while (solicitudes < config.getMaxSolicitudesPorCliente() &&
+               aleatorio.nextDouble() < config.getProbabilidadSolicitudAdicional()) {
+            solicitudes++;
+        }
+
+        int[] plazos = config.getPlazos();
+        int diasDesdeRegistro = (int) ChronoUnit.DAYS.between(registro, referencia);
+        int prestamos = 0;
+        for (int k = 1; k <= solicitudes; k++) {
+            int asesor = aleatorio.nextInt(config.getAsesores());
+            LocalDate fechaSolicitud = registro.plusDays(aleatorio.nextInt(diasDesdeRegistro + 1));
+            long montoBase = Math.round(ingresos * (1 + aleatorio.nextDouble() * 4) / 100) * 100;
+            BigDecimal monto = BigDecimal.valueOf(Math.max(500, Math.min(50_000, montoBase))).setScale(2);
+            int plazo = plazos[aleatorio.nextInt(plazos.length)];
+            BigDecimal tasa = BigDecimal.valueOf(Math.round(
+                (0.0200 + (950 - score) / 650.0 * 0.0250 + aleatorio.nextInt(5) * 0.0005) * 10_000), 4);
+            boolean aprobada = aleatorio.nextDouble() < Math.max(0.05, Math.min(0.95, (score - 350) / 450.0));
+
+            long diasEnTramite = ChronoUnit.DAYS.between(fechaSolicitud, referencia);
+            EstadoSolicitud estado;
+            LocalDateTime fechaRevision = null;
+            LocalDateTime fechaDecision = null;
+            Integer revisadoPor = null;
+            if (diasEnTramite < 7) {
+                estado = aleatorio.nextBoolean() ? EstadoSolicitud.PENDIENTE : EstadoSolicitud.EN_REVISION;
+                if (estado == EstadoSolicitud.EN_REVISION) {
+                    fechaRevision = fechaSolicitud.atTime(15, 0);
+                }
+            } else {
+                estado = aprobada ? EstadoSolicitud.APROBADA :
+                         aleatorio.nextDouble() < 0.85 ? EstadoSolicitud.RECHAZADA : EstadoSolicitud.CANCELADA;
+                int diasDecision = 1 + aleatorio.nextInt(3);
+                fechaRevision = fechaSolicitud.plusDays(diasDecision - 1).atTime(11, 0);
+                fechaDecision = fechaSolicitud.plusDays(diasDecision).atTime(16, 0);
+                revisadoPor = config.getIdInicial() + aleatorio.nextInt(config.getAdministradores());
+            }
+
+            int solicitudId = lote.agregar(TablaCarga.SOLICITUDES, null, "GS" + indice + "-" + k, usuarioId,
+                                           asesorId(asesor), nombres, apellidos, documento, telefono,
+                                           username + DOMINIO_CORREO, direccion, monto, plazo, tasa,
+                                           elegir(aleatorio, FINALIDADES), ingresosMensuales, estado.name(),
+                                           fechaSolicitud.atTime(9 + aleatorio.nextInt(9), aleatorio.nextInt(60)),
+                                           fechaRevision, fechaDecision, revisadoPor);
+
+            if (estado == EstadoSolicitud.APROBADA) {
+                prestamos++;
+                agregarPrestamo(lote, aleatorio, indice + "-" + k, solicitudId, usuarioId, asesor,
+                                monto, plazo, tasa, fechaDecision.toLocalDate());
+            }
+        }
+
+        String tipoCliente = score >= 800 && prestamos > 0 ? "VIP" : prestamos >= 2 ? "RECURRENTE" : "NUEVO";
+        BigDecimal limite = BigDecimal.valueOf(Math.round(ingresos * (1.5 + score / 400.0) / 100) * 100).setScale(2);
+        lote.agregar(TablaCarga.CLIENTES, null, usuarioId, String.format("GEN-C%08d", indice), tipoCliente, limite,
+                     score, ingresosMensuales, elegir(aleatorio, OCUPACIONES), elegir(aleatorio, EMPRESAS), activo);
+    }
+
+    private void agregarPrestamo(LoteCarga lote, SplittableRandom aleatorio, String sufijo, int solicitudId,
+                                 int usuarioId, int asesor, BigDecimal monto, int plazo, BigDecimal tasa,
+                                 LocalDate fechaAprobacion) {
+        LocalDate referencia = config.getFechaReferencia();
+        Prestamo prestamo = new Prestamo("GP" + sufijo, null, monto, plazo, tasa);
+        LocalDate desembolso = fechaAprobacion.plusDays(aleatorio.nextInt(3));
+        if (desembolso.isAfter(referencia)) {
+            desembolso = referencia;
+        }
+        prestamo.setFechaDesembolso(desembolso);
+        List<CronogramaPago> cuotas = prestamo.generarCronograma();
+
+        int vencidas = 0;
+        while (vencidas < cuotas.size() && cuotas.get(vencidas).getFechaVencimiento().isBefore(referencia)) {
+            vencidas++;
+        }
+        int pagadas = elegirPrimeraImpaga(cuotas, vencidas, config.muestrearTramo(aleatorio.nextDouble()), aleatorio);
+
+        EstadoPrestamo estado = pagadas == cuotas.size() ? EstadoPrestamo.PAGADO :
+                                pagadas < vencidas ? EstadoPrestamo.VENCIDO : EstadoPrestamo.ACTIVO;
+        int prestamoId = lote.agregar(TablaCarga.PRESTAMOS, null, prestamo.getNumeroPrestamo(), solicitudId, usuarioId,
+                                      asesorId(asesor), monto, prestamo.getMontoTotal(), plazo, tasa,
+                                      prestamo.getCuotaMensual(), estado.name(), desembolso,
+                                      prestamo.getFechaPrimerVencimiento(), prestamo.getFechaUltimoVencimiento(),
+                                      desembolso.atTime(12, 0));
+
+        Integer registradoPor = usuarioAsesorId(asesor);
+        for (int i = 0; i < cuotas.size(); i++) {
+            CronogramaPago cuota = cuotas.get(i);
+            LocalDate vencimiento = cuota.getFechaVencimiento();
+            if (i < pagadas) {
+                // La mayoría paga unos días antes; el resto, con algunos días de atraso
+                LocalDate fechaPago = aleatorio.nextDouble() < 0.7 ?
+                                      vencimiento.minusDays(aleatorio.nextInt(4)) :
+                                      vencimiento.plusDays(1 + aleatorio.nextInt(12));
+                if (fechaPago.isAfter(referencia)) {
+                    fechaPago = referencia;
+                }
+                if (fechaPago.isBefore(desembolso)) {
+                    fechaPago = desembolso;
+                }
+                int diasAtraso = (int) Math.max(0, ChronoUnit.DAYS.between(vencimiento, fechaPago));
+                int cuotaId = lote.agregar(TablaCarga.CRONOGRAMA_PAGOS, null, prestamoId, cuota.getNumeroCuota(),
+                                           vencimiento, cuota.getMontoCuota(), cuota.getCapital(), cuota.getInteres(),
+                                           cuota.getSaldoPendiente(), true, fechaPago, cuota.getMontoCuota(),
+                                           diasAtraso);
+                lote.agregar(TablaCarga.PAGOS, null, "GR" + sufijo + "-" + cuota.getNumeroCuota(), prestamoId,
+                             cuotaId, cuota.getMontoCuota(), fechaPago, elegir(aleatorio, METODOS_PAGO),
+                             registradoPor);
+            } else {
+                int diasAtraso = (int) Math.max(0, ChronoUnit.DAYS.between(vencimiento, referencia));
+                lote.agregar(TablaCarga.CRONOGRAMA_PAGOS, null, prestamoId, cuota.getNumeroCuota(), vencimiento,
+                             cuota.getMontoCuota(), cuota.getCapital(), cuota.getInteres(), cuota.getSaldoPendiente(),
+                             false, null, BigDecimal.ZERO.setScale(2), diasAtraso);
+            }
+        }
+    }
+
+    /**
+     * Decide cuántas cuotas están pagadas para que el atraso del préstamo caiga
+     * en el tramo elegido: se paga todo lo anterior a una cuota vencida cuyo
+     * atraso esté dentro del tramo. Los préstamos demasiado recientes para el
+     * tramo quedan al día.
+     *
+     * @return índice de la primera cuota impaga (igual a la cantidad de cuotas pagadas)
+     */
+    private int elegirPrimeraImpaga(List<CronogramaPago> cuotas, int vencidas, TramoMora tramo,
+                                    SplittableRandom aleatorio) {
+        if (tramo == TramoMora.AL_DIA) {
+            return vencidas;
+        }
+        LocalDate referencia = config.getFechaReferencia();
+        int hastaDias = Math.min(tramo.getDiasHasta(), DIAS_MAXIMOS_MORA);
+        int primera = -1;
+        int candidatas = 0;
+        for (int i = 0; i < vencidas; i++) {
+            long atraso = ChronoUnit.DAYS.between(cuotas.get(i).getFechaVencimiento(), referencia);
+            if (atraso >= tramo.getDiasDesde() && atraso <= hastaDias) {
+                if (primera < 0) {
+                    primera = i;
+                }
+                candidatas++;
+            }
+        }
+        return primera < 0 ? vencidas : primera + aleatorio.nextInt(candidatas);
+    }
+
+    private int agregarUsuario(LoteCarga lote, SplittableRandom aleatorio, String username, String documento,
+                               LocalDateTime fechaCreacion, boolean activo) {
+        return lote.agregar(TablaCarga.USUARIOS, null, username, username + DOMINIO_CORREO, PASSWORD_HASH,
+                            elegir(aleatorio, NOMBRES),
+                            elegir(aleatorio, APELLIDOS) + " " + elegir(aleatorio, APELLIDOS),
+                            documento, telefono(aleatorio), direccion(aleatorio), activo,
+                            ultimoLogin(aleatorio, activo), fechaCreacion);
+    }
+
+    private LocalDateTime ultimoLogin(SplittableRandom aleatorio, boolean activo) {
+        if (!activo || aleatorio.nextDouble() < 0.2) {
+            return null;
+        }
+        return config.getFechaReferencia().minusDays(aleatorio.nextInt(30))
+                     .atTime(8 + aleatorio.nextInt(12), aleatorio.nextInt(60));
+    }
+
+    private int asesorId(int asesor) {
+        return config.getIdInicial() + asesor;
+    }
+
+    private int usuarioAsesorId(int asesor) {
+        return config.getIdInicial() + config.getAdministradores() + asesor;
+    }
+
+    private SplittableRandom aleatorio(int flujo, long indice) {
+        return new SplittableRandom(config.getSemilla() ^ ((long) flujo << 56) ^ (indice * MEZCLA));
+    }
+
+    private Callable<LoteCarga> tareaLote(int numero) {
+        return () -> generarLote(numero);
+    }
+
+    private static void revisarEscrituras(List<Future<?>> escrituras) throws Exception {
+        Iterator<Future<?>> iterador = escrituras.iterator();
+        while (iterador.hasNext()) {
+            Future<?> escritura = iterador.next();
+            if (escritura.isDone()) {
+                escritura.get();
+                iterador.remove();
+            }
+        }
+    }
+
+    private static void sumar(Map<TablaCarga, Long> totales, LoteCarga lote) {
+        for (TablaCarga tabla : TablaCarga.values()) {
+            totales.merge(tabla, (long) lote.contar(tabla), Long::sum);
+        }
+    }
+
+    private static String elegir(SplittableRandom aleatorio, String[] opciones) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    private static String telefono(SplittableRandom aleatorio) {
+        return "9" + String.format("%08d", aleatorio.nextInt(100_000_000));
+    }
+
+    private static String direccion(SplittableRandom aleatorio) {
+        return elegir(aleatorio, VIAS) + " " + (100 + aleatorio.nextInt(1900)) + ", " + elegir(aleatorio, DISTRITOS);
+    }
+
+    private static ThreadFactory fabricaHilos(String nombre) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread hilo = new Thread(r, nombre + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        AppConfig.initialize();
+        ConfiguracionGenerador.Builder builder = ConfiguracionGenerador.builder();
+        String jdbc = AppConfig.getProperty("db.url");
+        String usuario = AppConfig.getProperty("db.username");
+        String password = AppConfig.getProperty("db.password");
+        Path archivos = null;
+        int filasPorBatch = 1_000;
+
+        for (int i = 0; i < args.length; i += 2) {
+            String opcion = args[i];
+            String valor = i + 1 < args.length ? args[i + 1] : "";
+            switch (opcion) {
+                case "--clientes" -> builder.clientes(Integer.parseInt(valor));
+                case "--asesores" -> builder.asesores(Integer.parseInt(valor));
+                case "--administradores" -> builder.administradores(Integer.parseInt(valor));
+                case "--semilla" -> builder.semilla(Long.parseLong(valor));
+                case "--fecha-referencia" -> builder.fechaReferencia(LocalDate.parse(valor));
+                case "--meses-historia" -> builder.mesesHistoria(Integer.parseInt(valor));
+                case "--id-inicial" -> builder.idInicial(Integer.parseInt(valor));
+                case "--hilos" -> builder.hilos(Integer.parseInt(valor));
+                case "--mora" -> {
+                    // Pesos por tramo: al día, 1-30, 31-60, 61-90, más de 90
+                    String[] pesos = valor.split(",");
+                    for (TramoMora tramo : TramoMora.values()) {
+                        builder.curvaMora(tramo, Double.parseDouble(pesos[tramo.ordinal()].trim()));
+                    }
+                }
+                case "--archivos" -> archivos = Path.of(valor);
+                case "--jdbc" -> jdbc = valor;
+                case "--usuario" -> usuario = valor;
+                case "--password" -> password = valor;
+                case "--filas-por-batch" -> filasPorBatch = Integer.parseInt(valor);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + opcion);
+            }
+        }
+
+        ConfiguracionGenerador config = builder.build();
+        logger.info("Generando {} clientes con semilla {} y fecha de referencia {}",
+                    config.getClientes(), config.getSemilla(), config.getFechaReferencia());
+
+        try (DestinoCarga destino = archivos != null ?
+                 new DestinoArchivosCarga(archivos) :
+                 new DestinoJdbc(jdbc, usuario, password, config.getHilos(), filasPorBatch)) {
+            new GeneradorCartera(config).generar(destino);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pe.crediactiva.sintetico;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filas generadas para un rango de clientes, agrupadas por tabla.
+ *
+ * Los lotes se generan en paralelo con ids locales que empiezan en 0 en cada
+ * tabla. Antes de escribirlos, el generador los rebasa en orden: suma a cada id
+ * (y a cada referencia local) el primer id libre de su tabla. Así los ids son
+ * consecutivos y no dependen del número de hilos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class LoteCarga {
+
+    private static final TablaCarga[] TABLAS = TablaCarga.values();
+
+    private final int numero;
+    private final List<List<Object[]>> filas;
+
+    public LoteCarga(int numero) {
+        this.numero = numero;
+        this.filas = new ArrayList<>(TABLAS.length);
+        for (int i = 0; i < TABLAS.length; i++) {
+            filas.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Agrega una fila. La posición 0 de los valores se reemplaza por el id local.
+     *
+     * @param tabla tabla de destino
+     * @param valores valores en el orden de {@link TablaCarga#getColumnas()}
+     * @return id local asignado
+     */
+    public int agregar(TablaCarga tabla, Object... valores) {
+        if (valores.length != tabla.getColumnas().size()) {
+            throw new IllegalArgumentException("Se esperaban " + tabla.getColumnas().size() +
+                                               " valores para " + tabla.getNombre());
+        }
+        List<Object[]> filasTabla = filas.get(tabla.ordinal());
+        int id = filasTabla.size();
+        valores[0] = id;
+        filasTabla.add(valores);
+        return id;
+    }
+
+    /**
+     * Convierte los ids locales en definitivos y avanza las bases.
+     *
+     * @param bases primer id libre por tabla (índice = ordinal); se actualiza
+     */
+    public void rebasar(int[] bases) {
+        for (TablaCarga tabla : TABLAS) {
+            int columnas = tabla.getColumnas().size();
+            for (Object[] fila : filas.get(tabla.ordinal())) {
+                fila[0] = (Integer) fila[0] + bases[tabla.ordinal()];
+                for (int c = 1; c < columnas; c++) {
+                    TablaCarga referencia = tabla.getReferenciaLocal(c);
+                    if (referencia != null && fila[c] != null) {
+                        fila[c] = (Integer) fila[c] + bases[referencia.ordinal()];
+                    }
+                }
+            }
+        }
+        for (TablaCarga tabla : TABLAS) {
+            bases[tabla.ordinal()] += filas.get(tabla.ordinal()).size();
+        }
+    }
+
+    public List<Object[]> getFilas(TablaCarga tabla) {
+        return Collections.unmodifiableList(filas.get(tabla.ordinal()));
+    }
+
+    public int contar(TablaCarga tabla) {
+        return filas.get(tabla.ordinal()).size();
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+}
@@ -0,0 +1,109 @@
+package pe.crediactiva.sintetico;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tablas que llena el generador de cartera, en orden de dependencia de claves
+ * foráneas. La primera columna de cada tabla es siempre el id.
+ *
+ * Las columnas marcadas como referencias locales apuntan a filas del mismo lote
+ * y se desplazan junto con los ids al rebasar el lote; las demás referencias
+ * (asesor, usuario que registra, rol) ya vienen con su id definitivo.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public enum TablaCarga {
+
+    USUARIOS("usuarios", "id", "username", "email", "password_hash", "nombres", "apellidos",
+             "documento_identidad", "telefono", "direccion", "activo", "ultimo_login", "fecha_creacion"),
+    USUARIOS_ROLES("usuarios_roles", "id", "usuario_id", "rol_id", "activo"),
+    ASESORES("asesores", "id", "usuario_id", "codigo_asesor", "comision_porcentaje", "meta_mensual", "activo"),
+    CLIENTES("clientes", "id", "usuario_id", "codigo_cliente", "tipo_cliente", "limite_credito",
+             "score_crediticio", "ingresos_declarados", "ocupacion", "empresa", "activo"),
+    SOLICITUDES("solicitudes", "id", "numero_solicitud", "cliente_id", "asesor_id", "nombres_cliente",
+                "apellidos_cliente", "documento_cliente", "telefono_cliente", "email_cliente",
+                "direccion_cliente", "monto_solicitado", "plazo_meses", "tasa_interes_mensual", "finalidad",
+                "ingresos_mensuales", "estado", "fecha_solicitud", "fecha_revision", "fecha_decision",
+                "revisado_por"),
+    PRESTAMOS("prestamos", "id", "numero_prestamo", "solicitud_id", "cliente_id", "asesor_id",
+              "monto_prestamo", "monto_total", "plazo_meses", "tasa_interes_mensual", "cuota_mensual",
+              "estado", "fecha_desembolso", "fecha_primer_vencimiento", "fecha_ultimo_vencimiento",
+              "fecha_creacion"),
+    CRONOGRAMA_PAGOS("cronograma_pagos", "id", "prestamo_id", "numero_cuota", "fecha_vencimiento",
+                     "monto_cuota", "capital", "interes", "saldo_pendiente", "pagado", "fecha_pago",
+                     "monto_pagado", "dias_atraso"),
+    PAGOS("pagos", "id", "numero_recibo", "prestamo_id", "cronograma_id", "monto_pago", "fecha_pago",
+          "metodo_pago", "registrado_por");
+
+    static {
+        USUARIOS_ROLES.referenciar("usuario_id", USUARIOS);
+        ASESORES.referenciar("usuario_id", USUARIOS);
+        CLIENTES.referenciar("usuario_id", USUARIOS);
+        SOLICITUDES.referenciar("cliente_id", USUARIOS);
+        PRESTAMOS.referenciar("solicitud_id", SOLICITUDES);
+        PRESTAMOS.referenciar("cliente_id", USUARIOS);
+        CRONOGRAMA_PAGOS.referenciar("prestamo_id", PRESTAMOS);
+        PAGOS.referenciar("prestamo_id", PRESTAMOS);
+        PAGOS.referenciar("cronograma_id", CRONOGRAMA_PAGOS);
+    }
+
+    private final String nombre;
+    private final List<String> columnas;
+    private final TablaCarga[] referencias;
+
+    TablaCarga(String nombre, String... columnas) {
+        this.nombre = nombre;
+        this.columnas = List.of(columnas);
+        this.referencias = new TablaCarga[columnas.length];
+    }
+
+    private void referenciar(String columna, TablaCarga tabla) {
+        referencias[indiceDe(columna)] = tabla;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public List<String> getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Obtiene la posición de una columna en las filas de esta tabla.
+     *
+     * @param columna nombre de la columna
+     * @return índice de la columna
+     */
+    public int indiceDe(String columna) {
+        int indice = columnas.indexOf(columna);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Columna desconocida en " + nombre + ": " + columna);
+        }
+        return indice;
+    }
+
+    /**
+     * Obtiene la tabla a la que apunta una columna con referencia local al lote.
+     *
+     * @param indice índice de la columna
+     * @return tabla referenciada o null si la columna no es una referencia local
+     */
+    public TablaCarga getReferenciaLocal(int indice) {
+        return referencias[indice];
+    }
+
+    /**
+     * Genera la sentencia INSERT con todas las columnas de la tabla.
+     *
+     * @return SQL con un parámetro por columna
+     */
+    public String getSqlInsert() {
+        String[] parametros = new String[columnas.size()];
+        Arrays.fill(parametros, "?");
+        return "INSERT INTO " + nombre + " (" + String.join(", ", columnas) + ") VALUES (" +
+               String.join(", ", parametros) + ")";
+    }
+}
@@ -0,0 +1,59 @@
+package pe.crediactiva.tabla;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Configura columnas de tablas que muestran filas precalculadas (FilaUsuario,
+ * FilaAsesor, FilaCliente). Los valores se leen con referencias a métodos, sin
+ * la reflexión de PropertyValueFactory.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class ColumnasTabla {
+
+    private ColumnasTabla() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Columna que muestra un texto de la fila y ordena por ese texto.
+     */
+    public static <F> void texto(TableColumn<F, String> columna, Function<F, String> valor) {
+        columna.setCellValueFactory(celda -> new ReadOnlyStringWrapper(valor.apply(celda.getValue())));
+    }
+
+    /**
+     * Columna que muestra un valor de la fila, por ejemplo el ID, y ordena por él.
+     */
+    public static <F, V> void valor(TableColumn<F, V> columna, Function<F, V> valor) {
+        columna.setCellValueFactory(celda -> new ReadOnlyObjectWrapper<>(valor.apply(celda.getValue())));
+    }
+
+    /**
+     * Columna que muestra un texto de la fila y ordena por otra clave, por
+     * ejemplo una fecha formateada que se ordena por la fecha. Al ordenar se
+     * comparan las claves ya calculadas, sin volver a formatear.
+     *
+     * @param columna columna cuyo valor es la fila completa
+     * @param texto texto a mostrar
+     * @param orden orden de las filas
+     */
+    public static <F> void ordenada(TableColumn<F, F> columna, Function<F, String> texto, Comparator<F> orden) {
+        columna.setCellValueFactory(celda -> new ReadOnlyObjectWrapper<>(celda.getValue()));
+        columna.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(F fila, boolean empty) {
+                super.updateItem(fila, empty);
+                setText(empty || fila == null ? null : texto.apply(fila));
+            }
+        });
+        columna.setComparator(orden);
+    }
+}
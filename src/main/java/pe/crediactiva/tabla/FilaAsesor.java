@@ -0,0 +1,39 @@
+package pe.crediactiva.tabla;
+
+import pe.crediactiva.model.Asesor;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de una tabla de asesores. Los datos de la persona se toman de la
+ * {@link FilaUsuario} de su usuario, con los mismos textos y máscara de roles
+ * que en la gestión de usuarios.
+ *
+ * @param persona fila del usuario del asesor; null si no se cargó
+ * @param ordenMetaMensual clave de orden de la meta mensual
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record FilaAsesor(Asesor asesor, FilaUsuario persona, Integer id, String codigo, String nombreCompleto,
+                         String comision, String metaMensual, BigDecimal ordenMetaMensual,
+                         boolean activo, String estado, String fechaCreacion, long ordenFechaCreacion) {
+
+    /**
+     * Calcula la fila de un asesor, con su usuario si está cargado.
+     *
+     * @param asesor asesor (no null)
+     * @return fila nueva
+     */
+    public static FilaAsesor de(Asesor asesor) {
+        FilaUsuario persona = asesor.getUsuario() != null ? FilaUsuario.de(asesor.getUsuario()) : null;
+        boolean activo = asesor.estaActivoCompleto();
+        return new FilaAsesor(asesor, persona, asesor.getId(),
+                              FormatoCeldas.texto(asesor.getCodigoAsesor()),
+                              persona != null ? persona.nombreCompleto() : FormatoCeldas.SIN_DATO,
+                              asesor.getComisionPorcentajeFormateado(),
+                              FormatoCeldas.monto(asesor.getMetaMensual()), asesor.getMetaMensual(),
+                              activo, FormatoCeldas.estado(activo),
+                              FormatoCeldas.fecha(asesor.getFechaCreacion(), FormatoCeldas.FECHA, FormatoCeldas.SIN_DATO),
+                              FormatoCeldas.orden(asesor.getFechaCreacion()));
+    }
+}
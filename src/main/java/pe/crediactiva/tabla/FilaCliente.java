@@ -0,0 +1,45 @@
+package pe.crediactiva.tabla;
+
+import pe.crediactiva.model.Cliente;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de una tabla de clientes. Los datos de la persona se toman de la
+ * {@link FilaUsuario} de su usuario, con los mismos textos y máscara de roles
+ * que en la gestión de usuarios.
+ *
+ * @param persona fila del usuario del cliente; null si no se cargó
+ * @param ordenLimiteCredito clave de orden del límite de crédito
+ * @param ordenScore clave de orden del score; -1 si no tiene
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record FilaCliente(Cliente cliente, FilaUsuario persona, Integer id, String codigo, String nombreCompleto,
+                          String documento, String tipo, String limiteCredito, BigDecimal ordenLimiteCredito,
+                          String score, int ordenScore, boolean activo, String estado,
+                          String fechaCreacion, long ordenFechaCreacion) {
+
+    /**
+     * Calcula la fila de un cliente, con su usuario si está cargado.
+     *
+     * @param cliente cliente (no null)
+     * @return fila nueva
+     */
+    public static FilaCliente de(Cliente cliente) {
+        FilaUsuario persona = cliente.getUsuario() != null ? FilaUsuario.de(cliente.getUsuario()) : null;
+        Integer score = cliente.getScoreCrediticio();
+        boolean activo = cliente.estaActivoCompleto();
+        return new FilaCliente(cliente, persona, cliente.getId(),
+                               FormatoCeldas.texto(cliente.getCodigoCliente()),
+                               persona != null ? persona.nombreCompleto() : FormatoCeldas.SIN_DATO,
+                               persona != null ? persona.documento() : "",
+                               cliente.getTipoCliente() != null ? cliente.getTipoCliente().getNombre() : FormatoCeldas.SIN_DATO,
+                               FormatoCeldas.monto(cliente.getLimiteCredito()), cliente.getLimiteCredito(),
+                               score != null ? score + " (" + cliente.getCalificacionCrediticia() + ")" : FormatoCeldas.SIN_DATO,
+                               score != null ? score : -1,
+                               activo, FormatoCeldas.estado(activo),
+                               FormatoCeldas.fecha(cliente.getFechaCreacion(), FormatoCeldas.FECHA, FormatoCeldas.SIN_DATO),
+                               FormatoCeldas.orden(cliente.getFechaCreacion()));
+    }
+}
@@ -0,0 +1,84 @@
+package pe.crediactiva.tabla;
+
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fila de una tabla de usuarios con los textos, claves de orden y máscara de
+ * roles ya calculados. Las celdas solo leen campos: no formatean fechas, no
+ * recorren los roles ni usan reflexión al desplazarse por la tabla.
+ *
+ * Es inmutable; se construye fuera del hilo de JavaFX y, si el usuario
+ * cambia, se reemplaza por una fila nueva.
+ *
+ * @param usuario usuario del que se tomaron los datos
+ * @param mascaraRoles roles activos (ver {@link TipoRol#getBit()})
+ * @param ordenUltimoLogin clave de orden del último login
+ * @param ordenFechaCreacion clave de orden de la fecha de creación
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public record FilaUsuario(Usuario usuario, Integer id, String username, String nombres, String apellidos,
+                          String nombreCompleto, String email, String documento, String telefono,
+                          String roles, int mascaraRoles, boolean activo, String estado,
+                          String ultimoLogin, long ordenUltimoLogin,
+                          String fechaCreacion, long ordenFechaCreacion) {
+
+    /**
+     * Calcula la fila de un usuario con sus roles cargados.
+     *
+     * @param usuario usuario (no null)
+     * @return fila nueva
+     */
+    public static FilaUsuario de(Usuario usuario) {
+        return new FilaUsuario(usuario, usuario.getId(),
+                               FormatoCeldas.texto(usuario.getUsername()),
+                               FormatoCeldas.texto(usuario.getNombres()),
+                               FormatoCeldas.texto(usuario.getApellidos()),
+                               usuario.getNombreCompleto(),
+                               FormatoCeldas.texto(usuario.getEmail()),
+                               FormatoCeldas.texto(usuario.getDocumentoIdentidad()),
+                               FormatoCeldas.texto(usuario.getTelefono()),
+                               roles(usuario.getRoles()), usuario.getMascaraRoles(),
+                               usuario.isActivo(), FormatoCeldas.estado(usuario.isActivo()),
+                               FormatoCeldas.fecha(usuario.getUltimoLogin(), FormatoCeldas.FECHA_HORA_CORTA, "Nunca"),
+                               FormatoCeldas.orden(usuario.getUltimoLogin()),
+                               FormatoCeldas.fecha(usuario.getFechaCreacion(), FormatoCeldas.FECHA, FormatoCeldas.SIN_DATO),
+                               FormatoCeldas.orden(usuario.getFechaCreacion()));
+    }
+
+    /**
+     * Calcula las filas de una lista de usuarios, en el mismo orden.
+     */
+    public static List<FilaUsuario> de(List<Usuario> usuarios) {
+        List<FilaUsuario> filas = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            filas.add(de(usuario));
+        }
+        return filas;
+    }
+
+    public boolean tieneRol(TipoRol tipoRol) {
+        return (mascaraRoles & tipoRol.getBit()) != 0;
+    }
+
+    private static String roles(List<Rol> roles) {
+        if (roles == null) {
+            return "Sin roles";
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Rol rol : roles) {
+            if (rol.isActivo()) {
+                if (texto.length() > 0) {
+                    texto.append(", ");
+                }
+                texto.append(rol.getNombreLegible());
+            }
+        }
+        return texto.toString();
+    }
+}
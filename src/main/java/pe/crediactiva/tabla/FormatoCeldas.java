@@ -0,0 +1,68 @@
+package pe.crediactiva.tabla;
+
+import pe.crediactiva.config.AppConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Formatos compartidos por las celdas de las tablas. Los DateTimeFormatter
+ * son inmutables y seguros entre hilos, así que se crean una sola vez y se
+ * usan al construir las filas fuera del hilo de JavaFX.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public final class FormatoCeldas {
+
+    public static final DateTimeFormatter FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    public static final DateTimeFormatter FECHA_HORA_CORTA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    public static final DateTimeFormatter FECHA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    public static final String ACTIVO = "Activo";
+    public static final String INACTIVO = "Inactivo";
+    public static final String SIN_DATO = "-";
+
+    private static final Locale LOCALE = Locale.forLanguageTag(AppConfig.getLocale().replace('_', '-'));
+
+    private FormatoCeldas() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Formatea una fecha con el formato indicado.
+     *
+     * @param fecha fecha a formatear (puede ser null)
+     * @param formato uno de los formatos de esta clase
+     * @param siVacia texto para una fecha null
+     * @return fecha formateada
+     */
+    public static String fecha(LocalDateTime fecha, DateTimeFormatter formato, String siVacia) {
+        return fecha != null ? formato.format(fecha) : siVacia;
+    }
+
+    /**
+     * Clave de orden de una fecha; las fechas null van primero.
+     */
+    public static long orden(LocalDateTime fecha) {
+        return fecha != null ? fecha.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+    }
+
+    public static String estado(boolean activo) {
+        return activo ? ACTIVO : INACTIVO;
+    }
+
+    /**
+     * Formatea un monto en soles, por ejemplo {@code S/ 1,500.00}.
+     */
+    public static String monto(BigDecimal monto) {
+        return monto != null ? String.format(LOCALE, "S/ %,.2f", monto) : SIN_DATO;
+    }
+
+    public static String texto(String valor) {
+        return valor != null ? valor : "";
+    }
+}
@@ -0,0 +1,97 @@
+package pe.crediactiva.util;
+
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Filtro de la lista de usuarios de la pantalla de gestión.
+ *
+ * Combina la búsqueda por texto, el rol y el estado. Los criterios se fijan al
+ * crear el predicado, de modo que el texto se normaliza una sola vez y no por
+ * cada usuario evaluado.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class FiltroUsuarios {
+
+    public static final String ESTADO_TODOS = "Todos";
+    public static final String ESTADO_ACTIVOS = "Activos";
+    public static final String ESTADO_INACTIVOS = "Inactivos";
+
+    private FiltroUsuarios() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Crea el predicado para los criterios indicados.
+     *
+     * @param textoBusqueda texto a buscar en username, nombres, apellidos, email y documento (puede ser null)
+     * @param rol rol activo que debe tener el usuario (null para no filtrar)
+     * @param estado "Todos", "Activos" o "Inactivos" (null equivale a "Todos")
+     * @return predicado sobre usuarios
+     */
+    public static Predicate<Usuario> crear(String textoBusqueda, Rol rol, String estado) {
+        return crear(textoBusqueda, null, rol, estado);
+    }
+
+    /**
+     * Crea el predicado tomando las coincidencias por nombre de un índice de
+     * búsqueda (p. ej. BusquedaUsuarios), que no distingue tildes ni el orden
+     * de las palabras. Username, email y documento se siguen comparando por texto.
+     *
+     * @param textoBusqueda texto a buscar (puede ser null)
+     * @param coincidenciasNombre ids de los usuarios cuyo nombre coincide con el texto;
+     *                            null para comparar nombres y apellidos por texto
+     * @param rol rol activo que debe tener el usuario (null para no filtrar)
+     * @param estado "Todos", "Activos" o "Inactivos" (null equivale a "Todos")
+     * @return predicado sobre usuarios
+     */
+    public static Predicate<Usuario> crear(String textoBusqueda, Set<Integer> coincidenciasNombre,
+                                           Rol rol, String estado) {
+        String busqueda = textoBusqueda != null && !textoBusqueda.trim().isEmpty() ?
+                          textoBusqueda.toLowerCase() : null;
+        Integer rolId = rol != null ? rol.getId() : null;
+        boolean soloActivos = ESTADO_ACTIVOS.equals(estado);
+        boolean soloInactivos = ESTADO_INACTIVOS.equals(estado);
+
+        return usuario -> {
+            if (busqueda != null && !coincideBusqueda(usuario, busqueda, coincidenciasNombre)) {
+                return false;
+            }
+            if (rol != null && !tieneRolActivo(usuario, rolId)) {
+                return false;
+            }
+            if (soloActivos && !usuario.isActivo()) return false;
+            if (soloInactivos && usuario.isActivo()) return false;
+            return true;
+        };
+    }
+
+    private static boolean coincideBusqueda(Usuario usuario, String busqueda, Set<Integer> coincidenciasNombre) {
+        boolean coincideNombre = coincidenciasNombre != null ?
+            coincidenciasNombre.contains(usuario.getId()) :
+            usuario.getNombres().toLowerCase().contains(busqueda) ||
+            usuario.getApellidos().toLowerCase().contains(busqueda);
+        return coincideNombre ||
+               usuario.getUsername().toLowerCase().contains(busqueda) ||
+               usuario.getEmail().toLowerCase().contains(busqueda) ||
+               (usuario.getDocumentoIdentidad() != null &&
+                usuario.getDocumentoIdentidad().toLowerCase().contains(busqueda));
+    }
+
+    private static boolean tieneRolActivo(Usuario usuario, Integer rolId) {
+        if (usuario.getRoles() == null) {
+            return false;
+        }
+        for (Rol rol : usuario.getRoles()) {
+            if (rol.getId().equals(rolId) && rol.isActivo()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
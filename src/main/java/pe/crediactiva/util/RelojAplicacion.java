@@ -0,0 +1,217 @@
+package pe.crediactiva.util;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reloj compartido de la interfaz. Un único Timeline de JavaFX actualiza cada
+ * segundo todas las etiquetas de hora suscritas, en lugar de un java.util.Timer
+ * (y su hilo) por controlador.
+ *
+ * Las suscripciones son débiles: la etiqueta no se mantiene viva por estar
+ * suscrita, y se da de baja sola cuando su escena deja de mostrarse (cambio de
+ * escena o cierre de la ventana). El Timeline se detiene si no quedan suscriptores.
+ * Todos los métodos deben llamarse desde el hilo de JavaFX.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class RelojAplicacion {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelojAplicacion.class);
+
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private static final RelojAplicacion INSTANCE = new RelojAplicacion(true);
+
+    private final List<Suscripcion<?>> suscripciones = new ArrayList<>();
+    private final boolean automatico;
+    private Timeline timeline;
+
+    // Último segundo formateado; el texto se reutiliza mientras no cambie
+    private LocalDateTime ultimoSegundo;
+    private String ultimoTexto;
+
+    /**
+     * Constructor para pruebas: con automatico en false no se crea el Timeline
+     * y los pulsos se generan llamando a {@link #tick(LocalDateTime)}.
+     */
+    RelojAplicacion(boolean automatico) {
+        this.automatico = automatico;
+    }
+
+    /**
+     * Obtiene la instancia única del reloj.
+     *
+     * @return la instancia del reloj
+     */
+    public static RelojAplicacion getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Suscribe una etiqueta para mostrar la fecha y hora actual.
+     * La etiqueta se actualiza de inmediato y luego cada segundo; suscribirla
+     * de nuevo no tiene efecto.
+     *
+     * @param etiqueta etiqueta a actualizar
+     */
+    public void suscribir(Labeled etiqueta) {
+        if (etiqueta == null || suscripciones.stream().anyMatch(s -> s.esDe(etiqueta))) {
+            return;
+        }
+        etiqueta.setText(formatear(LocalDateTime.now()));
+        agregar(new SuscripcionEtiqueta(etiqueta));
+    }
+
+    /**
+     * Da de baja una etiqueta antes de que lo haga el reloj por sí mismo.
+     *
+     * @param etiqueta etiqueta suscrita
+     */
+    public void desuscribir(Labeled etiqueta) {
+        suscripciones.removeIf(s -> s.esDe(etiqueta));
+        detenerSiNoHaySuscriptores();
+    }
+
+    /**
+     * Obtiene el número de suscripciones vigentes.
+     *
+     * @return número de suscripciones
+     */
+    public int getSuscripciones() {
+        return suscripciones.size();
+    }
+
+    /**
+     * Indica si el Timeline está en ejecución.
+     *
+     * @return true si el reloj está corriendo
+     */
+    public boolean isEnEjecucion() {
+        return timeline != null && timeline.getStatus() == Animation.Status.RUNNING;
+    }
+
+    void agregar(Suscripcion<?> suscripcion) {
+        suscripciones.add(suscripcion);
+
+        if (automatico && !isEnEjecucion()) {
+            if (timeline == null) {
+                timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> tick(LocalDateTime.now())));
+                timeline.setCycleCount(Animation.INDEFINITE);
+            }
+            timeline.play();
+            logger.debug("Reloj de la aplicación iniciado");
+        }
+    }
+
+    /**
+     * Pulso del reloj: actualiza los suscriptores visibles y descarta los que
+     * fueron recolectados o cuya escena ya no se muestra.
+     *
+     * @param ahora fecha y hora del pulso
+     */
+    void tick(LocalDateTime ahora) {
+        String texto = formatear(ahora);
+
+        Iterator<Suscripcion<?>> iterador = suscripciones.iterator();
+        while (iterador.hasNext()) {
+            if (!iterador.next().notificar(texto)) {
+                iterador.remove();
+            }
+        }
+        detenerSiNoHaySuscriptores();
+    }
+
+    private String formatear(LocalDateTime ahora) {
+        LocalDateTime segundo = ahora.truncatedTo(ChronoUnit.SECONDS);
+        if (!segundo.equals(ultimoSegundo)) {
+            ultimoSegundo = segundo;
+            ultimoTexto = segundo.format(FORMATO_HORA);
+        }
+        return ultimoTexto;
+    }
+
+    private void detenerSiNoHaySuscriptores() {
+        if (suscripciones.isEmpty() && isEnEjecucion()) {
+            timeline.stop();
+            logger.debug("Reloj de la aplicación detenido: sin suscriptores");
+        }
+    }
+
+    /**
+     * Suscripción débil a un destino que muestra la hora.
+     * Mientras el destino no se haya mostrado se mantiene en espera; una vez
+     * mostrado, deja de estar vigente en cuanto se oculta.
+     */
+    abstract static class Suscripcion<T> {
+
+        private final WeakReference<T> destino;
+        private boolean mostrado;
+
+        Suscripcion(T destino) {
+            this.destino = new WeakReference<>(destino);
+        }
+
+        /**
+         * Entrega el texto al destino.
+         *
+         * @param texto hora formateada
+         * @return false si la suscripción debe darse de baja
+         */
+        boolean notificar(String texto) {
+            T actual = destino.get();
+            if (actual == null) {
+                return false;
+            }
+            if (!estaVisible(actual)) {
+                return !mostrado;
+            }
+            mostrado = true;
+            actualizar(actual, texto);
+            return true;
+        }
+
+        boolean esDe(Object objeto) {
+            return destino.get() == objeto;
+        }
+
+        abstract boolean estaVisible(T destino);
+
+        abstract void actualizar(T destino, String texto);
+    }
+
+    private static class SuscripcionEtiqueta extends Suscripcion<Labeled> {
+
+        SuscripcionEtiqueta(Labeled etiqueta) {
+            super(etiqueta);
+        }
+
+        @Override
+        boolean estaVisible(Labeled etiqueta) {
+            Scene escena = etiqueta.getScene();
+            Window ventana = escena != null ? escena.getWindow() : null;
+            return ventana != null && ventana.isShowing();
+        }
+
+        @Override
+        void actualizar(Labeled etiqueta, String texto) {
+            etiqueta.setText(texto);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pe.crediactiva.util;
+
+import pe.crediactiva.model.MarcaAgua;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Mantiene una lista en memoria al día aplicando solo las filas modificadas
+ * desde la última consulta, en lugar de volver a cargarla completa.
+ *
+ * Las filas cambiadas reemplazan en su misma posición a las que tienen el mismo
+ * ID y las nuevas se agregan al final; sobre una ObservableList cada reemplazo
+ * notifica solo esa fila. La marca de agua es la hora del servidor de base de
+ * datos tomada antes de consultar los cambios, y la siguiente consulta empieza
+ * un margen antes de ella: así no se pierden filas de transacciones que otro
+ * escritorio confirmó después de la marca con una fecha anterior, ni las del
+ * mismo segundo. Las filas repetidas por ese margen se descartan si no cambiaron.
+ *
+ * Las filas borradas no aparecen en los cambios: si el total de la tabla no
+ * coincide con la lista, hay que recargarla completa.
+ *
+ * @param <T> tipo de fila
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class SincronizacionDelta<T> {
+
+    /** Margen hacia atrás de cada consulta de cambios */
+    public static final Duration SOLAPAMIENTO = Duration.ofMinutes(1);
+
+    private final Function<T, Integer> id;
+    private final BiPredicate<T, T> mismaVersion;
+    private final Map<Integer, Integer> posiciones = new HashMap<>();
+    private MarcaAgua marcaAgua;
+
+    /**
+     * @param id ID de cada fila
+     * @param mismaVersion indica si la fila recibida es igual a la que ya está en la lista
+     */
+    public SincronizacionDelta(Function<T, Integer> id, BiPredicate<T, T> mismaVersion) {
+        this.id = id;
+        this.mismaVersion = mismaVersion;
+    }
+
+    /**
+     * Registra la lista recién cargada completa.
+     *
+     * @param filas lista cargada; las siguientes llamadas a aplicar deben recibir la misma
+     * @param marca marca de agua tomada antes de cargarla, o null si no se obtuvo
+     */
+    public void cargar(List<T> filas, MarcaAgua marca) {
+        posiciones.clear();
+        for (int i = 0; i < filas.size(); i++) {
+            posiciones.put(id.apply(filas.get(i)), i);
+        }
+        marcaAgua = marca;
+    }
+
+    /**
+     * Indica si hay una carga con marca de agua sobre la que aplicar cambios.
+     */
+    public boolean isCargada() {
+        return marcaAgua != null;
+    }
+
+    /**
+     * Fecha desde la que hay que pedir los cambios.
+     *
+     * @return marca de agua menos el margen, o null si no hay carga
+     */
+    public LocalDateTime getDesde() {
+        return marcaAgua != null ? marcaAgua.fecha().minus(SOLAPAMIENTO) : null;
+    }
+
+    /**
+     * Aplica los cambios sobre la lista y avanza la marca de agua.
+     *
+     * @param filas lista registrada con {@link #cargar(List, MarcaAgua)}
+     * @param cambios filas modificadas desde {@link #getDesde()}
+     * @param marca marca de agua tomada antes de consultar los cambios
+     * @return filas agregadas o reemplazadas; sin las que no cambiaron
+     */
+    public List<T> aplicar(List<T> filas, List<T> cambios, MarcaAgua marca) {
+        List<T> aplicadas = new ArrayList<>();
+        for (T fila : cambios) {
+            Integer clave = id.apply(fila);
+            Integer posicion = posiciones.get(clave);
+            if (posicion == null) {
+                posiciones.put(clave, filas.size());
+                filas.add(fila);
+                aplicadas.add(fila);
+            } else if (!mismaVersion.test(filas.get(posicion), fila)) {
+                filas.set(posicion, fila);
+                aplicadas.add(fila);
+            }
+        }
+        marcaAgua = marca;
+        return aplicadas;
+    }
+
+    /**
+     * Indica si la lista ya no coincide con la tabla, por ejemplo porque se
+     * borraron filas, y debe recargarse completa.
+     *
+     * @param filas lista registrada
+     * @param marca marca de agua con el total de la tabla
+     */
+    public boolean requiereRecarga(List<T> filas, MarcaAgua marca) {
+        return marca == null || marca.totalFilas() != filas.size();
+    }
+}
@@ -2,6 +2,10 @@ package pe.crediactiva.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pe.crediactiva.dao.interfaces.ReparacionDAO;
+import pe.crediactiva.dao.mysql.ReparacionDAOImpl;
+import pe.crediactiva.model.Asesor;
+import pe.crediactiva.model.Cliente;
 import pe.crediactiva.model.Rol;
 import pe.crediactiva.model.Usuario;
 import pe.crediactiva.model.enums.TipoRol;
@@ -9,7 +13,14 @@ import pe.crediactiva.service.AsesorService;
 import pe.crediactiva.service.ClienteService;
 import pe.crediactiva.service.UsuarioService;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Utilidad para reparar inconsistencias en usuarios.
@@ -25,11 +36,18 @@ public class UsuarioReparacionUtil {
     private final UsuarioService usuarioService;
     private final AsesorService asesorService;
     private final ClienteService clienteService;
+    private final ReparacionDAO reparacionDAO;
     
     public UsuarioReparacionUtil() {
+        this(new ReparacionDAOImpl());
+    }
+    
+    // Constructor para inyección de dependencias (testing)
+    public UsuarioReparacionUtil(ReparacionDAO reparacionDAO) {
         this.usuarioService = new UsuarioService();
         this.asesorService = new AsesorService();
         this.clienteService = new ClienteService();
+        this.reparacionDAO = reparacionDAO;
     }
     
     /**
@@ -91,52 +109,45 @@ public class UsuarioReparacionUtil {
      * @return número de usuarios reparados
      */
     public int repararTodosLosUsuarios() {
-        logger.info("Iniciando reparación masiva de usuarios");
+        return repararRegistrosFaltantes(false, TipoRol.ASESOR, TipoRol.CLIENTE).getUsuariosReparados();
+    }
+    
+    /**
+     * Repara de forma masiva los registros especiales faltantes: una sola consulta
+     * (anti-join) identifica a los usuarios afectados y cada tabla se completa con
+     * un único lote de inserciones con códigos reservados de antemano.
+     * 
+     * @param simulacion si es true solo informa lo que se repararía, sin escribir
+     * @param tiposRol roles a reparar (ASESOR y/o CLIENTE)
+     * @return resultado de la reparación
+     */
+    public ResultadoReparacion repararRegistrosFaltantes(boolean simulacion, TipoRol... tiposRol) {
+        logger.info("Iniciando reparación masiva de usuarios{}", simulacion ? " (simulación)" : "");
+        long inicio = System.nanoTime();
         
-        int usuariosReparados = 0;
+        Set<TipoRol> tipos = tiposRol.length > 0 ? EnumSet.copyOf(Arrays.asList(tiposRol)) : EnumSet.noneOf(TipoRol.class);
+        Map<TipoRol, List<Usuario>> faltantes = reparacionDAO.findUsersMissingRecords();
         
-        try {
-            // Obtener todos los usuarios activos
-            List<Usuario> usuarios = usuarioService.obtenerUsuariosActivos();
-            logger.debug("Verificando {} usuarios activos", usuarios.size());
-            
-            for (Usuario usuario : usuarios) {
-                try {
-                    boolean necesitaReparacion = false;
-                    
-                    if (usuario.getRoles() != null) {
-                        for (Rol rol : usuario.getRoles()) {
-                            if (rol.isActivo()) {
-                                try {
-                                    TipoRol tipoRol = TipoRol.valueOf(rol.getNombre());
-                                    boolean registroCreado = crearRegistroEspecialSiEsNecesario(usuario, tipoRol);
-                                    if (registroCreado) {
-                                        necesitaReparacion = true;
-                                    }
-                                } catch (IllegalArgumentException e) {
-                                    // Rol no requiere registros especiales
-                                }
-                            }
-                        }
-                    }
-                    
-                    if (necesitaReparacion) {
-                        usuariosReparados++;
-                        logger.info("Usuario reparado: {} (ID: {})", usuario.getUsername(), usuario.getId());
-                    }
-                    
-                } catch (Exception e) {
-                    logger.error("Error al reparar usuario: {} (ID: {})", usuario.getUsername(), usuario.getId(), e);
-                }
-            }
-            
-            logger.info("Reparación masiva completada. {} usuarios reparados", usuariosReparados);
-            
-        } catch (Exception e) {
-            logger.error("Error durante la reparación masiva", e);
+        List<Usuario> asesores = tipos.contains(TipoRol.ASESOR) ? 
+                                 faltantes.getOrDefault(TipoRol.ASESOR, List.of()) : List.of();
+        List<Usuario> clientes = tipos.contains(TipoRol.CLIENTE) ? 
+                                 faltantes.getOrDefault(TipoRol.CLIENTE, List.of()) : List.of();
+        
+        int asesoresCreados = 0;
+        int clientesCreados = 0;
+        
+        if (!simulacion) {
+            asesoresCreados = reparacionDAO.insertAsesores(ids(asesores), Asesor.COMISION_INICIAL, BigDecimal.ZERO);
+            clientesCreados = reparacionDAO.insertClientes(ids(clientes), Cliente.TipoCliente.NUEVO, 
+                                                           Cliente.LIMITE_CREDITO_INICIAL, Cliente.SCORE_INICIAL);
         }
         
-        return usuariosReparados;
+        ResultadoReparacion resultado = new ResultadoReparacion(simulacion, asesores, clientes, 
+                                                                asesoresCreados, clientesCreados);
+        logger.info("Reparación masiva {} en {} ms: {} asesores y {} clientes faltantes, {} usuarios reparados", 
+                   simulacion ? "simulada" : "completada", (System.nanoTime() - inicio) / 1_000_000,
+                   asesores.size(), clientes.size(), resultado.getUsuariosReparados());
+        return resultado;
     }
     
     /**
@@ -223,6 +234,14 @@ public class UsuarioReparacionUtil {
         }
     }
     
+    private static List<Integer> ids(List<Usuario> usuarios) {
+        List<Integer> ids = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            ids.add(usuario.getId());
+        }
+        return ids;
+    }
+    
     /**
      * Método estático para reparar un usuario específico de forma rápida.
      * 
@@ -233,4 +252,62 @@ public class UsuarioReparacionUtil {
         UsuarioReparacionUtil util = new UsuarioReparacionUtil();
         return util.repararUsuario(username);
     }
+    
+    /**
+     * Resultado de una reparación masiva (o de su simulación).
+     */
+    public static class ResultadoReparacion {
+        
+        private final boolean simulacion;
+        private final List<Usuario> asesoresFaltantes;
+        private final List<Usuario> clientesFaltantes;
+        private final int asesoresCreados;
+        private final int clientesCreados;
+        
+        public ResultadoReparacion(boolean simulacion, List<Usuario> asesoresFaltantes, 
+                                   List<Usuario> clientesFaltantes, int asesoresCreados, int clientesCreados) {
+            this.simulacion = simulacion;
+            this.asesoresFaltantes = asesoresFaltantes;
+            this.clientesFaltantes = clientesFaltantes;
+            this.asesoresCreados = asesoresCreados;
+            this.clientesCreados = clientesCreados;
+        }
+        
+        public boolean isSimulacion() {
+            return simulacion;
+        }
+        
+        public List<Usuario> getAsesoresFaltantes() {
+            return asesoresFaltantes;
+        }
+        
+        public List<Usuario> getClientesFaltantes() {
+            return clientesFaltantes;
+        }
+        
+        public int getAsesoresCreados() {
+            return asesoresCreados;
+        }
+        
+        public int getClientesCreados() {
+            return clientesCreados;
+        }
+        
+        /**
+         * Obtiene el número de usuarios distintos afectados: los que se repararían
+         * en una simulación o los efectivamente reparados.
+         * 
+         * @return número de usuarios
+         */
+        public int getUsuariosReparados() {
+            Set<Integer> ids = new HashSet<>();
+            if (simulacion || asesoresCreados > 0) {
+                asesoresFaltantes.forEach(u -> ids.add(u.getId()));
+            }
+            if (simulacion || clientesCreados > 0) {
+                clientesFaltantes.forEach(u -> ids.add(u.getId()));
+            }
+            return ids.size();
+        }
+    }
 }
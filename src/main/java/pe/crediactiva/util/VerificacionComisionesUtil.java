@@ -0,0 +1,90 @@
+package pe.crediactiva.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.service.ComisionService;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Utilidad para verificar el libro de comisiones contra un recálculo completo
+ * desde la tabla pagos y, opcionalmente, reconstruir los periodos abiertos.
+ * 
+ * Uso: {@code VerificacionComisionesUtil [aaaa-mm] [--reparar]}
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class VerificacionComisionesUtil {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VerificacionComisionesUtil.class);
+    
+    private final ComisionService comisionService;
+    
+    public VerificacionComisionesUtil() {
+        this.comisionService = new ComisionService();
+    }
+    
+    public VerificacionComisionesUtil(ComisionService comisionService) {
+        this.comisionService = comisionService;
+    }
+    
+    /**
+     * Verifica los periodos indicados (o todos los que tienen pagos si es null).
+     * 
+     * @param periodo periodo a verificar o null para todos
+     * @param reparar true para reconstruir los periodos abiertos con diferencias
+     * @return número total de diferencias encontradas
+     */
+    public int verificar(YearMonth periodo, boolean reparar) {
+        List<YearMonth> periodos = periodo != null ? List.of(periodo) : comisionService.obtenerPeriodosConPagos();
+        logger.info("🔍 Verificando libro de comisiones: {} periodos", periodos.size());
+        
+        int totalDiferencias = 0;
+        for (YearMonth p : periodos) {
+            List<String> diferencias = comisionService.verificarPeriodo(p);
+            
+            if (diferencias.isEmpty()) {
+                logger.info("✅ {} cuadra con los pagos", p);
+                continue;
+            }
+            
+            totalDiferencias += diferencias.size();
+            diferencias.forEach(d -> logger.warn("⚠️ {}", d));
+            
+            if (reparar) {
+                int reconstruidos = comisionService.reconstruirPeriodo(p);
+                logger.info("🔧 {} reconstruido: {} registros (los cerrados no se modifican)", p, reconstruidos);
+            }
+        }
+        
+        logger.info("📊 Verificación finalizada: {} diferencias", totalDiferencias);
+        return totalDiferencias;
+    }
+    
+    public static void main(String[] args) {
+        YearMonth periodo = null;
+        boolean reparar = false;
+        
+        for (String arg : args) {
+            if ("--reparar".equals(arg)) {
+                reparar = true;
+            } else {
+                periodo = YearMonth.parse(arg);
+            }
+        }
+        
+        try {
+            DatabaseConfig.initialize();
+            int diferencias = new VerificacionComisionesUtil().verificar(periodo, reparar);
+            System.exit(diferencias == 0 || reparar ? 0 : 1);
+        } catch (Exception e) {
+            logger.error("💥 Error en verificación de comisiones", e);
+            System.exit(2);
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package pe.crediactiva.app;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import pe.crediactiva.config.AppConfig;
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.security.PasswordEncoder;
+import pe.crediactiva.security.SessionManager;
+import pe.crediactiva.service.RolService;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark de arranque: mide, en milisegundos desde el inicio de la JVM, el
+ * tiempo hasta la pantalla de login y hasta la primera consulta, con el arranque
+ * secuencial anterior o con ArranqueAplicacion. Cada modo debe correr en una JVM
+ * nueva para que la carga de clases no favorezca al segundo. Con --interfaz
+ * también se parsea el FXML del login (requiere entorno gráfico); sin él, la
+ * pantalla de login se considera lista al terminar lo que la bloqueaba.
+ * No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.app.ArranqueBenchmark secuencial --interfaz
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.app.ArranqueBenchmark paralelo --interfaz
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ArranqueBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        boolean paralelo = args.length == 0 || !"secuencial".equals(args[0]);
+        boolean interfaz = args.length > 1 && "--interfaz".equals(args[1]);
+
+        if (interfaz) {
+            CountDownLatch iniciado = new CountDownLatch(1);
+            Platform.startup(iniciado::countDown);
+            iniciado.await();
+        }
+
+        long login;
+        long primeraConsulta;
+        long total;
+
+        if (paralelo) {
+            ArranqueAplicacion arranque = new ArranqueAplicacion(interfaz);
+            arranque.iniciar().join();
+            login = uptime();
+            try {
+                arranque.getCompleto().join();
+            } catch (Exception e) {
+                System.out.println("Arranque con errores: " + e.getMessage());
+            }
+            total = uptime();
+            Map<String, Long> hitos = arranque.getHitos();
+            primeraConsulta = hitos.getOrDefault(ArranqueAplicacion.HITO_PRIMERA_CONSULTA, -1L);
+        } else {
+            // Orden de CrediActivaApp antes del arranque en paralelo
+            AppConfig.initialize();
+            try {
+                DatabaseConfig.initialize();
+            } catch (Exception e) {
+                System.out.println("Base de datos no disponible: " + e.getMessage());
+            }
+            SessionManager.getInstance().initialize();
+            if (interfaz) {
+                new FXMLLoader(ArranqueBenchmark.class.getResource("/fxml/login.fxml")).load();
+            }
+            login = uptime();
+            new RolService().obtenerRolesActivos();
+            primeraConsulta = uptime();
+            new PasswordEncoder().encode("arranque");
+            total = uptime();
+        }
+
+        System.out.printf("Modo: %s%s%n", paralelo ? "paralelo" : "secuencial", interfaz ? " (con interfaz)" : "");
+        System.out.printf("Hasta pantalla de login: %,6d ms%n", login);
+        System.out.printf("Hasta primera consulta:  %,6d ms%n", primeraConsulta);
+        System.out.printf("Arranque completo:       %,6d ms%n", total);
+
+        if (interfaz) {
+            Platform.exit();
+        }
+        DatabaseConfig.shutdown();
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,79 @@
+package pe.crediactiva.app;
+
+import javafx.application.Platform;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.security.SessionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark de navegación: compara el tiempo de obtener cada pantalla principal
+ * en frío (parseo del FXML, controlador y escena nuevos) contra en caliente
+ * (reutilizada desde la caché de vistas). Los controladores cargan sus datos en
+ * onShow, que aquí no se invoca, así que no se necesita base de datos.
+ * Requiere un entorno gráfico; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.app.NavegacionBenchmark 50
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class NavegacionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int repeticiones = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        Usuario usuario = new Usuario("benchmark", "bench@crediactiva.pe", "x", "Bench", "Mark");
+        usuario.setId(1);
+        SessionManager.getInstance().login(usuario);
+
+        CountDownLatch iniciado = new CountDownLatch(1);
+        Platform.startup(iniciado::countDown);
+        iniciado.await();
+
+        List<String> rutas = CacheVistas.VISTAS_REUTILIZABLES.stream().sorted().toList();
+        CountDownLatch terminado = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                System.out.printf("Repeticiones: %d%n", repeticiones);
+                for (String ruta : rutas) {
+                    medir(ruta, repeticiones);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                terminado.countDown();
+            }
+        });
+        terminado.await();
+        Platform.exit();
+    }
+
+    private static void medir(String ruta, int repeticiones) throws Exception {
+        CacheVistas sinCache = new CacheVistas(false);
+        CacheVistas conCache = new CacheVistas(true);
+
+        // Calentamiento del JIT y de la caché
+        sinCache.obtener(ruta);
+        conCache.obtener(ruta);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            sinCache.obtener(ruta);
+        }
+        double frio = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            conCache.obtener(ruta);
+        }
+        double caliente = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+        System.out.printf("%-32s frío %8.2f ms | caliente %8.4f ms%n", ruta, frio, caliente);
+    }
+}
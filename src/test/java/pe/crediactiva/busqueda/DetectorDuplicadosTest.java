@@ -0,0 +1,103 @@
+package pe.crediactiva.busqueda;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para DetectorDuplicados, CodigoFonetico y SimilitudTexto.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class DetectorDuplicadosTest {
+
+    private DetectorDuplicados detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new DetectorDuplicados();
+        detector.reemplazarTodos(List.of(
+            usuario(1, "Juan Carlos", "Vásquez Quispe", "45678912", "987654321"),
+            usuario(2, "María", "Huamán Torres", "41234567", null),
+            usuario(3, "Juan", "Vásquez Rojas", "70011223", "912345678")));
+    }
+
+    @Test
+    @DisplayName("El código fonético iguala escrituras que suenan igual")
+    void testCodigoFonetico() {
+        assertEquals(CodigoFonetico.codificar("Vásquez"), CodigoFonetico.codificar("Basquez"));
+        assertEquals(CodigoFonetico.codificar("Vásquez"), CodigoFonetico.codificar("Vazques"));
+        assertEquals(CodigoFonetico.codificar("Huamán"), CodigoFonetico.codificar("Uaman"));
+        assertEquals(CodigoFonetico.codificar("Cevallos"), CodigoFonetico.codificar("Ceballoz"));
+        assertNotEquals(CodigoFonetico.codificar("Pérez"), CodigoFonetico.codificar("Torres"));
+        assertEquals("", CodigoFonetico.codificar(null));
+    }
+
+    @Test
+    @DisplayName("La distancia de edición cuenta las transposiciones como un error")
+    void testDistanciaEdicion() {
+        assertEquals(0, SimilitudTexto.distanciaEdicion("45678912", "45678912", 2));
+        assertEquals(1, SimilitudTexto.distanciaEdicion("45678912", "45678921", 2));
+        assertEquals(1, SimilitudTexto.distanciaEdicion("45678912", "45678812", 2));
+        assertEquals(3, SimilitudTexto.distanciaEdicion("45678912", "12345678", 2));
+        assertTrue(SimilitudTexto.jaroWinkler("juan vasquez", "juan basquez") > 0.9);
+    }
+
+    @Test
+    @DisplayName("Encuentra el duplicado con el nombre mal escrito y el documento igual")
+    void testNombreMalEscrito() {
+        List<PosibleDuplicado> duplicados = detector.buscar(
+            nueva("Juan Carlos", "Basquez Quispe", "45678912", null), 5);
+
+        assertEquals(1, duplicados.size());
+        assertEquals(1, duplicados.get(0).coincidencia().id());
+    }
+
+    @Test
+    @DisplayName("Encuentra el duplicado con dos dígitos invertidos en el documento")
+    void testDocumentoMalEscrito() {
+        List<PosibleDuplicado> duplicados = detector.buscar(
+            nueva("Maria", "Huaman Torres", "41234576", "999888777"), 5);
+
+        assertEquals(1, duplicados.size());
+        assertEquals(2, duplicados.get(0).coincidencia().id());
+    }
+
+    @Test
+    @DisplayName("No marca como duplicados a personas distintas con apellido parecido")
+    void testPersonasDistintas() {
+        assertTrue(detector.buscar(nueva("Juan", "Vasquez Quispe", "09876543", "911222333"), 5).isEmpty());
+        assertTrue(detector.buscar(nueva("Rosa", "Flores", null, null), 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("El escaneo informa cada par una vez e ignora la solicitud del propio cliente")
+    void testEscaneo() {
+        detector.agregar(usuario(4, "Juan Carlos", "Vasques Quispe", "45678912", "987654321"));
+        detector.agregar(new PersonaRegistrada(PersonaRegistrada.Origen.SOLICITUD, 10, 2,
+                                               "María", "Huamán Torres", "41234567", null));
+
+        List<PosibleDuplicado> duplicados = detector.escanear();
+
+        assertEquals(1, duplicados.size());
+        assertEquals(1, duplicados.get(0).persona().id());
+        assertEquals(4, duplicados.get(0).coincidencia().id());
+        assertEquals(5, detector.tamanio());
+
+        detector.quitar(PersonaRegistrada.Origen.USUARIO, 4);
+        assertTrue(detector.escanear().isEmpty());
+    }
+
+    private static PersonaRegistrada usuario(int id, String nombres, String apellidos, String documento, String telefono) {
+        return new PersonaRegistrada(PersonaRegistrada.Origen.USUARIO, id, id, nombres, apellidos, documento, telefono);
+    }
+
+    private static PersonaRegistrada nueva(String nombres, String apellidos, String documento, String telefono) {
+        return new PersonaRegistrada(PersonaRegistrada.Origen.USUARIO, null, null, nombres, apellidos, documento, telefono);
+    }
+}
@@ -0,0 +1,97 @@
+package pe.crediactiva.busqueda;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pe.crediactiva.model.Solicitud;
+import pe.crediactiva.model.Usuario;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para IndiceNombres y NormalizadorNombres.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class IndiceNombresTest {
+
+    private IndiceNombres<Usuario> indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceNombres<>(Usuario::getId, u -> u.getNombres() + " " + u.getApellidos());
+        indice.reemplazarTodos(List.of(
+            usuario(1, "Juan", "Pérez García"),
+            usuario(2, "José María", "Peña Ruiz"),
+            usuario(3, "Juana", "Perales"),
+            usuario(4, "Ana", "Juárez")));
+    }
+
+    @Test
+    @DisplayName("La normalización quita tildes y separa palabras")
+    void testNormalizador() {
+        assertArrayEquals(new String[] {"jose", "maria", "pena", "ruiz"},
+                          NormalizadorNombres.tokenizar("José María Peña-Ruiz"));
+        assertEquals("", NormalizadorNombres.normalizar(null));
+        assertEquals(0, NormalizadorNombres.tokenizar("  - ").length);
+    }
+
+    @Test
+    @DisplayName("Encuentra palabras en cualquier orden y sin tildes")
+    void testBusquedaSinTildesNiOrden() {
+        assertEquals(List.of(1), ids(indice.buscar("perez juan", 10)));
+        assertEquals(List.of(1), ids(indice.buscar("JUAN PÉREZ", 10)));
+        assertEquals(List.of(2), ids(indice.buscar("pena jose", 10)));
+        assertTrue(indice.buscar("maria lopez", 10).isEmpty());
+        assertTrue(indice.buscar("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las palabras completas pesan más que los prefijos")
+    void testRelevancia() {
+        // "juan" es palabra completa en 1 y prefijo en 3 (Juana); Juárez no coincide
+        assertEquals(List.of(1, 3), ids(indice.buscar("juan", 10)));
+        // "per" es prefijo de Pérez y Perales; gana el prefijo que cubre más de la palabra
+        assertEquals(List.of(1, 3), ids(indice.buscar("per", 10)));
+        assertEquals(List.of(1), ids(indice.buscar("per", 1)));
+    }
+
+    @Test
+    @DisplayName("Indexar de nuevo reemplaza la versión anterior y eliminar la quita")
+    void testActualizarYEliminar() {
+        indice.indexar(usuario(4, "Ana", "Quispe"));
+        assertTrue(indice.buscar("juarez", 10).isEmpty());
+        assertEquals(List.of(4), ids(indice.buscar("quispe", 10)));
+
+        indice.eliminar(1);
+        assertEquals(List.of(3), ids(indice.buscar("juan", 10)));
+        assertEquals(3, indice.tamanio());
+    }
+
+    @Test
+    @DisplayName("Sirve para los nombres de cliente de las solicitudes")
+    void testSolicitudes() {
+        IndiceNombres<Solicitud> solicitudes = new IndiceNombres<>(
+            Solicitud::getId, s -> s.getNombresCliente() + " " + s.getApellidosCliente());
+        Solicitud solicitud = new Solicitud();
+        solicitud.setId(7);
+        solicitud.setNombresCliente("Rocío");
+        solicitud.setApellidosCliente("Núñez");
+        solicitudes.indexar(solicitud);
+
+        assertEquals(List.of(solicitud), solicitudes.buscar("nunez roc", 5));
+    }
+
+    private static Usuario usuario(int id, String nombres, String apellidos) {
+        Usuario usuario = new Usuario("u" + id, "u" + id + "@crediactiva.pe", "hash", nombres, apellidos);
+        usuario.setId(id);
+        return usuario;
+    }
+
+    private static List<Integer> ids(List<Usuario> usuarios) {
+        return usuarios.stream().map(Usuario::getId).toList();
+    }
+}
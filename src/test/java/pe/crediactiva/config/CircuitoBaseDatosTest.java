@@ -0,0 +1,156 @@
+package pe.crediactiva.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pruebas unitarias para CircuitoBaseDatos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class CircuitoBaseDatosTest {
+
+    @Test
+    @DisplayName("El circuito se abre tras el umbral y rechaza sin llamar al origen")
+    void testAperturaYRechazoInmediato() {
+        AtomicInteger llamadas = new AtomicInteger();
+        CircuitoBaseDatos circuito = new CircuitoBaseDatos(() -> {
+            llamadas.incrementAndGet();
+            throw new SQLTransientConnectionException("timeout");
+        }, 2, 1000, () -> 0L, false);
+
+        assertThrows(SQLTransientConnectionException.class, circuito::obtenerConexion);
+        assertEquals(CircuitoBaseDatos.Estado.CERRADO, circuito.getEstado());
+        assertThrows(SQLTransientConnectionException.class, circuito::obtenerConexion);
+        assertEquals(CircuitoBaseDatos.Estado.ABIERTO, circuito.getEstado());
+
+        assertThrows(BaseDatosNoDisponibleException.class, circuito::obtenerConexion);
+        assertEquals(2, llamadas.get());
+        assertFalse(circuito.isDisponible());
+    }
+
+    @Test
+    @DisplayName("El rechazo del circuito abierto no lo atrapa el catch de SQLException de los DAOs")
+    void testRechazoAtraviesaCatchDeDao() {
+        CircuitoBaseDatos circuito = new CircuitoBaseDatos(() -> {
+            throw new SQLTransientConnectionException("timeout");
+        }, 1, 1000, () -> 0L, false);
+        assertThrows(SQLException.class, circuito::obtenerConexion);
+
+        assertThrows(BaseDatosNoDisponibleException.class, () -> consultarComoDao(circuito));
+    }
+
+    // Mismo patrón que los DAOs: ante SQLException devuelven un resultado vacío
+    private static List<Connection> consultarComoDao(CircuitoBaseDatos circuito) {
+        try (Connection conn = circuito.obtenerConexion()) {
+            return List.of(conn);
+        } catch (SQLException e) {
+            return List.of();
+        }
+    }
+
+    @Test
+    @DisplayName("El sondeo semiabierto reabre si falla y cierra si la base de datos vuelve")
+    void testSondeoSemiabierto() throws SQLException {
+        AtomicLong ahora = new AtomicLong(0);
+        boolean[] caida = {true};
+        List<CircuitoBaseDatos.Estado> estados = new ArrayList<>();
+        CircuitoBaseDatos circuito = new CircuitoBaseDatos(() -> {
+            if (caida[0]) throw new SQLTransientConnectionException("timeout");
+            return null;
+        }, 1, 1000, ahora::get, false);
+        circuito.agregarOyente(estados::add);
+
+        assertThrows(SQLException.class, circuito::obtenerConexion);
+
+        // Antes de la espera no se sondea
+        ahora.set(500);
+        assertFalse(circuito.sondear());
+
+        ahora.set(1000);
+        assertFalse(circuito.sondear());
+        assertEquals(CircuitoBaseDatos.Estado.ABIERTO, circuito.getEstado());
+
+        caida[0] = false;
+        ahora.set(2000);
+        assertTrue(circuito.sondear());
+        assertTrue(circuito.isDisponible());
+        assertNull(circuito.obtenerConexion());
+
+        assertEquals(List.of(CircuitoBaseDatos.Estado.ABIERTO, CircuitoBaseDatos.Estado.SEMIABIERTO,
+                             CircuitoBaseDatos.Estado.ABIERTO, CircuitoBaseDatos.Estado.SEMIABIERTO,
+                             CircuitoBaseDatos.Estado.CERRADO), estados);
+    }
+
+    @Test
+    @DisplayName("Con un servidor que no responde, el circuito abierto rechaza sin llamar al pool")
+    void testInyeccionDeFallo() throws Exception {
+        // Servidor que acepta conexiones y nunca envía el saludo de MySQL
+        try (ServerSocket agujeroNegro = new ServerSocket(0)) {
+            List<Socket> aceptados = new ArrayList<>();
+            Thread aceptador = new Thread(() -> {
+                try {
+                    while (true) {
+                        aceptados.add(agujeroNegro.accept());
+                    }
+                } catch (IOException e) {
+                    // Servidor cerrado
+                }
+            }, "agujero-negro");
+            aceptador.setDaemon(true);
+            aceptador.start();
+
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:mysql://127.0.0.1:" + agujeroNegro.getLocalPort() + "/crediactiva");
+            config.setUsername("test");
+            config.setPassword("test");
+            config.setConnectionTimeout(500);
+            config.setInitializationFailTimeout(-1);
+            config.addDataSourceProperty("connectTimeout", "1000");
+            config.addDataSourceProperty("socketTimeout", "1000");
+
+            try (HikariDataSource dataSource = new HikariDataSource(config)) {
+                AtomicInteger intentos = new AtomicInteger();
+                CircuitoBaseDatos circuito = new CircuitoBaseDatos(() -> {
+                    intentos.incrementAndGet();
+                    return dataSource.getConnection();
+                }, 2, 60_000);
+
+                // Los dos primeros llegan al pool y esperan su timeout
+                for (int i = 0; i < 2; i++) {
+                    assertThrows(SQLException.class, () -> conectar(circuito));
+                }
+                assertEquals(2, intentos.get());
+
+                // Con el circuito abierto se rechaza sin tocar el pool
+                for (int i = 0; i < 3; i++) {
+                    assertThrows(BaseDatosNoDisponibleException.class, () -> conectar(circuito));
+                }
+                assertEquals(2, intentos.get(), "El circuito abierto no debe llamar al origen");
+                assertEquals(CircuitoBaseDatos.Estado.ABIERTO, circuito.getEstado());
+                circuito.detener();
+            }
+        }
+    }
+
+    private static void conectar(CircuitoBaseDatos circuito) throws SQLException {
+        try (Connection connection = circuito.obtenerConexion()) {
+            fail("No debería obtener conexión");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package pe.crediactiva.dao.mysql;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para BloquesIds.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class BloquesIdsTest {
+
+    @Test
+    @DisplayName("Los IDs se parten en bloques sin nulos ni repetidos y en orden")
+    void testPartir() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= 1_050; id++) {
+            ids.add(id);
+        }
+        ids.add(7);
+        ids.add(null);
+
+        List<List<Integer>> bloques = BloquesIds.partir(ids, 500);
+
+        assertEquals(3, bloques.size());
+        assertEquals(500, bloques.get(0).size());
+        assertEquals(500, bloques.get(1).size());
+        assertEquals(50, bloques.get(2).size());
+        assertEquals(1, bloques.get(0).get(0));
+        assertEquals(1_050, bloques.get(2).get(49));
+    }
+
+    @Test
+    @DisplayName("Sin IDs no hay bloques")
+    void testPartirVacio() {
+        assertTrue(BloquesIds.partir(null, 500).isEmpty());
+        assertTrue(BloquesIds.partir(Arrays.asList(null, null), 500).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los marcadores del IN coinciden con la cantidad de IDs")
+    void testMarcadores() {
+        assertEquals("(?)", BloquesIds.marcadores(1));
+        assertEquals("(?, ?, ?)", BloquesIds.marcadores(3));
+    }
+}
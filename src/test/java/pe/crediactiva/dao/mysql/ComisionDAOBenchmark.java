@@ -0,0 +1,85 @@
+package pe.crediactiva.dao.mysql;
+
+import pe.crediactiva.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+
+/**
+ * Benchmark de la consulta de comisiones del dashboard del asesor:
+ * agregación en línea sobre pagos (vista anterior) frente a la lectura
+ * del libro comisiones_mensuales. Requiere la base de datos configurada
+ * en application.properties con scripts/08_comisiones_mensuales.sql aplicado.
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.dao.mysql.ComisionDAOBenchmark [asesorId] [iteraciones] [periodo]
+ * </pre>
+ *
+ * El periodo (yyyy-MM) es por defecto el mes actual; con una cartera
+ * sintética conviene pasar un mes con pagos, por ejemplo 2024-06 si se
+ * generó con fecha de referencia 2024-06-30.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ComisionDAOBenchmark {
+
+    // Consulta equivalente a la vista anterior filtrada por asesor y mes
+    private static final String AGREGACION_EN_LINEA = """
+        SELECT SUM(pg.monto_pago * a.comision_porcentaje)
+        FROM asesores a
+        JOIN prestamos p ON a.id = p.asesor_id
+        JOIN pagos pg ON p.id = pg.prestamo_id
+        WHERE a.id = ? AND YEAR(pg.fecha_pago) = ? AND MONTH(pg.fecha_pago) = ?
+        """;
+
+    public static void main(String[] args) throws SQLException {
+        int asesorId = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int iteraciones = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        YearMonth periodo = args.length > 2 ? YearMonth.parse(args[2]) : YearMonth.now();
+
+        DatabaseConfig.initialize();
+        ComisionDAOImpl dao = new ComisionDAOImpl();
+
+        try {
+            // Calentamiento
+            for (int i = 0; i < 50; i++) {
+                agregacionEnLinea(asesorId, periodo);
+                dao.findByAsesorAndPeriodo(asesorId, periodo);
+            }
+
+            long inicio = System.nanoTime();
+            for (int i = 0; i < iteraciones; i++) {
+                agregacionEnLinea(asesorId, periodo);
+            }
+            double msVista = (System.nanoTime() - inicio) / 1_000_000.0 / iteraciones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < iteraciones; i++) {
+                dao.findByAsesorAndPeriodo(asesorId, periodo);
+            }
+            double msLibro = (System.nanoTime() - inicio) / 1_000_000.0 / iteraciones;
+
+            System.out.printf("Agregación en línea: %.3f ms/consulta%n", msVista);
+            System.out.printf("Libro de comisiones: %.3f ms/consulta%n", msLibro);
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private static void agregacionEnLinea(int asesorId, YearMonth periodo) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(AGREGACION_EN_LINEA)) {
+            stmt.setInt(1, asesorId);
+            stmt.setInt(2, periodo.getYear());
+            stmt.setInt(3, periodo.getMonthValue());
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+            }
+        }
+    }
+}
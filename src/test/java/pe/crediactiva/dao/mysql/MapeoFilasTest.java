@@ -0,0 +1,69 @@
+package pe.crediactiva.dao.mysql;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Pruebas unitarias para MapeoFilas y DecodificadorEnum.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class MapeoFilasTest {
+
+    @Test
+    @DisplayName("Las columnas se resuelven por etiqueta sin distinguir mayúsculas; la primera repetida gana")
+    void testIndices() throws SQLException {
+        ResultSet rs = resultSet("id", "USERNAME", "nombre", "id", "activo");
+
+        int[] indices = MapeoFilas.indices(rs, "activo", "id", "username");
+
+        assertArrayEquals(new int[] {5, 1, 2}, indices);
+    }
+
+    @Test
+    @DisplayName("Una columna que la consulta no trae se informa con su nombre")
+    void testColumnaFaltante() {
+        ResultSet rs = resultSet("id", "username");
+
+        SQLException error = assertThrows(SQLException.class, () -> MapeoFilas.indices(rs, "id", "email"));
+        assertTrue(error.getMessage().contains("email"));
+    }
+
+    @Test
+    @DisplayName("Los valores null o desconocidos se decodifican con el valor por defecto")
+    void testDecodificadorEnum() {
+        DecodificadorEnum<EstadoPrestamo> estados =
+            new DecodificadorEnum<>(EstadoPrestamo.class, EstadoPrestamo.ACTIVO);
+
+        assertEquals(EstadoPrestamo.VENCIDO, estados.decodificar("VENCIDO"));
+        assertEquals(EstadoPrestamo.ACTIVO, estados.decodificar(null));
+        assertEquals(EstadoPrestamo.ACTIVO, estados.decodificar("DESCONOCIDO"));
+    }
+
+    // ResultSet que solo responde a getMetaData con las etiquetas dadas
+    private static ResultSet resultSet(String... etiquetas) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+            MapeoFilasTest.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+            (proxy, metodo, args) -> switch (metodo.getName()) {
+                case "getColumnCount" -> etiquetas.length;
+                case "getColumnLabel" -> etiquetas[(Integer) args[0] - 1];
+                default -> throw new UnsupportedOperationException(metodo.getName());
+            });
+        return (ResultSet) Proxy.newProxyInstance(
+            MapeoFilasTest.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+            (proxy, metodo, args) -> {
+                if (metodo.getName().equals("getMetaData")) {
+                    return metaData;
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+}
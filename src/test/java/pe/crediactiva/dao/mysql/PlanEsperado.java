@@ -0,0 +1,111 @@
+package pe.crediactiva.dao.mysql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plan esperado de una consulta, tal como se declara en
+ * explain/planes-esperados.properties:
+ *
+ * <pre>
+ * UsuarioDAOImpl.SELECT_BY_USERNAME = u:const:username|idx_usuarios_username:1
+ * </pre>
+ *
+ * Cada tabla (o alias) se escribe como tabla:tipo:índices:filas, separadas por
+ * comas. El tipo es el peor access_type tolerado, los índices aceptados se
+ * separan con '|' y las filas son el máximo de rows_examined_per_scan. '*'
+ * acepta cualquier índice o cantidad de filas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class PlanEsperado {
+
+    static final String CUALQUIERA = "*";
+
+    private record Limite(String tipoAcceso, Set<String> indices, long maxFilas) {
+    }
+
+    private final Map<String, Limite> limites;
+
+    private PlanEsperado(Map<String, Limite> limites) {
+        this.limites = limites;
+    }
+
+    /**
+     * Interpreta la declaración de un plan esperado.
+     *
+     * @param declaracion valor del archivo de planes esperados
+     * @return plan esperado
+     * @throws IllegalArgumentException si la declaración está mal escrita
+     */
+    static PlanEsperado leer(String declaracion) {
+        Map<String, Limite> limites = new LinkedHashMap<>();
+        for (String entrada : declaracion.split(",")) {
+            String[] partes = entrada.trim().split(":");
+            if (partes.length != 4) {
+                throw new IllegalArgumentException("Se esperaba tabla:tipo:índices:filas en '" + entrada.trim() + "'");
+            }
+            if (!PlanExplain.TIPOS_ACCESO.contains(partes[1])) {
+                throw new IllegalArgumentException("Tipo de acceso desconocido: " + partes[1]);
+            }
+            Set<String> indices = CUALQUIERA.equals(partes[2]) ? Set.of() : Set.of(partes[2].split("\\|"));
+            long maxFilas = CUALQUIERA.equals(partes[3]) ? Long.MAX_VALUE : Long.parseLong(partes[3]);
+            limites.put(partes[0], new Limite(partes[1], indices, maxFilas));
+        }
+        return new PlanEsperado(limites);
+    }
+
+    /**
+     * Compara el plan observado con el esperado.
+     *
+     * @param plan plan obtenido de EXPLAIN
+     * @return descripción de cada regresión; vacía si el plan cumple
+     */
+    List<String> verificar(PlanExplain plan) {
+        List<String> regresiones = new ArrayList<>();
+        if (plan.esResueltoPorConstantes()) {
+            // Sin fila que coincida: MySQL no llega a acceder a las tablas
+            return regresiones;
+        }
+        for (PlanExplain.AccesoTabla acceso : plan.getAccesos()) {
+            Limite limite = limites.get(acceso.tabla());
+            if (limite == null) {
+                regresiones.add("tabla no esperada en el plan: " + acceso.tabla());
+                continue;
+            }
+            if (acceso.rango() > PlanExplain.TIPOS_ACCESO.indexOf(limite.tipoAcceso())) {
+                regresiones.add(acceso.tabla() + ": acceso " + acceso.tipoAcceso()
+                                + " peor que " + limite.tipoAcceso());
+            }
+            if (!limite.indices().isEmpty()
+                && (acceso.indice() == null || !limite.indices().contains(acceso.indice()))) {
+                regresiones.add(acceso.tabla() + ": índice " + acceso.indice()
+                                + " en lugar de " + String.join("|", limite.indices()));
+            }
+            if (acceso.filasExaminadas() > limite.maxFilas()) {
+                regresiones.add(acceso.tabla() + ": " + acceso.filasExaminadas()
+                                + " filas examinadas, máximo " + limite.maxFilas());
+            }
+        }
+        return regresiones;
+    }
+
+    /**
+     * Declaración equivalente al plan observado, para actualizar el archivo
+     * de planes esperados tras un cambio intencional.
+     *
+     * @param plan plan obtenido de EXPLAIN
+     * @return declaración con los valores observados
+     */
+    static String describir(PlanExplain plan) {
+        return plan.getAccesos().stream()
+            .map(a -> a.tabla() + ":" + a.tipoAcceso() + ":"
+                      + (a.indice() != null ? a.indice() : CUALQUIERA) + ":" + a.filasExaminadas())
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,285 @@
+package pe.crediactiva.dao.mysql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectura de la salida de EXPLAIN FORMAT=JSON de MySQL. Extrae el acceso de
+ * cada tabla del plan (incluidas las de subconsultas, vistas materializadas
+ * y uniones anidadas) sin depender de una librería JSON. También acepta la
+ * variante de MariaDB.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+final class PlanExplain {
+
+    /**
+     * Tipos de acceso de MySQL del mejor al peor.
+     */
+    static final List<String> TIPOS_ACCESO = List.of(
+        "system", "const", "eq_ref", "ref", "fulltext", "ref_or_null",
+        "index_merge", "unique_subquery", "index_subquery", "range", "index", "ALL");
+
+    /**
+     * Acceso a una tabla dentro del plan.
+     *
+     * @param tabla nombre o alias de la tabla
+     * @param tipoAcceso access_type de MySQL
+     * @param indice índice usado, o null si no usa ninguno
+     * @param filasExaminadas rows_examined_per_scan estimado
+     */
+    record AccesoTabla(String tabla, String tipoAcceso, String indice, long filasExaminadas) {
+
+        int rango() {
+            int rango = TIPOS_ACCESO.indexOf(tipoAcceso);
+            return rango >= 0 ? rango : TIPOS_ACCESO.size() - 1;
+        }
+    }
+
+    private static final String SUFIJO_DUPLICADO = "#";
+
+    private final List<AccesoTabla> accesos;
+    private final List<String> mensajes;
+
+    private PlanExplain(List<AccesoTabla> accesos, List<String> mensajes) {
+        this.accesos = accesos;
+        this.mensajes = mensajes;
+    }
+
+    /**
+     * Interpreta el JSON de EXPLAIN FORMAT=JSON.
+     *
+     * @param json salida de EXPLAIN
+     * @return plan con los accesos a tablas en orden de aparición
+     * @throws IllegalArgumentException si el JSON está mal formado
+     */
+    static PlanExplain leer(String json) {
+        Object raiz = new Lector(json).leerDocumento();
+        List<AccesoTabla> accesos = new ArrayList<>();
+        List<String> mensajes = new ArrayList<>();
+        recorrer(raiz, accesos, mensajes);
+        return new PlanExplain(accesos, mensajes);
+    }
+
+    List<AccesoTabla> getAccesos() {
+        return accesos;
+    }
+
+    /**
+     * Mensajes del optimizador, p. ej. "no matching row in const table".
+     */
+    List<String> getMensajes() {
+        return mensajes;
+    }
+
+    /**
+     * Indica si el optimizador resolvió la consulta leyendo solo tablas const,
+     * en cuyo caso el plan no lista las tablas.
+     */
+    boolean esResueltoPorConstantes() {
+        return accesos.isEmpty() && mensajes.stream().anyMatch(m -> m.contains("const table"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void recorrer(Object nodo, List<AccesoTabla> accesos, List<String> mensajes) {
+        if (nodo instanceof Map<?, ?> mapa) {
+            Map<String, Object> objeto = (Map<String, Object>) mapa;
+            for (Map.Entry<String, Object> entrada : objeto.entrySet()) {
+                String clave = sinSufijoDuplicado(entrada.getKey());
+                if (clave.equals("table") && entrada.getValue() instanceof Map<?, ?> tabla
+                    && tabla.containsKey("table_name")) {
+                    // MariaDB informa "rows" en lugar de "rows_examined_per_scan"
+                    Object filas = tabla.containsKey("rows_examined_per_scan")
+                        ? tabla.get("rows_examined_per_scan") : tabla.get("rows");
+                    accesos.add(new AccesoTabla(
+                        (String) tabla.get("table_name"),
+                        (String) tabla.get("access_type"),
+                        (String) tabla.get("key"),
+                        filas instanceof Number numero ? numero.longValue() : 0L));
+                } else if (clave.equals("message") && entrada.getValue() instanceof String mensaje) {
+                    mensajes.add(mensaje);
+                }
+                recorrer(entrada.getValue(), accesos, mensajes);
+            }
+        } else if (nodo instanceof List<?> lista) {
+            for (Object valor : lista) {
+                recorrer(valor, accesos, mensajes);
+            }
+        }
+    }
+
+    private static String sinSufijoDuplicado(String clave) {
+        int marca = clave.indexOf(SUFIJO_DUPLICADO);
+        return marca >= 0 ? clave.substring(0, marca) : clave;
+    }
+
+    /**
+     * Analizador JSON mínimo: objetos, arreglos, cadenas, números y literales.
+     */
+    private static final class Lector {
+        private final String texto;
+        private int pos;
+
+        Lector(String texto) {
+            this.texto = texto;
+        }
+
+        Object leerDocumento() {
+            Object valor = leerValor();
+            saltarEspacios();
+            if (pos != texto.length()) {
+                throw error("Contenido después del documento");
+            }
+            return valor;
+        }
+
+        private Object leerValor() {
+            saltarEspacios();
+            if (pos >= texto.length()) {
+                throw error("Fin inesperado");
+            }
+            char c = texto.charAt(pos);
+            return switch (c) {
+                case '{' -> leerObjeto();
+                case '[' -> leerArreglo();
+                case '"' -> leerCadena();
+                case 't' -> leerLiteral("true", Boolean.TRUE);
+                case 'f' -> leerLiteral("false", Boolean.FALSE);
+                case 'n' -> leerLiteral("null", null);
+                default -> leerNumero();
+            };
+        }
+
+        private Map<String, Object> leerObjeto() {
+            Map<String, Object> objeto = new LinkedHashMap<>();
+            pos++;
+            saltarEspacios();
+            if (consumir('}')) {
+                return objeto;
+            }
+            do {
+                saltarEspacios();
+                if (pos >= texto.length() || texto.charAt(pos) != '"') {
+                    throw error("Se esperaba una clave");
+                }
+                String clave = leerCadena();
+                saltarEspacios();
+                if (!consumir(':')) {
+                    throw error("Se esperaba ':'");
+                }
+                Object valor = leerValor();
+                // MariaDB repite "table" dentro del mismo objeto para cada tabla del join
+                String unica = clave;
+                for (int n = 2; objeto.containsKey(unica); n++) {
+                    unica = clave + SUFIJO_DUPLICADO + n;
+                }
+                objeto.put(unica, valor);
+                saltarEspacios();
+            } while (consumir(','));
+            if (!consumir('}')) {
+                throw error("Se esperaba '}'");
+            }
+            return objeto;
+        }
+
+        private List<Object> leerArreglo() {
+            List<Object> arreglo = new ArrayList<>();
+            pos++;
+            saltarEspacios();
+            if (consumir(']')) {
+                return arreglo;
+            }
+            do {
+                arreglo.add(leerValor());
+                saltarEspacios();
+            } while (consumir(','));
+            if (!consumir(']')) {
+                throw error("Se esperaba ']'");
+            }
+            return arreglo;
+        }
+
+        private String leerCadena() {
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < texto.length()) {
+                char c = texto.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(pos++);
+                switch (escape) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > texto.length()) {
+                            throw error("Escape unicode incompleto");
+                        }
+                        sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escape);
+                }
+            }
+            throw error("Cadena sin cerrar");
+        }
+
+        private Object leerLiteral(String literal, Object valor) {
+            if (!texto.startsWith(literal, pos)) {
+                throw error("Literal inválido");
+            }
+            pos += literal.length();
+            return valor;
+        }
+
+        private Number leerNumero() {
+            int inicio = pos;
+            while (pos < texto.length() && "+-0123456789.eE".indexOf(texto.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String numero = texto.substring(inicio, pos);
+            if (numero.isEmpty()) {
+                throw error("Valor inesperado");
+            }
+            try {
+                if (numero.contains(".") || numero.contains("e") || numero.contains("E")) {
+                    return Double.parseDouble(numero);
+                }
+                return Long.parseLong(numero);
+            } catch (NumberFormatException e) {
+                throw error("Número inválido: " + numero);
+            }
+        }
+
+        private boolean consumir(char esperado) {
+            if (pos < texto.length() && texto.charAt(pos) == esperado) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void saltarEspacios() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String mensaje) {
+            return new IllegalArgumentException(mensaje + " en la posición " + pos);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package pe.crediactiva.dao.mysql;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PlanExplain y PlanEsperado, con salidas de
+ * EXPLAIN FORMAT=JSON de MySQL 8 (no requieren base de datos).
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class PlanExplainTest {
+
+    private static final String PLAN_JOIN = """
+        {
+          "query_block": {
+            "select_id": 1,
+            "cost_info": {"query_cost": "12.45"},
+            "ordering_operation": {
+              "using_filesort": true,
+              "nested_loop": [
+                {
+                  "table": {
+                    "table_name": "r",
+                    "access_type": "const",
+                    "possible_keys": ["PRIMARY", "nombre", "idx_roles_nombre"],
+                    "key": "nombre",
+                    "rows_examined_per_scan": 1,
+                    "filtered": "100.00"
+                  }
+                },
+                {
+                  "table": {
+                    "table_name": "ur",
+                    "access_type": "ref",
+                    "key": "idx_usuarios_roles_rol",
+                    "rows_examined_per_scan": 2480,
+                    "attached_condition": "(`crediactiva_it`.`ur`.`activo` = true)"
+                  }
+                },
+                {
+                  "table": {
+                    "table_name": "u",
+                    "access_type": "eq_ref",
+                    "key": "PRIMARY",
+                    "rows_examined_per_scan": 1,
+                    "filtered": "50.00"
+                  }
+                }
+              ]
+            }
+          }
+        }
+        """;
+
+    private static final String PLAN_LIKE = """
+        {"query_block": {"select_id": 1, "table": {"table_name": "u", "access_type": "ALL",
+          "rows_examined_per_scan": 5061, "filtered": "2.08",
+          "attached_condition": "((`u`.`nombres` like '%ana%') or (`u`.`apellidos` like '%ana%'))"}}}
+        """;
+
+    @Test
+    @DisplayName("Extrae el acceso de cada tabla de un plan con joins anidados")
+    void testLeerPlanJoin() {
+        PlanExplain plan = PlanExplain.leer(PLAN_JOIN);
+
+        List<PlanExplain.AccesoTabla> accesos = plan.getAccesos();
+        assertEquals(3, accesos.size());
+        assertEquals(new PlanExplain.AccesoTabla("r", "const", "nombre", 1), accesos.get(0));
+        assertEquals(new PlanExplain.AccesoTabla("ur", "ref", "idx_usuarios_roles_rol", 2480), accesos.get(1));
+        assertEquals("PRIMARY", accesos.get(2).indice());
+        assertFalse(plan.esResueltoPorConstantes());
+        assertEquals("r:const:nombre:1, ur:ref:idx_usuarios_roles_rol:2480, u:eq_ref:PRIMARY:1",
+                     PlanEsperado.describir(plan));
+    }
+
+    @Test
+    @DisplayName("Reconoce las consultas resueltas sin acceder a las tablas")
+    void testResueltoPorConstantes() {
+        PlanExplain plan = PlanExplain.leer(
+            "{\"query_block\": {\"select_id\": 1, \"message\": \"no matching row in const table\"}}");
+
+        assertTrue(plan.getAccesos().isEmpty());
+        assertTrue(plan.esResueltoPorConstantes());
+        assertTrue(PlanEsperado.leer("u:const:PRIMARY:1").verificar(plan).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Detecta accesos peores, índices distintos y exceso de filas")
+    void testVerificarRegresiones() {
+        PlanExplain join = PlanExplain.leer(PLAN_JOIN);
+        assertTrue(PlanEsperado.leer("r:const:nombre|idx_roles_nombre:1, ur:ref:*:*, u:eq_ref:PRIMARY:1")
+                       .verificar(join).isEmpty());
+
+        List<String> regresiones = PlanEsperado.leer("r:const:*:1, ur:ref:uk_usuario_rol:1000, u:const:PRIMARY:1")
+            .verificar(join);
+        assertEquals(3, regresiones.size(), regresiones::toString);
+
+        PlanExplain like = PlanExplain.leer(PLAN_LIKE);
+        assertFalse(PlanEsperado.leer("u:range:idx_usuarios_nombres_apellidos:*").verificar(like).isEmpty());
+        assertTrue(PlanEsperado.leer("u:ALL:*:*").verificar(like).isEmpty());
+        assertEquals(List.of("tabla no esperada en el plan: u"), PlanEsperado.leer("c:ALL:*:*").verificar(like));
+    }
+
+    @Test
+    @DisplayName("Rechaza JSON y declaraciones mal formados")
+    void testErrores() {
+        assertThrows(IllegalArgumentException.class, () -> PlanExplain.leer("{\"query_block\": {"));
+        assertThrows(IllegalArgumentException.class, () -> PlanEsperado.leer("u:const:PRIMARY"));
+        assertThrows(IllegalArgumentException.class, () -> PlanEsperado.leer("u:full:*:*"));
+    }
+}
@@ -0,0 +1,296 @@
+package pe.crediactiva.dao.mysql;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pe.crediactiva.sintetico.ConfiguracionGenerador;
+import pe.crediactiva.sintetico.DestinoJdbc;
+import pe.crediactiva.sintetico.GeneradorCartera;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Suite de regresión de planes de ejecución de la capa DAO. Ejecuta EXPLAIN
+ * FORMAT=JSON de cada plantilla SQL de dao.mysql (y de cada vista) sobre una
+ * cartera sintética en un MySQL local, y compara el acceso a cada tabla con
+ * src/test/resources/explain/planes-esperados.properties.
+ *
+ * <pre>
+ * mvn -Pintegracion verify
+ * mvn -Pintegracion verify -Dit.db.url=jdbc:mysql://localhost:3307 -Dit.db.password=secreto
+ * </pre>
+ *
+ * El esquema de prueba (por defecto crediactiva_it) se recrea desde scripts/.
+ * Los planes observados quedan en target/explain/, junto con
+ * planes-observados.properties para actualizar los esperados tras un cambio
+ * intencional. Si no hay servidor MySQL disponible la suite se omite.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class PlanesConsultaIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanesConsultaIT.class);
+
+    private static final String PARAMETROS_URL =
+        "?serverTimezone=America/Lima&useSSL=false&allowPublicKeyRetrieval=true";
+    private static final String PLANES_ESPERADOS = "/explain/planes-esperados.properties";
+    private static final String SUFIJO_PARAMETROS = ".parametros";
+    private static final String PARAMETRO_POR_DEFECTO = "1";
+    private static final String[] SCRIPTS = {
+        "00_create_schema.sql", "01_seed_data.sql", "02_views_procs.sql", "08_comisiones_mensuales.sql",
+        "09_busqueda_nombres.sql", "10_roles_permisos.sql", "11_marcas_actualizacion.sql",
+        "12_marcas_cartera.sql"
+    };
+    private static final LocalDate FECHA_REFERENCIA = LocalDate.of(2024, 6, 30);
+
+    private static final String URL_SERVIDOR = System.getProperty("it.db.url", "jdbc:mysql://localhost:3306");
+    private static final String ESQUEMA = System.getProperty("it.db.esquema", "crediactiva_it");
+    private static final String USUARIO = System.getProperty("it.db.usuario", "root");
+    private static final String PASSWORD = System.getProperty("it.db.password", "");
+    private static final int CLIENTES = Integer.getInteger("it.clientes", 5000);
+    private static final boolean REUTILIZAR = Boolean.getBoolean("it.db.reutilizar");
+
+    private static final Path DIRECTORIO_SALIDA = Paths.get("target", "explain");
+    private static final Map<String, String> observados = new TreeMap<>();
+
+    private static Connection conexion;
+    private static Properties esperados;
+
+    @BeforeAll
+    static void prepararBaseDatos() throws Exception {
+        assertTrue(ESQUEMA.endsWith("_it"), "El esquema de prueba debe terminar en _it: " + ESQUEMA);
+        try (Connection servidor = DriverManager.getConnection(URL_SERVIDOR + "/" + PARAMETROS_URL, USUARIO, PASSWORD)) {
+            if (!REUTILIZAR) {
+                try (Statement stmt = servidor.createStatement()) {
+                    stmt.execute("DROP DATABASE IF EXISTS " + ESQUEMA);
+                    stmt.execute("CREATE DATABASE " + ESQUEMA
+                                 + " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
+                }
+            }
+        } catch (SQLException e) {
+            Assumptions.abort("MySQL no disponible en " + URL_SERVIDOR + ": " + e.getMessage());
+        }
+
+        String url = URL_SERVIDOR + "/" + ESQUEMA + PARAMETROS_URL;
+        conexion = DriverManager.getConnection(url, USUARIO, PASSWORD);
+        if (!REUTILIZAR) {
+            long inicio = System.currentTimeMillis();
+            for (String script : SCRIPTS) {
+                ejecutarScript(Paths.get("scripts", script));
+            }
+            ConfiguracionGenerador config = ConfiguracionGenerador.builder()
+                .clientes(CLIENTES)
+                .asesores(Math.max(5, CLIENTES / 200))
+                .fechaReferencia(FECHA_REFERENCIA)
+                .build();
+            try (DestinoJdbc destino = new DestinoJdbc(url + "&rewriteBatchedStatements=true",
+                                                       USUARIO, PASSWORD, config.getHilos(), 1000)) {
+                new GeneradorCartera(config).generar(destino);
+            }
+            logger.info("Esquema {} cargado en {} ms", ESQUEMA, System.currentTimeMillis() - inicio);
+        }
+        analizarTablas();
+
+        esperados = new Properties();
+        try (InputStream in = PlanesConsultaIT.class.getResourceAsStream(PLANES_ESPERADOS)) {
+            assertNotNull(in, "No se encontró " + PLANES_ESPERADOS);
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                esperados.load(reader);
+            }
+        }
+        Files.createDirectories(DIRECTORIO_SALIDA);
+    }
+
+    @AfterAll
+    static void guardarPlanesObservados() throws IOException, SQLException {
+        if (!observados.isEmpty()) {
+            StringBuilder sb = new StringBuilder("# Planes observados; copiar a planes-esperados.properties si el cambio es intencional\n");
+            observados.forEach((clave, plan) -> sb.append(clave).append(" = ").append(plan).append('\n'));
+            Files.writeString(DIRECTORIO_SALIDA.resolve("planes-observados.properties"), sb, StandardCharsets.UTF_8);
+        }
+        if (conexion != null) {
+            conexion.close();
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> planesDeConsultas() throws Exception {
+        Map<String, String> consultas = new TreeMap<>();
+        for (Class<?> dao : clasesDao()) {
+            consultas.putAll(plantillasSql(dao));
+        }
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT table_name FROM information_schema.views WHERE table_schema = DATABASE()")) {
+            while (rs.next()) {
+                consultas.put("vista." + rs.getString(1), "SELECT * FROM " + rs.getString(1));
+            }
+        }
+        assertFalse(consultas.isEmpty(), "No se encontraron plantillas SQL");
+
+        return consultas.entrySet().stream()
+            .map(e -> DynamicTest.dynamicTest(e.getKey(), () -> verificarPlan(e.getKey(), e.getValue())));
+    }
+
+    private void verificarPlan(String clave, String sql) throws Exception {
+        String json = explicar(clave, sql);
+        Files.writeString(DIRECTORIO_SALIDA.resolve(clave + ".json"), json, StandardCharsets.UTF_8);
+
+        PlanExplain plan = PlanExplain.leer(json);
+        String observado = PlanEsperado.describir(plan);
+        observados.put(clave, observado.isEmpty() ? String.join("; ", plan.getMensajes()) : observado);
+
+        String declaracion = esperados.getProperty(clave);
+        assertNotNull(declaracion, "Sin plan esperado para " + clave + "; observado: " + observado);
+        List<String> regresiones = PlanEsperado.leer(declaracion).verificar(plan);
+        assertTrue(regresiones.isEmpty(),
+                   "Regresión de plan en " + clave + ": " + regresiones + "\nObservado: " + observado);
+    }
+
+    private String explicar(String clave, String sql) throws SQLException {
+        String[] parametros = esperados.getProperty(clave + SUFIJO_PARAMETROS, "").isBlank()
+            ? new String[0] : esperados.getProperty(clave + SUFIJO_PARAMETROS).split(";");
+        int marcadores = (int) sql.chars().filter(c -> c == '?').count();
+
+        try (PreparedStatement stmt = conexion.prepareStatement("EXPLAIN FORMAT=JSON " + sql)) {
+            for (int i = 0; i < marcadores; i++) {
+                stmt.setString(i + 1, i < parametros.length ? parametros[i].trim() : PARAMETRO_POR_DEFECTO);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next(), "EXPLAIN sin resultado para " + clave);
+                return rs.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Constantes String con sentencias SELECT, UPDATE o DELETE. Los fragmentos
+     * *_BASE se omiten: solo se usan para componer otras plantillas.
+     */
+    private static Map<String, String> plantillasSql(Class<?> dao) throws IllegalAccessException {
+        Map<String, String> plantillas = new TreeMap<>();
+        for (Field campo : dao.getDeclaredFields()) {
+            int modificadores = campo.getModifiers();
+            if (campo.getType() != String.class || !Modifier.isStatic(modificadores)
+                || !Modifier.isFinal(modificadores) || campo.getName().endsWith("_BASE")) {
+                continue;
+            }
+            campo.setAccessible(true);
+            String sql = ((String) campo.get(null)).strip();
+            String verbo = sql.split("\\s+", 2)[0].toUpperCase();
+            if (verbo.equals("SELECT") || verbo.equals("UPDATE") || verbo.equals("DELETE")) {
+                plantillas.put(dao.getSimpleName() + "." + campo.getName(), sql);
+            }
+        }
+        return plantillas;
+    }
+
+    private static List<Class<?>> clasesDao() throws IOException, URISyntaxException, ClassNotFoundException {
+        String paquete = UsuarioDAOImpl.class.getPackageName();
+        Path directorio = Paths.get(UsuarioDAOImpl.class.getResource("UsuarioDAOImpl.class").toURI()).getParent();
+        List<Class<?>> clases = new ArrayList<>();
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : archivos.sorted().toList()) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.endsWith("DAOImpl.class")) {
+                    clases.add(Class.forName(paquete + "." + nombre.substring(0, nombre.length() - ".class".length())));
+                }
+            }
+        }
+        return clases;
+    }
+
+    /**
+     * Ejecuta un script de scripts/ respetando DELIMITER. Las sentencias de
+     * base de datos (CREATE/DROP DATABASE, USE) se omiten para no salir del
+     * esquema de prueba.
+     */
+    private static void ejecutarScript(Path script) throws IOException, SQLException {
+        String delimitador = ";";
+        StringBuilder sentencia = new StringBuilder();
+        try (Statement stmt = conexion.createStatement()) {
+            for (String original : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+                String linea = sinComentarioFinal(original);
+                String recortada = linea.strip();
+                if (sentencia.isEmpty() && (recortada.isEmpty() || recortada.startsWith("--"))) {
+                    continue;
+                }
+                if (recortada.toUpperCase().startsWith("DELIMITER ")) {
+                    delimitador = recortada.substring("DELIMITER ".length()).strip();
+                    continue;
+                }
+                sentencia.append(linea).append('\n');
+                if (recortada.endsWith(delimitador)) {
+                    String sql = sentencia.toString().strip();
+                    sql = sql.substring(0, sql.length() - delimitador.length());
+                    sentencia.setLength(0);
+                    String inicio = sql.toUpperCase();
+                    if (!inicio.startsWith("USE ") && !inicio.startsWith("CREATE DATABASE")
+                        && !inicio.startsWith("DROP DATABASE")) {
+                        stmt.execute(sql);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Quita un comentario "-- ..." al final de la línea, fuera de literales.
+     */
+    private static String sinComentarioFinal(String linea) {
+        boolean enLiteral = false;
+        for (int i = 0; i < linea.length() - 1; i++) {
+            char c = linea.charAt(i);
+            if (c == '\'') {
+                enLiteral = !enLiteral;
+            } else if (!enLiteral && c == '-' && linea.charAt(i + 1) == '-') {
+                return linea.substring(0, i);
+            }
+        }
+        return linea;
+    }
+
+    private static void analizarTablas() throws SQLException {
+        List<String> tablas = new ArrayList<>();
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT table_name FROM information_schema.tables "
+                                              + "WHERE table_schema = DATABASE() AND table_type = 'BASE TABLE'")) {
+            while (rs.next()) {
+                tablas.add(rs.getString(1));
+            }
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("ANALYZE TABLE " + String.join(", ", tablas));
+        }
+    }
+}
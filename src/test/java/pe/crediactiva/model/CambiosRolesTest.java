@@ -0,0 +1,67 @@
+package pe.crediactiva.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.enums.TipoRol;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pruebas unitarias para CambiosRoles.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class CambiosRolesTest {
+
+    private final Rol administrador = rol(1, TipoRol.ADMINISTRADOR, true);
+    private final Rol asesor = rol(2, TipoRol.ASESOR, true);
+    private final Rol cliente = rol(3, TipoRol.CLIENTE, true);
+    private final Rol auditor = rol(4, "AUDITOR", false);
+    private final List<Rol> catalogo = List.of(administrador, asesor, cliente, auditor);
+
+    @Test
+    @DisplayName("Cambiar CLIENTE por ASESOR agrega uno y remueve el otro")
+    void testCalcularIntercambio() {
+        CambiosRoles cambios = CambiosRoles.calcular(catalogo, Set.of(1, 3), Set.of(1, 2));
+
+        assertEquals(List.of(asesor), cambios.agregados());
+        assertEquals(List.of(cliente), cambios.removidos());
+        assertTrue(cambios.agrega(TipoRol.ASESOR));
+        assertTrue(cambios.remueve(TipoRol.CLIENTE));
+        assertFalse(cambios.agrega(TipoRol.ADMINISTRADOR));
+        assertFalse(cambios.isVacio());
+    }
+
+    @Test
+    @DisplayName("Sin diferencias no hay cambios y los roles inactivos asignados se conservan")
+    void testSinCambios() {
+        CambiosRoles cambios = CambiosRoles.calcular(catalogo, Set.of(2, 4), Set.of(2));
+
+        assertTrue(cambios.isVacio());
+    }
+
+    @Test
+    @DisplayName("No se puede asignar un rol inactivo ni uno inexistente")
+    void testRolesInvalidos() {
+        IllegalArgumentException inactivo = assertThrows(IllegalArgumentException.class,
+            () -> CambiosRoles.calcular(catalogo, Set.of(1), Set.of(1, 4)));
+        assertTrue(inactivo.getMessage().contains("AUDITOR"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> CambiosRoles.calcular(catalogo, Set.of(1), Set.of(1, 99)));
+    }
+
+    private static Rol rol(int id, TipoRol tipoRol, boolean activo) {
+        return rol(id, tipoRol.name(), activo);
+    }
+
+    private static Rol rol(int id, String nombre, boolean activo) {
+        Rol rol = new Rol(nombre, "Rol " + nombre);
+        rol.setId(id);
+        rol.setActivo(activo);
+        return rol;
+    }
+}
@@ -255,6 +255,26 @@ class PrestamoTest {
         assertEquals(EstadoPrestamo.ACTIVO, prestamo.getEstado());
     }
     
+    @Test
+    @DisplayName("El cronograma amortiza el monto con la cuota fija y sin vencimientos en domingo")
+    void testGenerarCronograma() {
+        prestamo.setFechaDesembolso(LocalDate.of(2024, 1, 31));
+        
+        java.util.List<CronogramaPago> cuotas = prestamo.generarCronograma();
+        
+        assertEquals(12, cuotas.size());
+        BigDecimal capitalTotal = cuotas.stream().map(CronogramaPago::getCapital).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("10000.00").compareTo(capitalTotal));
+        assertEquals(0, BigDecimal.ZERO.compareTo(cuotas.get(11).getSaldoPendiente()));
+        for (int i = 0; i < 11; i++) {
+            assertEquals(prestamo.getCuotaMensual(), cuotas.get(i).getMontoCuota());
+        }
+        // 2024-03-31 es domingo: la segunda cuota pasa al lunes
+        assertEquals(LocalDate.of(2024, 4, 1), cuotas.get(1).getFechaVencimiento());
+        assertEquals(cuotas.get(0).getFechaVencimiento(), prestamo.getFechaPrimerVencimiento());
+        assertEquals(cuotas.get(11).getFechaVencimiento(), prestamo.getFechaUltimoVencimiento());
+    }
+    
     @Test
     @DisplayName("Equals debe funcionar correctamente con ID y número de préstamo")
     void testEquals() {
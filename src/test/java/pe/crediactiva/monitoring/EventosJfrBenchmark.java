@@ -0,0 +1,73 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Recording;
+
+/**
+ * Benchmark del costo de los eventos JFR: llamada directa a un DAO, llamada a
+ * través de InstrumentadorDao sin grabación, y con una grabación que incluye
+ * los eventos. También mide un EventoOperacionServicio sin grabación. El DAO
+ * simulado no accede a la base de datos, así que la diferencia es el costo
+ * puro de la instrumentación.
+ * No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.monitoring.EventosJfrBenchmark
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class EventosJfrBenchmark {
+
+    public interface DaoSimulado {
+        int buscar(int id);
+    }
+
+    private static final int ITERACIONES = 20_000_000;
+
+    public static void main(String[] args) {
+        DaoSimulado directo = id -> id * 31;
+        DaoSimulado instrumentado = InstrumentadorDao.instrumentar(DaoSimulado.class, directo);
+
+        for (int ronda = 0; ronda < 3; ronda++) {
+            double sinInstrumentar = medir(directo);
+            double deshabilitado = medir(instrumentado);
+            double servicio = medirServicio();
+            System.out.printf("Ronda %d: directo %.1f ns | proxy sin grabación %.1f ns | evento de servicio sin grabación %.1f ns%n",
+                              ronda + 1, sinInstrumentar, deshabilitado, servicio);
+        }
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EventoLlamadaDao.class);
+            recording.start();
+            double habilitado = medir(instrumentado);
+            recording.stop();
+            System.out.printf("Con grabación activa: %.1f ns por llamada%n", habilitado);
+        }
+    }
+
+    private static double medir(DaoSimulado dao) {
+        long suma = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            suma += dao.buscar(i);
+        }
+        long nanos = System.nanoTime() - inicio;
+        if (suma == 42) {
+            System.out.println();
+        }
+        return (double) nanos / ITERACIONES;
+    }
+
+    private static double medirServicio() {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            EventoOperacionServicio evento = EventoOperacionServicio.iniciar("UsuarioService.autenticar");
+            evento.marcarExitosa();
+            evento.finalizar();
+        }
+        return (double) (System.nanoTime() - inicio) / ITERACIONES;
+    }
+}
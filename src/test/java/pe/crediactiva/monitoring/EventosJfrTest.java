@@ -0,0 +1,106 @@
+package pe.crediactiva.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas unitarias para los eventos JFR de CrediActiva.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class EventosJfrTest {
+
+    interface DaoPrueba {
+        int contarFilas() throws SQLException;
+    }
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("La llamada a DAO registra plantilla, consultas y filas de sus sentencias")
+    void testEventosDeDaoYConsulta() throws Exception {
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, 10);
+        DaoPrueba dao = InstrumentadorDao.instrumentar(DaoPrueba.class, () -> {
+            int total = 0;
+            try (Connection connection = monitor.envolver(MonitorConsultasTest.conexionSimulada(3, 0))) {
+                for (int i = 0; i < 2; i++) {
+                    try (PreparedStatement stmt = connection.prepareStatement("SELECT id FROM roles WHERE id = ?");
+                         ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            total++;
+                        }
+                    }
+                }
+            }
+            return total;
+        });
+
+        Path archivo = directorio.resolve("dao.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EventoLlamadaDao.class);
+            recording.enable(EventoConsultaSql.class);
+            recording.start();
+            assertEquals(6, dao.contarFilas());
+            recording.stop();
+            recording.dump(archivo);
+        }
+
+        List<RecordedEvent> llamadas = eventos(archivo, "pe.crediactiva.LlamadaDao");
+        assertEquals(1, llamadas.size());
+        RecordedEvent llamada = llamadas.get(0);
+        assertEquals("DaoPrueba", llamada.getString("dao"));
+        assertEquals("contarFilas", llamada.getString("metodo"));
+        assertEquals("SELECT id FROM roles WHERE id = ?", llamada.getString("plantillaSql"));
+        assertEquals(2, llamada.getInt("consultas"));
+        assertEquals(6, llamada.getLong("filas"));
+        assertTrue(llamada.getBoolean("exitosa"));
+
+        List<RecordedEvent> consultas = eventos(archivo, "pe.crediactiva.ConsultaSql");
+        assertEquals(2, consultas.size());
+        assertEquals(3, consultas.get(0).getLong("filas"));
+    }
+
+    @Test
+    @DisplayName("El grabador genera el archivo .jfr al terminar y rechaza grabaciones simultáneas")
+    void testGrabadorGeneraArchivo() throws Exception {
+        GrabadorJfr grabador = new GrabadorJfr(directorio.resolve("reportes"), 200);
+        var futuro = grabador.grabar(Duration.ofSeconds(1));
+        assertTrue(grabador.isGrabando());
+        assertThrows(IllegalStateException.class, () -> grabador.grabar(Duration.ofSeconds(1)));
+
+        EventoOperacionServicio evento = EventoOperacionServicio.iniciar("PruebaService.operar");
+        evento.marcarExitosa();
+        evento.finalizar();
+
+        Path archivo = futuro.get(15, TimeUnit.SECONDS);
+        assertTrue(archivo.startsWith(directorio.resolve("reportes")));
+        assertFalse(grabador.isGrabando());
+
+        List<RecordedEvent> operaciones = eventos(archivo, "pe.crediactiva.OperacionServicio");
+        assertEquals(1, operaciones.size());
+        assertEquals("PruebaService.operar", operaciones.get(0).getString("operacion"));
+    }
+
+    private static List<RecordedEvent> eventos(Path archivo, String tipo) throws IOException {
+        return RecordingFile.readAllEvents(archivo).stream()
+            .filter(e -> e.getEventType().getName().equals(tipo))
+            .toList();
+    }
+}
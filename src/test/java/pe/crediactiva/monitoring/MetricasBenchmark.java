@@ -0,0 +1,82 @@
+package pe.crediactiva.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.LongConsumer;
+
+/**
+ * Benchmark del costo de registrar mediciones con varios hilos compitiendo por
+ * la misma métrica. Compara el histograma del registro de métricas (LongAdder
+ * por cubeta) con HistogramaLatencia (AtomicLongArray y AtomicLong), y mide un
+ * Contador. Los valores son nanosegundos por medición, por hilo.
+ * No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.monitoring.MetricasBenchmark
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class MetricasBenchmark {
+
+    private static final int MEDICIONES_POR_HILO = 5_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] configuraciones = {1, 2, 4, 8};
+        System.out.printf("Procesadores disponibles: %d%n", Runtime.getRuntime().availableProcessors());
+
+        for (int ronda = 0; ronda < 2; ronda++) {
+            System.out.printf("Ronda %d%n", ronda + 1);
+            for (int hilos : configuraciones) {
+                HistogramaMetrica metrica = new HistogramaMetrica();
+                HistogramaLatencia atomico = new HistogramaLatencia();
+                Contador contador = new Contador();
+
+                double nsMetrica = medir(hilos, metrica::registrar);
+                double nsAtomico = medir(hilos, atomico::registrar);
+                double nsContador = medir(hilos, v -> contador.incrementar());
+                System.out.printf("  %d hilos: HistogramaMetrica %6.1f ns | HistogramaLatencia %6.1f ns | Contador %5.1f ns%n",
+                                  hilos, nsMetrica, nsAtomico, nsContador);
+            }
+        }
+    }
+
+    private static double medir(int hilos, LongConsumer registro) throws InterruptedException {
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> trabajadores = new ArrayList<>();
+        long[] duraciones = new long[hilos];
+
+        for (int h = 0; h < hilos; h++) {
+            int indice = h;
+            Thread hilo = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long t0 = System.nanoTime();
+                for (int i = 0; i < MEDICIONES_POR_HILO; i++) {
+                    // Duraciones entre 50 µs y ~6 ms, como consultas típicas
+                    registro.accept(50_000L + (i & 0x1FFF) * 700L);
+                }
+                duraciones[indice] = System.nanoTime() - t0;
+            });
+            hilo.start();
+            trabajadores.add(hilo);
+        }
+        inicio.countDown();
+        for (Thread hilo : trabajadores) {
+            hilo.join();
+        }
+
+        long total = 0;
+        for (long duracion : duraciones) {
+            total += duracion;
+        }
+        return (double) total / hilos / MEDICIONES_POR_HILO;
+    }
+}
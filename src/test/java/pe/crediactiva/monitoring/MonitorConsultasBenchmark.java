@@ -0,0 +1,71 @@
+package pe.crediactiva.monitoring;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Benchmark del costo de la instrumentación: ejecuta el ciclo típico de un DAO
+ * (conexión, sentencia preparada, consulta y lectura de filas) contra objetos
+ * JDBC simulados sin latencia, con y sin MonitorConsultas. La diferencia es el
+ * costo que el monitor agrega a cada consulta real.
+ * No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.monitoring.MonitorConsultasBenchmark
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class MonitorConsultasBenchmark {
+
+    private static final String SQL = """
+        SELECT u.id, u.username, u.email
+        FROM usuarios u
+        WHERE u.id = ?
+        """;
+    private static final int FILAS = 5;
+    private static final int ITERACIONES = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, Integer.MAX_VALUE);
+        Connection simulada = MonitorConsultasTest.conexionSimulada(FILAS, 0);
+
+        for (int ronda = 0; ronda < 3; ronda++) {
+            double directo = medir(() -> simulada);
+            double monitoreado = medir(() -> monitor.envolver(simulada));
+            System.out.printf("Ronda %d: directo %,.0f ns/consulta | monitoreado %,.0f ns/consulta | costo %,.0f ns%n",
+                              ronda + 1, directo, monitoreado, monitoreado - directo);
+        }
+        System.out.println(monitor.getResumen(1));
+    }
+
+    private interface Proveedor {
+        Connection obtener() throws SQLException;
+    }
+
+    private static double medir(Proveedor proveedor) throws SQLException {
+        long suma = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            try (Connection connection = proveedor.obtener();
+                 PreparedStatement stmt = connection.prepareStatement(SQL)) {
+                stmt.setInt(1, i);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        suma += rs.getString("username").length();
+                    }
+                }
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+        if (suma == 42) {
+            System.out.println();
+        }
+        return (double) nanos / ITERACIONES;
+    }
+}
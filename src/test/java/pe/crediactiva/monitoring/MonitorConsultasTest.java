@@ -0,0 +1,198 @@
+package pe.crediactiva.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pruebas unitarias para MonitorConsultas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class MonitorConsultasTest {
+
+    private static final String SQL_ROLES = """
+        SELECT r.id, r.nombre
+        FROM roles r
+        WHERE r.usuario_id = ?
+        """;
+
+    @Test
+    @DisplayName("Registra ejecuciones y filas por plantilla")
+    void testEstadisticasPorPlantilla() throws SQLException {
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, 10);
+        try (Connection connection = monitor.envolver(conexionSimulada(3, 0))) {
+            for (int i = 0; i < 4; i++) {
+                try (PreparedStatement stmt = connection.prepareStatement(SQL_ROLES)) {
+                    stmt.setInt(1, i);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rs.getString("nombre");
+                        }
+                    }
+                }
+            }
+        }
+
+        EstadisticaConsulta estadistica = monitor.getEstadisticas().get(0);
+        assertEquals("SELECT r.id, r.nombre FROM roles r WHERE r.usuario_id = ?", estadistica.getPlantilla());
+        assertEquals(4, estadistica.getEjecuciones());
+        assertEquals(12, estadistica.getFilas());
+        assertEquals(0, estadistica.getSospechasNMasUno());
+        assertEquals(1, monitor.getRetencionConexiones().getCantidad());
+    }
+
+    @Test
+    @DisplayName("Detecta N+1 dentro de una conexión y de una operación con varias conexiones")
+    void testDeteccionNMasUno() throws SQLException {
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, 10);
+        try (Connection connection = monitor.envolver(conexionSimulada(1, 0))) {
+            for (int i = 0; i < 10; i++) {
+                try (PreparedStatement stmt = connection.prepareStatement(SQL_ROLES)) {
+                    stmt.executeQuery().close();
+                }
+            }
+        }
+        assertEquals(1, monitor.getEstadisticas().get(0).getSospechasNMasUno());
+
+        // Cinco ejecuciones en cada una de dos conexiones: solo la operación las suma
+        monitor.reiniciar();
+        for (int i = 0; i < 2; i++) {
+            ejecutarVarias(monitor, 5);
+        }
+        assertEquals(0, monitor.getEstadisticas().get(0).getSospechasNMasUno());
+
+        try (MonitorConsultas.Operacion operacion = monitor.operacion("carga de usuarios")) {
+            ejecutarVarias(monitor, 5);
+            ejecutarVarias(monitor, 5);
+        }
+        assertEquals(1, monitor.getEstadisticas().get(0).getSospechasNMasUno());
+    }
+
+    @Test
+    @DisplayName("La plantilla reemplaza los literales para no registrar valores")
+    void testNormalizacionDeLiterales() throws SQLException {
+        assertEquals("SELECT * FROM usuarios WHERE username = ? AND intentos > ? AND t2.id = ?",
+                     MonitorConsultas.normalizar("SELECT *\n  FROM usuarios WHERE username = 'o''brien'\tAND intentos > -3 AND t2.id = 15"));
+
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, 10);
+        try (Connection connection = monitor.envolver(conexionSimulada(0, 0));
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("UPDATE usuarios SET password_hash = 'secreto' WHERE id = 7");
+            stmt.executeUpdate("UPDATE usuarios SET password_hash = 'otro' WHERE id = 8");
+        }
+
+        assertEquals(1, monitor.getEstadisticas().size());
+        EstadisticaConsulta estadistica = monitor.getEstadisticas().get(0);
+        assertEquals(2, estadistica.getEjecuciones());
+        assertFalse(estadistica.getPlantilla().contains("secreto"));
+    }
+
+    @Test
+    @DisplayName("Cuenta las consultas que superan el umbral de lentitud")
+    void testConsultasLentas() throws SQLException {
+        MonitorConsultas monitor = new MonitorConsultas(true, 20, 10);
+        try (Connection connection = monitor.envolver(conexionSimulada(0, 30));
+             PreparedStatement stmt = connection.prepareStatement(SQL_ROLES)) {
+            stmt.executeQuery();
+        }
+
+        EstadisticaConsulta estadistica = monitor.getEstadisticas().get(0);
+        assertEquals(1, estadistica.getLentas());
+        assertTrue(estadistica.getLatencia().getMaximoNanos() >= 20_000_000);
+    }
+
+    @Test
+    @DisplayName("Los resultados devuelven la sentencia envuelta; las claves generadas no suman filas")
+    void testResultadosConservanSentenciaEnvuelta() throws SQLException {
+        MonitorConsultas monitor = new MonitorConsultas(true, 500, 10);
+        try (Connection connection = monitor.envolver(conexionSimulada(2, 0));
+             PreparedStatement stmt = connection.prepareStatement(SQL_ROLES)) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertSame(stmt, rs.getStatement());
+                assertSame(connection, rs.getStatement().getConnection());
+                while (rs.next()) {
+                    assertEquals("valor", rs.getString(1));
+                }
+            }
+            try (ResultSet claves = stmt.getGeneratedKeys()) {
+                assertSame(stmt, claves.getStatement());
+                while (claves.next()) {
+                    claves.getInt(1);
+                }
+            }
+        }
+
+        assertEquals(2, monitor.getEstadisticas().get(0).getFilas());
+    }
+
+    @Test
+    @DisplayName("Deshabilitado devuelve la misma conexión")
+    void testDeshabilitado() {
+        MonitorConsultas monitor = new MonitorConsultas(false, 500, 10);
+        Connection connection = conexionSimulada(0, 0);
+        assertSame(connection, monitor.envolver(connection));
+    }
+
+    private static void ejecutarVarias(MonitorConsultas monitor, int veces) throws SQLException {
+        try (Connection connection = monitor.envolver(conexionSimulada(0, 0))) {
+            for (int i = 0; i < veces; i++) {
+                try (PreparedStatement stmt = connection.prepareStatement(SQL_ROLES)) {
+                    stmt.executeQuery();
+                }
+            }
+        }
+    }
+
+    /**
+     * Conexión simulada: cada consulta devuelve la cantidad de filas indicada
+     * tras esperar la demora indicada.
+     */
+    static Connection conexionSimulada(int filas, long demoraMs) {
+        return (Connection) Proxy.newProxyInstance(MonitorConsultasTest.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "prepareStatement" -> sentenciaSimulada(PreparedStatement.class, filas, demoraMs);
+                case "createStatement" -> sentenciaSimulada(Statement.class, filas, demoraMs);
+                default -> valorPorDefecto(method.getReturnType());
+            });
+    }
+
+    private static Object sentenciaSimulada(Class<? extends Statement> tipo, int filas, long demoraMs) {
+        return Proxy.newProxyInstance(MonitorConsultasTest.class.getClassLoader(), new Class<?>[]{tipo},
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("execute") && demoraMs > 0) {
+                    Thread.sleep(demoraMs);
+                }
+                return switch (method.getName()) {
+                    case "executeQuery", "getGeneratedKeys" -> resultadosSimulados(filas);
+                    case "executeUpdate" -> 1;
+                    default -> valorPorDefecto(method.getReturnType());
+                };
+            });
+    }
+
+    private static ResultSet resultadosSimulados(int filas) {
+        int[] restantes = {filas};
+        return (ResultSet) Proxy.newProxyInstance(MonitorConsultasTest.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "next" -> restantes[0]-- > 0;
+                case "getString" -> "valor";
+                default -> valorPorDefecto(method.getReturnType());
+            });
+    }
+
+    private static Object valorPorDefecto(Class<?> tipo) {
+        if (tipo == boolean.class) return false;
+        if (tipo == int.class) return 0;
+        if (tipo == long.class) return 0L;
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package pe.crediactiva.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Pruebas unitarias para RegistroMetricas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class RegistroMetricasTest {
+
+    @Test
+    @DisplayName("Los percentiles del histograma tienen error relativo menor a 12,5 %")
+    void testPrecisionDelHistograma() {
+        HistogramaMetrica histograma = new HistogramaMetrica();
+        for (int micros = 1; micros <= 100_000; micros++) {
+            histograma.registrar(micros * 1_000L);
+        }
+
+        assertEquals(100_000, histograma.getCantidad());
+        assertEquals(100_000_000L, histograma.getMaximoNanos());
+        for (double percentil : new double[]{50, 90, 99}) {
+            double esperado = percentil * 1_000 * 1_000;
+            double error = Math.abs(histograma.getPercentilNanos(percentil) - esperado) / esperado;
+            assertTrue(error < 0.125, "Percentil " + percentil + " con error " + error);
+        }
+
+        // Cada cubeta empieza donde termina la anterior
+        for (long micros = 1; micros < 1L << 36; micros = micros * 3 + 1) {
+            int indice = HistogramaMetrica.indice(micros);
+            assertTrue(HistogramaMetrica.limiteInferiorMicros(indice) <= micros);
+            assertTrue(HistogramaMetrica.limiteInferiorMicros(indice + 1) > micros);
+        }
+    }
+
+    @Test
+    @DisplayName("El registro concurrente no pierde mediciones")
+    void testRegistroConcurrente() throws InterruptedException {
+        RegistroMetricas registro = new RegistroMetricas();
+        int hilos = 8;
+        int mediciones = 50_000;
+        CountDownLatch listos = new CountDownLatch(1);
+        List<Thread> trabajadores = new ArrayList<>();
+
+        for (int h = 0; h < hilos; h++) {
+            Thread hilo = new Thread(() -> {
+                try {
+                    listos.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Cada hilo obtiene las métricas del registro, como el código instrumentado
+                Contador contador = registro.contador("prueba_total", "Prueba", "tipo", "a");
+                HistogramaMetrica histograma = registro.histograma("prueba_segundos", "Prueba");
+                for (int i = 0; i < mediciones; i++) {
+                    contador.incrementar();
+                    histograma.registrar(i);
+                }
+            });
+            hilo.start();
+            trabajadores.add(hilo);
+        }
+        listos.countDown();
+        for (Thread hilo : trabajadores) {
+            hilo.join();
+        }
+
+        assertEquals((long) hilos * mediciones, registro.contador("prueba_total", "Prueba", "tipo", "a").getValor());
+        assertEquals((long) hilos * mediciones, registro.histograma("prueba_segundos", "Prueba").getCantidad());
+    }
+
+    @Test
+    @DisplayName("Exporta el formato de texto de Prometheus")
+    void testFormatoPrometheus() {
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.contador("crediactiva_logins_total", "Intentos de login", "resultado", "exitoso").incrementar(3);
+        registro.contador("crediactiva_logins_total", "Intentos de login", "resultado", "fallido").incrementar();
+        registro.medidor("crediactiva_bd_disponible", "Disponibilidad", () -> 1);
+        registro.histograma("crediactiva_busqueda_segundos", "Búsquedas", "termino", "a\"b").registrar(2_048_000);
+
+        String texto = registro.exportarPrometheus();
+
+        assertTrue(texto.contains("# TYPE crediactiva_logins_total counter\n"));
+        assertTrue(texto.contains("crediactiva_logins_total{resultado=\"exitoso\"} 3\n"));
+        assertTrue(texto.contains("crediactiva_logins_total{resultado=\"fallido\"} 1\n"));
+        assertTrue(texto.contains("# TYPE crediactiva_bd_disponible gauge\ncrediactiva_bd_disponible 1\n"));
+        assertTrue(texto.contains("# TYPE crediactiva_busqueda_segundos summary\n"));
+        assertTrue(texto.contains("crediactiva_busqueda_segundos{termino=\"a\\\"b\",quantile=\"0.5\"} 0.002048\n"));
+        assertTrue(texto.contains("crediactiva_busqueda_segundos_count{termino=\"a\\\"b\"} 1\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> registro.histograma("crediactiva_logins_total", "x"));
+        assertThrows(IllegalArgumentException.class, () -> registro.contador("impar_total", "x", "solo-clave"));
+    }
+
+    @Test
+    @DisplayName("El endpoint sirve /metrics en localhost y responde 404 en otras rutas")
+    void testServidorMetricas() throws IOException {
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.contador("crediactiva_prueba_total", "Prueba").incrementar();
+        ServidorMetricas servidor = new ServidorMetricas(registro);
+        servidor.iniciar(0);
+        try {
+            HttpURLConnection conexion = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + servidor.getPuerto() + "/metrics").openConnection();
+            assertEquals(200, conexion.getResponseCode());
+            assertTrue(conexion.getContentType().startsWith("text/plain; version=0.0.4"));
+            try (InputStream entrada = conexion.getInputStream()) {
+                String cuerpo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(cuerpo.contains("crediactiva_prueba_total 1"));
+            }
+
+            HttpURLConnection otra = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + servidor.getPuerto() + "/otra").openConnection();
+            assertEquals(404, otra.getResponseCode());
+        } finally {
+            servidor.detener();
+        }
+        assertFalse(servidor.isActivo());
+    }
+}
@@ -0,0 +1,164 @@
+package pe.crediactiva.report;
+
+import pe.crediactiva.model.CronogramaPago;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark de memoria y velocidad de escaneo: modelo de objetos (CronogramaPago)
+ * frente a CarteraSnapshot. No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.report.CarteraSnapshotBenchmark 300000
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class CarteraSnapshotBenchmark {
+
+    private static final LocalDate CORTE = LocalDate.of(2024, 6, 30);
+    private static final int ASESORES = 50;
+    private static final int ITERACIONES = 20;
+
+    public static void main(String[] args) {
+        int cuotas = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        System.out.printf("Cuotas: %,d%n", cuotas);
+
+        long antes = memoriaUsada();
+        List<CronogramaPago> objetos = generarObjetos(cuotas);
+        int[] asesorPorPrestamo = generarAsesores(cuotas);
+        long memoriaObjetos = memoriaUsada() - antes;
+
+        antes = memoriaUsada();
+        CarteraSnapshot.Builder builder = new CarteraSnapshot.Builder(cuotas);
+        for (CronogramaPago cuota : objetos) {
+            int asesor = asesorPorPrestamo[cuota.getPrestamoId()];
+            builder.agregar(cuota, asesor, cuota.getPrestamoId(), EstadoPrestamo.ACTIVO);
+        }
+        CarteraSnapshot snapshot = builder.build();
+        builder = null;
+        long memoriaSnapshot = memoriaUsada() - antes;
+
+        System.out.printf("Memoria objetos:  %,d bytes (%d bytes/cuota)%n", memoriaObjetos, memoriaObjetos / cuotas);
+        System.out.printf("Memoria snapshot: %,d bytes (%d bytes/cuota, estimado %d)%n",
+                memoriaSnapshot, memoriaSnapshot / cuotas, snapshot.estimarBytes() / cuotas);
+
+        // Calentamiento y medición
+        long checksum = 0;
+        for (int i = 0; i < ITERACIONES; i++) {
+            checksum += tramosObjetos(objetos)[1].longValue();
+            checksum += snapshot.sumarPendientePorTramo(CORTE)[1];
+        }
+
+        medir("Tramos de mora   (objetos) ", cuotas, () -> tramosObjetos(objetos)[0].longValue());
+        medir("Tramos de mora   (snapshot)", cuotas, () -> snapshot.sumarPendientePorTramo(CORTE)[0]);
+        medir("Pendiente/asesor (objetos) ", cuotas, () -> porAsesorObjetos(objetos, asesorPorPrestamo).size());
+        medir("Pendiente/asesor (snapshot)", cuotas, () -> snapshot.sumarPendientePorAsesor().size());
+        medir("Vence en rango   (objetos) ", cuotas, () -> rangoObjetos(objetos).longValue());
+        medir("Vence en rango   (snapshot)", cuotas,
+                () -> snapshot.sumarPendienteVenceEntre(CORTE, CORTE.plusDays(30)));
+
+        System.out.println("checksum " + checksum + " " + objetos.size());
+    }
+
+    private static void medir(String nombre, int cuotas, java.util.function.LongSupplier operacion) {
+        long sumidero = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            sumidero += operacion.getAsLong();
+        }
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0 / ITERACIONES;
+        System.out.printf("%s %8.2f ms/escaneo  %,12.0f cuotas/s  (%d)%n",
+                nombre, ms, cuotas / (ms / 1000.0), sumidero);
+    }
+
+    private static BigDecimal[] tramosObjetos(List<CronogramaPago> cuotas) {
+        BigDecimal[] totales = new BigDecimal[TramoMora.values().length];
+        java.util.Arrays.fill(totales, BigDecimal.ZERO);
+        for (CronogramaPago c : cuotas) {
+            if (!c.isPagado()) {
+                int dias = (int) ChronoUnit.DAYS.between(c.getFechaVencimiento(), CORTE);
+                int t = TramoMora.indiceDe(dias);
+                totales[t] = totales[t].add(c.getMontoCuota().subtract(c.getMontoPagado()));
+            }
+        }
+        return totales;
+    }
+
+    private static Map<Integer, BigDecimal> porAsesorObjetos(List<CronogramaPago> cuotas, int[] asesorPorPrestamo) {
+        Map<Integer, BigDecimal> totales = new HashMap<>();
+        for (CronogramaPago c : cuotas) {
+            if (!c.isPagado()) {
+                totales.merge(asesorPorPrestamo[c.getPrestamoId()],
+                        c.getMontoCuota().subtract(c.getMontoPagado()), BigDecimal::add);
+            }
+        }
+        return totales;
+    }
+
+    private static BigDecimal rangoObjetos(List<CronogramaPago> cuotas) {
+        LocalDate hasta = CORTE.plusDays(30);
+        BigDecimal total = BigDecimal.ZERO;
+        for (CronogramaPago c : cuotas) {
+            LocalDate fv = c.getFechaVencimiento();
+            if (!c.isPagado() && !fv.isBefore(CORTE) && !fv.isAfter(hasta)) {
+                total = total.add(c.getMontoCuota().subtract(c.getMontoPagado()));
+            }
+        }
+        return total;
+    }
+
+    private static List<CronogramaPago> generarObjetos(int cuotas) {
+        Random random = new Random(42);
+        List<CronogramaPago> lista = new ArrayList<>(cuotas);
+        for (int i = 0; i < cuotas; i++) {
+            int prestamoId = i / 12;
+            BigDecimal monto = BigDecimal.valueOf(10_000 + random.nextInt(90_000), 2);
+            BigDecimal interes = BigDecimal.valueOf(random.nextInt(5_000), 2);
+            CronogramaPago c = new CronogramaPago(prestamoId, i % 12 + 1,
+                    CORTE.plusDays(random.nextInt(720) - 360), monto, monto.subtract(interes), interes,
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            c.setId(i + 1);
+            if (random.nextInt(3) == 0) {
+                c.setPagado(true);
+                c.setMontoPagado(monto);
+                c.setFechaPago(c.getFechaVencimiento());
+            }
+            lista.add(c);
+        }
+        return lista;
+    }
+
+    private static int[] generarAsesores(int cuotas) {
+        Random random = new Random(7);
+        int[] asesores = new int[cuotas / 12 + 1];
+        for (int i = 0; i < asesores.length; i++) {
+            asesores[i] = 1 + random.nextInt(ASESORES);
+        }
+        return asesores;
+    }
+
+    private static long memoriaUsada() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
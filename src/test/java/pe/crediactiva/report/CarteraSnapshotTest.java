@@ -0,0 +1,159 @@
+package pe.crediactiva.report;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.CronogramaPago;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para CarteraSnapshot.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class CarteraSnapshotTest {
+    
+    private static final LocalDate CORTE = LocalDate.of(2024, 6, 30);
+    
+    private CarteraSnapshot snapshot;
+    
+    @BeforeEach
+    void setUp() {
+        snapshot = new CarteraSnapshot.Builder()
+            // Asesor 10: una cuota al día, una con 15 días y otra pagada
+            .agregar(cuota(3, 1, CORTE.plusDays(5), "100.00", "0.00", false), 10, 100, EstadoPrestamo.ACTIVO)
+            .agregar(cuota(1, 1, CORTE.minusDays(15), "100.00", "40.00", false), 10, 100, EstadoPrestamo.ACTIVO)
+            .agregar(cuota(2, 1, CORTE.minusDays(45), "100.00", "100.00", true), 10, 100, EstadoPrestamo.ACTIVO)
+            // Asesor 20: una cuota con más de 90 días de atraso
+            .agregar(cuota(4, 2, CORTE.minusDays(120), "250.50", "0.00", false), 20, 200, EstadoPrestamo.VENCIDO)
+            .marcaAgua(LocalDateTime.of(2024, 6, 30, 10, 0))
+            .build();
+    }
+    
+    @Test
+    @DisplayName("Las filas se ordenan por ID de cuota")
+    void testOrdenPorCuotaId() {
+        assertEquals(4, snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(i + 1, snapshot.getCuotaId(i));
+        }
+        assertEquals(EstadoPrestamo.VENCIDO, snapshot.getEstadoPrestamo(3));
+        assertEquals(CORTE.minusDays(45), snapshot.getFechaVencimiento(1));
+    }
+    
+    @Test
+    @DisplayName("Saldo pendiente agrupado por tramo de mora")
+    void testSumarPendientePorTramo() {
+        long[] tramos = snapshot.sumarPendientePorTramo(CORTE);
+        
+        assertEquals(10000L, tramos[TramoMora.AL_DIA.ordinal()]);
+        assertEquals(6000L, tramos[TramoMora.DE_1_A_30.ordinal()]);
+        assertEquals(0L, tramos[TramoMora.DE_31_A_60.ordinal()]);
+        assertEquals(25050L, tramos[TramoMora.MAS_DE_90.ordinal()]);
+        
+        int[] conteos = snapshot.contarPorTramo(CORTE);
+        assertEquals(1, conteos[TramoMora.AL_DIA.ordinal()]);
+        assertEquals(1, conteos[TramoMora.MAS_DE_90.ordinal()]);
+    }
+    
+    @Test
+    @DisplayName("Saldo pendiente y cobrado por asesor")
+    void testSumarPorAsesor() {
+        Map<Integer, Long> pendiente = snapshot.sumarPendientePorAsesor();
+        assertEquals(16000L, pendiente.get(10));
+        assertEquals(25050L, pendiente.get(20));
+        
+        Map<Integer, Long> cobrado = snapshot.sumarCobradoPorAsesor();
+        assertEquals(14000L, cobrado.get(10));
+        assertEquals(0L, cobrado.get(20));
+        
+        assertEquals(41050L, snapshot.sumarPendienteTotal());
+    }
+    
+    @Test
+    @DisplayName("Saldo pendiente por rango de vencimiento")
+    void testSumarPendienteVenceEntre() {
+        assertEquals(16000L, snapshot.sumarPendienteVenceEntre(CORTE.minusDays(30), CORTE.plusDays(30)));
+        assertEquals(2, snapshot.contarVenceEntre(CORTE.minusDays(30), CORTE.plusDays(30)));
+        assertEquals(0L, snapshot.sumarPendienteVenceEntre(CORTE.plusDays(6), CORTE.plusDays(60)));
+    }
+    
+    @Test
+    @DisplayName("Aplicar delta reemplaza filas existentes y agrega nuevas")
+    void testAplicarDelta() {
+        CarteraSnapshot delta = new CarteraSnapshot.Builder()
+            .agregar(cuota(1, 1, CORTE.minusDays(15), "100.00", "100.00", true), 10, 100, EstadoPrestamo.ACTIVO)
+            .agregar(cuota(5, 3, CORTE.plusDays(10), "80.00", "0.00", false), 30, 300, EstadoPrestamo.ACTIVO)
+            .marcaAgua(LocalDateTime.of(2024, 7, 1, 8, 0))
+            .build();
+        
+        CarteraSnapshot nuevo = snapshot.aplicarDelta(delta);
+        
+        assertEquals(5, nuevo.size());
+        assertTrue(nuevo.isPagado(0));
+        assertEquals(5, nuevo.getCuotaId(4));
+        assertEquals(LocalDateTime.of(2024, 7, 1, 8, 0), nuevo.getMarcaAgua());
+        assertEquals(10000L + 25050L + 8000L, nuevo.sumarPendienteTotal());
+        
+        // La fotografía original no cambia
+        assertEquals(4, snapshot.size());
+        assertFalse(snapshot.isPagado(0));
+    }
+    
+    @Test
+    @DisplayName("Las cuotas abiertas de un préstamo cancelado no cuentan como pendientes")
+    void testPrestamoCanceladoNoEsPendiente() {
+        CarteraSnapshot delta = new CarteraSnapshot.Builder()
+            .agregar(cuota(4, 2, CORTE.minusDays(120), "250.50", "0.00", false), 20, 200, EstadoPrestamo.CANCELADO)
+            .build();
+        
+        CarteraSnapshot nuevo = snapshot.aplicarDelta(delta);
+        
+        assertEquals(16000L, nuevo.sumarPendienteTotal());
+        assertEquals(0L, nuevo.sumarPendientePorTramo(CORTE)[TramoMora.MAS_DE_90.ordinal()]);
+        assertEquals(0L, nuevo.sumarPendientePorAsesor().get(20));
+        assertFalse(nuevo.isPagado(3));
+    }
+    
+    @Test
+    @DisplayName("IDs repetidos en el builder conservan la última fila")
+    void testDuplicadosConservanUltimaFila() {
+        CarteraSnapshot conDuplicados = new CarteraSnapshot.Builder()
+            .agregar(cuota(7, 1, CORTE, "50.00", "0.00", false), 10, 100, EstadoPrestamo.ACTIVO)
+            .agregar(cuota(7, 1, CORTE, "50.00", "50.00", true), 10, 100, EstadoPrestamo.PAGADO)
+            .build();
+        
+        assertEquals(1, conDuplicados.size());
+        assertTrue(conDuplicados.isPagado(0));
+        assertEquals(EstadoPrestamo.PAGADO, conDuplicados.getEstadoPrestamo(0));
+    }
+    
+    @Test
+    @DisplayName("Conversión de montos a céntimos y fechas a día epoch")
+    void testConversiones() {
+        assertEquals(12346L, CarteraSnapshot.aCentimos(new BigDecimal("123.455")));
+        assertEquals(0L, CarteraSnapshot.aCentimos(null));
+        assertEquals(new BigDecimal("123.46"), CarteraSnapshot.deCentimos(12346L));
+        assertEquals(CarteraSnapshot.SIN_FECHA, CarteraSnapshot.aDiaEpoch(null));
+        assertNull(CarteraSnapshot.deDiaEpoch(CarteraSnapshot.SIN_FECHA));
+        assertEquals(CORTE, CarteraSnapshot.deDiaEpoch(CarteraSnapshot.aDiaEpoch(CORTE)));
+    }
+    
+    private static CronogramaPago cuota(int id, int prestamoId, LocalDate vencimiento, 
+                                        String monto, String pagado, boolean estaPagado) {
+        BigDecimal montoCuota = new BigDecimal(monto);
+        CronogramaPago cuota = new CronogramaPago(prestamoId, id, vencimiento, montoCuota, 
+                                                  montoCuota, BigDecimal.ZERO, BigDecimal.ZERO);
+        cuota.setId(id);
+        cuota.setMontoPagado(new BigDecimal(pagado));
+        cuota.setPagado(estaPagado);
+        return cuota;
+    }
+}
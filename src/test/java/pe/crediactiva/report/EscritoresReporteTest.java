@@ -0,0 +1,116 @@
+package pe.crediactiva.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Pruebas unitarias para los escritores de reportes CSV y XLSX.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class EscritoresReporteTest {
+    
+    private static final List<ColumnaReporte> COLUMNAS = List.of(
+        ColumnaReporte.entero("ID"),
+        ColumnaReporte.texto("Nombre"),
+        ColumnaReporte.monto("Monto"),
+        ColumnaReporte.fecha("Fecha"),
+        ColumnaReporte.booleano("Activo")
+    );
+    
+    private final FormatoValores formato = new FormatoValores("dd/MM/yyyy", "#,##0.00", "es_PE");
+    
+    @Test
+    @DisplayName("CSV: encabezado con BOM y comillas solo donde se necesitan")
+    void testCsvComillas() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EscritorCsv escritor = new EscritorCsv(bytes, formato)) {
+            escritor.escribirEncabezado(COLUMNAS);
+            escritor.escribirFila(new Object[]{1L, "Pérez, \"Juan\"", new BigDecimal("1234.5"), 
+                                               LocalDate.of(2024, 3, 5), true});
+            escritor.escribirFila(new Object[]{2L, "Ana", null, null, false});
+        }
+        
+        String csv = bytes.toString(StandardCharsets.UTF_8);
+        String[] lineas = csv.substring(1).split("\r\n");
+        
+        assertEquals('\uFEFF', csv.charAt(0));
+        assertEquals("ID,Nombre,Monto,Fecha,Activo", lineas[0]);
+        assertEquals("1,\"Pérez, \"\"Juan\"\"\",\"1,234.50\",05/03/2024,SI", lineas[1]);
+        assertEquals("2,Ana,,,NO", lineas[2]);
+    }
+    
+    @Test
+    @DisplayName("XLSX: estructura del paquete y celdas tipadas")
+    void testXlsxEstructura() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EscritorXlsx escritor = new EscritorXlsx(bytes, "Usuarios", formato, 100)) {
+            escritor.escribirEncabezado(COLUMNAS);
+            escritor.escribirFila(new Object[]{7L, "A & B <C>", null, 
+                                               LocalDate.of(2024, 1, 1), true});
+            escritor.escribirFila(new Object[]{8L, null, new BigDecimal("10.50"), null, null});
+        }
+        
+        Map<String, String> entradas = leerZip(bytes.toByteArray());
+        
+        assertTrue(entradas.containsKey("[Content_Types].xml"));
+        assertTrue(entradas.containsKey("_rels/.rels"));
+        assertTrue(entradas.containsKey("xl/workbook.xml"));
+        assertTrue(entradas.containsKey("xl/_rels/workbook.xml.rels"));
+        assertTrue(entradas.containsKey("xl/styles.xml"));
+        assertTrue(entradas.get("xl/workbook.xml").contains("name=\"Usuarios\""));
+        
+        String hoja = entradas.get("xl/worksheets/sheet1.xml");
+        assertTrue(hoja.contains("<c r=\"A2\"><v>7</v></c>"));
+        assertTrue(hoja.contains("A &amp; B &lt;C&gt;"));
+        // 2024-01-01 es el serial 45292 en Excel; la celda nula no desplaza la fecha
+        assertTrue(hoja.contains("<c r=\"D2\" s=\"3\"><v>45292</v></c>"));
+        assertTrue(hoja.contains("<c r=\"C3\" s=\"2\"><v>10.50</v></c>"));
+    }
+    
+    @Test
+    @DisplayName("XLSX: se crea una hoja nueva al superar el límite de filas")
+    void testXlsxNuevaHoja() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EscritorXlsx escritor = new EscritorXlsx(bytes, "Cuotas", formato, 3)) {
+            escritor.escribirEncabezado(COLUMNAS);
+            for (long i = 1; i <= 5; i++) {
+                escritor.escribirFila(new Object[]{i, "Fila " + i, null, null, null});
+            }
+        }
+        
+        Map<String, String> entradas = leerZip(bytes.toByteArray());
+        
+        // 3 filas por hoja incluyendo el encabezado: 2 + 2 + 1 filas de datos
+        assertTrue(entradas.containsKey("xl/worksheets/sheet3.xml"));
+        assertFalse(entradas.containsKey("xl/worksheets/sheet4.xml"));
+        assertTrue(entradas.get("xl/worksheets/sheet2.xml").contains("<t xml:space=\"preserve\">ID</t>"));
+        assertTrue(entradas.get("xl/workbook.xml").contains("name=\"Cuotas 3\""));
+        assertTrue(entradas.get("[Content_Types].xml").contains("/xl/worksheets/sheet3.xml"));
+    }
+    
+    private static Map<String, String> leerZip(byte[] contenido) throws IOException {
+        Map<String, String> entradas = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(contenido))) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                entradas.put(entrada.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entradas;
+    }
+}
@@ -0,0 +1,88 @@
+package pe.crediactiva.report;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Benchmark de exportación en streaming: escribe N filas sintéticas del reporte de
+ * cuotas con cada formato y muestra el tiempo y el pico de memoria. Con un heap
+ * acotado (-Xmx64m) debe completar sin importar el número de filas.
+ * No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Xmx64m -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.report.ExportacionBenchmark 1000000
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class ExportacionBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        FormatoValores formato = new FormatoValores("dd/MM/yyyy", "#,##0.00", "es_PE");
+        System.out.printf("Filas: %,d | Heap máximo: %,d MB%n", filas, Runtime.getRuntime().maxMemory() >> 20);
+
+        for (FormatoReporte tipo : FormatoReporte.values()) {
+            Path archivo = Files.createTempFile("exportacion_", "." + tipo.getExtension());
+            try {
+                long inicio = System.nanoTime();
+                long pico = exportar(tipo, archivo, filas, formato);
+                long ms = (System.nanoTime() - inicio) / 1_000_000;
+                System.out.printf("%-5s %,8d ms | %,10d KB | pico heap %,d MB%n",
+                                  tipo.getExtension(), ms, Files.size(archivo) >> 10, pico >> 20);
+            } finally {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+
+    private static long exportar(FormatoReporte tipo, Path archivo, int filas, FormatoValores formato) throws IOException {
+        List<ColumnaReporte> columnas = TipoReporte.CUOTAS.getColumnas();
+        Object[] valores = new Object[columnas.size()];
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        long pico = 0;
+
+        try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(archivo));
+             EscritorReporte escritor = tipo == FormatoReporte.CSV ? new EscritorCsv(salida, formato) :
+                                        new EscritorXlsx(salida, TipoReporte.CUOTAS.getNombre(), formato,
+                                                         EscritorXlsx.MAX_FILAS_POR_HOJA)) {
+            escritor.escribirEncabezado(columnas);
+
+            // Se reutiliza el mismo arreglo, igual que el cursor del DAO
+            for (int i = 0; i < filas; i++) {
+                valores[0] = (long) i + 1;
+                valores[1] = "P" + (100_000 + i / 12);
+                valores[2] = (long) (i % 12) + 1;
+                valores[3] = base.plusDays(i % 720);
+                valores[4] = BigDecimal.valueOf(105_000 + i % 5_000, 2);
+                valores[5] = BigDecimal.valueOf(90_000 + i % 3_000, 2);
+                valores[6] = BigDecimal.valueOf(15_000 + i % 2_000, 2);
+                valores[7] = BigDecimal.valueOf(1_000_000 - i % 900_000, 2);
+                valores[8] = i % 3 == 0;
+                valores[9] = i % 3 == 0 ? base.plusDays(i % 700) : null;
+                valores[10] = i % 3 == 0 ? valores[4] : BigDecimal.ZERO;
+                valores[11] = (long) (i % 7);
+                escritor.escribirFila(valores);
+
+                if (i % 100_000 == 0) {
+                    pico = Math.max(pico, memoriaUsada());
+                }
+            }
+        }
+        return Math.max(pico, memoriaUsada());
+    }
+
+    private static long memoriaUsada() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
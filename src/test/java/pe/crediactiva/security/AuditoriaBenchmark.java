@@ -0,0 +1,66 @@
+package pe.crediactiva.security;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Benchmark del registro de auditoría: mide el costo por evento que paga el hilo
+ * de la operación (encolar) y el rendimiento del escritor contra un DAO simulado
+ * con latencia fija por lote. No es una prueba unitaria; se ejecuta manualmente:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.security.AuditoriaBenchmark 200000 5
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class AuditoriaBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int eventos = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long latenciaLoteMs = args.length > 1 ? Long.parseLong(args[1]) : 5;
+        Path archivo = Files.createTempFile("auditoria_", ".log");
+        Files.delete(archivo);
+
+        EventoAuditoria evento = new EventoAuditoria("usuarios", 1, AccionAuditoria.UPDATE,
+                                                     "{\"activo\":true}", "{\"activo\":false}",
+                                                     1, "127.0.0.1", LocalDateTime.now());
+
+        // Lote simulado: latencia fija de ida y vuelta a la base de datos
+        RegistroAuditoria registro = new RegistroAuditoria(lote -> {
+            try {
+                Thread.sleep(latenciaLoteMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }, archivo, 10_000, 200, 500, 50);
+        registro.iniciar();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < eventos; i++) {
+            registro.publicar(evento);
+        }
+        long encolado = System.nanoTime() - inicio;
+
+        while (registro.getEventosGuardados() + registro.getEventosEnArchivo() < eventos) {
+            Thread.sleep(10);
+        }
+        long total = System.nanoTime() - inicio;
+        registro.detener(5000);
+
+        System.out.printf("Eventos: %,d | latencia simulada por lote: %d ms%n", eventos, latenciaLoteMs);
+        System.out.printf("Encolar: %,d ns/evento (hilo de la operación)%n", encolado / eventos);
+        System.out.printf("Persistidos: %,d en %,d ms (%,.0f eventos/s) | a pendientes: %,d%n",
+                          registro.getEventosGuardados(), total / 1_000_000,
+                          registro.getEventosGuardados() * 1e9 / total, registro.getEventosEnArchivo());
+        System.out.printf("Escritura síncrona equivalente (1 fila por viaje): ~%,d ms%n",
+                          eventos * latenciaLoteMs);
+        Files.deleteIfExists(archivo);
+    }
+}
@@ -0,0 +1,119 @@
+package pe.crediactiva.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PermisosSesion y MatrizPermisos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class PermisosSesionTest {
+
+    // Nombres como pueden venir de la tabla roles, incluido uno que no es del sistema
+    private static final String[] NOMBRES_ROL = {"ADMINISTRADOR", "asesor", "Cliente", "AUDITOR"};
+
+    @Test
+    @DisplayName("La máscara da el mismo resultado que recorrer los roles en todas las combinaciones")
+    void testParidadConRecorridoDeRoles() {
+        MatrizPermisos matriz = new MatrizPermisos(Map::of);
+        // Cada nombre puede faltar, estar activo o estar inactivo
+        int combinaciones = (int) Math.pow(3, NOMBRES_ROL.length);
+        for (int combinacion = 0; combinacion < combinaciones; combinacion++) {
+            Usuario usuario = new Usuario("u", "u@crediactiva.pe", "hash", "Nombre", "Apellido");
+            int resto = combinacion;
+            for (String nombre : NOMBRES_ROL) {
+                int estado = resto % 3;
+                resto /= 3;
+                if (estado > 0) {
+                    Rol rol = new Rol(nombre, nombre);
+                    rol.setActivo(estado == 1);
+                    usuario.getRoles().add(rol);
+                }
+            }
+
+            PermisosSesion permisos = PermisosSesion.de(usuario, matriz);
+            for (TipoRol tipo : TipoRol.values()) {
+                boolean esperado = usuario.getRoles().stream()
+                    .anyMatch(rol -> rol.getNombre().equalsIgnoreCase(tipo.name()) && rol.isActivo());
+                assertEquals(esperado, usuario.tieneRol(tipo), "Usuario.tieneRol " + tipo + " en " + combinacion);
+                assertEquals(esperado, permisos.tieneRol(tipo), "PermisosSesion " + tipo + " en " + combinacion);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sin permisos en la base de datos se usan los permisos por defecto")
+    void testPermisosPorDefecto() {
+        MatrizPermisos matriz = new MatrizPermisos(Map::of);
+        PermisosSesion asesor = PermisosSesion.de(usuarioCon(TipoRol.ASESOR), matriz);
+
+        assertTrue(asesor.tienePermiso(Permiso.CREAR_SOLICITUDES));
+        assertTrue(asesor.tienePermiso(Permiso.REGISTRAR_PAGOS));
+        assertFalse(asesor.tienePermiso(Permiso.GESTIONAR_USUARIOS));
+        assertFalse(PermisosSesion.NINGUNO.tienePermiso(Permiso.CREAR_SOLICITUDES));
+
+        MatrizPermisos sinBaseDatos = new MatrizPermisos(() -> {
+            throw new IllegalStateException("sin conexión");
+        });
+        assertTrue(PermisosSesion.de(usuarioCon(TipoRol.ADMINISTRADOR), sinBaseDatos)
+                       .tienePermiso(Permiso.GESTIONAR_USUARIOS));
+    }
+
+    @Test
+    @DisplayName("Los permisos leídos se guardan hasta invalidar la matriz")
+    void testPermisosDesdeBaseDatos() {
+        AtomicInteger lecturas = new AtomicInteger();
+        MatrizPermisos matriz = new MatrizPermisos(() -> {
+            lecturas.incrementAndGet();
+            return Map.of("ASESOR", List.of("VER_PRESTAMOS_ASIGNADOS", "PERMISO_RETIRADO"),
+                          "CLIENTE", List.of("VER_PRESTAMOS_PROPIOS"));
+        });
+        Usuario usuario = usuarioCon(TipoRol.ASESOR);
+        usuario.getRoles().add(new Rol(TipoRol.CLIENTE));
+
+        PermisosSesion permisos = PermisosSesion.de(usuario, matriz);
+        assertTrue(permisos.tienePermiso(Permiso.VER_PRESTAMOS_ASIGNADOS));
+        assertTrue(permisos.tienePermiso(Permiso.VER_PRESTAMOS_PROPIOS));
+        assertFalse(permisos.tienePermiso(Permiso.CREAR_SOLICITUDES));
+
+        PermisosSesion.de(usuario, matriz);
+        assertEquals(1, lecturas.get());
+        matriz.invalidar();
+        PermisosSesion.de(usuario, matriz);
+        assertEquals(2, lecturas.get());
+    }
+
+    @Test
+    @DisplayName("Tras un fallo de lectura los permisos por defecto no se guardan")
+    void testReintentoTrasFallo() {
+        AtomicInteger lecturas = new AtomicInteger();
+        MatrizPermisos matriz = new MatrizPermisos(() -> {
+            if (lecturas.incrementAndGet() == 1) {
+                throw new IllegalStateException("sin conexión");
+            }
+            return Map.of("ASESOR", List.of("VER_REPORTE_COMISIONES"));
+        });
+        Usuario asesor = usuarioCon(TipoRol.ASESOR);
+
+        assertFalse(PermisosSesion.de(asesor, matriz).tienePermiso(Permiso.VER_REPORTE_COMISIONES));
+        assertTrue(PermisosSesion.de(asesor, matriz).tienePermiso(Permiso.VER_REPORTE_COMISIONES));
+        assertEquals(2, lecturas.get());
+    }
+
+    private static Usuario usuarioCon(TipoRol tipoRol) {
+        Usuario usuario = new Usuario("u", "u@crediactiva.pe", "hash", "Nombre", "Apellido");
+        usuario.getRoles().add(new Rol(tipoRol));
+        return usuario;
+    }
+}
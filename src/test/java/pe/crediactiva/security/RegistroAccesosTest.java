@@ -0,0 +1,92 @@
+package pe.crediactiva.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para RegistroAccesos.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class RegistroAccesosTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 30, 9, 0);
+
+    @Test
+    @DisplayName("Varios login del mismo usuario se combinan en la fecha más reciente")
+    void testCombinaPorUsuario() {
+        DestinoStub destino = new DestinoStub();
+        RegistroAccesos registro = new RegistroAccesos(destino, 60_000);
+
+        registro.registrar(1, BASE.plusMinutes(5));
+        registro.registrar(1, BASE);
+        registro.registrar(2, BASE);
+        registro.registrar(1, BASE.plusMinutes(3));
+        assertEquals(2, registro.getAccesosPendientes());
+
+        assertTrue(registro.guardarPendientes());
+        assertEquals(1, destino.lotes.size());
+        assertEquals(Map.of(1, BASE.plusMinutes(5), 2, BASE), destino.lotes.get(0));
+        assertEquals(2, registro.getAccesosGuardados());
+        assertEquals(0, registro.getAccesosPendientes());
+    }
+
+    @Test
+    @DisplayName("Un lote fallido vuelve a pendientes sin pisar un login posterior")
+    void testReintentoTrasFallo() {
+        DestinoStub destino = new DestinoStub();
+        destino.disponible = false;
+        RegistroAccesos registro = new RegistroAccesos(destino, 60_000);
+
+        registro.registrar(1, BASE);
+        registro.registrar(2, BASE);
+        assertFalse(registro.guardarPendientes());
+        assertEquals(2, registro.getAccesosPendientes());
+
+        registro.registrar(1, BASE.plusHours(1));
+        destino.disponible = true;
+        assertTrue(registro.guardarPendientes());
+        assertEquals(Map.of(1, BASE.plusHours(1), 2, BASE), destino.lotes.get(0));
+    }
+
+    @Test
+    @DisplayName("Los pendientes se guardan en lotes y al detener")
+    void testLotesYDetener() {
+        DestinoStub destino = new DestinoStub();
+        RegistroAccesos registro = new RegistroAccesos(destino, 60_000);
+        registro.iniciar();
+
+        for (int id = 1; id <= 1200; id++) {
+            registro.registrar(id, BASE.plusSeconds(id));
+        }
+        registro.detener(1000);
+
+        assertEquals(3, destino.lotes.size());
+        assertTrue(destino.lotes.stream().allMatch(lote -> lote.size() <= 500));
+        assertEquals(1200, registro.getAccesosGuardados());
+        assertEquals(0, registro.getAccesosPendientes());
+    }
+
+    private static class DestinoStub implements RegistroAccesos.Destino {
+        final List<Map<Integer, LocalDateTime>> lotes = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean disponible = true;
+
+        @Override
+        public boolean guardar(Map<Integer, LocalDateTime> accesos) {
+            if (!disponible) {
+                return false;
+            }
+            lotes.add(new HashMap<>(accesos));
+            return true;
+        }
+    }
+}
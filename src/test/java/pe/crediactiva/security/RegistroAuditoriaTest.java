@@ -0,0 +1,161 @@
+package pe.crediactiva.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import pe.crediactiva.dao.interfaces.AuditoriaDAO;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para RegistroAuditoria.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class RegistroAuditoriaTest {
+    
+    @TempDir
+    Path directorio;
+    
+    @Test
+    @DisplayName("Los eventos se guardan en lotes del tamaño configurado")
+    void testGuardadoEnLotes() throws InterruptedException {
+        AuditoriaDAOStub dao = new AuditoriaDAOStub();
+        RegistroAuditoria registro = new RegistroAuditoria(dao, directorio.resolve("pendientes.log"), 100, 4, 20, 10);
+        
+        for (int i = 1; i <= 10; i++) {
+            registro.publicar(evento(i));
+        }
+        registro.iniciar();
+        esperarGuardados(registro, 10);
+        registro.detener(1000);
+        
+        assertEquals(10, dao.guardados.size());
+        assertTrue(dao.tamanosLote.stream().allMatch(tamano -> tamano <= 4));
+        assertEquals(0, registro.getEventosEnArchivo());
+    }
+    
+    @Test
+    @DisplayName("Sin base de datos los eventos van a pendientes y se reenvían al reiniciar")
+    void testPendientesSinBaseDeDatos() throws Exception {
+        Path archivo = directorio.resolve("pendientes.log");
+        AuditoriaDAOStub dao = new AuditoriaDAOStub();
+        dao.disponible = false;
+        
+        RegistroAuditoria registro = new RegistroAuditoria(dao, archivo, 100, 5, 20, 10);
+        registro.iniciar();
+        for (int i = 1; i <= 7; i++) {
+            registro.publicar(evento(i));
+        }
+        registro.detener(1000);
+        
+        assertEquals(7, registro.getEventosEnArchivo());
+        assertEquals(7, Files.readAllLines(archivo).size());
+        
+        // Al volver la base de datos, el siguiente arranque reenvía lo pendiente
+        dao.disponible = true;
+        RegistroAuditoria reinicio = new RegistroAuditoria(dao, archivo, 100, 5, 20, 10);
+        reinicio.iniciar();
+        esperarGuardados(reinicio, 7);
+        reinicio.detener(1000);
+        
+        assertFalse(Files.exists(archivo));
+        assertEquals(7, dao.guardados.size());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0, 1), dao.guardados.get(0).getFechaAccion());
+    }
+    
+    @Test
+    @DisplayName("Un evento que falla siempre pasa a cuarentena sin bloquear al resto")
+    void testCuarentenaDeLoteFallido() throws Exception {
+        Path archivo = directorio.resolve("pendientes.log");
+        List<String> lineas = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            lineas.add(RegistroAuditoria.aLinea(evento(i)));
+        }
+        Files.write(archivo, lineas);
+        
+        AuditoriaDAOStub dao = new AuditoriaDAOStub();
+        dao.registroInvalido = 3;
+        RegistroAuditoria registro = new RegistroAuditoria(dao, archivo, 100, 5, 20, 10, 10, 2);
+        registro.iniciar();
+        esperarGuardados(registro, 6);
+        registro.detener(1000);
+        
+        assertEquals(6, dao.guardados.size());
+        assertEquals(1, registro.getEventosEnCuarentena());
+        assertFalse(Files.exists(archivo));
+        assertEquals(List.of(lineas.get(2)), Files.readAllLines(directorio.resolve("pendientes.log.cuarentena")));
+    }
+    
+    @Test
+    @DisplayName("Con la cola llena los eventos no se pierden")
+    void testContrapresion() {
+        Path archivo = directorio.resolve("pendientes.log");
+        RegistroAuditoria registro = new RegistroAuditoria(new AuditoriaDAOStub(), archivo, 2, 5, 20, 5);
+        
+        // Sin hilo escritor la cola no se vacía
+        for (int i = 1; i <= 5; i++) {
+            registro.publicar(evento(i));
+        }
+        
+        assertEquals(2, registro.getEventosEnCola());
+        assertEquals(3, registro.getEventosEnArchivo());
+    }
+    
+    @Test
+    @DisplayName("El formato de pendientes conserva tabuladores, saltos de línea y nulos")
+    void testFormatoPendientes() {
+        EventoAuditoria original = new EventoAuditoria("usuarios", 9, AccionAuditoria.UPDATE,
+                                                       null, "{\"direccion\":\"Av.\\tLima\\n\\\\ 123\"}",
+                                                       3, "10.0.0.5", LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        
+        EventoAuditoria leido = RegistroAuditoria.desdeLinea(RegistroAuditoria.aLinea(original));
+        
+        assertEquals("usuarios", leido.getTablaAfectada());
+        assertEquals(9, leido.getRegistroId());
+        assertEquals(AccionAuditoria.UPDATE, leido.getAccion());
+        assertNull(leido.getDatosAnteriores());
+        assertEquals(original.getDatosNuevos(), leido.getDatosNuevos());
+        assertEquals(3, leido.getUsuarioId());
+        assertEquals(original.getFechaAccion(), leido.getFechaAccion());
+    }
+    
+    private static EventoAuditoria evento(int i) {
+        return new EventoAuditoria("usuarios", i, AccionAuditoria.UPDATE, "{\"activo\":true}", "{\"activo\":false}",
+                                   1, "127.0.0.1", LocalDateTime.of(2024, 5, 1, 10, 0, i));
+    }
+    
+    private static void esperarGuardados(RegistroAuditoria registro, long esperados) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (registro.getEventosGuardados() < esperados && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+    }
+    
+    /**
+     * DAO en memoria que puede simular la caída de la base de datos.
+     */
+    private static class AuditoriaDAOStub implements AuditoriaDAO {
+        
+        final List<EventoAuditoria> guardados = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> tamanosLote = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean disponible = true;
+        volatile Integer registroInvalido;
+        
+        @Override
+        public boolean insertBatch(List<EventoAuditoria> eventos) {
+            if (!disponible) return false;
+            if (eventos.stream().anyMatch(evento -> registroInvalido != null && evento.getRegistroId() == registroInvalido)) return false;
+            tamanosLote.add(eventos.size());
+            guardados.addAll(eventos);
+            return true;
+        }
+    }
+}
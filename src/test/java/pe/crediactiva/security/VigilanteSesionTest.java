@@ -0,0 +1,98 @@
+package pe.crediactiva.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pruebas unitarias para ActividadSesion y VigilanteSesion con un reloj simulado.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class VigilanteSesionTest {
+
+    private static final long LIMITE = TimeUnit.MINUTES.toNanos(15);
+
+    private final AtomicLong ahora = new AtomicLong(1_000);
+    private final AtomicBoolean sesionIniciada = new AtomicBoolean(true);
+    private final AtomicInteger expiraciones = new AtomicInteger();
+    private final ActividadSesion actividad = new ActividadSesion(ahora::get);
+    private final VigilanteSesion vigilante =
+        new VigilanteSesion(actividad, sesionIniciada::get, LIMITE, expiraciones::incrementAndGet, false);
+
+    @Test
+    @DisplayName("La sesión expira al cumplirse el tiempo de inactividad y una sola vez")
+    void testExpiraUnaVez() {
+        ahora.addAndGet(LIMITE - 1);
+        assertEquals(1, vigilante.revisar());
+        assertFalse(vigilante.isInactiva());
+        assertEquals(0, expiraciones.get());
+
+        ahora.incrementAndGet();
+        assertTrue(vigilante.isInactiva());
+        assertEquals(LIMITE, vigilante.revisar());
+        assertEquals(1, expiraciones.get());
+
+        ahora.addAndGet(LIMITE);
+        vigilante.revisar();
+        assertEquals(1, expiraciones.get());
+    }
+
+    @Test
+    @DisplayName("La actividad pospone la expiración y la siguiente revisión")
+    void testActividadPosterga() {
+        ahora.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        actividad.registrar();
+        ahora.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertEquals(TimeUnit.MINUTES.toNanos(5), vigilante.revisar());
+        assertEquals(0, expiraciones.get());
+
+        ahora.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        vigilante.revisar();
+        assertEquals(1, expiraciones.get());
+
+        // Tras volver a interactuar, una nueva inactividad vuelve a expirar
+        actividad.registrar();
+        ahora.addAndGet(LIMITE);
+        vigilante.revisar();
+        assertEquals(2, expiraciones.get());
+    }
+
+    @Test
+    @DisplayName("Sin sesión iniciada no hay expiración")
+    void testSinSesion() {
+        sesionIniciada.set(false);
+        ahora.addAndGet(2 * LIMITE);
+
+        assertEquals(LIMITE, vigilante.revisar());
+        assertFalse(vigilante.isInactiva());
+        assertEquals(0, expiraciones.get());
+    }
+
+    @Test
+    @DisplayName("La actividad solo se escribe una vez por intervalo de resolución")
+    void testResolucionActividad() {
+        long inicial = actividad.getUltimaActividadNanos();
+
+        ahora.addAndGet(ActividadSesion.RESOLUCION_NANOS - 1);
+        actividad.registrar();
+        assertEquals(inicial, actividad.getUltimaActividadNanos());
+        assertEquals(ActividadSesion.RESOLUCION_NANOS - 1, actividad.getInactividadNanos());
+
+        ahora.incrementAndGet();
+        actividad.registrar();
+        assertEquals(ahora.get(), actividad.getUltimaActividadNanos());
+        assertEquals(0, actividad.getInactividadNanos());
+
+        ahora.addAndGet(10);
+        actividad.reiniciar();
+        assertEquals(ahora.get(), actividad.getUltimaActividadNanos());
+    }
+}
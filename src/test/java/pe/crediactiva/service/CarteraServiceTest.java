@@ -0,0 +1,108 @@
+package pe.crediactiva.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.dao.interfaces.CarteraDAO;
+import pe.crediactiva.model.enums.EstadoPrestamo;
+import pe.crediactiva.report.CarteraSnapshot;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Pruebas unitarias para CarteraService.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class CarteraServiceTest {
+
+    private static final LocalDateTime MARCA = LocalDateTime.of(2024, 6, 30, 10, 0);
+
+    private CarteraDAOStub dao;
+    private CarteraService service;
+
+    @BeforeEach
+    void setUp() {
+        dao = new CarteraDAOStub();
+        service = new CarteraService(dao);
+    }
+
+    @Test
+    @DisplayName("Un error al recargar conserva la fotografía anterior")
+    void testErrorConservaFotografia() {
+        dao.completa = snapshot(1, 2, 3);
+        CarteraSnapshot cargada = service.recargar();
+
+        dao.fallar = true;
+
+        assertSame(cargada, service.recargar());
+        assertSame(cargada, service.refrescar());
+        assertEquals(3, service.obtenerSnapshot().size());
+    }
+
+    @Test
+    @DisplayName("Si el conteo no coincide tras el delta (cuotas eliminadas) se recarga completa")
+    void testCuotasEliminadasRecarganCompleta() {
+        service = new CarteraService(dao, 3);
+        dao.completa = snapshot(1, 2, 3);
+        service.recargar();
+
+        // La cuota 2 se eliminó: el delta no la ve, pero el conteo sí
+        dao.completa = snapshot(1, 3);
+        dao.cuotas = 2;
+
+        // Los refrescos intermedios no cuentan las cuotas
+        assertEquals(3, service.refrescar().size());
+        assertEquals(3, service.refrescar().size());
+        assertEquals(0, dao.conteos);
+
+        CarteraSnapshot refrescada = service.refrescar();
+
+        assertEquals(1, dao.conteos);
+        assertEquals(2, refrescada.size());
+        assertEquals(3, refrescada.getCuotaId(1));
+        assertEquals(2, dao.cargasCompletas);
+    }
+
+    private static CarteraSnapshot snapshot(int... cuotaIds) {
+        CarteraSnapshot.Builder builder = new CarteraSnapshot.Builder();
+        for (int id : cuotaIds) {
+            builder.agregar(id, 1, 10, 100, id, 0, CarteraSnapshot.SIN_FECHA,
+                            10000L, 9000L, 1000L, 10000L, 0L, false, EstadoPrestamo.ACTIVO);
+        }
+        return builder.marcaAgua(MARCA).build();
+    }
+
+    // DAO en memoria que devuelve fotografías fijas o falla a pedido
+    private static final class CarteraDAOStub implements CarteraDAO {
+
+        private CarteraSnapshot completa = CarteraSnapshot.vacio();
+        private int cuotas = -1;
+        private boolean fallar;
+        private int cargasCompletas;
+        private int conteos;
+
+        @Override
+        public CarteraSnapshot loadSnapshot() throws SQLException {
+            if (fallar) throw new SQLException("Base de datos caída");
+            cargasCompletas++;
+            return completa;
+        }
+
+        @Override
+        public CarteraSnapshot loadChangesSince(LocalDateTime marcaAgua) throws SQLException {
+            if (fallar) throw new SQLException("Base de datos caída");
+            return CarteraSnapshot.vacio();
+        }
+
+        @Override
+        public int countCuotas() throws SQLException {
+            if (fallar) throw new SQLException("Base de datos caída");
+            conteos++;
+            return cuotas >= 0 ? cuotas : completa.size();
+        }
+    }
+}
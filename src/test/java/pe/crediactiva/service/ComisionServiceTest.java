@@ -0,0 +1,189 @@
+package pe.crediactiva.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.dao.interfaces.ComisionDAO;
+import pe.crediactiva.model.Asesor;
+import pe.crediactiva.model.ComisionMensual;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pruebas unitarias para ComisionService y el acumulado ComisionMensual.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class ComisionServiceTest {
+    
+    private static final YearMonth PERIODO = YearMonth.of(2024, 5);
+    
+    private ComisionDAOStub dao;
+    private ComisionService service;
+    private Asesor asesor;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new ComisionDAOStub();
+        service = new ComisionService(dao);
+        
+        asesor = new Asesor();
+        asesor.setId(7);
+        asesor.setComisionPorcentaje(new BigDecimal("0.0250"));
+        asesor.setMetaMensual(new BigDecimal("1000.00"));
+    }
+    
+    @Test
+    @DisplayName("Registrar pagos acumula total, cantidad y comisión")
+    void testRegistrarPago() {
+        ComisionMensual comision = new ComisionMensual(asesor, PERIODO);
+        comision.registrarPago(new BigDecimal("400.00"));
+        comision.registrarPago(new BigDecimal("650.50"));
+        
+        assertEquals(new BigDecimal("1050.50"), comision.getTotalCobrado());
+        assertEquals(2, comision.getCantidadPagos());
+        assertEquals(new BigDecimal("26.26"), comision.getComisionGenerada());
+        assertTrue(comision.metaAlcanzada());
+        assertEquals(new BigDecimal("105.05"), comision.getPorcentajeMeta());
+    }
+    
+    @Test
+    @DisplayName("Un periodo cerrado no admite más pagos")
+    void testPeriodoCerradoInmutable() {
+        ComisionMensual comision = new ComisionMensual(asesor, PERIODO);
+        comision.registrarPago(new BigDecimal("100.00"));
+        comision.cerrar();
+        
+        assertThrows(IllegalStateException.class, () -> comision.registrarPago(new BigDecimal("50.00")));
+        assertEquals(new BigDecimal("100.00"), comision.getTotalCobrado());
+    }
+    
+    @Test
+    @DisplayName("No se puede cerrar el mes actual")
+    void testCerrarMesActual() {
+        assertThrows(RuntimeException.class, () -> service.cerrarPeriodo(YearMonth.now()));
+        assertEquals(0, dao.periodosCerrados);
+    }
+    
+    @Test
+    @DisplayName("Verificación sin diferencias cuando el libro cuadra")
+    void testVerificarPeriodoCuadra() {
+        ComisionMensual libro = new ComisionMensual(asesor, PERIODO);
+        libro.registrarPago(new BigDecimal("300.00"));
+        dao.libro.add(libro);
+        
+        ComisionMensual recalculado = new ComisionMensual(asesor, PERIODO);
+        recalculado.registrarPago(new BigDecimal("300.00"));
+        dao.recalculado.add(recalculado);
+        
+        assertTrue(service.verificarPeriodo(PERIODO).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Verificación detecta pagos faltantes en el libro")
+    void testVerificarPeriodoConDiferencias() {
+        ComisionMensual libro = new ComisionMensual(asesor, PERIODO);
+        libro.registrarPago(new BigDecimal("300.00"));
+        dao.libro.add(libro);
+        
+        ComisionMensual recalculado = new ComisionMensual(asesor, PERIODO);
+        recalculado.registrarPago(new BigDecimal("300.00"));
+        recalculado.registrarPago(new BigDecimal("200.00"));
+        dao.recalculado.add(recalculado);
+        
+        List<String> diferencias = service.verificarPeriodo(PERIODO);
+        assertEquals(1, diferencias.size());
+        assertTrue(diferencias.get(0).contains("asesor 7"));
+    }
+    
+    @Test
+    @DisplayName("Periodo cerrado se verifica con la tasa congelada")
+    void testVerificarPeriodoCerradoUsaTasaCongelada() {
+        ComisionMensual libro = new ComisionMensual(asesor, PERIODO);
+        libro.registrarPago(new BigDecimal("300.00"));
+        libro.cerrar();
+        dao.libro.add(libro);
+        
+        // La tasa del asesor cambió después del cierre
+        asesor.setComisionPorcentaje(new BigDecimal("0.0500"));
+        ComisionMensual recalculado = new ComisionMensual(asesor, PERIODO);
+        recalculado.registrarPago(new BigDecimal("300.00"));
+        dao.recalculado.add(recalculado);
+        
+        assertTrue(service.verificarPeriodo(PERIODO).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Periodo abierto se verifica con la tasa registrada al abrirlo")
+    void testVerificarPeriodoAbiertoConCambioDeTasa() {
+        ComisionMensual libro = new ComisionMensual(asesor, PERIODO);
+        libro.registrarPago(new BigDecimal("300.00"));
+        dao.libro.add(libro);
+        
+        // La tasa del asesor cambia a mitad de mes; el pago siguiente se acumula con la tasa congelada
+        asesor.setComisionPorcentaje(new BigDecimal("0.0500"));
+        libro.registrarPago(new BigDecimal("200.00"));
+        
+        ComisionMensual recalculado = new ComisionMensual(asesor, PERIODO);
+        recalculado.registrarPago(new BigDecimal("300.00"));
+        recalculado.registrarPago(new BigDecimal("200.00"));
+        dao.recalculado.add(recalculado);
+        
+        assertEquals(new BigDecimal("12.50"), libro.getComisionGenerada());
+        assertTrue(service.verificarPeriodo(PERIODO).isEmpty());
+    }
+    
+    /**
+     * DAO en memoria para las pruebas.
+     */
+    private static class ComisionDAOStub implements ComisionDAO {
+        
+        final List<ComisionMensual> libro = new ArrayList<>();
+        final List<ComisionMensual> recalculado = new ArrayList<>();
+        int periodosCerrados = 0;
+        
+        @Override
+        public Optional<ComisionMensual> findByAsesorAndPeriodo(Integer asesorId, YearMonth periodo) {
+            return libro.stream()
+                .filter(c -> c.getAsesorId().equals(asesorId) && c.getPeriodo().equals(periodo))
+                .findFirst();
+        }
+        
+        @Override
+        public List<ComisionMensual> findByAsesor(Integer asesorId) {
+            return libro.stream().filter(c -> c.getAsesorId().equals(asesorId)).toList();
+        }
+        
+        @Override
+        public List<ComisionMensual> findByPeriodo(YearMonth periodo) {
+            return libro.stream().filter(c -> c.getPeriodo().equals(periodo)).toList();
+        }
+        
+        @Override
+        public List<ComisionMensual> recalculateFromPayments(YearMonth periodo) {
+            return recalculado;
+        }
+        
+        @Override
+        public List<YearMonth> findPaymentPeriods() {
+            return List.of(PERIODO);
+        }
+        
+        @Override
+        public boolean replaceOpenPeriod(ComisionMensual comision) {
+            return true;
+        }
+        
+        @Override
+        public int closePeriod(YearMonth periodo) {
+            periodosCerrados++;
+            return 1;
+        }
+    }
+}
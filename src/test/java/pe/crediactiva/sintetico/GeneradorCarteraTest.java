@@ -0,0 +1,162 @@
+package pe.crediactiva.sintetico;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.report.TramoMora;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para GeneradorCartera.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class GeneradorCarteraTest {
+
+    private static final LocalDate REFERENCIA = LocalDate.of(2024, 6, 30);
+
+    /**
+     * Destino en memoria que conserva las filas en el orden de escritura.
+     */
+    static class DestinoMemoria implements DestinoCarga {
+        final Map<TablaCarga, List<Object[]>> filas = new EnumMap<>(TablaCarga.class);
+
+        @Override
+        public synchronized void escribir(LoteCarga lote) {
+            for (TablaCarga tabla : TablaCarga.values()) {
+                filas.computeIfAbsent(tabla, t -> new ArrayList<>()).addAll(lote.getFilas(tabla));
+            }
+        }
+
+        @Override
+        public boolean admiteConcurrencia() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        List<Object[]> de(TablaCarga tabla) {
+            return filas.getOrDefault(tabla, List.of());
+        }
+
+        List<Object[]> ordenadas(TablaCarga tabla) {
+            List<Object[]> ordenadas = new ArrayList<>(de(tabla));
+            ordenadas.sort((a, b) -> Integer.compare((Integer) a[0], (Integer) b[0]));
+            return ordenadas;
+        }
+    }
+
+    private static DestinoMemoria generar(ConfiguracionGenerador.Builder builder) throws Exception {
+        DestinoMemoria destino = new DestinoMemoria();
+        new GeneradorCartera(builder.build()).generar(destino);
+        return destino;
+    }
+
+    @Test
+    @DisplayName("La misma semilla produce los mismos datos con distinto número de hilos y lotes")
+    void testDeterminismo() throws Exception {
+        DestinoMemoria secuencial = generar(ConfiguracionGenerador.builder()
+            .clientes(600).asesores(5).fechaReferencia(REFERENCIA).hilos(1).clientesPorLote(600));
+        DestinoMemoria paralelo = generar(ConfiguracionGenerador.builder()
+            .clientes(600).asesores(5).fechaReferencia(REFERENCIA).hilos(3).clientesPorLote(70));
+
+        for (TablaCarga tabla : TablaCarga.values()) {
+            List<Object[]> esperadas = secuencial.ordenadas(tabla);
+            List<Object[]> obtenidas = paralelo.ordenadas(tabla);
+            assertEquals(esperadas.size(), obtenidas.size(), tabla.getNombre());
+            for (int i = 0; i < esperadas.size(); i++) {
+                assertArrayEquals(esperadas.get(i), obtenidas.get(i), tabla.getNombre());
+            }
+        }
+        assertFalse(secuencial.de(TablaCarga.CRONOGRAMA_PAGOS).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Las referencias son válidas y los cronogramas amortizan el monto completo")
+    void testIntegridad() throws Exception {
+        DestinoMemoria destino = generar(ConfiguracionGenerador.builder()
+            .clientes(400).asesores(4).fechaReferencia(REFERENCIA).hilos(2).clientesPorLote(50).idInicial(1000));
+
+        for (TablaCarga tabla : TablaCarga.values()) {
+            Set<Object> ids = new HashSet<>();
+            for (Object[] fila : destino.de(tabla)) {
+                assertTrue(ids.add(fila[0]), "Id duplicado en " + tabla.getNombre());
+                assertTrue((Integer) fila[0] >= 1000);
+                for (int c = 1; c < fila.length; c++) {
+                    TablaCarga referencia = tabla.getReferenciaLocal(c);
+                    if (referencia != null) {
+                        Object id = fila[c];
+                        assertTrue(destino.de(referencia).stream().anyMatch(r -> r[0].equals(id)),
+                                   tabla.getNombre() + "." + tabla.getColumnas().get(c));
+                    }
+                }
+            }
+        }
+
+        int montoIdx = TablaCarga.PRESTAMOS.indiceDe("monto_prestamo");
+        int prestamoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("prestamo_id");
+        int capitalIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("capital");
+        int saldoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("saldo_pendiente");
+        Map<Object, BigDecimal> capitalPorPrestamo = new HashMap<>();
+        for (Object[] cuota : destino.de(TablaCarga.CRONOGRAMA_PAGOS)) {
+            capitalPorPrestamo.merge(cuota[prestamoIdx], (BigDecimal) cuota[capitalIdx], BigDecimal::add);
+            assertTrue(((BigDecimal) cuota[saldoIdx]).signum() >= 0);
+        }
+        for (Object[] prestamo : destino.de(TablaCarga.PRESTAMOS)) {
+            assertEquals(0, ((BigDecimal) prestamo[montoIdx]).compareTo(capitalPorPrestamo.get(prestamo[0])));
+        }
+
+        // Un pago por cada cuota pagada
+        int pagadoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("pagado");
+        long pagadas = destino.de(TablaCarga.CRONOGRAMA_PAGOS).stream().filter(c -> (Boolean) c[pagadoIdx]).count();
+        assertEquals(pagadas, destino.de(TablaCarga.PAGOS).size());
+    }
+
+    @Test
+    @DisplayName("La curva de mora define el tramo de atraso de los préstamos vencidos")
+    void testCurvaMora() throws Exception {
+        ConfiguracionGenerador.Builder builder = ConfiguracionGenerador.builder()
+            .clientes(500).asesores(3).fechaReferencia(REFERENCIA).plazos(36);
+        for (TramoMora tramo : TramoMora.values()) {
+            builder.curvaMora(tramo, tramo == TramoMora.DE_31_A_60 ? 1 : 0);
+        }
+        DestinoMemoria destino = generar(builder);
+
+        int prestamoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("prestamo_id");
+        int pagadoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("pagado");
+        int atrasoIdx = TablaCarga.CRONOGRAMA_PAGOS.indiceDe("dias_atraso");
+        Map<Object, Integer> atrasoPorPrestamo = new HashMap<>();
+        for (Object[] cuota : destino.de(TablaCarga.CRONOGRAMA_PAGOS)) {
+            if (!(Boolean) cuota[pagadoIdx]) {
+                atrasoPorPrestamo.merge(cuota[prestamoIdx], (Integer) cuota[atrasoIdx], Math::max);
+            }
+        }
+
+        int estadoIdx = TablaCarga.PRESTAMOS.indiceDe("estado");
+        int vencidos = 0;
+        for (Object[] prestamo : destino.de(TablaCarga.PRESTAMOS)) {
+            int atraso = atrasoPorPrestamo.getOrDefault(prestamo[0], 0);
+            if ("VENCIDO".equals(prestamo[estadoIdx])) {
+                vencidos++;
+                assertTrue(atraso >= 31 && atraso <= 60, "Atraso fuera del tramo: " + atraso);
+            } else {
+                // Solo quedan al día los préstamos demasiado recientes para el tramo
+                assertEquals(0, atraso);
+            }
+        }
+        assertTrue(vencidos > destino.de(TablaCarga.PRESTAMOS).size() / 2);
+    }
+}
@@ -0,0 +1,93 @@
+package pe.crediactiva.tabla;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.Cliente;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para las filas precalculadas de las tablas.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class FilaUsuarioTest {
+
+    @Test
+    @DisplayName("La fila trae los textos, la máscara de roles activos y las fechas formateadas")
+    void testFilaUsuario() {
+        Rol inactivo = rol(3, TipoRol.CLIENTE);
+        inactivo.setActivo(false);
+        Usuario usuario = usuario(List.of(rol(1, TipoRol.ADMINISTRADOR), rol(2, TipoRol.ASESOR), inactivo));
+        usuario.setFechaCreacion(LocalDateTime.of(2024, 3, 5, 14, 30, 15));
+
+        FilaUsuario fila = FilaUsuario.de(usuario);
+
+        assertEquals("Administrador, Asesor", fila.roles());
+        assertTrue(fila.tieneRol(TipoRol.ADMINISTRADOR));
+        assertTrue(fila.tieneRol(TipoRol.ASESOR));
+        assertFalse(fila.tieneRol(TipoRol.CLIENTE));
+        assertEquals("05/03/2024", fila.fechaCreacion());
+        assertEquals("Nunca", fila.ultimoLogin());
+        assertEquals(FormatoCeldas.ACTIVO, fila.estado());
+        assertEquals("", fila.telefono());
+    }
+
+    @Test
+    @DisplayName("Las fechas se ordenan por la fecha y no por el texto; sin fecha va primero")
+    void testOrdenFechas() {
+        Usuario enero2025 = usuario(List.of());
+        enero2025.setUltimoLogin(LocalDateTime.of(2025, 1, 2, 8, 0));
+        Usuario diciembre2024 = usuario(List.of());
+        diciembre2024.setUltimoLogin(LocalDateTime.of(2024, 12, 31, 8, 0));
+
+        FilaUsuario reciente = FilaUsuario.de(enero2025);
+        FilaUsuario anterior = FilaUsuario.de(diciembre2024);
+        FilaUsuario sinLogin = FilaUsuario.de(usuario(List.of()));
+
+        assertTrue(reciente.ultimoLogin().compareTo(anterior.ultimoLogin()) < 0);
+        assertTrue(reciente.ordenUltimoLogin() > anterior.ordenUltimoLogin());
+        assertTrue(sinLogin.ordenUltimoLogin() < anterior.ordenUltimoLogin());
+    }
+
+    @Test
+    @DisplayName("La fila de cliente toma la persona de su FilaUsuario y tolera datos faltantes")
+    void testFilaCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setCodigoCliente("CLI-001");
+        cliente.setLimiteCredito(new BigDecimal("1500"));
+        cliente.setScoreCrediticio(720);
+        cliente.setUsuario(usuario(List.of(rol(3, TipoRol.CLIENTE))));
+
+        FilaCliente fila = FilaCliente.de(cliente);
+
+        assertTrue(fila.persona().tieneRol(TipoRol.CLIENTE));
+        assertEquals("Ana Torres", fila.nombreCompleto());
+        assertTrue(fila.limiteCredito().startsWith("S/ 1"));
+        assertEquals("720 (Muy Bueno)", fila.score());
+
+        FilaCliente sinUsuario = FilaCliente.de(new Cliente());
+        assertNull(sinUsuario.persona());
+        assertEquals(FormatoCeldas.SIN_DATO, sinUsuario.nombreCompleto());
+    }
+
+    private static Usuario usuario(List<Rol> roles) {
+        Usuario usuario = new Usuario("atorres", "ana@crediactiva.pe", "hash", "Ana", "Torres");
+        usuario.setId(1);
+        usuario.setRoles(roles);
+        return usuario;
+    }
+
+    private static Rol rol(int id, TipoRol tipoRol) {
+        Rol rol = new Rol(tipoRol);
+        rol.setId(id);
+        return rol;
+    }
+}
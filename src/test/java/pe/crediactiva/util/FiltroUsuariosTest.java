@@ -0,0 +1,79 @@
+package pe.crediactiva.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.Rol;
+import pe.crediactiva.model.Usuario;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para FiltroUsuarios.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class FiltroUsuariosTest {
+
+    private Usuario usuario;
+    private Rol rolAsesor;
+
+    @BeforeEach
+    void setUp() {
+        rolAsesor = new Rol("ASESOR", "Asesor");
+        rolAsesor.setId(2);
+        usuario = new Usuario("jperez", "juan.perez@crediactiva.pe", "hash", "Juan", "Pérez");
+        usuario.setDocumentoIdentidad("45678912");
+        usuario.getRoles().add(rolAsesor);
+    }
+
+    @Test
+    @DisplayName("La búsqueda ignora mayúsculas y revisa todos los campos")
+    void testBusquedaPorTexto() {
+        assertTrue(FiltroUsuarios.crear("JPEREZ", null, null).test(usuario));
+        assertTrue(FiltroUsuarios.crear("pérez", null, null).test(usuario));
+        assertTrue(FiltroUsuarios.crear("4567", null, null).test(usuario));
+        assertTrue(FiltroUsuarios.crear("   ", null, null).test(usuario));
+        assertFalse(FiltroUsuarios.crear("maria", null, null).test(usuario));
+    }
+
+    @Test
+    @DisplayName("El filtro de rol solo considera roles activos")
+    void testFiltroRol() {
+        Rol otroRol = new Rol("CLIENTE", "Cliente");
+        otroRol.setId(3);
+
+        assertTrue(FiltroUsuarios.crear(null, rolAsesor, null).test(usuario));
+        assertFalse(FiltroUsuarios.crear(null, otroRol, null).test(usuario));
+
+        rolAsesor.setActivo(false);
+        assertFalse(FiltroUsuarios.crear(null, rolAsesor, null).test(usuario));
+    }
+
+    @Test
+    @DisplayName("El filtro de estado separa activos e inactivos")
+    void testFiltroEstado() {
+        assertTrue(FiltroUsuarios.crear(null, null, FiltroUsuarios.ESTADO_TODOS).test(usuario));
+        assertTrue(FiltroUsuarios.crear(null, null, FiltroUsuarios.ESTADO_ACTIVOS).test(usuario));
+        assertFalse(FiltroUsuarios.crear(null, null, FiltroUsuarios.ESTADO_INACTIVOS).test(usuario));
+
+        usuario.setActivo(false);
+        assertFalse(FiltroUsuarios.crear(null, null, FiltroUsuarios.ESTADO_ACTIVOS).test(usuario));
+        assertTrue(FiltroUsuarios.crear(null, null, FiltroUsuarios.ESTADO_INACTIVOS).test(usuario));
+    }
+
+    @Test
+    @DisplayName("Con un índice de nombres, los nombres se toman de sus coincidencias")
+    void testBusquedaConIndiceDeNombres() {
+        usuario.setId(10);
+
+        assertTrue(FiltroUsuarios.crear("perez juan", Set.of(10), null, null).test(usuario));
+        assertFalse(FiltroUsuarios.crear("pérez", Set.of(11), null, null).test(usuario));
+        // Username, email y documento se siguen comparando por texto
+        assertTrue(FiltroUsuarios.crear("jperez", Set.of(), null, null).test(usuario));
+        assertTrue(FiltroUsuarios.crear("4567", Set.of(), null, null).test(usuario));
+    }
+}
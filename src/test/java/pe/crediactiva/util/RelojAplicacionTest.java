@@ -0,0 +1,133 @@
+package pe.crediactiva.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Pruebas unitarias para RelojAplicacion.
+ * Se usan pantallas simuladas en lugar de etiquetas de JavaFX para no depender
+ * del toolkit gráfico; los pulsos se generan manualmente.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class RelojAplicacionTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 15, 8, 30, 0);
+
+    @Test
+    @DisplayName("Una pantalla recibe la hora mientras se muestra y se da de baja al ocultarse")
+    void testBajaAlOcultarse() {
+        RelojAplicacion reloj = new RelojAplicacion(false);
+        PantallaSimulada pantalla = new PantallaSimulada();
+        reloj.agregar(new SuscripcionSimulada(pantalla));
+
+        // Aún no se muestra (el controlador se inicializa antes de la escena)
+        reloj.tick(INICIO);
+        assertNull(pantalla.texto);
+        assertEquals(1, reloj.getSuscripciones());
+
+        pantalla.visible = true;
+        reloj.tick(INICIO.plusSeconds(1));
+        assertEquals("15/03/2024 08:30:01", pantalla.texto);
+
+        // Cambio de escena
+        pantalla.visible = false;
+        reloj.tick(INICIO.plusSeconds(2));
+        assertEquals(0, reloj.getSuscripciones());
+        assertEquals("15/03/2024 08:30:01", pantalla.texto);
+    }
+
+    @Test
+    @DisplayName("Una pantalla descartada sin mostrarse no queda retenida por el reloj")
+    void testSuscripcionDebil() throws InterruptedException {
+        RelojAplicacion reloj = new RelojAplicacion(false);
+        for (int i = 0; i < 100; i++) {
+            reloj.agregar(new SuscripcionSimulada(new PantallaSimulada()));
+        }
+
+        for (int intento = 0; intento < 20 && reloj.getSuscripciones() > 0; intento++) {
+            System.gc();
+            Thread.sleep(20);
+            reloj.tick(INICIO.plusSeconds(intento));
+        }
+
+        assertEquals(0, reloj.getSuscripciones());
+    }
+
+    @Test
+    @DisplayName("1.000 navegaciones no acumulan hilos, suscripciones ni asignaciones")
+    void testNavegacionesSostenidas() {
+        RelojAplicacion reloj = new RelojAplicacion(false);
+        int hilosIniciales = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        long asignadoPrimeras = navegar(reloj, 0, 100);
+        navegar(reloj, 100, 800);
+        long asignadoUltimas = navegar(reloj, 900, 100);
+
+        assertTrue(reloj.getSuscripciones() <= 1,
+                   "Suscripciones retenidas: " + reloj.getSuscripciones());
+        assertTrue(ManagementFactory.getThreadMXBean().getThreadCount() <= hilosIniciales,
+                   "El reloj no debe crear hilos");
+        // La tasa de asignación por navegación debe mantenerse plana
+        assertTrue(asignadoUltimas <= asignadoPrimeras * 2 + 64 * 1024,
+                   "Primeras: " + asignadoPrimeras + " bytes, últimas: " + asignadoUltimas + " bytes");
+    }
+
+    /**
+     * Simula navegaciones: cada una muestra una pantalla nueva, recibe varios
+     * pulsos y oculta la anterior, como hace CrediActivaApp.changeScene.
+     *
+     * @return bytes asignados por el hilo actual durante las navegaciones
+     */
+    private static long navegar(RelojAplicacion reloj, int desde, int cantidad) {
+        com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long antes = hilos.getCurrentThreadAllocatedBytes();
+
+        PantallaSimulada anterior = null;
+        for (int i = desde; i < desde + cantidad; i++) {
+            PantallaSimulada actual = new PantallaSimulada();
+            reloj.agregar(new SuscripcionSimulada(actual));
+            actual.visible = true;
+            if (anterior != null) {
+                anterior.visible = false;
+            }
+            for (int pulso = 0; pulso < 5; pulso++) {
+                reloj.tick(INICIO.plusSeconds(i * 5L + pulso));
+            }
+            anterior = actual;
+        }
+        if (anterior != null) {
+            anterior.visible = false;
+            reloj.tick(INICIO.plusSeconds((desde + cantidad) * 5L));
+        }
+        return hilos.getCurrentThreadAllocatedBytes() - antes;
+    }
+
+    private static class PantallaSimulada {
+        boolean visible;
+        String texto;
+    }
+
+    private static class SuscripcionSimulada extends RelojAplicacion.Suscripcion<PantallaSimulada> {
+
+        SuscripcionSimulada(PantallaSimulada pantalla) {
+            super(pantalla);
+        }
+
+        @Override
+        boolean estaVisible(PantallaSimulada pantalla) {
+            return pantalla.visible;
+        }
+
+        @Override
+        void actualizar(PantallaSimulada pantalla, String texto) {
+            pantalla.texto = texto;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package pe.crediactiva.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.model.MarcaAgua;
+import pe.crediactiva.model.Usuario;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pruebas unitarias para SincronizacionDelta.
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class SincronizacionDeltaTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 30, 9, 0);
+
+    private final SincronizacionDelta<Usuario> sincronizacion = new SincronizacionDelta<>(
+        Usuario::getId, (actual, recibido) -> Objects.equals(actual.getFechaActualizacion(), recibido.getFechaActualizacion()));
+
+    @Test
+    @DisplayName("Los cambios reemplazan su fila, los nuevos se agregan y los repetidos se descartan")
+    void testAplicarCambios() {
+        ObservableList<Usuario> filas = FXCollections.observableArrayList(usuario(1, BASE), usuario(2, BASE), usuario(3, BASE));
+        sincronizacion.cargar(filas, new MarcaAgua(BASE.plusMinutes(5), 3));
+        List<ListChangeListener.Change<? extends Usuario>> eventos = new ArrayList<>();
+        filas.addListener((ListChangeListener<Usuario>) cambio -> eventos.add(cambio));
+
+        Usuario modificado = usuario(2, BASE.plusMinutes(6));
+        Usuario nuevo = usuario(4, BASE.plusMinutes(7));
+        List<Usuario> aplicados = sincronizacion.aplicar(filas, List.of(usuario(1, BASE), modificado, nuevo),
+                                                         new MarcaAgua(BASE.plusMinutes(10), 4));
+
+        assertEquals(List.of(modificado, nuevo), aplicados);
+        assertSame(modificado, filas.get(1));
+        assertSame(nuevo, filas.get(3));
+        assertEquals(2, eventos.size());
+        assertFalse(sincronizacion.requiereRecarga(filas, new MarcaAgua(BASE.plusMinutes(10), 4)));
+    }
+
+    @Test
+    @DisplayName("La siguiente consulta empieza un margen antes de la marca de agua")
+    void testDesdeConSolapamiento() {
+        assertFalse(sincronizacion.isCargada());
+        assertNull(sincronizacion.getDesde());
+
+        List<Usuario> filas = new ArrayList<>(List.of(usuario(1, BASE)));
+        sincronizacion.cargar(filas, new MarcaAgua(BASE.plusMinutes(5), 1));
+        assertEquals(BASE.plusMinutes(5).minus(SincronizacionDelta.SOLAPAMIENTO), sincronizacion.getDesde());
+
+        sincronizacion.aplicar(filas, List.of(), new MarcaAgua(BASE.plusMinutes(8), 1));
+        assertEquals(BASE.plusMinutes(8).minus(SincronizacionDelta.SOLAPAMIENTO), sincronizacion.getDesde());
+    }
+
+    @Test
+    @DisplayName("Si la tabla tiene otro total, por ejemplo por un borrado, se pide recarga")
+    void testRequiereRecarga() {
+        List<Usuario> filas = new ArrayList<>(List.of(usuario(1, BASE), usuario(2, BASE)));
+        sincronizacion.cargar(filas, new MarcaAgua(BASE, 2));
+
+        assertTrue(sincronizacion.requiereRecarga(filas, new MarcaAgua(BASE.plusMinutes(1), 1)));
+        assertTrue(sincronizacion.requiereRecarga(filas, null));
+    }
+
+    private static Usuario usuario(int id, LocalDateTime fechaActualizacion) {
+        Usuario usuario = new Usuario("usuario" + id, "usuario" + id + "@crediactiva.pe", "hash", "Nombre", "Apellido");
+        usuario.setId(id);
+        usuario.setFechaActualizacion(fechaActualizacion);
+        return usuario;
+    }
+}
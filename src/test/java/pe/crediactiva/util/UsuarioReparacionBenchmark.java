@@ -0,0 +1,128 @@
+package pe.crediactiva.util;
+
+import pe.crediactiva.config.DatabaseConfig;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.service.AsesorService;
+import pe.crediactiva.service.ClienteService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de la reparación de usuarios: recorrido usuario por usuario
+ * (COUNT + MAX de código + INSERT por registro) frente a la reparación masiva
+ * (anti-join + un lote por tabla). Crea N usuarios temporales con prefijo
+ * "bench_rep_" (mitad ASESOR, mitad CLIENTE) y los elimina al terminar.
+ * Requiere la base de datos configurada en application.properties.
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     pe.crediactiva.util.UsuarioReparacionBenchmark 50000
+ * </pre>
+ *
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+public class UsuarioReparacionBenchmark {
+
+    private static final String PREFIJO = "bench_rep_";
+
+    private static final String INSERT_USUARIO = """
+        INSERT INTO usuarios (username, email, password_hash, nombres, apellidos)
+        VALUES (?, ?, 'x', 'Bench', 'Reparacion')
+        """;
+
+    private static final String INSERT_ROLES = """
+        INSERT INTO usuarios_roles (usuario_id, rol_id)
+        SELECT u.id, r.id FROM usuarios u JOIN roles r
+          ON r.nombre = IF(MOD(CAST(SUBSTRING(u.username, 11) AS UNSIGNED), 2) = 0, 'ASESOR', 'CLIENTE')
+        WHERE u.username LIKE 'bench\\\\_rep\\\\_%'
+        """;
+
+    private static final String DELETE_REGISTROS = """
+        DELETE a, c FROM usuarios u
+        LEFT JOIN asesores a ON a.usuario_id = u.id
+        LEFT JOIN clientes c ON c.usuario_id = u.id
+        WHERE u.username LIKE 'bench\\\\_rep\\\\_%'
+        """;
+
+    private static final String DELETE_USUARIOS = "DELETE FROM usuarios WHERE username LIKE 'bench\\\\_rep\\\\_%'";
+
+    public static void main(String[] args) throws SQLException {
+        int usuarios = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        DatabaseConfig.initialize();
+        UsuarioReparacionUtil util = new UsuarioReparacionUtil();
+
+        try {
+            ejecutar(DELETE_USUARIOS);
+            crearUsuarios(usuarios);
+            System.out.printf("Usuarios sin registro: %,d%n", usuarios);
+
+            // Recorrido anterior: una verificación y una inserción por usuario
+            var faltantes = util.repararRegistrosFaltantes(true, TipoRol.ASESOR, TipoRol.CLIENTE);
+            AsesorService asesorService = new AsesorService();
+            ClienteService clienteService = new ClienteService();
+            long inicio = System.nanoTime();
+            for (Usuario usuario : faltantes.getAsesoresFaltantes()) {
+                if (!asesorService.esAsesor(usuario.getId())) {
+                    asesorService.crearAsesor(usuario);
+                }
+            }
+            for (Usuario usuario : faltantes.getClientesFaltantes()) {
+                if (!clienteService.esCliente(usuario.getId())) {
+                    clienteService.crearCliente(usuario);
+                }
+            }
+            long msSecuencial = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.printf("Secuencial: %,d ms%n", msSecuencial);
+
+            ejecutar(DELETE_REGISTROS);
+
+            inicio = System.nanoTime();
+            var simulacion = util.repararRegistrosFaltantes(true, TipoRol.ASESOR, TipoRol.CLIENTE);
+            long msSimulacion = (System.nanoTime() - inicio) / 1_000_000;
+
+            inicio = System.nanoTime();
+            var resultado = util.repararRegistrosFaltantes(false, TipoRol.ASESOR, TipoRol.CLIENTE);
+            long msMasivo = (System.nanoTime() - inicio) / 1_000_000;
+
+            System.out.printf("Simulación: %,d ms (%,d usuarios)%n", msSimulacion, simulacion.getUsuariosReparados());
+            System.out.printf("Masivo:     %,d ms (%,d asesores, %,d clientes)%n", msMasivo,
+                              resultado.getAsesoresCreados(), resultado.getClientesCreados());
+        } finally {
+            ejecutar(DELETE_USUARIOS);
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private static void crearUsuarios(int cantidad) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_USUARIO)) {
+            for (int i = 0; i < cantidad; i++) {
+                String username = String.format("%s%06d", PREFIJO, i);
+                stmt.setString(1, username);
+                stmt.setString(2, username + "@bench.local");
+                stmt.addBatch();
+                if ((i + 1) % 1_000 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+        }
+        ejecutar(INSERT_ROLES);
+    }
+
+    private static void ejecutar(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.executeUpdate();
+            conn.commit();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package pe.crediactiva.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import pe.crediactiva.dao.interfaces.ReparacionDAO;
+import pe.crediactiva.model.Cliente;
+import pe.crediactiva.model.Usuario;
+import pe.crediactiva.model.enums.TipoRol;
+import pe.crediactiva.util.UsuarioReparacionUtil.ResultadoReparacion;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para la reparación masiva de UsuarioReparacionUtil.
+ * 
+ * @author CrediActiva Development Team
+ * @version 1.0
+ */
+class UsuarioReparacionUtilTest {
+    
+    private ReparacionDAOStub dao;
+    private UsuarioReparacionUtil util;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new ReparacionDAOStub();
+        // El usuario 2 tiene ambos roles sin registros
+        dao.faltantes.get(TipoRol.ASESOR).addAll(List.of(usuario(1), usuario(2)));
+        dao.faltantes.get(TipoRol.CLIENTE).addAll(List.of(usuario(2), usuario(3)));
+        util = new UsuarioReparacionUtil(dao);
+    }
+    
+    @Test
+    @DisplayName("La simulación informa los faltantes sin escribir")
+    void testSimulacion() {
+        ResultadoReparacion resultado = util.repararRegistrosFaltantes(true, TipoRol.ASESOR, TipoRol.CLIENTE);
+        
+        assertTrue(resultado.isSimulacion());
+        assertEquals(2, resultado.getAsesoresFaltantes().size());
+        assertEquals(2, resultado.getClientesFaltantes().size());
+        assertEquals(3, resultado.getUsuariosReparados());
+        assertEquals(0, dao.lotesEjecutados);
+    }
+    
+    @Test
+    @DisplayName("Cada tabla se repara con un único lote")
+    void testReparacionEnLote() {
+        int reparados = util.repararTodosLosUsuarios();
+        
+        assertEquals(3, reparados);
+        assertEquals(2, dao.lotesEjecutados);
+        assertEquals(List.of(1, 2), dao.asesoresInsertados);
+        assertEquals(List.of(2, 3), dao.clientesInsertados);
+    }
+    
+    @Test
+    @DisplayName("Solo se reparan los roles solicitados")
+    void testSoloAsesores() {
+        ResultadoReparacion resultado = util.repararRegistrosFaltantes(false, TipoRol.ASESOR);
+        
+        assertEquals(2, resultado.getAsesoresCreados());
+        assertEquals(0, resultado.getClientesCreados());
+        assertEquals(2, resultado.getUsuariosReparados());
+        assertTrue(dao.clientesInsertados.isEmpty());
+    }
+    
+    private static Usuario usuario(int id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setUsername("usuario" + id);
+        return usuario;
+    }
+    
+    /**
+     * DAO en memoria que registra los lotes ejecutados.
+     */
+    private static class ReparacionDAOStub implements ReparacionDAO {
+        
+        final Map<TipoRol, List<Usuario>> faltantes = new EnumMap<>(TipoRol.class);
+        final List<Integer> asesoresInsertados = new ArrayList<>();
+        final List<Integer> clientesInsertados = new ArrayList<>();
+        int lotesEjecutados;
+        
+        ReparacionDAOStub() {
+            faltantes.put(TipoRol.ASESOR, new ArrayList<>());
+            faltantes.put(TipoRol.CLIENTE, new ArrayList<>());
+        }
+        
+        @Override
+        public Map<TipoRol, List<Usuario>> findUsersMissingRecords() {
+            return faltantes;
+        }
+        
+        @Override
+        public int insertAsesores(List<Integer> usuarioIds, BigDecimal comisionPorcentaje, BigDecimal metaMensual) {
+            if (usuarioIds.isEmpty()) return 0;
+            lotesEjecutados++;
+            asesoresInsertados.addAll(usuarioIds);
+            return usuarioIds.size();
+        }
+        
+        @Override
+        public int insertClientes(List<Integer> usuarioIds, Cliente.TipoCliente tipoCliente, 
+                                  BigDecimal limiteCredito, int scoreCrediticio) {
+            if (usuarioIds.isEmpty()) return 0;
+            lotesEjecutados++;
+            clientesInsertados.addAll(usuarioIds);
+            return usuarioIds.size();
+        }
+    }
+}